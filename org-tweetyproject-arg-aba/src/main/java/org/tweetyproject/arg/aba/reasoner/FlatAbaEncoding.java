@@ -0,0 +1,503 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.aba.reasoner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.tweetyproject.arg.aba.semantics.AbaExtension;
+import org.tweetyproject.arg.aba.syntax.AbaTheory;
+import org.tweetyproject.arg.aba.syntax.Assumption;
+import org.tweetyproject.arg.aba.syntax.InferenceRule;
+import org.tweetyproject.arg.dung.semantics.Semantics;
+import org.tweetyproject.commons.Formula;
+import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+
+/**
+ * A propositional encoding of the admissible, complete and stable semantics of a flat
+ * ABA theory, which does not construct deductions or enumerate sets of assumptions.
+ * For every assumption a, the proposition "in_a" states that a is in the extension.
+ * Derivability of a sentence from the selected assumptions is encoded by a definition
+ * of the sentence by the bodies of its rules (Clark's completion). For the sentences
+ * of a cyclic strongly connected component of the dependency graph, which the completion
+ * does not capture correctly, derivability is unfolded into one copy of the component per
+ * step of the derivation, up to the size of the component.
+ * <br>
+ * The encoding uses that a set S of assumptions of a flat ABA theory defends an assumption
+ * a iff no contrary of a is derivable from the assumptions that are not attacked by S.
+ * So S is admissible iff it is conflict-free and defends all its elements, and complete iff
+ * it is conflict-free and contains exactly the assumptions it defends.
+ *
+ * @param <T> the language of the underlying ABA theory
+ */
+class FlatAbaEncoding<T extends Formula> {
+
+	/** The assumptions. */
+	private List<Assumption<T>> assumptions = new ArrayList<>();
+	/** The indices of the assumptions by sentence. */
+	private Map<T,Integer> index = new HashMap<>();
+	/** The contraries of every assumption. */
+	private List<List<T>> contraries = new ArrayList<>();
+	/** The ground rules. */
+	private List<InferenceRule<T>> rules = new ArrayList<>();
+	/** The distinct premises of the rules. */
+	private Map<InferenceRule<T>,List<T>> premises = new HashMap<>();
+	/** The rules by conclusion, without rules concluding an assumption. */
+	private Map<T,List<InferenceRule<T>>> rulesByConclusion = new HashMap<>();
+	/** The strongly connected components of the sentences that are no assumptions, in dependency order. */
+	private List<List<T>> components = new ArrayList<>();
+	/** The sentences in cyclic components. */
+	private Set<T> cyclic = new HashSet<>();
+	/** The propositions "in_a". */
+	private List<Proposition> in = new ArrayList<>();
+	/** The number of auxiliary propositions used so far. */
+	private int aux = 0;
+
+	/**
+	 * Creates the encoding of the given ABA theory.
+	 * @param abat some ABA theory
+	 * @throws IllegalArgumentException if the theory is not flat
+	 */
+	FlatAbaEncoding(AbaTheory<T> abat) throws IllegalArgumentException {
+		for(Assumption<T> a: abat.getAssumptions()) {
+			if(this.index.containsKey(a.getConclusion()))
+				continue;
+			this.index.put(a.getConclusion(), this.assumptions.size());
+			this.in.add(new Proposition("in_" + this.assumptions.size()));
+			this.assumptions.add(a);
+			this.contraries.add(new ArrayList<>());
+		}
+		for(org.tweetyproject.arg.aba.syntax.Negation<T> n: abat.getNegations()) {
+			Integer i = this.index.get(n.getFormula());
+			if(i != null)
+				this.contraries.get(i).add(n.getNegation());
+		}
+		for(InferenceRule<T> rule: abat.getRules()) {
+			this.rules.add(rule);
+			this.premises.put(rule, new ArrayList<>(new LinkedHashSet<>(rule.getPremise())));
+			if(!this.index.containsKey(rule.getConclusion()))
+				this.rulesByConclusion.computeIfAbsent(rule.getConclusion(), k -> new ArrayList<>()).add(rule);
+		}
+		for(InferenceRule<T> rule: this.rules)
+			if(this.index.containsKey(rule.getConclusion())) {
+				// the theory is flat iff no assumption is derivable from all other assumptions
+				Set<T> others = new HashSet<>(this.index.keySet());
+				others.remove(rule.getConclusion());
+				if(this.derive(others).contains(rule.getConclusion()))
+					throw new IllegalArgumentException("Only flat ABA theories are supported.");
+			}
+		new Components().compute();
+	}
+
+	/**
+	 * Returns the number of assumptions.
+	 * @return the number of assumptions
+	 */
+	int size() {
+		return this.assumptions.size();
+	}
+
+	/**
+	 * Returns the index of the given assumption.
+	 * @param a some assumption
+	 * @return its index or null if it is no assumption of the theory
+	 */
+	Integer indexOf(Assumption<T> a) {
+		return this.index.get(a.getConclusion());
+	}
+
+	/**
+	 * Returns the proposition stating that the assumption with the given index is in the extension.
+	 * @param i the index of an assumption
+	 * @return the proposition "in_i"
+	 */
+	Proposition in(int i) {
+		return this.in.get(i);
+	}
+
+	/**
+	 * Returns the extension represented by the given possible world.
+	 * @param w a model of the encoding
+	 * @return the assumptions a with "in_a" true in w
+	 */
+	Set<Integer> decode(PossibleWorld w) {
+		Set<Integer> result = new HashSet<>();
+		for(int i = 0; i < this.in.size(); i++)
+			if(w.contains(this.in.get(i)))
+				result.add(i);
+		return result;
+	}
+
+	/**
+	 * Returns the extension consisting of the assumptions with the given indices.
+	 * @param s indices of assumptions
+	 * @return an extension
+	 */
+	AbaExtension<T> toExtension(Collection<Integer> s) {
+		AbaExtension<T> result = new AbaExtension<>();
+		for(int i: s)
+			result.add(this.assumptions.get(i));
+		return result;
+	}
+
+	/**
+	 * Returns the propositional characterisation of the given semantics.
+	 * @param semantics one of ADM, CO and ST
+	 * @return a set of clauses whose models correspond to the extensions wrt. the semantics
+	 */
+	PlBeliefSet encode(Semantics semantics) {
+		PlBeliefSet clauses = new PlBeliefSet();
+		Map<T,PlFormula> base = new HashMap<>();
+		for(int i = 0; i < this.assumptions.size(); i++)
+			base.put(this.assumptions.get(i).getConclusion(), this.in.get(i));
+		// attacked by the extension
+		List<PlFormula> attacked = this.attacked(this.encodeDerivability(base, clauses), clauses);
+		for(int i = 0; i < this.assumptions.size(); i++)
+			if(attacked.get(i) != null)
+				clauses.add(new Disjunction(this.not(this.in.get(i)), this.not(attacked.get(i))));
+		if(semantics == Semantics.ST) {
+			for(int i = 0; i < this.assumptions.size(); i++)
+				clauses.add(attacked.get(i) == null ? this.in.get(i) : new Disjunction(this.in.get(i), attacked.get(i)));
+			return clauses;
+		}
+		if(semantics != Semantics.ADM && semantics != Semantics.CO)
+			throw new IllegalArgumentException("Semantics " + semantics + " has no direct encoding.");
+		// attacked by the assumptions that are not attacked by the extension
+		base.clear();
+		for(int i = 0; i < this.assumptions.size(); i++)
+			if(attacked.get(i) == null)
+				base.put(this.assumptions.get(i).getConclusion(), this.top(clauses));
+			else base.put(this.assumptions.get(i).getConclusion(), this.not(attacked.get(i)));
+		List<PlFormula> undefended = this.attacked(this.encodeDerivability(base, clauses), clauses);
+		for(int i = 0; i < this.assumptions.size(); i++) {
+			if(undefended.get(i) != null)
+				clauses.add(new Disjunction(this.not(this.in.get(i)), this.not(undefended.get(i))));
+			if(semantics == Semantics.CO)
+				clauses.add(undefended.get(i) == null ? this.in.get(i) : new Disjunction(this.in.get(i), undefended.get(i)));
+		}
+		return clauses;
+	}
+
+	/**
+	 * Computes the grounded extension by iterating the defence function from the empty set.
+	 * @return the indices of the assumptions of the grounded extension
+	 */
+	Set<Integer> grounded() {
+		Set<Integer> s = new HashSet<>();
+		while(true) {
+			Set<T> derivable = this.derive(this.sentences(s));
+			Set<Integer> unattacked = new HashSet<>();
+			for(int i = 0; i < this.assumptions.size(); i++)
+				if(!this.isAttacked(i, derivable))
+					unattacked.add(i);
+			derivable = this.derive(this.sentences(unattacked));
+			Set<Integer> defended = new HashSet<>();
+			for(int i = 0; i < this.assumptions.size(); i++)
+				if(!this.isAttacked(i, derivable))
+					defended.add(i);
+			if(defended.equals(s))
+				return s;
+			s = defended;
+		}
+	}
+
+	/**
+	 * Checks whether some contrary of the given assumption is among the given sentences.
+	 * @param i the index of an assumption
+	 * @param derivable some sentences
+	 * @return true iff the assumption is attacked
+	 */
+	private boolean isAttacked(int i, Set<T> derivable) {
+		for(T c: this.contraries.get(i))
+			if(derivable.contains(c))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Returns the sentences of the assumptions with the given indices.
+	 * @param s indices of assumptions
+	 * @return their sentences
+	 */
+	private Set<T> sentences(Collection<Integer> s) {
+		Set<T> result = new HashSet<>();
+		for(int i: s)
+			result.add(this.assumptions.get(i).getConclusion());
+		return result;
+	}
+
+	/**
+	 * Computes all sentences derivable from the given sentences by forward chaining.
+	 * @param base some sentences
+	 * @return the derivable sentences (including base)
+	 */
+	private Set<T> derive(Set<T> base) {
+		Set<T> result = new HashSet<>(base);
+		Map<T,List<InferenceRule<T>>> waiting = new HashMap<>();
+		Map<InferenceRule<T>,Integer> missing = new HashMap<>();
+		Deque<T> todo = new ArrayDeque<>();
+		for(InferenceRule<T> rule: this.rules) {
+			int m = 0;
+			for(T p: this.premises.get(rule))
+				if(!result.contains(p)) {
+					waiting.computeIfAbsent(p, k -> new ArrayList<>()).add(rule);
+					m++;
+				}
+			missing.put(rule, m);
+			if(m == 0 && result.add(rule.getConclusion()))
+				todo.add(rule.getConclusion());
+		}
+		while(!todo.isEmpty())
+			for(InferenceRule<T> rule: waiting.getOrDefault(todo.pop(), new ArrayList<>())) {
+				int m = missing.get(rule) - 1;
+				missing.put(rule, m);
+				if(m == 0 && result.add(rule.getConclusion()))
+					todo.add(rule.getConclusion());
+			}
+		return result;
+	}
+
+	/**
+	 * Encodes derivability of all sentences from the assumptions, where the presence of
+	 * every assumption is given by a literal.
+	 * @param base a literal for every assumption
+	 * @param clauses receives the defining clauses
+	 * @return a literal for every derivable sentence; sentences that are never
+	 * 	derivable are missing
+	 */
+	private Map<T,PlFormula> encodeDerivability(Map<T,PlFormula> base, PlBeliefSet clauses) {
+		Map<T,PlFormula> lits = new HashMap<>(base);
+		for(List<T> component: this.components) {
+			if(!this.cyclic.contains(component.get(0))) {
+				T x = component.get(0);
+				PlFormula d = this.or(this.bodies(x, lits, lits, null), clauses);
+				if(d != null)
+					lits.put(x, d);
+				continue;
+			}
+			// unfold derivations within the component step by step
+			Set<T> members = new HashSet<>(component);
+			Map<T,PlFormula> previous = new HashMap<>();
+			for(int k = 0; k < component.size(); k++) {
+				Map<T,PlFormula> current = new HashMap<>();
+				for(T x: component) {
+					PlFormula d = this.or(this.bodies(x, lits, previous, members), clauses);
+					if(d != null)
+						current.put(x, d);
+				}
+				if(current.isEmpty())
+					break;
+				previous = current;
+			}
+			lits.putAll(previous);
+		}
+		return lits;
+	}
+
+	/**
+	 * Returns the bodies of the rules with the given conclusion.
+	 * @param x some sentence
+	 * @param outer the literals of sentences outside the component
+	 * @param inner the literals of sentences in the component (of the previous step)
+	 * @param members the sentences of the component (or null if it is acyclic)
+	 * @return the literals of the bodies that may hold
+	 */
+	private List<List<PlFormula>> bodies(T x, Map<T,PlFormula> outer, Map<T,PlFormula> inner, Set<T> members) {
+		List<List<PlFormula>> result = new ArrayList<>();
+		rules: for(InferenceRule<T> rule: this.rulesByConclusion.getOrDefault(x, new ArrayList<>())) {
+			List<PlFormula> body = new ArrayList<>();
+			for(T p: this.premises.get(rule)) {
+				PlFormula l = members != null && members.contains(p) ? inner.get(p) : outer.get(p);
+				if(l == null)
+					continue rules;
+				body.add(l);
+			}
+			result.add(body);
+		}
+		return result;
+	}
+
+	/**
+	 * Defines a new literal as the disjunction of the given rule bodies.
+	 * @param bodies conjunctions of literals
+	 * @param clauses receives the defining clauses
+	 * @return a literal equivalent to the disjunction, or null if there are no bodies
+	 */
+	private PlFormula or(List<List<PlFormula>> bodies, PlBeliefSet clauses) {
+		if(bodies.isEmpty())
+			return null;
+		List<PlFormula> lits = new ArrayList<>();
+		for(List<PlFormula> b: bodies) {
+			if(b.isEmpty())
+				return this.top(clauses);
+			lits.add(b.size() == 1 ? b.get(0) : this.and(b, clauses));
+		}
+		if(lits.size() == 1)
+			return lits.get(0);
+		Proposition d = this.fresh();
+		List<PlFormula> clause = new ArrayList<>();
+		clause.add(this.not(d));
+		for(PlFormula l: lits) {
+			clause.add(l);
+			clauses.add(new Disjunction(d, this.not(l)));
+		}
+		clauses.add(new Disjunction(clause));
+		return d;
+	}
+
+	/**
+	 * Defines a new literal as the conjunction of the given literals.
+	 * @param body some literals
+	 * @param clauses receives the defining clauses
+	 * @return a literal equivalent to the conjunction
+	 */
+	private PlFormula and(List<PlFormula> body, PlBeliefSet clauses) {
+		Proposition b = this.fresh();
+		List<PlFormula> clause = new ArrayList<>();
+		clause.add(b);
+		for(PlFormula l: body) {
+			clause.add(this.not(l));
+			clauses.add(new Disjunction(this.not(b), l));
+		}
+		clauses.add(new Disjunction(clause));
+		return b;
+	}
+
+	/**
+	 * Defines for every assumption a literal stating that some contrary of it is derivable.
+	 * @param lits the literals of the derivable sentences
+	 * @param clauses receives the defining clauses
+	 * @return for every assumption a literal, or null if no contrary is derivable
+	 */
+	private List<PlFormula> attacked(Map<T,PlFormula> lits, PlBeliefSet clauses) {
+		List<PlFormula> result = new ArrayList<>();
+		for(int i = 0; i < this.assumptions.size(); i++) {
+			List<List<PlFormula>> attackers = new ArrayList<>();
+			for(T c: this.contraries.get(i))
+				if(lits.containsKey(c))
+					attackers.add(Collections.singletonList(lits.get(c)));
+			result.add(this.or(attackers, clauses));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a proposition that is true in every model.
+	 * @param clauses receives the unit clause
+	 * @return the proposition
+	 */
+	private PlFormula top(PlBeliefSet clauses) {
+		Proposition top = new Proposition("top");
+		clauses.add(top);
+		return top;
+	}
+
+	/**
+	 * Returns a new auxiliary proposition.
+	 * @return a new proposition
+	 */
+	private Proposition fresh() {
+		return new Proposition("aux_" + this.aux++);
+	}
+
+	/**
+	 * Returns the complement of the given literal.
+	 * @param l some literal
+	 * @return its complement
+	 */
+	private PlFormula not(PlFormula l) {
+		if(l instanceof Negation)
+			return ((Negation) l).getFormula();
+		return new Negation(l);
+	}
+
+	/**
+	 * Computes the strongly connected components of the dependency graph of the sentences
+	 * that are no assumptions (Tarjan's algorithm), ordered such that every component comes
+	 * after the components it depends on.
+	 */
+	private class Components {
+		/** The discovery index of every visited sentence. */
+		private Map<T,Integer> discovered = new HashMap<>();
+		/** The lowest discovery index reachable from every sentence. */
+		private Map<T,Integer> low = new HashMap<>();
+		/** The sentences on the stack. */
+		private Deque<T> stack = new ArrayDeque<>();
+		/** The sentences on the stack, as a set. */
+		private Set<T> onStack = new HashSet<>();
+
+		/**
+		 * Computes the components.
+		 */
+		void compute() {
+			for(T x: rulesByConclusion.keySet())
+				if(!this.discovered.containsKey(x))
+					this.visit(x);
+		}
+
+		/**
+		 * Visits the given sentence.
+		 * @param x some sentence
+		 */
+		private void visit(T x) {
+			this.discovered.put(x, this.discovered.size());
+			this.low.put(x, this.discovered.get(x));
+			this.stack.push(x);
+			this.onStack.add(x);
+			boolean loop = false;
+			for(InferenceRule<T> rule: rulesByConclusion.get(x))
+				for(T p: premises.get(rule)) {
+					if(!rulesByConclusion.containsKey(p))
+						continue;
+					loop |= p.equals(x);
+					if(!this.discovered.containsKey(p)) {
+						this.visit(p);
+						this.low.put(x, Math.min(this.low.get(x), this.low.get(p)));
+					}else if(this.onStack.contains(p))
+						this.low.put(x, Math.min(this.low.get(x), this.discovered.get(p)));
+				}
+			if(!this.low.get(x).equals(this.discovered.get(x)))
+				return;
+			List<T> component = new ArrayList<>();
+			T y;
+			do {
+				y = this.stack.pop();
+				this.onStack.remove(y);
+				component.add(y);
+			}while(!y.equals(x));
+			if(loop || component.size() > 1)
+				cyclic.addAll(component);
+			components.add(component);
+		}
+	}
+}
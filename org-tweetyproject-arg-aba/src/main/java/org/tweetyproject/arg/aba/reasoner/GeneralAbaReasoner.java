@@ -27,6 +27,7 @@ import org.tweetyproject.commons.Formula;
 import org.tweetyproject.commons.InferenceMode;
 import org.tweetyproject.commons.ModelProvider;
 import org.tweetyproject.commons.QualitativeReasoner;
+import org.tweetyproject.commons.metrics.Metrics;
 
 /**
  * This is an abstract generalization over non-flat ABA reasoners.
@@ -53,7 +54,7 @@ public abstract class GeneralAbaReasoner<T extends Formula> implements Qualitati
 	 * @return "true" if the query is accepted
 	 */
 	public Boolean query(AbaTheory<T> beliefbase, Assumption<T> query, InferenceMode inferenceMode) {
-		Collection<AbaExtension<T>> extensions = this.getModels(beliefbase);
+		Collection<AbaExtension<T>> extensions = Metrics.getModels(this, beliefbase);
 		if(inferenceMode.equals(InferenceMode.SKEPTICAL)){
 			for(AbaExtension<T> e: extensions)
 				if(!e.contains(query))
@@ -0,0 +1,358 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.aba.reasoner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.tweetyproject.arg.aba.semantics.AbaExtension;
+import org.tweetyproject.arg.aba.syntax.AbaTheory;
+import org.tweetyproject.arg.aba.syntax.Assumption;
+import org.tweetyproject.arg.dung.semantics.Semantics;
+import org.tweetyproject.commons.Formula;
+import org.tweetyproject.commons.InferenceMode;
+import org.tweetyproject.logics.pl.sat.SatSolver;
+import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+
+/**
+ * A reasoner for flat ABA theories that uses a SAT solver on a direct propositional
+ * encoding of the semantics instead of enumerating sets of assumptions or constructing
+ * deductions (see {@link FlatAbaEncoding}). Supported are the admissible, complete,
+ * stable, preferred, grounded and ideal semantics.
+ * <ul>
+ * <li>Admissible, complete and stable extensions are the models of the encoding; they are
+ * enumerated by excluding every extension found.</li>
+ * <li>Preferred extensions are found by extending an admissible set until no admissible
+ * proper superset exists; then all its subsets are excluded.</li>
+ * <li>The grounded extension is computed by iterating the defence function, without
+ * SAT calls.</li>
+ * <li>The ideal extension is the largest admissible subset of the intersection of all
+ * preferred extensions.</li>
+ * </ul>
+ * Credulous queries are single SAT calls (for all semantics but stable, credulous acceptance
+ * is credulous acceptance wrt. admissible semantics); skeptical queries are single SAT calls
+ * for stable semantics, and stop at the first preferred extension without the assumption for
+ * preferred semantics. Extensions can be enumerated lazily with {@link #modelIterator(AbaTheory)}.
+ *
+ * @param <T> the language of the underlying ABA theory
+ */
+public class SatFlatAbaReasoner<T extends Formula> extends GeneralAbaReasoner<T> {
+
+	/** The semantics. */
+	private Semantics semantics;
+	/** The SAT solver. */
+	private SatSolver solver;
+
+	/**
+	 * Creates a new reasoner for the given semantics that uses the default SAT solver.
+	 * @param semantics one of ADM, CO, ST, PR, GR and ID
+	 */
+	public SatFlatAbaReasoner(Semantics semantics) {
+		this(semantics, SatSolver.getDefaultSolver());
+	}
+
+	/**
+	 * Creates a new reasoner for the given semantics that uses the given SAT solver.
+	 * @param semantics one of ADM, CO, ST, PR, GR and ID
+	 * @param solver some SAT solver
+	 */
+	public SatFlatAbaReasoner(Semantics semantics, SatSolver solver) {
+		switch(semantics) {
+			case ADM: case CO: case ST: case PR: case GR: case ID:
+				break;
+			default:
+				throw new IllegalArgumentException("Semantics " + semantics + " is not supported.");
+		}
+		this.semantics = semantics;
+		this.solver = solver;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.aba.reasoner.GeneralAbaReasoner#query(org.tweetyproject.arg.aba.syntax.AbaTheory, org.tweetyproject.arg.aba.syntax.Assumption, org.tweetyproject.commons.InferenceMode)
+	 */
+	@Override
+	public Boolean query(AbaTheory<T> beliefbase, Assumption<T> query, InferenceMode inferenceMode) {
+		FlatAbaEncoding<T> enc = new FlatAbaEncoding<>(beliefbase);
+		Integer i = enc.indexOf(query);
+		if(i == null)
+			return inferenceMode.equals(InferenceMode.SKEPTICAL) && !this.modelIterator(enc).hasNext();
+		switch(this.semantics) {
+			case GR:
+				return enc.grounded().contains(i);
+			case ID:
+				return this.ideal(enc).contains(i);
+			default:
+		}
+		if(inferenceMode.equals(InferenceMode.CREDULOUS)) {
+			PlBeliefSet prop = enc.encode(this.semantics == Semantics.ST ? Semantics.ST : Semantics.ADM);
+			prop.add(enc.in(i));
+			return this.solver.getWitness(prop) != null;
+		}
+		switch(this.semantics) {
+			case CO:
+				// the grounded extension is the intersection of all complete extensions
+				return enc.grounded().contains(i);
+			case PR:
+				Iterator<Set<Integer>> it = this.preferred(enc, new ArrayList<>());
+				while(it.hasNext())
+					if(!it.next().contains(i))
+						return false;
+				return true;
+			default:
+				PlBeliefSet prop = enc.encode(this.semantics);
+				prop.add(new Negation(enc.in(i)));
+				return this.solver.getWitness(prop) == null;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.aba.reasoner.GeneralAbaReasoner#getModels(org.tweetyproject.arg.aba.syntax.AbaTheory)
+	 */
+	@Override
+	public Collection<AbaExtension<T>> getModels(AbaTheory<T> abat) {
+		Collection<AbaExtension<T>> result = new HashSet<>();
+		Iterator<AbaExtension<T>> it = this.modelIterator(abat);
+		while(it.hasNext())
+			result.add(it.next());
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.aba.reasoner.GeneralAbaReasoner#getModel(org.tweetyproject.arg.aba.syntax.AbaTheory)
+	 */
+	@Override
+	public AbaExtension<T> getModel(AbaTheory<T> abat) {
+		Iterator<AbaExtension<T>> it = this.modelIterator(abat);
+		return it.hasNext() ? it.next() : null;
+	}
+
+	/**
+	 * Returns an iterator over the extensions of the given theory, which computes each
+	 * extension only when it is requested.
+	 * @param abat a flat ABA theory
+	 * @return an iterator over the extensions
+	 * @throws IllegalArgumentException if the theory is not flat
+	 */
+	public Iterator<AbaExtension<T>> modelIterator(AbaTheory<T> abat) throws IllegalArgumentException {
+		return this.modelIterator(new FlatAbaEncoding<>(abat));
+	}
+
+	/**
+	 * Returns an iterator over the extensions of the encoded theory.
+	 * @param enc the encoding of a theory
+	 * @return an iterator over the extensions
+	 */
+	private Iterator<AbaExtension<T>> modelIterator(FlatAbaEncoding<T> enc) {
+		Iterator<Set<Integer>> it;
+		switch(this.semantics) {
+			case GR:
+				it = List.of(enc.grounded()).iterator();
+				break;
+			case ID:
+				it = List.of(this.ideal(enc)).iterator();
+				break;
+			case PR:
+				it = this.preferred(enc, new ArrayList<>());
+				break;
+			default:
+				it = this.enumerate(enc, enc.encode(this.semantics));
+		}
+		return new Iterator<AbaExtension<T>>() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public AbaExtension<T> next() {
+				return enc.toExtension(it.next());
+			}
+		};
+	}
+
+	/**
+	 * Enumerates the models of the given encoding, excluding every extension found
+	 * from the following models.
+	 * @param enc the encoding of a theory
+	 * @param prop some clauses over the encoding
+	 * @return an iterator over the extensions represented by the models
+	 */
+	private Iterator<Set<Integer>> enumerate(FlatAbaEncoding<T> enc, PlBeliefSet prop) {
+		return new Search() {
+			@Override
+			protected Set<Integer> find() {
+				Set<Integer> s = solve(enc, prop);
+				if(s != null) {
+					List<PlFormula> clause = new ArrayList<>();
+					for(int i = 0; i < enc.size(); i++)
+						clause.add(s.contains(i) ? new Negation(enc.in(i)) : enc.in(i));
+					prop.add(new Disjunction(clause));
+				}
+				return s;
+			}
+		};
+	}
+
+	/**
+	 * Enumerates the preferred extensions of the encoded theory that satisfy the given
+	 * additional constraints. Every admissible set found is extended to a maximal one,
+	 * whose subsets are then excluded.
+	 * @param enc the encoding of a theory
+	 * @param constraints some clauses over the propositions "in_a"
+	 * @return an iterator over the preferred extensions
+	 */
+	private Iterator<Set<Integer>> preferred(FlatAbaEncoding<T> enc, List<PlFormula> constraints) {
+		PlBeliefSet adm = enc.encode(Semantics.ADM);
+		adm.addAll(constraints);
+		PlBeliefSet excluded = new PlBeliefSet(adm);
+		return new Search() {
+			private boolean done = false;
+			@Override
+			protected Set<Integer> find() {
+				if(this.done)
+					return null;
+				Set<Integer> s = solve(enc, excluded);
+				if(s == null)
+					return null;
+				while(true) {
+					List<PlFormula> larger = this.outside(s);
+					if(larger.isEmpty())
+						break;
+					PlBeliefSet prop = new PlBeliefSet(adm);
+					for(int i: s)
+						prop.add(enc.in(i));
+					prop.add(new Disjunction(larger));
+					Set<Integer> t = solve(enc, prop);
+					if(t == null)
+						break;
+					s = t;
+				}
+				List<PlFormula> outside = this.outside(s);
+				if(outside.isEmpty())
+					this.done = true;
+				else excluded.add(new Disjunction(outside));
+				return s;
+			}
+
+			/**
+			 * Returns the propositions of the assumptions not in the given set.
+			 * @param s a set of assumptions
+			 * @return the propositions "in_a" with a not in s
+			 */
+			private List<PlFormula> outside(Set<Integer> s) {
+				List<PlFormula> result = new ArrayList<>();
+				for(int i = 0; i < enc.size(); i++)
+					if(!s.contains(i))
+						result.add(enc.in(i));
+				return result;
+			}
+		};
+	}
+
+	/**
+	 * Computes the ideal extension, i.e. the largest admissible subset of the intersection
+	 * of all preferred extensions.
+	 * @param enc the encoding of a theory
+	 * @return the ideal extension
+	 */
+	private Set<Integer> ideal(FlatAbaEncoding<T> enc) {
+		Set<Integer> intersection = null;
+		Iterator<Set<Integer>> it = this.preferred(enc, new ArrayList<>());
+		while(it.hasNext()) {
+			Set<Integer> s = it.next();
+			if(intersection == null)
+				intersection = new HashSet<>(s);
+			else intersection.retainAll(s);
+		}
+		List<PlFormula> constraints = new ArrayList<>();
+		for(int i = 0; i < enc.size(); i++)
+			if(!intersection.contains(i))
+				constraints.add(new Negation(enc.in(i)));
+		// the admissible subsets of the intersection are closed under union
+		return this.preferred(enc, constraints).next();
+	}
+
+	/**
+	 * Returns the extension represented by some model of the given clauses.
+	 * @param enc the encoding of a theory
+	 * @param prop some clauses over the encoding
+	 * @return the extension or null if the clauses are unsatisfiable
+	 */
+	private Set<Integer> solve(FlatAbaEncoding<T> enc, PlBeliefSet prop) {
+		PossibleWorld w = (PossibleWorld) this.solver.getWitness(prop);
+		return w == null ? null : enc.decode(w);
+	}
+
+	/**
+	 * An iterator that finds the next element only when it is requested. Every element
+	 * is excluded from the following searches, so finding an element twice means that the
+	 * SAT solver returned a witness that does not satisfy the clauses.
+	 */
+	private abstract class Search implements Iterator<Set<Integer>> {
+		/** The next element, if already found. */
+		private Set<Integer> next;
+		/** Whether there are no more elements. */
+		private boolean exhausted = false;
+		/** The elements found so far. */
+		private Set<Set<Integer>> found = new HashSet<>();
+
+		/**
+		 * Finds the next element.
+		 * @return the next element or null if there is none
+		 */
+		protected abstract Set<Integer> find();
+
+		@Override
+		public boolean hasNext() {
+			if(this.next == null && !this.exhausted) {
+				this.next = this.find();
+				this.exhausted = this.next == null;
+				if(this.next != null && !this.found.add(this.next))
+					throw new IllegalStateException("The SAT solver returned an excluded model " + this.next + ".");
+			}
+			return this.next != null;
+		}
+
+		@Override
+		public Set<Integer> next() {
+			if(!this.hasNext())
+				throw new NoSuchElementException();
+			Set<Integer> result = this.next;
+			this.next = null;
+			return result;
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.Reasoner#isInstalled()
+	 */
+	@Override
+	public boolean isInstalled() {
+		return this.solver.isInstalled();
+	}
+}
@@ -34,6 +34,7 @@ import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.commons.BeliefBase;
 import org.tweetyproject.commons.Formula;
 import org.tweetyproject.commons.Signature;
+import org.tweetyproject.commons.util.CancellationToken;
 import org.tweetyproject.logics.fol.syntax.FolSignature;
 
 /**
@@ -85,6 +86,7 @@ public class AbaTheory<T extends Formula> implements BeliefBase {
 		do {
 			changed = false;
 			for (AbaRule<T> rule : getRules()) {
+				CancellationToken.checkpoint();
 				Collection<Collection<Deduction<T>>> subs = new HashSet<>();
 				boolean continueWithNextRule = false;
 				for (T prem : rule.getPremise()) {
@@ -164,9 +166,25 @@ public class AbaTheory<T extends Formula> implements BeliefBase {
 	 * @return true iff the theory is flat
 	 */
 	public boolean isFlat() {
-		Collection<Collection<Assumption<T>>> powerset = toPowerSet(getAssumptions());
-		for (Collection<Assumption<T>> asss : powerset) {
-			if (!isClosed(asss))
+		// as derivability is monotone, some set of assumptions is not closed iff
+		// some assumption is derivable from all other assumptions
+		Collection<InferenceRule<T>> rules = getRules();
+		Collection<Assumption<T>> assumptions = getAssumptions();
+		for (Assumption<T> a : assumptions) {
+			Set<T> derivable = new HashSet<>();
+			for (Assumption<T> b : assumptions)
+				if (!b.getConclusion().equals(a.getConclusion()))
+					derivable.add(b.getConclusion());
+			boolean changed;
+			do {
+				changed = false;
+				for (InferenceRule<T> rule : rules)
+					if (!derivable.contains(rule.getConclusion()) && derivable.containsAll(rule.getPremise())) {
+						derivable.add(rule.getConclusion());
+						changed = true;
+					}
+			} while (changed && !derivable.contains(a.getConclusion()));
+			if (derivable.contains(a.getConclusion()))
 				return false;
 		}
 		return true;
@@ -182,6 +200,7 @@ public class AbaTheory<T extends Formula> implements BeliefBase {
 		Collection<Collection<S>> powerset = new HashSet<>();
 		powerset.add(set);
 		for (int i = 0; i < set.size(); i++) {
+			CancellationToken.checkpoint();
 			List<S> list = new ArrayList<>(set);
 			list.remove(i);
 			powerset.addAll(toPowerSet(list));
@@ -345,6 +364,7 @@ public class AbaTheory<T extends Formula> implements BeliefBase {
 	public boolean defends(Collection<Assumption<T>> defendor, Assumption<T> defended) {
 		Collection<Assumption<T>> defedl = Arrays.asList(defended);
 		for (Collection<Assumption<T>> ext : getAllExtensions()) {
+			CancellationToken.checkpoint();
 			if (isClosed(ext) && attacks(ext, defedl) && !attacks(defendor, ext))
 				return false;
 		}
@@ -378,6 +398,7 @@ public class AbaTheory<T extends Formula> implements BeliefBase {
 	public Collection<Collection<Assumption<T>>> getAllConflictFreeExtensions() {
 		Collection<Collection<Assumption<T>>> result = new HashSet<>();
 		for (Collection<Assumption<T>> ext : toPowerSet(getAssumptions())) {
+			CancellationToken.checkpoint();
 			if (isConflictFree(ext))
 				result.add(ext);
 		}
@@ -396,6 +417,7 @@ public class AbaTheory<T extends Formula> implements BeliefBase {
 		if (!isClosed(ext))
 			return false;
 		for (Collection<Assumption<T>> as : toPowerSet(getAssumptions())) {
+			CancellationToken.checkpoint();
 			if (isClosed(as) && attacks(as, ext) && !attacks(ext, as))
 				return false;
 		}
@@ -410,6 +432,7 @@ public class AbaTheory<T extends Formula> implements BeliefBase {
 	public Collection<AbaExtension<T>> getAllAdmissbleExtensions() {
 		Collection<AbaExtension<T>> result = new HashSet<>();
 		for (Collection<Assumption<T>> ext : toPowerSet(getAssumptions())) {
+			CancellationToken.checkpoint();
 			AbaExtension<T> ext2 = new AbaExtension<T>(ext);
 			if (isAdmissible(ext2))
 				result.add(ext2);
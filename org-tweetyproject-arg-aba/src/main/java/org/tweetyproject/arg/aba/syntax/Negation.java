@@ -120,6 +120,22 @@ public class Negation<T extends Formula> extends AbaElement<T> {
 		return "not " + formula + " = " + negation;
 	}
 
+	/**
+	 * Returns the formula that is negated.
+	 * @return the formula
+	 */
+	public T getFormula() {
+		return formula;
+	}
+
+	/**
+	 * Returns the complement of the formula.
+	 * @return the complement
+	 */
+	public T getNegation() {
+		return negation;
+	}
+
 	@Override
 	public Set<? extends Predicate> getPredicates() {
 		Set<Predicate> predicates = new HashSet<Predicate>();
@@ -18,12 +18,16 @@
  */
 package org.tweetyproject.arg.aba;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -34,6 +38,7 @@ import org.tweetyproject.arg.aba.reasoner.CompleteReasoner;
 import org.tweetyproject.arg.aba.reasoner.FlatAbaReasoner;
 import org.tweetyproject.arg.aba.reasoner.GeneralAbaReasoner;
 import org.tweetyproject.arg.aba.reasoner.PreferredReasoner;
+import org.tweetyproject.arg.aba.reasoner.SatFlatAbaReasoner;
 import org.tweetyproject.arg.aba.reasoner.WellFoundedReasoner;
 import org.tweetyproject.arg.aba.semantics.AbaAttack;
 import org.tweetyproject.arg.aba.semantics.AbaExtension;
@@ -242,6 +247,41 @@ public class AbaTest {
 
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void SatReasonerTest() throws Exception {
+		PlParser plparser = new PlParser();
+		AbaParser<PlFormula> parser = new AbaParser<>(plparser);
+		AbaTheory<PlFormula> abat = parser
+				.parseBeliefBaseFromFile(AbaTest.class.getResource("/example11.aba").getFile());
+		// every extension is enumerated exactly once
+		Iterator<AbaExtension<PlFormula>> it = new SatFlatAbaReasoner<PlFormula>(Semantics.CO).modelIterator(abat);
+		assertTrue(it.hasNext());
+		assertEquals(new CompleteReasoner<PlFormula>().getModels(abat).iterator().next(), it.next());
+		assertFalse(it.hasNext());
+		// the only preferred extension is also the only stable and the ideal one
+		Set<AbaExtension<PlFormula>> preferred = new HashSet<>(new PreferredReasoner<PlFormula>().getModels(abat));
+		assertEquals(1, preferred.size());
+		assertEquals(preferred, new HashSet<>(new SatFlatAbaReasoner<PlFormula>(Semantics.ST).getModels(abat)));
+		assertEquals(preferred, new HashSet<>(new SatFlatAbaReasoner<PlFormula>(Semantics.ID).getModels(abat)));
+		abat.add((AbaRule<PlFormula>) parser.parseFormula("q <- q"));
+		abat.add((AbaRule<PlFormula>) parser.parseFormula("s <- r"));
+		abat.add((AbaRule<PlFormula>) parser.parseFormula("r <- s, c"));
+		assertTrue(abat.isFlat());
+		assertEquals(new HashSet<>(new CompleteReasoner<PlFormula>().getModels(abat)),
+				new HashSet<>(new SatFlatAbaReasoner<PlFormula>(Semantics.CO).getModels(abat)));
+		assertEquals(new HashSet<>(new PreferredReasoner<PlFormula>().getModels(abat)),
+				new HashSet<>(new SatFlatAbaReasoner<PlFormula>(Semantics.PR).getModels(abat)));
+		assertEquals(new HashSet<>(new WellFoundedReasoner<PlFormula>().getModels(abat)),
+				new HashSet<>(new SatFlatAbaReasoner<PlFormula>(Semantics.GR).getModels(abat)));
+		for (String a : new String[] { "a", "b", "c" }) {
+			Assumption<PlFormula> query = (Assumption<PlFormula>) parser.parseFormula(a);
+			for (InferenceMode mode : InferenceMode.values())
+				assertEquals(new PreferredReasoner<PlFormula>().query(abat, query, mode),
+						new SatFlatAbaReasoner<PlFormula>(Semantics.PR).query(abat, query, mode));
+		}
+	}
+
 //	@Test
 	public void ClosureTest() throws Exception {
 		PlParser plparser = new PlParser();
@@ -0,0 +1,125 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.aspic.order;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.tweetyproject.arg.aspic.syntax.AspicArgument;
+import org.tweetyproject.arg.aspic.syntax.InferenceRule;
+import org.tweetyproject.logics.commons.syntax.interfaces.Invertable;
+
+/**
+ * The sets of rules of an argument that are compared by the last link and weakest link
+ * orders, i.e. the top rules of its ordinary premises, its defeasible rules and its last
+ * defeasible rules. Each set is computed on first access and then kept, so comparing an
+ * argument with many other arguments only traverses the argument once. The argument must
+ * not be modified afterwards.
+ * <br>
+ * Instances may be shared between threads.
+ *
+ * @param <T> is the type of the language that the ASPIC theory's rules range over
+ */
+public class ArgumentRuleSets<T extends Invertable> {
+
+	/** The argument. */
+	private AspicArgument<T> argument;
+	/** The top rules of the ordinary premises. */
+	private volatile List<InferenceRule<T>> premiseRules;
+	/** The defeasible rules. */
+	private volatile Collection<InferenceRule<T>> defeasibleRules;
+	/** The last defeasible rules. */
+	private volatile Collection<InferenceRule<T>> lastDefeasibleRules;
+
+	/**
+	 * Creates the rule sets of the given argument.
+	 * @param argument some argument
+	 */
+	public ArgumentRuleSets(AspicArgument<T> argument) {
+		this.argument = argument;
+	}
+
+	/**
+	 * Returns the argument.
+	 * @return the argument
+	 */
+	public AspicArgument<T> getArgument() {
+		return this.argument;
+	}
+
+	/**
+	 * Returns the top rules of the ordinary premises of the argument.
+	 * @return the top rules of the ordinary premises
+	 */
+	public List<InferenceRule<T>> getOrdinaryPremiseRules() {
+		List<InferenceRule<T>> result = this.premiseRules;
+		if(result == null) {
+			result = new ArrayList<>();
+			for(AspicArgument<T> arg: this.argument.getOrdinaryPremises())
+				result.add(arg.getTopRule());
+			this.premiseRules = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the defeasible rules of the argument.
+	 * @return the defeasible rules
+	 * @see AspicArgument#getDefeasibleRules()
+	 */
+	public Collection<InferenceRule<T>> getDefeasibleRules() {
+		Collection<InferenceRule<T>> result = this.defeasibleRules;
+		if(result == null) {
+			result = this.argument.getDefeasibleRules();
+			this.defeasibleRules = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the last defeasible rules of the argument.
+	 * @return the last defeasible rules
+	 * @see AspicArgument#getListLastDefeasibleRules()
+	 */
+	public Collection<InferenceRule<T>> getLastDefeasibleRules() {
+		Collection<InferenceRule<T>> result = this.lastDefeasibleRules;
+		if(result == null) {
+			result = this.argument.getListLastDefeasibleRules();
+			this.lastDefeasibleRules = result;
+		}
+		return result;
+	}
+
+	/**
+	 * An argument is strict iff it does not contain defeasible rules.
+	 * @return true iff the argument is strict
+	 */
+	public boolean isStrict() {
+		return this.getDefeasibleRules().isEmpty();
+	}
+
+	/**
+	 * An argument is firm iff it does not contain ordinary premises.
+	 * @return true iff the argument is firm
+	 */
+	public boolean isFirm() {
+		return this.getOrdinaryPremiseRules().isEmpty();
+	}
+}
@@ -18,10 +18,8 @@
  */
  package org.tweetyproject.arg.aspic.order;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.List;
 
 import org.tweetyproject.arg.aspic.syntax.AspicArgument;
 import org.tweetyproject.arg.aspic.syntax.AspicArgumentationTheory;
@@ -36,7 +34,7 @@ import org.tweetyproject.logics.commons.syntax.interfaces.Invertable;
  * 
  * @param <T>	is the type of the language that the ASPIC theory's rules range over 
  */
-public class LastLinkOrder <T extends Invertable> extends GeneralComparator<AspicArgument<T>, AspicArgumentationTheory<T>> {
+public class LastLinkOrder <T extends Invertable> extends GeneralComparator<AspicArgument<T>, AspicArgumentationTheory<T>> implements RuleSetOrder<T> {
 	
 
 	
@@ -67,18 +65,19 @@ public class LastLinkOrder <T extends Invertable> extends GeneralComparator<Aspi
 	 */
 	@Override
 	public int compare(AspicArgument<T> a, AspicArgument<T> b) {
-		if(!a.hasDefeasibleSub() && ! b.hasDefeasibleSub()) {
-			List<InferenceRule<T>> a_prems = new ArrayList<>();
-			for (AspicArgument<T> arg :a.getOrdinaryPremises() )
-				a_prems.add(arg.getTopRule());
-			List<InferenceRule<T>> b_prems = new ArrayList<>();
-			for (AspicArgument<T> arg :b.getOrdinaryPremises() )
-				b_prems.add(arg.getTopRule());
-			return premset_comp.compare(a_prems, b_prems);
-		}
+		return compareRuleSets(new ArgumentRuleSets<>(a), new ArgumentRuleSets<>(b));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.aspic.order.RuleSetOrder#compareRuleSets(org.tweetyproject.arg.aspic.order.ArgumentRuleSets, org.tweetyproject.arg.aspic.order.ArgumentRuleSets)
+	 */
+	@Override
+	public int compareRuleSets(ArgumentRuleSets<T> a, ArgumentRuleSets<T> b) {
+		if(a.isStrict() && b.isStrict())
+			return premset_comp.compare(a.getOrdinaryPremiseRules(), b.getOrdinaryPremiseRules());
 		
-		Collection<InferenceRule<T>> alir = a.getListLastDefeasibleRules();
-		Collection<InferenceRule<T>> blir = b.getListLastDefeasibleRules();
+		Collection<InferenceRule<T>> alir = a.getLastDefeasibleRules();
+		Collection<InferenceRule<T>> blir = b.getLastDefeasibleRules();
 		return ruleset_comp.compare(alir, blir);
 	}
 
@@ -0,0 +1,40 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.aspic.order;
+
+import org.tweetyproject.logics.commons.syntax.interfaces.Invertable;
+
+/**
+ * An order over arguments that only depends on the rule sets of the arguments, so
+ * that the rule sets can be computed once per argument when many pairs of arguments
+ * are compared.
+ *
+ * @param <T> is the type of the language that the ASPIC theory's rules range over
+ */
+public interface RuleSetOrder<T extends Invertable> {
+
+	/**
+	 * Compares two arguments given by their rule sets.
+	 * @param a the rule sets of the first argument
+	 * @param b the rule sets of the second argument
+	 * @return a negative number, zero or a positive number if the first argument is
+	 * 	less, equally or more preferred than the second argument
+	 */
+	int compareRuleSets(ArgumentRuleSets<T> a, ArgumentRuleSets<T> b);
+}
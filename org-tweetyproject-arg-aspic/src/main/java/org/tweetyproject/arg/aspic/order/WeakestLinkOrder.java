@@ -18,7 +18,6 @@
  */
  package org.tweetyproject.arg.aspic.order;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -37,7 +36,7 @@ import org.tweetyproject.logics.commons.syntax.interfaces.Invertable;
  * 
  * @param <T>	is the type of the language that the ASPIC theory's rules range over 
  */
-public class WeakestLinkOrder <T extends Invertable> extends GeneralComparator<AspicArgument<T>, AspicArgumentationTheory<T>> {
+public class WeakestLinkOrder <T extends Invertable> extends GeneralComparator<AspicArgument<T>, AspicArgumentationTheory<T>> implements RuleSetOrder<T> {
 	
 	/**
 	 * Comparators for defeasible rules and ordinary premises
@@ -66,12 +65,16 @@ public class WeakestLinkOrder <T extends Invertable> extends GeneralComparator<A
 	 */
 	@Override
 	public int compare(AspicArgument<T> a, AspicArgument<T> b) {
-		List<InferenceRule<T>> a_prems = new ArrayList<>();
-		for (AspicArgument<T> arg :a.getOrdinaryPremises() )
-			a_prems.add(arg.getTopRule());
-		List<InferenceRule<T>> b_prems = new ArrayList<>();
-		for (AspicArgument<T> arg :b.getOrdinaryPremises() )
-			b_prems.add(arg.getTopRule());
+		return compareRuleSets(new ArgumentRuleSets<>(a), new ArgumentRuleSets<>(b));
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.aspic.order.RuleSetOrder#compareRuleSets(org.tweetyproject.arg.aspic.order.ArgumentRuleSets, org.tweetyproject.arg.aspic.order.ArgumentRuleSets)
+	 */
+	@Override
+	public int compareRuleSets(ArgumentRuleSets<T> a, ArgumentRuleSets<T> b) {
+		List<InferenceRule<T>> a_prems = a.getOrdinaryPremiseRules();
+		List<InferenceRule<T>> b_prems = b.getOrdinaryPremiseRules();
 		if(a.isStrict()&&b.isStrict()) {
 			return premset_comp.compare(a_prems, b_prems);
 		}
@@ -97,7 +97,7 @@ public class DirectionalAspicReasoner<T extends Invertable> extends AbstractAspi
 		Collection<AspicArgument<T>> args = getArgsRec(aat, conc);
 		DungTheory dung_theory = new DungTheory();
 		dung_theory.addAll(args);
-		dung_theory.addAllAttacks(AspicAttack.determineAttackRelations(args, aat.getOrder(), aat.getRuleFormulaGenerator()));
+		dung_theory.addAllAttacks(AspicAttack.determineAttackRelations(args, aat.getOrder(), aat.getRuleFormulaGenerator(), aat.isParallelAttacks()));
 		if(!simplifyArgumentStructure)
 			return dung_theory;
 		DungTheory dung_theory2 = new DungTheory();
@@ -114,48 +114,6 @@ public class DirectionalAspicReasoner<T extends Invertable> extends AbstractAspi
 		return dung_theory2;
 	}
 
-	private Set<AspicArgument<T>> constructArgsWithConclusion(AspicArgumentationTheory<T> aat, T conc, Set<T> conclusions) {
-	
-		conclusions = new HashSet<>(conclusions);
-		conclusions.add(conc);
-
-		Set<AspicArgument<T>> result = new LinkedHashSet<>();
-		outer: for (InferenceRule<T> rule: aat.getRulesWithConclusion(conc)) {
-			// Skip rules where conclusion is repeated as premise
-			for (T premise: rule.getPremise()) {
-				if (conclusions.contains(premise)) {
-					continue outer;
-				}
-			}
-			// Set up list of partial args (i.e. may not contain necessary sub args)
-			Set<AspicArgument<T>> newPartialArgs = new LinkedHashSet<>();
-			Set<AspicArgument<T>> partialArgs = new LinkedHashSet<>();
-			partialArgs.add(new AspicArgument<>(rule));
-
-			// For each premise ...
-			for (T premise: rule.getPremise()) {
-				// Construct all sub args
-				Set<AspicArgument<T>> subArgs = constructArgsWithConclusion(aat, premise, conclusions);
-				
-				// Update and replace all partial args
-				for (AspicArgument<T> partialArg: partialArgs) {
-					for (AspicArgument<T> subArg: subArgs) {
-						AspicArgument<T> partialArgCopy = partialArg.shallowCopy();
-						partialArgCopy.addDirectSub(subArg);
-						newPartialArgs.add(partialArgCopy);
-					}
-				}
-				partialArgs.clear();
-				partialArgs.addAll(newPartialArgs);
-				newPartialArgs.clear();
-
-			}
-			result.addAll(partialArgs);
-		}
-		return result;
-	}
-	
-	
 	/**
 	 * Gets the arguments recursively
 	 * @param aat the argumentation theory
@@ -170,7 +128,7 @@ public class DirectionalAspicReasoner<T extends Invertable> extends AbstractAspi
 		Set<AspicArgument<T>> argsDone = new HashSet<>();
 		Set<T> conclusionsDone = new HashSet<>();
 
-		Set<AspicArgument<T>> args = new LinkedHashSet<>(constructArgsWithConclusion(aat, conc, new HashSet<>()));
+		Set<AspicArgument<T>> args = new LinkedHashSet<>(aat.getArgumentsWithConclusion(conc));
 		conclusionsDone.add(conc);
 		
 		boolean repeat = true;
@@ -184,7 +142,7 @@ public class DirectionalAspicReasoner<T extends Invertable> extends AbstractAspi
 					for (T conclusion: getAttackingConclusions(argument, aat.getRuleFormulaGenerator())) {
 						if (!conclusionsDone.contains(conclusion)) {
 							conclusionsDone.add(conclusion);
-							newArgs.addAll(constructArgsWithConclusion(aat, conclusion, new HashSet<>()));
+							newArgs.addAll(aat.getArgumentsWithConclusion(conclusion));
 						}
 					}
 				}
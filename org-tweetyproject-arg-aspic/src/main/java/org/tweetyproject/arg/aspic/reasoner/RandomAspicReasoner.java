@@ -122,7 +122,7 @@ public class RandomAspicReasoner<T extends Invertable> extends AbstractAspicReas
 		}
 		DungTheory aaf = new DungTheory();
 		aaf.addAll(args);
-		aaf.addAllAttacks(AspicAttack.determineAttackRelations(args, aat.getOrder(), aat.getRuleFormulaGenerator()));
+		aaf.addAllAttacks(AspicAttack.determineAttackRelations(args, aat.getOrder(), aat.getRuleFormulaGenerator(), aat.isParallelAttacks()));
 		return aaf;
 	}
 
@@ -18,7 +18,6 @@
  */
 package org.tweetyproject.arg.aspic.semantics;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 
@@ -54,15 +53,21 @@ public class AspicAttack<T extends Invertable> extends Attack {
 	 * @return a list of all tuples (a,b) with a, b in args where a defeats b
 	 */
 	public static <T extends Invertable> Collection<AspicAttack<T>> determineAttackRelations(Collection<AspicArgument<T>> args, Comparator<AspicArgument<T>> order, RuleFormulaGenerator<T> rfgen) {
-		Collection<AspicAttack<T>> successfull = new ArrayList<>();
-		for (AspicArgument<T> active : args)
-			for (AspicArgument<T> passive : args)
-				if (active != passive) {
-					if(AspicAttack.isAttack(active,passive,rfgen,order)) {
-						successfull.add(new AspicAttack<>(active, passive));
-					}
-				}
-		return successfull;
+		return determineAttackRelations(args, order, rfgen, false);
+	}
+
+	/**
+	 * Checks for defeats in a list of arguments, only candidate pairs are checked
+	 * @param <T> the type of formula
+	 * @param args	a list of arguments
+	 * @param order	an comparator which should compare the arguments in args (must be thread-safe if parallel is true)
+	 * @param rfgen a rule formula generator
+	 * @param parallel whether the attacks are computed in parallel
+	 * @return a list of all tuples (a,b) with a, b in args where a defeats b
+	 * @see AspicAttackBuilder
+	 */
+	public static <T extends Invertable> Collection<AspicAttack<T>> determineAttackRelations(Collection<AspicArgument<T>> args, Comparator<AspicArgument<T>> order, RuleFormulaGenerator<T> rfgen, boolean parallel) {
+		return new AspicAttackBuilder<>(order, rfgen).setParallel(parallel).build(args);
 	}
 	
 	/**
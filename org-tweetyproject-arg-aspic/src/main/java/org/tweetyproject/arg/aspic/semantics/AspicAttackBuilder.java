@@ -0,0 +1,190 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.aspic.semantics;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.tweetyproject.arg.aspic.order.ArgumentRuleSets;
+import org.tweetyproject.arg.aspic.order.RuleSetOrder;
+import org.tweetyproject.arg.aspic.ruleformulagenerator.RuleFormulaGenerator;
+import org.tweetyproject.arg.aspic.syntax.AspicArgument;
+import org.tweetyproject.arg.aspic.syntax.DefeasibleInferenceRule;
+import org.tweetyproject.arg.aspic.syntax.InferenceRule;
+import org.tweetyproject.logics.commons.syntax.interfaces.Invertable;
+
+/**
+ * Computes the successful attacks between a set of arguments without checking every pair
+ * of arguments. The arguments are indexed by their conclusions. For every attacked argument,
+ * the complements of the conclusions of its defeasible sub-arguments and ordinary premises and
+ * the complements of the rule formulas of its defeasible rules are looked up in this index,
+ * so that only candidate attackers are considered. Rule formulas and their complements are
+ * generated once per rule. If the order implements {@link RuleSetOrder} (like
+ * {@link org.tweetyproject.arg.aspic.order.LastLinkOrder} and
+ * {@link org.tweetyproject.arg.aspic.order.WeakestLinkOrder}), the rule sets of every argument
+ * are computed only once.
+ * <br>
+ * The result is the same as checking every pair with {@link AspicAttack#isAttack(AspicArgument, AspicArgument, RuleFormulaGenerator, Comparator)}.
+ * If parallel computation is enabled, the attackers of the arguments are determined in parallel
+ * (using the common fork/join pool); then the order must be thread-safe.
+ *
+ * @param <T> is the type of the language that the ASPIC theory's rules range over
+ */
+public class AspicAttackBuilder<T extends Invertable> {
+
+	/** The order over arguments (or null). */
+	private Comparator<AspicArgument<T>> order;
+	/** The rule formula generator (or null). */
+	private RuleFormulaGenerator<T> rfgen;
+	/** Whether the attacks are computed in parallel. */
+	private boolean parallel = false;
+
+	/**
+	 * Creates a new builder.
+	 * @param order an order over arguments (or null, if all arguments are equally preferred)
+	 * @param rfgen a rule formula generator (may only be null if there are no defeasible rules)
+	 */
+	public AspicAttackBuilder(Comparator<AspicArgument<T>> order, RuleFormulaGenerator<T> rfgen) {
+		this.order = order;
+		this.rfgen = rfgen;
+	}
+
+	/**
+	 * Sets whether the attacks are computed in parallel.
+	 * @param parallel whether the attacks are computed in parallel
+	 * @return this builder
+	 */
+	public AspicAttackBuilder<T> setParallel(boolean parallel) {
+		this.parallel = parallel;
+		return this;
+	}
+
+	/**
+	 * Computes all successful attacks between the given arguments.
+	 * @param args a collection of arguments
+	 * @return all attacks (a,b) with a, b in args where a defeats b
+	 */
+	public Collection<AspicAttack<T>> build(Collection<AspicArgument<T>> args) {
+		List<AspicArgument<T>> arguments = new ArrayList<>(args);
+		if(arguments.size() < 2)
+			return new ArrayList<>();
+		Map<Invertable,List<Integer>> byConclusion = new HashMap<>();
+		for(int i = 0; i < arguments.size(); i++)
+			byConclusion.computeIfAbsent(arguments.get(i).getConclusion(), k -> new ArrayList<>()).add(i);
+		// the rule formulas are generated sequentially, the generator need not be thread-safe
+		List<List<AspicArgument<T>>> defeasibleSubs = this.map(arguments, a -> new ArrayList<>(a.getDefeasibleSubs()));
+		List<List<AspicArgument<T>>> premises = this.map(arguments, a -> new ArrayList<>(a.getOrdinaryPremises()));
+		Map<InferenceRule<T>,Invertable> undercutters = new HashMap<>();
+		Map<AspicArgument<T>,Invertable> rebutters = new IdentityHashMap<>();
+		for(int j = 0; j < arguments.size(); j++) {
+			for(AspicArgument<T> a: defeasibleSubs.get(j)) {
+				if(this.rfgen == null)
+					throw new NullPointerException("AspicAttack: RuleFormulaGenerator missing");
+				undercutters.computeIfAbsent(a.getTopRule(), r -> this.rfgen.getRuleFormula((DefeasibleInferenceRule<T>) r).complement());
+				rebutters.computeIfAbsent(a, s -> s.getConclusion().complement());
+			}
+			for(AspicArgument<T> a: premises.get(j))
+				rebutters.computeIfAbsent(a, s -> s.getConclusion().complement());
+		}
+		Map<AspicArgument<T>,ArgumentRuleSets<T>> ruleSets = new IdentityHashMap<>();
+		if(this.order instanceof RuleSetOrder) {
+			for(AspicArgument<T> a: arguments)
+				ruleSets.put(a, new ArgumentRuleSets<>(a));
+			for(AspicArgument<T> a: rebutters.keySet())
+				ruleSets.computeIfAbsent(a, ArgumentRuleSets::new);
+		}
+		List<List<AspicAttack<T>>> attacks = this.map(IntStream.range(0, arguments.size()).boxed().collect(Collectors.toList()), j -> {
+			AspicArgument<T> passive = arguments.get(j);
+			BitSet attackers = new BitSet(arguments.size());
+			for(AspicArgument<T> a: defeasibleSubs.get(j))
+				for(int i: byConclusion.getOrDefault(undercutters.get(a.getTopRule()), Collections.emptyList()))
+					attackers.set(i);
+			for(AspicArgument<T> a: defeasibleSubs.get(j))
+				this.rebut(a, arguments, byConclusion, rebutters, ruleSets, attackers);
+			for(AspicArgument<T> a: premises.get(j))
+				this.rebut(a, arguments, byConclusion, rebutters, ruleSets, attackers);
+			List<AspicAttack<T>> result = new ArrayList<>();
+			for(int i = attackers.nextSetBit(0); i >= 0; i = attackers.nextSetBit(i + 1))
+				if(arguments.get(i) != passive)
+					result.add(new AspicAttack<>(arguments.get(i), passive));
+			return result;
+		});
+		Collection<AspicAttack<T>> result = new ArrayList<>();
+		for(List<AspicAttack<T>> l: attacks)
+			result.addAll(l);
+		return result;
+	}
+
+	/**
+	 * Adds the arguments that successfully rebut (or undermine) the given sub-argument.
+	 * @param a a defeasible sub-argument or ordinary premise
+	 * @param arguments all arguments
+	 * @param byConclusion the indices of the arguments by conclusion
+	 * @param rebutters the complements of the conclusions of the sub-arguments
+	 * @param ruleSets the rule sets of the arguments (if the order is a {@link RuleSetOrder})
+	 * @param attackers receives the indices of the attackers
+	 */
+	private void rebut(AspicArgument<T> a, List<AspicArgument<T>> arguments, Map<Invertable,List<Integer>> byConclusion,
+			Map<AspicArgument<T>,Invertable> rebutters, Map<AspicArgument<T>,ArgumentRuleSets<T>> ruleSets, BitSet attackers) {
+		for(int i: byConclusion.getOrDefault(rebutters.get(a), Collections.emptyList()))
+			if(!attackers.get(i) && this.compare(arguments.get(i), a, ruleSets) >= 0)
+				attackers.set(i);
+	}
+
+	/**
+	 * Compares the given arguments wrt. the order.
+	 * @param a some argument
+	 * @param b some argument
+	 * @param ruleSets the rule sets of the arguments (if the order is a {@link RuleSetOrder})
+	 * @return the result of the comparison
+	 */
+	@SuppressWarnings("unchecked")
+	private int compare(AspicArgument<T> a, AspicArgument<T> b, Map<AspicArgument<T>,ArgumentRuleSets<T>> ruleSets) {
+		if(this.order == null)
+			return 0;
+		if(this.order instanceof RuleSetOrder)
+			return ((RuleSetOrder<T>) this.order).compareRuleSets(ruleSets.get(a), ruleSets.get(b));
+		return this.order.compare(a, b);
+	}
+
+	/**
+	 * Applies the given function to all elements of the given list, in parallel if
+	 * parallel computation is enabled.
+	 * @param <S> the type of the elements
+	 * @param <R> the type of the results
+	 * @param list some list
+	 * @param f some function
+	 * @return the results in the order of the list
+	 */
+	private <S,R> List<R> map(List<S> list, Function<S,R> f) {
+		if(this.parallel)
+			return list.parallelStream().map(f).collect(Collectors.toList());
+		return list.stream().map(f).collect(Collectors.toList());
+	}
+}
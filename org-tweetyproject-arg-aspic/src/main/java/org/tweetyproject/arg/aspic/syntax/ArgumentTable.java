@@ -0,0 +1,184 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.aspic.syntax;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.tweetyproject.logics.commons.syntax.interfaces.Invertable;
+
+/**
+ * A table of the arguments of a fixed set of rules, indexed by conclusion. The arguments
+ * for a conclusion are computed on demand: all conclusions that the requested conclusion
+ * (transitively) depends on and that are not yet in the table are computed together by
+ * semi-naive fixpoint iteration, i.e. in every round, each rule is only combined with at least
+ * one sub-argument constructed in the previous round. Sub-arguments are shared between all
+ * arguments that contain them. As in {@link AspicArgumentationTheory#getArguments()}, a
+ * sub-argument may not contain the conclusion of the rule it is used for, so arguments are
+ * finite even if the rules are cyclic.
+ * <br>
+ * The table is thread-safe.
+ *
+ * @param <T> is the type of the language that the ASPIC theory's rules range over
+ */
+class ArgumentTable<T extends Invertable> {
+
+	/** The rules by conclusion. */
+	private Map<T,List<InferenceRule<T>>> rules = new HashMap<>();
+	/** The distinct premises of each rule. */
+	private Map<InferenceRule<T>,List<T>> premises = new HashMap<>();
+	/** The arguments constructed so far, by conclusion. */
+	private Map<T,List<AspicArgument<T>>> arguments = new HashMap<>();
+	/** The conclusions whose arguments are all constructed. */
+	private Set<T> complete = new HashSet<>();
+	/** The conclusions of each constructed argument (including those of its sub-arguments). */
+	private Map<AspicArgument<T>,Set<T>> conclusions = new IdentityHashMap<>();
+
+	/**
+	 * Creates a new table for the given rules.
+	 * @param rules some ground rules
+	 */
+	ArgumentTable(Collection<InferenceRule<T>> rules) {
+		for(InferenceRule<T> rule: rules) {
+			this.rules.computeIfAbsent(rule.getConclusion(), k -> new ArrayList<>()).add(rule);
+			this.premises.put(rule, new ArrayList<>(new LinkedHashSet<>(rule.getPremise())));
+		}
+	}
+
+	/**
+	 * Returns all arguments with the given conclusion.
+	 * @param conclusion some formula
+	 * @return the arguments with that conclusion
+	 */
+	synchronized Collection<AspicArgument<T>> getArguments(T conclusion) {
+		if(!this.complete.contains(conclusion))
+			this.compute(Collections.singleton(conclusion));
+		return new LinkedHashSet<>(this.arguments.get(conclusion));
+	}
+
+	/**
+	 * Returns all arguments.
+	 * @return all arguments
+	 */
+	synchronized Collection<AspicArgument<T>> getArguments() {
+		this.compute(this.rules.keySet());
+		Collection<AspicArgument<T>> result = new HashSet<>();
+		for(List<AspicArgument<T>> args: this.arguments.values())
+			result.addAll(args);
+		return result;
+	}
+
+	/**
+	 * Computes the arguments of the given conclusions and of all conclusions they depend on.
+	 * @param goals some conclusions
+	 */
+	private void compute(Collection<T> goals) {
+		Set<T> pending = new LinkedHashSet<>();
+		Deque<T> todo = new ArrayDeque<>(goals);
+		while(!todo.isEmpty()) {
+			T c = todo.pop();
+			if(this.complete.contains(c) || !pending.add(c))
+				continue;
+			this.arguments.putIfAbsent(c, new ArrayList<>());
+			for(InferenceRule<T> rule: this.rules.getOrDefault(c, new ArrayList<>()))
+				todo.addAll(this.premises.get(rule));
+		}
+		if(pending.isEmpty())
+			return;
+		List<InferenceRule<T>> rules = new ArrayList<>();
+		for(T c: pending)
+			rules.addAll(this.rules.getOrDefault(c, new ArrayList<>()));
+		Map<T,Integer> old = null;
+		while(true) {
+			Map<T,Integer> current = new HashMap<>();
+			for(InferenceRule<T> rule: rules)
+				for(T p: this.premises.get(rule))
+					current.put(p, this.arguments.get(p).size());
+			List<AspicArgument<T>> created = new ArrayList<>();
+			for(InferenceRule<T> rule: rules) {
+				List<T> prems = this.premises.get(rule);
+				int[] from = new int[prems.size()], to = new int[prems.size()];
+				if(old == null) {
+					// first round: all combinations
+					for(int j = 0; j < prems.size(); j++)
+						to[j] = current.get(prems.get(j));
+					this.combine(rule, prems, from, to, 0, new ArrayList<>(), created);
+					continue;
+				}
+				for(int i = 0; i < prems.size(); i++) {
+					// the i-th sub-argument is new, the previous ones are old
+					for(int j = 0; j < prems.size(); j++) {
+						from[j] = j == i ? old.get(prems.get(j)) : 0;
+						to[j] = j < i ? old.get(prems.get(j)) : current.get(prems.get(j));
+					}
+					if(from[i] < to[i])
+						this.combine(rule, prems, from, to, 0, new ArrayList<>(), created);
+				}
+			}
+			if(created.isEmpty())
+				break;
+			for(AspicArgument<T> arg: created)
+				this.arguments.get(arg.getConclusion()).add(arg);
+			old = current;
+		}
+		this.complete.addAll(pending);
+	}
+
+	/**
+	 * Creates all arguments with the given top rule and sub-arguments from the given ranges.
+	 * @param rule some rule
+	 * @param prems the premises of the rule
+	 * @param from for each premise, the first index of the sub-arguments
+	 * @param to for each premise, the last index (exclusive) of the sub-arguments
+	 * @param j the current premise
+	 * @param subs the sub-arguments for the previous premises
+	 * @param created receives the new arguments
+	 */
+	private void combine(InferenceRule<T> rule, List<T> prems, int[] from, int[] to, int j, List<AspicArgument<T>> subs, List<AspicArgument<T>> created) {
+		if(j == prems.size()) {
+			AspicArgument<T> arg = new AspicArgument<>(rule, subs);
+			Set<T> concs = new HashSet<>();
+			concs.add(rule.getConclusion());
+			for(AspicArgument<T> sub: subs)
+				concs.addAll(this.conclusions.get(sub));
+			this.conclusions.put(arg, concs);
+			created.add(arg);
+			return;
+		}
+		List<AspicArgument<T>> candidates = this.arguments.get(prems.get(j));
+		for(int k = from[j]; k < to[j]; k++) {
+			AspicArgument<T> sub = candidates.get(k);
+			if(this.conclusions.get(sub).contains(rule.getConclusion()))
+				continue;
+			subs.add(sub);
+			this.combine(rule, prems, from, to, j + 1, subs, created);
+			subs.remove(subs.size() - 1);
+		}
+	}
+}
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -58,6 +59,16 @@ public class AspicArgumentationTheory<T extends Invertable> extends RuleSet<Infe
 	 * An order over this system's arguments, needed for their defeat relation
 	 */
 	private Comparator<AspicArgument<T>> order;
+
+	/**
+	 * Whether the attacks between the arguments are computed in parallel
+	 */
+	private boolean parallelAttacks = false;
+
+	/**
+	 * The arguments constructed so far, discarded when the rules are changed
+	 */
+	private transient ArgumentTable<T> table;
 	/**
 	 * Used to transform ASPIC inference rules into words of the language they range
 	 * over
@@ -154,7 +165,7 @@ public class AspicArgumentationTheory<T extends Invertable> extends RuleSet<Infe
 		Collection<AspicArgument<T>> args = getArguments();
 		DungTheory dung_theory = new DungTheory();
 		dung_theory.addAll(args);
-		dung_theory.addAllAttacks(AspicAttack.determineAttackRelations(args, order, rfgen));
+		dung_theory.addAllAttacks(AspicAttack.determineAttackRelations(args, order, rfgen, parallelAttacks));
 		if (!simplifyArgumentStructure)
 			return dung_theory;
 		DungTheory dung_theory2 = new DungTheory();
@@ -193,59 +204,130 @@ public class AspicArgumentationTheory<T extends Invertable> extends RuleSet<Infe
 	 * @return the arguments constructed from this system's inference rules
 	 */
 	public Collection<AspicArgument<T>> getArguments() {
-		Collection<AspicArgument<T>> args = new HashSet<>();
-		Collection<Collection<AspicArgument<T>>> subs = new HashSet<>();
-		Collection<Collection<AspicArgument<T>>> new_subs = new HashSet<>();
-		Collection<AspicArgument<T>> argsForPrem = new HashSet<>();
-
-		Set<InferenceRule<T>> rules = this.groundFolRules();
-		for (InferenceRule<T> rule : rules) {
-			if (rule.isFact())
-				args.add(new AspicArgument<>(rule));
-		}
-		boolean changed;
-		do {
-			changed = false;
-			for (InferenceRule<T> rule : rules) {
-				subs.clear();
-				boolean continueWithNextRule = false;
-				for (T prem : rule.getPremise()) {
-					argsForPrem.clear();
-					for (AspicArgument<T> arg : args) {
-						if (arg.getConclusion().equals(prem) && !arg.getAllConclusions().contains(rule.getConclusion()))
-							argsForPrem.add(arg);
-					}
-					if (argsForPrem.isEmpty()) {
-						continueWithNextRule = true;
-						break;
-					} else {
-						if (subs.isEmpty()) {
-							for (AspicArgument<T> subarg : argsForPrem) {
-								Collection<AspicArgument<T>> subargset = new HashSet<>();
-								subargset.add(subarg);
-								subs.add(subargset);
-							}
-						} else {
-							new_subs.clear();
-							for (AspicArgument<T> subarg : argsForPrem) {
-								for (Collection<AspicArgument<T>> s : subs) {
-									Collection<AspicArgument<T>> newS = new HashSet<>(s);
-									newS.add(subarg);
-									new_subs.add(newS);
-								}
-							}
-							subs.clear();
-							subs.addAll(new_subs);
-						}
-					}
-				}
-				if (continueWithNextRule)
-					continue;
-				for (Collection<AspicArgument<T>> subargset : subs)
-					changed = args.add(new AspicArgument<>(rule, subargset)) || changed;
+		return this.getArgumentTable().getArguments();
+	}
+
+	/**
+	 * Returns all arguments with the given conclusion. Only the arguments needed for
+	 * this conclusion are constructed, and they are kept for later calls (of this method
+	 * and of {@link #getArguments()}) until the rules of this theory are changed.
+	 *
+	 * @param conclusion some formula
+	 * @return the arguments with the given conclusion
+	 */
+	public Collection<AspicArgument<T>> getArgumentsWithConclusion(T conclusion) {
+		return this.getArgumentTable().getArguments(conclusion);
+	}
+
+	/**
+	 * Returns the table of the arguments of the current rules.
+	 *
+	 * @return the argument table
+	 */
+	private synchronized ArgumentTable<T> getArgumentTable() {
+		if (this.table == null)
+			this.table = new ArgumentTable<>(this.groundFolRules());
+		return this.table;
+	}
+
+	/**
+	 * Discards the constructed arguments after the rules have been changed.
+	 */
+	private synchronized void invalidate() {
+		this.table = null;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.HashSet#add(java.lang.Object)
+	 */
+	@Override
+	public boolean add(InferenceRule<T> rule) {
+		boolean changed = super.add(rule);
+		if (changed)
+			this.invalidate();
+		return changed;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.HashSet#remove(java.lang.Object)
+	 */
+	@Override
+	public boolean remove(Object o) {
+		boolean changed = super.remove(o);
+		if (changed)
+			this.invalidate();
+		return changed;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractSet#removeAll(java.util.Collection)
+	 */
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		this.invalidate();
+		return super.removeAll(c);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.AbstractCollection#retainAll(java.util.Collection)
+	 */
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		this.invalidate();
+		return super.retainAll(c);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.HashSet#iterator()
+	 */
+	@Override
+	public Iterator<InferenceRule<T>> iterator() {
+		Iterator<InferenceRule<T>> it = super.iterator();
+		return new Iterator<InferenceRule<T>>() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public InferenceRule<T> next() {
+				return it.next();
+			}
+
+			@Override
+			public void remove() {
+				it.remove();
+				invalidate();
 			}
-		} while (changed);
-		return args;
+		};
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.HashSet#clear()
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		this.invalidate();
+	}
+
+	/**
+	 * Sets whether the attacks between the arguments are computed in parallel when
+	 * this theory is transferred into a Dung theory. Then the order must be thread-safe.
+	 *
+	 * @param parallelAttacks whether the attacks are computed in parallel
+	 */
+	public void setParallelAttacks(boolean parallelAttacks) {
+		this.parallelAttacks = parallelAttacks;
+	}
+
+	/**
+	 * Returns whether the attacks between the arguments are computed in parallel.
+	 *
+	 * @return whether the attacks are computed in parallel
+	 */
+	public boolean isParallelAttacks() {
+		return parallelAttacks;
 	}
 
 	/**
@@ -336,6 +336,37 @@ public class AspicTest {
 
 	}
 
+	@Test
+	public void IndexedAttackTest() throws Exception {
+		AspicParser<PlFormula> parser = new AspicParser<>(new PlParser(), pfg);
+		String input = """
+				-> a
+				=> c
+				=> ! c
+				d1: a => b
+				d2: c => ! b
+				d3: b => e
+				d4: c => ! d1
+				d5: ! c => ! e
+				""";
+		AspicArgumentationTheory<PlFormula> at = parser.parseBeliefBase(input);
+		Collection<AspicArgument<PlFormula>> args = at.getArguments();
+		List<Comparator<AspicArgument<PlFormula>>> orders = new ArrayList<>();
+		orders.add(null);
+		orders.add(new LastLinkOrder<>(new RuleComparator<>(Arrays.asList("d2", "d1", "d5", "d3", "d4")), new RuleComparator<>(new ArrayList<>()), true));
+		orders.add(new WeakestLinkOrder<>(new RuleComparator<>(Arrays.asList("d5", "d3", "d1", "d2", "d4")), new RuleComparator<>(new ArrayList<>()), false));
+		for (Comparator<AspicArgument<PlFormula>> order : orders) {
+			Set<AspicAttack<PlFormula>> expected = new HashSet<>();
+			for (AspicArgument<PlFormula> active : args)
+				for (AspicArgument<PlFormula> passive : args)
+					if (active != passive && AspicAttack.isAttack(active, passive, pfg, order))
+						expected.add(new AspicAttack<>(active, passive));
+			assertFalse(expected.isEmpty());
+			assertEquals(expected, new HashSet<>(AspicAttack.determineAttackRelations(args, order, pfg, false)));
+			assertEquals(expected, new HashSet<>(AspicAttack.determineAttackRelations(args, order, pfg, true)));
+		}
+	}
+
 	final PlFormulaGenerator pfg = new PlFormulaGenerator();
 	final FolFormulaGenerator folfg = new FolFormulaGenerator();
 
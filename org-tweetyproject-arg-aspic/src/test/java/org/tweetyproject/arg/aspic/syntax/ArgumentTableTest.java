@@ -0,0 +1,89 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.aspic.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.tweetyproject.arg.aspic.parser.AspicParser;
+import org.tweetyproject.arg.aspic.ruleformulagenerator.PlFormulaGenerator;
+import org.tweetyproject.logics.pl.parser.PlParser;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+
+/**
+ * Tests for the argument table of ASPIC argumentation theories.
+ */
+public class ArgumentTableTest {
+
+	private AspicParser<PlFormula> parser;
+	private AspicArgumentationTheory<PlFormula> theory;
+
+	@Before
+	public void setUp() throws Exception {
+		this.parser = new AspicParser<>(new PlParser(), new PlFormulaGenerator());
+		this.theory = new AspicArgumentationTheory<>(new PlFormulaGenerator());
+		for(String r: new String[]{"-> p", "=> s", "d1: p => q", "d2: s => q", "s1: q -> r", "d3: r => p", "d4: p, s => r"})
+			this.theory.add(this.rule(r));
+	}
+
+	@SuppressWarnings("unchecked")
+	private InferenceRule<PlFormula> rule(String s) throws Exception {
+		return (InferenceRule<PlFormula>) this.parser.parseFormula(s);
+	}
+
+	@Test
+	public void testConclusions() {
+		ArgumentTable<PlFormula> table = new ArgumentTable<>(this.theory);
+		// the arguments for a single conclusion are the same as in the table of all arguments
+		HashSet<AspicArgument<PlFormula>> all = new HashSet<>(new ArgumentTable<>(this.theory).getArguments());
+		for(String c: new String[]{"p", "q", "r", "s"}) {
+			Proposition p = new Proposition(c);
+			HashSet<AspicArgument<PlFormula>> expected = new HashSet<>();
+			for(AspicArgument<PlFormula> a: all)
+				if(a.getConclusion().equals(p))
+					expected.add(a);
+			assertEquals(c, expected, new HashSet<>(table.getArguments(p)));
+		}
+		assertEquals(all, new HashSet<>(table.getArguments()));
+		// p follows from the axiom and from r, but r may not be derived from p then
+		assertEquals(2, table.getArguments(new Proposition("p")).size());
+	}
+
+	@Test
+	public void testInvalidation() throws Exception {
+		assertEquals(2, this.theory.getArgumentsWithConclusion(new Proposition("p")).size());
+		Iterator<InferenceRule<PlFormula>> it = this.theory.iterator();
+		while(it.hasNext())
+			if(it.next().equals(this.rule("d3: r => p")))
+				it.remove();
+		assertEquals(1, this.theory.getArgumentsWithConclusion(new Proposition("p")).size());
+		this.theory.removeIf(r -> r.getConclusion().equals(new Proposition("s")));
+		assertEquals(1, this.theory.getArgumentsWithConclusion(new Proposition("q")).size());
+		assertTrue(this.theory.getArgumentsWithConclusion(new Proposition("s")).isEmpty());
+		this.theory.add(this.rule("=> s"));
+		assertEquals(2, this.theory.getArgumentsWithConclusion(new Proposition("q")).size());
+		assertEquals(new HashSet<>(new ArgumentTable<>(this.theory).getArguments()), new HashSet<>(this.theory.getArguments()));
+	}
+}
@@ -23,20 +23,13 @@ import org.tweetyproject.arg.bipolar.inducers.ApproxPEAFInducer;
 import org.tweetyproject.arg.bipolar.syntax.BArgument;
 import org.tweetyproject.arg.bipolar.syntax.PEAFTheory;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.ListIterator;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class implements approximate probabilistic justification of a set of queries using Monte Carlo Sampling of
  * induced EAFs from a PEAF. The computation is done in batches, the main thread checks the condition of when to stop
- * after each batch.
+ * after each round of batches (see {@link ParallelInduction}). Every batch uses its own random number generator, so
+ * the result only depends on the seed (if given) and the number of threads.
  *
  * @author Taha Dogan Gunes
  */
@@ -48,15 +41,9 @@ public class ConcurrentApproxAnalysis extends AbstractAnalysis implements Probab
      */
     private final double errorLevel;
     /**
-     * The fixed thread pool to run the contributions in parallel
+     * The parallel sampling of the contributions
      */
-    private final ExecutorService executorService;
-    /**
-     * The number of jobs to be completed for checking when to stop.
-     * This is to reduce the effect of one thread stalling all the batch
-     * (increasing too much would create unnecessary iterations)
-     */
-    private final int batchSize;
+    private final ParallelInduction parallelInduction;
 
     /**
      * Constructs ConcurrentApproxAnalysis with noThreads equal to availableProcessors - 1
@@ -70,7 +57,7 @@ public class ConcurrentApproxAnalysis extends AbstractAnalysis implements Probab
     }
 
     /**
-     * Constructs ConcurrentApproxAnalysis with batchSize equal to noThreads*2
+     * Constructs ConcurrentApproxAnalysis with a random seed
      *
      * @param peafTheory        the PEAFTheory to be analyzed
      * @param extensionReasoner the extension reasoner
@@ -78,24 +65,42 @@ public class ConcurrentApproxAnalysis extends AbstractAnalysis implements Probab
      * @param noThreads         the number of threads
      */
     public ConcurrentApproxAnalysis(PEAFTheory peafTheory, AbstractExtensionReasoner extensionReasoner, double errorLevel, int noThreads) {
-        this(peafTheory, extensionReasoner, errorLevel, noThreads, noThreads * 2);
+        this(peafTheory, extensionReasoner, errorLevel, noThreads, null);
     }
 
     /**
-     * The default constructor for ConcurrentApproxAnalysis
+     * Constructs ConcurrentApproxAnalysis with a random seed
      *
      * @param peafTheory        the PEAFTheory to be analyzed
      * @param extensionReasoner the extension reasoner
      * @param errorLevel        the error level in double
      * @param noThreads         the number of threads
-     * @param batchSize         the number jobs to be completed for checking when to stop
+     * @param batchSize         ignored, the size of the batches is chosen automatically
+     * @deprecated use {@link #ConcurrentApproxAnalysis(PEAFTheory, AbstractExtensionReasoner, double, int, Long)}
      */
+    @Deprecated
     public ConcurrentApproxAnalysis(PEAFTheory peafTheory, AbstractExtensionReasoner extensionReasoner, double errorLevel, int noThreads, int batchSize) {
+        this(peafTheory, extensionReasoner, errorLevel, noThreads, null);
+    }
+
+    /**
+     * The default constructor for ConcurrentApproxAnalysis
+     *
+     * @param peafTheory        the PEAFTheory to be analyzed
+     * @param extensionReasoner the extension reasoner
+     * @param errorLevel        the error level in double
+     * @param noThreads         the number of threads
+     * @param seed              the seed of the random number generator (null for a random seed)
+     */
+    public ConcurrentApproxAnalysis(PEAFTheory peafTheory, AbstractExtensionReasoner extensionReasoner, double errorLevel, int noThreads, Long seed) {
         super(peafTheory, extensionReasoner, AnalysisType.CONCURRENT_APPROX);
         this.errorLevel = errorLevel;
-        this.executorService = Executors.newFixedThreadPool(noThreads);
-        this.batchSize = batchSize;
+        this.parallelInduction = new ParallelInduction(noThreads, seed);
     }
+
+    /**
+     * The sum of the contributions of the last query
+     */
     public double total = 0.0;
     /**
      * Computes approximately what is probabilistic justification of the given set of arguments in the PEAF given error
@@ -107,64 +112,16 @@ public class ConcurrentApproxAnalysis extends AbstractAnalysis implements Probab
     @Override
     public AnalysisResult query(Set<BArgument> args) {
 
-        // tests for cyclic
-        new ApproxPEAFInducer(peafTheory);
-
-        final double[] M = {0.0};
-        final double[] N = {0.0};
-        final double[] metric = {0.0};
-        final double[] p_i = {0.0};
-        final long[] i = {0};
-        this.total = 0.0;
-        AtomicInteger poolAvailability = new AtomicInteger(this.batchSize);
-        List<Future<Double>> futures = new ArrayList<Future<Double>>();
-
-
-        do {
-            // Submit a group of threads
-            if (poolAvailability.get() > 0) {
-                Future<Double> future = executorService.submit(() -> {
-                    poolAvailability.decrementAndGet();
-                    double[] contribution = {0.0};
-                    ApproxPEAFInducer approxPEAFInducer = new ApproxPEAFInducer(peafTheory);
-                    approxPEAFInducer.induce(iEAF -> {
-                        contribution[0] = computeContributionOfAniEAF(args, iEAF);
-
-                        this.total = contribution[0];
-                    });
-                    return contribution[0];
-                });
-                futures.add(future);
-            }
-
-            // Make sure all the batch is completed.
-            ListIterator<Future<Double>> iter = futures.listIterator();
-            while (iter.hasNext()) {
-                Future<Double> future = iter.next();
-
-                double contribution = 0;
-                try {
-                    // future.get() stalls the main thread
-                    contribution = future.get();
-                } catch (InterruptedException | ExecutionException e) {
-                    e.printStackTrace();
-                }
-                M[0] = M[0] + contribution;
-                N[0] = N[0] + 1.0;
-                i[0] += 1;
-                p_i[0] = (M[0] + 2) / (N[0] + 4);
-                metric[0] = ((4.0 * p_i[0] * (1.0 - p_i[0])) / Math.pow(errorLevel, 2)) - 4.0;
-
-                poolAvailability.incrementAndGet();
-                iter.remove();
-            }
-
-        } while (N[0] <= metric[0]);
-
+        // tests for cyclic, the inducer is shared by all threads
+        ApproxPEAFInducer approxPEAFInducer = new ApproxPEAFInducer(peafTheory);
 
-        // The condition is now satisfied, we don't need to run all the tasks now.
-        executorService.shutdownNow();
+        ParallelInduction.Result result = this.parallelInduction.estimate(random -> {
+            double[] contribution = {0.0};
+            approxPEAFInducer.induce(iEAF -> contribution[0] = computeContributionOfAniEAF(args, iEAF), random);
+            return contribution[0];
+        }, this.errorLevel);
+        this.total = result.getTotal();
 
-        return this.createResult(M[0] / N[0], i[0], total);
+        return this.createResult(result.getProbability(), result.getNoIterations(), result.getTotal());
     }
 }
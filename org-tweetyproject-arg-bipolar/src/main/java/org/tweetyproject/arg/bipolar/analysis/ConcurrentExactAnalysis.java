@@ -7,23 +7,19 @@ import org.tweetyproject.arg.bipolar.syntax.BArgument;
 import org.tweetyproject.arg.bipolar.syntax.PEAFTheory;
 
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class implements exact probabilistic justification of a set of queries by generating all possible
- * induces EAFs from a PEAF in parallel.
+ * induces EAFs from a PEAF in parallel. The EAFs are induced by the calling thread and their contributions are
+ * computed by the given number of threads (see {@link ParallelInduction}).
  *
  * @author Taha Dogan Gunes
  */
 public class ConcurrentExactAnalysis extends AbstractAnalysis implements ProbabilisticJustificationAnalysis {
     /**
-     * The fixed thread pool to run the contributions in parallel
+     * The parallel computation of the contributions
      */
-    private final ExecutorService executorService;
+    private final ParallelInduction parallelInduction;
 
     /**
      * Constructs ConcurrentExactAnalysis with noThreads equal to availableProcessors - 1
@@ -44,7 +40,7 @@ public class ConcurrentExactAnalysis extends AbstractAnalysis implements Probabi
      */
     public ConcurrentExactAnalysis(PEAFTheory peafTheory, AbstractExtensionReasoner extensionReasoner, int noThreads) {
         super(peafTheory, extensionReasoner, AnalysisType.CONCURRENT_EXACT);
-        this.executorService = Executors.newFixedThreadPool(noThreads);
+        this.parallelInduction = new ParallelInduction(noThreads);
     }
 
     public Double total = Double.valueOf(0.0);
@@ -61,33 +57,12 @@ public class ConcurrentExactAnalysis extends AbstractAnalysis implements Probabi
     @Override
     public AnalysisResult query(Set<BArgument> args) {
         LiExactPEAFInducer exactPEAFInducer = new LiExactPEAFInducer(this.peafTheory);
-        this.total = 0.0;
-        this.p = 0.0;
-        AtomicLong i = new AtomicLong(0);
+        ParallelInduction.Result result = this.parallelInduction.sum(exactPEAFInducer,
+                iEAF -> computeContributionOfAniEAF(args, iEAF));
+        this.total = result.getTotal();
+        this.p = result.getProbability();
 
-
-
-        exactPEAFInducer.induce(iEAF ->
-                executorService.submit((Callable<Void>) () -> {
-                    double contribution = computeContributionOfAniEAF(args, iEAF);
-                    this.total += contribution;
-                    this.p += contribution * iEAF.getInducePro();
-                    i.incrementAndGet();
-                    return null;
-                }));
-
-        try {
-            executorService.shutdown();
-        } finally {
-            try {
-                //noinspection ResultOfMethodCallIgnored
-                executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }
-
-        return this.createResult(p.doubleValue(), i.get(), total.doubleValue());
+        return this.createResult(result.getProbability(), result.getNoIterations(), result.getTotal());
     }
 
 }
@@ -0,0 +1,346 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.bipolar.analysis;
+
+import org.tweetyproject.arg.bipolar.inducers.PEAFInducer;
+import org.tweetyproject.arg.bipolar.syntax.InducibleEAF;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * ParallelInduction computes the contributions of induced EAFs to a probabilistic justification analysis on a
+ * fixed number of threads.
+ * <p>
+ * Approximate analyses draw samples in rounds of one batch per thread. Every batch draws its samples with its own
+ * random number generator, which is split off the generator of the analysis in a fixed order, and returns the sum
+ * of its contributions. These sums are added up by the calling thread in batch order, so the threads share no
+ * state and an analysis with the same seed and number of threads always returns the same result. After every round, the analysis stops if the error
+ * level is reached; otherwise the size of the next batches is chosen from the number of samples still required
+ * (but at most doubling the number of samples).
+ * <p>
+ * Exact analyses hand the induced EAFs to the threads in chunks and add up the results of the chunks in the order
+ * in which they were induced.
+ * <p>
+ * Samplers only have to map a random number generator to a contribution, so they are not restricted to PEAFs.
+ */
+public class ParallelInduction {
+
+    /**
+     * A source of contributions of randomly induced EAFs.
+     */
+    public interface Sampler {
+        /**
+         * Induces a random EAF and returns its contribution.
+         *
+         * @param random the random number generator to use
+         * @return the contribution, a value in [0,1]
+         */
+        double sample(SplittableRandom random);
+    }
+
+    /**
+     * The result of a parallel induction.
+     */
+    public static class Result {
+        /**
+         * The probability computed
+         */
+        private final double probability;
+        /**
+         * The number of induced EAFs
+         */
+        private final long noIterations;
+        /**
+         * The sum of the contributions of all induced EAFs
+         */
+        private final double total;
+
+        /**
+         * @param probability  the probability computed
+         * @param noIterations the number of induced EAFs
+         * @param total        the sum of the contributions
+         */
+        Result(double probability, long noIterations, double total) {
+            this.probability = probability;
+            this.noIterations = noIterations;
+            this.total = total;
+        }
+
+        /**
+         * @return the probability computed
+         */
+        public double getProbability() {
+            return probability;
+        }
+
+        /**
+         * @return the number of induced EAFs
+         */
+        public long getNoIterations() {
+            return noIterations;
+        }
+
+        /**
+         * @return the sum of the contributions of all induced EAFs
+         */
+        public double getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * The smallest number of samples of a batch
+     */
+    private static final int MIN_BATCH_SIZE = 16;
+    /**
+     * The largest number of samples of a batch
+     */
+    private static final int MAX_BATCH_SIZE = 4096;
+    /**
+     * The number of induced EAFs handed to a thread at once in exact analyses
+     */
+    private static final int CHUNK_SIZE = 64;
+
+    /**
+     * The number of threads
+     */
+    private final int noThreads;
+    /**
+     * The seed of the random number generator (null for a random seed)
+     */
+    private final Long seed;
+
+    /**
+     * Creates a ParallelInduction with a random seed
+     *
+     * @param noThreads the number of threads
+     */
+    public ParallelInduction(int noThreads) {
+        this(noThreads, null);
+    }
+
+    /**
+     * Creates a ParallelInduction
+     *
+     * @param noThreads the number of threads
+     * @param seed      the seed of the random number generator (null for a random seed)
+     */
+    public ParallelInduction(int noThreads, Long seed) {
+        this.noThreads = Math.max(1, noThreads);
+        this.seed = seed;
+    }
+
+    /**
+     * Estimates the mean contribution of the given sampler up to the given error level.
+     *
+     * @param sampler    a sampler
+     * @param errorLevel the error level
+     * @return the estimate
+     */
+    public Result estimate(Sampler sampler, double errorLevel) {
+        SplittableRandom random = this.seed == null ? new SplittableRandom() : new SplittableRandom(this.seed);
+        ExecutorService executorService = Executors.newFixedThreadPool(this.noThreads);
+        try {
+            double sum = 0.0;
+            long n = 0;
+            int batchSize = MIN_BATCH_SIZE;
+            do {
+                List<Callable<Double>> batches = new ArrayList<Callable<Double>>();
+                for (int b = 0; b < this.noThreads; b++) {
+                    SplittableRandom batchRandom = random.split();
+                    int size = batchSize;
+                    batches.add(() -> {
+                        double contribution = 0.0;
+                        for (int k = 0; k < size; k++) {
+                            contribution += sampler.sample(batchRandom);
+                        }
+                        return contribution;
+                    });
+                }
+                for (Future<Double> future : executorService.invokeAll(batches)) {
+                    sum += ParallelInduction.get(future);
+                }
+                n += (long) this.noThreads * batchSize;
+                // the estimate of the remaining samples is rough while n is small, so grow at most geometrically
+                double remaining = Math.min(requiredSamples(sum, n, errorLevel) - n, n) / this.noThreads;
+                batchSize = (int) Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, Math.ceil(remaining)));
+            } while (n <= requiredSamples(sum, n, errorLevel));
+            return new Result(sum / n, n, sum);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("The analysis was interrupted.", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Adds up the contributions of all EAFs induced by the given inducer, weighted by their probabilities.
+     *
+     * @param inducer      an inducer
+     * @param contribution the contribution of an induced EAF
+     * @return the sum
+     */
+    public Result sum(PEAFInducer inducer, ToDoubleFunction<InducibleEAF> contribution) {
+        ExecutorService executorService = Executors.newFixedThreadPool(this.noThreads);
+        try {
+            ChunkedSum chunkedSum = new ChunkedSum(executorService, contribution);
+            inducer.induce(chunkedSum);
+            chunkedSum.submit();
+            while (!chunkedSum.pending.isEmpty()) {
+                chunkedSum.fold();
+            }
+            return new Result(chunkedSum.probability, chunkedSum.noIterations, chunkedSum.total);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * The number of samples required by the error level given the current estimate.
+     *
+     * @param sum        the sum of the contributions so far
+     * @param n          the number of samples so far
+     * @param errorLevel the error level
+     * @return the number of samples required
+     */
+    private static double requiredSamples(double sum, long n, double errorLevel) {
+        double p = (sum + 2) / (n + 4);
+        return ((4.0 * p * (1.0 - p)) / Math.pow(errorLevel, 2)) - 4.0;
+    }
+
+    /**
+     * Waits for the given future and returns its result.
+     *
+     * @param future a future
+     * @param <T>    the type of the result
+     * @return the result
+     */
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("The analysis was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Collects induced EAFs into chunks, computes the contributions of the chunks in parallel and adds them up in
+     * the order of the chunks.
+     */
+    private class ChunkedSum implements Consumer<InducibleEAF> {
+        /**
+         * The thread pool
+         */
+        private final ExecutorService executorService;
+        /**
+         * The contribution of an induced EAF
+         */
+        private final ToDoubleFunction<InducibleEAF> contribution;
+        /**
+         * The chunks being computed, in the order of their submission
+         */
+        private final Deque<Future<double[]>> pending = new ArrayDeque<Future<double[]>>();
+        /**
+         * The current chunk
+         */
+        private List<InducibleEAF> chunk = new ArrayList<InducibleEAF>();
+        /**
+         * The sum of the weighted contributions so far
+         */
+        private double probability = 0.0;
+        /**
+         * The sum of the contributions so far
+         */
+        private double total = 0.0;
+        /**
+         * The number of EAFs added up so far
+         */
+        private long noIterations = 0;
+
+        /**
+         * @param executorService the thread pool
+         * @param contribution    the contribution of an induced EAF
+         */
+        ChunkedSum(ExecutorService executorService, ToDoubleFunction<InducibleEAF> contribution) {
+            this.executorService = executorService;
+            this.contribution = contribution;
+        }
+
+        @Override
+        public void accept(InducibleEAF iEAF) {
+            this.chunk.add(iEAF);
+            if (this.chunk.size() == CHUNK_SIZE) {
+                this.submit();
+                // bound the number of induced EAFs kept in memory
+                while (this.pending.size() > 2 * noThreads) {
+                    this.fold();
+                }
+            }
+        }
+
+        /**
+         * Submits the current chunk.
+         */
+        void submit() {
+            if (this.chunk.isEmpty()) {
+                return;
+            }
+            List<InducibleEAF> eafs = this.chunk;
+            this.chunk = new ArrayList<InducibleEAF>();
+            this.pending.add(this.executorService.submit(() -> {
+                double[] sums = new double[3];
+                for (InducibleEAF iEAF : eafs) {
+                    double c = this.contribution.applyAsDouble(iEAF);
+                    sums[0] += c * iEAF.getInducePro();
+                    sums[1] += c;
+                    sums[2]++;
+                }
+                return sums;
+            }));
+        }
+
+        /**
+         * Adds up the result of the oldest chunk.
+         */
+        void fold() {
+            double[] sums = ParallelInduction.get(this.pending.poll());
+            this.probability += sums[0];
+            this.total += sums[1];
+            this.noIterations += (long) sums[2];
+        }
+    }
+}
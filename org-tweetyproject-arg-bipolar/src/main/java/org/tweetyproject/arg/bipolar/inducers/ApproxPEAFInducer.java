@@ -25,9 +25,11 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.Stack;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
 
 /**
  * ApproxPEAFInducer induces a set of random EAFs from a PEAF
@@ -120,6 +122,28 @@ public class ApproxPEAFInducer extends AbstractPEAFInducer {
      */
     @Override
     public void induce(Consumer<InducibleEAF> consumer) {
+        this.induce(consumer, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Inducer induces inducibleEAFs using the given random number generator and gives to a consumer function.
+     * The same generator (with the same seed) always induces the same EAF. The inducer itself is not modified,
+     * so it can be used by several threads in parallel, each with its own generator.
+     *
+     * @param consumer the function that consumes InducibleEAFs
+     * @param random   the random number generator
+     */
+    public void induce(Consumer<InducibleEAF> consumer, SplittableRandom random) {
+        this.induce(consumer, random::nextDouble);
+    }
+
+    /**
+     * Inducer induces inducibleEAFs using the given random numbers and gives to a consumer function
+     *
+     * @param consumer the function that consumes InducibleEAFs
+     * @param random   a supplier of random numbers in [0,1)
+     */
+    private void induce(Consumer<InducibleEAF> consumer, DoubleSupplier random) {
         Stack<EAF_F> stack = new Stack<>();
 
         // eta is added, Algorithm 8 Line 2 EAF_F <- {eta}, {}, {}
@@ -153,7 +177,7 @@ public class ApproxPEAFInducer extends AbstractPEAFInducer {
 
             // Line 8-14
             for (Support eSupport : expandingSupports) {
-                double r = ThreadLocalRandom.current().nextDouble();
+                double r = random.getAsDouble();
                 if (r <= ((SetSupport) eSupport).getConditionalProbability()) {
                     eaf_c.eSupports.add(eSupport);
 
@@ -72,7 +72,6 @@ public class LiExactPEAFInducer extends AbstractPEAFInducer {
             InducibleEAF toExpand = expansion.remove(0);
             // Before accepting explore all the attacks and add these links (traverse all the tree)
             toExpand.addAttackLinks();
-            System.out.println(toExpand.arguments.toString());
             consumer.accept(toExpand);
 
 
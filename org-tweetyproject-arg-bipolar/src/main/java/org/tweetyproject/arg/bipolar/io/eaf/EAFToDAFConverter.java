@@ -51,9 +51,6 @@ public class EAFToDAFConverter {
         BArgument startingPoint = eafTheory.getEta();
         bfsTraverse(dungTheory, startingPoint, discovered, mapping, eafTheory);
 
-        // Once the traversal is finished
-        System.out.println(mapping);
-
         for (BArgument from : eafTheory.getArguments()) {
             for (org.tweetyproject.arg.bipolar.syntax.Attack attack : eafTheory.getAttacks()) {
             	if(attack.contains(from)) {
@@ -64,7 +61,6 @@ public class EAFToDAFConverter {
 	                Set<Argument> dafAttackers = mapping.get(from);
 
 
-	                System.out.println("Edge arguments: " + edgeArguments);
 	                if (dafAttackers == null) {
 	                    System.err.println("dafAttackers is null: " + from);
 	                }
@@ -92,7 +88,6 @@ public class EAFToDAFConverter {
             }
         }
 
-        System.out.println(dungTheory.prettyPrint());
         return dungTheory;
     }
 
@@ -191,7 +186,6 @@ public class EAFToDAFConverter {
             Pair<BArgument, List<BArgument>> pair = queue.poll();
             BArgument v = pair.getFirst();
 
-            System.out.println("h1: " + pair.getSecond());
             if (supportsToArgs.get(v).size() > 0) {
                 for (Support support : supportsToArgs.get(v)) {
                     for (BArgument to : support.getSupported()) {
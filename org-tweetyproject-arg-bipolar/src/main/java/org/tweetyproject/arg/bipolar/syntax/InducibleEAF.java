@@ -142,7 +142,6 @@ public class InducibleEAF {
         List<BArgument> argsSorted = new ArrayList<BArgument>();
         argsSorted.addAll(arguments);
         argsSorted.sort(Comparator.comparing(BArgument::getName));
-        System.out.println(this.getArguments());
         for (BArgument argument : arguments) {
             eafTheory.addArgument(argument);
         }
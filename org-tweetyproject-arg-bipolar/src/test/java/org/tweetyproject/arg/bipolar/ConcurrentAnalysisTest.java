@@ -0,0 +1,101 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+
+package org.tweetyproject.arg.bipolar;
+
+import static org.junit.Assert.*;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.tweetyproject.arg.bipolar.analysis.AnalysisResult;
+import org.tweetyproject.arg.bipolar.analysis.ConcurrentApproxAnalysis;
+import org.tweetyproject.arg.bipolar.analysis.ConcurrentExactAnalysis;
+import org.tweetyproject.arg.bipolar.analysis.ExactAnalysis;
+import org.tweetyproject.arg.bipolar.analysis.ParallelInduction;
+import org.tweetyproject.arg.bipolar.syntax.BArgument;
+import org.tweetyproject.arg.bipolar.syntax.PEAFTheory;
+import org.tweetyproject.arg.dung.reasoner.SimplePreferredReasoner;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for the concurrent justification analyses of PEAFs.
+ */
+public class ConcurrentAnalysisTest {
+    static PEAFTheory peafTheory;
+    static Set<BArgument> query;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        peafTheory = new PEAFTheory();
+        for (int i = 0; i < 7; i++) {
+            peafTheory.addArgument(i);
+        }
+        List<BArgument> args = peafTheory.getArguments();
+        peafTheory.addSupport(new HashSet<>(), Set.of(args.get(0)), 1.0);
+        peafTheory.addSupport(Set.of(args.get(0)), Set.of(args.get(2)), 0.6);
+        peafTheory.addSupport(Set.of(args.get(0)), Set.of(args.get(1)), 0.7);
+        peafTheory.addSupport(Set.of(args.get(0)), Set.of(args.get(3)), 0.9);
+        peafTheory.addSupport(Set.of(args.get(0)), Set.of(args.get(4)), 0.3);
+        peafTheory.addSupport(Set.of(args.get(3)), Set.of(args.get(5)), 0.5);
+        peafTheory.addSupport(Set.of(args.get(3), args.get(4)), Set.of(args.get(6)), 0.9);
+        peafTheory.addAttack(Set.of(args.get(5)), Set.of(args.get(2)));
+        peafTheory.addAttack(Set.of(args.get(5)), Set.of(args.get(1)));
+        peafTheory.addAttack(Set.of(args.get(1)), Set.of(args.get(5)));
+        peafTheory.addAttack(Set.of(args.get(1)), Set.of(args.get(6)));
+        query = Set.of(args.get(6));
+    }
+
+    @Test
+    public void seededInductionTest() {
+        // the contribution is drawn from the generator of the batch only
+        ParallelInduction.Sampler sampler = random -> random.nextDouble() < 0.3 ? 1.0 : 0.0;
+        ParallelInduction.Result first = new ParallelInduction(4, 42L).estimate(sampler, 0.01);
+        ParallelInduction.Result second = new ParallelInduction(4, 42L).estimate(sampler, 0.01);
+        assertEquals(first.getTotal(), second.getTotal(), 0);
+        assertEquals(first.getProbability(), second.getProbability(), 0);
+        assertEquals(first.getNoIterations(), second.getNoIterations());
+        assertEquals(0.3, first.getProbability(), 0.01);
+
+        ParallelInduction.Result other = new ParallelInduction(4, 43L).estimate(sampler, 0.01);
+        assertTrue(first.getTotal() != other.getTotal());
+    }
+
+    @Test
+    public void seededApproxAnalysisTest() {
+        AnalysisResult first = new ConcurrentApproxAnalysis(peafTheory, new SimplePreferredReasoner(), 0.05, 4, 42L).query(query);
+        AnalysisResult second = new ConcurrentApproxAnalysis(peafTheory, new SimplePreferredReasoner(), 0.05, 4, 42L).query(query);
+        assertEquals(first.getResult(), second.getResult(), 0);
+        assertEquals(first.getNoIterations(), second.getNoIterations());
+        assertEquals(first.totalProbability, second.totalProbability, 0);
+
+        // a query does not change the state of the analysis
+        ConcurrentApproxAnalysis analysis = new ConcurrentApproxAnalysis(peafTheory, new SimplePreferredReasoner(), 0.05, 4, 42L);
+        analysis.query(query);
+        assertEquals(first.getResult(), analysis.query(query).getResult(), 0);
+    }
+
+    @Test
+    public void concurrentExactAnalysisTest() {
+        double exact = new ExactAnalysis(peafTheory, new SimplePreferredReasoner()).query(query).getResult();
+        assertEquals(exact, new ConcurrentExactAnalysis(peafTheory, new SimplePreferredReasoner(), 4).query(query).getResult(), 0.000001);
+    }
+}
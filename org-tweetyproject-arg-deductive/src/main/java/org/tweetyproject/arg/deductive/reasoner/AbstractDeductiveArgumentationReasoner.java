@@ -70,6 +70,15 @@ public abstract class AbstractDeductiveArgumentationReasoner implements Quantita
 	 */
 	protected abstract ArgumentTree getArgumentTree(DeductiveKnowledgeBase kb, DeductiveArgument arg);
 	
+	/**
+	 * Categorizes the given argument tree using the categorizer of this reasoner.
+	 * @param argTree some argument tree.
+	 * @return the categorization of the argument tree.
+	 */
+	protected double categorize(ArgumentTree argTree){
+		return this.categorizer.categorize(argTree);
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.commons.Reasoner#query(org.tweetyproject.commons.BeliefBase, org.tweetyproject.commons.Formula)
 	 */
@@ -92,7 +101,7 @@ public abstract class AbstractDeductiveArgumentationReasoner implements Quantita
 		for(ArgumentTree argTree: proTrees){
 			//log.trace("Argument tree for " + argTree.getRoot() + "\n" + argTree.prettyPrint());
 			//System.out.println("Argument tree for " + argTree.getRoot() + "\n" + argTree.prettyPrint());
-			double val = this.categorizer.categorize(argTree);
+			double val = this.categorize(argTree);
 			proCategorization.add(val);
 			//log.trace("Categorization " + val);
 			//System.out.println("Categorization " + val);
@@ -102,7 +111,7 @@ public abstract class AbstractDeductiveArgumentationReasoner implements Quantita
 		for(ArgumentTree argTree: conTrees){
 			//log.trace("Argument tree for " + argTree.getRoot() + "\n" + argTree.prettyPrint());
 			//System.out.println("Argument tree for " + argTree.getRoot() + "\n" + argTree.prettyPrint());
-			double val = this.categorizer.categorize(argTree);
+			double val = this.categorize(argTree);
 			conCategorization.add(val);
 			//log.trace("Categorization " + val);
 			//System.out.println("Categorization " + val);
@@ -18,12 +18,17 @@
  */
 package org.tweetyproject.arg.deductive.reasoner;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import org.tweetyproject.arg.deductive.accumulator.Accumulator;
 import org.tweetyproject.arg.deductive.categorizer.Categorizer;
 import org.tweetyproject.arg.deductive.semantics.ArgumentTree;
 import org.tweetyproject.arg.deductive.semantics.Compilation;
 import org.tweetyproject.arg.deductive.semantics.DeductiveArgument;
 import org.tweetyproject.arg.deductive.syntax.DeductiveKnowledgeBase;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
 
 
 /**
@@ -35,11 +40,28 @@ import org.tweetyproject.arg.deductive.syntax.DeductiveKnowledgeBase;
  * <br>
  * 
  * It performs deductive argumentation on a set of propositional formulas. 
+ * <br><br>
+ * The compilation of the last queried knowledge base is kept and shared by all queries. If the
+ * knowledge base changes between queries, the compilation is updated incrementally (see
+ * {@link Compilation#update(java.util.Collection)}). Argument trees, their categorizations, and the
+ * answers to queries are kept until the compilation changes.
  * 
  * @author Matthias Thimm
  */
 public class CompilationReasoner extends AbstractDeductiveArgumentationReasoner {
 
+	/** The knowledge base of the current compilation. */
+	private DeductiveKnowledgeBase kb = null;
+	
+	/** The compilation of the knowledge base. */
+	private Compilation compilation = null;
+	
+	/** The categorizations of the argument trees of the current compilation. */
+	private Map<ArgumentTree,Double> categorizations = new IdentityHashMap<ArgumentTree,Double>();
+	
+	/** The answers to queries wrt. the current compilation. */
+	private Map<PlFormula,Double> answers = new HashMap<PlFormula,Double>();
+
 	/** Creates a new compilation reasoner for the given belief base,
 	 * categorizer, and accumulator.
 	 * @param categorizer some categorizer.
@@ -49,11 +71,54 @@ public class CompilationReasoner extends AbstractDeductiveArgumentationReasoner
 		super(categorizer, accumulator);		
 	}
 
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.deductive.reasoner.AbstractDeductiveArgumentationReasoner#query(org.tweetyproject.arg.deductive.syntax.DeductiveKnowledgeBase, org.tweetyproject.logics.pl.syntax.PlFormula)
+	 */
+	@Override
+	public synchronized Double query(DeductiveKnowledgeBase kb, PlFormula f) {
+		this.compile(kb);
+		Double answer = this.answers.get(f);
+		if(answer == null){
+			answer = super.query(kb, f);
+			this.answers.put(f, answer);
+		}
+		return answer;
+	}
+
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.arg.deductive.AbstractDeductiveArgumentationReasoner#getArgumentTree(org.tweetyproject.arg.deductive.DeductiveKnowledgeBase, org.tweetyproject.arg.deductive.semantics.DeductiveArgument)
 	 */
-	protected  ArgumentTree getArgumentTree(DeductiveKnowledgeBase kb, DeductiveArgument arg){
-		return new Compilation(kb).getArgumentTree(arg);
+	protected synchronized ArgumentTree getArgumentTree(DeductiveKnowledgeBase kb, DeductiveArgument arg){
+		this.compile(kb);
+		return this.compilation.getArgumentTree(arg);
+	}
+	
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.deductive.reasoner.AbstractDeductiveArgumentationReasoner#categorize(org.tweetyproject.arg.deductive.semantics.ArgumentTree)
+	 */
+	@Override
+	protected synchronized double categorize(ArgumentTree argTree){
+		Double val = this.categorizations.get(argTree);
+		if(val == null){
+			val = super.categorize(argTree);
+			this.categorizations.put(argTree, val);
+		}
+		return val;
+	}
+	
+	/**
+	 * Makes the compilation reflect the given knowledge base, either by compiling it anew
+	 * (if it is not the knowledge base compiled before) or by updating the compilation.
+	 * @param kb a knowledge base
+	 */
+	private void compile(DeductiveKnowledgeBase kb){
+		if(this.kb != kb){
+			this.kb = kb;
+			this.compilation = new Compilation(kb);
+		}else if(!this.compilation.update(kb))
+			return;
+		this.categorizations.clear();
+		this.answers.clear();
 	}
 
 	@Override
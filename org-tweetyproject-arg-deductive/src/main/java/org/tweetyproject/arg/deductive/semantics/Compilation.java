@@ -18,8 +18,12 @@
  */
 package org.tweetyproject.arg.deductive.semantics;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 
@@ -28,8 +32,8 @@ import org.tweetyproject.graphs.*;
 import org.tweetyproject.logics.pl.sat.PlMusEnumerator;
 import org.tweetyproject.logics.pl.syntax.Conjunction;
 import org.tweetyproject.logics.pl.syntax.Negation;
-import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
 import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
 
 /**
  * Instances of this class are compilations in the sense of
@@ -42,40 +46,152 @@ import org.tweetyproject.logics.pl.syntax.PlFormula;
  * A compilation of a knowledge base is a graph where the nodes
  * are the minimal inconsistent subsets of the knowledge base
  * and the edges connect sets that have a non-empty intersection.
+ * <br><br>
+ * A compilation can be kept up to date with a changing knowledge base by {@link #update(Collection)}:
+ * minimal inconsistent subsets containing removed formulas are dropped and only the minimal
+ * inconsistent subsets containing added formulas are computed anew. Argument trees are built on
+ * demand and kept until the compilation changes.
  * 
  * @author Matthias Thimm
  *
  */
 public class Compilation extends DefaultGraph<CompilationNode>{
 
+	/** The formulas of the compiled knowledge base. */
+	private Set<PlFormula> formulas;
+	/** The nodes containing every formula. */
+	private Map<PlFormula,Set<CompilationNode>> occurrences = new HashMap<PlFormula,Set<CompilationNode>>();
+	/** The adjacent nodes of every node. */
+	private Map<CompilationNode,Set<CompilationNode>> adjacency = new HashMap<CompilationNode,Set<CompilationNode>>();
+	/** The argument trees built so far, by the support and the claim of their root argument. */
+	private Map<Set<PlFormula>,Map<PlFormula,ArgumentTree>> argumentTrees = new HashMap<Set<PlFormula>,Map<PlFormula,ArgumentTree>>();
+
 	/** Creates the compilation of the given knowledge base.
 	 * @param kb some deductive knowledge base.
 	 */
 	public Compilation(DeductiveKnowledgeBase kb){		
+		this.formulas = new HashSet<PlFormula>(kb);
 		Collection<Collection<PlFormula>> minInconSets = PlMusEnumerator.getDefaultEnumerator().minimalInconsistentSubsets(kb);
 		for(Collection<PlFormula> set: minInconSets)
-			this.add(new CompilationNode(set));
-		Stack<CompilationNode> stackNodes = new Stack<CompilationNode>();
-		stackNodes.addAll(this.getNodes());
-		while(!stackNodes.isEmpty()){
-			CompilationNode nodeA = stackNodes.pop();
-			if(stackNodes.isEmpty())
-				break;
-			for(CompilationNode nodeB: stackNodes){
-				PlBeliefSet temp = new PlBeliefSet(nodeA);
-				temp.retainAll(nodeB);
-				if(!temp.isEmpty())
-					this.add(new UndirectedEdge<CompilationNode>(nodeA,nodeB));
+			this.addNode(new CompilationNode(set));
+	}
+	
+	/**
+	 * Updates this compilation to the given formulas, i.e. removes all nodes containing
+	 * formulas that are no longer present and adds the minimal inconsistent subsets
+	 * containing new formulas.
+	 * @param kb the current formulas of the knowledge base.
+	 * @return "true" iff the compilation has changed.
+	 */
+	public boolean update(Collection<? extends PlFormula> kb){
+		Set<PlFormula> removed = new HashSet<PlFormula>(this.formulas);
+		removed.removeAll(kb);
+		Set<PlFormula> added = new HashSet<PlFormula>(kb);
+		added.removeAll(this.formulas);
+		if(removed.isEmpty() && added.isEmpty())
+			return false;
+		this.formulas = new HashSet<PlFormula>(kb);
+		// the minimal inconsistent subsets of the remaining formulas are still minimal
+		for(PlFormula f: removed)
+			if(this.occurrences.containsKey(f))
+				for(CompilationNode node: new HashSet<CompilationNode>(this.occurrences.get(f)))
+					this.removeNode(node);
+		if(!added.isEmpty()){
+			Set<PlFormula> component = this.connectedFormulas(added);
+			for(Collection<PlFormula> set: PlMusEnumerator.getDefaultEnumerator().minimalInconsistentSubsets(component)){
+				for(PlFormula f: set)
+					if(added.contains(f)){
+						this.addNode(new CompilationNode(set));
+						break;
+					}
 			}
 		}
+		this.argumentTrees.clear();
+		return true;
+	}
+	
+	/**
+	 * Returns the formulas of the knowledge base connected to the given formulas
+	 * by shared propositions. Every minimal inconsistent subset containing one of the given
+	 * formulas is a subset of these formulas, as the formulas of a minimal inconsistent subset
+	 * cannot be split into two parts without shared propositions.
+	 * @param start some formulas of the knowledge base.
+	 * @return the formulas connected to them (including the formulas themselves).
+	 */
+	private Set<PlFormula> connectedFormulas(Set<PlFormula> start){
+		Map<Proposition,Set<PlFormula>> occurrencesOfAtoms = new HashMap<Proposition,Set<PlFormula>>();
+		for(PlFormula f: this.formulas)
+			for(Proposition p: f.getAtoms())
+				occurrencesOfAtoms.computeIfAbsent(p, k -> new HashSet<PlFormula>()).add(f);
+		Set<PlFormula> result = new HashSet<PlFormula>(start);
+		Set<Proposition> visitedAtoms = new HashSet<Proposition>();
+		Deque<PlFormula> queue = new ArrayDeque<PlFormula>(start);
+		while(!queue.isEmpty())
+			for(Proposition p: queue.poll().getAtoms())
+				if(visitedAtoms.add(p))
+					for(PlFormula g: occurrencesOfAtoms.get(p))
+						if(result.add(g))
+							queue.add(g);
+		return result;
 	}
 	
 	/**
-	 * Returns the argument tree for the given argument.
+	 * Adds the given node and connects it to all nodes it intersects with.
+	 * @param node some node.
+	 */
+	private void addNode(CompilationNode node){
+		if(!this.add(node))
+			return;
+		Set<CompilationNode> neighbors = new HashSet<CompilationNode>();
+		for(PlFormula f: node){
+			Set<CompilationNode> nodes = this.occurrences.computeIfAbsent(f, k -> new HashSet<CompilationNode>());
+			neighbors.addAll(nodes);
+			nodes.add(node);
+		}
+		this.adjacency.put(node, neighbors);
+		for(CompilationNode other: neighbors){
+			this.adjacency.get(other).add(node);
+			this.add(new UndirectedEdge<CompilationNode>(node,other));
+		}
+	}
+	
+	/**
+	 * Removes the given node and all its edges.
+	 * @param node some node.
+	 */
+	private void removeNode(CompilationNode node){
+		this.nodes.remove(node);
+		for(CompilationNode other: this.adjacency.remove(node)){
+			this.adjacency.get(other).remove(node);
+			this.edges.remove(new UndirectedEdge<CompilationNode>(node,other));
+		}
+		for(PlFormula f: node){
+			Set<CompilationNode> nodes = this.occurrences.get(f);
+			nodes.remove(node);
+			if(nodes.isEmpty())
+				this.occurrences.remove(f);
+		}
+	}
+	
+	/**
+	 * Returns the argument tree for the given argument. Argument trees are kept
+	 * until the compilation changes. As deductive arguments are equal if their supports
+	 * are equal, they are looked up by both support and claim, so that the root of the
+	 * returned tree is always the given argument.
 	 * @param arg some deductive argument.
 	 * @return the argument tree for the given argument.
 	 */
 	public ArgumentTree getArgumentTree(DeductiveArgument arg){
+		return this.argumentTrees.computeIfAbsent(new HashSet<PlFormula>(arg.getSupport()), k -> new HashMap<PlFormula,ArgumentTree>())
+				.computeIfAbsent(arg.getClaim(), k -> this.buildArgumentTree(arg));
+	}
+	
+	/**
+	 * Builds the argument tree for the given argument.
+	 * @param arg some deductive argument.
+	 * @return the argument tree for the given argument.
+	 */
+	private ArgumentTree buildArgumentTree(DeductiveArgument arg){
 		DeductiveArgumentNode argNode = new DeductiveArgumentNode(arg);
 		ArgumentTree argTree = new ArgumentTree(argNode);
 		argTree.add(argNode);
@@ -101,13 +217,14 @@ public class Compilation extends DefaultGraph<CompilationNode>{
 	 * @return a set of compilation nodes.
 	 */
 	private Set<CompilationNode> firstLevel(DeductiveArgument arg){
+		Set<CompilationNode> intersecting = new HashSet<CompilationNode>();
+		for(PlFormula f: arg.getSupport())
+			if(this.occurrences.containsKey(f))
+				intersecting.addAll(this.occurrences.get(f));
 		Stack<CompilationNode> candidates = new Stack<CompilationNode>();
-		for(CompilationNode node: this){
-			Set<PlFormula> set = new HashSet<PlFormula>(node);
-			set.retainAll(arg.getSupport());
-			if(!set.isEmpty())
+		for(CompilationNode node: this)
+			if(intersecting.contains(node))
 				candidates.add(node);
-		}
 		Set<CompilationNode> result = new HashSet<CompilationNode>();
 		while(!candidates.isEmpty()){
 			CompilationNode node = candidates.pop();
@@ -149,21 +266,18 @@ public class Compilation extends DefaultGraph<CompilationNode>{
 	 * @param argTree the argument tree.
 	 */
 	private void subcuts(DeductiveArgumentNode argNode, Set<CompilationNode> remainingNodes, CompilationNode current, Set<PlFormula> currentSupport, ArgumentTree argTree){
+		Set<CompilationNode> neighbors = this.adjacency.get(current);
 		for(CompilationNode node: remainingNodes){
-			UndirectedEdge<CompilationNode> edge = new UndirectedEdge<CompilationNode>(current,node);
-			if(this.contains(edge)){
+			if(neighbors.contains(node)){
 				if(!currentSupport.containsAll(node)){
 					Set<PlFormula> set = new HashSet<PlFormula>(argNode.getSupport());
 					set.retainAll(node);
 					if(!set.isEmpty()){
 						boolean properUndercut = true;
-						for(Edge<CompilationNode> edge2: this.getEdges()){
-							if(!edge2.equals(edge) && (edge2.getNodeA() == current || edge2.getNodeB() == current)){
+						for(CompilationNode other: neighbors){
+							if(!other.equals(node)){
 								Set<PlFormula> set1 = new HashSet<PlFormula>(node);
-								Set<PlFormula> set2;
-								if(edge2.getNodeA() == current)
-									set2 = new  HashSet<PlFormula>(edge2.getNodeB());
-								else set2 = new  HashSet<PlFormula>(edge2.getNodeA());
+								Set<PlFormula> set2 = new HashSet<PlFormula>(other);
 								set1.retainAll(argNode.getSupport());
 								set2.retainAll(argNode.getSupport());
 								if(set1.containsAll(set2)){
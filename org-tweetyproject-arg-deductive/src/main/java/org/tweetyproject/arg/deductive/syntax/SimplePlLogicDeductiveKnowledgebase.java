@@ -19,12 +19,15 @@
 package org.tweetyproject.arg.deductive.syntax;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.Attack;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.commons.BeliefSet;
 import org.tweetyproject.commons.Signature;
+import org.tweetyproject.commons.util.Pair;
 import org.tweetyproject.commons.util.rules.Derivation;
 import org.tweetyproject.logics.pl.sat.Sat4jSolver;
 import org.tweetyproject.logics.pl.syntax.PlFormula;
@@ -73,22 +76,25 @@ public class SimplePlLogicDeductiveKnowledgebase extends BeliefSet<SimplePlRule,
 				af.add(new SimplePlLogicArgument(derivation));
 		}
 		
+		// claims and premises are shared by many arguments, so every pair is checked only once
+		Sat4jSolver solver = new Sat4jSolver();
+		Map<Pair<PlFormula,PlFormula>,Boolean> conflicts = new HashMap<Pair<PlFormula,PlFormula>,Boolean>();
 		for (Argument arga : af.getNodes()){
 			for (Argument argb: af.getNodes()){
 				SimplePlLogicArgument larga = (SimplePlLogicArgument)arga;
 				SimplePlLogicArgument largb = (SimplePlLogicArgument)argb;
 				
-				Sat4jSolver solver = new Sat4jSolver();
-				solver.getWitness((PlFormula)(larga.getClaim()).combineWithAnd(largb.getClaim()));
-				
-				if (!solver.isConsistent((PlFormula)(larga.getClaim()).combineWithAnd(largb.getClaim()))){
+				if (this.isConflicting(larga.getClaim(), largb.getClaim(), solver, conflicts)){
 					af.add(new Attack(arga, argb));
+					continue;
 				}
 				
+				attack:
 				for (SimplePlRule r : largb.getSupport()){
 					for (PlFormula p : r.getPremise()){
-						if (!solver.isConsistent((PlFormula)(larga.getClaim()).combineWithAnd(p))){
+						if (this.isConflicting(larga.getClaim(), p, solver, conflicts)){
 							af.add(new Attack(arga, argb));
+							break attack;
 						}
 					}
 				}
@@ -99,6 +105,18 @@ public class SimplePlLogicDeductiveKnowledgebase extends BeliefSet<SimplePlRule,
 		return af;
 		
 	}
+	
+	/**
+	 * Checks whether the conjunction of the given formulas is inconsistent.
+	 * @param a some formula
+	 * @param b some formula
+	 * @param solver the solver to use
+	 * @param conflicts the results of previous checks
+	 * @return true iff the conjunction of the formulas is inconsistent
+	 */
+	private boolean isConflicting(PlFormula a, PlFormula b, Sat4jSolver solver, Map<Pair<PlFormula,PlFormula>,Boolean> conflicts){
+		return conflicts.computeIfAbsent(new Pair<PlFormula,PlFormula>(a, b), k -> !solver.isConsistent((PlFormula)a.combineWithAnd(b)));
+	}
 
 	@Override
 	protected PlSignature instantiateSignature() {
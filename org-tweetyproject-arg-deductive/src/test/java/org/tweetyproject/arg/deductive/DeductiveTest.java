@@ -1,16 +1,24 @@
 package org.tweetyproject.arg.deductive;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.Test;
 import org.tweetyproject.arg.deductive.accumulator.SimpleAccumulator;
 import org.tweetyproject.arg.deductive.categorizer.ClassicalCategorizer;
+import org.tweetyproject.arg.deductive.categorizer.HCategorizer;
 import org.tweetyproject.arg.deductive.parser.SimplePlLogicParser;
 import org.tweetyproject.arg.deductive.reasoner.AbstractDeductiveArgumentationReasoner;
+import org.tweetyproject.arg.deductive.reasoner.CompilationReasoner;
 import org.tweetyproject.arg.deductive.reasoner.SimpleDeductiveReasoner;
+import org.tweetyproject.arg.deductive.semantics.ArgumentTree;
+import org.tweetyproject.arg.deductive.semantics.Compilation;
+import org.tweetyproject.arg.deductive.semantics.DeductiveArgument;
 import org.tweetyproject.arg.deductive.syntax.DeductiveKnowledgeBase;
 import org.tweetyproject.arg.deductive.syntax.SimplePlLogicDeductiveKnowledgebase;
 import org.tweetyproject.commons.ParserException;
@@ -41,6 +49,59 @@ public class DeductiveTest {
 		double result = reasoner.query(kb,(PlFormula) parser.parseFormula("h"));
         assertEquals(result, -2.0, 0.001);
     }
+
+    @Test
+    public void IncrementalCompilation() throws ParserException, IOException {
+
+		SatSolver.setDefaultSolver(new Sat4jSolver());
+		DeductiveKnowledgeBase kb = new DeductiveKnowledgeBase();
+
+		PlParser parser = new PlParser();
+		PlFormula h = (PlFormula) parser.parseFormula("h");
+		kb.add((PlFormula)parser.parseFormula("s"));
+		kb.add((PlFormula)parser.parseFormula("!s || h"));
+		kb.add((PlFormula)parser.parseFormula("f"));
+		kb.add((PlFormula)parser.parseFormula("!f || !h"));
+
+		CompilationReasoner reasoner = new CompilationReasoner(new HCategorizer(), new SimpleAccumulator());
+		double before = reasoner.query(kb, h);
+
+		// the compilation is updated instead of being rebuilt
+		kb.add((PlFormula)parser.parseFormula("v"));
+		kb.add((PlFormula)parser.parseFormula("!v || !h"));
+		assertEquals(new CompilationReasoner(new HCategorizer(), new SimpleAccumulator()).query(kb, h), reasoner.query(kb, h), 0.001);
+
+		kb.remove((PlFormula)parser.parseFormula("v"));
+		kb.remove((PlFormula)parser.parseFormula("!v || !h"));
+		assertEquals(before, reasoner.query(kb, h), 0.001);
+    }
+
+    @Test
+    public void ArgumentTreesBySupportAndClaim() throws ParserException, IOException {
+
+		SatSolver.setDefaultSolver(new Sat4jSolver());
+		DeductiveKnowledgeBase kb = new DeductiveKnowledgeBase();
+
+		PlParser parser = new PlParser();
+		kb.add((PlFormula)parser.parseFormula("a"));
+		kb.add((PlFormula)parser.parseFormula("!a || b"));
+		kb.add((PlFormula)parser.parseFormula("!b"));
+
+		// two arguments with the same support but different claims
+		Set<PlFormula> support = new HashSet<PlFormula>();
+		support.add((PlFormula)parser.parseFormula("a"));
+		support.add((PlFormula)parser.parseFormula("!a || b"));
+		DeductiveArgument forB = new DeductiveArgument(support, (PlFormula)parser.parseFormula("b"));
+		DeductiveArgument forA = new DeductiveArgument(support, (PlFormula)parser.parseFormula("a"));
+
+		Compilation compilation = new Compilation(kb);
+		ArgumentTree treeForB = compilation.getArgumentTree(forB);
+		ArgumentTree treeForA = compilation.getArgumentTree(forA);
+		assertEquals(forB.getClaim(), treeForB.getRoot().getClaim());
+		assertEquals(forA.getClaim(), treeForA.getRoot().getClaim());
+		assertSame(treeForB, compilation.getArgumentTree(forB));
+		assertEquals(treeForB.getNodes().size(), treeForA.getNodes().size());
+    }
 	public void plLogic(String[] args) {
 
 		String skb = "a" + "\n" +
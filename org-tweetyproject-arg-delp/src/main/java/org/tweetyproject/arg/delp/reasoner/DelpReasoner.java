@@ -21,7 +21,7 @@ package org.tweetyproject.arg.delp.reasoner;
 import org.tweetyproject.arg.delp.semantics.ComparisonCriterion;
 import org.tweetyproject.arg.delp.semantics.DelpAnswer;
 import org.tweetyproject.arg.delp.semantics.DelpAnswer.Type;
-import org.tweetyproject.arg.delp.semantics.DialecticalTree;
+import org.tweetyproject.arg.delp.semantics.DialecticalEvaluator;
 import org.tweetyproject.arg.delp.semantics.EmptyCriterion;
 import org.tweetyproject.arg.delp.syntax.DefeasibleLogicProgram;
 import org.tweetyproject.arg.delp.syntax.DefeasibleRule;
@@ -31,9 +31,7 @@ import org.tweetyproject.commons.Reasoner;
 import org.tweetyproject.commons.util.rules.Derivation;
 import org.tweetyproject.logics.fol.syntax.FolFormula;
 
-import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -52,6 +50,16 @@ public class DelpReasoner implements Reasoner<DelpAnswer.Type,DefeasibleLogicPro
 	 */
 	private ComparisonCriterion comparisonCriterion = new EmptyCriterion();
 
+	/**
+	 * The rules of the last queried program
+	 */
+	private Set<DelpRule> rules;
+
+	/**
+	 * The evaluator for the last queried program
+	 */
+	private DialecticalEvaluator evaluator;
+
 	/**
 	 * Creates a new DelpReasoner for the given delp.	 * 
 	 * @param comparisonCriterion a comparison criterion used for inference
@@ -74,31 +82,27 @@ public class DelpReasoner implements Reasoner<DelpAnswer.Type,DefeasibleLogicPro
 	 * @return a set of <code>DelpArgument</code> that are warrants
 	 */
     public Set<DelpArgument> getWarrants(DefeasibleLogicProgram delp){
-    	DefeasibleLogicProgram groundDelp = delp.ground();
-        Set<DelpArgument> all_arguments = groundDelp.ground().getArguments();
-		return all_arguments.stream()
-                .filter(argument -> isWarrant(groundDelp,argument))
+    	DialecticalEvaluator evaluator = getEvaluator(delp);
+		return evaluator.getArguments().stream()
+                .filter(evaluator::isWarrant)
                 .collect(Collectors.toSet());
 	}
 
 	/**
-	 * Checks whether the given argument is a warrant regarding a given set of arguments
-	 * @param groundDelp a grounded DeLP
-	 * @param argument a DeLP argument
-	 * 
-	 * @return <source>true</source> iff <source>argument</source> is a warrant given <source>arguments</source>.
+	 * Returns the evaluator for the given delp. The evaluator (with the ground program, its
+	 * arguments and the markings of all dialectical trees evaluated so far) is kept as long as
+	 * this reasoner is queried with programs consisting of the same rules.
+	 * @param delp a delp
+	 * @return the evaluator for the grounding of the delp
 	 */
-	private boolean isWarrant(DefeasibleLogicProgram groundDelp, DelpArgument argument){
-		DialecticalTree dtree = new DialecticalTree(argument);
-		Deque<DialecticalTree> stack = new ArrayDeque<>();
-		stack.add(dtree);
-		while(!stack.isEmpty()){
-			DialecticalTree dtree2 = stack.pop();
-			stack.addAll(dtree2.getDefeaters(groundDelp,comparisonCriterion));
+	private synchronized DialecticalEvaluator getEvaluator(DefeasibleLogicProgram delp){
+		if(evaluator == null || rules.size() != delp.size() || !rules.containsAll(delp)){
+			rules = new HashSet<>(delp);
+			evaluator = new DialecticalEvaluator(delp.ground(), comparisonCriterion);
 		}
-		return dtree.getMarking().equals(DialecticalTree.Mark.UNDEFEATED);
+		return evaluator;
 	}
-	
+
 	/**
 	 * Returns all arguments with the given conclusion from the delp.
 	 * @param delp some delp.
@@ -145,41 +149,10 @@ public class DelpReasoner implements Reasoner<DelpAnswer.Type,DefeasibleLogicPro
 		if(!f.isGround())
 			throw new IllegalArgumentException("Formula is expected to be ground: "+f);
 
-		DefeasibleLogicProgram groundDelp = delp.ground();
-		// get all arguments for f
-		boolean warrant = false;		
-		Set<DelpArgument> args = getArgumentsWithConclusion(groundDelp, f);
-		for(DelpArgument arg: args){			
-			DialecticalTree dtree = new DialecticalTree(arg);
-			Deque<DialecticalTree> stack = new ArrayDeque<>();
-			stack.add(dtree);
-			while(!stack.isEmpty()){
-				DialecticalTree dtree2 = stack.pop();
-				stack.addAll(dtree2.getDefeaters(groundDelp,comparisonCriterion));
-			}
-			if(dtree.getMarking().equals(DialecticalTree.Mark.UNDEFEATED)){
-				warrant = true;
-				break;
-			}
-		}
-		// get all arguments for ~f (if f is not already warranted)
-		boolean comp_warrant = false;
-		if(!warrant){		
-			args = getArgumentsWithConclusion(groundDelp, (FolFormula) f.complement());
-			for(DelpArgument arg: args){
-				DialecticalTree dtree = new DialecticalTree(arg);
-				Deque<DialecticalTree> stack = new ArrayDeque<>();
-				stack.add(dtree);
-				while(!stack.isEmpty()){
-					DialecticalTree dtree2 = stack.pop();
-					stack.addAll(dtree2.getDefeaters(groundDelp,comparisonCriterion));
-				}
-				if(dtree.getMarking().equals(DialecticalTree.Mark.UNDEFEATED)){
-					comp_warrant = true;
-					break;
-				}
-			}
-		}		
+		DialecticalEvaluator evaluator = getEvaluator(delp);
+		boolean warrant = evaluator.hasWarrant(f);
+		// check arguments for ~f (if f is not already warranted)
+		boolean comp_warrant = !warrant && evaluator.hasWarrant((FolFormula) f.complement());
 		if(warrant){
 			return Type.YES;
 		}else if(comp_warrant){
@@ -0,0 +1,287 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.delp.semantics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.tweetyproject.arg.delp.syntax.DefeasibleLogicProgram;
+import org.tweetyproject.arg.delp.syntax.DefeasibleRule;
+import org.tweetyproject.arg.delp.syntax.DelpArgument;
+import org.tweetyproject.commons.util.CancellationToken;
+import org.tweetyproject.commons.util.Pair;
+import org.tweetyproject.logics.fol.syntax.FolFormula;
+
+/**
+ * Evaluates dialectical trees of a fixed ground DeLP without building them completely.
+ * The arguments of the program are computed once and indexed by their conclusions, so the
+ * candidate defeaters of an argument are looked up by the complements of its attack
+ * opportunities. Attack opportunities, disagreement sub-arguments, consistency checks and
+ * comparisons are computed once and then reused.
+ * <br>
+ * A node of a dialectical tree is evaluated depth-first: the acceptable defeaters of its
+ * argument are evaluated one after the other (those with fewer candidate defeaters first),
+ * and the evaluation stops as soon as an undefeated one is found, as then the node is
+ * defeated regardless of the remaining defeaters. The marking of every evaluated node is
+ * stored with its argumentation line, so subtrees that occur again (in the same or a later
+ * query) are not evaluated again. The results are the same as those of
+ * {@link DialecticalTree#getMarking()} on the complete tree.
+ * <br>
+ * Instances may be shared between threads.
+ */
+public class DialecticalEvaluator {
+
+	/** The ground program. */
+	private final DefeasibleLogicProgram delp;
+	/** The comparison criterion. */
+	private final ComparisonCriterion comparisonCriterion;
+	/** All arguments of the program. */
+	private final List<DelpArgument> arguments;
+	/** The arguments by conclusion. */
+	private final Map<FolFormula,Set<DelpArgument>> byConclusion = new ConcurrentHashMap<>();
+	/** The candidate defeaters of every argument, i.e. the arguments for its attack opportunities. */
+	private final Map<DelpArgument,Set<DelpArgument>> candidates = new ConcurrentHashMap<>();
+	/** The candidate defeaters of every argument, in the order in which they are evaluated. */
+	private final Map<DelpArgument,List<DelpArgument>> attackers = new ConcurrentHashMap<>();
+	/** The sub-arguments of every argument. */
+	private final Map<DelpArgument,List<DelpArgument>> subarguments = new ConcurrentHashMap<>();
+	/** The disagreement sub-argument of an argument for a literal. */
+	private final Map<Pair<DelpArgument,FolFormula>,Optional<DelpArgument>> disagreementSubarguments = new ConcurrentHashMap<>();
+	/** Whether two literals disagree. */
+	private final Map<Set<FolFormula>,Boolean> disagreements = new ConcurrentHashMap<>();
+	/** Whether sets of rules are consistent. */
+	private final Map<Set<DefeasibleRule>,Boolean> consistency = new ConcurrentHashMap<>();
+	/** The comparisons of pairs of arguments. */
+	private final Map<Pair<DelpArgument,DelpArgument>,ComparisonCriterion.Result> comparisons = new ConcurrentHashMap<>();
+	/** The markings of the evaluated nodes, by argumentation line (true iff undefeated). */
+	private final Map<List<DelpArgument>,Boolean> markings = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new evaluator for the given program.
+	 * @param delp a ground DeLP
+	 * @param comparisonCriterion a comparison criterion
+	 */
+	public DialecticalEvaluator(DefeasibleLogicProgram delp, ComparisonCriterion comparisonCriterion) {
+		this.delp = delp;
+		this.comparisonCriterion = comparisonCriterion == null ? new EmptyCriterion() : comparisonCriterion;
+		this.arguments = new ArrayList<>(delp.getArguments());
+		for(DelpArgument argument: this.arguments)
+			this.byConclusion.computeIfAbsent(argument.getConclusion(), k -> new HashSet<>()).add(argument);
+	}
+
+	/**
+	 * Returns all arguments of the program.
+	 * @return all arguments
+	 */
+	public Set<DelpArgument> getArguments() {
+		return new HashSet<>(this.arguments);
+	}
+
+	/**
+	 * Returns all arguments with the given conclusion.
+	 * @param f a literal
+	 * @return all arguments with conclusion f
+	 */
+	public Set<DelpArgument> getArgumentsWithConclusion(FolFormula f) {
+		return new HashSet<>(this.byConclusion.getOrDefault(f, Collections.emptySet()));
+	}
+
+	/**
+	 * Checks whether the given argument is a warrant, i.e. whether the root of its
+	 * dialectical tree is undefeated.
+	 * @param argument an argument of the program
+	 * @return true iff the argument is a warrant
+	 */
+	public boolean isWarrant(DelpArgument argument) {
+		return this.isUndefeated(Collections.singletonList(argument));
+	}
+
+	/**
+	 * Checks whether some argument with the given conclusion is a warrant.
+	 * @param f a literal
+	 * @return true iff there is a warrant for f
+	 */
+	public boolean hasWarrant(FolFormula f) {
+		for(DelpArgument argument: this.byConclusion.getOrDefault(f, Collections.emptySet()))
+			if(this.isWarrant(argument))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Checks whether the last node of the given argumentation line is undefeated.
+	 * @param line an acceptable argumentation line
+	 * @return true iff the last argument of the line is undefeated in the dialectical tree
+	 */
+	private boolean isUndefeated(List<DelpArgument> line) {
+		Boolean marking = this.markings.get(line);
+		if(marking != null)
+			return marking;
+		boolean undefeated = true;
+		for(DelpArgument defeater: this.getAttackers(line.get(line.size() - 1))) {
+			CancellationToken.checkpoint();
+			if(!this.isAcceptable(line, defeater))
+				continue;
+			List<DelpArgument> extended = new ArrayList<>(line);
+			extended.add(defeater);
+			if(this.isUndefeated(Collections.unmodifiableList(extended))) {
+				// one undefeated defeater suffices, the others need not be evaluated
+				undefeated = false;
+				break;
+			}
+		}
+		this.markings.put(line, undefeated);
+		return undefeated;
+	}
+
+	/**
+	 * Returns the candidate defeaters of the given argument, ordered by their numbers of
+	 * candidate defeaters.
+	 * @param argument some argument
+	 * @return the candidate defeaters
+	 */
+	private List<DelpArgument> getAttackers(DelpArgument argument) {
+		return this.attackers.computeIfAbsent(argument, a -> this.getCandidates(a).stream()
+				.sorted(Comparator.comparingInt(b -> this.getCandidates(b).size()))
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Returns the candidate defeaters of the given argument, i.e. the arguments whose conclusion
+	 * is an attack opportunity of the argument.
+	 * @param argument some argument
+	 * @return the candidate defeaters
+	 */
+	private Set<DelpArgument> getCandidates(DelpArgument argument) {
+		return this.candidates.computeIfAbsent(argument, a -> {
+			Set<DelpArgument> result = new HashSet<>();
+			for(FolFormula lit: a.getAttackOpportunities(this.delp))
+				result.addAll(this.byConclusion.getOrDefault(lit, Collections.emptySet()));
+			return result;
+		});
+	}
+
+	/**
+	 * Checks whether the given argumentation line extended by the given argument is acceptable
+	 * (see {@link DialecticalTree#isAcceptable(DelpArgument, DefeasibleLogicProgram, ComparisonCriterion)}).
+	 * @param line an argumentation line
+	 * @param argument a candidate defeater of the last argument of the line
+	 * @return true iff the extended line is acceptable
+	 */
+	private boolean isAcceptable(List<DelpArgument> line, DelpArgument argument) {
+		// sub-argument test
+		for(DelpArgument a: line)
+			if(argument.isSubargumentOf(a))
+				return false;
+		// concordance
+		Set<DefeasibleRule> rules = new HashSet<>(argument.getSupport());
+		for(int i = line.size() - 2; i >= 0; i -= 2)
+			rules.addAll(line.get(i).getSupport());
+		if(!this.isConsistent(rules))
+			return false;
+		// blocking attack
+		DelpArgument last = line.get(line.size() - 1);
+		DelpArgument disagreementSubargument = this.getDisagreementSubargument(last, argument.getConclusion());
+		if(this.compare(argument, disagreementSubargument) == ComparisonCriterion.Result.IS_WORSE)
+			return false;
+		// proper attack
+		if(line.size() > 1) {
+			DelpArgument previous = this.getDisagreementSubargument(line.get(line.size() - 2), last.getConclusion());
+			if(this.compare(last, previous) == ComparisonCriterion.Result.NOT_COMPARABLE)
+				if(this.compare(argument, disagreementSubargument) != ComparisonCriterion.Result.IS_BETTER)
+					return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the sub-argument of the given argument that disagrees with the given literal
+	 * (see {@link DelpArgument#getDisagreementSubargument(FolFormula, DefeasibleLogicProgram)}).
+	 * @param argument some argument
+	 * @param lit a literal
+	 * @return the disagreement sub-argument or null if there is none
+	 */
+	private DelpArgument getDisagreementSubargument(DelpArgument argument, FolFormula lit) {
+		Pair<DelpArgument,FolFormula> key = new Pair<>(argument, lit);
+		Optional<DelpArgument> result = this.disagreementSubarguments.get(key);
+		if(result == null) {
+			result = Optional.empty();
+			for(DelpArgument sub: this.getSubarguments(argument))
+				if(this.disagree(lit, sub.getConclusion())) {
+					result = Optional.of(sub);
+					break;
+				}
+			this.disagreementSubarguments.put(key, result);
+		}
+		return result.orElse(null);
+	}
+
+	/**
+	 * Returns the sub-arguments of the given argument among the arguments of the program.
+	 * @param argument some argument
+	 * @return its sub-arguments, in the order of the arguments of the program
+	 */
+	private List<DelpArgument> getSubarguments(DelpArgument argument) {
+		return this.subarguments.computeIfAbsent(argument, a -> this.arguments.stream()
+				.filter(b -> b.isSubargumentOf(a))
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Checks whether the given literals disagree wrt. the strict part of the program.
+	 * @param l1 a literal
+	 * @param l2 a literal
+	 * @return true iff the strict closure of the program and the literals is inconsistent
+	 */
+	private boolean disagree(FolFormula l1, FolFormula l2) {
+		Set<FolFormula> literals = new HashSet<>();
+		literals.add(l1);
+		literals.add(l2);
+		return this.disagreements.computeIfAbsent(literals, this.delp::disagree);
+	}
+
+	/**
+	 * Checks whether the given rules are consistent with the strict part of the program.
+	 * @param rules some defeasible rules
+	 * @return true iff the rules are consistent
+	 */
+	private boolean isConsistent(Set<DefeasibleRule> rules) {
+		return this.consistency.computeIfAbsent(rules, this.delp::isConsistent);
+	}
+
+	/**
+	 * Compares the given arguments wrt. the comparison criterion.
+	 * @param a1 some argument
+	 * @param a2 some argument (or null)
+	 * @return the result of the comparison
+	 */
+	private ComparisonCriterion.Result compare(DelpArgument a1, DelpArgument a2) {
+		if(a2 == null)
+			return this.comparisonCriterion.compare(a1, a2, this.delp);
+		return this.comparisons.computeIfAbsent(new Pair<>(a1, a2), p -> this.comparisonCriterion.compare(a1, a2, this.delp));
+	}
+}
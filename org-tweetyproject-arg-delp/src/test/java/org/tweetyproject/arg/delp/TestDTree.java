@@ -19,13 +19,18 @@
  package org.tweetyproject.arg.delp;
 
 import org.tweetyproject.arg.delp.parser.DelpParser;
+import org.tweetyproject.arg.delp.semantics.DialecticalEvaluator;
 import org.tweetyproject.arg.delp.semantics.DialecticalTree;
+import org.tweetyproject.arg.delp.semantics.GeneralizedSpecificity;
 import org.tweetyproject.arg.delp.syntax.DefeasibleLogicProgram;
+import org.tweetyproject.arg.delp.syntax.DelpArgument;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Set;
 
 import static org.tweetyproject.arg.delp.TestArguments.*;
@@ -90,4 +95,19 @@ public final class TestDTree {
                 .getDefeaters(DELP_BIRDS, null);
         assertEquals("one defeater", 1, trees.size());
     }
+
+    @Test
+    public void evaluatorAgreesWithTrees() {
+        GeneralizedSpecificity criterion = new GeneralizedSpecificity();
+        DialecticalEvaluator evaluator = new DialecticalEvaluator(DELP_BIRDS, criterion);
+        for (DelpArgument argument : DELP_BIRDS.getArguments()) {
+            DialecticalTree tree = new DialecticalTree(argument);
+            Deque<DialecticalTree> stack = new ArrayDeque<>();
+            stack.add(tree);
+            while (!stack.isEmpty())
+                stack.addAll(stack.pop().getDefeaters(DELP_BIRDS, criterion));
+            assertEquals("marking of " + argument,
+                    tree.getMarking() == DialecticalTree.Mark.UNDEFEATED, evaluator.isWarrant(argument));
+        }
+    }
 }
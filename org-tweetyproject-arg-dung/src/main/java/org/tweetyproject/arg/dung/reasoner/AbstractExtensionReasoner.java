@@ -19,6 +19,7 @@
 package org.tweetyproject.arg.dung.reasoner;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.semantics.Semantics;
@@ -26,6 +27,7 @@ import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.commons.InferenceMode;
 import org.tweetyproject.commons.ModelProvider;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.commons.postulates.PostulateEvaluatable;
 
 /**
@@ -59,7 +61,7 @@ public abstract class AbstractExtensionReasoner extends AbstractDungReasoner imp
 	 * @return "true" if the argument is accepted
 	 */
 	public Boolean query(DungTheory beliefbase, Argument formula, InferenceMode inferenceMode) {
-		Collection<Extension<DungTheory>> extensions = this.getModels(beliefbase);
+		Collection<Extension<DungTheory>> extensions = Metrics.getModels(this, beliefbase);
 		if(inferenceMode.equals(InferenceMode.SKEPTICAL)){
 			for(Extension<DungTheory> e: extensions)
 				if(!e.contains(formula))
@@ -74,6 +76,19 @@ public abstract class AbstractExtensionReasoner extends AbstractDungReasoner imp
 		return false;
 	}
 	
+	/**
+	 * Computes all extensions of the given theory and passes each of them to the given consumer
+	 * as soon as it has been found, so that callers can process extensions while the computation 
+	 * is still running. The default implementation computes all extensions first, reasoners that
+	 * find the extensions one by one override this method.
+	 * @param bbase some Dung theory
+	 * @param consumer the consumer of the extensions, called once per extension
+	 */
+	public void getModels(DungTheory bbase, Consumer<? super Extension<DungTheory>> consumer) {
+		for(Extension<DungTheory> e: Metrics.getModels(this, bbase))
+			consumer.accept(e);
+	}
+	
 	/**
 	 * Creates a reasoner for the given semantics.
 	 * @param semantics a semantics
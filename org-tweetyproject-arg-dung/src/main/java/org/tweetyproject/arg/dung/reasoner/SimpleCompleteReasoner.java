@@ -19,9 +19,11 @@
 package org.tweetyproject.arg.dung.reasoner;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import org.tweetyproject.arg.dung.semantics.*;
 import org.tweetyproject.arg.dung.syntax.*;
+import org.tweetyproject.commons.util.CancellationToken;
 
 
 /**
@@ -34,10 +36,21 @@ public class SimpleCompleteReasoner extends AbstractExtensionReasoner {
 
 	@Override
 	public Collection<Extension<DungTheory>> getModels(DungTheory bbase) {
+		Set<Extension<DungTheory>> extensions = new HashSet<Extension<DungTheory>>();
+		this.getModels(bbase, extensions::add);
+		return extensions;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModels(org.tweetyproject.arg.dung.syntax.DungTheory, java.util.function.Consumer)
+	 */
+	@Override
+	public void getModels(DungTheory bbase, Consumer<? super Extension<DungTheory>> consumer) {
 		Extension<DungTheory> groundedExtension = new SimpleGroundedReasoner().getModel(bbase);
 		Set<Argument> remaining = new HashSet<Argument>((DungTheory) bbase);
 		remaining.removeAll(groundedExtension);
-		return this.getCompleteExtensions((DungTheory) bbase,groundedExtension,remaining);	}
+		this.getCompleteExtensions((DungTheory) bbase,groundedExtension,remaining,true,consumer);
+	}
 
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModel(org.tweetyproject.arg.dung.syntax.DungTheory)
@@ -53,23 +66,24 @@ public class SimpleCompleteReasoner extends AbstractExtensionReasoner {
 	 * @param dungTheory a Dung theory
 	 * @param ext some extension
 	 * @param remaining arguments that still have to be considered to be part of an extension
-	 * @return all complete extensions that are supersets of an argument in <source>arguments</source>
+	 * @param fresh whether <source>ext</source> has not been checked before (each set is visited 
+	 *   once with an argument added and then again for all choices of the remaining arguments)
+	 * @param consumer receives all complete extensions that are supersets of <source>ext</source>
 	 */
-	private Set<Extension<DungTheory>> getCompleteExtensions(DungTheory dungTheory, Extension<DungTheory> ext, Collection<Argument> remaining){
-		Set<Extension<DungTheory>> extensions = new HashSet<Extension<DungTheory>>();
+	private void getCompleteExtensions(DungTheory dungTheory, Extension<DungTheory> ext, Collection<Argument> remaining, boolean fresh, Consumer<? super Extension<DungTheory>> consumer){
+		CancellationToken.checkpoint();
 		if(dungTheory.isConflictFree(ext)){
-			if(dungTheory.faf(ext).equals(ext))
-				extensions.add(ext);
+			if(fresh && dungTheory.faf(ext).equals(ext))
+				consumer.accept(ext);
 			if(!remaining.isEmpty()){
 				Argument arg = remaining.iterator().next();
 				Collection<Argument> remaining2 = new HashSet<Argument>(remaining);
 				remaining2.remove(arg);
-				extensions.addAll(this.getCompleteExtensions(dungTheory,ext, remaining2));
+				this.getCompleteExtensions(dungTheory,ext, remaining2, false, consumer);
 				Extension<DungTheory> ext2 = new Extension<DungTheory>(ext);
 				ext2.add(arg);
-				extensions.addAll(this.getCompleteExtensions(dungTheory,ext2, remaining2));
+				this.getCompleteExtensions(dungTheory,ext2, remaining2, true, consumer);
 			}
 		}
-		return extensions;		
 	}
 }
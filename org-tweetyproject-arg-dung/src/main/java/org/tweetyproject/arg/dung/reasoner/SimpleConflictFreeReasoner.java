@@ -21,11 +21,13 @@ package org.tweetyproject.arg.dung.reasoner;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
-import org.tweetyproject.commons.util.SetTools;
+import org.tweetyproject.commons.util.DefaultSubsetIterator;
+import org.tweetyproject.commons.util.SubsetIterator;
 
 /**
  * This reasoner for Dung theories performs inference on the conflict-free extensions.
@@ -40,13 +42,24 @@ public class SimpleConflictFreeReasoner extends AbstractExtensionReasoner {
 	@Override
 	public Collection<Extension<DungTheory>> getModels(DungTheory bbase) {
 		Set<Extension<DungTheory>> extensions = new HashSet<Extension<DungTheory>>();
-		// Check all subsets
-		for(Set<Argument> ext: new SetTools<Argument>().subsets((DungTheory)bbase))
-			if(((DungTheory)bbase).isConflictFree(new Extension<DungTheory>(ext)))
-				extensions.add(new Extension<DungTheory>(ext));
+		this.getModels(bbase, extensions::add);
 		return extensions;
 	}
 
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModels(org.tweetyproject.arg.dung.syntax.DungTheory, java.util.function.Consumer)
+	 */
+	@Override
+	public void getModels(DungTheory bbase, Consumer<? super Extension<DungTheory>> consumer) {
+		// Check all subsets, one by one
+		SubsetIterator<Argument> it = new DefaultSubsetIterator<Argument>(new HashSet<Argument>(bbase));
+		while (it.hasNext()) {
+			Extension<DungTheory> ext = new Extension<DungTheory>(it.next());
+			if (bbase.isConflictFree(ext))
+				consumer.accept(ext);
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModel(org.tweetyproject.arg.dung.syntax.DungTheory)
 	 */
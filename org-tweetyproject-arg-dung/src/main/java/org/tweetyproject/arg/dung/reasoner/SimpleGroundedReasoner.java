@@ -22,6 +22,7 @@ import java.util.*;
 
 import org.tweetyproject.arg.dung.semantics.*;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.commons.util.CancellationToken;
 
 
 /**
@@ -52,6 +53,7 @@ public class SimpleGroundedReasoner extends AbstractExtensionReasoner {
 		Extension<DungTheory> ext = new Extension<DungTheory>();
 		int size;
 		do{
+			CancellationToken.checkpoint();
 			size = ext.size();			
 			ext = ((DungTheory)bbase).faf(ext);			
 		}while(size!=ext.size());		
@@ -19,9 +19,11 @@
 package org.tweetyproject.arg.dung.reasoner;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import org.tweetyproject.arg.dung.semantics.*;
 import org.tweetyproject.arg.dung.syntax.*;
+import org.tweetyproject.commons.util.CancellationToken;
 
 /**
  * This reasoner for Dung theories performs inference on the complete extensions.
@@ -37,6 +39,16 @@ public class SimpleSccCompleteReasoner extends AbstractExtensionReasoner {
 	 */
 	@Override
 	public Collection<Extension<DungTheory>> getModels(DungTheory bbase) {
+		Set<Extension<DungTheory>> extensions = new HashSet<Extension<DungTheory>>();
+		this.getModels(bbase, extensions::add);
+		return extensions;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModels(org.tweetyproject.arg.dung.syntax.DungTheory, java.util.function.Consumer)
+	 */
+	@Override
+	public void getModels(DungTheory bbase, Consumer<? super Extension<DungTheory>> consumer) {
 		List<Collection<Argument>> sccs = new ArrayList<Collection<Argument>>(((DungTheory)bbase).getStronglyConnectedComponents());		
 		// order SCCs in a DAG
 		boolean[][] dag = new boolean[sccs.size()][sccs.size()];
@@ -68,7 +80,7 @@ public class SimpleSccCompleteReasoner extends AbstractExtensionReasoner {
 				}
 			}
 		}		
-		return this.computeExtensionsViaSccs((DungTheory)bbase, sccs_ordered, 0, new HashSet<Argument>(), new HashSet<Argument>(), new HashSet<Argument>());
+		this.computeExtensionsViaSccs((DungTheory)bbase, sccs_ordered, 0, new HashSet<Argument>(), new HashSet<Argument>(), new HashSet<Argument>(), consumer);
 	}
 
 	/* (non-Javadoc)
@@ -91,13 +103,12 @@ public class SimpleSccCompleteReasoner extends AbstractExtensionReasoner {
 	 * @param in all arguments currently in
 	 * @param out all arguments currently out
 	 * @param undec all arguments currently undecided
-	 * @return the set of extensions
+	 * @param consumer receives the extensions (different branches yield different extensions)
 	 */
-	private Set<Extension<DungTheory>> computeExtensionsViaSccs(DungTheory theory, List<Collection<Argument>> sccs, int idx, Collection<Argument> in, Collection<Argument> out, Collection<Argument> undec){
+	private void computeExtensionsViaSccs(DungTheory theory, List<Collection<Argument>> sccs, int idx, Collection<Argument> in, Collection<Argument> out, Collection<Argument> undec, Consumer<? super Extension<DungTheory>> consumer){
 		if(idx >= sccs.size()){
-			Set<Extension<DungTheory>> result = new HashSet<Extension<DungTheory>>();
-			result.add(new Extension<DungTheory>(in));
-			return result;
+			consumer.accept(new Extension<DungTheory>(in));
+			return;
 		}
 		// construct theory
 		DungTheory subTheory = (DungTheory) theory.getRestriction(sccs.get(idx));
@@ -113,9 +124,9 @@ public class SimpleSccCompleteReasoner extends AbstractExtensionReasoner {
 				subTheory.add(new Attack(aux,a));
 		// compute complete extensions of sub theory
 		Collection<Extension<DungTheory>> subExt = new SimpleCompleteReasoner().getModels(subTheory);
-		Set<Extension<DungTheory>> result = new HashSet<Extension<DungTheory>>();
 		Collection<Argument> new_in, new_out, new_undec, attacked;
 		for(Extension<DungTheory> ext: subExt){
+			CancellationToken.checkpoint();
 			new_in = new HashSet<Argument>(in);
 			new_out = new HashSet<Argument>(out);
 			new_undec = new HashSet<Argument>(undec);
@@ -127,8 +138,7 @@ public class SimpleSccCompleteReasoner extends AbstractExtensionReasoner {
 			for(Argument a: subTheory)
 				if(a != aux && !ext.contains(a) && !attacked.contains(a))
 					new_undec.add(a);			
-			result.addAll(this.computeExtensionsViaSccs(theory, sccs, idx+1, new_in, new_out, new_undec));
-		}		
-		return result;
+			this.computeExtensionsViaSccs(theory, sccs, idx+1, new_in, new_out, new_undec, consumer);
+		}
 	}	
 }
@@ -19,6 +19,7 @@
 package org.tweetyproject.arg.dung.reasoner;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import org.tweetyproject.arg.dung.semantics.*;
 import org.tweetyproject.arg.dung.syntax.*;
@@ -39,14 +40,22 @@ public class SimpleStableReasoner extends AbstractExtensionReasoner {
 	 */
 	@Override
 	public Collection<Extension<DungTheory>> getModels(DungTheory bbase) {
-		Collection<Extension<DungTheory>> completeExtensions = new SimpleSccCompleteReasoner().getModels(bbase);
 		Set<Extension<DungTheory>> result = new HashSet<Extension<DungTheory>>();
-		for(Extension<DungTheory> e: completeExtensions)
-			if(((DungTheory)bbase).isAttackingAllOtherArguments(e))
-				result.add(e);
+		this.getModels(bbase, result::add);
 		return result;	
 	}
 
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModels(org.tweetyproject.arg.dung.syntax.DungTheory, java.util.function.Consumer)
+	 */
+	@Override
+	public void getModels(DungTheory bbase, Consumer<? super Extension<DungTheory>> consumer) {
+		new SimpleSccCompleteReasoner().getModels(bbase, e -> {
+			if(((DungTheory)bbase).isAttackingAllOtherArguments(e))
+				consumer.accept(e);
+		});
+	}
+
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner#getModel(org.tweetyproject.arg.dung.syntax.DungTheory)
 	 */
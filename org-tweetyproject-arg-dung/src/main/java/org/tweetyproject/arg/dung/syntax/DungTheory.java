@@ -27,6 +27,8 @@ import org.tweetyproject.commons.BeliefSet;
 import org.tweetyproject.commons.Formula;
 import org.tweetyproject.commons.Signature;
 import org.tweetyproject.graphs.*;
+import org.tweetyproject.graphs.algorithms.GraphAlgorithms;
+import org.tweetyproject.graphs.algorithms.IndexedGraph;
 import org.tweetyproject.math.matrix.Matrix;
 import org.tweetyproject.math.term.IntegerConstant;
 
@@ -1041,13 +1043,7 @@ public class DungTheory extends BeliefSet<Argument,DungSignature> implements Gra
 	 * @return "true" if there is a cycle with odd length in this theory
 	 */
 	public <S extends Node> boolean containsOddCycle() {
-		Collection<Collection<Argument>> sccs = this.getStronglyConnectedComponents();
-		for (Collection<Argument> scc : sccs) {
-			Graph<Argument> scc_g = this.getRestriction(scc);
-			if (!DefaultGraph.isBipartite(scc_g))
-				return true;
-		}
-		return false;
+		return GraphAlgorithms.containsOddCycle(new IndexedGraph<Argument>(this).getGraph());
 	}
 
 	/* (non-Javadoc)
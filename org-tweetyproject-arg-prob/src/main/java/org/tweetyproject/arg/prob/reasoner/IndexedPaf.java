@@ -0,0 +1,349 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.prob.reasoner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.Attack;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.prob.syntax.ProbabilisticArgumentationFramework;
+
+/**
+ * A compact representation of a PAF where arguments and attacks are numbered
+ * consecutively. Subgraphs of the framework are given by two bitsets, one for
+ * the present arguments and one for the present attacks, which can be sampled
+ * and evaluated without creating intermediate {@link DungTheory} objects.
+ * <br>
+ * Instances are immutable and may be shared between threads.
+ */
+class IndexedPaf {
+
+	/** The arguments. */
+	private final Argument[] arguments;
+	/** The index of every argument. */
+	private final Map<Argument,Integer> index = new HashMap<>();
+	/** The probabilities of the arguments. */
+	private final double[] argumentProbabilities;
+	/** The attacker of every attack. */
+	private final int[] attackers;
+	/** The attacked argument of every attack. */
+	private final int[] attacked;
+	/** The probabilities of the attacks. */
+	private final double[] attackProbabilities;
+	/** The outgoing attacks of every argument. */
+	private final int[][] outgoing;
+	/** The incoming attacks of every argument. */
+	private final int[][] incoming;
+
+	/**
+	 * Creates the indexed representation of the given PAF.
+	 * @param paf some PAF
+	 */
+	IndexedPaf(ProbabilisticArgumentationFramework paf) {
+		this.arguments = paf.toArray(new Argument[0]);
+		this.argumentProbabilities = new double[this.arguments.length];
+		for(int i = 0; i < this.arguments.length; i++) {
+			this.index.put(this.arguments[i], i);
+			this.argumentProbabilities[i] = paf.getProbability(this.arguments[i]).doubleValue();
+		}
+		List<Attack> attacks = new ArrayList<>(paf.getAttacks());
+		this.attackers = new int[attacks.size()];
+		this.attacked = new int[attacks.size()];
+		this.attackProbabilities = new double[attacks.size()];
+		int[] outDegree = new int[this.arguments.length];
+		int[] inDegree = new int[this.arguments.length];
+		for(int j = 0; j < attacks.size(); j++) {
+			this.attackers[j] = this.index.get(attacks.get(j).getAttacker());
+			this.attacked[j] = this.index.get(attacks.get(j).getAttacked());
+			this.attackProbabilities[j] = paf.getProbability(attacks.get(j)).doubleValue();
+			outDegree[this.attackers[j]]++;
+			inDegree[this.attacked[j]]++;
+		}
+		this.outgoing = new int[this.arguments.length][];
+		this.incoming = new int[this.arguments.length][];
+		for(int i = 0; i < this.arguments.length; i++) {
+			this.outgoing[i] = new int[outDegree[i]];
+			this.incoming[i] = new int[inDegree[i]];
+		}
+		for(int j = 0; j < attacks.size(); j++) {
+			this.outgoing[this.attackers[j]][--outDegree[this.attackers[j]]] = j;
+			this.incoming[this.attacked[j]][--inDegree[this.attacked[j]]] = j;
+		}
+	}
+
+	/**
+	 * Returns the number of arguments.
+	 * @return the number of arguments
+	 */
+	int numberOfArguments() {
+		return this.arguments.length;
+	}
+
+	/**
+	 * Returns the number of attacks.
+	 * @return the number of attacks
+	 */
+	int numberOfAttacks() {
+		return this.attackers.length;
+	}
+
+	/**
+	 * Returns the index of the given argument.
+	 * @param a some argument
+	 * @return its index or -1 if it is not part of the framework
+	 */
+	int indexOf(Argument a) {
+		return this.index.getOrDefault(a, -1);
+	}
+
+	/**
+	 * Returns the probability of the argument with the given index.
+	 * @param i an argument index
+	 * @return its probability
+	 */
+	double argumentProbability(int i) {
+		return this.argumentProbabilities[i];
+	}
+
+	/**
+	 * Returns the probability of the attack with the given index.
+	 * @param j an attack index
+	 * @return its probability
+	 */
+	double attackProbability(int j) {
+		return this.attackProbabilities[j];
+	}
+
+	/**
+	 * Returns the attacker of the attack with the given index.
+	 * @param j an attack index
+	 * @return the index of its attacker
+	 */
+	int attacker(int j) {
+		return this.attackers[j];
+	}
+
+	/**
+	 * Returns the attacked argument of the attack with the given index.
+	 * @param j an attack index
+	 * @return the index of the attacked argument
+	 */
+	int attacked(int j) {
+		return this.attacked[j];
+	}
+
+	/**
+	 * Returns the attacks on the argument with the given index.
+	 * @param i an argument index
+	 * @return the indices of the attacks on the argument
+	 */
+	int[] incomingAttacks(int i) {
+		return this.incoming[i];
+	}
+
+	/**
+	 * Returns the bitset of the given arguments.
+	 * @param args some arguments
+	 * @return their bitset or null if some argument is not part of the framework
+	 */
+	BitSet toBitSet(Collection<Argument> args) {
+		BitSet result = new BitSet(this.arguments.length);
+		for(Argument a: args) {
+			int i = this.indexOf(a);
+			if(i < 0)
+				return null;
+			result.set(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Samples the present arguments wrt. their probabilities.
+	 * @param random a random number generator
+	 * @return the present arguments
+	 */
+	BitSet sampleArguments(SplittableRandom random) {
+		BitSet result = new BitSet(this.arguments.length);
+		for(int i = 0; i < this.arguments.length; i++)
+			if(random.nextDouble() < this.argumentProbabilities[i])
+				result.set(i);
+		return result;
+	}
+
+	/**
+	 * Samples the present attacks among the given arguments wrt. their probabilities.
+	 * @param random a random number generator
+	 * @param args the present arguments
+	 * @return the present attacks
+	 */
+	BitSet sampleAttacks(SplittableRandom random, BitSet args) {
+		BitSet result = new BitSet(this.attackers.length);
+		for(int j = 0; j < this.attackers.length; j++)
+			if(args.get(this.attackers[j]) && args.get(this.attacked[j]) && random.nextDouble() < this.attackProbabilities[j])
+				result.set(j);
+		return result;
+	}
+
+	/**
+	 * Computes the grounded extension of the given subgraph by propagating the labels
+	 * "in" and "out" along the present attacks.
+	 * @param args the present arguments
+	 * @param attacks the present attacks (all between present arguments)
+	 * @return the grounded extension of the subgraph
+	 */
+	BitSet grounded(BitSet args, BitSet attacks) {
+		int[] undecidedAttackers = new int[this.arguments.length];
+		for(int j = attacks.nextSetBit(0); j >= 0; j = attacks.nextSetBit(j + 1))
+			undecidedAttackers[this.attacked[j]]++;
+		BitSet in = new BitSet(this.arguments.length);
+		BitSet out = new BitSet(this.arguments.length);
+		Deque<Integer> queue = new ArrayDeque<>();
+		for(int i = args.nextSetBit(0); i >= 0; i = args.nextSetBit(i + 1))
+			if(undecidedAttackers[i] == 0) {
+				in.set(i);
+				queue.add(i);
+			}
+		while(!queue.isEmpty()) {
+			int i = queue.poll();
+			boolean isIn = in.get(i);
+			for(int j: this.outgoing[i]) {
+				if(!attacks.get(j))
+					continue;
+				int k = this.attacked[j];
+				if(isIn) {
+					if(!out.get(k)) {
+						out.set(k);
+						queue.add(k);
+					}
+				}else if(--undecidedAttackers[k] == 0 && !out.get(k) && !in.get(k)) {
+					in.set(k);
+					queue.add(k);
+				}
+			}
+		}
+		return in;
+	}
+
+	/**
+	 * Returns the arguments that have a path to the given argument (including the
+	 * argument itself), i.e. the union of the strongly connected components the given
+	 * argument depends on. This set is unattacked from outside.
+	 * @param i an argument index
+	 * @return the arguments the given argument depends on
+	 */
+	BitSet ancestors(int i) {
+		BitSet result = new BitSet(this.arguments.length);
+		Deque<Integer> stack = new ArrayDeque<>();
+		result.set(i);
+		stack.push(i);
+		while(!stack.isEmpty())
+			for(int j: this.incoming[stack.pop()])
+				if(!result.get(this.attackers[j])) {
+					result.set(this.attackers[j]);
+					stack.push(this.attackers[j]);
+				}
+		return result;
+	}
+
+	/**
+	 * Returns the strongly connected components of the framework restricted to the
+	 * given arguments (wrt. all attacks between them). Every component comes after
+	 * all components containing one of its attackers.
+	 * @param relevant some arguments
+	 * @return the components in topological order
+	 */
+	List<int[]> components(BitSet relevant) {
+		int[] number = new int[this.arguments.length];
+		int[] lowlink = new int[this.arguments.length];
+		Arrays.fill(number, -1);
+		Deque<Integer> stack = new ArrayDeque<>();
+		BitSet onStack = new BitSet(this.arguments.length);
+		int[] counter = {0};
+		List<int[]> result = new ArrayList<>();
+		for(int i = relevant.nextSetBit(0); i >= 0; i = relevant.nextSetBit(i + 1))
+			if(number[i] < 0)
+				this.strongConnect(i, relevant, number, lowlink, counter, stack, onStack, result);
+		// Tarjan's algorithm finds the components in reverse topological order
+		Collections.reverse(result);
+		return result;
+	}
+
+	/**
+	 * Visits the given argument in Tarjan's algorithm for strongly connected components.
+	 * @param i the index of the argument
+	 * @param relevant the arguments of the framework to consider
+	 * @param number the visiting order of the arguments (-1 if not visited yet)
+	 * @param lowlink the smallest number reachable from every argument
+	 * @param counter the number of visited arguments
+	 * @param stack the visited arguments not yet assigned to a component
+	 * @param onStack the arguments on the stack
+	 * @param result the components found so far
+	 */
+	private void strongConnect(int i, BitSet relevant, int[] number, int[] lowlink, int[] counter, Deque<Integer> stack, BitSet onStack, List<int[]> result) {
+		number[i] = lowlink[i] = counter[0]++;
+		stack.push(i);
+		onStack.set(i);
+		for(int j: this.outgoing[i]) {
+			int k = this.attacked[j];
+			if(!relevant.get(k))
+				continue;
+			if(number[k] < 0) {
+				this.strongConnect(k, relevant, number, lowlink, counter, stack, onStack, result);
+				lowlink[i] = Math.min(lowlink[i], lowlink[k]);
+			}else if(onStack.get(k))
+				lowlink[i] = Math.min(lowlink[i], number[k]);
+		}
+		if(lowlink[i] == number[i]) {
+			BitSet component = new BitSet(this.arguments.length);
+			int k;
+			do {
+				k = stack.pop();
+				onStack.clear(k);
+				component.set(k);
+			}while(k != i);
+			result.add(component.stream().toArray());
+		}
+	}
+
+	/**
+	 * Returns the given subgraph as a Dung theory.
+	 * @param args the present arguments
+	 * @param attacks the present attacks (all between present arguments)
+	 * @return the subgraph as a Dung theory
+	 */
+	DungTheory toTheory(BitSet args, BitSet attacks) {
+		DungTheory theory = new DungTheory();
+		for(int i = args.nextSetBit(0); i >= 0; i = args.nextSetBit(i + 1))
+			theory.add(this.arguments[i]);
+		for(int j = attacks.nextSetBit(0); j >= 0; j = attacks.nextSetBit(j + 1))
+			theory.add(new Attack(this.arguments[this.attackers[j]], this.arguments[this.attacked[j]]));
+		return theory;
+	}
+}
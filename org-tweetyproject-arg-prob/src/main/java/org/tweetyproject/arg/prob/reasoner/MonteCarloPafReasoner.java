@@ -18,11 +18,15 @@
  */
 package org.tweetyproject.arg.prob.reasoner;
 
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
 import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.semantics.Semantics;
 import org.tweetyproject.arg.dung.syntax.Argument;
-import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.arg.prob.syntax.ProbabilisticArgumentationFramework;
 import org.tweetyproject.commons.InferenceMode;
 
@@ -30,14 +34,30 @@ import org.tweetyproject.commons.InferenceMode;
  * This class implements the Monte Carlo algorithm for estimating
  * probabilities of extensions in probabilistic argumentation frameworks
  * from [Li, Oren, Norman. Probabilistic Argumentation Frameworks. TAFA'2011].
+ * <br>
+ * Subgraphs are sampled as bitsets over an indexed copy of the framework (see {@link IndexedPaf}),
+ * grounded semantics is evaluated directly on these bitsets and all other semantics on
+ * the corresponding Dung theories. The trials are run in batches on all available cores,
+ * each batch with its own random number generator split off a common one. If a precision
+ * is given, the simulation stops as soon as the Wilson score interval of the estimate for the
+ * given confidence level is at most twice the precision wide.
  * 
  * @author Matthias Thimm
  */
 public class MonteCarloPafReasoner extends AbstractPafReasoner{
 
-	/** The number of runs of the Monte Carlo simulation. */
+	/** The number of trials of a single batch. */
+	private static final int BATCH_SIZE = 256;
+	
+	/** The (maximal) number of runs of the Monte Carlo simulation. */
 	private int numberOfTrials;
 	
+	/** The half-width of the confidence interval after which the simulation stops (0 if all trials are run). */
+	private double precision;
+	
+	/** The confidence level of the confidence interval. */
+	private double confidence;
+	
 	/**
 	 * Creates a new reasoner.
 	 * @param semantics semantics used for determining extensions.
@@ -47,35 +67,164 @@ public class MonteCarloPafReasoner extends AbstractPafReasoner{
 	public MonteCarloPafReasoner(Semantics semantics, int numberOfTrials) {
 		super(semantics);
 		this.numberOfTrials = numberOfTrials;
+		this.precision = 0;
+		this.confidence = 0.95;
+	}
+	
+	/**
+	 * Creates a new reasoner that stops the simulation once the estimated probability
+	 * lies within the given precision with the given confidence.
+	 * @param semantics semantics used for determining extensions.
+	 * @param numberOfTrials The maximal number of runs of the Monte Carlo simulation
+	 * @param precision the half-width of the confidence interval, e.g. 0.01
+	 * @param confidence the confidence level, e.g. 0.95
+	 */
+	public MonteCarloPafReasoner(Semantics semantics, int numberOfTrials, double precision, double confidence) {
+		super(semantics);
+		if(precision <= 0)
+			throw new IllegalArgumentException("Precision must be positive.");
+		if(confidence <= 0 || confidence >= 1)
+			throw new IllegalArgumentException("Confidence must be strictly between 0 and 1.");
+		this.numberOfTrials = numberOfTrials;
+		this.precision = precision;
+		this.confidence = confidence;
 	}
 
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.arg.prob.reasoner.AbstractPafReasoner#query(org.tweetyproject.arg.prob.syntax.ProbabilisticArgumentationFramework, org.tweetyproject.arg.dung.semantics.Extension)
 	 */
+	@SuppressWarnings("rawtypes")
 	public Double query(ProbabilisticArgumentationFramework paf, Extension ext){
-		int count = 0;
-		AbstractExtensionReasoner r = AbstractExtensionReasoner.getSimpleReasonerForSemantics(this.getSemantics());
-		for(int i = 0; i < this.numberOfTrials; i++){
-			DungTheory sub = paf.sample();
-			if(r.getModels(sub).contains(ext))
-				count++;
-		}
-		return ((double)count)/this.numberOfTrials;
+		IndexedPaf ipaf = new IndexedPaf(paf);
+		@SuppressWarnings("unchecked")
+		BitSet mask = ipaf.toBitSet(ext);
+		if(mask == null)
+			return 0d;
+		return this.estimate(ipaf, (args, attacks, r) -> {
+			if(r == null)
+				return ipaf.grounded(args, attacks).equals(mask);
+			return r.getModels(ipaf.toTheory(args, attacks)).contains(ext);
+		});
 	}
 	
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.arg.prob.reasoner.AbstractPafReasoner#query(org.tweetyproject.arg.prob.syntax.ProbabilisticArgumentationFramework, org.tweetyproject.arg.dung.syntax.Argument, org.tweetyproject.commons.InferenceMode)
 	 */
 	public Double query(ProbabilisticArgumentationFramework beliefbase, Argument formula, InferenceMode inferenceMode) {
-		int count = 0;
-		AbstractExtensionReasoner r = AbstractExtensionReasoner.getSimpleReasonerForSemantics(this.getSemantics());
-		for(int i = 0; i < this.numberOfTrials; i++){
-			DungTheory sub = beliefbase.sample();
-			if(r.query(sub,formula,inferenceMode))
+		IndexedPaf ipaf = new IndexedPaf(beliefbase);
+		int i = ipaf.indexOf(formula);
+		return this.estimate(ipaf, (args, attacks, r) -> {
+			if(r == null)
+				return i >= 0 && args.get(i) && ipaf.grounded(args, attacks).get(i);
+			return r.query(ipaf.toTheory(args, attacks), formula, inferenceMode);
+		});
+	}
+	
+	/**
+	 * Estimates the probability of the given trial to succeed.
+	 * @param ipaf an indexed PAF
+	 * @param trial a trial
+	 * @return the fraction of successful trials
+	 */
+	private double estimate(IndexedPaf ipaf, Trial trial) {
+		SplittableRandom random = new SplittableRandom();
+		int parallelism = Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+		double z = MonteCarloPafReasoner.quantile((1 + this.confidence) / 2);
+		long count = 0;
+		int trials = 0;
+		while(trials < this.numberOfTrials) {
+			int remaining = this.numberOfTrials - trials;
+			int batches = Math.min(parallelism, (remaining + BATCH_SIZE - 1) / BATCH_SIZE);
+			SplittableRandom[] randoms = new SplittableRandom[batches];
+			int[] sizes = new int[batches];
+			for(int b = 0; b < batches; b++) {
+				randoms[b] = random.split();
+				sizes[b] = Math.min(BATCH_SIZE, remaining - b * BATCH_SIZE);
+				trials += sizes[b];
+			}
+			count += IntStream.range(0, batches).parallel()
+					.mapToLong(b -> this.runBatch(ipaf, trial, randoms[b], sizes[b]))
+					.sum();
+			if(this.precision > 0 && MonteCarloPafReasoner.halfWidth(count, trials, z) <= this.precision)
+				break;
+		}
+		return trials == 0 ? 0d : ((double)count)/trials;
+	}
+	
+	/**
+	 * Runs the given number of trials.
+	 * @param ipaf an indexed PAF
+	 * @param trial a trial
+	 * @param random the random number generator of this batch
+	 * @param size the number of trials
+	 * @return the number of successful trials
+	 */
+	private long runBatch(IndexedPaf ipaf, Trial trial, SplittableRandom random, int size) {
+		AbstractExtensionReasoner r = this.getSemantics() == Semantics.GR ? null : AbstractExtensionReasoner.getSimpleReasonerForSemantics(this.getSemantics());
+		long count = 0;
+		for(int t = 0; t < size; t++) {
+			BitSet args = ipaf.sampleArguments(random);
+			if(trial.test(args, ipaf.sampleAttacks(random, args), r))
 				count++;
 		}
-		return ((double)count)/this.numberOfTrials;
-	}	
+		return count;
+	}
+	
+	/**
+	 * Returns the half-width of the Wilson score interval.
+	 * @param successes the number of successful trials
+	 * @param trials the number of trials
+	 * @param z the quantile of the standard normal distribution for the confidence level
+	 * @return the half-width of the interval
+	 */
+	private static double halfWidth(long successes, int trials, double z) {
+		double p = ((double)successes)/trials;
+		double z2 = z * z;
+		return z / (1 + z2 / trials) * Math.sqrt(p * (1 - p) / trials + z2 / (4d * trials * trials));
+	}
+	
+	/**
+	 * Approximates the quantile function of the standard normal distribution by bisection.
+	 * @param p some probability in (0,1)
+	 * @return the value z with Phi(z) = p
+	 */
+	private static double quantile(double p) {
+		double lower = -10, upper = 10;
+		for(int k = 0; k < 100; k++) {
+			double mid = (lower + upper) / 2;
+			if(MonteCarloPafReasoner.cdf(mid) < p)
+				lower = mid;
+			else upper = mid;
+		}
+		return (lower + upper) / 2;
+	}
+	
+	/**
+	 * Approximates the distribution function of the standard normal distribution
+	 * (see [Abramowitz, Stegun. Handbook of Mathematical Functions, 7.1.26]).
+	 * @param z some value
+	 * @return Phi(z)
+	 */
+	private static double cdf(double z) {
+		double x = Math.abs(z) / Math.sqrt(2);
+		double t = 1 / (1 + 0.3275911 * x);
+		double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+		return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+	}
+	
+	/**
+	 * A single trial of the simulation on a sampled subgraph.
+	 */
+	private interface Trial {
+		/**
+		 * Evaluates the trial on the given subgraph.
+		 * @param args the present arguments
+		 * @param attacks the present attacks
+		 * @param r a reasoner for the semantics or null for grounded semantics
+		 * @return true iff the trial succeeds
+		 */
+		boolean test(BitSet args, BitSet attacks, AbstractExtensionReasoner r);
+	}
 	
 	@Override
 	public boolean isInstalled() {
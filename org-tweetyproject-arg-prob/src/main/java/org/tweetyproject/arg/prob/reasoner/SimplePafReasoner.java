@@ -18,6 +18,15 @@
  */
 package org.tweetyproject.arg.prob.reasoner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.stream.IntStream;
+
 import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.semantics.Semantics;
@@ -31,7 +40,19 @@ import org.tweetyproject.commons.InferenceMode;
  * This class implements a naive algorithm for computing
  * probabilities of extensions in probabilistic argumentation frameworks
  * from [Li, Oren, Norman. Probabilistic Argumentation Frameworks. TAFA'2011].
- * It considers all subgraphs and computes therefore exact probabilities
+ * It considers all subgraphs and computes therefore exact probabilities.
+ * <br>
+ * For grounded semantics, the probability of an argument or a set of arguments is
+ * computed by conditioning on the strongly connected components of the framework in
+ * topological order: the labels of every component only depend on the labels of its
+ * attackers, so only the distribution over the labels still needed by later components
+ * is kept instead of enumerating the subgraphs of the whole framework. For argument
+ * queries, only the components the argument depends on are considered.
+ * <br>
+ * Complete and preferred semantics satisfy directionality as well but the acceptance of
+ * an argument is not determined by the labels of its attackers, so argument queries only
+ * enumerate the subgraphs of the components the argument depends on. In all cases, only
+ * arguments and attacks with a probability strictly between 0 and 1 are branched on.
  * 
  * @author Matthias Thimm
  */
@@ -56,7 +77,23 @@ public class SimplePafReasoner extends AbstractPafReasoner{
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.arg.prob.reasoner.AbstractPafReasoner#query(org.tweetyproject.arg.prob.syntax.ProbabilisticArgumentationFramework, org.tweetyproject.arg.dung.semantics.Extension)
 	 */
+	@SuppressWarnings("rawtypes")
 	public Double query(ProbabilisticArgumentationFramework paf, Extension ext){
+		if(this.getSemantics() == Semantics.GR) {
+			IndexedPaf ipaf = new IndexedPaf(paf);
+			@SuppressWarnings("unchecked")
+			BitSet mask = ipaf.toBitSet(ext);
+			if(mask == null)
+				return 0d;
+			BitSet all = new BitSet();
+			all.set(0, ipaf.numberOfArguments());
+			return new GroundedConditioning(ipaf, (component, labels) -> {
+				for(int a: component)
+					if((labels[a] == IN) != mask.get(a))
+						return false;
+				return true;
+			}).probability(all);
+		}
 		double prob = 0d;
 		SubgraphProbabilityFunction p = paf.getSubgraphProbabilityFunction(); 
 		for(DungTheory sub: p.keySet()){
@@ -72,6 +109,18 @@ public class SimplePafReasoner extends AbstractPafReasoner{
 	 */
 	@Override
 	public Double query(ProbabilisticArgumentationFramework beliefbase, Argument formula, InferenceMode inferenceMode) {
+		Semantics semantics = this.getSemantics();
+		if(semantics == Semantics.GR || semantics == Semantics.CO || semantics == Semantics.PR) {
+			IndexedPaf ipaf = new IndexedPaf(beliefbase);
+			int i = ipaf.indexOf(formula);
+			if(i < 0)
+				return 0d;
+			if(semantics == Semantics.GR)
+				return new GroundedConditioning(ipaf, (component, labels) -> labels[i] == IN || Arrays.stream(component).noneMatch(a -> a == i))
+						.probability(ipaf.ancestors(i));
+			AbstractExtensionReasoner r = AbstractExtensionReasoner.getSimpleReasonerForSemantics(semantics);
+			return this.sum(ipaf, ipaf.ancestors(i), (args, attacks) -> args.get(i) && r.query(ipaf.toTheory(args, attacks), formula, inferenceMode));
+		}
 		double prob = 0d;
 		SubgraphProbabilityFunction p = beliefbase.getSubgraphProbabilityFunction(); 
 		for(DungTheory sub: p.keySet()){
@@ -82,6 +131,251 @@ public class SimplePafReasoner extends AbstractPafReasoner{
 		return prob;
 	}
 	
+	/**
+	 * Sums up the probabilities of the subgraphs over the given arguments that satisfy
+	 * the given condition.
+	 * @param ipaf an indexed PAF
+	 * @param relevant the arguments of the subgraphs
+	 * @param condition a condition on the present arguments and attacks
+	 * @return the probability of the condition
+	 */
+	private double sum(IndexedPaf ipaf, BitSet relevant, BiPredicate<BitSet,BitSet> condition) {
+		int[] args = relevant.stream().toArray();
+		return this.sumArguments(ipaf, args, 0, new BitSet(), 1d, condition);
+	}
+	
+	/**
+	 * Branches on the presence of the arguments from the given position on.
+	 * @param ipaf an indexed PAF
+	 * @param args the relevant arguments
+	 * @param pos the position of the next argument
+	 * @param present the present arguments so far
+	 * @param weight the probability of the choices so far
+	 * @param condition a condition on the present arguments and attacks
+	 * @return the probability of the condition and the choices so far
+	 */
+	private double sumArguments(IndexedPaf ipaf, int[] args, int pos, BitSet present, double weight, BiPredicate<BitSet,BitSet> condition) {
+		if(weight == 0)
+			return 0;
+		if(pos == args.length) {
+			List<Integer> attacks = new ArrayList<>();
+			for(int j = 0; j < ipaf.numberOfAttacks(); j++)
+				if(present.get(ipaf.attacker(j)) && present.get(ipaf.attacked(j)))
+					attacks.add(j);
+			return this.sumAttacks(ipaf, attacks, 0, present, new BitSet(), weight, condition);
+		}
+		double p = ipaf.argumentProbability(args[pos]);
+		double prob = this.sumArguments(ipaf, args, pos + 1, present, weight * (1 - p), condition);
+		present.set(args[pos]);
+		prob += this.sumArguments(ipaf, args, pos + 1, present, weight * p, condition);
+		present.clear(args[pos]);
+		return prob;
+	}
+	
+	/**
+	 * Branches on the presence of the attacks from the given position on.
+	 * @param ipaf an indexed PAF
+	 * @param attacks the attacks between present arguments
+	 * @param pos the position of the next attack
+	 * @param args the present arguments
+	 * @param present the present attacks so far
+	 * @param weight the probability of the choices so far
+	 * @param condition a condition on the present arguments and attacks
+	 * @return the probability of the condition and the choices so far
+	 */
+	private double sumAttacks(IndexedPaf ipaf, List<Integer> attacks, int pos, BitSet args, BitSet present, double weight, BiPredicate<BitSet,BitSet> condition) {
+		if(weight == 0)
+			return 0;
+		if(pos == attacks.size())
+			return condition.test(args, present) ? weight : 0;
+		int j = attacks.get(pos);
+		double p = ipaf.attackProbability(j);
+		double prob = this.sumAttacks(ipaf, attacks, pos + 1, args, present, weight * (1 - p), condition);
+		present.set(j);
+		prob += this.sumAttacks(ipaf, attacks, pos + 1, args, present, weight * p, condition);
+		present.clear(j);
+		return prob;
+	}
+	
+	/** The label of an argument that is not part of a subgraph. */
+	private static final char ABSENT = '0';
+	/** The label of an argument in the grounded extension of a subgraph. */
+	private static final char IN = 'i';
+	/** The label of an argument attacked by the grounded extension of a subgraph. */
+	private static final char OUT = 'o';
+	/** The label of any other argument of a subgraph. */
+	private static final char UNDEC = 'u';
+
+	/**
+	 * Computes the probability that the grounded labelling of a subgraph satisfies a
+	 * condition on every strongly connected component. The components are processed in
+	 * topological order and, for every component, the presence of its arguments and of
+	 * the attacks on them is enumerated for every labelling of the arguments of earlier
+	 * components that attack later ones. Afterwards only these arguments are kept, so the
+	 * labellings of arguments that are no longer needed are summed out.
+	 */
+	private static class GroundedConditioning {
+		/** The indexed PAF. */
+		private final IndexedPaf ipaf;
+		/** The condition on the arguments of a component and the labels of all arguments. */
+		private final BiPredicate<int[],char[]> condition;
+		/** The labels of the arguments in the current branch. */
+		private final char[] labels;
+
+		/**
+		 * Creates a new conditioning.
+		 * @param ipaf an indexed PAF
+		 * @param condition the condition that has to hold on every component
+		 */
+		GroundedConditioning(IndexedPaf ipaf, BiPredicate<int[],char[]> condition) {
+			this.ipaf = ipaf;
+			this.condition = condition;
+			this.labels = new char[ipaf.numberOfArguments()];
+		}
+
+		/**
+		 * Computes the probability of the condition on the subgraphs over the given
+		 * arguments.
+		 * @param relevant some arguments that are not attacked by any other argument
+		 * @return the probability of the condition
+		 */
+		double probability(BitSet relevant) {
+			List<int[]> components = this.ipaf.components(relevant);
+			int[] component = new int[this.ipaf.numberOfArguments()];
+			for(int c = 0; c < components.size(); c++)
+				for(int a: components.get(c))
+					component[a] = c;
+			// the last component whose labels depend on the label of an argument
+			int[] lastUse = new int[this.ipaf.numberOfArguments()];
+			for(int a = relevant.nextSetBit(0); a >= 0; a = relevant.nextSetBit(a + 1))
+				lastUse[a] = component[a];
+			for(int j = 0; j < this.ipaf.numberOfAttacks(); j++)
+				if(relevant.get(this.ipaf.attacker(j)) && relevant.get(this.ipaf.attacked(j)))
+					lastUse[this.ipaf.attacker(j)] = Math.max(lastUse[this.ipaf.attacker(j)], component[this.ipaf.attacked(j)]);
+			// the labels of the arguments of the frontier, one character each
+			Map<String,Double> states = new HashMap<>();
+			states.put("", 1d);
+			int[] frontier = new int[0];
+			for(int c = 0; c < components.size(); c++) {
+				int[] args = components.get(c);
+				List<Integer> attacks = new ArrayList<>();
+				for(int a: args)
+					for(int j: this.ipaf.incomingAttacks(a))
+						attacks.add(j);
+				final int current = c;
+				int[] next = IntStream.concat(Arrays.stream(frontier), Arrays.stream(args))
+						.filter(a -> lastUse[a] > current).sorted().toArray();
+				Map<String,Double> nextStates = new HashMap<>();
+				for(Map.Entry<String,Double> state: states.entrySet()) {
+					for(int k = 0; k < frontier.length; k++)
+						this.labels[frontier[k]] = state.getKey().charAt(k);
+					this.branchArguments(args, attacks, 0, state.getValue(), next, nextStates);
+				}
+				states = nextStates;
+				frontier = next;
+			}
+			double prob = 0d;
+			for(double p: states.values())
+				prob += p;
+			return prob;
+		}
+
+		/**
+		 * Branches on the presence of the arguments of a component.
+		 * @param args the arguments of the component
+		 * @param attacks the attacks on the component
+		 * @param pos the position of the next argument
+		 * @param weight the probability of the choices so far
+		 * @param next the arguments of the next frontier
+		 * @param nextStates the distribution over the labels of the next frontier
+		 */
+		private void branchArguments(int[] args, List<Integer> attacks, int pos, double weight, int[] next, Map<String,Double> nextStates) {
+			if(weight == 0)
+				return;
+			if(pos == args.length) {
+				this.branchAttacks(args, attacks, 0, new BitSet(), weight, next, nextStates);
+				return;
+			}
+			double p = this.ipaf.argumentProbability(args[pos]);
+			this.labels[args[pos]] = ABSENT;
+			this.branchArguments(args, attacks, pos + 1, weight * (1 - p), next, nextStates);
+			this.labels[args[pos]] = UNDEC;
+			this.branchArguments(args, attacks, pos + 1, weight * p, next, nextStates);
+		}
+
+		/**
+		 * Branches on the presence of the attacks on a component, labels the component
+		 * and records the labels of the next frontier if the condition holds.
+		 * @param args the arguments of the component
+		 * @param attacks the attacks on the component
+		 * @param pos the position of the next attack
+		 * @param present the present attacks so far
+		 * @param weight the probability of the choices so far
+		 * @param next the arguments of the next frontier
+		 * @param nextStates the distribution over the labels of the next frontier
+		 */
+		private void branchAttacks(int[] args, List<Integer> attacks, int pos, BitSet present, double weight, int[] next, Map<String,Double> nextStates) {
+			if(weight == 0)
+				return;
+			if(pos == attacks.size()) {
+				this.label(args, present);
+				if(!this.condition.test(args, this.labels))
+					return;
+				char[] key = new char[next.length];
+				for(int k = 0; k < next.length; k++)
+					key[k] = this.labels[next[k]];
+				nextStates.merge(String.valueOf(key), weight, Double::sum);
+				return;
+			}
+			int j = attacks.get(pos);
+			if(this.labels[this.ipaf.attacker(j)] == ABSENT || this.labels[this.ipaf.attacked(j)] == ABSENT) {
+				this.branchAttacks(args, attacks, pos + 1, present, weight, next, nextStates);
+				return;
+			}
+			double p = this.ipaf.attackProbability(j);
+			this.branchAttacks(args, attacks, pos + 1, present, weight * (1 - p), next, nextStates);
+			present.set(j);
+			this.branchAttacks(args, attacks, pos + 1, present, weight * p, next, nextStates);
+			present.clear(j);
+		}
+
+		/**
+		 * Computes the grounded labels of the present arguments of a component given the
+		 * labels of their attackers in earlier components.
+		 * @param args the arguments of the component
+		 * @param present the present attacks on the component
+		 */
+		private void label(int[] args, BitSet present) {
+			for(int a: args)
+				if(this.labels[a] != ABSENT)
+					this.labels[a] = UNDEC;
+			boolean changed = true;
+			while(changed) {
+				changed = false;
+				for(int a: args) {
+					if(this.labels[a] != UNDEC)
+						continue;
+					char label = IN;
+					for(int j: this.ipaf.incomingAttacks(a)) {
+						if(!present.get(j))
+							continue;
+						char attacker = this.labels[this.ipaf.attacker(j)];
+						if(attacker == IN) {
+							label = OUT;
+							break;
+						}
+						if(attacker != OUT)
+							label = UNDEC;
+					}
+					if(label != UNDEC) {
+						this.labels[a] = label;
+						changed = true;
+					}
+				}
+			}
+		}
+	}
+
 	@Override
 	public boolean isInstalled() {
 		return true;
@@ -22,9 +22,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collection;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 import org.tweetyproject.arg.dung.divisions.Division;
+import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.semantics.Semantics;
 import org.tweetyproject.arg.dung.syntax.Argument;
@@ -33,6 +35,11 @@ import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.arg.prob.lotteries.ArgumentationLottery;
 import org.tweetyproject.arg.prob.lotteries.SubgraphProbabilityFunction;
 import org.tweetyproject.arg.prob.lotteries.UtilityFunction;
+import org.tweetyproject.arg.prob.reasoner.MonteCarloPafReasoner;
+import org.tweetyproject.arg.prob.reasoner.SimplePafReasoner;
+import org.tweetyproject.arg.prob.syntax.ProbabilisticArgumentationFramework;
+import org.tweetyproject.commons.InferenceMode;
+import org.tweetyproject.math.probability.Probability;
 
 /**
  * 
@@ -131,4 +138,62 @@ public class ProbTester {
 		assertEquals(util.getExpectedUtility(lottery), 1.7894736842105263, 0.01);
 	}
 
+	@Test
+	public void pafTest(){
+		ProbabilisticArgumentationFramework paf = new ProbabilisticArgumentationFramework();
+		Argument a = new Argument("a");
+		Argument b = new Argument("b");
+		Argument c = new Argument("c");
+		paf.add(a, new Probability(0.5));
+		paf.add(b);
+		paf.add(c, new Probability(0.3));
+		paf.add(new Attack(a,b), new Probability(0.8));
+		paf.add(new Attack(b,c));
+
+		// b is defeated iff a and its attack are present
+		SimplePafReasoner exact = new SimplePafReasoner(Semantics.GR);
+		assertEquals(0.6, exact.query(paf, b, InferenceMode.SKEPTICAL), 0.0001);
+		assertEquals(0.3 * 0.4, exact.query(paf, c, InferenceMode.SKEPTICAL), 0.0001);
+
+		MonteCarloPafReasoner sampling = new MonteCarloPafReasoner(Semantics.GR, 1000000, 0.005, 0.99);
+		assertEquals(0.6, sampling.query(paf, b, InferenceMode.SKEPTICAL), 0.02);
+		assertEquals(0.3 * 0.4, sampling.query(paf, c, InferenceMode.SKEPTICAL), 0.02);
+	}
+
+	@Test
+	public void pafComponentsTest(){
+		// two cycles, the second attacked by the first, and a chain attacked by both
+		ProbabilisticArgumentationFramework paf = new ProbabilisticArgumentationFramework();
+		Random random = new Random(0);
+		Argument[] args = new Argument[7];
+		for(int i = 0; i < args.length; i++) {
+			args[i] = new Argument("a" + i);
+			paf.add(args[i], new Probability(i % 3 == 0 ? 1 : random.nextDouble()));
+		}
+		int[][] attacks = {{0,1},{1,0},{1,2},{2,3},{3,2},{3,4},{0,5},{4,5},{5,6}};
+		for(int[] att: attacks)
+			paf.add(new Attack(args[att[0]], args[att[1]]), new Probability(random.nextDouble()));
+
+		// compare with the sum over all subgraphs
+		SimplePafReasoner exact = new SimplePafReasoner(Semantics.GR);
+		SubgraphProbabilityFunction p = paf.getSubgraphProbabilityFunction();
+		AbstractExtensionReasoner grounded = AbstractExtensionReasoner.getSimpleReasonerForSemantics(Semantics.GR);
+		for(Argument a: args) {
+			double expected = 0;
+			for(DungTheory sub: p.keySet())
+				if(grounded.query(sub, a, InferenceMode.SKEPTICAL))
+					expected += p.probability(sub).doubleValue();
+			assertEquals(expected, exact.query(paf, a, InferenceMode.SKEPTICAL), 0.000001);
+		}
+		Extension<DungTheory> ext = new Extension<>();
+		ext.add(args[0]);
+		ext.add(args[3]);
+		ext.add(args[6]);
+		double expected = 0;
+		for(DungTheory sub: p.keySet())
+			if(grounded.getModel(sub).equals(ext))
+				expected += p.probability(sub).doubleValue();
+		assertTrue(expected > 0);
+		assertEquals(expected, exact.query(paf, ext), 0.000001);
+	}
 }
@@ -23,8 +23,10 @@ import java.util.HashSet;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.rankings.util.GradualSemanticsEngine;
+import org.tweetyproject.arg.rankings.util.UpdateFunction;
+import org.tweetyproject.arg.rankings.util.WeightedArgumentGraph;
 import org.tweetyproject.comparator.NumericalPartialOrder;
-import org.tweetyproject.math.matrix.Matrix;
 
 /**
  * This class implements the "h-categorizer" argument ranking approach that was 
@@ -69,57 +71,17 @@ public class CategorizerRankingReasoner extends AbstractRankingReasoner<Numerica
 
 	@Override
 	public NumericalPartialOrder<Argument, DungTheory> getModel(DungTheory base) {
-		Matrix directAttackMatrix = ((DungTheory)base).getAdjacencyMatrix().transpose(); //The matrix of direct attackers
-		int n = directAttackMatrix.getXDimension();
-		double valuations[] = new double[n];	 //Stores valuations of the current iteration
-		double valuationsOld[] = new double[n]; //Stores valuations of the last iteration
-		
-		//Keep computing valuations until the values stop changing much or converge 
-		do {
-			valuationsOld = valuations.clone();
-			for (int i = 0; i < n; i++) 
-				valuations[i] = calculateCategorizerFunction(valuationsOld,directAttackMatrix,i);
-		} while (getDistance(valuationsOld, valuations) > this.epsilon);
+		// the fixed point is computed component by component on an indexed graph
+		WeightedArgumentGraph graph = new WeightedArgumentGraph(base);
+		double[] valuations = new GradualSemanticsEngine(UpdateFunction.hCategorizer(), GradualSemanticsEngine.Scheme.JACOBI, this.epsilon).solve(graph);
 	
 		//Use computed valuations as values for argument ranking
-		//Note: The order of valuations v[i] is the same as the order of DungTheory.iterator()
 		NumericalPartialOrder<Argument, DungTheory> ranking = new NumericalPartialOrder<Argument, DungTheory>();
 		ranking.setSortingType(NumericalPartialOrder.SortingType.DESCENDING);
-		int i = 0;
-		for (Argument a : ((DungTheory)base)) 
-			ranking.put(a, valuations[i++]);
+		for (int i = 0; i < valuations.length; i++) 
+			ranking.put(graph.getArgument(i), valuations[i]);
 		return ranking;
 	}
-
-	/**
-	 * Computes the h-Categorizer function.
-	 * @param vOld array of double valuations that were computed in the previous iteration
-	 * @param directAttackMatrix complete matrix of direct attacks
-	 * @param i row of the attack matrix that will be used in the calculation
-	 * @return categorizer valuation
-	 */
-	private double calculateCategorizerFunction(double[] vOld, Matrix directAttackMatrix, int i) {
-		double c = 1.0;
-		for (int j = 0; j < directAttackMatrix.getXDimension(); j++) {
-			c += vOld[j] * directAttackMatrix.getEntry(i,j).doubleValue();
-		}
-		return (1.0 / c);
-		
-	}
-
-	/**
-	 * Computes the Euclidean distance between to the given arrays.
-	 * @param vOld first array
-	 * @param v second array
-	 * @return distance between v and vOld
-	 */
-	private double getDistance(double[] vOld, double[] v) {
-		double sum = 0.0;
-		for (int i = 0; i < v.length; i++) {
-			sum += Math.pow(v[i]-vOld[i],2.0);
-		}
-		return Math.sqrt(sum);
-	}
 	
 	/**natively installed*/
 	@Override
@@ -23,9 +23,10 @@ import java.util.HashSet;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.rankings.util.GradualSemanticsEngine;
+import org.tweetyproject.arg.rankings.util.UpdateFunction;
+import org.tweetyproject.arg.rankings.util.WeightedArgumentGraph;
 import org.tweetyproject.comparator.NumericalPartialOrder;
-import org.tweetyproject.math.matrix.Matrix;
-import org.tweetyproject.math.term.FloatConstant;
 
 /**
  * This class implements the argument ranking approach of [Pu, Zhang, G.Luo,
@@ -92,72 +93,25 @@ public class CountingRankingReasoner extends AbstractRankingReasoner<NumericalPa
 
 	@Override
 	public NumericalPartialOrder<Argument, DungTheory> getModel(DungTheory kb) {
-		Matrix adjacencyMatrix = ((DungTheory)kb).getAdjacencyMatrix();
+		WeightedArgumentGraph graph = new WeightedArgumentGraph(kb);
 		
-		// Apply matrix norm to guarantee that the argument strength scale is bounded
-		adjacencyMatrix = adjacencyMatrix.mult((1.0 / getInfiniteNormalizationFactor(adjacencyMatrix)));
-
-		// Apply damping factor
-		adjacencyMatrix = adjacencyMatrix.mult(this.dampingFactor).simplify();
-		
-		int n = ((DungTheory)kb).getNumberOfNodes();
-		Matrix valuations = new Matrix(1, n); // Stores values of the current iteration
-		Matrix valuationsOld = new Matrix(1, n); // Stores values of the last iteration
+		// Normalize by the infinite matrix norm (the maximal number of attackers) to guarantee 
+		// that the argument strength scale is bounded
+		int normalizationFactor = 0;
+		for (int i = 0; i < graph.size(); i++)
+			normalizationFactor = Math.max(normalizationFactor, graph.getAttackers(i).length);
 		
-		Matrix e = new Matrix(1, n); // column vector of all ones
-		for (int i = 0; i < n; i++) {
-			e.setEntry(0, i, new FloatConstant(1.0)); 
-		}
 		// the ranking for step 0 is 1.0 for all arguments
-		valuations = e; 
-		
-		do {
-			valuationsOld = valuations;
-			valuations = e.minus(adjacencyMatrix.mult(valuationsOld)).simplify();
-		} while (getDistance(valuationsOld, valuations) > epsilon);
+		double[] valuations = new GradualSemanticsEngine(UpdateFunction.counting(this.dampingFactor, normalizationFactor), 
+				GradualSemanticsEngine.Scheme.JACOBI, this.epsilon).solve(graph);
 		
 		NumericalPartialOrder<Argument, DungTheory> ranking = new NumericalPartialOrder<Argument, DungTheory>();
 		ranking.setSortingType(NumericalPartialOrder.SortingType.DESCENDING);
-		int i = 0;
-		for (Argument a : ((DungTheory)kb)) 
-			ranking.put(a, valuations.getEntry(0, i++).doubleValue());
+		for (int i = 0; i < valuations.length; i++) 
+			ranking.put(graph.getArgument(i), valuations[i]);
 
 		return ranking;
 	}
-
-	/**
-	 * Calculates the infinite matrix norm of the given matrix (i.e. the maximum
-	 * absolute row sum).
-	 * 
-	 * @param matrix
-	 * @return infinite matrix norm of the matrix
-	 */
-	private double getInfiniteNormalizationFactor(Matrix matrix) {
-		double maxSum = 0.0;
-		for (int y = 0; y < matrix.getXDimension(); y++) {
-			double sum = 0.0;
-			for (int x = 0; x < matrix.getYDimension(); x++)
-				sum += matrix.getEntry(x, y).doubleValue();
-			if (sum > maxSum)
-				maxSum = sum;
-		}
-		return maxSum;
-	}
-
-	/**
-	 * Computes the Euclidean distance between to the given column vectors.
-	 * 
-	 * @param vOld first column vector
-	 * @param v     second column vector
-	 * @return distance between v and v_old
-	 */
-	private double getDistance(Matrix vOld, Matrix v) {
-		double sum = 0.0;
-		for (int i = 0; i < v.getYDimension(); i++) {
-			sum += Math.pow(v.getEntry(0, i).doubleValue() - vOld.getEntry(0, i).doubleValue(), 2.0);
-		}
-		return Math.sqrt(sum);
-	}
 	
 	/**natively installed*/
 	@Override
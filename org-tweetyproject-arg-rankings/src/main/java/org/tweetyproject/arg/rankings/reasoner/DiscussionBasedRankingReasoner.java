@@ -18,17 +18,14 @@
  */
 package org.tweetyproject.arg.rankings.reasoner;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.comparator.LatticePartialOrder;
-import org.tweetyproject.comparator.NumericalPartialOrder;
-import org.tweetyproject.arg.rankings.util.RankingTools;
+import org.tweetyproject.arg.rankings.util.WeightedArgumentGraph;
 
 /**
  * This class implements the "Discussion-based" argument semantics approach as
@@ -37,6 +34,10 @@ import org.tweetyproject.arg.rankings.util.RankingTools;
  * ending to to them. If some arguments are equivalent wrt. to their number of
  * direct attackers, the size of paths is increased recursively until a
  * difference is found.
+ * <br>
+ * The numbers of paths of all lengths are computed together by dynamic programming, 
+ * i.e. by repeated multiplications of the attack relation with the counts of the 
+ * previous length, so no path is enumerated explicitly.
  * 
  * @author Anna Gessler
  */
@@ -53,42 +54,28 @@ public class DiscussionBasedRankingReasoner extends AbstractRankingReasoner<Latt
 	public LatticePartialOrder<Argument, DungTheory> getModel(DungTheory kb) {
 		int iMax = 6; // Treshold for maximum length of linear discussions (paths)
 
-		Map<Argument, ArrayList<Double>> discussionCounts = new HashMap<Argument, ArrayList<Double>>();
-		for (int i = 2; i <= iMax+1; i++) { //Start with paths of length i=2 (discussion_count for length 1 would be -1 for all arguments)
-			for (Argument a : (DungTheory) kb) {
-				double discussionCount = getNumberOfPathsOfLength((DungTheory) kb, a, i);
-				if ((i & 1) != 0)
-					discussionCount = -discussionCount; // odd value => negative discussion count
-				ArrayList<Double> argumentDiscussionCounts = discussionCounts.get(a);
-				if (argumentDiscussionCounts == null)
-					argumentDiscussionCounts = new ArrayList<Double>();
-				argumentDiscussionCounts.add(discussionCount + 0.0);
-				discussionCounts.put(a, argumentDiscussionCounts);
-			}
-		}
+		// discussionCounts[i][a] is the discussion count of a for paths of length i+2 
+		// (discussion_count for length 1 would be -1 for all arguments)
+		WeightedArgumentGraph graph = new WeightedArgumentGraph(kb);
+		long[][] discussionCounts = getNumbersOfPaths(graph, iMax + 1);
+		for (int i = 2; i <= iMax + 1; i++) 
+			if ((i & 1) != 0)
+				for (int a = 0; a < graph.size(); a++)
+					discussionCounts[i - 2][a] = -discussionCounts[i - 2][a]; // odd value => negative discussion count
 
+		// an argument is less acceptable than another one if its discussion counts are
+		// lexicographically greater
 		LatticePartialOrder<Argument, DungTheory> resultRanking = new LatticePartialOrder<Argument, DungTheory>(((DungTheory) kb).getNodes());
-		for (Argument a : (DungTheory) kb) {
-			for (Argument b : (DungTheory) kb) {
-				Boolean argsEqual = true;
-				for (int i = 0; i < iMax && argsEqual; i++) {
-					NumericalPartialOrder<Argument, DungTheory> tempRanking = new NumericalPartialOrder<Argument, DungTheory>();
-					tempRanking.put(a, discussionCounts.get(a).get(i));
-					tempRanking.put(b, discussionCounts.get(b).get(i));
-					if (tempRanking.isStrictlyLessAcceptableThan(a, b)) {
-						resultRanking.setStrictlyLessOrEquallyAcceptableThan(a, b);
-						argsEqual = false;
-					} else if (tempRanking.isStrictlyLessAcceptableThan(b, a)) {
-						resultRanking.setStrictlyLessOrEquallyAcceptableThan(b, a);
-						argsEqual = false;
-					}
-				}
-				if (argsEqual) {
-					resultRanking.setStrictlyLessOrEquallyAcceptableThan(b, a);
-					resultRanking.setStrictlyLessOrEquallyAcceptableThan(a, b);
-				}
+		for (int a = 0; a < graph.size(); a++) {
+			for (int b = a; b < graph.size(); b++) {
+				int cmp = 0;
+				for (int i = 0; i < iMax && cmp == 0; i++)
+					cmp = Long.compare(discussionCounts[i][a], discussionCounts[i][b]);
+				if (cmp >= 0)
+					resultRanking.setStrictlyLessOrEquallyAcceptableThan(graph.getArgument(a), graph.getArgument(b));
+				if (cmp <= 0)
+					resultRanking.setStrictlyLessOrEquallyAcceptableThan(graph.getArgument(b), graph.getArgument(a));
 			}
-		
 		}
 
 		return resultRanking;
@@ -106,23 +93,38 @@ public class DiscussionBasedRankingReasoner extends AbstractRankingReasoner<Latt
 	public int getNumberOfPathsOfLength(DungTheory base, Argument a, int i) {
 		if (i == 0 || i == 1)
 			return i;
+		WeightedArgumentGraph graph = new WeightedArgumentGraph(base);
+		return (int) getNumbersOfPaths(graph, i)[i - 2][graph.indexOf(a)];
+	}
 
-		HashSet<ArrayList<Argument>> paths = new HashSet<ArrayList<Argument>>();
-
-		// add linear discussions of length 2
-		for (Argument attacker : base.getAttackers(a)) {
-			ArrayList<Argument> path = new ArrayList<Argument>();
-			path.add(a);
-			path.add(attacker);
-			paths.add(path);
-		}
-
-		int j = 2;
-		while (j < i && !paths.isEmpty()) {
-			paths = RankingTools.getPathsOfHigherSize(paths, base); // recursively add linear discussions of length>2
-			j++;
+	/**
+	 * Counts the linear discussions of all lengths from 2 to the given maximal length 
+	 * for all arguments of the given graph. As a linear discussion of length i+1 for an 
+	 * argument is a linear discussion of length i for one of its attackers extended by 
+	 * the argument itself, the counts for length i+1 are obtained from the counts for 
+	 * length i by a single pass over the attacks.
+	 * 
+	 * @param graph the indexed argumentation graph
+	 * @param maxLength maximal length of linear discussions, at least 2
+	 * @return an array whose entry [i-2][a] is the number of linear discussions 
+	 *         of length i for the argument with index a
+	 */
+	private long[][] getNumbersOfPaths(WeightedArgumentGraph graph, int maxLength) {
+		int n = graph.size();
+		long[][] counts = new long[maxLength - 1][n];
+		long[] previous = new long[n];
+		Arrays.fill(previous, 1L); // every argument is the only linear discussion of length 1 for itself
+		for (int i = 2; i <= maxLength; i++) {
+			long[] current = counts[i - 2];
+			for (int a = 0; a < n; a++) {
+				long count = 0;
+				for (int b : graph.getAttackers(a))
+					count += previous[b];
+				current[a] = count;
+			}
+			previous = current;
 		}
-		return paths.size();
+		return counts;
 	}
 	
 	/**natively installed*/
@@ -0,0 +1,99 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.rankings.reasoner;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+import org.tweetyproject.arg.bipolar.syntax.AbstractBipolarFramework;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.rankings.util.GradualSemanticsEngine;
+import org.tweetyproject.arg.rankings.util.UpdateFunction;
+import org.tweetyproject.arg.rankings.util.WeightedArgumentGraph;
+import org.tweetyproject.comparator.NumericalPartialOrder;
+
+/**
+ * This reasoner ranks arguments by their strengths wrt. some gradual semantics, given by an
+ * {@link UpdateFunction} and computed by a {@link GradualSemanticsEngine}. Besides abstract
+ * argumentation frameworks, it also ranks the arguments of bipolar frameworks (with supports between
+ * single arguments) and of weighted argumentation graphs.
+ */
+public class GradualRankingReasoner extends AbstractRankingReasoner<NumericalPartialOrder<Argument, DungTheory>> {
+
+	/** The engine computing the strengths. */
+	private GradualSemanticsEngine engine;
+
+	/**
+	 * Creates a new reasoner for the given update function with default parameters.
+	 * @param function some update function
+	 */
+	public GradualRankingReasoner(UpdateFunction function) {
+		this(new GradualSemanticsEngine(function));
+	}
+
+	/**
+	 * Creates a new reasoner using the given engine.
+	 * @param engine some gradual semantics engine
+	 */
+	public GradualRankingReasoner(GradualSemanticsEngine engine) {
+		this.engine = engine;
+	}
+
+	@Override
+	public Collection<NumericalPartialOrder<Argument, DungTheory>> getModels(DungTheory bbase) {
+		Collection<NumericalPartialOrder<Argument, DungTheory>> ranks = new HashSet<NumericalPartialOrder<Argument, DungTheory>>();
+		ranks.add(this.getModel(bbase));
+		return ranks;
+	}
+
+	@Override
+	public NumericalPartialOrder<Argument, DungTheory> getModel(DungTheory bbase) {
+		return this.getModel(new WeightedArgumentGraph(bbase));
+	}
+
+	/**
+	 * Ranks the arguments of the given bipolar framework.
+	 * @param bbase some bipolar framework with attacks and supports between single arguments
+	 * @return the ranking of its arguments
+	 */
+	public NumericalPartialOrder<Argument, DungTheory> getModel(AbstractBipolarFramework bbase) {
+		return this.getModel(new WeightedArgumentGraph(bbase));
+	}
+
+	/**
+	 * Ranks the arguments of the given weighted argumentation graph.
+	 * @param graph some weighted argumentation graph
+	 * @return the ranking of its arguments
+	 */
+	public NumericalPartialOrder<Argument, DungTheory> getModel(WeightedArgumentGraph graph) {
+		double[] strengths = this.engine.solve(graph);
+		NumericalPartialOrder<Argument, DungTheory> ranking = new NumericalPartialOrder<Argument, DungTheory>();
+		ranking.setSortingType(NumericalPartialOrder.SortingType.DESCENDING);
+		for (int i = 0; i < strengths.length; i++)
+			ranking.put(graph.getArgument(i), strengths[i]);
+		return ranking;
+	}
+
+	/**natively installed*/
+	@Override
+	public boolean isInstalled() {
+		return true;
+	}
+}
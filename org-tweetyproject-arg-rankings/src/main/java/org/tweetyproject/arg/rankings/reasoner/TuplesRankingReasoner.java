@@ -18,19 +18,18 @@
  */
 package org.tweetyproject.arg.rankings.reasoner;
 
-import java.util.ArrayList;
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
 import org.tweetyproject.comparator.LatticePartialOrder;
 import org.tweetyproject.arg.rankings.util.LexicographicIntTupleComparator;
+import org.tweetyproject.arg.rankings.util.WeightedArgumentGraph;
 import org.tweetyproject.commons.util.Pair;
 
 /**
@@ -44,15 +43,18 @@ import org.tweetyproject.commons.util.Pair;
  * <br>
  * Note: This implementation only works for acyclic argument graphs. For cyclic
  * graphs <b>null</b> is returned. 
+ * <br>
+ * The tupled values are not enumerated branch by branch but represented by the
+ * numbers of branches of each length, which are propagated along the attacks.
  * 
  * @author Anna Gessler
  */
 public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticePartialOrder<Argument, DungTheory>> {
 
 	/**
-	 * Stores the tupled values computed by this reasoner for lookup.
+	 * Stores the branch counts computed by this reasoner for lookup.
 	 */
-	private Map<Argument, Pair<int[], int[]>> tupledValues = new HashMap<Argument, Pair<int[], int[]>>();
+	private Map<Argument, BranchCounts> branchCounts = new HashMap<Argument, BranchCounts>();
 
 
 	@Override
@@ -67,49 +69,47 @@ public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticePartia
 		LatticePartialOrder<Argument, DungTheory> ranking = new LatticePartialOrder<Argument, DungTheory>(((DungTheory)kb).getNodes());
 
 		// Check if kb is acyclic
-		if (((DungTheory)kb).containsCycle())
+		WeightedArgumentGraph graph = new WeightedArgumentGraph(kb);
+		BranchCounts[] counts = this.computeBranchCounts(graph);
+		if (counts == null)
 			return null;
 
 		// Compute lookup table for tupled values
-		this.tupledValues = new HashMap<Argument, Pair<int[], int[]>>();
-		for (Argument a : ((DungTheory)kb))
-			this.tupledValues.put(a, computeTupledValue(a, ((DungTheory)kb)));
+		this.branchCounts = new HashMap<Argument, BranchCounts>();
+		for (int a = 0; a < graph.size(); a++)
+			this.branchCounts.put(graph.getArgument(a), counts[a]);
 
 		// Tuples* Algorithm
 		// Compare lengths of attack/defense branches
 		// In case of a tie, compare values inside tuples
-		LexicographicIntTupleComparator c = new LexicographicIntTupleComparator();
-
-		for (Argument a : ((DungTheory)kb)) {
-			Pair<int[], int[]> tvA = this.tupledValues.get(a);
-			int[] aDefenseTuple = tvA.getFirst();
-			int[] aAttackTuple = tvA.getSecond();
-			double aDefenseTupleSize = getTrueTupleSize(aDefenseTuple);
-			double aAttackTupleSize = getTrueTupleSize(aAttackTuple);
-			for (Argument b : ((DungTheory)kb)) {
-				Pair<int[], int[]> tvB = this.tupledValues.get(b);
-				if (tvA.equals(tvB)) {
+		for (int i = 0; i < graph.size(); i++) {
+			Argument a = graph.getArgument(i);
+			BranchCounts tvA = counts[i];
+			for (int j = 0; j < graph.size(); j++) {
+				Argument b = graph.getArgument(j);
+				if (i == j) {
 					ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
 					ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
 					continue;
 				}
-				int[] bDefenseTuple = tvB.getFirst();
-				int[] bAttackTuple = tvB.getSecond();
-				double bDefenseTupleSize = getTrueTupleSize(bDefenseTuple);
-				double bAttackTupleSize = getTrueTupleSize(bAttackTuple);
-				
-				if (aAttackTupleSize == bAttackTupleSize && aDefenseTupleSize == bDefenseTupleSize) {
-					if ((c.compare(aDefenseTuple, bDefenseTuple) <= 0) && (c.compare(aAttackTuple, bAttackTuple) >= 0)) {
+				BranchCounts tvB = counts[j];
+				int attackSizes = tvA.attackSize.compareTo(tvB.attackSize);
+				int defenseSizes = compareSizes(tvA.defenseSize, tvB.defenseSize);
+
+				if (attackSizes == 0 && defenseSizes == 0) {
+					int defense = tvA.compareTuples(tvB, 0);
+					int attack = tvA.compareTuples(tvB, 1);
+					if ((defense <= 0) && (attack >= 0)) {
 						ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
-					} else if ((c.compare(aDefenseTuple, bDefenseTuple) >= 0) && (c.compare(aAttackTuple, bAttackTuple) <= 0)) {
+					} else if ((defense >= 0) && (attack <= 0)) {
 						ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
 					}
 					// else: incomparable
 
 				} else {
-					if (aAttackTupleSize >= bAttackTupleSize && aDefenseTupleSize <= bDefenseTupleSize) {
+					if (attackSizes >= 0 && defenseSizes <= 0) {
 						ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
-					} else if (aAttackTupleSize <= bAttackTupleSize && aDefenseTupleSize >= bDefenseTupleSize) {
+					} else if (attackSizes <= 0 && defenseSizes >= 0) {
 						ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
 					}
 					// else: incomparable
@@ -119,57 +119,74 @@ public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticePartia
 
 		return ranking;
 	}
-	
+
 	/**
-	 * Returns the true tuple size, i.e. infinity iff the tuple 
-	 * contains only 0 (a placeholder 
-	 * for an infinite number of zeroes in this implementation), 
-	 * or the length of the array in all other cases.
-	 * @param l tuple represented by an array of integers
-	 * @return true size of the tuple
+	 * Compares two tuple sizes, where <b>null</b> stands for the infinite size 
+	 * of the defense tuple of an unattacked argument.
+	 * @param s1 some tuple size
+	 * @param s2 some tuple size
+	 * @return a negative value, zero, or a positive value if the first size is 
+	 *         smaller than, equal to, or larger than the second one
 	 */
-	private double getTrueTupleSize(int[] l) {
-		if (l.length==1 && l[0]==0)
-			return Double.POSITIVE_INFINITY;
-		else 
-			return (double) l.length;
+	private static int compareSizes(BigInteger s1, BigInteger s2) {
+		if (s1 == null)
+			return s2 == null ? 0 : 1;
+		if (s2 == null)
+			return -1;
+		return s1.compareTo(s2);
+	}
+
+	/**
+	 * Counts the branches of each length ending in all arguments of the given graph. A branch 
+	 * of length l of an argument is a path of l attacks from an unattacked argument to it, so the
+	 * branches of length l+1 of an argument are exactly the branches of length l of its attackers. 
+	 * The counts are propagated along the attacks in topological order, so that every
+	 * argument is visited only once instead of once per branch.
+	 * 
+	 * @param graph the indexed argumentation graph
+	 * @return the branch counts of all arguments by index, or <b>null</b> if the graph is cyclic
+	 */
+	private BranchCounts[] computeBranchCounts(WeightedArgumentGraph graph) {
+		BranchCounts[] counts = new BranchCounts[graph.size()];
+		for (int[] component : graph.getComponents()) {
+			if (component.length > 1 || graph.isSelfInfluencing(component[0]))
+				return null;
+			int a = component[0];
+			int[] attackers = graph.getAttackers(a);
+			if (attackers.length == 0) {
+				counts[a] = new BranchCounts(0, new BigInteger[] { BigInteger.ONE });
+				continue;
+			}
+			int min = Integer.MAX_VALUE;
+			int max = 0;
+			for (int b : attackers) {
+				min = Math.min(min, counts[b].offset + 1);
+				max = Math.max(max, counts[b].offset + counts[b].counts.length);
+			}
+			BigInteger[] c = new BigInteger[max - min + 1];
+			Arrays.fill(c, BigInteger.ZERO);
+			for (int b : attackers)
+				for (int l = 0; l < counts[b].counts.length; l++)
+					c[counts[b].offset + 1 + l - min] = c[counts[b].offset + 1 + l - min].add(counts[b].counts[l]);
+			counts[a] = new BranchCounts(min, c);
+		}
+		return counts;
 	}
 
 	/**
 	 * Computes the tupled value for the given argument.
 	 * 
 	 * @param a  an argument
-	 * @param kb DungTheory
+	 * @param kb an acyclic DungTheory
 	 * @return a pair that consists of the two tuples that represent the defense
 	 *         (first tuple) and attack (second tuple) branches of a.
 	 */
 	public Pair<int[], int[]> computeTupledValue(Argument a, DungTheory kb) {
-		ArrayList<Integer> defense = new ArrayList<Integer>();
-		ArrayList<Integer> attack = new ArrayList<Integer>();
-
-		Set<Argument> attackers = kb.getAttackers(a);
-		if (attackers.isEmpty())
-			defense.add(0); //technically, this would be an infinite number of zeroes
-		else {
-			for (Argument b : attackers) {
-				for (Integer i : computeTupledValue(b, kb).getSecond()) {
-					i++;
-					defense.add(i);
-					if (defense.contains(0))
-						defense.remove(defense.indexOf(0));
-				}
-				Collections.sort(defense);
-				for (Integer i : computeTupledValue(b, kb).getFirst()) {
-					i++;
-					attack.add(i);
-					if (attack.contains(0))
-						attack.remove(defense.indexOf(0));
-				}
-				Collections.sort(attack);
-			}
-		}
-		return new Pair<int[], int[]>(defense.stream().mapToInt(i -> i).toArray(),
-				attack.stream().mapToInt(i -> i).toArray());
+		WeightedArgumentGraph graph = new WeightedArgumentGraph(kb);
+		BranchCounts[] counts = this.computeBranchCounts(graph);
+		if (counts == null)
+			throw new IllegalArgumentException("Tupled values are only defined for acyclic argumentation frameworks.");
+		return counts[graph.indexOf(a)].toTupledValue();
 	}
 
 	/**
@@ -177,7 +194,10 @@ public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticePartia
 	 *         getModels
 	 */
 	public Map<Argument, Pair<int[], int[]>> getTupledValues() {
-		return this.tupledValues;
+		Map<Argument, Pair<int[], int[]>> tupledValues = new HashMap<Argument, Pair<int[], int[]>>();
+		for (Map.Entry<Argument, BranchCounts> entry : this.branchCounts.entrySet())
+			tupledValues.put(entry.getKey(), entry.getValue().toTupledValue());
+		return tupledValues;
 	}
 
 	/**
@@ -186,15 +206,151 @@ public class TuplesRankingReasoner extends AbstractRankingReasoner<LatticePartia
 	 * @return a string representation of the tuples
 	 */
 	public String prettyPrintTupledValues() {
-		Set<Argument> args = this.tupledValues.keySet();
+		Map<Argument, Pair<int[], int[]>> tupledValues = this.getTupledValues();
 		String tv = "";
-		for (Argument a : args)
+		for (Argument a : tupledValues.keySet())
 			tv += ", v(" + a + ") = [" + Arrays.toString(tupledValues.get(a).getFirst()) + ","
 					+ Arrays.toString(tupledValues.get(a).getSecond()) + "]";
 		if (tv.length() > 2)
 			tv = tv.substring(2);
 		return tv;
 	}
+
+	/**
+	 * The numbers of branches of each length of an argument. The defense tuple of the 
+	 * argument consists of the lengths of its even branches and the attack tuple of the lengths
+	 * of its odd branches, each length repeated as often as there are branches of it. 
+	 * The tuples themselves can be exponentially large, so they are only compared and expanded
+	 * on demand.
+	 */
+	private static class BranchCounts {
+		/** the length of the shortest branch */
+		int offset;
+		/** counts[l] is the number of branches of length offset+l */
+		BigInteger[] counts;
+		/** the size of the attack tuple */
+		BigInteger attackSize = BigInteger.ZERO;
+		/** the size of the defense tuple, <b>null</b> if infinite */
+		BigInteger defenseSize = BigInteger.ZERO;
+
+		BranchCounts(int offset, BigInteger[] counts) {
+			this.offset = offset;
+			this.counts = counts;
+			for (int l = 0; l < counts.length; l++)
+				if (((offset + l) & 1) == 0)
+					this.defenseSize = this.defenseSize.add(counts[l]);
+				else
+					this.attackSize = this.attackSize.add(counts[l]);
+			// an unattacked argument has a defense tuple of infinitely many zeroes
+			if (offset == 0)
+				this.defenseSize = null;
+		}
+
+		/**
+		 * Compares the defense (parity 0) or attack (parity 1) tuples of this and the given 
+		 * branch counts like {@link LexicographicIntTupleComparator} compares the expanded tuples, 
+		 * i.e. by comparing the concatenations of the decimal representations of their values. 
+		 * Equal values at the same positions are skipped in bulk.
+		 * @param other some branch counts
+		 * @param parity 0 for the defense tuples, 1 for the attack tuples
+		 * @return a negative value, zero, or a positive value if the tuple of this is 
+		 *         smaller than, equal to, or larger than the tuple of the other
+		 */
+		int compareTuples(BranchCounts other, int parity) {
+			TupleCursor c1 = new TupleCursor(this, parity);
+			TupleCursor c2 = new TupleCursor(other, parity);
+			while (true) {
+				if (c1.atEnd() || c2.atEnd())
+					return c1.atEnd() ? (c2.atEnd() ? 0 : -1) : 1;
+				if (c1.position == 0 && c2.position == 0 && c1.value() == c2.value()) {
+					c1.skip(c2.skip(c1.remaining.min(c2.remaining)));
+					continue;
+				}
+				int diff = c1.digit() - c2.digit();
+				if (diff != 0)
+					return diff;
+				c1.next();
+				c2.next();
+			}
+		}
+
+		/**
+		 * @return the expanded defense (first) and attack (second) tuples
+		 */
+		Pair<int[], int[]> toTupledValue() {
+			int[] defense = new int[this.defenseSize == null ? 1 : this.defenseSize.intValueExact()];
+			int[] attack = new int[this.attackSize.intValueExact()];
+			int d = 0, t = 0;
+			for (int l = 0; l < this.counts.length; l++)
+				for (int k = this.counts[l].intValueExact(); k > 0; k--)
+					if (((this.offset + l) & 1) == 0)
+						defense[d++] = this.offset + l;
+					else
+						attack[t++] = this.offset + l;
+			return new Pair<int[], int[]>(defense, attack);
+		}
+	}
+
+	/**
+	 * A cursor over the digits of the concatenated values of a tuple given by branch counts.
+	 */
+	private static class TupleCursor {
+		private final BranchCounts counts;
+		/** the current index into counts.counts */
+		private int index;
+		/** the number of remaining occurrences of the current value, including the current one */
+		private BigInteger remaining;
+		/** the decimal representation of the current value */
+		private String digits;
+		/** the position of the current digit in digits */
+		private int position = 0;
+
+		TupleCursor(BranchCounts counts, int parity) {
+			this.counts = counts;
+			this.index = ((counts.offset & 1) == parity) ? 0 : 1;
+			this.seek();
+		}
+
+		/** moves to the first value with a non-zero count starting from index */
+		private void seek() {
+			while (this.index < this.counts.counts.length && this.counts.counts[this.index].signum() == 0)
+				this.index += 2;
+			if (this.index < this.counts.counts.length) {
+				this.remaining = this.counts.counts[this.index];
+				this.digits = String.valueOf(this.value());
+			}
+		}
+
+		boolean atEnd() {
+			return this.index >= this.counts.counts.length;
+		}
+
+		int value() {
+			return this.counts.offset + this.index;
+		}
+
+		char digit() {
+			return this.digits.charAt(this.position);
+		}
+
+		/** skips the given number of complete values, starting at a value boundary */
+		BigInteger skip(BigInteger k) {
+			this.remaining = this.remaining.subtract(k);
+			if (this.remaining.signum() == 0) {
+				this.index += 2;
+				this.seek();
+			}
+			return k;
+		}
+
+		/** moves to the next digit */
+		void next() {
+			if (++this.position == this.digits.length()) {
+				this.position = 0;
+				this.skip(BigInteger.ONE);
+			}
+		}
+	}
 	
 	/**natively installed*/
 	@Override
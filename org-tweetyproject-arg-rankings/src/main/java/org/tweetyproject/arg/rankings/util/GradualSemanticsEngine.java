@@ -0,0 +1,396 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.rankings.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This engine computes the strengths of the arguments of a {@link WeightedArgumentGraph} wrt.
+ * some gradual semantics, given by its {@link UpdateFunction}, as the limit of iterating the
+ * update function.
+ * <br><br>
+ * The strongly connected components of the graph are evaluated one after the other, such that the
+ * strengths of all attackers and supporters outside of a component are final when the component is
+ * evaluated. Arguments not on a cycle are thus evaluated exactly once. The arguments of a cyclic
+ * component are updated until the Euclidean distance between two successive iterations is at
+ * most epsilon, either
+ * <ul>
+ * <li>all at once from the strengths of the last iteration (Jacobi), or</li>
+ * <li>one after the other, using the strengths already updated in the same iteration (Gauss-Seidel).</li>
+ * </ul>
+ * Iterations can be accelerated by Anderson mixing of the last iterations. With more than one thread,
+ * Jacobi iterations of large components are split among the threads.
+ * <br><br>
+ * If weights of the graph change, {@link #update(WeightedArgumentGraph, double[], int...)} only
+ * re-evaluates the components depending on the changed arguments, starting from the previous strengths.
+ */
+public class GradualSemanticsEngine {
+
+	/** The update schemes for cyclic components. */
+	public enum Scheme {
+		/** All arguments are updated from the strengths of the last iteration. */
+		JACOBI,
+		/** Arguments are updated one after the other from the latest strengths. */
+		GAUSS_SEIDEL
+	}
+
+	/** The smallest component whose Jacobi iterations are split among threads. */
+	private static final int PARALLEL_THRESHOLD = 1024;
+	/** The regularization of the least-squares problem of Anderson mixing. */
+	private static final double REGULARIZATION = 1e-12;
+
+	/** The update function. */
+	private UpdateFunction function;
+	/** The update scheme. */
+	private Scheme scheme;
+	/** The tolerance for convergence. */
+	private double epsilon;
+	/** The maximal number of iterations per component. */
+	private int maxIterations = 10000;
+	/** The number of previous iterations used for Anderson mixing (0 for none). */
+	private int andersonDepth = 0;
+	/** The number of threads. */
+	private int numberOfThreads = 1;
+
+	/**
+	 * Creates a new engine for the given update function with Jacobi iterations and epsilon 0.001.
+	 * @param function some update function
+	 */
+	public GradualSemanticsEngine(UpdateFunction function) {
+		this(function, Scheme.JACOBI, 0.001);
+	}
+
+	/**
+	 * Creates a new engine.
+	 * @param function some update function
+	 * @param scheme the update scheme for cyclic components
+	 * @param epsilon the tolerance for convergence
+	 */
+	public GradualSemanticsEngine(UpdateFunction function, Scheme scheme, double epsilon) {
+		this.function = function;
+		this.scheme = scheme;
+		this.epsilon = epsilon;
+	}
+
+	/**
+	 * Sets the maximal number of iterations per component. If a component does not converge
+	 * within this number of iterations, the strengths of the last iteration are kept.
+	 * @param maxIterations the maximal number of iterations
+	 */
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Sets the number of previous iterations used for Anderson mixing.
+	 * @param andersonDepth the number of previous iterations (0 to disable Anderson mixing)
+	 */
+	public void setAndersonDepth(int andersonDepth) {
+		this.andersonDepth = andersonDepth;
+	}
+
+	/**
+	 * Sets the number of threads for Jacobi iterations of large components.
+	 * @param numberOfThreads the number of threads
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = Math.max(1, numberOfThreads);
+	}
+
+	/**
+	 * Computes the strengths of all arguments of the given graph.
+	 * @param graph some weighted argumentation graph
+	 * @return the strength of every argument
+	 */
+	public double[] solve(WeightedArgumentGraph graph) {
+		double[] values = new double[graph.size()];
+		for(int i = 0; i < values.length; i++)
+			values[i] = graph.getBaseWeight(i);
+		boolean[] affected = new boolean[graph.getComponents().length];
+		Arrays.fill(affected, true);
+		this.evaluate(graph, values, affected);
+		return values;
+	}
+
+	/**
+	 * Updates the given strengths after the weights of the given arguments, or of the attacks
+	 * and supports on them, have changed. Only the components of these arguments and the components
+	 * depending on them are evaluated again.
+	 * @param graph some weighted argumentation graph
+	 * @param values the strengths before the change, as computed by this engine; they are updated in place
+	 * @param changed the indices of the arguments whose weights, or the weights of the attacks and
+	 * supports on them, have changed
+	 * @return the updated strengths
+	 */
+	public double[] update(WeightedArgumentGraph graph, double[] values, int... changed) {
+		int[][] components = graph.getComponents();
+		boolean[] affected = new boolean[components.length];
+		for(int i: changed)
+			affected[graph.getComponentOf(i)] = true;
+		// components come after the components influencing them
+		for(int c = 0; c < components.length; c++)
+			if(affected[c])
+				for(int i: components[c])
+					for(int j: graph.getInfluenced(i))
+						affected[graph.getComponentOf(j)] = true;
+		this.evaluate(graph, values, affected);
+		return values;
+	}
+
+	/**
+	 * Evaluates the given components in topological order.
+	 * @param graph some weighted argumentation graph
+	 * @param values the current strengths
+	 * @param affected the components to evaluate
+	 */
+	private void evaluate(WeightedArgumentGraph graph, double[] values, boolean[] affected) {
+		int[][] components = graph.getComponents();
+		ExecutorService executorService = null;
+		try {
+			for(int c = 0; c < components.length; c++) {
+				if(!affected[c])
+					continue;
+				int[] component = components[c];
+				if(component.length == 1 && !graph.isSelfInfluencing(component[0])) {
+					values[component[0]] = this.function.apply(graph, component[0], values);
+					continue;
+				}
+				if(executorService == null && this.numberOfThreads > 1 && this.scheme == Scheme.JACOBI && component.length >= PARALLEL_THRESHOLD)
+					executorService = Executors.newFixedThreadPool(this.numberOfThreads);
+				this.iterate(graph, component, values, executorService);
+			}
+		}finally {
+			if(executorService != null)
+				executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Iterates the update function on the given cyclic component until convergence.
+	 * @param graph some weighted argumentation graph
+	 * @param component the arguments of the component
+	 * @param values the current strengths
+	 * @param executorService the threads for Jacobi iterations (null for none)
+	 */
+	private void iterate(WeightedArgumentGraph graph, int[] component, double[] values, ExecutorService executorService) {
+		int n = component.length;
+		double[] x = new double[n];
+		for(int k = 0; k < n; k++)
+			x[k] = values[component[k]];
+		Anderson anderson = this.andersonDepth > 0 ? new Anderson(this.andersonDepth) : null;
+		for(int iteration = 0; iteration < this.maxIterations; iteration++) {
+			double[] gx = this.sweep(graph, component, values, x, executorService);
+			double residual = 0.0;
+			for(int k = 0; k < n; k++)
+				residual += (gx[k] - x[k]) * (gx[k] - x[k]);
+			residual = Math.sqrt(residual);
+			if(residual <= this.epsilon || anderson == null) {
+				x = gx;
+				if(residual <= this.epsilon)
+					break;
+			}else x = anderson.mix(x, gx, residual);
+		}
+		for(int k = 0; k < n; k++)
+			values[component[k]] = x[k];
+	}
+
+	/**
+	 * Applies one iteration of the update function to the given component.
+	 * @param graph some weighted argumentation graph
+	 * @param component the arguments of the component
+	 * @param values the current strengths, where the strengths of the component are overwritten
+	 * @param x the strengths of the component to start from
+	 * @param executorService the threads for Jacobi iterations (null for none)
+	 * @return the strengths of the component after the iteration
+	 */
+	private double[] sweep(WeightedArgumentGraph graph, int[] component, double[] values, double[] x, ExecutorService executorService) {
+		int n = component.length;
+		for(int k = 0; k < n; k++)
+			values[component[k]] = x[k];
+		double[] result = new double[n];
+		if(this.scheme == Scheme.GAUSS_SEIDEL) {
+			for(int k = 0; k < n; k++) {
+				result[k] = this.function.apply(graph, component[k], values);
+				values[component[k]] = result[k];
+			}
+		}else if(executorService != null && n >= PARALLEL_THRESHOLD) {
+			List<Callable<Void>> chunks = new ArrayList<>();
+			int chunkSize = (n + this.numberOfThreads - 1) / this.numberOfThreads;
+			for(int start = 0; start < n; start += chunkSize) {
+				int from = start;
+				int to = Math.min(n, start + chunkSize);
+				chunks.add(() -> {
+					for(int k = from; k < to; k++)
+						result[k] = this.function.apply(graph, component[k], values);
+					return null;
+				});
+			}
+			try {
+				for(Future<Void> future: executorService.invokeAll(chunks))
+					future.get();
+			}catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("The evaluation was interrupted.", e);
+			}catch(ExecutionException e) {
+				if(e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+				throw new RuntimeException(e.getCause());
+			}
+		}else {
+			for(int k = 0; k < n; k++)
+				result[k] = this.function.apply(graph, component[k], values);
+		}
+		return result;
+	}
+
+	/**
+	 * Anderson mixing (of type II) for the fixed-point iteration x = g(x): the next iterate is the
+	 * combination of the last images g(x) whose residuals g(x)-x have the smallest combined norm.
+	 * The history is dropped whenever the residual grows.
+	 */
+	private static class Anderson {
+		/** The number of previous iterations used. */
+		private final int depth;
+		/** The differences of successive residuals, oldest first. */
+		private final List<double[]> residualDifferences = new ArrayList<>();
+		/** The differences of successive images, oldest first. */
+		private final List<double[]> imageDifferences = new ArrayList<>();
+		/** The last residual (null if none). */
+		private double[] lastResidual;
+		/** The last image. */
+		private double[] lastImage;
+		/** The norm of the last residual. */
+		private double lastNorm = Double.POSITIVE_INFINITY;
+
+		/**
+		 * Creates a new Anderson mixing.
+		 * @param depth the number of previous iterations used
+		 */
+		Anderson(int depth) {
+			this.depth = depth;
+		}
+
+		/**
+		 * Returns the next iterate.
+		 * @param x the current iterate
+		 * @param gx the image of the current iterate
+		 * @param norm the norm of the residual gx-x
+		 * @return the next iterate
+		 */
+		double[] mix(double[] x, double[] gx, double norm) {
+			int n = x.length;
+			double[] residual = new double[n];
+			for(int k = 0; k < n; k++)
+				residual[k] = gx[k] - x[k];
+			if(norm > this.lastNorm) {
+				this.residualDifferences.clear();
+				this.imageDifferences.clear();
+			}else if(this.lastResidual != null) {
+				double[] df = new double[n];
+				double[] dg = new double[n];
+				for(int k = 0; k < n; k++) {
+					df[k] = residual[k] - this.lastResidual[k];
+					dg[k] = gx[k] - this.lastImage[k];
+				}
+				this.residualDifferences.add(df);
+				this.imageDifferences.add(dg);
+				if(this.residualDifferences.size() > this.depth) {
+					this.residualDifferences.remove(0);
+					this.imageDifferences.remove(0);
+				}
+			}
+			this.lastResidual = residual;
+			this.lastImage = gx;
+			this.lastNorm = norm;
+			int m = this.residualDifferences.size();
+			if(m == 0)
+				return gx;
+			// solve the normal equations of min |residual - sum gamma_j df_j|
+			double[][] a = new double[m][m + 1];
+			for(int i = 0; i < m; i++) {
+				double[] dfi = this.residualDifferences.get(i);
+				for(int j = 0; j <= i; j++) {
+					double[] dfj = this.residualDifferences.get(j);
+					double dot = 0.0;
+					for(int k = 0; k < n; k++)
+						dot += dfi[k] * dfj[k];
+					a[i][j] = a[j][i] = dot;
+				}
+				a[i][i] += REGULARIZATION * (1 + a[i][i]);
+				double dot = 0.0;
+				for(int k = 0; k < n; k++)
+					dot += dfi[k] * residual[k];
+				a[i][m] = dot;
+			}
+			double[] gamma = Anderson.solve(a);
+			if(gamma == null)
+				return gx;
+			double[] result = gx.clone();
+			for(int j = 0; j < m; j++) {
+				double[] dg = this.imageDifferences.get(j);
+				for(int k = 0; k < n; k++)
+					result[k] -= gamma[j] * dg[k];
+			}
+			for(int k = 0; k < n; k++)
+				if(Double.isNaN(result[k]) || Double.isInfinite(result[k]))
+					return gx;
+			return result;
+		}
+
+		/**
+		 * Solves the given system of linear equations by Gaussian elimination with partial pivoting.
+		 * @param a the augmented matrix of the system
+		 * @return the solution or null if the system is singular
+		 */
+		private static double[] solve(double[][] a) {
+			int m = a.length;
+			for(int col = 0; col < m; col++) {
+				int pivot = col;
+				for(int row = col + 1; row < m; row++)
+					if(Math.abs(a[row][col]) > Math.abs(a[pivot][col]))
+						pivot = row;
+				if(Math.abs(a[pivot][col]) < 1e-300)
+					return null;
+				double[] tmp = a[col];
+				a[col] = a[pivot];
+				a[pivot] = tmp;
+				for(int row = col + 1; row < m; row++) {
+					double factor = a[row][col] / a[col][col];
+					for(int k = col; k <= m; k++)
+						a[row][k] -= factor * a[col][k];
+				}
+			}
+			double[] result = new double[m];
+			for(int row = m - 1; row >= 0; row--) {
+				double sum = a[row][m];
+				for(int k = row + 1; k < m; k++)
+					sum -= a[row][k] * result[k];
+				result[row] = sum / a[row][row];
+			}
+			return result;
+		}
+	}
+}
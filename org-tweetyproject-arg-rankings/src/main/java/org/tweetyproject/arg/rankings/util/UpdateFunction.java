@@ -0,0 +1,134 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.rankings.util;
+
+/**
+ * The update function of a gradual semantics, which computes the new strength of an argument
+ * from the current strengths of its attackers and supporters. Update functions are evaluated
+ * by the {@link GradualSemanticsEngine}; they must not modify the given values and must be
+ * safe to call from several threads at once.
+ */
+public interface UpdateFunction {
+
+	/**
+	 * Computes the new strength of the given argument.
+	 * @param graph the weighted argumentation graph
+	 * @param i the index of the argument
+	 * @param values the current strengths of all arguments
+	 * @return the new strength of the argument
+	 */
+	public double apply(WeightedArgumentGraph graph, int i, double[] values);
+
+	/**
+	 * Returns the (weighted) h-categorizer function w(a) = b(a) / (1 + sum of w(x)*weight(x,a)
+	 * for all attackers x of a), where b(a) is the base weight of a, see
+	 * [Besnard, Hunter. A logic-based theory of deductive arguments. 2001] and
+	 * [Amgoud, Ben-Naim, Doder, Vesic. Acceptability Semantics for Weighted Argumentation Frameworks. IJCAI 2017].
+	 * Supports are ignored.
+	 * @return the h-categorizer function
+	 */
+	public static UpdateFunction hCategorizer() {
+		return (graph, i, values) -> {
+			int[] attackers = graph.getAttackers(i);
+			double[] weights = graph.getAttackWeights(i);
+			double c = 1.0;
+			for(int k = 0; k < attackers.length; k++)
+				c += values[attackers[k]] * weights[k];
+			return graph.getBaseWeight(i) / c;
+		};
+	}
+
+	/**
+	 * Returns the update function of the counting semantics w(a) = 1 - (d/N) * (sum of w(x)*weight(x,a)
+	 * for all attackers x of a), where d is the damping factor and N normalizes the attack weights,
+	 * see [Pu, Zhang, G.Luo, J.Luo. Attacker and Defender Counting Approach for Abstract Argumentation. CoRR 2015].
+	 * Supports are ignored.
+	 * @param dampingFactor the damping factor, must be in (0,1)
+	 * @param normalizationFactor the normalization factor, at least the largest sum of the weights
+	 * of the attacks on an argument
+	 * @return the counting function
+	 */
+	public static UpdateFunction counting(double dampingFactor, double normalizationFactor) {
+		double factor = normalizationFactor > 0 ? dampingFactor / normalizationFactor : 0;
+		return (graph, i, values) -> {
+			int[] attackers = graph.getAttackers(i);
+			double[] weights = graph.getAttackWeights(i);
+			double c = 0.0;
+			for(int k = 0; k < attackers.length; k++)
+				c += values[attackers[k]] * weights[k];
+			return 1.0 - factor * c;
+		};
+	}
+
+	/**
+	 * Returns the update function of the Euler-based semantics for bipolar frameworks
+	 * w(a) = 1 - (1 - b(a)^2) / (1 + b(a) * e^E), where E is the weighted sum of the strengths of the
+	 * supporters of a minus the weighted sum of the strengths of the attackers of a, see
+	 * [Amgoud, Ben-Naim. Evaluation of arguments in weighted bipolar graphs. IJAR 2018].
+	 * Base weights should be in [0,1).
+	 * @return the Euler-based function
+	 */
+	public static UpdateFunction eulerBased() {
+		return (graph, i, values) -> {
+			double base = graph.getBaseWeight(i);
+			return 1.0 - (1.0 - base * base) / (1.0 + base * Math.exp(UpdateFunction.energy(graph, i, values)));
+		};
+	}
+
+	/**
+	 * Returns the update function of the quadratic energy model for bipolar frameworks
+	 * w(a) = b(a) - b(a) * h(-E) + (1 - b(a)) * h(E) with h(x) = max(0,x)^2 / (1 + max(0,x)^2),
+	 * where E is the weighted sum of the strengths of the supporters of a minus the weighted sum of
+	 * the strengths of the attackers of a, see
+	 * [Potyka. Continuous Dynamical Systems for Weighted Bipolar Argumentation. KR 2018].
+	 * Base weights should be in [0,1]. Jacobi iterations of this function may oscillate on cyclic
+	 * graphs, so Gauss-Seidel iterations should be used.
+	 * @return the quadratic energy function
+	 */
+	public static UpdateFunction quadraticEnergy() {
+		return (graph, i, values) -> {
+			double base = graph.getBaseWeight(i);
+			double energy = UpdateFunction.energy(graph, i, values);
+			double pos = Math.max(0, energy) * Math.max(0, energy);
+			double neg = Math.max(0, -energy) * Math.max(0, -energy);
+			return base - base * neg / (1 + neg) + (1 - base) * pos / (1 + pos);
+		};
+	}
+
+	/**
+	 * Returns the weighted sum of the strengths of the supporters of the given argument minus the
+	 * weighted sum of the strengths of its attackers.
+	 * @param graph the weighted argumentation graph
+	 * @param i the index of the argument
+	 * @param values the current strengths of all arguments
+	 * @return the energy of the argument
+	 */
+	private static double energy(WeightedArgumentGraph graph, int i, double[] values) {
+		double energy = 0.0;
+		int[] supporters = graph.getSupporters(i);
+		double[] supportWeights = graph.getSupportWeights(i);
+		for(int k = 0; k < supporters.length; k++)
+			energy += values[supporters[k]] * supportWeights[k];
+		int[] attackers = graph.getAttackers(i);
+		double[] attackWeights = graph.getAttackWeights(i);
+		for(int k = 0; k < attackers.length; k++)
+			energy -= values[attackers[k]] * attackWeights[k];
+		return energy;
+	}
+}
@@ -0,0 +1,418 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.rankings.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.tweetyproject.arg.bipolar.syntax.AbstractBipolarFramework;
+import org.tweetyproject.arg.bipolar.syntax.Attack;
+import org.tweetyproject.arg.bipolar.syntax.BArgument;
+import org.tweetyproject.arg.bipolar.syntax.BipolarEntity;
+import org.tweetyproject.arg.bipolar.syntax.Support;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+
+/**
+ * An indexed representation of a weighted argumentation graph with attacks and supports,
+ * as used by the {@link GradualSemanticsEngine}. Arguments are numbered consecutively and
+ * every argument has a base weight; every attack and support has a weight as well. All
+ * weights are 1 unless they are changed.
+ * <br>
+ * The structure of the graph is fixed, only the weights can be changed. The strongly connected
+ * components of the graph (wrt. both attacks and supports) are computed once and ordered such that
+ * every component comes after all components influencing it.
+ */
+public class WeightedArgumentGraph {
+
+	/** The arguments. */
+	private final Argument[] arguments;
+	/** The index of every argument. */
+	private final Map<Argument,Integer> index = new HashMap<>();
+	/** The base weight of every argument. */
+	private final double[] baseWeights;
+	/** The attackers of every argument. */
+	private final int[][] attackers;
+	/** The weights of the attacks on every argument. */
+	private final double[][] attackWeights;
+	/** The supporters of every argument. */
+	private final int[][] supporters;
+	/** The weights of the supports of every argument. */
+	private final double[][] supportWeights;
+	/** The arguments attacked or supported by every argument. */
+	private final int[][] influenced;
+	/** The strongly connected components, in topological order (computed on demand). */
+	private int[][] components;
+	/** The index of the component of every argument (computed on demand). */
+	private int[] componentOf;
+
+	/**
+	 * Creates the graph of the given abstract argumentation framework.
+	 * @param theory some abstract argumentation framework
+	 */
+	public WeightedArgumentGraph(DungTheory theory) {
+		this(theory, WeightedArgumentGraph.attacksOf(theory), new ArrayList<Argument[]>());
+	}
+
+	/**
+	 * Creates the graph of the given bipolar argumentation framework. Only attacks and
+	 * supports between single arguments are supported.
+	 * @param framework some bipolar argumentation framework
+	 * @throws IllegalArgumentException if some attack or support involves a set of arguments
+	 */
+	public WeightedArgumentGraph(AbstractBipolarFramework framework) {
+		this(framework.getNodes(), WeightedArgumentGraph.attacksOf(framework), WeightedArgumentGraph.supportsOf(framework));
+	}
+
+	/**
+	 * Creates a graph with the given arguments, attacks and supports.
+	 * @param arguments some arguments
+	 * @param attacks some attacks, each given by its attacker and the attacked argument
+	 * @param supports some supports, each given by the supporter and the supported argument
+	 */
+	public WeightedArgumentGraph(Collection<? extends Argument> arguments, List<Argument[]> attacks, List<Argument[]> supports) {
+		this.arguments = arguments.toArray(new Argument[0]);
+		int n = this.arguments.length;
+		for(int i = 0; i < n; i++)
+			this.index.put(this.arguments[i], i);
+		this.baseWeights = new double[n];
+		Arrays.fill(this.baseWeights, 1.0);
+		this.attackers = this.sources(attacks);
+		this.supporters = this.sources(supports);
+		this.attackWeights = new double[n][];
+		this.supportWeights = new double[n][];
+		int[] outDegree = new int[n];
+		for(int i = 0; i < n; i++) {
+			this.attackWeights[i] = new double[this.attackers[i].length];
+			this.supportWeights[i] = new double[this.supporters[i].length];
+			Arrays.fill(this.attackWeights[i], 1.0);
+			Arrays.fill(this.supportWeights[i], 1.0);
+			for(int b: this.attackers[i])
+				outDegree[b]++;
+			for(int b: this.supporters[i])
+				outDegree[b]++;
+		}
+		this.influenced = new int[n][];
+		for(int i = 0; i < n; i++)
+			this.influenced[i] = new int[outDegree[i]];
+		for(int i = 0; i < n; i++) {
+			for(int b: this.attackers[i])
+				this.influenced[b][--outDegree[b]] = i;
+			for(int b: this.supporters[i])
+				this.influenced[b][--outDegree[b]] = i;
+		}
+	}
+
+	/**
+	 * Returns the sources of the given edges for every argument.
+	 * @param edges some edges between the arguments of this graph
+	 * @return the sources of the edges to every argument
+	 */
+	private int[][] sources(List<Argument[]> edges) {
+		int[] inDegree = new int[this.arguments.length];
+		int[][] from = new int[edges.size()][];
+		for(int j = 0; j < edges.size(); j++) {
+			Integer a = this.index.get(edges.get(j)[0]);
+			Integer b = this.index.get(edges.get(j)[1]);
+			if(a == null || b == null)
+				throw new IllegalArgumentException("The edge " + Arrays.toString(edges.get(j)) + " connects arguments that are not in this graph.");
+			from[j] = new int[] {a, b};
+			inDegree[b]++;
+		}
+		int[][] result = new int[this.arguments.length][];
+		for(int i = 0; i < result.length; i++)
+			result[i] = new int[inDegree[i]];
+		for(int[] edge: from)
+			result[edge[1]][--inDegree[edge[1]]] = edge[0];
+		return result;
+	}
+
+	/**
+	 * Returns the attacks of the given framework.
+	 * @param theory some abstract argumentation framework
+	 * @return its attacks
+	 */
+	private static List<Argument[]> attacksOf(DungTheory theory) {
+		List<Argument[]> result = new ArrayList<>();
+		for(org.tweetyproject.arg.dung.syntax.Attack attack: theory.getAttacks())
+			result.add(new Argument[] {attack.getAttacker(), attack.getAttacked()});
+		return result;
+	}
+
+	/**
+	 * Returns the attacks of the given framework.
+	 * @param framework some bipolar argumentation framework
+	 * @return its attacks
+	 */
+	private static List<Argument[]> attacksOf(AbstractBipolarFramework framework) {
+		List<Argument[]> result = new ArrayList<>();
+		for(Attack attack: framework.getAttacks())
+			result.add(new Argument[] {WeightedArgumentGraph.toArgument(attack.getAttacker()), WeightedArgumentGraph.toArgument(attack.getAttacked())});
+		return result;
+	}
+
+	/**
+	 * Returns the supports of the given framework.
+	 * @param framework some bipolar argumentation framework
+	 * @return its supports
+	 */
+	private static List<Argument[]> supportsOf(AbstractBipolarFramework framework) {
+		List<Argument[]> result = new ArrayList<>();
+		for(Support support: framework.getSupports())
+			result.add(new Argument[] {WeightedArgumentGraph.toArgument(support.getSupporter()), WeightedArgumentGraph.toArgument(support.getSupported())});
+		return result;
+	}
+
+	/**
+	 * Returns the given entity as a single argument.
+	 * @param entity some bipolar entity
+	 * @return the entity as an argument
+	 * @throws IllegalArgumentException if the entity is not a single argument
+	 */
+	private static Argument toArgument(BipolarEntity entity) {
+		if(!(entity instanceof BArgument))
+			throw new IllegalArgumentException("Only attacks and supports between single arguments are supported, but found " + entity + ".");
+		return (BArgument) entity;
+	}
+
+	/**
+	 * Returns the number of arguments.
+	 * @return the number of arguments
+	 */
+	public int size() {
+		return this.arguments.length;
+	}
+
+	/**
+	 * Returns the argument with the given index.
+	 * @param i an argument index
+	 * @return the argument
+	 */
+	public Argument getArgument(int i) {
+		return this.arguments[i];
+	}
+
+	/**
+	 * Returns the index of the given argument.
+	 * @param a some argument
+	 * @return its index or -1 if it is not part of the graph
+	 */
+	public int indexOf(Argument a) {
+		return this.index.getOrDefault(a, -1);
+	}
+
+	/**
+	 * Returns the base weight of the given argument.
+	 * @param i an argument index
+	 * @return its base weight
+	 */
+	public double getBaseWeight(int i) {
+		return this.baseWeights[i];
+	}
+
+	/**
+	 * Sets the base weight of the given argument.
+	 * @param i an argument index
+	 * @param weight its new base weight
+	 */
+	public void setBaseWeight(int i, double weight) {
+		this.baseWeights[i] = weight;
+	}
+
+	/**
+	 * Returns the attackers of the given argument. The returned array must not be modified.
+	 * @param i an argument index
+	 * @return the indices of its attackers
+	 */
+	public int[] getAttackers(int i) {
+		return this.attackers[i];
+	}
+
+	/**
+	 * Returns the weights of the attacks on the given argument, in the order of
+	 * {@link #getAttackers(int)}. The returned array must not be modified.
+	 * @param i an argument index
+	 * @return the weights of the attacks on it
+	 */
+	public double[] getAttackWeights(int i) {
+		return this.attackWeights[i];
+	}
+
+	/**
+	 * Sets the weight of the attack of b on a.
+	 * @param b the index of the attacker
+	 * @param a the index of the attacked argument
+	 * @param weight the new weight of the attack
+	 * @throws IllegalArgumentException if b does not attack a
+	 */
+	public void setAttackWeight(int b, int a, double weight) {
+		this.attackWeights[a][WeightedArgumentGraph.position(this.attackers[a], b)] = weight;
+	}
+
+	/**
+	 * Returns the supporters of the given argument. The returned array must not be modified.
+	 * @param i an argument index
+	 * @return the indices of its supporters
+	 */
+	public int[] getSupporters(int i) {
+		return this.supporters[i];
+	}
+
+	/**
+	 * Returns the weights of the supports of the given argument, in the order of
+	 * {@link #getSupporters(int)}. The returned array must not be modified.
+	 * @param i an argument index
+	 * @return the weights of the supports of it
+	 */
+	public double[] getSupportWeights(int i) {
+		return this.supportWeights[i];
+	}
+
+	/**
+	 * Sets the weight of the support of b for a.
+	 * @param b the index of the supporter
+	 * @param a the index of the supported argument
+	 * @param weight the new weight of the support
+	 * @throws IllegalArgumentException if b does not support a
+	 */
+	public void setSupportWeight(int b, int a, double weight) {
+		this.supportWeights[a][WeightedArgumentGraph.position(this.supporters[a], b)] = weight;
+	}
+
+	/**
+	 * Returns the position of the given value in the given array.
+	 * @param values some values
+	 * @param value some value
+	 * @return its position
+	 * @throws IllegalArgumentException if the value does not occur
+	 */
+	private static int position(int[] values, int value) {
+		for(int k = 0; k < values.length; k++)
+			if(values[k] == value)
+				return k;
+		throw new IllegalArgumentException("There is no such edge.");
+	}
+
+	/**
+	 * Returns the arguments attacked or supported by the given argument. The returned array
+	 * must not be modified.
+	 * @param i an argument index
+	 * @return the indices of the arguments it influences
+	 */
+	public int[] getInfluenced(int i) {
+		return this.influenced[i];
+	}
+
+	/**
+	 * Checks whether the given argument attacks or supports itself.
+	 * @param i an argument index
+	 * @return true iff it influences itself
+	 */
+	public boolean isSelfInfluencing(int i) {
+		for(int b: this.influenced[i])
+			if(b == i)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Returns the strongly connected components of this graph wrt. attacks and supports, such that
+	 * every component comes after all components containing attackers or supporters of its arguments.
+	 * @return the components as arrays of argument indices
+	 */
+	public synchronized int[][] getComponents() {
+		if(this.components == null)
+			this.computeComponents();
+		return this.components;
+	}
+
+	/**
+	 * Returns the position of the component of the given argument in {@link #getComponents()}.
+	 * @param i an argument index
+	 * @return the position of its component
+	 */
+	public synchronized int getComponentOf(int i) {
+		if(this.components == null)
+			this.computeComponents();
+		return this.componentOf[i];
+	}
+
+	/**
+	 * Computes the strongly connected components with an iterative version of Tarjan's algorithm.
+	 * Tarjan's algorithm finds the components in reverse topological order.
+	 */
+	private void computeComponents() {
+		int n = this.arguments.length;
+		int[] order = new int[n];
+		int[] lowlink = new int[n];
+		Arrays.fill(order, -1);
+		int[] stack = new int[n];
+		boolean[] onStack = new boolean[n];
+		int stackSize = 0;
+		int[] callStack = new int[n];
+		int[] nextEdge = new int[n];
+		int counter = 0;
+		List<int[]> result = new ArrayList<>();
+		for(int root = 0; root < n; root++) {
+			if(order[root] >= 0)
+				continue;
+			int depth = 0;
+			callStack[depth++] = root;
+			order[root] = lowlink[root] = counter++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			while(depth > 0) {
+				int v = callStack[depth - 1];
+				if(nextEdge[v] < this.influenced[v].length) {
+					int w = this.influenced[v][nextEdge[v]++];
+					if(order[w] < 0) {
+						order[w] = lowlink[w] = counter++;
+						stack[stackSize++] = w;
+						onStack[w] = true;
+						callStack[depth++] = w;
+					}else if(onStack[w])
+						lowlink[v] = Math.min(lowlink[v], order[w]);
+					continue;
+				}
+				depth--;
+				if(depth > 0)
+					lowlink[callStack[depth - 1]] = Math.min(lowlink[callStack[depth - 1]], lowlink[v]);
+				if(lowlink[v] == order[v]) {
+					int start = stackSize;
+					do {
+						onStack[stack[--start]] = false;
+					}while(stack[start] != v);
+					result.add(Arrays.copyOfRange(stack, start, stackSize));
+					stackSize = start;
+				}
+			}
+		}
+		this.components = new int[result.size()][];
+		this.componentOf = new int[n];
+		for(int c = 0; c < result.size(); c++) {
+			this.components[c] = result.get(result.size() - 1 - c);
+			for(int i: this.components[c])
+				this.componentOf[i] = c;
+		}
+	}
+}
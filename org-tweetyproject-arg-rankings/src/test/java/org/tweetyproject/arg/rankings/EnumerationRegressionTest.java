@@ -0,0 +1,413 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.rankings;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.Attack;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.rankings.reasoner.DiscussionBasedRankingReasoner;
+import org.tweetyproject.arg.rankings.reasoner.TuplesRankingReasoner;
+import org.tweetyproject.arg.rankings.util.LexicographicIntTupleComparator;
+import org.tweetyproject.arg.rankings.util.RankingTools;
+import org.tweetyproject.commons.util.Pair;
+import org.tweetyproject.comparator.LatticePartialOrder;
+import org.tweetyproject.comparator.NumericalPartialOrder;
+
+/**
+ * Compares the tuples* and discussion-based reasoners with the enumeration of
+ * branches and linear discussions they used before, which is kept here as reference.
+ */
+public class EnumerationRegressionTest {
+
+	public static final int DEFAULT_TIMEOUT = 50000;
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void tuplesRandomAcyclicTest() throws Exception {
+		Random rand = new Random(1);
+		for (int k = 0; k < 200; k++)
+			checkTuples(randomAcyclicTheory(rand, 3 + rand.nextInt(8), 0.1 + 0.3 * rand.nextDouble()));
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void tuplesLongBranchesTest() throws Exception {
+		// branches of length 10 and more compare differently as strings than as numbers
+		Random rand = new Random(2);
+		for (int k = 0; k < 50; k++)
+			checkTuples(chainTheory(rand, 13, 4 + rand.nextInt(4), 0.1));
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void tuplesRunLengthTest() throws Exception {
+		// x has twelve branches of length 1, y eleven of length 1 and one of length 11,
+		// i.e. tuples of the same size where one is a proper prefix of the other as string
+		DungTheory theory = new DungTheory();
+		Argument x = addAttackers(theory, "x", 12);
+		Argument y = addAttackers(theory, "y", 11);
+		theory.add(new Attack(chain(theory, "cy", 10), y));
+		checkTuples(theory);
+		assertFalse(new TuplesRankingReasoner().getModel(theory).isIncomparable(x, y));
+		// z and w have five branches of length 1 and one of length 3 and 13, resp.
+		theory = new DungTheory();
+		Argument z = addAttackers(theory, "z", 5);
+		theory.add(new Attack(chain(theory, "cz", 2), z));
+		Argument w = addAttackers(theory, "w", 5);
+		theory.add(new Attack(chain(theory, "cw", 12), w));
+		checkTuples(theory);
+		assertFalse(new TuplesRankingReasoner().getModel(theory).isIncomparable(z, w));
+		// v and u are tied with the same attack and defense tuples
+		theory = new DungTheory();
+		Argument v = addAttackers(theory, "v", 3);
+		Argument u = addAttackers(theory, "u", 3);
+		theory.add(new Attack(chain(theory, "cv", 1), v));
+		theory.add(new Attack(chain(theory, "cu", 1), u));
+		checkTuples(theory);
+		assertTrue(new TuplesRankingReasoner().getModel(theory).isEquallyAcceptableThan(v, u));
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void tuplesCyclicTest() throws Exception {
+		Random rand = new Random(3);
+		for (int k = 0; k < 50; k++) {
+			DungTheory theory = randomCyclicTheory(rand, 2 + rand.nextInt(8), 0.3);
+			assertNull(enumerateTuplesRanking(theory));
+			assertNull(new TuplesRankingReasoner().getModel(theory));
+		}
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void discussionRandomTest() throws Exception {
+		Random rand = new Random(4);
+		for (int k = 0; k < 100; k++) {
+			checkDiscussion(randomAcyclicTheory(rand, 2 + rand.nextInt(9), 0.1 + 0.4 * rand.nextDouble()));
+			checkDiscussion(randomCyclicTheory(rand, 2 + rand.nextInt(7), 0.1 + 0.3 * rand.nextDouble()));
+		}
+	}
+
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void discussionSignTest() throws Exception {
+		DungTheory theory = new DungTheory();
+		// x and y have one attacker each, but only x has a discussion of (odd) length 3
+		Argument x = addAttackers(theory, "x", 1);
+		Argument y = addAttackers(theory, "y", 1);
+		theory.add(new Argument("w"));
+		theory.add(new Attack(new Argument("w"), new Argument("x1")));
+		// z and v differ in the discussions of (even) length 4 only
+		Argument z = new Argument("z");
+		Argument v = new Argument("v");
+		theory.add(z);
+		theory.add(v);
+		theory.add(new Attack(chain(theory, "cz", 2), z));
+		theory.add(new Attack(chain(theory, "cv", 1), v));
+		// a self-attacking argument and a two-cycle, tied until the maximal length
+		Argument s = new Argument("s");
+		theory.add(s);
+		theory.add(new Attack(s, s));
+		Argument t1 = new Argument("t1");
+		Argument t2 = new Argument("t2");
+		theory.add(t1);
+		theory.add(t2);
+		theory.add(new Attack(t1, t2));
+		theory.add(new Attack(t2, t1));
+		checkDiscussion(theory);
+		LatticePartialOrder<Argument, DungTheory> ranking = new DiscussionBasedRankingReasoner().getModel(theory);
+		assertTrue(ranking.isStrictlyMoreAcceptableThan(x, y));
+		assertTrue(ranking.isStrictlyLessAcceptableThan(z, v));
+		assertTrue(ranking.isEquallyAcceptableThan(t1, t2));
+	}
+
+	/**
+	 * Checks the rankings and tupled values of the tuples* reasoner against the enumeration.
+	 */
+	private void checkTuples(DungTheory theory) {
+		TuplesRankingReasoner reasoner = new TuplesRankingReasoner();
+		LatticePartialOrder<Argument, DungTheory> ranking = reasoner.getModel(theory);
+		Map<Argument, Pair<int[], int[]>> tupledValues = new HashMap<Argument, Pair<int[], int[]>>();
+		LatticePartialOrder<Argument, DungTheory> expected = enumerateTuplesRanking(theory, tupledValues);
+		assertNotNull(ranking);
+		assertSameRanking(theory, expected, ranking);
+		Map<Argument, Pair<int[], int[]>> actual = reasoner.getTupledValues();
+		for (Argument a : theory) {
+			assertArrayEquals(tupledValues.get(a).getFirst(), actual.get(a).getFirst());
+			assertArrayEquals(tupledValues.get(a).getSecond(), actual.get(a).getSecond());
+			Pair<int[], int[]> single = reasoner.computeTupledValue(a, theory);
+			assertArrayEquals(tupledValues.get(a).getFirst(), single.getFirst());
+			assertArrayEquals(tupledValues.get(a).getSecond(), single.getSecond());
+		}
+	}
+
+	/**
+	 * Checks the ranking and path counts of the discussion-based reasoner against the enumeration.
+	 */
+	private void checkDiscussion(DungTheory theory) {
+		DiscussionBasedRankingReasoner reasoner = new DiscussionBasedRankingReasoner();
+		assertSameRanking(theory, enumerateDiscussionRanking(theory), reasoner.getModel(theory));
+		for (Argument a : theory)
+			for (int i = 0; i <= 5; i++)
+				assertEquals(enumeratePaths(theory, a, i), reasoner.getNumberOfPathsOfLength(theory, a, i));
+	}
+
+	private void assertSameRanking(DungTheory theory, LatticePartialOrder<Argument, DungTheory> expected,
+			LatticePartialOrder<Argument, DungTheory> actual) {
+		for (Argument a : theory)
+			for (Argument b : theory)
+				assertEquals(a + " <= " + b + " in " + theory, expected.isStrictlyLessOrEquallyAcceptableThan(a, b),
+						actual.isStrictlyLessOrEquallyAcceptableThan(a, b));
+	}
+
+	private static DungTheory randomAcyclicTheory(Random rand, int n, double p) {
+		DungTheory theory = new DungTheory();
+		List<Argument> args = new ArrayList<Argument>();
+		for (int i = 0; i < n; i++)
+			args.add(new Argument("a" + i));
+		theory.addAll(args);
+		Collections.shuffle(args, rand);
+		for (int i = 0; i < n; i++)
+			for (int j = i + 1; j < n; j++)
+				if (rand.nextDouble() < p)
+					theory.add(new Attack(args.get(i), args.get(j)));
+		return theory;
+	}
+
+	private static DungTheory randomCyclicTheory(Random rand, int n, double p) {
+		DungTheory theory = new DungTheory();
+		List<Argument> args = new ArrayList<Argument>();
+		for (int i = 0; i < n; i++)
+			args.add(new Argument("a" + i));
+		theory.addAll(args);
+		for (Argument a : args)
+			for (Argument b : args)
+				if (rand.nextDouble() < p)
+					theory.add(new Attack(a, b));
+		// make sure there is a cycle (possibly a self-attack)
+		Argument a = args.get(rand.nextInt(n));
+		Argument b = args.get(rand.nextInt(n));
+		theory.add(new Attack(a, b));
+		theory.add(new Attack(b, a));
+		return theory;
+	}
+
+	/**
+	 * A chain of the given length followed by some arguments, with further random
+	 * attacks in the direction of the chain.
+	 */
+	private static DungTheory chainTheory(Random rand, int length, int extra, double p) {
+		DungTheory theory = new DungTheory();
+		List<Argument> args = new ArrayList<Argument>();
+		for (int i = 0; i < length + extra; i++)
+			args.add(new Argument("a" + i));
+		theory.addAll(args);
+		for (int i = 0; i < length + extra; i++)
+			for (int j = i + 1; j < length + extra; j++)
+				if ((j == i + 1 && i < length) || rand.nextDouble() < p)
+					theory.add(new Attack(args.get(i), args.get(j)));
+		return theory;
+	}
+
+	/**
+	 * Adds a chain of the given number of attacks and returns its last argument.
+	 */
+	private static Argument chain(DungTheory theory, String name, int length) {
+		Argument last = new Argument(name + "0");
+		theory.add(last);
+		for (int i = 1; i <= length; i++) {
+			Argument next = new Argument(name + i);
+			theory.add(next);
+			theory.add(new Attack(last, next));
+			last = next;
+		}
+		return last;
+	}
+
+	/**
+	 * Adds an argument with the given number of unattacked attackers.
+	 */
+	private static Argument addAttackers(DungTheory theory, String name, int number) {
+		Argument a = new Argument(name);
+		theory.add(a);
+		for (int i = 1; i <= number; i++) {
+			Argument b = new Argument(name + i);
+			theory.add(b);
+			theory.add(new Attack(b, a));
+		}
+		return a;
+	}
+
+	private static LatticePartialOrder<Argument, DungTheory> enumerateTuplesRanking(DungTheory kb) {
+		return enumerateTuplesRanking(kb, new HashMap<Argument, Pair<int[], int[]>>());
+	}
+
+	/**
+	 * The tuples* ranking as computed before by enumerating all branches.
+	 */
+	private static LatticePartialOrder<Argument, DungTheory> enumerateTuplesRanking(DungTheory kb,
+			Map<Argument, Pair<int[], int[]>> tupledValues) {
+		LatticePartialOrder<Argument, DungTheory> ranking = new LatticePartialOrder<Argument, DungTheory>(kb.getNodes());
+		if (kb.containsCycle())
+			return null;
+		for (Argument a : kb)
+			tupledValues.put(a, enumerateTupledValue(a, kb, tupledValues));
+		LexicographicIntTupleComparator c = new LexicographicIntTupleComparator();
+		for (Argument a : kb) {
+			Pair<int[], int[]> tvA = tupledValues.get(a);
+			int[] aDefenseTuple = tvA.getFirst();
+			int[] aAttackTuple = tvA.getSecond();
+			double aDefenseTupleSize = getTrueTupleSize(aDefenseTuple);
+			double aAttackTupleSize = getTrueTupleSize(aAttackTuple);
+			for (Argument b : kb) {
+				Pair<int[], int[]> tvB = tupledValues.get(b);
+				if (tvA.equals(tvB)) {
+					ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
+					ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
+					continue;
+				}
+				int[] bDefenseTuple = tvB.getFirst();
+				int[] bAttackTuple = tvB.getSecond();
+				double bDefenseTupleSize = getTrueTupleSize(bDefenseTuple);
+				double bAttackTupleSize = getTrueTupleSize(bAttackTuple);
+				if (aAttackTupleSize == bAttackTupleSize && aDefenseTupleSize == bDefenseTupleSize) {
+					if ((c.compare(aDefenseTuple, bDefenseTuple) <= 0) && (c.compare(aAttackTuple, bAttackTuple) >= 0)) {
+						ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
+					} else if ((c.compare(aDefenseTuple, bDefenseTuple) >= 0) && (c.compare(aAttackTuple, bAttackTuple) <= 0)) {
+						ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
+					}
+				} else {
+					if (aAttackTupleSize >= bAttackTupleSize && aDefenseTupleSize <= bDefenseTupleSize) {
+						ranking.setStrictlyLessOrEquallyAcceptableThan(a, b);
+					} else if (aAttackTupleSize <= bAttackTupleSize && aDefenseTupleSize >= bDefenseTupleSize) {
+						ranking.setStrictlyLessOrEquallyAcceptableThan(b, a);
+					}
+				}
+			}
+		}
+		return ranking;
+	}
+
+	private static double getTrueTupleSize(int[] l) {
+		if (l.length == 1 && l[0] == 0)
+			return Double.POSITIVE_INFINITY;
+		else
+			return (double) l.length;
+	}
+
+	/**
+	 * The tupled value as computed before by enumerating all branches (the values
+	 * of the attackers are looked up in the given map, if present, to bound the running time).
+	 */
+	private static Pair<int[], int[]> enumerateTupledValue(Argument a, DungTheory kb,
+			Map<Argument, Pair<int[], int[]>> tupledValues) {
+		if (tupledValues.containsKey(a))
+			return tupledValues.get(a);
+		ArrayList<Integer> defense = new ArrayList<Integer>();
+		ArrayList<Integer> attack = new ArrayList<Integer>();
+		if (kb.getAttackers(a).isEmpty())
+			defense.add(0);
+		else {
+			for (Argument b : kb.getAttackers(a)) {
+				Pair<int[], int[]> tvB = enumerateTupledValue(b, kb, tupledValues);
+				for (int i : tvB.getSecond())
+					defense.add(i + 1);
+				Collections.sort(defense);
+				for (int i : tvB.getFirst())
+					attack.add(i + 1);
+				Collections.sort(attack);
+			}
+		}
+		Pair<int[], int[]> result = new Pair<int[], int[]>(defense.stream().mapToInt(i -> i).toArray(),
+				attack.stream().mapToInt(i -> i).toArray());
+		tupledValues.put(a, result);
+		return result;
+	}
+
+	/**
+	 * The discussion-based ranking as computed before by enumerating all linear discussions.
+	 */
+	private static LatticePartialOrder<Argument, DungTheory> enumerateDiscussionRanking(DungTheory kb) {
+		int iMax = 6;
+		Map<Argument, ArrayList<Double>> discussionCounts = new HashMap<Argument, ArrayList<Double>>();
+		for (int i = 2; i <= iMax + 1; i++) {
+			for (Argument a : kb) {
+				double discussionCount = enumeratePaths(kb, a, i);
+				if ((i & 1) != 0)
+					discussionCount = -discussionCount;
+				discussionCounts.computeIfAbsent(a, x -> new ArrayList<Double>()).add(discussionCount + 0.0);
+			}
+		}
+		LatticePartialOrder<Argument, DungTheory> resultRanking = new LatticePartialOrder<Argument, DungTheory>(kb.getNodes());
+		for (Argument a : kb) {
+			for (Argument b : kb) {
+				boolean argsEqual = true;
+				for (int i = 0; i < iMax && argsEqual; i++) {
+					NumericalPartialOrder<Argument, DungTheory> tempRanking = new NumericalPartialOrder<Argument, DungTheory>();
+					tempRanking.put(a, discussionCounts.get(a).get(i));
+					tempRanking.put(b, discussionCounts.get(b).get(i));
+					if (tempRanking.isStrictlyLessAcceptableThan(a, b)) {
+						resultRanking.setStrictlyLessOrEquallyAcceptableThan(a, b);
+						argsEqual = false;
+					} else if (tempRanking.isStrictlyLessAcceptableThan(b, a)) {
+						resultRanking.setStrictlyLessOrEquallyAcceptableThan(b, a);
+						argsEqual = false;
+					}
+				}
+				if (argsEqual) {
+					resultRanking.setStrictlyLessOrEquallyAcceptableThan(b, a);
+					resultRanking.setStrictlyLessOrEquallyAcceptableThan(a, b);
+				}
+			}
+		}
+		return resultRanking;
+	}
+
+	/**
+	 * The number of linear discussions of the given length as computed before by enumerating them.
+	 */
+	private static int enumeratePaths(DungTheory base, Argument a, int i) {
+		if (i == 0 || i == 1)
+			return i;
+		HashSet<ArrayList<Argument>> paths = new HashSet<ArrayList<Argument>>();
+		for (Argument attacker : base.getAttackers(a)) {
+			ArrayList<Argument> path = new ArrayList<Argument>();
+			path.add(a);
+			path.add(attacker);
+			paths.add(path);
+		}
+		int j = 2;
+		while (j < i && !paths.isEmpty()) {
+			paths = RankingTools.getPathsOfHigherSize(paths, base);
+			j++;
+		}
+		return paths.size();
+	}
+}
@@ -19,6 +19,8 @@ package org.tweetyproject.arg.rankings;
  */
  
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -26,6 +28,9 @@ import org.junit.Test;
 
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.arg.rankings.util.GradualSemanticsEngine;
+import org.tweetyproject.arg.rankings.util.UpdateFunction;
+import org.tweetyproject.arg.rankings.util.WeightedArgumentGraph;
 import org.tweetyproject.comparator.LatticePartialOrder;
 import org.tweetyproject.comparator.NumericalPartialOrder;
 
@@ -148,6 +153,36 @@ public class RankingsTest {
 		assertFalse(ranking.isStrictlyMoreAcceptableThan(b, a));
 	}
 
-	
+	@Test(timeout = DEFAULT_TIMEOUT)
+	public void GradualSemanticsEngineTest() throws Exception {
+		DungTheory dt = new DungTheory();
+		Argument a = new Argument("a");
+		Argument b = new Argument("b");
+		Argument c = new Argument("c");
+		Argument d = new Argument("d");
+		dt.add(a);
+		dt.add(b);
+		dt.add(c);
+		dt.add(d);
+		dt.addAttack(a, b);
+		dt.addAttack(b, c);
+		dt.addAttack(c, d);
+		dt.addAttack(d, c);
+		WeightedArgumentGraph graph = new WeightedArgumentGraph(dt);
+		GradualSemanticsEngine engine = new GradualSemanticsEngine(UpdateFunction.hCategorizer(), GradualSemanticsEngine.Scheme.GAUSS_SEIDEL, 0.000001);
+		double[] values = engine.solve(graph);
+		assertEquals(1.0, values[graph.indexOf(a)], 0.0001);
+		assertEquals(0.5, values[graph.indexOf(b)], 0.0001);
+		// c = 1/(1.5+d) and d = 1/(1+c)
+		double vc = values[graph.indexOf(c)];
+		assertEquals(1.0 / (1.0 + vc), values[graph.indexOf(d)], 0.0001);
+		assertEquals(1.0 / (1.5 + 1.0 / (1.0 + vc)), vc, 0.0001);
+		
+		// incremental re-evaluation after a change of a base weight
+		graph.setBaseWeight(graph.indexOf(a), 0.5);
+		double[] updated = engine.update(graph, values, graph.indexOf(a));
+		assertEquals(0.5, updated[graph.indexOf(a)], 0.0001);
+		assertArrayEquals(engine.solve(graph), updated, 0.0001);
+	}
 
 }
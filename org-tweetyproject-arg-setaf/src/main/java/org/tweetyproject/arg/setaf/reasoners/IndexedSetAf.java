@@ -0,0 +1,501 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.setaf.reasoners;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.semantics.Semantics;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.setaf.syntax.SetAf;
+import org.tweetyproject.arg.setaf.syntax.SetAttack;
+
+/**
+ * An indexed representation of a SetAf where arguments and attacks are numbered
+ * consecutively, with the attacks on every argument and the attacks every argument
+ * takes part in. Sets of arguments satisfying conflict-freeness, admissibility,
+ * completeness or stability are enumerated by a backtracking {@link Search}.
+ */
+class IndexedSetAf {
+
+	/** The label of arguments in the set. */
+	private static final byte IN = 1;
+	/** The label of arguments not in the set. */
+	private static final byte OUT = 2;
+
+	/** The arguments. */
+	private final Argument[] arguments;
+	/** The index of every argument. */
+	private final Map<Argument,Integer> index = new HashMap<>();
+	/** The attacking set of every attack. */
+	private final int[][] members;
+	/** The attacked argument of every attack. */
+	private final int[] targets;
+	/** The arguments of every attack, i.e. its attacking set and its attacked argument. */
+	private final int[][] clauses;
+	/** The attacks on every argument. */
+	private final int[][] attacksOn;
+	/** The attacks every argument is part of the attacking set of. */
+	private final int[][] attacksWith;
+
+	/**
+	 * Creates the indexed representation of the given SetAf.
+	 * @param setaf some SetAf
+	 */
+	IndexedSetAf(SetAf setaf) {
+		this.arguments = setaf.getNodes().toArray(new Argument[0]);
+		for(int i = 0; i < this.arguments.length; i++)
+			this.index.put(this.arguments[i], i);
+		List<SetAttack> attacks = new ArrayList<>(setaf.getAttacks());
+		this.members = new int[attacks.size()][];
+		this.targets = new int[attacks.size()];
+		this.clauses = new int[attacks.size()][];
+		List<List<Integer>> on = new ArrayList<>();
+		List<List<Integer>> with = new ArrayList<>();
+		for(int i = 0; i < this.arguments.length; i++) {
+			on.add(new ArrayList<>());
+			with.add(new ArrayList<>());
+		}
+		for(int j = 0; j < attacks.size(); j++) {
+			SetAttack attack = attacks.get(j);
+			this.members[j] = attack.getNodeA().stream().mapToInt(this.index::get).toArray();
+			this.targets[j] = this.index.get(attack.getNodeB());
+			boolean selfAttack = attack.getNodeA().contains(attack.getNodeB());
+			this.clauses[j] = new int[this.members[j].length + (selfAttack ? 0 : 1)];
+			System.arraycopy(this.members[j], 0, this.clauses[j], 0, this.members[j].length);
+			if(!selfAttack)
+				this.clauses[j][this.members[j].length] = this.targets[j];
+			on.get(this.targets[j]).add(j);
+			for(int b: this.members[j])
+				with.get(b).add(j);
+		}
+		this.attacksOn = new int[this.arguments.length][];
+		this.attacksWith = new int[this.arguments.length][];
+		for(int i = 0; i < this.arguments.length; i++) {
+			this.attacksOn[i] = on.get(i).stream().mapToInt(Integer::intValue).toArray();
+			this.attacksWith[i] = with.get(i).stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	/**
+	 * Returns the number of arguments.
+	 * @return the number of arguments
+	 */
+	int size() {
+		return this.arguments.length;
+	}
+
+	/**
+	 * Returns the index of the given argument.
+	 * @param a some argument
+	 * @return its index or -1 if it is not part of the framework
+	 */
+	int indexOf(Argument a) {
+		return this.index.getOrDefault(a, -1);
+	}
+
+	/**
+	 * Returns the extension with the given arguments.
+	 * @param set a set of argument indices
+	 * @return the extension
+	 */
+	Extension<SetAf> toExtension(BitSet set) {
+		Extension<SetAf> ext = new Extension<SetAf>();
+		for(int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1))
+			ext.add(this.arguments[i]);
+		return ext;
+	}
+
+	/**
+	 * Returns a search for the sets of arguments wrt. the given semantics.
+	 * @param semantics one of CF, ADM, CO and ST
+	 * @param in arguments that have to be in the sets
+	 * @param out arguments that must not be in the sets
+	 * @return a search for the sets
+	 */
+	Search search(Semantics semantics, BitSet in, BitSet out) {
+		return new Search(semantics, in, out);
+	}
+
+	/**
+	 * A depth-first search over the arguments, where every argument is first put into the set and
+	 * then left out. After every decision, the consequences are propagated over the attacks:
+	 * <ul>
+	 * <li>an argument is left out if the rest of some attack it takes part in is in the set
+	 * (conflict-freeness),</li>
+	 * <li>an argument is left out if some attack on it can no longer be countered by the set, and the
+	 * attackers of the only attack left to counter an attack on an argument in the set are put into the
+	 * set (admissibility),</li>
+	 * <li>an argument is put into the set once it is defended by the set, and the search backtracks
+	 * if it has been left out before (completeness), and</li>
+	 * <li>an argument is put into the set if it can no longer be attacked by the set, and the attackers
+	 * of the only attack left on an argument left out are put into the set (stability).</li>
+	 * </ul>
+	 * Every leaf of the search is a solution, so the solutions are found one after the other.
+	 */
+	class Search implements Iterator<BitSet> {
+		/** The semantics. */
+		private final Semantics semantics;
+		/** The current label of every argument (0 if it has not been decided). */
+		private final byte[] labels;
+		/** The number of attackers in the set, for every attack. */
+		private final int[] inCount;
+		/** The number of attackers left out, for every attack. */
+		private final int[] outCount;
+		/** The number of attacks on every argument with all attackers in the set. */
+		private final int[] firedOn;
+		/** The number of attacks on every argument with no attacker left out. */
+		private final int[] possibleOn;
+		/** The number of attackers attacked by the set, for every attack. */
+		private final int[] counteredCount;
+		/** The number of attacks on every argument none of whose attackers is attacked by the set. */
+		private final int[] uncounteredOn;
+		/** The decided arguments, in the order of their decisions. */
+		private final int[] trail;
+		/** The number of decided arguments. */
+		private int trailSize = 0;
+		/** The arguments chosen at every level of the search. */
+		private final int[] decisions;
+		/** The number of decided arguments before every choice. */
+		private final int[] decisionTrail;
+		/** Whether the choice has already been reverted at every level. */
+		private final boolean[] reverted;
+		/** The current level of the search. */
+		private int depth = 0;
+		/** The pending propagations (the argument times 2, plus 1 if it is left out). */
+		private final Deque<Integer> queue = new ArrayDeque<>();
+		/** The arguments whose counters changed in the last assignment. */
+		private final List<Integer> touched = new ArrayList<>();
+		/** Whether the current assignment is contradictory. */
+		private boolean conflict = false;
+		/** Whether the search has started. */
+		private boolean started = false;
+		/** The next solution, if already found. */
+		private BitSet next;
+		/** Whether there are no more solutions. */
+		private boolean exhausted = false;
+
+		/**
+		 * Creates a new search.
+		 * @param semantics one of CF, ADM, CO and ST
+		 * @param in arguments that have to be in the sets
+		 * @param out arguments that must not be in the sets
+		 */
+		private Search(Semantics semantics, BitSet in, BitSet out) {
+			switch(semantics) {
+				case CF: case ADM: case CO: case ST:
+					break;
+				default:
+					throw new IllegalArgumentException("Semantics " + semantics + " is not supported.");
+			}
+			this.semantics = semantics;
+			int n = arguments.length;
+			this.labels = new byte[n];
+			this.inCount = new int[targets.length];
+			this.outCount = new int[targets.length];
+			this.counteredCount = new int[targets.length];
+			this.firedOn = new int[n];
+			this.possibleOn = new int[n];
+			this.uncounteredOn = new int[n];
+			for(int i = 0; i < n; i++) {
+				this.possibleOn[i] = attacksOn[i].length;
+				this.uncounteredOn[i] = attacksOn[i].length;
+			}
+			this.trail = new int[n];
+			this.decisions = new int[n];
+			this.decisionTrail = new int[n];
+			this.reverted = new boolean[n];
+			for(int i = in.nextSetBit(0); i >= 0; i = in.nextSetBit(i + 1))
+				this.queue.add(i << 1);
+			for(int i = out.nextSetBit(0); i >= 0; i = out.nextSetBit(i + 1))
+				this.queue.add((i << 1) | 1);
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#hasNext()
+		 */
+		@Override
+		public boolean hasNext() {
+			if(this.next == null && !this.exhausted) {
+				this.next = this.find();
+				this.exhausted = this.next == null;
+			}
+			return this.next != null;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#next()
+		 */
+		@Override
+		public BitSet next() {
+			if(!this.hasNext())
+				throw new NoSuchElementException();
+			BitSet result = this.next;
+			this.next = null;
+			return result;
+		}
+
+		/**
+		 * Finds the next solution.
+		 * @return the next solution or null if there is none
+		 */
+		private BitSet find() {
+			if(!this.started) {
+				this.started = true;
+				for(int i = 0; i < arguments.length; i++)
+					this.checkArgument(i);
+				for(int j = 0; j < clauses.length; j++)
+					this.checkClause(j);
+				this.propagate();
+			}else if(!this.backtrack())
+				return null;
+			while(true) {
+				if(this.conflict) {
+					if(!this.backtrack())
+						return null;
+					continue;
+				}
+				int v = -1;
+				for(int i = 0; i < this.labels.length; i++)
+					if(this.labels[i] == 0) {
+						v = i;
+						break;
+					}
+				if(v < 0) {
+					BitSet solution = new BitSet(arguments.length);
+					for(int i = 0; i < this.labels.length; i++)
+						if(this.labels[i] == IN)
+							solution.set(i);
+					return solution;
+				}
+				this.decisions[this.depth] = v;
+				this.decisionTrail[this.depth] = this.trailSize;
+				this.reverted[this.depth] = false;
+				this.depth++;
+				this.queue.add(v << 1);
+				this.propagate();
+			}
+		}
+
+		/**
+		 * Reverts the deepest choice that has not been reverted yet.
+		 * @return false if there is no such choice
+		 */
+		private boolean backtrack() {
+			while(this.depth > 0) {
+				this.depth--;
+				if(!this.reverted[this.depth]) {
+					this.undo(this.decisionTrail[this.depth]);
+					this.reverted[this.depth] = true;
+					this.depth++;
+					this.queue.add((this.decisions[this.depth - 1] << 1) | 1);
+					this.propagate();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Processes the pending propagations until there are none or a conflict occurs.
+		 */
+		private void propagate() {
+			while(!this.queue.isEmpty() && !this.conflict) {
+				int code = this.queue.poll();
+				int v = code >> 1;
+				byte label = (code & 1) == 0 ? IN : OUT;
+				if(this.labels[v] == label)
+					continue;
+				if(this.labels[v] != 0)
+					this.conflict = true;
+				else this.assign(v, label);
+			}
+			this.queue.clear();
+		}
+
+		/**
+		 * Assigns the given label to the given argument, updates the counters and checks
+		 * the affected attacks and arguments.
+		 * @param v an argument
+		 * @param label its label
+		 */
+		private void assign(int v, byte label) {
+			this.labels[v] = label;
+			this.trail[this.trailSize++] = v;
+			this.touched.clear();
+			this.touched.add(v);
+			if(label == IN) {
+				for(int j: attacksWith[v])
+					if(++this.inCount[j] == members[j].length) {
+						int b = targets[j];
+						this.touched.add(b);
+						if(this.firedOn[b]++ == 0)
+							// b is now attacked by the set
+							for(int k: attacksWith[b])
+								if(this.counteredCount[k]++ == 0 && --this.uncounteredOn[targets[k]] == 0)
+									this.touched.add(targets[k]);
+					}
+			}else {
+				for(int j: attacksWith[v])
+					if(this.outCount[j]++ == 0) {
+						int b = targets[j];
+						this.touched.add(b);
+						if(--this.possibleOn[b] <= 1)
+							// b can be attacked by the set in at most one way
+							for(int k: attacksWith[b])
+								this.touched.add(targets[k]);
+					}
+			}
+			for(int j: attacksWith[v])
+				this.checkClause(j);
+			for(int j: attacksOn[v])
+				this.checkClause(j);
+			for(int a: this.touched)
+				this.checkArgument(a);
+		}
+
+		/**
+		 * Reverts all assignments after the given position of the trail.
+		 * @param position some position of the trail
+		 */
+		private void undo(int position) {
+			while(this.trailSize > position) {
+				int v = this.trail[--this.trailSize];
+				if(this.labels[v] == IN) {
+					for(int j: attacksWith[v])
+						if(this.inCount[j]-- == members[j].length) {
+							int b = targets[j];
+							if(--this.firedOn[b] == 0)
+								for(int k: attacksWith[b])
+									if(--this.counteredCount[k] == 0)
+										this.uncounteredOn[targets[k]]++;
+						}
+				}else {
+					for(int j: attacksWith[v])
+						if(--this.outCount[j] == 0)
+							this.possibleOn[targets[j]]++;
+				}
+				this.labels[v] = 0;
+			}
+			this.conflict = false;
+		}
+
+		/**
+		 * Checks that not all arguments of the given attack are in the set, and leaves out
+		 * the last undecided one if all others are.
+		 * @param j an attack
+		 */
+		private void checkClause(int j) {
+			int undecided = -1;
+			int count = 0;
+			for(int v: clauses[j]) {
+				if(this.labels[v] == OUT)
+					return;
+				if(this.labels[v] == 0) {
+					undecided = v;
+					count++;
+				}
+			}
+			if(count == 0)
+				this.conflict = true;
+			else if(count == 1)
+				this.queue.add((undecided << 1) | 1);
+		}
+
+		/**
+		 * Checks the conditions of the semantics for the given argument.
+		 * @param a an argument
+		 */
+		private void checkArgument(int a) {
+			switch(this.semantics) {
+				case CO:
+					if(this.uncounteredOn[a] == 0) {
+						// a is defended by the set
+						if(this.labels[a] == OUT)
+							this.conflict = true;
+						else if(this.labels[a] == 0)
+							this.queue.add(a << 1);
+					}
+					// fall through
+				case ADM:
+					if(this.labels[a] != OUT)
+						for(int j: attacksOn[a])
+							this.checkDefense(a, j);
+					break;
+				case ST:
+					if(this.firedOn[a] > 0 || this.possibleOn[a] > 1)
+						break;
+					if(this.possibleOn[a] == 0) {
+						// a cannot be attacked by the set
+						if(this.labels[a] == OUT)
+							this.conflict = true;
+						else if(this.labels[a] == 0)
+							this.queue.add(a << 1);
+					}else if(this.labels[a] == OUT)
+						// only one attack on a is left
+						for(int j: attacksOn[a])
+							if(this.outCount[j] == 0)
+								for(int c: members[j])
+									if(this.labels[c] == 0)
+										this.queue.add(c << 1);
+					break;
+				default:
+			}
+		}
+
+		/**
+		 * Checks whether the given attack on the given argument can still be countered by the set.
+		 * If not, the argument is left out (or the search backtracks if it is in the set). If the
+		 * argument is in the set and there is only one attack left that could counter the given
+		 * attack, all of its attackers are put into the set.
+		 * @param a an argument that is not left out
+		 * @param j an attack on the argument
+		 */
+		private void checkDefense(int a, int j) {
+			if(this.counteredCount[j] > 0)
+				return;
+			int counterable = -1;
+			for(int b: members[j])
+				if(this.possibleOn[b] > 0) {
+					if(counterable >= 0)
+						return;
+					counterable = b;
+				}
+			if(counterable < 0) {
+				if(this.labels[a] == IN)
+					this.conflict = true;
+				else this.queue.add((a << 1) | 1);
+			}else if(this.labels[a] == IN && this.possibleOn[counterable] == 1) {
+				for(int k: attacksOn[counterable])
+					if(this.outCount[k] == 0)
+						for(int c: members[k])
+							if(this.labels[c] == 0)
+								this.queue.add(c << 1);
+			}
+		}
+	}
+}
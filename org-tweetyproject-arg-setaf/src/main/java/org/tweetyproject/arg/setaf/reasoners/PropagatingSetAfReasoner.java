@@ -0,0 +1,202 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.arg.setaf.reasoners;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.semantics.Semantics;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.setaf.syntax.SetAf;
+import org.tweetyproject.commons.InferenceMode;
+
+/**
+ * This reasoner for SetAf theories enumerates the extensions of conflict-free, admissible,
+ * complete, preferred and stable semantics by a backtracking search that propagates over the
+ * collective attacks (see {@link IndexedSetAf}), instead of checking all subsets of arguments.
+ * <ul>
+ * <li>Conflict-free, admissible, complete and stable extensions are the solutions of the search.</li>
+ * <li>Preferred extensions are the complete extensions that cannot be extended by any further
+ * argument to an admissible set.</li>
+ * </ul>
+ * Extensions can be enumerated lazily with {@link #modelIterator(SetAf)}. Credulous queries stop at
+ * the first extension containing the argument, skeptical queries at the first extension not
+ * containing it.
+ */
+public class PropagatingSetAfReasoner extends AbstractExtensionSetAfReasoner {
+
+	/** The semantics. */
+	private Semantics semantics;
+
+	/**
+	 * Creates a new reasoner for the given semantics.
+	 * @param semantics one of CF, ADM, CO, PR and ST
+	 */
+	public PropagatingSetAfReasoner(Semantics semantics) {
+		switch(semantics) {
+			case CF: case ADM: case CO: case PR: case ST:
+				break;
+			default:
+				throw new IllegalArgumentException("Semantics " + semantics + " is not supported.");
+		}
+		this.semantics = semantics;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.arg.setaf.reasoners.AbstractExtensionSetAfReasoner#query(org.tweetyproject.arg.setaf.syntax.SetAf, org.tweetyproject.arg.dung.syntax.Argument, org.tweetyproject.commons.InferenceMode)
+	 */
+	@Override
+	public Boolean query(SetAf beliefbase, Argument formula, InferenceMode inferenceMode) {
+		IndexedSetAf setaf = new IndexedSetAf(beliefbase);
+		int i = setaf.indexOf(formula);
+		if(i < 0)
+			return inferenceMode.equals(InferenceMode.SKEPTICAL) && !this.modelIterator(setaf).hasNext();
+		BitSet arg = new BitSet();
+		arg.set(i);
+		if(inferenceMode.equals(InferenceMode.CREDULOUS)) {
+			// an argument is in some preferred or complete extension iff it is in some admissible set
+			Semantics semantics = this.semantics == Semantics.PR || this.semantics == Semantics.CO ? Semantics.ADM : this.semantics;
+			return setaf.search(semantics, arg, new BitSet()).hasNext();
+		}
+		if(this.semantics == Semantics.PR) {
+			Iterator<BitSet> it = this.preferred(setaf);
+			while(it.hasNext())
+				if(!it.next().get(i))
+					return false;
+			return true;
+		}
+		return !setaf.search(this.semantics, new BitSet(), arg).hasNext();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.ModelProvider#getModels(org.tweetyproject.commons.BeliefBase)
+	 */
+	@Override
+	public Collection<Extension<SetAf>> getModels(SetAf bbase) {
+		Collection<Extension<SetAf>> extensions = new HashSet<Extension<SetAf>>();
+		Iterator<Extension<SetAf>> it = this.modelIterator(bbase);
+		while(it.hasNext())
+			extensions.add(it.next());
+		return extensions;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.ModelProvider#getModel(org.tweetyproject.commons.BeliefBase)
+	 */
+	@Override
+	public Extension<SetAf> getModel(SetAf bbase) {
+		Iterator<Extension<SetAf>> it = this.modelIterator(bbase);
+		return it.hasNext() ? it.next() : null;
+	}
+
+	/**
+	 * Returns an iterator over the extensions of the given SetAf, which are computed only
+	 * when they are requested.
+	 * @param bbase some SetAf
+	 * @return an iterator over its extensions
+	 */
+	public Iterator<Extension<SetAf>> modelIterator(SetAf bbase) {
+		IndexedSetAf setaf = new IndexedSetAf(bbase);
+		Iterator<BitSet> it = this.modelIterator(setaf);
+		return new Iterator<Extension<SetAf>>() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public Extension<SetAf> next() {
+				return setaf.toExtension(it.next());
+			}
+		};
+	}
+
+	/**
+	 * Returns an iterator over the extensions of the given indexed SetAf.
+	 * @param setaf an indexed SetAf
+	 * @return an iterator over its extensions
+	 */
+	private Iterator<BitSet> modelIterator(IndexedSetAf setaf) {
+		if(this.semantics == Semantics.PR)
+			return this.preferred(setaf);
+		return setaf.search(this.semantics, new BitSet(), new BitSet());
+	}
+
+	/**
+	 * Returns an iterator over the preferred extensions of the given indexed SetAf.
+	 * @param setaf an indexed SetAf
+	 * @return an iterator over its preferred extensions
+	 */
+	private Iterator<BitSet> preferred(IndexedSetAf setaf) {
+		Iterator<BitSet> complete = setaf.search(Semantics.CO, new BitSet(), new BitSet());
+		return new Iterator<BitSet>() {
+			/** The next preferred extension, if already found. */
+			private BitSet next;
+
+			@Override
+			public boolean hasNext() {
+				while(this.next == null && complete.hasNext()) {
+					BitSet ext = complete.next();
+					if(this.isMaximal(ext))
+						this.next = ext;
+				}
+				return this.next != null;
+			}
+
+			@Override
+			public BitSet next() {
+				if(!this.hasNext())
+					throw new NoSuchElementException();
+				BitSet result = this.next;
+				this.next = null;
+				return result;
+			}
+
+			/**
+			 * Checks whether no argument can be added to the given complete extension
+			 * such that some admissible set contains both.
+			 * @param ext a complete extension
+			 * @return true iff the extension is preferred
+			 */
+			private boolean isMaximal(BitSet ext) {
+				for(int i = 0; i < setaf.size(); i++) {
+					if(ext.get(i))
+						continue;
+					BitSet in = (BitSet) ext.clone();
+					in.set(i);
+					if(setaf.search(Semantics.ADM, in, new BitSet()).hasNext())
+						return false;
+				}
+				return true;
+			}
+		};
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.Reasoner#isInstalled()
+	 */
+	@Override
+	public boolean isInstalled() {
+		return true;
+	}
+}
@@ -20,16 +20,19 @@
 
 
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashSet;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
+import org.tweetyproject.arg.dung.semantics.Semantics;
 import org.tweetyproject.arg.dung.syntax.Argument;
 import org.tweetyproject.arg.setaf.syntax.SetAttack;
 import org.tweetyproject.arg.setaf.syntax.SetAf;
 import org.tweetyproject.arg.setaf.reasoners.*;
+import org.tweetyproject.commons.InferenceMode;
 
 
 /**
@@ -77,4 +80,38 @@ public class SetAfTheoryTest {
 
 	}
 
+	@Test
+	public void propagatingTest() {
+		SetAf s = new SetAf();
+		Argument a = new Argument("a");
+		Argument b = new Argument("b");
+		Argument c = new Argument("c");
+		Argument d = new Argument("d");
+		s.add(a);
+		s.add(b);
+		s.add(c);
+		s.add(d);
+		
+		Set<Argument> a1 = new HashSet<Argument>();
+		a1.add(b);
+		a1.add(d);
+		
+		Set<Argument> a2 = new HashSet<Argument>();
+		a2.add(c);
+		a2.add(a);
+		
+		s.add(new SetAttack(a1, a));
+		s.add(new SetAttack(a2, c));
+
+		PropagatingSetAfReasoner pr = new PropagatingSetAfReasoner(Semantics.PR);
+		PropagatingSetAfReasoner st = new PropagatingSetAfReasoner(Semantics.ST);
+		
+		// {b,d} attacks a and thereby defends c against the attack of {c,a}
+		assertTrue(pr.getModels(s).toString().equals("[{b,c,d}]"));
+		assertTrue(st.getModels(s).toString().equals("[{b,c,d}]"));
+		assertTrue(pr.query(s, c, InferenceMode.SKEPTICAL));
+		assertFalse(pr.query(s, a, InferenceMode.CREDULOUS));
+		assertTrue(new PropagatingSetAfReasoner(Semantics.ADM).getModels(s).size() == 5);
+	}
+
 }
@@ -24,6 +24,8 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.tweetyproject.commons.metrics.Metrics;
+
 /**
  * This class models an abstract parser for belief bases and formulas.
  *
@@ -51,10 +53,15 @@ public abstract class Parser<T extends BeliefBase, S extends Formula> {
 	 * @throws ParserException       some parsing exceptions may be added here.
 	 */
 	public T parseBeliefBaseFromFile(String filename) throws FileNotFoundException, IOException, ParserException {
-		InputStreamReader reader = new InputStreamReader(new java.io.FileInputStream(filename));
-		T bs = this.parseBeliefBase(reader);
-		reader.close();
-		return bs;
+		long start = Metrics.startTimer();
+		try {
+			InputStreamReader reader = new InputStreamReader(new java.io.FileInputStream(filename));
+			T bs = this.parseBeliefBase(reader);
+			reader.close();
+			return bs;
+		} finally {
+			Metrics.stopTimer("parser.parseBeliefBaseFromFile", start);
+		}
 	}
 
 	/**
@@ -66,7 +73,12 @@ public abstract class Parser<T extends BeliefBase, S extends Formula> {
 	 * @throws ParserException some parsing exceptions may be added here.
 	 */
 	public T parseBeliefBase(String text) throws IOException, ParserException {
-		return this.parseBeliefBase(new StringReader(text));
+		long start = Metrics.startTimer();
+		try {
+			return this.parseBeliefBase(new StringReader(text));
+		} finally {
+			Metrics.stopTimer("parser.parseBeliefBase", start);
+		}
 	}
 
 	/**
@@ -0,0 +1,129 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.commons.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe histogram of non-negative values with exponentially growing buckets: bucket 0
+ * counts values &lt;= 0 and bucket k &gt; 0 counts values in [2^(k-1), 2^k). Quantiles are
+ * estimated by the upper bounds of the buckets, i.e. they are exact up to a factor of 2.
+ */
+public class Histogram {
+
+	/** The counts of the buckets */
+	private final long[] buckets = new long[65];
+
+	/** The number of values */
+	private long count = 0;
+
+	/** The sum of the values */
+	private long sum = 0;
+
+	/** The smallest value */
+	private long min = Long.MAX_VALUE;
+
+	/** The largest value */
+	private long max = Long.MIN_VALUE;
+
+	/**
+	 * Records the given value.
+	 * @param value some value
+	 */
+	public synchronized void record(long value) {
+		this.buckets[value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value)]++;
+		this.count++;
+		this.sum += value;
+		this.min = Math.min(this.min, value);
+		this.max = Math.max(this.max, value);
+	}
+
+	/**
+	 * @return the number of values
+	 */
+	public synchronized long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * @return the sum of the values
+	 */
+	public synchronized long getSum() {
+		return this.sum;
+	}
+
+	/**
+	 * @return the smallest value, 0 if there are no values
+	 */
+	public synchronized long getMin() {
+		return this.count == 0 ? 0 : this.min;
+	}
+
+	/**
+	 * @return the largest value, 0 if there are no values
+	 */
+	public synchronized long getMax() {
+		return this.count == 0 ? 0 : this.max;
+	}
+
+	/**
+	 * @return the mean of the values, 0 if there are no values
+	 */
+	public synchronized double getMean() {
+		return this.count == 0 ? 0 : (double) this.sum / this.count;
+	}
+
+	/**
+	 * Estimates the given quantile of the values.
+	 * @param q some number in [0,1]
+	 * @return an upper bound of the q-quantile that is at most twice the q-quantile, 0 if there are no values
+	 */
+	public synchronized long getQuantile(double q) {
+		if(this.count == 0)
+			return 0;
+		long rank = (long) Math.ceil(q * this.count);
+		long seen = 0;
+		for(int k = 0; k < this.buckets.length; k++) {
+			seen += this.buckets[k];
+			if(seen >= rank && this.buckets[k] > 0)
+				return Math.min(k == 0 ? 0 : (k == 64 ? Long.MAX_VALUE : (1L << k) - 1), this.max);
+		}
+		return this.max;
+	}
+
+	/**
+	 * Returns a summary of this histogram, with all values divided by the given scale
+	 * (e.g. for converting nanoseconds to milliseconds).
+	 * @param scale some positive number
+	 * @return the number of values and their sum, minimum, maximum, mean, median, 90% and 99% quantile
+	 */
+	public synchronized Map<String,Object> toMap(double scale) {
+		Map<String,Object> map = new LinkedHashMap<String,Object>();
+		map.put("count", this.count);
+		map.put("sum", this.getSum() / scale);
+		map.put("min", this.getMin() / scale);
+		map.put("max", this.getMax() / scale);
+		map.put("mean", this.getMean() / scale);
+		map.put("p50", this.getQuantile(0.5) / scale);
+		map.put("p90", this.getQuantile(0.9) / scale);
+		map.put("p99", this.getQuantile(0.99) / scale);
+		return map;
+	}
+}
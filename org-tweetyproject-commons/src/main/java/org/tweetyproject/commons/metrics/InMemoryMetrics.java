@@ -0,0 +1,184 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.commons.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A listener that aggregates all measurements in memory: counters are summed up, values and
+ * timers are collected in {@link Histogram}s, and the most recently finished spans are kept.
+ * A snapshot of all measurements can be taken at any time, e.g. for exporting it as JSON.
+ */
+public class InMemoryMetrics implements MetricsListener {
+
+	/** The counters, by name */
+	private final Map<String,LongAdder> counters = new ConcurrentHashMap<String,LongAdder>();
+
+	/** The distributions of values, by name */
+	private final Map<String,Histogram> values = new ConcurrentHashMap<String,Histogram>();
+
+	/** The distributions of times (in ns), by name */
+	private final Map<String,Histogram> timers = new ConcurrentHashMap<String,Histogram>();
+
+	/** The most recently finished spans, guarded by itself */
+	private final ArrayDeque<Span> spans = new ArrayDeque<Span>();
+
+	/** The maximal number of spans kept */
+	private final int maxSpans;
+
+	/**
+	 * Creates a new listener keeping the last 100 spans.
+	 */
+	public InMemoryMetrics() {
+		this(100);
+	}
+
+	/**
+	 * Creates a new listener.
+	 * @param maxSpans the maximal number of finished spans kept
+	 */
+	public InMemoryMetrics(int maxSpans) {
+		this.maxSpans = maxSpans;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.metrics.MetricsListener#counter(java.lang.String, long)
+	 */
+	@Override
+	public void counter(String name, long delta) {
+		this.counters.computeIfAbsent(name, n -> new LongAdder()).add(delta);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.metrics.MetricsListener#value(java.lang.String, long)
+	 */
+	@Override
+	public void value(String name, long value) {
+		this.values.computeIfAbsent(name, n -> new Histogram()).record(value);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.metrics.MetricsListener#timer(java.lang.String, long)
+	 */
+	@Override
+	public void timer(String name, long nanos) {
+		this.timers.computeIfAbsent(name, n -> new Histogram()).record(nanos);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.metrics.MetricsListener#spanFinished(org.tweetyproject.commons.metrics.Span)
+	 */
+	@Override
+	public void spanFinished(Span span) {
+		if(this.maxSpans <= 0)
+			return;
+		synchronized(this.spans) {
+			if(this.spans.size() >= this.maxSpans)
+				this.spans.removeFirst();
+			this.spans.addLast(span);
+		}
+	}
+
+	/**
+	 * Returns the value of the given counter.
+	 * @param name the name of some counter
+	 * @return its value, 0 if it has never been incremented
+	 */
+	public long getCounter(String name) {
+		LongAdder counter = this.counters.get(name);
+		return counter == null ? 0 : counter.sum();
+	}
+
+	/**
+	 * Returns the distribution of the given values.
+	 * @param name the name of some distribution
+	 * @return the histogram of its values, or null if no value has been recorded
+	 */
+	public Histogram getValues(String name) {
+		return this.values.get(name);
+	}
+
+	/**
+	 * Returns the distribution of the given timer.
+	 * @param name the name of some timer
+	 * @return the histogram of its times (in ns), or null if it has never been stopped
+	 */
+	public Histogram getTimer(String name) {
+		return this.timers.get(name);
+	}
+
+	/**
+	 * Returns a snapshot of all measurements, consisting of nested maps and lists of strings and
+	 * numbers only: "counters" maps names to values, "values" and "timers" map names to summaries
+	 * of their histograms (times in ms, see {@link Histogram#toMap(double)}) and "spans" lists the
+	 * most recently finished spans with their name, id, parent id, start time, duration (in ms)
+	 * and attributes.
+	 * @return a snapshot of all measurements
+	 */
+	public Map<String,Object> snapshot() {
+		Map<String,Object> snapshot = new LinkedHashMap<String,Object>();
+		Map<String,Object> counters = new TreeMap<String,Object>();
+		for(Map.Entry<String,LongAdder> e: this.counters.entrySet())
+			counters.put(e.getKey(), e.getValue().sum());
+		snapshot.put("counters", counters);
+		Map<String,Object> values = new TreeMap<String,Object>();
+		for(Map.Entry<String,Histogram> e: this.values.entrySet())
+			values.put(e.getKey(), e.getValue().toMap(1));
+		snapshot.put("values", values);
+		Map<String,Object> timers = new TreeMap<String,Object>();
+		for(Map.Entry<String,Histogram> e: this.timers.entrySet())
+			timers.put(e.getKey(), e.getValue().toMap(1e6));
+		snapshot.put("timers", timers);
+		List<Object> spans = new ArrayList<Object>();
+		synchronized(this.spans) {
+			for(Span span: this.spans) {
+				Map<String,Object> s = new LinkedHashMap<String,Object>();
+				s.put("name", span.getName());
+				s.put("id", span.getId());
+				if(span.getParent() != null)
+					s.put("parent", span.getParent().getId());
+				s.put("start", span.getStartTime());
+				s.put("duration", span.getDuration() / 1e6);
+				s.put("attributes", span.getAttributes());
+				spans.add(s);
+			}
+		}
+		snapshot.put("spans", spans);
+		return snapshot;
+	}
+
+	/**
+	 * Removes all measurements.
+	 */
+	public void reset() {
+		this.counters.clear();
+		this.values.clear();
+		this.timers.clear();
+		synchronized(this.spans) {
+			this.spans.clear();
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.commons.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A listener that emits all measurements as Java Flight Recorder events (in the category
+ * "TweetyProject"), so that they can be analysed together with the CPU, memory and thread
+ * events of the JVM. Events are only created while a recording with these events enabled
+ * is running.
+ */
+public class JfrMetricsListener implements MetricsListener {
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.metrics.MetricsListener#counter(java.lang.String, long)
+	 */
+	@Override
+	public void counter(String name, long delta) {
+		CounterEvent event = new CounterEvent();
+		if(!event.isEnabled())
+			return;
+		event.name = name;
+		event.delta = delta;
+		event.commit();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.metrics.MetricsListener#value(java.lang.String, long)
+	 */
+	@Override
+	public void value(String name, long value) {
+		ValueEvent event = new ValueEvent();
+		if(!event.isEnabled())
+			return;
+		event.name = name;
+		event.value = value;
+		event.commit();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.metrics.MetricsListener#timer(java.lang.String, long)
+	 */
+	@Override
+	public void timer(String name, long nanos) {
+		TimerEvent event = new TimerEvent();
+		if(!event.isEnabled())
+			return;
+		event.name = name;
+		event.time = nanos;
+		event.commit();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.metrics.MetricsListener#spanFinished(org.tweetyproject.commons.metrics.Span)
+	 */
+	@Override
+	public void spanFinished(Span span) {
+		SpanEvent event = new SpanEvent();
+		if(!event.isEnabled())
+			return;
+		event.name = span.getName();
+		event.id = span.getId();
+		event.parent = span.getParent() == null ? 0 : span.getParent().getId();
+		event.elapsed = span.getDuration();
+		event.attributes = span.getAttributes().toString();
+		event.commit();
+	}
+
+	/** Increment of a counter */
+	@Name("org.tweetyproject.Counter")
+	@Label("Counter")
+	@Category("TweetyProject")
+	static class CounterEvent extends Event {
+		@Label("Name")
+		String name;
+		@Label("Delta")
+		long delta;
+	}
+
+	/** Value of a distribution */
+	@Name("org.tweetyproject.Value")
+	@Label("Value")
+	@Category("TweetyProject")
+	static class ValueEvent extends Event {
+		@Label("Name")
+		String name;
+		@Label("Value")
+		long value;
+	}
+
+	/** Measurement of a timer */
+	@Name("org.tweetyproject.Timer")
+	@Label("Timer")
+	@Category("TweetyProject")
+	static class TimerEvent extends Event {
+		@Label("Name")
+		String name;
+		@Label("Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long time;
+	}
+
+	/** A finished span */
+	@Name("org.tweetyproject.Span")
+	@Label("Span")
+	@Category("TweetyProject")
+	static class SpanEvent extends Event {
+		@Label("Name")
+		String name;
+		@Label("Id")
+		long id;
+		@Label("Parent Id")
+		long parent;
+		@Label("Span Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+		@Label("Attributes")
+		String attributes;
+	}
+}
@@ -0,0 +1,289 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.commons.metrics;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+import org.tweetyproject.commons.BeliefBase;
+import org.tweetyproject.commons.Formula;
+import org.tweetyproject.commons.Interpretation;
+import org.tweetyproject.commons.ModelProvider;
+import org.tweetyproject.commons.Reasoner;
+
+/**
+ * The entry point for instrumenting code with metrics. Reasoners, solvers, parsers and
+ * services report counters, values (e.g. CNF sizes), timers and spans to this class, which
+ * forwards them to all registered {@link MetricsListener}s.
+ * <br>
+ * As long as no listener is registered, all methods return immediately, so that instrumented
+ * code has (almost) no overhead. Typical usage:
+ * <pre>
+ * long start = Metrics.startTimer();
+ * try {
+ *     ...
+ * } finally {
+ *     Metrics.stopTimer("sat.solve", start);
+ * }
+ * </pre>
+ * Reasoners and model providers are measured by calling them through {@link #query(Reasoner, BeliefBase, Formula)},
+ * {@link #getModels(ModelProvider, BeliefBase)} and {@link #getModel(ModelProvider, BeliefBase)}.
+ * <br>
+ * For spans (nested spans started in the same thread become children of the enclosing span):
+ * <pre>
+ * try(Span span = Metrics.startSpan("request")) {
+ *     span.setAttribute("semantics", "co");
+ *     ...
+ * }
+ * </pre>
+ */
+public final class Metrics {
+
+	/** The value returned by {@link #startTimer()} when no listener is registered */
+	private static final long DISABLED = Long.MIN_VALUE;
+
+	/** The registered listeners (copy on write) */
+	private static volatile MetricsListener[] listeners = new MetricsListener[0];
+
+	/** The innermost span of each thread */
+	private static final ThreadLocal<Span> CURRENT = new ThreadLocal<Span>();
+
+	/** No instances */
+	private Metrics() {
+	}
+
+	/**
+	 * Checks whether measurements are recorded, i.e. whether some listener is registered.
+	 * Code may use this to skip computing expensive measurements.
+	 * @return "true" iff some listener is registered
+	 */
+	public static boolean isEnabled() {
+		return Metrics.listeners.length > 0;
+	}
+
+	/**
+	 * Registers the given listener.
+	 * @param listener some listener
+	 */
+	public static synchronized void addListener(MetricsListener listener) {
+		MetricsListener[] ls = Arrays.copyOf(Metrics.listeners, Metrics.listeners.length + 1);
+		ls[ls.length - 1] = listener;
+		Metrics.listeners = ls;
+	}
+
+	/**
+	 * Removes the given listener.
+	 * @param listener some listener
+	 */
+	public static synchronized void removeListener(MetricsListener listener) {
+		Metrics.listeners = Arrays.stream(Metrics.listeners).filter(l -> l != listener).toArray(MetricsListener[]::new);
+	}
+
+	/**
+	 * Increments the given counter by one.
+	 * @param name the name of the counter
+	 */
+	public static void increment(String name) {
+		Metrics.increment(name, 1);
+	}
+
+	/**
+	 * Increments the given counter.
+	 * @param name the name of the counter
+	 * @param delta the increment
+	 */
+	public static void increment(String name, long delta) {
+		for(MetricsListener listener: Metrics.listeners)
+			listener.counter(name, delta);
+	}
+
+	/**
+	 * Records a value of the given distribution.
+	 * @param name the name of the distribution
+	 * @param value some value
+	 */
+	public static void record(String name, long value) {
+		for(MetricsListener listener: Metrics.listeners)
+			listener.value(name, value);
+	}
+
+	/**
+	 * Starts a timer.
+	 * @return the start time, to be passed to {@link #stopTimer(String, long)}
+	 */
+	public static long startTimer() {
+		return Metrics.listeners.length > 0 ? System.nanoTime() : DISABLED;
+	}
+
+	/**
+	 * Stops a timer and records the elapsed time.
+	 * @param name the name of the timer
+	 * @param start the value returned by {@link #startTimer()}
+	 */
+	public static void stopTimer(String name, long start) {
+		if(start == DISABLED)
+			return;
+		long nanos = System.nanoTime() - start;
+		for(MetricsListener listener: Metrics.listeners)
+			listener.timer(name, nanos);
+	}
+
+	/**
+	 * Queries the given belief base with the given reasoner and records the time of the query
+	 * (timer "reasoner.query " followed by the simple class name of the reasoner).
+	 * @param <O> the type of answers
+	 * @param <B> the type of belief bases
+	 * @param <F> the type of formulas
+	 * @param reasoner some reasoner
+	 * @param beliefbase some belief base
+	 * @param formula some formula
+	 * @return the answer of the reasoner
+	 */
+	public static <O,B extends BeliefBase,F extends Formula> O query(Reasoner<O,B,F> reasoner, B beliefbase, F formula) {
+		long start = Metrics.startTimer();
+		try {
+			return reasoner.query(beliefbase, formula);
+		} finally {
+			if(start != DISABLED)
+				Metrics.stopTimer("reasoner.query " + Metrics.getName(reasoner), start);
+		}
+	}
+
+	/**
+	 * Computes the models of the given belief base with the given model provider and records
+	 * the time of the computation (timer "reasoner.models " followed by the simple class name
+	 * of the provider) and the number of models (distribution "reasoner.models.count").
+	 * @param <S> the type of formulas
+	 * @param <B> the type of belief bases
+	 * @param <T> the type of models
+	 * @param provider some model provider
+	 * @param bbase some belief base
+	 * @return the models of the belief base
+	 */
+	public static <S extends Formula,B extends BeliefBase,T extends Interpretation<B,S>> Collection<T> getModels(ModelProvider<S,B,T> provider, B bbase) {
+		long start = Metrics.startTimer();
+		Collection<T> models = null;
+		try {
+			models = provider.getModels(bbase);
+			return models;
+		} finally {
+			if(start != DISABLED) {
+				Metrics.stopTimer("reasoner.models " + Metrics.getName(provider), start);
+				if(models != null)
+					Metrics.record("reasoner.models.count", models.size());
+			}
+		}
+	}
+
+	/**
+	 * Computes a single model of the given belief base with the given model provider and records
+	 * the time of the computation (timer "reasoner.model " followed by the simple class name
+	 * of the provider).
+	 * @param <S> the type of formulas
+	 * @param <B> the type of belief bases
+	 * @param <T> the type of models
+	 * @param provider some model provider
+	 * @param bbase some belief base
+	 * @return a model of the belief base
+	 */
+	public static <S extends Formula,B extends BeliefBase,T extends Interpretation<B,S>> T getModel(ModelProvider<S,B,T> provider, B bbase) {
+		long start = Metrics.startTimer();
+		try {
+			return provider.getModel(bbase);
+		} finally {
+			if(start != DISABLED)
+				Metrics.stopTimer("reasoner.model " + Metrics.getName(provider), start);
+		}
+	}
+
+	/**
+	 * Returns the name of the given reasoner used in timer names.
+	 * @param reasoner some reasoner or model provider
+	 * @return its simple class name, or its class name if it is anonymous
+	 */
+	private static String getName(Object reasoner) {
+		String name = reasoner.getClass().getSimpleName();
+		return name.isEmpty() ? reasoner.getClass().getName() : name;
+	}
+
+	/**
+	 * Starts a new span in the current thread, which becomes a child of the current span
+	 * (if any) and the current span until it is closed.
+	 * @param name the name of the span
+	 * @return the new span, or a span that ignores everything if no listener is registered
+	 */
+	public static Span startSpan(String name) {
+		MetricsListener[] ls = Metrics.listeners;
+		if(ls.length == 0)
+			return Span.NONE;
+		Span span = new Span(name, Metrics.CURRENT.get());
+		Metrics.CURRENT.set(span);
+		for(MetricsListener listener: ls)
+			listener.spanStarted(span);
+		return span;
+	}
+
+	/**
+	 * Finishes the given span, see {@link Span#close()}.
+	 * @param span some span
+	 */
+	static void finishSpan(Span span) {
+		if(Metrics.CURRENT.get() == span) {
+			if(span.getParent() == null)
+				Metrics.CURRENT.remove();
+			else Metrics.CURRENT.set(span.getParent());
+		}
+		for(MetricsListener listener: Metrics.listeners)
+			listener.spanFinished(span);
+	}
+
+	/**
+	 * Returns the innermost span of the current thread.
+	 * @return the current span, or null if there is none
+	 */
+	public static Span currentSpan() {
+		return Metrics.CURRENT.get();
+	}
+
+	/**
+	 * Returns a computation that runs the given computation with the current span of the
+	 * calling thread as its current span, so that spans started by computations handed
+	 * over to other threads (e.g. via an executor) become children of that span.
+	 * @param <T> the type of the result
+	 * @param callable some computation
+	 * @return the computation with the current span attached
+	 */
+	public static <T> Callable<T> propagate(Callable<T> callable) {
+		Span parent = Metrics.CURRENT.get();
+		if(parent == null)
+			return callable;
+		return () -> {
+			Span previous = Metrics.CURRENT.get();
+			Metrics.CURRENT.set(parent);
+			try {
+				return callable.call();
+			} finally {
+				if(previous == null)
+					Metrics.CURRENT.remove();
+				else Metrics.CURRENT.set(previous);
+			}
+		};
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.commons.metrics;
+
+/**
+ * A listener receiving all measurements reported to {@link Metrics}, e.g. for aggregating
+ * them in memory ({@link InMemoryMetrics}) or forwarding them to some monitoring system
+ * ({@link JfrMetricsListener}). Listeners are called from the threads doing the measured
+ * work, so they must be thread-safe and fast.
+ */
+public interface MetricsListener {
+
+	/**
+	 * Called when a counter is incremented.
+	 * @param name the name of the counter
+	 * @param delta the increment
+	 */
+	public void counter(String name, long delta);
+
+	/**
+	 * Called when a value of some distribution (e.g. the size of a CNF) is recorded.
+	 * @param name the name of the distribution
+	 * @param value the value
+	 */
+	public void value(String name, long value);
+
+	/**
+	 * Called when a timer is stopped.
+	 * @param name the name of the timer
+	 * @param nanos the measured time (in ns)
+	 */
+	public void timer(String name, long nanos);
+
+	/**
+	 * Called when a span is started.
+	 * @param span the span
+	 */
+	public default void spanStarted(Span span) {
+	}
+
+	/**
+	 * Called when a span is finished.
+	 * @param span the span
+	 */
+	public void spanFinished(Span span);
+}
@@ -0,0 +1,168 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.commons.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A span measures the duration of some unit of work, e.g. a request to a web service or a
+ * call of a reasoner, and carries attributes describing it. Spans are started via
+ * {@link Metrics#startSpan(String)} and nest: a span started while another span is the
+ * current span of the thread becomes its child.
+ */
+public class Span implements AutoCloseable {
+
+	/** The span returned while metrics are disabled, ignores everything */
+	static final Span NONE = new Span();
+
+	/** The ids of the spans */
+	private static final AtomicLong IDS = new AtomicLong();
+
+	/** The id of this span */
+	private final long id;
+
+	/** The name of this span */
+	private final String name;
+
+	/** The enclosing span, may be null */
+	private final Span parent;
+
+	/** The start time of this span (in ms since the epoch) */
+	private final long startTime;
+
+	/** The start time of this span (in ns, for measuring the duration) */
+	private final long startNanos;
+
+	/** The duration of this span (in ns), -1 while it is running */
+	private volatile long duration = -1;
+
+	/** The attributes of this span */
+	private final Map<String,Object> attributes;
+
+	/**
+	 * Creates the span ignoring everything.
+	 */
+	private Span() {
+		this.id = 0;
+		this.name = "";
+		this.parent = null;
+		this.startTime = 0;
+		this.startNanos = 0;
+		this.attributes = Collections.emptyMap();
+	}
+
+	/**
+	 * Creates a new running span.
+	 * @param name the name of the span
+	 * @param parent the enclosing span, may be null
+	 */
+	Span(String name, Span parent) {
+		this.id = Span.IDS.incrementAndGet();
+		this.name = name;
+		this.parent = parent;
+		this.startTime = System.currentTimeMillis();
+		this.startNanos = System.nanoTime();
+		this.attributes = new LinkedHashMap<String,Object>();
+	}
+
+	/**
+	 * Sets an attribute of this span.
+	 * @param key the key of the attribute
+	 * @param value the value of the attribute
+	 * @return this span
+	 */
+	public Span setAttribute(String key, Object value) {
+		if(this != Span.NONE)
+			synchronized(this.attributes) {
+				this.attributes.put(key, value);
+			}
+		return this;
+	}
+
+	/**
+	 * Finishes this span and restores the enclosing span as the current span of the thread.
+	 * Closing a span more than once has no effect.
+	 */
+	@Override
+	public void close() {
+		if(this == Span.NONE)
+			return;
+		synchronized(this) {
+			if(this.duration >= 0)
+				return;
+			this.duration = System.nanoTime() - this.startNanos;
+		}
+		Metrics.finishSpan(this);
+	}
+
+	/**
+	 * @return the id of this span
+	 */
+	public long getId() {
+		return this.id;
+	}
+
+	/**
+	 * @return the name of this span
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * @return the enclosing span, or null if there is none
+	 */
+	public Span getParent() {
+		return this.parent;
+	}
+
+	/**
+	 * @return the start time of this span (in ms since the epoch)
+	 */
+	public long getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * @return the duration of this span (in ns), -1 if it is still running
+	 */
+	public long getDuration() {
+		return this.duration;
+	}
+
+	/**
+	 * @return a copy of the attributes of this span
+	 */
+	public Map<String,Object> getAttributes() {
+		synchronized(this.attributes) {
+			return new LinkedHashMap<String,Object>(this.attributes);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return this.name + "#" + this.id + this.getAttributes();
+	}
+}
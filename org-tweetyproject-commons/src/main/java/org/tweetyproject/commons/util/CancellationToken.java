@@ -0,0 +1,113 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.commons.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+
+/**
+ * A token for the cooperative cancellation of long-running computations. A token
+ * is bound to the thread executing a computation (see {@link #call(CancellationToken, Callable)})
+ * and the computation polls it via {@link #checkpoint()} in its main loops, so that
+ * cancelling the token (or interrupting the thread running it) actually stops the
+ * computation instead of leaving it running in the background.
+ * <br>
+ * Checkpoints have no effect on computations that are not run with a bound token, in
+ * particular they neither throw nor touch the interrupted status of the thread.
+ */
+public class CancellationToken {
+
+	/** The token bound to the current thread, if any. */
+	private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<CancellationToken>();
+
+	/** Whether this token has been cancelled. */
+	private volatile boolean cancelled = false;
+
+	/**
+	 * Cancels this token. All computations polling it will stop at their next checkpoint.
+	 */
+	public void cancel() {
+		this.cancelled = true;
+	}
+
+	/**
+	 * Checks whether this token has been cancelled.
+	 * @return "true" iff this token has been cancelled
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * Throws a {@link CancellationException} if this token has been cancelled.
+	 * @throws CancellationException if this token has been cancelled
+	 */
+	public void throwIfCancelled() throws CancellationException {
+		if(this.cancelled)
+			throw new CancellationException("Computation has been cancelled.");
+	}
+
+	/**
+	 * Returns the token bound to the current thread.
+	 * @return the token bound to the current thread, or <b>null</b> if there is none
+	 */
+	public static CancellationToken current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Runs the given computation in the current thread with the given token bound to it.
+	 * The previously bound token is restored afterwards.
+	 * @param <T> the type of the result
+	 * @param token some token
+	 * @param callable some computation
+	 * @return the result of the computation
+	 * @throws Exception if the computation throws an exception, in particular a
+	 *    {@link CancellationException} if it has been cancelled
+	 */
+	public static <T> T call(CancellationToken token, Callable<T> callable) throws Exception {
+		CancellationToken previous = CURRENT.get();
+		CURRENT.set(token);
+		try {
+			token.throwIfCancelled();
+			return callable.call();
+		} finally {
+			if(previous == null)
+				CURRENT.remove();
+			else CURRENT.set(previous);
+		}
+	}
+
+	/**
+	 * Polls for a cancellation of the current computation. This method is meant to be
+	 * called regularly in long-running loops; if a token is bound to the current thread,
+	 * it throws a {@link CancellationException} if the token has been cancelled or if the
+	 * thread has been interrupted (without clearing its interrupted status). Without a
+	 * bound token, this method does nothing.
+	 * @throws CancellationException if the current computation has been cancelled
+	 */
+	public static void checkpoint() throws CancellationException {
+		CancellationToken token = CURRENT.get();
+		if(token == null)
+			return;
+		token.throwIfCancelled();
+		if(Thread.currentThread().isInterrupted())
+			throw new CancellationException("Computation has been interrupted.");
+	}
+}
@@ -63,6 +63,7 @@ public class DefaultSubsetIterator<T> extends SubsetIterator<T> {
 	public Set<T> next() {
 		if(this.currentItem == null)
 			throw new NoSuchElementException("No more elements");
+		CancellationToken.checkpoint();
 		Set<T> result = new HashSet<T>();
 		for(int i = 0; i < this.set.size(); i++)
 			if(this.currentItem.length() > i && this.currentItem.get(i))
@@ -69,6 +69,7 @@ public class IncreasingSubsetIterator<T> extends SubsetIterator<T> {
 	 */
 	@Override
 	public Set<T> next() {		
+		CancellationToken.checkpoint();
 		Set<T> result = new HashSet<T>();
 		for(int i = 0; i < this.currentSize; i++){
 			result.add(this.set.get(this.indices[i]));
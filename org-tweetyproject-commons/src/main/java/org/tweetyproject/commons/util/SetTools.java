@@ -49,6 +49,7 @@ public class SetTools<E> {
 			remainingElements.remove(element);
 			Set<Set<E>> subsubsets = this.subsets(remainingElements);
 			for(Set<E> subsubset: subsubsets){
+				CancellationToken.checkpoint();
 				subsets.add(new HashSet<E>(subsubset));
 				subsubset.add(element);
 				subsets.add(new HashSet<E>(subsubset));				
@@ -91,6 +92,7 @@ public class SetTools<E> {
 		remainingElements.remove(element);
 		Set<Set<E>> subsubsets = this.subsets(remainingElements,size-1);
 		for(Set<E> subsubset: subsubsets){
+			CancellationToken.checkpoint();
 			subsubset.add(element);
 			subsets.add(new HashSet<E>(subsubset));				
 		}
@@ -27,6 +27,7 @@ import java.util.Set;
 import java.util.Stack;
 
 import org.tweetyproject.commons.Formula;
+import org.tweetyproject.commons.util.CancellationToken;
 import org.tweetyproject.commons.util.Triple;
 
 /**
@@ -100,6 +101,7 @@ public class Derivation<T extends Rule<?,?>> extends ArrayList<T>{
 		stack.add(initial);		
 		Set<Derivation<S>> derivations = new HashSet<Derivation<S>>();		
 		while(!stack.isEmpty()){
+			CancellationToken.checkpoint();
 			Triple<List<S>,Set<Formula>,RuleSet<S>> derivation = stack.pop();
 			if(derivation.getSecond().isEmpty())
 				derivations.add(new Derivation<S>(derivation.getFirst()));
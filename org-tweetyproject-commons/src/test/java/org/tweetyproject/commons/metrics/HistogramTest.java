@@ -0,0 +1,93 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.commons.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Histogram}.
+ */
+class HistogramTest {
+
+	@Test
+	void testEmpty() {
+		Histogram h = new Histogram();
+		assertEquals(0, h.getCount());
+		assertEquals(0, h.getMin());
+		assertEquals(0, h.getMax());
+		assertEquals(0, h.getMean(), 0);
+		assertEquals(0, h.getQuantile(0.5));
+	}
+
+	@Test
+	void testStatistics() {
+		Histogram h = new Histogram();
+		for(long v = 1; v <= 100; v++)
+			h.record(v);
+		assertEquals(100, h.getCount());
+		assertEquals(5050, h.getSum());
+		assertEquals(1, h.getMin());
+		assertEquals(100, h.getMax());
+		assertEquals(50.5, h.getMean(), 1e-9);
+	}
+
+	@Test
+	void testQuantiles() {
+		Histogram h = new Histogram();
+		for(long v = 1; v <= 1000; v++)
+			h.record(v);
+		// the estimate is an upper bound of the quantile that is at most twice the quantile
+		for(double q: new double[] {0.01, 0.1, 0.5, 0.9, 0.99, 1}) {
+			long exact = (long) Math.ceil(q * 1000);
+			long estimate = h.getQuantile(q);
+			assertTrue(estimate >= exact && estimate <= 2 * exact, q + ": " + estimate);
+		}
+		assertEquals(1000, h.getQuantile(1));
+	}
+
+	@Test
+	void testNonPositiveAndLargeValues() {
+		Histogram h = new Histogram();
+		h.record(0);
+		h.record(-5);
+		h.record(Long.MAX_VALUE);
+		assertEquals(-5, h.getMin());
+		assertEquals(Long.MAX_VALUE, h.getMax());
+		assertEquals(0, h.getQuantile(0.5));
+		assertEquals(Long.MAX_VALUE, h.getQuantile(1));
+	}
+
+	@Test
+	void testToMap() {
+		Histogram h = new Histogram();
+		h.record(1000000);
+		h.record(3000000);
+		Map<String,Object> map = h.toMap(1e6);
+		assertEquals(2L, map.get("count"));
+		assertEquals(4.0, map.get("sum"));
+		assertEquals(1.0, map.get("min"));
+		assertEquals(3.0, map.get("max"));
+		assertEquals(2.0, map.get("mean"));
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.commons.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.tweetyproject.commons.BeliefBase;
+import org.tweetyproject.commons.Formula;
+import org.tweetyproject.commons.Reasoner;
+
+/**
+ * Tests for {@link Metrics} and {@link InMemoryMetrics}.
+ */
+class MetricsTest {
+
+	/** A listener that records the names of all measurements */
+	private static class RecordingListener implements MetricsListener {
+		final List<String> events = new ArrayList<String>();
+		@Override
+		public void counter(String name, long delta) {
+			this.events.add("counter " + name + " " + delta);
+		}
+		@Override
+		public void value(String name, long value) {
+			this.events.add("value " + name + " " + value);
+		}
+		@Override
+		public void timer(String name, long nanos) {
+			this.events.add("timer " + name);
+		}
+		@Override
+		public void spanStarted(Span span) {
+			this.events.add("start " + span.getName());
+		}
+		@Override
+		public void spanFinished(Span span) {
+			this.events.add("finish " + span.getName());
+		}
+	}
+
+	private InMemoryMetrics metrics;
+
+	@BeforeEach
+	void register() {
+		this.metrics = new InMemoryMetrics(2);
+		Metrics.addListener(this.metrics);
+	}
+
+	@AfterEach
+	void unregister() {
+		Metrics.removeListener(this.metrics);
+	}
+
+	@Test
+	void testFanOut() {
+		RecordingListener first = new RecordingListener();
+		RecordingListener second = new RecordingListener();
+		Metrics.addListener(first);
+		Metrics.addListener(second);
+		try {
+			Metrics.increment("c", 3);
+			Metrics.record("v", 7);
+			Metrics.stopTimer("t", Metrics.startTimer());
+			Metrics.startSpan("s").close();
+		} finally {
+			Metrics.removeListener(first);
+		}
+		Metrics.increment("c");
+		Metrics.removeListener(second);
+		assertEquals(List.of("counter c 3", "value v 7", "timer t", "start s", "finish s"), first.events);
+		assertEquals(List.of("counter c 3", "value v 7", "timer t", "start s", "finish s", "counter c 1"), second.events);
+		assertEquals(4, this.metrics.getCounter("c"));
+	}
+
+	@Test
+	void testDisabled() {
+		Metrics.removeListener(this.metrics);
+		assertFalse(Metrics.isEnabled());
+		Metrics.increment("c");
+		Metrics.stopTimer("t", Metrics.startTimer());
+		Span span = Metrics.startSpan("s");
+		span.setAttribute("a", 1);
+		span.close();
+		assertNull(Metrics.currentSpan());
+		Metrics.addListener(this.metrics);
+		assertTrue(Metrics.isEnabled());
+		assertEquals(0, this.metrics.getCounter("c"));
+		assertNull(this.metrics.getTimer("t"));
+	}
+
+	@Test
+	void testAggregation() {
+		Metrics.increment("c");
+		Metrics.increment("c", 2);
+		Metrics.record("v", 10);
+		Metrics.record("v", 20);
+		Metrics.stopTimer("t", Metrics.startTimer());
+		assertEquals(3, this.metrics.getCounter("c"));
+		assertEquals(0, this.metrics.getCounter("unknown"));
+		assertEquals(2, this.metrics.getValues("v").getCount());
+		assertEquals(30, this.metrics.getValues("v").getSum());
+		assertEquals(1, this.metrics.getTimer("t").getCount());
+		this.metrics.reset();
+		assertEquals(0, this.metrics.getCounter("c"));
+		assertNull(this.metrics.getValues("v"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testSpans() {
+		try(Span outer = Metrics.startSpan("outer")) {
+			outer.setAttribute("a", "b");
+			try(Span inner = Metrics.startSpan("inner")) {
+				assertSame(outer, inner.getParent());
+				assertSame(inner, Metrics.currentSpan());
+			}
+			assertSame(outer, Metrics.currentSpan());
+		}
+		assertNull(Metrics.currentSpan());
+		Metrics.startSpan("last").close();
+		// only the two most recent spans are kept
+		List<Object> spans = (List<Object>) this.metrics.snapshot().get("spans");
+		assertEquals(2, spans.size());
+		Map<String,Object> outer = (Map<String,Object>) spans.get(0);
+		assertEquals("outer", outer.get("name"));
+		assertEquals(Map.of("a", "b"), outer.get("attributes"));
+		assertEquals("last", ((Map<String,Object>) spans.get(1)).get("name"));
+	}
+
+	@Test
+	void testPropagate() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try(Span parent = Metrics.startSpan("parent")) {
+			Callable<Span> child = Metrics.propagate(() -> {
+				try(Span span = Metrics.startSpan("child")) {
+					return span;
+				}
+			});
+			assertSame(parent, executor.submit(child).get().getParent());
+			assertNull(executor.submit(() -> Metrics.currentSpan()).get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testQuery() {
+		RecordingListener listener = new RecordingListener();
+		Metrics.addListener(listener);
+		try {
+			Reasoner<Boolean,BeliefBase,Formula> reasoner = (b, f) -> true;
+			assertTrue(Metrics.query(reasoner, null, null));
+			Reasoner<Boolean,BeliefBase,Formula> failing = (b, f) -> {
+				throw new IllegalStateException();
+			};
+			assertThrows(IllegalStateException.class, () -> Metrics.query(failing, null, null));
+		} finally {
+			Metrics.removeListener(listener);
+		}
+		assertEquals(2, listener.events.size());
+		for(String event: listener.events)
+			assertTrue(event.startsWith("timer reasoner.query "), event);
+	}
+}
@@ -19,6 +19,8 @@
 package org.tweetyproject.graphs;
 
 import org.tweetyproject.commons.util.SetTools;
+import org.tweetyproject.graphs.algorithms.GraphAlgorithms;
+import org.tweetyproject.graphs.algorithms.IndexedGraph;
 import org.tweetyproject.math.matrix.Matrix;
 import org.tweetyproject.math.term.IntegerConstant;
 
@@ -304,67 +306,20 @@ public class DefaultGraph<T extends Node> implements Graph<T> {
 		return DefaultGraph.<T>getStronglyConnectedComponents(this);
 	}
 
-	/**
-	 * Main method for computing the strongly connected components using Tarjan's
-	 * algorithm.
-	 * 
-	 * @param idx     the current node index
-	 * @param v       the current node
-	 * @param stack   the stack of nodes that need to be visited
-	 * @param sccs    the set of SCCs that is computed
-	 * @param g       the graph
-	 * @param index   an index map for the vertices
-	 * @param lowlink the lowlink map for the vertices
-	 * @return the updated idx
-	 */
-	private static <S extends Node> int getStronglyConnectedComponentsRec(int idx, S v, Stack<S> stack,
-			Collection<Collection<S>> sccs, Graph<S> g, Map<S, Integer> index, Map<S, Integer> lowlink) {
-		index.put(v, idx);
-		lowlink.put(v, idx);
-		idx++;
-		stack.push(v);
-		for (S w : g.getChildren(v)) {
-			if (!index.containsKey(w)) {
-				idx = getStronglyConnectedComponentsRec(idx, w, stack, sccs, g, index, lowlink);
-				lowlink.put(v, Math.min(lowlink.get(v), lowlink.get(w)));
-			} else if (stack.contains(w)) {
-				lowlink.put(v, Math.min(lowlink.get(v), index.get(w)));
-			}
-		}
-		if (lowlink.get(v).equals(index.get(v))) {
-			Collection<S> scc = new HashSet<S>();
-			S w;
-			do {
-				w = stack.pop();
-				scc.add(w);
-			} while (!v.equals(w));
-			sccs.add(scc);
-		}
-		return idx;
-	}
-
 	/**
 	 * 	 * Returns the strongly connected components of the given graph. A set of nodes
 	 * is strongly connected, if there is a path from each node to each other. A set
 	 * of nodes is called strongly connected component if it is strongly connected
 	 * and maximal with respect to set inclusion. The strongly connected components
-	 * are computed using Tarjan's algorithm
+	 * are computed using (an iterative version of) Tarjan's algorithm, see
+	 * {@link GraphAlgorithms#tarjan(org.tweetyproject.graphs.algorithms.IntGraph)}.
 	 * 
 	 * @param <S> a Node
 	 * @param g some graph
 	 * @return the strongly connected components of the graph.
 	 */
 	public static <S extends Node> Collection<Collection<S>> getStronglyConnectedComponents(Graph<S> g) {
-		int idx = 0;
-		Stack<S> stack = new Stack<S>();
-		Collection<Collection<S>> sccs = new HashSet<Collection<S>>();
-		Map<S, Integer> index = new HashMap<S, Integer>();
-		Map<S, Integer> lowlink = new HashMap<S, Integer>();
-		for (S v : g) {
-			if (!index.containsKey(v))
-				idx = getStronglyConnectedComponentsRec(idx, v, stack, sccs, g, index, lowlink);
-		}
-		return sccs;
+		return new IndexedGraph<S>(g).getStronglyConnectedComponents();
 	}
 
 	/*
@@ -454,12 +409,7 @@ public class DefaultGraph<T extends Node> implements Graph<T> {
 	 * @return "true" if there is a cycle in the graph, "false" if the graph is acyclic
 	 */
 	public static <S extends Node> boolean containsCycle(Graph<S> g) {
-		Map<Node, Integer> states = new HashMap<Node, Integer>();
-		for (Node n : g) 
-			if (containsBackEdge(n,states,g))
-				return true;
-		return false;
-
+		return GraphAlgorithms.containsCycle(new IndexedGraph<S>(g).getGraph());
 	}
 
 	/**
@@ -475,15 +425,26 @@ public class DefaultGraph<T extends Node> implements Graph<T> {
 	public static <S extends Node> boolean containsBackEdge(Node parent, Map<Node, Integer> states,Graph<S> g) {
 		final int OPEN = 0; 					// node has been visited but not all of its edges
 		final int CLOSED = 1; 					// node and its edges have been fully explored
+		// iterative DFS, the stack holds the open nodes and the iterators over their children
+		Deque<Node> path = new ArrayDeque<Node>();
+		Deque<Iterator<S>> children = new ArrayDeque<Iterator<S>>();
 		states.put(parent, OPEN);
-		for (Node child_node : g.getChildren(parent)) {
-			if (!states.containsKey(child_node)) {		//found unvisited node, apply DFS recursively
-				if (containsBackEdge(child_node,states,g))
+		path.push(parent);
+		children.push(g.getChildren(parent).iterator());
+		while (!path.isEmpty()) {
+			if (children.peek().hasNext()) {
+				Node child_node = children.peek().next();
+				if (!states.containsKey(child_node)) {		//found unvisited node, continue DFS there
+					states.put(child_node, OPEN);
+					path.push(child_node);
+					children.push(g.getChildren(child_node).iterator());
+				} else if (states.get(child_node) == OPEN) 	//found back edge
 					return true;
-			} else if (states.get(child_node) == OPEN) 	//found back edge
-				return true;
+			} else {
+				states.put(path.pop(), CLOSED);
+				children.pop();
+			}
 		}
-		states.put(parent, CLOSED);
 		return false;
 	}
 	
@@ -522,80 +483,20 @@ public class DefaultGraph<T extends Node> implements Graph<T> {
 		if(!DefaultGraph.containsCycle(g))
 			return new HashSet<Stack<S>>();
 		
-		// Adapted version of Johnson's Algorithm described in
+		// every rotation of every elementary cycle, computed by Johnson's algorithm described in
 		// "Find All The elementary Circuits Of A Directed Graph" by D. B. Johnson (1975)
-		Map<S, Set<S>> ag = new HashMap<S, Set<S>>();
-		Map<S, Set<S>> b = new HashMap<S, Set<S>>();
-		Map<S, Boolean> blocked = new HashMap<S, Boolean>();
-		S s;
-		Stack<S> stack = new Stack<S>();
+		IndexedGraph<S> indexed = new IndexedGraph<S>(g);
 		Set<Stack<S>> results = new HashSet<Stack<S>>();
-		
-		Collection<Collection<S>> stronglyConnectedComponents = DefaultGraph.getStronglyConnectedComponents(g);
-		for(Collection<S> singleComponent : stronglyConnectedComponents) {
-			for(S node : singleComponent) {
-				Collection<S> children = g.getChildren(node);
-				// Filtering out children who are not in the same SCC
-				// SCC := Strongly Connected Component
-				Set<S> childrenInSCC = children.stream().filter(child -> singleComponent.contains(child)).collect(Collectors.toSet());
-				ag.put(node, childrenInSCC); 
-			}
-		}
-		
-		for(Collection<S> singleComponent : stronglyConnectedComponents) {
-			Iterator<S> componentIterator = singleComponent.iterator();
-			while(componentIterator.hasNext()) {
-				s = componentIterator.next();
-				for(S i : singleComponent) {
-					blocked.put(i, false);
-					b.put(i, new HashSet<S>());
-				}
-
-				DefaultGraph.circuit(s, stack, blocked, ag, b, s, results);
-			}
-		}
-		
-		
-		return results;
-		
-		
-	}
-	
-	// Helper function for getCycles
-	private static <S extends Node> void unblock(S u, Map<S, Boolean> blocked, Map<S, Set<S>> b){
-		blocked.put(u, false);
-		for(S w : b.get(u)) {
-			b.remove(w);
-			if(blocked.get(w))
-				DefaultGraph.unblock(w, blocked, b);
-		}
-	}
-	
-	// Helper function for getCycles
-	private static <S extends Node> Boolean circuit(S v, Stack<S> stack, Map<S, Boolean> blocked, Map<S, Set<S>> ak, Map<S, Set<S>> b, S s, Set<Stack<S>> results) {
-		Boolean f = false;
-		stack.push(v);
-		blocked.put(v, true);
-		for (S w : ak.get(v)) {
-			if(w == s) {
+		GraphAlgorithms.forEachElementaryCycle(indexed.getGraph(), cycle -> {
+			for(int i = 0; i < cycle.length; i++) {
 				Stack<S> singleResult = new Stack<S>();
-				singleResult.addAll(stack);
-				singleResult.push(s);
+				for(int j = 0; j < cycle.length; j++)
+					singleResult.push(indexed.getNode(cycle[(i + j) % cycle.length]));
+				singleResult.push(indexed.getNode(cycle[i]));
 				results.add(singleResult);
-				f = true;
-			} else if(!blocked.get(w))
-				if(DefaultGraph.circuit(w, stack, blocked, ak, b, s, results))
-					f = true;
-		}
-		
-		if(f)
-			unblock(v, blocked, b);
-		else
-			for(S w : ak.get(v))
-				b.get(w).add(v);
-		
-		stack.pop();
-		return f;
+			}
+		});
+		return results;
 	}
 	
 	
@@ -0,0 +1,477 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.graphs.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Iterative algorithms on {@link IntGraph}s. None of the algorithms recurses, so they work on
+ * arbitrarily deep graphs (e.g. long chains of attacks), and none of them boxes or hashes nodes.
+ * Graphs over arbitrary nodes can be translated by {@link IndexedGraph}.
+ */
+public final class GraphAlgorithms {
+
+	/** Hidden constructor, this class only provides static methods. */
+	private GraphAlgorithms() {
+	}
+
+	/**
+	 * Computes the strongly connected components of the given graph using Tarjan's algorithm.
+	 * @param g some graph
+	 * @return the strongly connected components of g
+	 */
+	public static StronglyConnectedComponents tarjan(IntGraph g) {
+		int n = g.getNumberOfNodes();
+		int[] index = new int[n];
+		int[] lowlink = new int[n];
+		int[] componentOf = new int[n];
+		boolean[] onStack = new boolean[n];
+		Arrays.fill(index, -1);
+		// the stack of nodes not assigned to a component yet
+		int[] stack = new int[n];
+		int sp = 0;
+		// the current path of the depth-first search and the next edge of every node on it
+		int[] path = new int[n];
+		int[] next = new int[n];
+		int depth = 0;
+		int idx = 0;
+		int count = 0;
+		for(int r = 0; r < n; r++) {
+			if(index[r] != -1)
+				continue;
+			index[r] = lowlink[r] = idx++;
+			stack[sp++] = r;
+			onStack[r] = true;
+			path[depth++] = r;
+			next[r] = g.getOffset(r);
+			while(depth > 0) {
+				int v = path[depth - 1];
+				if(next[v] < g.getOffset(v + 1)) {
+					int w = g.getTarget(next[v]++);
+					if(index[w] == -1) {
+						index[w] = lowlink[w] = idx++;
+						stack[sp++] = w;
+						onStack[w] = true;
+						path[depth++] = w;
+						next[w] = g.getOffset(w);
+					} else if(onStack[w])
+						lowlink[v] = Math.min(lowlink[v], index[w]);
+					continue;
+				}
+				depth--;
+				if(lowlink[v] == index[v]) {
+					int w;
+					do {
+						w = stack[--sp];
+						onStack[w] = false;
+						componentOf[w] = count;
+					} while(w != v);
+					count++;
+				}
+				if(depth > 0) {
+					int u = path[depth - 1];
+					lowlink[u] = Math.min(lowlink[u], lowlink[v]);
+				}
+			}
+		}
+		// Tarjan's algorithm finds the components in reverse topological order
+		for(int v = 0; v < n; v++)
+			componentOf[v] = count - 1 - componentOf[v];
+		return new StronglyConnectedComponents(g, componentOf, count);
+	}
+
+	/**
+	 * Computes the strongly connected components of the given graph using Kosaraju's algorithm.
+	 * @param g some graph
+	 * @return the strongly connected components of g
+	 */
+	public static StronglyConnectedComponents kosaraju(IntGraph g) {
+		int n = g.getNumberOfNodes();
+		// first pass: order the nodes by decreasing finishing time of a depth-first search
+		int[] order = new int[n];
+		int finished = n;
+		boolean[] visited = new boolean[n];
+		int[] path = new int[n];
+		int[] next = new int[n];
+		for(int r = 0; r < n; r++) {
+			if(visited[r])
+				continue;
+			int depth = 0;
+			visited[r] = true;
+			path[depth++] = r;
+			next[r] = g.getOffset(r);
+			while(depth > 0) {
+				int v = path[depth - 1];
+				if(next[v] < g.getOffset(v + 1)) {
+					int w = g.getTarget(next[v]++);
+					if(!visited[w]) {
+						visited[w] = true;
+						path[depth++] = w;
+						next[w] = g.getOffset(w);
+					}
+				} else {
+					depth--;
+					order[--finished] = v;
+				}
+			}
+		}
+		// second pass: collect the nodes reachable in the reverse graph
+		IntGraph reverse = g.getReverse();
+		int[] componentOf = new int[n];
+		Arrays.fill(componentOf, -1);
+		int[] stack = path;
+		int count = 0;
+		for(int r : order) {
+			if(componentOf[r] != -1)
+				continue;
+			int sp = 0;
+			componentOf[r] = count;
+			stack[sp++] = r;
+			while(sp > 0) {
+				int v = stack[--sp];
+				for(int k = reverse.getOffset(v); k < reverse.getOffset(v + 1); k++) {
+					int w = reverse.getTarget(k);
+					if(componentOf[w] == -1) {
+						componentOf[w] = count;
+						stack[sp++] = w;
+					}
+				}
+			}
+			count++;
+		}
+		return new StronglyConnectedComponents(g, componentOf, count);
+	}
+
+	/**
+	 * Computes the topological layers of the given acyclic graph: the first layer contains the
+	 * nodes without predecessors, and every further layer contains the nodes all of whose
+	 * predecessors are in earlier layers (so the layer of a node is the length of a longest
+	 * path ending in it).
+	 * @param g some acyclic graph
+	 * @return the layers, every layer in ascending order
+	 * @throws IllegalArgumentException if the graph contains a cycle
+	 */
+	public static int[][] topologicalLayers(IntGraph g) {
+		int n = g.getNumberOfNodes();
+		int[] indegree = new int[n];
+		for(int k = 0; k < g.getNumberOfEdges(); k++)
+			indegree[g.getTarget(k)]++;
+		int[] queue = new int[n];
+		int size = 0;
+		for(int v = 0; v < n; v++)
+			if(indegree[v] == 0)
+				queue[size++] = v;
+		List<int[]> layers = new ArrayList<int[]>();
+		int start = 0;
+		while(start < size) {
+			int end = size;
+			int[] layer = Arrays.copyOfRange(queue, start, end);
+			Arrays.sort(layer);
+			layers.add(layer);
+			for(int i = start; i < end; i++) {
+				int v = queue[i];
+				for(int k = g.getOffset(v); k < g.getOffset(v + 1); k++)
+					if(--indegree[g.getTarget(k)] == 0)
+						queue[size++] = g.getTarget(k);
+			}
+			start = end;
+		}
+		if(size < n)
+			throw new IllegalArgumentException("The graph contains a cycle.");
+		return layers.toArray(new int[layers.size()][]);
+	}
+
+	/**
+	 * Checks whether the given graph contains a cycle (including self-loops).
+	 * @param g some graph
+	 * @return "true" iff g contains a cycle
+	 */
+	public static boolean containsCycle(IntGraph g) {
+		// Kahn's algorithm removes all nodes iff the graph is acyclic
+		int n = g.getNumberOfNodes();
+		int[] indegree = new int[n];
+		for(int k = 0; k < g.getNumberOfEdges(); k++)
+			indegree[g.getTarget(k)]++;
+		int[] queue = new int[n];
+		int size = 0;
+		for(int v = 0; v < n; v++)
+			if(indegree[v] == 0)
+				queue[size++] = v;
+		for(int i = 0; i < size; i++) {
+			int v = queue[i];
+			for(int k = g.getOffset(v); k < g.getOffset(v + 1); k++)
+				if(--indegree[g.getTarget(k)] == 0)
+					queue[size++] = g.getTarget(k);
+		}
+		return size < n;
+	}
+
+	/**
+	 * Checks whether the given graph contains a directed cycle of odd length (including
+	 * self-loops). This is the case iff some strongly connected component is not bipartite
+	 * when the directions of its edges are ignored.
+	 * @param g some graph
+	 * @return "true" iff g contains a cycle of odd length
+	 */
+	public static boolean containsOddCycle(IntGraph g) {
+		return GraphAlgorithms.containsOddCycle(g, GraphAlgorithms.tarjan(g));
+	}
+
+	/**
+	 * Checks whether the given graph contains a directed cycle of odd length (including
+	 * self-loops), given its strongly connected components.
+	 * @param g some graph
+	 * @param sccs the strongly connected components of g
+	 * @return "true" iff g contains a cycle of odd length
+	 */
+	public static boolean containsOddCycle(IntGraph g, StronglyConnectedComponents sccs) {
+		return !GraphAlgorithms.isBipartite(g, sccs);
+	}
+
+	/**
+	 * Checks whether the given graph is bipartite when the directions of its edges are ignored,
+	 * i.e. whether its nodes can be colored with two colors such that no edge connects nodes of
+	 * the same color. In contrast to {@link org.tweetyproject.graphs.DefaultGraph#isBipartite(org.tweetyproject.graphs.Graph)},
+	 * the graph need not be connected. A graph with a self-loop is not bipartite.
+	 * @param g some graph
+	 * @return "true" iff g is bipartite
+	 */
+	public static boolean isBipartite(IntGraph g) {
+		return GraphAlgorithms.isBipartite(g, null);
+	}
+
+	/**
+	 * Checks whether every strongly connected component of the given graph (or the whole graph
+	 * if no components are given) is bipartite when the directions of its edges are ignored.
+	 * @param g some graph
+	 * @param sccs the strongly connected components of g, or null
+	 * @return "true" iff all components are bipartite
+	 */
+	private static boolean isBipartite(IntGraph g, StronglyConnectedComponents sccs) {
+		int n = g.getNumberOfNodes();
+		IntGraph reverse = g.getReverse();
+		int[] color = new int[n];
+		Arrays.fill(color, -1);
+		int[] queue = new int[n];
+		for(int r = 0; r < n; r++) {
+			if(color[r] != -1)
+				continue;
+			color[r] = 0;
+			int size = 0;
+			queue[size++] = r;
+			for(int i = 0; i < size; i++) {
+				int v = queue[i];
+				for(int dir = 0; dir < 2; dir++) {
+					IntGraph h = dir == 0 ? g : reverse;
+					for(int k = h.getOffset(v); k < h.getOffset(v + 1); k++) {
+						int w = h.getTarget(k);
+						if(sccs != null && sccs.getComponent(w) != sccs.getComponent(v))
+							continue;
+						if(color[w] == -1) {
+							color[w] = 1 - color[v];
+							queue[size++] = w;
+						} else if(color[w] == color[v])
+							return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the distances of all nodes from the given node by breadth-first search.
+	 * @param g some graph
+	 * @param source some node
+	 * @return the length of a shortest path from the source to every node, -1 for unreachable nodes
+	 */
+	public static int[] breadthFirstSearch(IntGraph g, int source) {
+		int n = g.getNumberOfNodes();
+		int[] distance = new int[n];
+		Arrays.fill(distance, -1);
+		int[] queue = new int[n];
+		int size = 0;
+		distance[source] = 0;
+		queue[size++] = source;
+		for(int i = 0; i < size; i++) {
+			int v = queue[i];
+			for(int k = g.getOffset(v); k < g.getOffset(v + 1); k++) {
+				int w = g.getTarget(k);
+				if(distance[w] == -1) {
+					distance[w] = distance[v] + 1;
+					queue[size++] = w;
+				}
+			}
+		}
+		return distance;
+	}
+
+	/**
+	 * Computes the nodes reachable from the given node in the order in which a depth-first
+	 * search (following the edges in their order) visits them.
+	 * @param g some graph
+	 * @param source some node
+	 * @return the reachable nodes in depth-first preorder, starting with the source
+	 */
+	public static int[] depthFirstSearch(IntGraph g, int source) {
+		int n = g.getNumberOfNodes();
+		boolean[] visited = new boolean[n];
+		int[] order = new int[n];
+		int size = 0;
+		int[] path = new int[n];
+		int[] next = new int[n];
+		int depth = 0;
+		visited[source] = true;
+		order[size++] = source;
+		path[depth++] = source;
+		next[source] = g.getOffset(source);
+		while(depth > 0) {
+			int v = path[depth - 1];
+			if(next[v] < g.getOffset(v + 1)) {
+				int w = g.getTarget(next[v]++);
+				if(!visited[w]) {
+					visited[w] = true;
+					order[size++] = w;
+					path[depth++] = w;
+					next[w] = g.getOffset(w);
+				}
+			} else depth--;
+		}
+		return Arrays.copyOf(order, size);
+	}
+
+	/**
+	 * Computes all elementary cycles (including self-loops) of the given graph using
+	 * Johnson's algorithm, see [D. B. Johnson. Finding all the elementary circuits of a
+	 * directed graph. SIAM Journal on Computing 4(1), 1975].
+	 * @param g some graph
+	 * @return the cycles, every cycle given by its nodes in the order of its edges, starting
+	 *    with its smallest node
+	 */
+	public static List<int[]> getElementaryCycles(IntGraph g) {
+		List<int[]> cycles = new ArrayList<int[]>();
+		GraphAlgorithms.forEachElementaryCycle(g, cycles::add);
+		return cycles;
+	}
+
+	/**
+	 * Passes all elementary cycles (including self-loops) of the given graph to the given
+	 * consumer, see {@link #getElementaryCycles(IntGraph)}.
+	 * @param g some graph
+	 * @param consumer receives every cycle, given by its nodes in the order of its edges,
+	 *    starting with its smallest node
+	 */
+	public static void forEachElementaryCycle(IntGraph g, Consumer<int[]> consumer) {
+		int n = g.getNumberOfNodes();
+		StronglyConnectedComponents sccs = GraphAlgorithms.tarjan(g);
+		boolean[] blocked = new boolean[n];
+		// the nodes to be unblocked together with every node
+		int[][] b = new int[n][];
+		int[] bSize = new int[n];
+		int[] path = new int[n];
+		int[] next = new int[n];
+		boolean[] found = new boolean[n];
+		int[] unblock = new int[n];
+		for(int s = 0; s < n; s++) {
+			int c = sccs.getComponent(s);
+			if(!sccs.isCyclic(c))
+				continue;
+			// search the cycles whose smallest node is s, i.e. within the nodes of its component
+			// not smaller than s
+			for(int v : sccs.getNodes(c)) {
+				blocked[v] = false;
+				bSize[v] = 0;
+			}
+			int depth = 0;
+			path[depth] = s;
+			next[depth] = g.getOffset(s);
+			found[depth] = false;
+			depth++;
+			blocked[s] = true;
+			while(depth > 0) {
+				int v = path[depth - 1];
+				if(next[depth - 1] < g.getOffset(v + 1)) {
+					int w = g.getTarget(next[depth - 1]++);
+					if(w < s || sccs.getComponent(w) != c)
+						continue;
+					if(w == s) {
+						consumer.accept(Arrays.copyOf(path, depth));
+						found[depth - 1] = true;
+					} else if(!blocked[w]) {
+						path[depth] = w;
+						next[depth] = g.getOffset(w);
+						found[depth] = false;
+						depth++;
+						blocked[w] = true;
+					}
+					continue;
+				}
+				boolean f = found[depth - 1];
+				if(f) {
+					// unblock v and, transitively, all nodes waiting for it
+					int size = 0;
+					blocked[v] = false;
+					unblock[size++] = v;
+					while(size > 0) {
+						int u = unblock[--size];
+						for(int i = 0; i < bSize[u]; i++) {
+							int x = b[u][i];
+							if(blocked[x]) {
+								blocked[x] = false;
+								unblock[size++] = x;
+							}
+						}
+						bSize[u] = 0;
+					}
+				} else {
+					for(int k = g.getOffset(v); k < g.getOffset(v + 1); k++) {
+						int w = g.getTarget(k);
+						if(w < s || sccs.getComponent(w) != c)
+							continue;
+						GraphAlgorithms.addToB(b, bSize, w, v);
+					}
+				}
+				depth--;
+				if(f && depth > 0)
+					found[depth - 1] = true;
+			}
+		}
+	}
+
+	/**
+	 * Adds v to the set of nodes to be unblocked together with w, if it is not contained yet.
+	 * @param b the nodes to be unblocked together with every node
+	 * @param bSize the number of nodes to be unblocked together with every node
+	 * @param w some node
+	 * @param v some node
+	 */
+	private static void addToB(int[][] b, int[] bSize, int w, int v) {
+		for(int i = 0; i < bSize[w]; i++)
+			if(b[w][i] == v)
+				return;
+		if(b[w] == null)
+			b[w] = new int[4];
+		else if(bSize[w] == b[w].length)
+			b[w] = Arrays.copyOf(b[w], 2 * bSize[w]);
+		b[w][bSize[w]++] = v;
+	}
+}
@@ -0,0 +1,533 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.graphs.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.tweetyproject.graphs.Node;
+
+/**
+ * Computes centrality measures (PageRank, HITS and betweenness) for all nodes of a graph at once.
+ * The measures are computed on {@link IntGraph}s and returned as dense vectors indexed by node.
+ * <br>
+ * With more than one thread, the iterations of PageRank and HITS on large graphs are split into
+ * ranges of nodes, and the breadth-first searches of betweenness are partitioned by their source.
+ * All computations of an engine share one pool of threads, which is created when it is first needed.
+ * Results computed for an {@link IndexedGraph} are cached: as an indexed graph is a snapshot of a
+ * graph, a cached result is only reused for the very same version of the graph. The least recently
+ * used results are evicted once the cache is full.
+ */
+public class GraphAnalytics {
+
+	/** The smallest graph whose iterations are split among threads. */
+	private static final int PARALLEL_THRESHOLD = 1024;
+
+	/** The number of threads. */
+	private volatile int numberOfThreads;
+	/** The threads shared by all computations, null until they are first needed. */
+	private ForkJoinPool pool;
+	/** The maximal number of iterations of PageRank and HITS. */
+	private int maxIterations = 10000;
+	/** The cached results, in access order. */
+	private final LinkedHashMap<Key,double[][]> cache;
+	/** The maximal number of cached results. */
+	private int cacheSize;
+
+	/**
+	 * Creates a new engine using as many threads as processors are available and
+	 * caching up to 64 results.
+	 */
+	public GraphAnalytics() {
+		this(Runtime.getRuntime().availableProcessors(), 64);
+	}
+
+	/**
+	 * Creates a new engine.
+	 * @param numberOfThreads the number of threads
+	 * @param cacheSize the maximal number of cached results (0 for no caching)
+	 */
+	public GraphAnalytics(int numberOfThreads, int cacheSize) {
+		this.numberOfThreads = Math.max(1, numberOfThreads);
+		this.cacheSize = Math.max(0, cacheSize);
+		this.cache = new LinkedHashMap<Key,double[][]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key,double[][]> eldest) {
+				return this.size() > GraphAnalytics.this.cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * Sets the number of threads.
+	 * @param numberOfThreads the number of threads
+	 */
+	public synchronized void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = Math.max(1, numberOfThreads);
+		// running computations finish on the old threads
+		if(this.pool != null && this.pool.getParallelism() != this.numberOfThreads) {
+			this.pool.shutdown();
+			this.pool = null;
+		}
+	}
+
+	/**
+	 * Sets the maximal number of iterations of PageRank and HITS. If they do not converge
+	 * within this number of iterations, the values of the last iteration are returned.
+	 * @param maxIterations the maximal number of iterations
+	 */
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Sets the maximal number of cached results.
+	 * @param cacheSize the maximal number of cached results (0 for no caching)
+	 */
+	public synchronized void setCacheSize(int cacheSize) {
+		this.cacheSize = Math.max(0, cacheSize);
+		while(this.cache.size() > this.cacheSize)
+			this.cache.remove(this.cache.keySet().iterator().next());
+	}
+
+	/**
+	 * Removes all cached results.
+	 */
+	public synchronized void clearCache() {
+		this.cache.clear();
+	}
+
+	/**
+	 * Computes the PageRank of all nodes of the given graph, see {@link #pageRank(IntGraph, double, double)}.
+	 * The result is cached.
+	 * @param <T> the type of nodes
+	 * @param g some indexed graph
+	 * @param dampingFactor the damping factor
+	 * @param precision the precision (iterations stop once no value changes by more than this)
+	 * @return the PageRank of every node, by index
+	 */
+	public <T extends Node> double[] pageRank(IndexedGraph<T> g, double dampingFactor, double precision) {
+		return this.cached(new Key(g, "pagerank", dampingFactor, precision),
+				() -> new double[][] {this.pageRank(g.getGraph(), dampingFactor, precision)})[0];
+	}
+
+	/**
+	 * Computes the HITS authority and hub scores of all nodes of the given graph, see
+	 * {@link #hits(IntGraph, double)}. The result is cached.
+	 * @param <T> the type of nodes
+	 * @param g some indexed graph
+	 * @param precision the precision (iterations stop once no value changes by more than this)
+	 * @return the authority scores (first) and the hub scores (second) of every node, by index
+	 */
+	public <T extends Node> double[][] hits(IndexedGraph<T> g, double precision) {
+		return this.cached(new Key(g, "hits", precision), () -> this.hits(g.getGraph(), precision));
+	}
+
+	/**
+	 * Computes the betweenness of all nodes of the given graph, see {@link #betweenness(IntGraph)}.
+	 * The result is cached.
+	 * @param <T> the type of nodes
+	 * @param g some indexed graph
+	 * @return the betweenness of every node, by index
+	 */
+	public <T extends Node> double[] betweenness(IndexedGraph<T> g) {
+		return this.cached(new Key(g, "betweenness"), () -> new double[][] {this.betweenness(g.getGraph())})[0];
+	}
+
+	/**
+	 * Computes the PageRank of all nodes of the given graph by power iteration. Every node starts
+	 * with 1/n and, in every iteration, gets (1-d)/n plus d times the sum of the values of its
+	 * predecessors divided by their number of successors and of the values of all nodes without
+	 * successors divided by n.
+	 * @param g some graph
+	 * @param dampingFactor the damping factor d
+	 * @param precision the precision (iterations stop once no value changes by more than this)
+	 * @return the PageRank of every node
+	 */
+	public double[] pageRank(IntGraph g, double dampingFactor, double precision) {
+		int n = g.getNumberOfNodes();
+		IntGraph parents = g.getReverse();
+		double m = n;
+		double[] ranks = new double[n];
+		Arrays.fill(ranks, 1 / m);
+		double[] next = new double[n];
+		int chunks = this.chunks(n);
+		double[] diff = new double[chunks];
+		ExecutorService executorService = this.executor(chunks);
+		for(int iteration = 0; iteration < this.maxIterations; iteration++) {
+			double sinks = 0;
+			for(int v = 0; v < n; v++)
+				if(g.getOutDegree(v) == 0)
+					sinks += ranks[v] / m;
+			double sinkSum = sinks;
+			double[] current = ranks;
+			double[] updated = next;
+			this.forEachChunk(n, chunks, executorService, (chunk, from, to) -> {
+				double maxDiff = 0;
+				for(int v = from; v < to; v++) {
+					double sum = 0;
+					for(int k = parents.getOffset(v); k < parents.getOffset(v + 1); k++) {
+						int w = parents.getTarget(k);
+						sum += current[w] / g.getOutDegree(w);
+					}
+					updated[v] = ((1 - dampingFactor) / m) + (dampingFactor * (sum + sinkSum));
+					maxDiff = Math.max(maxDiff, Math.abs(current[v] - updated[v]));
+				}
+				diff[chunk] = maxDiff;
+			});
+			next = ranks;
+			ranks = updated;
+			if(GraphAnalytics.max(diff) <= precision)
+				break;
+		}
+		return ranks;
+	}
+
+	/**
+	 * Computes the HITS authority and hub scores of all nodes of the given graph. All scores start
+	 * with 1 and, in every iteration, the authority score of a node becomes the sum of the hub scores
+	 * of its predecessors and the hub score of a node becomes the sum of the authority scores of its
+	 * successors (both from the last iteration), each normalized to unit length.
+	 * @param g some graph
+	 * @param precision the precision (iterations stop once no value changes by more than this)
+	 * @return the authority scores (first) and the hub scores (second) of every node
+	 */
+	public double[][] hits(IntGraph g, double precision) {
+		int n = g.getNumberOfNodes();
+		IntGraph parents = g.getReverse();
+		double[] auth = new double[n];
+		double[] hub = new double[n];
+		Arrays.fill(auth, 1d);
+		Arrays.fill(hub, 1d);
+		double[] authNext = new double[n];
+		double[] hubNext = new double[n];
+		int chunks = this.chunks(n);
+		double[] authNorm = new double[chunks];
+		double[] hubNorm = new double[chunks];
+		ExecutorService executorService = this.executor(chunks);
+		for(int iteration = 0; iteration < this.maxIterations; iteration++) {
+			double[] a = auth, h = hub, an = authNext, hn = hubNext;
+			this.forEachChunk(n, chunks, executorService, (chunk, from, to) -> {
+				double aNorm = 0, hNorm = 0;
+				for(int v = from; v < to; v++) {
+					double sum = 0;
+					for(int k = parents.getOffset(v); k < parents.getOffset(v + 1); k++)
+						sum += h[parents.getTarget(k)];
+					an[v] = sum;
+					aNorm += sum * sum;
+					sum = 0;
+					for(int k = g.getOffset(v); k < g.getOffset(v + 1); k++)
+						sum += a[g.getTarget(k)];
+					hn[v] = sum;
+					hNorm += sum * sum;
+				}
+				authNorm[chunk] = aNorm;
+				hubNorm[chunk] = hNorm;
+			});
+			double aNorm = Math.sqrt(GraphAnalytics.sum(authNorm));
+			double hNorm = Math.sqrt(GraphAnalytics.sum(hubNorm));
+			double maxDiff = 0;
+			for(int v = 0; v < n; v++) {
+				an[v] /= aNorm;
+				hn[v] /= hNorm;
+				maxDiff = Math.max(maxDiff, Math.max(Math.abs(a[v] - an[v]), Math.abs(h[v] - hn[v])));
+			}
+			authNext = auth;
+			hubNext = hub;
+			auth = an;
+			hub = hn;
+			if(maxDiff <= precision)
+				break;
+		}
+		return new double[][] {auth, hub};
+	}
+
+	/**
+	 * Computes the betweenness of all nodes of the given graph, i.e. the number of shortest paths
+	 * (between any two nodes) going through each node, not counting their first and last node.
+	 * Every breadth-first search counts the shortest paths from its source to every node and
+	 * accumulates the number of shortest paths continuing after each node backwards, in the
+	 * manner of Brandes' algorithm [U. Brandes. A faster algorithm for betweenness centrality.
+	 * Journal of Mathematical Sociology 25(2), 2001].
+	 * @param g some graph
+	 * @return the betweenness of every node
+	 */
+	public double[] betweenness(IntGraph g) {
+		int n = g.getNumberOfNodes();
+		int threads = Math.min(this.numberOfThreads, n);
+		if(threads <= 1)
+			return GraphAnalytics.betweenness(g, new AtomicInteger());
+		// the sources are handed out one after the other to balance the load
+		AtomicInteger nextSource = new AtomicInteger();
+		List<Callable<double[]>> tasks = new ArrayList<Callable<double[]>>();
+		for(int t = 0; t < threads; t++)
+			tasks.add(() -> GraphAnalytics.betweenness(g, nextSource));
+		try {
+			double[] result = new double[n];
+			for(Future<double[]> future : this.getPool().invokeAll(tasks)) {
+				double[] partial = GraphAnalytics.get(future);
+				for(int v = 0; v < n; v++)
+					result[v] += partial[v];
+			}
+			return result;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("The computation was interrupted.", e);
+		}
+	}
+
+	/**
+	 * Accumulates the betweenness of all nodes for the sources handed out by the given counter.
+	 * @param g some graph
+	 * @param nextSource the next source to be processed
+	 * @return the betweenness of every node wrt. the processed sources
+	 */
+	private static double[] betweenness(IntGraph g, AtomicInteger nextSource) {
+		int n = g.getNumberOfNodes();
+		double[] result = new double[n];
+		int[] dist = new int[n];
+		double[] sigma = new double[n];
+		double[] paths = new double[n];
+		int[] order = new int[n];
+		for(int s = nextSource.getAndIncrement(); s < n; s = nextSource.getAndIncrement()) {
+			Arrays.fill(dist, -1);
+			dist[s] = 0;
+			sigma[s] = 1;
+			int size = 0;
+			order[size++] = s;
+			for(int i = 0; i < size; i++) {
+				int v = order[i];
+				for(int k = g.getOffset(v); k < g.getOffset(v + 1); k++) {
+					int w = g.getTarget(k);
+					if(dist[w] == -1) {
+						dist[w] = dist[v] + 1;
+						sigma[w] = 0;
+						order[size++] = w;
+					}
+					if(dist[w] == dist[v] + 1)
+						sigma[w] += sigma[v];
+				}
+			}
+			// paths[v] is the number of shortest paths from v to any other node on the shortest
+			// paths from s, every node in between gets the shortest paths from s to it times these
+			for(int i = size - 1; i >= 0; i--) {
+				int v = order[i];
+				double p = 0;
+				for(int k = g.getOffset(v); k < g.getOffset(v + 1); k++) {
+					int w = g.getTarget(k);
+					if(dist[w] == dist[v] + 1)
+						p += 1 + paths[w];
+				}
+				paths[v] = p;
+				if(v != s)
+					result[v] += sigma[v] * p;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the cached result for the given key or computes and caches it.
+	 * @param key some key
+	 * @param computation computes the result
+	 * @return a copy of the result
+	 */
+	private double[][] cached(Key key, Supplier<double[][]> computation) {
+		double[][] result;
+		synchronized(this) {
+			result = this.cache.get(key);
+		}
+		if(result == null) {
+			result = computation.get();
+			synchronized(this) {
+				if(this.cacheSize > 0)
+					this.cache.put(key, result);
+			}
+		}
+		// the cached vectors must not be changed by the caller
+		double[][] copy = new double[result.length][];
+		for(int i = 0; i < result.length; i++)
+			copy[i] = result[i].clone();
+		return copy;
+	}
+
+	/**
+	 * @param n the number of nodes
+	 * @return the number of ranges of nodes the iterations are split into
+	 */
+	private int chunks(int n) {
+		return n >= PARALLEL_THRESHOLD ? this.numberOfThreads : 1;
+	}
+
+	/**
+	 * @param chunks the number of ranges of nodes the iterations are split into
+	 * @return the threads for the iterations, null if they are not split
+	 */
+	private ExecutorService executor(int chunks) {
+		return chunks > 1 ? this.getPool() : null;
+	}
+
+	/**
+	 * @return the threads shared by all computations of this engine
+	 */
+	private synchronized ForkJoinPool getPool() {
+		if(this.pool == null)
+			this.pool = new ForkJoinPool(this.numberOfThreads);
+		return this.pool;
+	}
+
+	/**
+	 * Runs the given task on consecutive ranges of the nodes 0,...,n-1.
+	 * @param n the number of nodes
+	 * @param chunks the number of ranges
+	 * @param executorService the threads (null for running the task on all nodes at once)
+	 * @param task the task
+	 */
+	private void forEachChunk(int n, int chunks, ExecutorService executorService, ChunkTask task) {
+		if(executorService == null) {
+			task.run(0, 0, n);
+			return;
+		}
+		int chunkSize = (n + chunks - 1) / chunks;
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for(int c = 0; c < chunks; c++) {
+			int chunk = c;
+			int from = Math.min(n, c * chunkSize);
+			int to = Math.min(n, from + chunkSize);
+			tasks.add(() -> {
+				task.run(chunk, from, to);
+				return null;
+			});
+		}
+		try {
+			for(Future<Void> future : executorService.invokeAll(tasks))
+				GraphAnalytics.get(future);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("The computation was interrupted.", e);
+		}
+	}
+
+	/**
+	 * Returns the result of the given finished future, rethrowing the exception of its computation.
+	 * @param <S> the type of the result
+	 * @param future some finished future
+	 * @return its result
+	 * @throws InterruptedException if the current thread has been interrupted
+	 */
+	private static <S> S get(Future<S> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * @param values some values
+	 * @return the maximum of the values
+	 */
+	private static double max(double[] values) {
+		double max = 0;
+		for(double v : values)
+			max = Math.max(max, v);
+		return max;
+	}
+
+	/**
+	 * @param values some values
+	 * @return the sum of the values
+	 */
+	private static double sum(double[] values) {
+		double sum = 0;
+		for(double v : values)
+			sum += v;
+		return sum;
+	}
+
+	/**
+	 * A task on a range of nodes.
+	 */
+	private interface ChunkTask {
+		/**
+		 * Runs the task on the given range of nodes.
+		 * @param chunk the number of the range
+		 * @param from the first node of the range
+		 * @param to the node after the last node of the range
+		 */
+		void run(int chunk, int from, int to);
+	}
+
+	/**
+	 * The key of a cached result: a version of a graph, a measure and its parameters.
+	 */
+	private static class Key {
+		/** The graph. */
+		private final IndexedGraph<?> graph;
+		/** The name of the measure. */
+		private final String measure;
+		/** The parameters of the measure. */
+		private final double[] parameters;
+
+		/**
+		 * Creates a new key.
+		 * @param graph the graph
+		 * @param measure the name of the measure
+		 * @param parameters the parameters of the measure
+		 */
+		Key(IndexedGraph<?> graph, String measure, double... parameters) {
+			this.graph = graph;
+			this.measure = measure;
+			this.parameters = parameters;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * (31 * this.graph.hashCode() + this.measure.hashCode()) + Arrays.hashCode(this.parameters);
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return this.measure.equals(other.measure) && Arrays.equals(this.parameters, other.parameters)
+					&& this.graph.equals(other.graph);
+		}
+	}
+}
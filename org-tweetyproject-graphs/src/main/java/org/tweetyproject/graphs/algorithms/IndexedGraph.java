@@ -0,0 +1,188 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.graphs.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.tweetyproject.graphs.Graph;
+import org.tweetyproject.graphs.Node;
+
+/**
+ * Translates a {@link Graph} into an {@link IntGraph} by numbering its nodes consecutively
+ * (in the iteration order of the graph), so that the algorithms of {@link GraphAlgorithms}
+ * can be applied to it. The edges are taken from {@link Graph#getChildren(Node)}.
+ * <br>
+ * The translation is a snapshot, later changes of the graph are not reflected. Two indexed
+ * graphs are equal iff they have the same nodes in the same order and equal {@link IntGraph}s,
+ * so a snapshot identifies a version of a graph, e.g. for caching results computed on it.
+ * @param <T> the type of nodes
+ */
+public class IndexedGraph<T extends Node> {
+
+	/** The nodes, by their index. */
+	private final List<T> nodes;
+	/** The index of every node. */
+	private final Map<T,Integer> index;
+	/** The indexed graph. */
+	private final IntGraph graph;
+	/** The hash code (computed on demand). */
+	private int hash;
+
+	/**
+	 * Creates the indexed graph of the given graph.
+	 * @param g some graph
+	 */
+	public IndexedGraph(Graph<T> g) {
+		this.nodes = new ArrayList<T>(g.getNodes());
+		this.index = new HashMap<T,Integer>();
+		for(int i = 0; i < this.nodes.size(); i++)
+			this.index.put(this.nodes.get(i), i);
+		int[][] successors = new int[this.nodes.size()][];
+		for(int i = 0; i < this.nodes.size(); i++) {
+			Collection<T> children = g.getChildren(this.nodes.get(i));
+			int[] s = new int[children.size()];
+			int size = 0;
+			for(T child : children) {
+				Integer j = this.index.get(child);
+				if(j != null)
+					s[size++] = j;
+			}
+			successors[i] = size == s.length ? s : Arrays.copyOf(s, size);
+		}
+		this.graph = new IntGraph(successors);
+	}
+
+	/**
+	 * @return the indexed graph
+	 */
+	public IntGraph getGraph() {
+		return this.graph;
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int getNumberOfNodes() {
+		return this.nodes.size();
+	}
+
+	/**
+	 * @param i some index
+	 * @return the node with index i
+	 */
+	public T getNode(int i) {
+		return this.nodes.get(i);
+	}
+
+	/**
+	 * @param node some node
+	 * @return the index of the node, or -1 if it is not a node of the graph
+	 */
+	public int getIndex(Node node) {
+		Integer i = this.index.get(node);
+		return i == null ? -1 : i;
+	}
+
+	/**
+	 * @param indices some indices
+	 * @return the nodes with the given indices, in the same order
+	 */
+	public List<T> getNodes(int[] indices) {
+		List<T> result = new ArrayList<T>(indices.length);
+		for(int i : indices)
+			result.add(this.nodes.get(i));
+		return result;
+	}
+
+	/**
+	 * Checks whether this is (still) the indexed graph of the given graph, i.e. whether the
+	 * given graph has exactly the nodes of this graph and every node has the same successors.
+	 * This takes linear time in the size of the given graph, but unlike indexing it again it
+	 * allocates (almost) nothing.
+	 * @param g some graph
+	 * @return "true" iff indexing the graph again would give the same nodes with the same successors
+	 */
+	public boolean isIndexOf(Graph<? extends Node> g) {
+		if(g.getNumberOfNodes() != this.nodes.size())
+			return false;
+		// mark[w] == v + 1 iff w is a successor of v
+		int[] mark = new int[this.nodes.size()];
+		for(Node node : g.getNodes()) {
+			int v = this.getIndex(node);
+			if(v < 0)
+				return false;
+			for(int k = this.graph.getOffset(v); k < this.graph.getOffset(v + 1); k++)
+				mark[this.graph.getTarget(k)] = v + 1;
+			int successors = 0;
+			for(Node child : g.getChildren(node)) {
+				int w = this.getIndex(child);
+				if(w < 0)
+					continue;
+				if(mark[w] != v + 1)
+					return false;
+				successors++;
+			}
+			if(successors != this.graph.getOutDegree(v))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the strongly connected components of the graph, computed by
+	 * {@link GraphAlgorithms#tarjan(IntGraph)}.
+	 * @return the strongly connected components of the graph
+	 */
+	public Collection<Collection<T>> getStronglyConnectedComponents() {
+		StronglyConnectedComponents sccs = GraphAlgorithms.tarjan(this.graph);
+		Collection<Collection<T>> result = new HashSet<Collection<T>>();
+		for(int c = 0; c < sccs.getNumberOfComponents(); c++)
+			result.add(new HashSet<T>(this.getNodes(sccs.getNodes(c))));
+		return result;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		if(this.hash == 0)
+			this.hash = 31 * this.nodes.hashCode() + this.graph.hashCode();
+		return this.hash;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj)
+			return true;
+		if(!(obj instanceof IndexedGraph))
+			return false;
+		IndexedGraph<?> other = (IndexedGraph<?>) obj;
+		return this.hashCode() == other.hashCode() && this.graph.equals(other.graph) && this.nodes.equals(other.nodes);
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.graphs.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * An immutable directed graph over the nodes 0,...,n-1 in compressed sparse row (CSR) form:
+ * the successors of node v are <code>getTarget(k)</code> for <code>getOffset(v) &lt;= k &lt; getOffset(v+1)</code>.
+ * This representation avoids boxing and hashing and is used by the iterative algorithms of
+ * {@link GraphAlgorithms}. Graphs over arbitrary nodes are translated by {@link IndexedGraph}.
+ * <br>
+ * Parallel edges are kept as given, self-loops are allowed. Two graphs are equal iff they
+ * have the same number of nodes and the same successors (in the same order) for every node.
+ */
+public final class IntGraph {
+
+	/** The number of nodes. */
+	private final int n;
+	/** The start of the successors of every node in <code>targets</code>, has length n+1. */
+	private final int[] offsets;
+	/** The successors of all nodes. */
+	private final int[] targets;
+	/** The graph with all edges reversed (computed on demand). */
+	private IntGraph reverse;
+
+	/**
+	 * Creates a new graph with the given edges, the i-th edge leads from <code>sources[i]</code>
+	 * to <code>targets[i]</code>.
+	 * @param numberOfNodes the number of nodes
+	 * @param sources the sources of the edges
+	 * @param targets the targets of the edges
+	 * @throws IllegalArgumentException if the arrays differ in length or contain an invalid node
+	 */
+	public IntGraph(int numberOfNodes, int[] sources, int[] targets) {
+		if(sources.length != targets.length)
+			throw new IllegalArgumentException("Sources and targets must have the same length.");
+		this.n = numberOfNodes;
+		this.offsets = new int[numberOfNodes + 1];
+		for(int i = 0; i < sources.length; i++) {
+			if(sources[i] < 0 || sources[i] >= numberOfNodes || targets[i] < 0 || targets[i] >= numberOfNodes)
+				throw new IllegalArgumentException("Invalid edge (" + sources[i] + "," + targets[i] + ").");
+			this.offsets[sources[i] + 1]++;
+		}
+		for(int v = 0; v < numberOfNodes; v++)
+			this.offsets[v + 1] += this.offsets[v];
+		// counting sort of the edges by their source
+		int[] next = Arrays.copyOf(this.offsets, numberOfNodes);
+		this.targets = new int[targets.length];
+		for(int i = 0; i < sources.length; i++)
+			this.targets[next[sources[i]]++] = targets[i];
+	}
+
+	/**
+	 * Creates a new graph from the given successor lists.
+	 * @param successors the successors of every node
+	 * @throws IllegalArgumentException if some successor is not a valid node
+	 */
+	public IntGraph(int[][] successors) {
+		this.n = successors.length;
+		this.offsets = new int[this.n + 1];
+		for(int v = 0; v < this.n; v++)
+			this.offsets[v + 1] = this.offsets[v] + successors[v].length;
+		this.targets = new int[this.offsets[this.n]];
+		for(int v = 0; v < this.n; v++)
+			for(int w : successors[v]) {
+				if(w < 0 || w >= this.n)
+					throw new IllegalArgumentException("Invalid edge (" + v + "," + w + ").");
+				this.targets[this.offsets[v]++] = w;
+			}
+		// the loop above shifted every offset to the start of the next node
+		for(int v = this.n; v > 0; v--)
+			this.offsets[v] = this.offsets[v - 1];
+		this.offsets[0] = 0;
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int getNumberOfNodes() {
+		return this.n;
+	}
+
+	/**
+	 * @return the number of edges
+	 */
+	public int getNumberOfEdges() {
+		return this.targets.length;
+	}
+
+	/**
+	 * Returns the position of the first successor of the given node, the successors of v
+	 * are at the positions <code>getOffset(v)</code> to <code>getOffset(v+1)-1</code>.
+	 * @param v some node or n
+	 * @return the position of the first successor of v
+	 */
+	public int getOffset(int v) {
+		return this.offsets[v];
+	}
+
+	/**
+	 * Returns the successor at the given position, see {@link #getOffset(int)}.
+	 * @param k some position
+	 * @return the successor at position k
+	 */
+	public int getTarget(int k) {
+		return this.targets[k];
+	}
+
+	/**
+	 * @param v some node
+	 * @return the number of successors of v
+	 */
+	public int getOutDegree(int v) {
+		return this.offsets[v + 1] - this.offsets[v];
+	}
+
+	/**
+	 * @param v some node
+	 * @return a new array containing the successors of v
+	 */
+	public int[] getSuccessors(int v) {
+		return Arrays.copyOfRange(this.targets, this.offsets[v], this.offsets[v + 1]);
+	}
+
+	/**
+	 * @param v some node
+	 * @param w some node
+	 * @return "true" iff there is an edge from v to w
+	 */
+	public boolean hasEdge(int v, int w) {
+		for(int k = this.offsets[v]; k < this.offsets[v + 1]; k++)
+			if(this.targets[k] == w)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Returns the graph with all edges reversed, i.e. the successors of a node in the
+	 * reverse graph are its predecessors in this graph.
+	 * @return the reverse graph
+	 */
+	public synchronized IntGraph getReverse() {
+		if(this.reverse == null) {
+			int[] sources = new int[this.targets.length];
+			for(int v = 0; v < this.n; v++)
+				for(int k = this.offsets[v]; k < this.offsets[v + 1]; k++)
+					sources[k] = v;
+			this.reverse = new IntGraph(this.n, this.targets, sources);
+			this.reverse.reverse = this;
+		}
+		return this.reverse;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * (31 * this.n + Arrays.hashCode(this.offsets)) + Arrays.hashCode(this.targets);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj)
+			return true;
+		if(!(obj instanceof IntGraph))
+			return false;
+		IntGraph other = (IntGraph) obj;
+		return this.n == other.n && Arrays.equals(this.offsets, other.offsets) && Arrays.equals(this.targets, other.targets);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder("<" + this.n + ", {");
+		for(int v = 0; v < this.n; v++)
+			for(int k = this.offsets[v]; k < this.offsets[v + 1]; k++) {
+				if(k > 0)
+					str.append(",");
+				str.append("(" + v + "," + this.targets[k] + ")");
+			}
+		return str.append("}>").toString();
+	}
+}
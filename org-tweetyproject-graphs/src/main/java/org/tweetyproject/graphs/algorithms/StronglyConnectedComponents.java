@@ -0,0 +1,150 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.graphs.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * The strongly connected components of an {@link IntGraph}, as computed by
+ * {@link GraphAlgorithms#tarjan(IntGraph)} or {@link GraphAlgorithms#kosaraju(IntGraph)}.
+ * The components are numbered 0,...,m-1 in topological order, i.e. every edge between
+ * different components leads from a component to one with a larger number.
+ */
+public final class StronglyConnectedComponents {
+
+	/** The graph. */
+	private final IntGraph graph;
+	/** The number of components. */
+	private final int count;
+	/** The component of every node. */
+	private final int[] componentOf;
+	/** The start of the nodes of every component in <code>members</code>, has length count+1. */
+	private final int[] offsets;
+	/** The nodes of all components, grouped by component and ascending within each component. */
+	private final int[] members;
+	/** The condensation (computed on demand). */
+	private IntGraph condensation;
+
+	/**
+	 * Creates the components given by the component of every node.
+	 * @param graph the graph
+	 * @param componentOf the component of every node, numbered in topological order
+	 * @param count the number of components
+	 */
+	StronglyConnectedComponents(IntGraph graph, int[] componentOf, int count) {
+		this.graph = graph;
+		this.componentOf = componentOf;
+		this.count = count;
+		this.offsets = new int[count + 1];
+		for(int c : componentOf)
+			this.offsets[c + 1]++;
+		for(int c = 0; c < count; c++)
+			this.offsets[c + 1] += this.offsets[c];
+		int[] next = Arrays.copyOf(this.offsets, count);
+		this.members = new int[componentOf.length];
+		for(int v = 0; v < componentOf.length; v++)
+			this.members[next[componentOf[v]]++] = v;
+	}
+
+	/**
+	 * @return the number of components
+	 */
+	public int getNumberOfComponents() {
+		return this.count;
+	}
+
+	/**
+	 * @param v some node
+	 * @return the component of v
+	 */
+	public int getComponent(int v) {
+		return this.componentOf[v];
+	}
+
+	/**
+	 * @param c some component
+	 * @return the number of nodes of component c
+	 */
+	public int getSize(int c) {
+		return this.offsets[c + 1] - this.offsets[c];
+	}
+
+	/**
+	 * @param c some component
+	 * @return a new array containing the nodes of component c in ascending order
+	 */
+	public int[] getNodes(int c) {
+		return Arrays.copyOfRange(this.members, this.offsets[c], this.offsets[c + 1]);
+	}
+
+	/**
+	 * Checks whether the given component contains a cycle, i.e. whether it has more
+	 * than one node or its node attacks itself.
+	 * @param c some component
+	 * @return "true" iff component c contains a cycle
+	 */
+	public boolean isCyclic(int c) {
+		if(this.getSize(c) > 1)
+			return true;
+		int v = this.members[this.offsets[c]];
+		return this.graph.hasEdge(v, v);
+	}
+
+	/**
+	 * Returns the condensation of the graph, i.e. the acyclic graph with one node for
+	 * every component and an edge from c to d iff c != d and there is an edge from a node
+	 * of c to a node of d. Parallel edges are removed.
+	 * @return the condensation
+	 */
+	public synchronized IntGraph getCondensation() {
+		if(this.condensation == null) {
+			int[][] successors = new int[this.count][];
+			int[] last = new int[this.count];
+			Arrays.fill(last, -1);
+			int[] buffer = new int[this.count];
+			for(int c = 0; c < this.count; c++) {
+				int size = 0;
+				for(int i = this.offsets[c]; i < this.offsets[c + 1]; i++) {
+					int v = this.members[i];
+					for(int k = this.graph.getOffset(v); k < this.graph.getOffset(v + 1); k++) {
+						int d = this.componentOf[this.graph.getTarget(k)];
+						if(d != c && last[d] != c) {
+							last[d] = c;
+							buffer[size++] = d;
+						}
+					}
+				}
+				successors[c] = Arrays.copyOf(buffer, size);
+			}
+			this.condensation = new IntGraph(successors);
+		}
+		return this.condensation;
+	}
+
+	/**
+	 * Returns the components in topological layers: the first layer contains the components
+	 * without incoming edges from other components, and every further layer contains the
+	 * components all of whose predecessors are in earlier layers. The components of a layer
+	 * do not depend on each other and can be processed in parallel.
+	 * @return the layers of components
+	 */
+	public int[][] getLayers() {
+		return GraphAlgorithms.topologicalLayers(this.getCondensation());
+	}
+}
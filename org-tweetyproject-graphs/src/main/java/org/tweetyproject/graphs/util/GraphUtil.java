@@ -18,17 +18,21 @@
  */
 package org.tweetyproject.graphs.util;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 
 import Jama.EigenvalueDecomposition;
+import Jama.Matrix;
 import org.tweetyproject.commons.util.MapTools;
 import org.tweetyproject.commons.util.Pair;
 import org.tweetyproject.graphs.DirectedEdge;
 import org.tweetyproject.graphs.Graph;
 import org.tweetyproject.graphs.Node;
 import org.tweetyproject.graphs.UndirectedEdge;
+import org.tweetyproject.graphs.algorithms.GraphAnalytics;
+import org.tweetyproject.graphs.algorithms.IndexedGraph;
+import org.tweetyproject.graphs.algorithms.IntGraph;
 import org.tweetyproject.math.ComplexNumber;
-import org.tweetyproject.math.matrix.Matrix;
 
 /**
  * This abstract class contains some auxiliary methods for working
@@ -38,15 +42,28 @@ import org.tweetyproject.math.matrix.Matrix;
  */
 public abstract class GraphUtil {
 
-	/** For archiving page rank values. */
-	private static Map<Graph<? extends Node>,Map<Double,Map<Double,Map<Node,Double>>>> archivePageRank = new HashMap<Graph<? extends Node>,Map<Double,Map<Double,Map<Node,Double>>>>();
-	
-	/** For archiving HITS rank values. */
-	private static Map<Graph<? extends Node>,Map<Double,Map<Node,Double>>> archiveHITSAuthRank = new HashMap<Graph<? extends Node>,Map<Double,Map<Node,Double>>>();
-	private static Map<Graph<? extends Node>,Map<Double,Map<Node,Double>>> archiveHITSHubRank = new HashMap<Graph<? extends Node>,Map<Double,Map<Node,Double>>>();
-	
+	/** Computes and caches the centrality measures. */
+	private static final GraphAnalytics analytics = new GraphAnalytics();
+
+	/** The graph indexed last, see {@link #index(Graph)}. */
+	private static WeakReference<Graph<? extends Node>> lastGraph = new WeakReference<Graph<? extends Node>>(null);
+	/** The index of the graph indexed last. */
+	private static IndexedGraph<? extends Node> lastIndexed;
+
+	/**
+	 * Returns the engine computing PageRank, HITS and betweenness for all nodes at once, which
+	 * also caches the results for the latest versions of graphs. Its settings (e.g. the number of
+	 * threads) apply to all methods of this class.
+	 * @return the engine computing the centrality measures
+	 */
+	public static GraphAnalytics getAnalytics() {
+		return GraphUtil.analytics;
+	}
+
 	/**
 	 * Computes the PageRank of the given node in the given graph.
+	 * The PageRanks of all nodes are computed at once and cached, see {@link GraphAnalytics#pageRank(IntGraph, double, double)}.
+	 * For the PageRanks of all nodes, use {@link #pageRanks(Graph, double, double)}.
 	 * @param g a graph
 	 * @param n a node
 	 * @param dampingFactor the damping factor for PageRank
@@ -54,48 +71,17 @@ public abstract class GraphUtil {
 	 * @return the PageRank of the given node in the given graph.
 	 */
 	public static Double pageRank(Graph<? extends Node> g, Node n, double dampingFactor, double precision){
-		if(GraphUtil.archivePageRank.containsKey(g) &&
-				GraphUtil.archivePageRank.get(g).containsKey(dampingFactor) &&
-				GraphUtil.archivePageRank.get(g).get(dampingFactor).containsKey(precision))
-			return GraphUtil.archivePageRank.get(g).get(dampingFactor).get(precision).get(n);
-		Map<Node,Double> pageRanks = new HashMap<Node,Double>();
-		// init
-		double m = g.getNodes().size();
-		Set<Node> sinks = new HashSet<Node>();
-		for(Node v: g){
-			pageRanks.put(v,1/m);
-			if(g.getChildren(v).isEmpty())
-				sinks.add(v);
-		}
-		// iterate
-		double maxDiff;
-		double sum;
-		Map<Node,Double> pageRanks_tmp;		
-		do{			
-			maxDiff = 0;
-			pageRanks_tmp = new HashMap<Node,Double>();			
-			for(Node v: g){
-				sum = 0;
-				for(Node w: g.getParents(v)){
-					sum += pageRanks.get(w)/g.getChildren(w).size();
-				}
-				for(Node w: sinks)
-					sum += pageRanks.get(w)/m;
-				pageRanks_tmp.put(v, ((1-dampingFactor)/m) + (dampingFactor * sum));						
-				maxDiff = Math.max(maxDiff, Math.abs(pageRanks.get(v)-pageRanks_tmp.get(v)));				
-			}
-			pageRanks = pageRanks_tmp;			
-		}while(maxDiff > precision);		
-		if(!GraphUtil.archivePageRank.containsKey(g))
-			GraphUtil.archivePageRank.put(g, new HashMap<Double,Map<Double,Map<Node,Double>>>());
-		if(!GraphUtil.archivePageRank.get(g).containsKey(dampingFactor))
-			GraphUtil.archivePageRank.get(g).put(dampingFactor, new HashMap<Double,Map<Node,Double>>());
-		GraphUtil.archivePageRank.get(g).get(dampingFactor).put(precision, pageRanks);		
-		return pageRanks.get(n);
+		IndexedGraph<? extends Node> indexed = GraphUtil.index(g);
+		int i = indexed.getIndex(n);
+		if(i < 0)
+			return null;
+		return GraphUtil.analytics.pageRank(indexed, dampingFactor, precision)[i];
 	}
 	
 	/**
 	 * Computes the HITS rank of the given node in the given graph.
+	 * The HITS ranks of all nodes are computed at once and cached, see {@link GraphAnalytics#hits(IntGraph, double)}.
+	 * For the HITS ranks of all nodes, use {@link #hitsRanks(Graph, double, boolean)}.
 	 * @param g a graph
 	 * @param n a node
 	 * @param precision the precision (smaller values mean higher precision)
@@ -103,67 +89,37 @@ public abstract class GraphUtil {
 	 * @return the HITS rank of the given node in the given graph.
 	 */
 	public static Double hitsRank(Graph<? extends Node> g, Node n, double precision, boolean getAuth){
-		if(getAuth){
-			if(GraphUtil.archiveHITSAuthRank.containsKey(g) &&
-					GraphUtil.archiveHITSAuthRank.get(g).containsKey(precision))
-				return GraphUtil.archiveHITSAuthRank.get(g).get(precision).get(n);
-		}else{
-			if(GraphUtil.archiveHITSHubRank.containsKey(g) &&
-					GraphUtil.archiveHITSHubRank.get(g).containsKey(precision))
-				return GraphUtil.archiveHITSHubRank.get(g).get(precision).get(n);
-		}
-		Map<Node,Double> auth = new HashMap<Node,Double>();
-		Map<Node,Double> hub = new HashMap<Node,Double>();
-		// init
-		for(Node v: g){
-			auth.put(v,1d);
-			hub.put(v,1d);			
-		}
-		// iterate
-		double maxDiff;
-		double sum;
-		double norm;
-		Map<Node,Double> auth_tmp, hub_tmp;		
-		do{						
-			maxDiff = 0;
-			norm = 0;
-			auth_tmp = new HashMap<Node,Double>();
-			for(Node v: g){
-				sum = 0;
-				for(Node w: g.getParents(v))
-					sum += hub.get(w);
-				auth_tmp.put(v, sum);
-				norm += Math.pow(sum, 2);
-			}
-			norm = Math.sqrt(norm);
-			for(Node v: g){
-				auth_tmp.put(v, auth_tmp.get(v) / norm);
-				maxDiff = Math.max(maxDiff, Math.abs(auth.get(v)-auth_tmp.get(v)));
-			}
-			norm = 0;
-			hub_tmp = new HashMap<Node,Double>();
-			for(Node v: g){
-				sum = 0;
-				for(Node w: g.getChildren(v))
-					sum += auth.get(w);
-				hub_tmp.put(v, sum);
-				norm += Math.pow(sum, 2);
-			}
-			norm = Math.sqrt(norm);
-			for(Node v: g){
-				hub_tmp.put(v, hub_tmp.get(v) / norm);
-				maxDiff = Math.max(maxDiff, Math.abs(hub.get(v)-hub_tmp.get(v)));
-			}
-			auth = auth_tmp;
-			hub = hub_tmp;			
-		}while(maxDiff > precision);	
-		if(!GraphUtil.archiveHITSHubRank.containsKey(g))
-			GraphUtil.archiveHITSHubRank.put(g, new HashMap<Double,Map<Node,Double>>());		
-		GraphUtil.archiveHITSHubRank.get(g).put(precision,hub);		
-		if(!GraphUtil.archiveHITSAuthRank.containsKey(g))
-			GraphUtil.archiveHITSAuthRank.put(g, new HashMap<Double,Map<Node,Double>>());		
-		GraphUtil.archiveHITSAuthRank.get(g).put(precision,auth);
-		return getAuth ? auth.get(n) : hub.get(n);		
+		IndexedGraph<? extends Node> indexed = GraphUtil.index(g);
+		int i = indexed.getIndex(n);
+		if(i < 0)
+			return null;
+		return GraphUtil.analytics.hits(indexed, precision)[getAuth ? 0 : 1][i];
+	}
+	
+	/**
+	 * Computes the PageRank of every node of the given graph.
+	 * @param <T> the type of nodes
+	 * @param g a graph
+	 * @param dampingFactor the damping factor for PageRank
+	 * @param precision the precision (smaller values mean higher precision)
+	 * @return a map mapping each node to its PageRank
+	 */
+	public static <T extends Node> Map<T,Double> pageRanks(Graph<T> g, double dampingFactor, double precision){
+		IndexedGraph<T> indexed = GraphUtil.index(g);
+		return GraphUtil.toMap(indexed, GraphUtil.analytics.pageRank(indexed, dampingFactor, precision));
+	}
+	
+	/**
+	 * Computes the HITS rank of every node of the given graph.
+	 * @param <T> the type of nodes
+	 * @param g a graph
+	 * @param precision the precision (smaller values mean higher precision)
+	 * @param getAuth whether to use Auth (instead of Hub)
+	 * @return a map mapping each node to its HITS rank
+	 */
+	public static <T extends Node> Map<T,Double> hitsRanks(Graph<T> g, double precision, boolean getAuth){
+		IndexedGraph<T> indexed = GraphUtil.index(g);
+		return GraphUtil.toMap(indexed, GraphUtil.analytics.hits(indexed, precision)[getAuth ? 0 : 1]);
 	}
 	
 	/**
@@ -172,14 +128,53 @@ public abstract class GraphUtil {
 	 * @return an array of double (the real parts of the Eigenvalues).
 	 */
 	public static ComplexNumber[] eigenvalues(Graph<? extends Node> g){
-		Matrix m = g.getAdjacencyMatrix();
-		EigenvalueDecomposition ed = new EigenvalueDecomposition(m.getJamaMatrix());		
+		// the adjacency matrix is filled directly from the successors of the nodes
+		IntGraph indexed = GraphUtil.index(g).getGraph();
+		int size = indexed.getNumberOfNodes();
+		Matrix m = new Matrix(size, size);
+		for(int v = 0; v < size; v++)
+			for(int k = indexed.getOffset(v); k < indexed.getOffset(v + 1); k++)
+				m.set(v, indexed.getTarget(k), 1);
+		EigenvalueDecomposition ed = new EigenvalueDecomposition(m);
 		ComplexNumber[] result = new ComplexNumber[ed.getRealEigenvalues().length];
 		for(int i = 0; i < ed.getImagEigenvalues().length; i++){
 			result[i] = new ComplexNumber(ed.getRealEigenvalues()[i], ed.getImagEigenvalues()[i]);
 		}			
 		return result;
 	}
+
+	/**
+	 * Returns the indexed version of the given graph. The index of the graph indexed last is
+	 * reused if it is the same object and still has the same nodes and edges (see
+	 * {@link IndexedGraph#isIndexOf(Graph)}), so that querying the nodes of a graph one after
+	 * the other indexes the graph only once, while a graph changed in place is indexed again.
+	 * @param <T> the type of nodes
+	 * @param g some graph
+	 * @return the indexed version of g
+	 */
+	@SuppressWarnings("unchecked")
+	private static synchronized <T extends Node> IndexedGraph<T> index(Graph<T> g) {
+		if(GraphUtil.lastGraph.get() == g && GraphUtil.lastIndexed.isIndexOf(g))
+			return (IndexedGraph<T>) GraphUtil.lastIndexed;
+		IndexedGraph<T> indexed = new IndexedGraph<T>(g);
+		GraphUtil.lastGraph = new WeakReference<Graph<? extends Node>>(g);
+		GraphUtil.lastIndexed = indexed;
+		return indexed;
+	}
+
+	/**
+	 * Maps the nodes of the given indexed graph to their values.
+	 * @param <T> the type of nodes
+	 * @param indexed some indexed graph
+	 * @param values the values of its nodes, by index
+	 * @return a map mapping each node to its value
+	 */
+	private static <T extends Node> Map<T,Double> toMap(IndexedGraph<T> indexed, double[] values) {
+		Map<T,Double> result = new HashMap<T,Double>();
+		for(int i = 0; i < values.length; i++)
+			result.put(indexed.getNode(i), values[i]);
+		return result;
+	}
 	
 	/**
 	 * Checks whether the two graphs are isomorphic.
@@ -363,55 +358,9 @@ public abstract class GraphUtil {
 	 * @return a map mapping each node to its betweenness centrality.
 	 */
 	public static <T extends Node> Map<T,Double> betweennessCentralityNormalised(Graph<T> graph){
-		// we use iterated modified BFS (in the end O(n^4) runtime), this could be optimised
-		Map<T,Double> result = new HashMap<T,Double>();
-		for(T node: graph)
-			result.put(node, 0d);
-		Queue<T> q = new LinkedList<T>();
-		Map<T,Set<T>> pred = new HashMap<T,Set<T>>();
-		Map<T,Integer> dist = new HashMap<T,Integer>();
-		LinkedList<List<T>> paths = new LinkedList<List<T>>();
-		for(T node: graph) {
-			pred.clear();
-			dist.clear();
-			q.add(node);
-			dist.put(node, 0);
-			while(!q.isEmpty()) {
-				T node2 = q.poll();
-				for(T node3: graph.getChildren(node2)) {
-					if(dist.containsKey(node3)) {
-						if(dist.get(node3) == dist.get(node2) +1) {
-							pred.get(node3).add(node2);
-						}
-					}else {
-						dist.put(node3, dist.get(node2)+1);
-						pred.put(node3, new HashSet<T>());
-						pred.get(node3).add(node2);
-						q.add(node3);
-					}
-				}
-			}			
-			for(T node2: pred.keySet()) {
-				List<T> path = new LinkedList<T>();
-				path.add(node2);
-				paths.add(path);
-				while(!paths.isEmpty()) {
-					path = paths.poll();
-					if(path.get(0) == node) {
-						for(T node3: path)
-							if(node3 != node && node3 != node2) {
-								result.put(node3, result.get(node3)+1);
-							}
-					}else {
-						for(T node3: pred.get(path.get(0))) {
-							List<T> newPath = new LinkedList<T>(path);
-							newPath.add(0, node3);
-							paths.add(0,newPath);
-						}
-					}
-				}
-			}
-		}
+		// the numbers of shortest paths are computed for all nodes at once, see GraphAnalytics#betweenness(IntGraph)
+		IndexedGraph<T> indexed = GraphUtil.index(graph);
+		Map<T,Double> result = GraphUtil.toMap(indexed, GraphUtil.analytics.betweenness(indexed));
 		// normalise
 		double min = Double.MAX_VALUE, max = 0;
 		for(T node: result.keySet()) {
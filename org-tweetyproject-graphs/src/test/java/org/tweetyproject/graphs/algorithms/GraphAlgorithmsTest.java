@@ -0,0 +1,92 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.graphs.algorithms;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class GraphAlgorithmsTest {
+
+	/** 0 -> 1 -> 2 -> 0, 2 -> 3 -> 4 -> 3, 5 */
+	private IntGraph example() {
+		return new IntGraph(new int[][] {{1}, {2}, {0, 3}, {4}, {3}, {}});
+	}
+
+	@Test
+	public void testStronglyConnectedComponents() {
+		for(StronglyConnectedComponents sccs : new StronglyConnectedComponents[] {
+				GraphAlgorithms.tarjan(this.example()), GraphAlgorithms.kosaraju(this.example())}) {
+			assertEquals(3, sccs.getNumberOfComponents());
+			int c = sccs.getComponent(0);
+			assertArrayEquals(new int[] {0, 1, 2}, sccs.getNodes(c));
+			assertArrayEquals(new int[] {3, 4}, sccs.getNodes(sccs.getComponent(3)));
+			assertTrue(sccs.getComponent(0) < sccs.getComponent(3));
+			assertFalse(sccs.isCyclic(sccs.getComponent(5)));
+			assertEquals(1, sccs.getCondensation().getNumberOfEdges());
+		}
+	}
+
+	@Test
+	public void testTopologicalLayers() {
+		IntGraph g = new IntGraph(new int[][] {{1, 2}, {3}, {3}, {}, {3}});
+		int[][] layers = GraphAlgorithms.topologicalLayers(g);
+		assertArrayEquals(new int[][] {{0, 4}, {1, 2}, {3}}, layers);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTopologicalLayersCyclic() {
+		GraphAlgorithms.topologicalLayers(this.example());
+	}
+
+	@Test
+	public void testCycles() {
+		assertTrue(GraphAlgorithms.containsCycle(this.example()));
+		assertTrue(GraphAlgorithms.containsOddCycle(this.example()));
+		assertEquals(2, GraphAlgorithms.getElementaryCycles(this.example()).size());
+		IntGraph even = new IntGraph(new int[][] {{1}, {2}, {3}, {0}});
+		assertFalse(GraphAlgorithms.containsOddCycle(even));
+		assertTrue(GraphAlgorithms.isBipartite(even));
+		assertTrue(GraphAlgorithms.containsOddCycle(new IntGraph(new int[][] {{0}})));
+		assertFalse(GraphAlgorithms.containsCycle(new IntGraph(new int[][] {{1}, {}})));
+	}
+
+	@Test
+	public void testSearch() {
+		assertArrayEquals(new int[] {2, 0, 1, 2, 3, -1}, GraphAlgorithms.breadthFirstSearch(this.example(), 1));
+		assertArrayEquals(new int[] {3, 4}, GraphAlgorithms.depthFirstSearch(this.example(), 3));
+	}
+
+	@Test
+	public void testLongChain() {
+		// recursive implementations overflow the stack on such chains
+		int n = 500000;
+		int[][] successors = new int[n][];
+		for(int i = 0; i < n; i++)
+			successors[i] = new int[] {(i + 1) % n};
+		IntGraph g = new IntGraph(successors);
+		assertEquals(1, GraphAlgorithms.tarjan(g).getNumberOfComponents());
+		assertEquals(1, GraphAlgorithms.kosaraju(g).getNumberOfComponents());
+		assertFalse(GraphAlgorithms.containsOddCycle(g));
+		assertEquals(n, GraphAlgorithms.depthFirstSearch(g, 0).length);
+	}
+}
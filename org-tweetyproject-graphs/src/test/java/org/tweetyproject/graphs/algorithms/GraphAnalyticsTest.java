@@ -0,0 +1,86 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.graphs.algorithms;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class GraphAnalyticsTest {
+
+	@Test
+	public void testBetweenness() {
+		// 0 -> 1 -> 3, 0 -> 2 -> 3, 3 -> 4: shortest paths through 1 and 2 are 0-1-3 and 0-1-3-4 (resp. 2)
+		IntGraph g = new IntGraph(new int[][] {{1, 2}, {3}, {3}, {4}, {}});
+		assertArrayEquals(new double[] {0, 2, 2, 4, 0}, new GraphAnalytics(1, 0).betweenness(g), 0);
+	}
+
+	@Test
+	public void testPageRank() {
+		IntGraph g = new IntGraph(new int[][] {{1}, {2}, {0}, {0}});
+		double[] ranks = new GraphAnalytics(1, 0).pageRank(g, 0.85, 1e-12);
+		double sum = 0;
+		for(double r : ranks)
+			sum += r;
+		assertEquals(1, sum, 1e-9);
+		assertEquals(0.15 / 4, ranks[3], 1e-9);
+	}
+
+	@Test
+	public void testParallel() {
+		Random random = new Random(1);
+		int n = 2000;
+		int[][] successors = new int[n][];
+		for(int v = 0; v < n; v++) {
+			successors[v] = new int[random.nextInt(4)];
+			for(int k = 0; k < successors[v].length; k++)
+				successors[v][k] = random.nextInt(n);
+		}
+		IntGraph g = new IntGraph(successors);
+		GraphAnalytics sequential = new GraphAnalytics(1, 0);
+		GraphAnalytics parallel = new GraphAnalytics(4, 0);
+		assertArrayEquals(sequential.betweenness(g), parallel.betweenness(g), 1e-6);
+		assertArrayEquals(sequential.pageRank(g, 0.85, 1e-10), parallel.pageRank(g, 0.85, 1e-10), 1e-12);
+		assertArrayEquals(sequential.hits(g, 1e-10)[0], parallel.hits(g, 1e-10)[0], 1e-12);
+	}
+
+	@Test
+	public void testNumberOfThreads() {
+		Random random = new Random(2);
+		int n = 2000;
+		int[][] successors = new int[n][];
+		for(int v = 0; v < n; v++) {
+			successors[v] = new int[random.nextInt(4)];
+			for(int k = 0; k < successors[v].length; k++)
+				successors[v][k] = random.nextInt(n);
+		}
+		IntGraph g = new IntGraph(successors);
+		double[] expected = new GraphAnalytics(1, 0).pageRank(g, 0.85, 1e-10);
+		// the threads are shared by all computations and replaced when their number changes
+		GraphAnalytics analytics = new GraphAnalytics(2, 0);
+		for(int threads : new int[] {2, 4, 4, 1, 3}) {
+			analytics.setNumberOfThreads(threads);
+			assertArrayEquals(expected, analytics.pageRank(g, 0.85, 1e-10), 1e-12);
+			assertArrayEquals(analytics.betweenness(g), new GraphAnalytics(1, 0).betweenness(g), 1e-6);
+		}
+	}
+}
@@ -19,12 +19,16 @@
 package org.tweetyproject.graphs.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
 
 import org.junit.Test;
 
 import org.tweetyproject.graphs.DefaultGraph;
 import org.tweetyproject.graphs.DirectedEdge;
 import org.tweetyproject.graphs.Graph;
+import org.tweetyproject.graphs.SimpleGraph;
 import org.tweetyproject.graphs.SimpleNode;
 
 public class GraphUtilTest {
@@ -55,4 +59,59 @@ public class GraphUtilTest {
 		assertEquals(GraphUtil.enumerateChordlessCircuits(g).size(),4);
 		
 	}
+	
+	@Test
+	public void testRanks() {
+		Graph<SimpleNode> g = new DefaultGraph<SimpleNode>();
+		SimpleNode[] nodes = new SimpleNode[4];
+		for(int i = 0; i < 4; i++){
+			nodes[i] = new SimpleNode("a"+i);
+			g.add(nodes[i]);
+		}
+		g.add(new DirectedEdge<SimpleNode>(nodes[0], nodes[1]));
+		g.add(new DirectedEdge<SimpleNode>(nodes[1], nodes[2]));
+		g.add(new DirectedEdge<SimpleNode>(nodes[2], nodes[0]));
+		g.add(new DirectedEdge<SimpleNode>(nodes[3], nodes[0]));
+		Map<SimpleNode,Double> pageRanks = GraphUtil.pageRanks(g, 0.85, 1e-12);
+		Map<SimpleNode,Double> auth = GraphUtil.hitsRanks(g, 1e-12, true);
+		for(SimpleNode n: nodes){
+			assertEquals(pageRanks.get(n), GraphUtil.pageRank(g, n, 0.85, 1e-12), 0);
+			assertEquals(auth.get(n), GraphUtil.hitsRank(g, n, 1e-12, true), 0);
+		}
+		assertEquals(0.15 / 4, pageRanks.get(nodes[3]), 1e-9);
+		// the graph is indexed again after it has been changed
+		SimpleNode node = new SimpleNode("a4");
+		g.add(node);
+		g.add(new DirectedEdge<SimpleNode>(node, nodes[3]));
+		assertEquals(0.15 / 5, GraphUtil.pageRank(g, node, 0.85, 1e-12), 1e-9);
+		assertEquals(5, GraphUtil.pageRanks(g, 0.85, 1e-12).size());
+	}
+	
+	@Test
+	public void testRanksAfterFlippingEdge() {
+		SimpleGraph<SimpleNode> g = new SimpleGraph<SimpleNode>();
+		SimpleNode x = new SimpleNode("x"), y = new SimpleNode("y"), z = new SimpleNode("z");
+		g.add(x);
+		g.add(y);
+		g.add(z);
+		DirectedEdge<SimpleNode> xy = new DirectedEdge<SimpleNode>(x, y);
+		g.add(xy);
+		g.add(new DirectedEdge<SimpleNode>(z, y));
+		g.add(new DirectedEdge<SimpleNode>(y, z));
+		double before = GraphUtil.pageRank(g, y, 0.85, 1e-12);
+		// same numbers of nodes and edges, but x -> y is now y -> x
+		g.remove(xy);
+		g.add(new DirectedEdge<SimpleNode>(y, x));
+		SimpleGraph<SimpleNode> fresh = new SimpleGraph<SimpleNode>(g);
+		double after = GraphUtil.pageRank(g, y, 0.85, 1e-12);
+		assertTrue(Math.abs(before - after) > 0.01);
+		Map<SimpleNode,Double> expected = GraphUtil.pageRanks(fresh, 0.85, 1e-12);
+		Map<SimpleNode,Double> auth = GraphUtil.hitsRanks(fresh, 1e-12, true);
+		Map<SimpleNode,Double> betweenness = GraphUtil.betweennessCentralityNormalised(fresh);
+		for(SimpleNode n: g){
+			assertEquals(expected.get(n), GraphUtil.pageRank(g, n, 0.85, 1e-12), 1e-9);
+			assertEquals(auth.get(n), GraphUtil.hitsRank(g, n, 1e-12, true), 1e-9);
+			assertEquals(betweenness.get(n), GraphUtil.betweennessCentralityNormalised(g).get(n), 1e-9);
+		}
+	}
 }
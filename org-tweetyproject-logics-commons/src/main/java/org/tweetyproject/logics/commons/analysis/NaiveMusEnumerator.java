@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.HashSet;
 
 import org.tweetyproject.commons.Formula;
+import org.tweetyproject.commons.util.CancellationToken;
 
 /**
  * A simple approach to compute minimal inconsistent subsets and maximal
@@ -64,7 +65,8 @@ public class NaiveMusEnumerator<S extends Formula> extends AbstractMusEnumerator
 		}		
 		while(!candidates.isEmpty()){
 			new_candidates = new HashSet<Collection<S>>();
-			for(Collection<S> cand: candidates)
+			for(Collection<S> cand: candidates){
+				CancellationToken.checkpoint();
 				if(!this.tester.isConsistent(cand)){
 					//remove super sets erroneously added
 					//and check for smaller mis
@@ -82,6 +84,7 @@ public class NaiveMusEnumerator<S extends Formula> extends AbstractMusEnumerator
 					if(m) result.add(cand);
 				}
 				else new_candidates.add(cand);
+			}
 			new_candidates = this.merge(new_candidates);
 			// remove candidates that already contain a minimal inconsistent subset
 			candidates = new HashSet<Collection<S>>();
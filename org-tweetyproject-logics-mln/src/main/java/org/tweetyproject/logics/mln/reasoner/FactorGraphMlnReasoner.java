@@ -0,0 +1,631 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.mln.reasoner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.tweetyproject.logics.fol.syntax.FolFormula;
+import org.tweetyproject.logics.fol.syntax.FolSignature;
+import org.tweetyproject.logics.mln.syntax.MarkovLogicNetwork;
+import org.tweetyproject.logics.mln.syntax.MlnFormula;
+
+/**
+ * This MLN reasoner grounds the MLN once into a {@link MlnFactorGraph} and estimates
+ * the probability of a query by Markov chain Monte Carlo sampling on the factor graph.
+ * Two samplers are available:
+ * <ul>
+ * <li>Gibbs sampling, where the conditional probability of an atom is computed from the
+ * weights of the factors the atom appears in, using incrementally maintained counts of true
+ * literals per clause and unsatisfied clauses per factor.</li>
+ * <li>MC-SAT [Poon, Domingos. Sound and Efficient Inference with Probabilistic and Deterministic
+ * Dependencies. AAAI 2006], which handles strict formulas and near-deterministic dependencies
+ * better.</li>
+ * </ul>
+ * Several independent chains are run in parallel. After the burn-in, the chains are
+ * run in rounds until the potential scale reduction factor (Gelman-Rubin diagnostic) of the query
+ * estimates is below the given threshold or the maximal number of samples is reached.
+ * The factor graph of the last MLN and signature is cached, so repeated queries on
+ * the same MLN do not ground it again.
+ */
+public class FactorGraphMlnReasoner extends AbstractMlnReasoner {
+
+	/** The available sampling algorithms. */
+	public enum Algorithm {
+		/** Gibbs sampling */
+		GIBBS,
+		/** MC-SAT */
+		MCSAT
+	}
+
+	/** The default seed for the random number generators. */
+	public static final long DEFAULT_SEED = 0;
+
+	/** The sampling algorithm. */
+	private Algorithm algorithm;
+
+	/** The number of chains run in parallel. */
+	private int numberOfChains;
+
+	/** The number of samples discarded at the beginning of each chain. */
+	private int burnIn;
+
+	/** The number of samples per chain and round. */
+	private int samplesPerRound;
+
+	/** The maximal number of samples per chain. */
+	private int maxSamples;
+
+	/** The threshold for the potential scale reduction factor. */
+	private double rHatThreshold;
+
+	/** The seed for the random number generators. */
+	private long seed;
+
+	/** The number of SampleSAT steps per atom in MC-SAT. */
+	private int sampleSatStepsPerAtom = 10;
+
+	/** The executor the chains are run on (null for the common pool). */
+	private ExecutorService executor = null;
+
+	/** The formulas of the MLN of the cached factor graph. */
+	private Set<MlnFormula> cachedMln = null;
+
+	/** The signature of the cached factor graph. */
+	private FolSignature cachedSignature = null;
+
+	/** The cached factor graph. */
+	private MlnFactorGraph cachedGraph = null;
+
+	/** The potential scale reduction factor of the last query. */
+	private double lastRHat = Double.NaN;
+
+	/** The number of samples per chain of the last query. */
+	private int lastSamples = 0;
+
+	/**
+	 * Creates a new reasoner with 4 chains, a burn-in of 100 samples, at most 10000 samples per
+	 * chain, a threshold of 1.01 for the potential scale reduction factor and the seed
+	 * {@link #DEFAULT_SEED}.
+	 * @param algorithm the sampling algorithm
+	 */
+	public FactorGraphMlnReasoner(Algorithm algorithm) {
+		this(algorithm, 4, 100, 10000, 1.01, DEFAULT_SEED);
+	}
+
+	/**
+	 * Creates a new reasoner.
+	 * @param algorithm the sampling algorithm
+	 * @param numberOfChains the number of chains run in parallel (at least 2 for the convergence diagnostic)
+	 * @param burnIn the number of samples discarded at the beginning of each chain
+	 * @param maxSamples the maximal number of samples per chain
+	 * @param rHatThreshold sampling stops if the potential scale reduction factor is below this value
+	 * @param seed the seed for the random number generators, so results are reproducible
+	 */
+	public FactorGraphMlnReasoner(Algorithm algorithm, int numberOfChains, int burnIn, int maxSamples, double rHatThreshold, long seed) {
+		if(numberOfChains < 1)
+			throw new IllegalArgumentException("At least one chain is needed.");
+		this.algorithm = algorithm;
+		this.numberOfChains = numberOfChains;
+		this.burnIn = burnIn;
+		this.maxSamples = maxSamples;
+		this.samplesPerRound = Math.max(1, Math.min(500, maxSamples / 10));
+		this.rHatThreshold = rHatThreshold;
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets the executor the chains are run on. The executor is not shut down
+	 * by this reasoner. By default, the common fork-join pool is used.
+	 * @param executor some executor or null for the common pool
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the factor graph of the given MLN wrt. the given signature (cached
+	 * for the last MLN and signature).
+	 * @param mln some MLN
+	 * @param signature some signature
+	 * @return the factor graph
+	 */
+	public synchronized MlnFactorGraph getFactorGraph(MarkovLogicNetwork mln, FolSignature signature) {
+		Set<MlnFormula> formulas = new HashSet<>(mln);
+		if(this.cachedGraph == null || !formulas.equals(this.cachedMln) || !signature.equals(this.cachedSignature)) {
+			this.cachedGraph = new MlnFactorGraph(mln, signature);
+			this.cachedMln = formulas;
+			this.cachedSignature = signature.clone();
+		}
+		return this.cachedGraph;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.mln.reasoner.AbstractMlnReasoner#doQuery(org.tweetyproject.logics.mln.syntax.MarkovLogicNetwork, org.tweetyproject.logics.fol.syntax.FolFormula, org.tweetyproject.logics.fol.syntax.FolSignature)
+	 */
+	@Override
+	protected double doQuery(MarkovLogicNetwork mln, FolFormula query, FolSignature signature) {
+		MlnFactorGraph graph = this.getFactorGraph(mln, signature);
+		int[][] q = graph.compileQuery(query);
+		if(q == null)
+			return 0;
+		if(q.length == 0)
+			return 1;
+		SplittableRandom rnd = new SplittableRandom(this.seed);
+		List<Chain> chains = new ArrayList<>();
+		for(int i = 0; i < this.numberOfChains; i++)
+			chains.add(new Chain(graph, q, rnd.split()));
+		ExecutorService executor = this.executor != null ? this.executor : ForkJoinPool.commonPool();
+		this.runRound(executor, chains, this.burnIn, false);
+		int samples = 0;
+		double rHat;
+		do {
+			int n = Math.min(this.samplesPerRound, this.maxSamples - samples);
+			this.runRound(executor, chains, n, true);
+			samples += n;
+			rHat = this.getPotentialScaleReduction(chains);
+		} while(samples < this.maxSamples && !(rHat < this.rHatThreshold));
+		this.lastRHat = rHat;
+		this.lastSamples = samples;
+		long hits = 0, total = 0;
+		for(Chain c: chains) {
+			hits += c.hits;
+			total += c.samples;
+		}
+		return total == 0 ? 0 : ((double) hits) / total;
+	}
+
+	/**
+	 * Runs the given number of sampling steps on every chain in parallel.
+	 * @param executor some executor
+	 * @param chains the chains
+	 * @param n the number of steps per chain
+	 * @param record whether the query should be evaluated on the samples
+	 */
+	private void runRound(ExecutorService executor, List<Chain> chains, int n, boolean record) {
+		List<Future<?>> futures = new ArrayList<>();
+		for(Chain c: chains)
+			futures.add(executor.submit((Callable<Void>) () -> {
+				for(int i = 0; i < n; i++) {
+					if(this.algorithm == Algorithm.GIBBS)
+						c.gibbsSweep();
+					else c.mcSatStep(this.sampleSatStepsPerAtom);
+					if(record)
+						c.record();
+				}
+				return null;
+			}));
+		try {
+			for(Future<?> f: futures)
+				f.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		} finally {
+			for(Future<?> f: futures)
+				f.cancel(true);
+		}
+	}
+
+	/**
+	 * Computes the potential scale reduction factor (Gelman-Rubin diagnostic) of
+	 * the query estimates of the given chains.
+	 * @param chains some chains with at least two samples each
+	 * @return the potential scale reduction factor (1 if all chains only observed a single value,
+	 * 	NaN if it is not defined).
+	 */
+	private double getPotentialScaleReduction(List<Chain> chains) {
+		int m = chains.size();
+		long n = chains.get(0).samples;
+		if(m < 2 || n < 2)
+			return Double.NaN;
+		double[] means = new double[m];
+		double grandMean = 0, w = 0;
+		for(int j = 0; j < m; j++) {
+			means[j] = ((double) chains.get(j).hits) / n;
+			grandMean += means[j] / m;
+			w += means[j] * (1 - means[j]) * n / (n - 1) / m;
+		}
+		double b = 0;
+		for(int j = 0; j < m; j++)
+			b += (means[j] - grandMean) * (means[j] - grandMean) * n / (m - 1);
+		if(w == 0)
+			return b == 0 ? 1 : Double.POSITIVE_INFINITY;
+		return Math.sqrt(((n - 1) * w / n + b / n) / w);
+	}
+
+	/**
+	 * Returns the potential scale reduction factor of the last query.
+	 * @return the potential scale reduction factor of the last query.
+	 */
+	public double getLastPotentialScaleReduction() {
+		return this.lastRHat;
+	}
+
+	/**
+	 * Returns the number of samples per chain used for the last query.
+	 * @return the number of samples per chain used for the last query.
+	 */
+	public int getLastNumberOfSamples() {
+		return this.lastSamples;
+	}
+
+	/**
+	 * Sets the number of SampleSAT steps per atom used by MC-SAT (default 10).
+	 * @param steps the number of steps per atom
+	 */
+	public void setSampleSatStepsPerAtom(int steps) {
+		this.sampleSatStepsPerAtom = steps;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.Reasoner#isInstalled()
+	 */
+	@Override
+	public boolean isInstalled() {
+		return true;
+	}
+
+	/**
+	 * A single Markov chain on a factor graph.
+	 */
+	private static class Chain {
+
+		/** The factor graph. */
+		private MlnFactorGraph graph;
+
+		/** The clauses of the query. */
+		private int[][] query;
+
+		/** The random number generator of this chain. */
+		private SplittableRandom rnd;
+
+		/** The current value of each atom (including atoms only appearing in the query). */
+		private boolean[] value;
+
+		/** The number of true literals of each clause. */
+		private int[] trueLiterals;
+
+		/** The number of unsatisfied clauses of each factor. */
+		private int[] unsatisfiedClauses;
+
+		/** Whether each clause is currently a constraint of SampleSAT (MC-SAT only). */
+		private boolean[] selected;
+
+		/** The selected clauses that are unsatisfied, see "position". */
+		private int[] unsatisfied;
+
+		/** The number of entries of "unsatisfied". */
+		private int numUnsatisfied;
+
+		/** The position of each clause in "unsatisfied" or -1. */
+		private int[] position;
+
+		/** The number of recorded samples satisfying the query. */
+		private long hits = 0;
+
+		/** The number of recorded samples. */
+		private long samples = 0;
+
+		/**
+		 * Creates a new chain whose initial state satisfies all hard factors.
+		 * @param graph some factor graph
+		 * @param query the compiled query
+		 * @param rnd a random number generator
+		 */
+		Chain(MlnFactorGraph graph, int[][] query, SplittableRandom rnd) {
+			this.graph = graph;
+			this.query = query;
+			this.rnd = rnd;
+			int n = graph.getNumberOfAtoms();
+			for(int[] clause: query)
+				for(int lit: clause)
+					n = Math.max(n, (lit >> 1) + 1);
+			this.value = new boolean[n];
+			for(int a = 0; a < n; a++)
+				this.value[a] = rnd.nextBoolean();
+			this.trueLiterals = new int[graph.getNumberOfClauses()];
+			this.unsatisfiedClauses = new int[graph.getNumberOfFactors()];
+			this.selected = new boolean[graph.getNumberOfClauses()];
+			this.unsatisfied = new int[graph.getNumberOfClauses()];
+			this.position = new int[graph.getNumberOfClauses()];
+			this.recount();
+			// find a state satisfying the hard factors
+			for(int f = 0; f < graph.getNumberOfFactors(); f++)
+				if(graph.isHard(f))
+					this.select(f);
+			if(!this.walkSat(100 * graph.getNumberOfClauses() + 1000))
+				throw new IllegalArgumentException("Could not find a state satisfying all strict formulas.");
+		}
+
+		/**
+		 * Recomputes all counters from the current state.
+		 */
+		private void recount() {
+			for(int f = 0; f < this.graph.getNumberOfFactors(); f++)
+				this.unsatisfiedClauses[f] = 0;
+			this.numUnsatisfied = 0;
+			for(int c = 0; c < this.graph.getNumberOfClauses(); c++) {
+				this.trueLiterals[c] = 0;
+				for(int lit: this.graph.getClause(c))
+					if(this.isTrue(lit))
+						this.trueLiterals[c]++;
+				if(this.trueLiterals[c] == 0)
+					this.unsatisfiedClauses[this.graph.getFactor(c)]++;
+				this.position[c] = -1;
+				if(this.selected[c] && this.trueLiterals[c] == 0)
+					this.addUnsatisfied(c);
+			}
+		}
+
+		/**
+		 * Checks whether the given literal is true in the current state.
+		 * @param lit some literal
+		 * @return "true" iff the literal is true.
+		 */
+		private boolean isTrue(int lit) {
+			return this.value[lit >> 1] != ((lit & 1) == 1);
+		}
+
+		/**
+		 * Selects all clauses of the given factor as SampleSAT constraints.
+		 * @param f some factor
+		 */
+		private void select(int f) {
+			for(int c = this.graph.getFirstClause(f); c < this.graph.getEndClause(f); c++) {
+				this.selected[c] = true;
+				if(this.trueLiterals[c] == 0 && this.position[c] < 0)
+					this.addUnsatisfied(c);
+			}
+		}
+
+		/**
+		 * Adds a clause to the set of unsatisfied selected clauses.
+		 * @param c some clause
+		 */
+		private void addUnsatisfied(int c) {
+			this.position[c] = this.numUnsatisfied;
+			this.unsatisfied[this.numUnsatisfied++] = c;
+		}
+
+		/**
+		 * Removes a clause from the set of unsatisfied selected clauses.
+		 * @param c some clause
+		 */
+		private void removeUnsatisfied(int c) {
+			int last = this.unsatisfied[--this.numUnsatisfied];
+			this.unsatisfied[this.position[c]] = last;
+			this.position[last] = this.position[c];
+			this.position[c] = -1;
+		}
+
+		/**
+		 * Flips the given atom and updates all counters.
+		 * @param a some atom
+		 */
+		private void flip(int a) {
+			this.value[a] = !this.value[a];
+			if(a >= this.graph.getNumberOfAtoms())
+				return;
+			for(int c: this.graph.getClausesOf(a)) {
+				boolean nowTrue = false;
+				for(int lit: this.graph.getClause(c))
+					if((lit >> 1) == a) {
+						nowTrue = this.isTrue(lit);
+						break;
+					}
+				if(nowTrue) {
+					if(this.trueLiterals[c]++ == 0) {
+						this.unsatisfiedClauses[this.graph.getFactor(c)]--;
+						if(this.position[c] >= 0)
+							this.removeUnsatisfied(c);
+					}
+				} else if(--this.trueLiterals[c] == 0) {
+					this.unsatisfiedClauses[this.graph.getFactor(c)]++;
+					if(this.selected[c])
+						this.addUnsatisfied(c);
+				}
+			}
+		}
+
+		/**
+		 * Performs one Gibbs sweep over all atoms.
+		 */
+		void gibbsSweep() {
+			for(int a = 0; a < this.value.length; a++) {
+				if(a >= this.graph.getNumberOfAtoms()) {
+					this.value[a] = this.rnd.nextBoolean();
+					continue;
+				}
+				// difference of the log-weights of the states with a=true and a=false
+				double delta = 0;
+				boolean hardTrue = true, hardFalse = true;
+				int[] clauses = this.graph.getClausesOf(a);
+				int i = 0;
+				while(i < clauses.length) {
+					int f = this.graph.getFactor(clauses[i]);
+					int unsatTrue = this.unsatisfiedClauses[f], unsatFalse = unsatTrue;
+					for(; i < clauses.length && this.graph.getFactor(clauses[i]) == f; i++) {
+						int c = clauses[i];
+						int lit = -1;
+						for(int l: this.graph.getClause(c))
+							if((l >> 1) == a) {
+								lit = l;
+								break;
+							}
+						int others = this.trueLiterals[c] - (this.isTrue(lit) ? 1 : 0);
+						if(this.trueLiterals[c] == 0) {
+							unsatTrue--;
+							unsatFalse--;
+						}
+						if(others == 0) {
+							// the clause is only satisfied if the literal of "a" is true
+							if((lit & 1) == 1)
+								unsatTrue++;
+							else unsatFalse++;
+						}
+					}
+					if(this.graph.isHard(f)) {
+						hardTrue &= unsatTrue == 0;
+						hardFalse &= unsatFalse == 0;
+					} else delta += this.graph.getWeight(f) * ((unsatTrue == 0 ? 1 : 0) - (unsatFalse == 0 ? 1 : 0));
+				}
+				boolean v;
+				if(!hardTrue || !hardFalse)
+					v = hardTrue;
+				else v = this.rnd.nextDouble() < 1 / (1 + Math.exp(-delta));
+				if(v != this.value[a])
+					this.flip(a);
+			}
+		}
+
+		/**
+		 * Performs one step of MC-SAT, i.e. selects a random subset of the satisfied factors
+		 * and samples a state satisfying them using SampleSAT. If SampleSAT fails, the state
+		 * remains unchanged.
+		 * @param stepsPerAtom the number of SampleSAT steps per atom
+		 */
+		void mcSatStep(int stepsPerAtom) {
+			for(int c = 0; c < this.selected.length; c++)
+				this.selected[c] = false;
+			for(int i = 0; i < this.numUnsatisfied; i++)
+				this.position[this.unsatisfied[i]] = -1;
+			this.numUnsatisfied = 0;
+			for(int f = 0; f < this.graph.getNumberOfFactors(); f++)
+				if(this.graph.isHard(f) || (this.unsatisfiedClauses[f] == 0 && this.rnd.nextDouble() < 1 - Math.exp(-this.graph.getWeight(f))))
+					this.select(f);
+			boolean[] old = this.value.clone();
+			int n = this.value.length;
+			for(int step = stepsPerAtom * n; step > 0; step--) {
+				if(this.numUnsatisfied > 0 && this.rnd.nextBoolean())
+					this.walkSatStep();
+				else {
+					// simulated annealing step
+					int a = this.rnd.nextInt(n);
+					int delta = this.getBreakCount(a) - this.getMakeCount(a);
+					if(delta <= 0 || this.rnd.nextDouble() < Math.exp(-delta / 0.5))
+						this.flip(a);
+				}
+			}
+			if(this.numUnsatisfied > 0 && !this.walkSat(10 * n + 100)) {
+				this.value = old;
+				this.recount();
+			}
+		}
+
+		/**
+		 * Runs WalkSAT on the selected clauses.
+		 * @param maxFlips the maximal number of flips
+		 * @return "true" iff all selected clauses are satisfied.
+		 */
+		private boolean walkSat(int maxFlips) {
+			for(int i = 0; i < maxFlips && this.numUnsatisfied > 0; i++)
+				this.walkSatStep();
+			return this.numUnsatisfied == 0;
+		}
+
+		/**
+		 * Performs a WalkSAT step: an unsatisfied selected clause is picked at random and either a random
+		 * atom or the atom with minimal break count of the clause is flipped.
+		 */
+		private void walkSatStep() {
+			int[] clause = this.graph.getClause(this.unsatisfied[this.rnd.nextInt(this.numUnsatisfied)]);
+			int best = clause[0] >> 1;
+			if(this.rnd.nextDouble() < 0.5)
+				best = clause[this.rnd.nextInt(clause.length)] >> 1;
+			else {
+				// ties are broken uniformly at random, otherwise the walk is biased towards certain solutions
+				int minBreak = Integer.MAX_VALUE, ties = 0;
+				for(int lit: clause) {
+					int b = this.getBreakCount(lit >> 1);
+					if(b < minBreak) {
+						minBreak = b;
+						best = lit >> 1;
+						ties = 1;
+					} else if(b == minBreak && this.rnd.nextInt(++ties) == 0)
+						best = lit >> 1;
+				}
+			}
+			this.flip(best);
+		}
+
+		/**
+		 * Returns the number of selected clauses that become unsatisfied when flipping the given atom.
+		 * @param a some atom
+		 * @return the break count of "a".
+		 */
+		private int getBreakCount(int a) {
+			if(a >= this.graph.getNumberOfAtoms())
+				return 0;
+			int result = 0;
+			for(int c: this.graph.getClausesOf(a))
+				if(this.selected[c] && this.trueLiterals[c] == 1)
+					for(int lit: this.graph.getClause(c))
+						if((lit >> 1) == a) {
+							if(this.isTrue(lit))
+								result++;
+							break;
+						}
+			return result;
+		}
+
+		/**
+		 * Returns the number of selected clauses that become satisfied when flipping the given atom.
+		 * @param a some atom
+		 * @return the make count of "a".
+		 */
+		private int getMakeCount(int a) {
+			if(a >= this.graph.getNumberOfAtoms())
+				return 0;
+			int result = 0;
+			for(int c: this.graph.getClausesOf(a))
+				if(this.selected[c] && this.trueLiterals[c] == 0)
+					result++;
+			return result;
+		}
+
+		/**
+		 * Evaluates the query on the current state and records the result.
+		 */
+		void record() {
+			this.samples++;
+			for(int[] clause: this.query) {
+				boolean sat = false;
+				for(int lit: clause)
+					if(this.isTrue(lit)) {
+						sat = true;
+						break;
+					}
+				if(!sat)
+					return;
+			}
+			this.hits++;
+		}
+	}
+}
@@ -0,0 +1,569 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.mln.reasoner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.tweetyproject.commons.util.Pair;
+import org.tweetyproject.logics.commons.syntax.Constant;
+import org.tweetyproject.logics.commons.syntax.Predicate;
+import org.tweetyproject.logics.commons.syntax.RelationalFormula;
+import org.tweetyproject.logics.commons.syntax.Sort;
+import org.tweetyproject.logics.commons.syntax.Variable;
+import org.tweetyproject.logics.commons.syntax.interfaces.Term;
+import org.tweetyproject.logics.fol.syntax.EqualityPredicate;
+import org.tweetyproject.logics.fol.syntax.ExclusiveDisjunction;
+import org.tweetyproject.logics.fol.syntax.FolAtom;
+import org.tweetyproject.logics.fol.syntax.FolFormula;
+import org.tweetyproject.logics.fol.syntax.FolSignature;
+import org.tweetyproject.logics.fol.syntax.InequalityPredicate;
+import org.tweetyproject.logics.mln.syntax.MarkovLogicNetwork;
+import org.tweetyproject.logics.mln.syntax.MlnFormula;
+import org.tweetyproject.logics.pl.syntax.Conjunction;
+import org.tweetyproject.logics.pl.syntax.Contradiction;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
+import org.tweetyproject.logics.pl.syntax.Equivalence;
+import org.tweetyproject.logics.pl.syntax.Implication;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+import org.tweetyproject.logics.pl.syntax.Tautology;
+import org.tweetyproject.logics.pl.util.HerbrandGrounder;
+
+/**
+ * The ground factor graph of a Markov logic network wrt. some signature. Ground atoms
+ * are represented by integer ids and every ground instance of an MLN formula is a factor
+ * consisting of the clauses of its conjunctive normal form. A literal of atom <code>a</code>
+ * is encoded as <code>2*a</code> (positive) or <code>2*a+1</code> (negative).
+ * <br>
+ * Quantifier-free formulas without (in)equality are converted into conjunctive normal
+ * form only once: the CNF of the formula is computed with one proposition per (non-ground)
+ * atom and its clauses are instantiated for every assignment of the free variables. Other
+ * formulas are grounded instance by instance.
+ * <br>
+ * Ground instances of formulas with negative weight <code>w</code> are negated and get weight
+ * <code>-w</code>, which does not change the represented distribution. Factors
+ * of strict formulas are marked as hard. Factors that are tautologies (or contradictions of
+ * non-strict formulas) do not influence the distribution and are dropped.
+ * <br>
+ * The graph is immutable after compilation and can be shared by several samplers.
+ *
+ * @see FactorGraphMlnReasoner
+ */
+public class MlnFactorGraph {
+
+	/** The ground atoms, indexed by their ids. */
+	private List<FolAtom> atoms;
+
+	/** The grounder used for compiling formulas. */
+	private HerbrandGrounder grounder;
+
+	/** Index of ground atoms per predicate, mapping the arguments of a ground atom to its id. */
+	private Map<Predicate,Map<List<Term<?>>,Integer>> ids;
+
+	/** The weight of each factor (non-negative). */
+	private double[] weights;
+
+	/** Whether each factor is hard. */
+	private boolean[] hard;
+
+	/** The clauses of factor f are the clauses with ids factorStart[f] ... factorStart[f+1]-1. */
+	private int[] factorStart;
+
+	/** The literals of each clause. */
+	private int[][] clauses;
+
+	/** The factor of each clause. */
+	private int[] clauseFactor;
+
+	/** The clauses each atom appears in, in ascending order. */
+	private int[][] atomClauses;
+
+	/**
+	 * Compiles the given MLN wrt. the given signature.
+	 * @param mln some MLN
+	 * @param signature a signature containing the signature of the MLN
+	 * @throws IllegalArgumentException if a strict formula has a ground instance that is a contradiction
+	 * 	or the signature contains functors.
+	 */
+	public MlnFactorGraph(MarkovLogicNetwork mln, FolSignature signature) throws IllegalArgumentException {
+		this.atoms = new ArrayList<>();
+		this.ids = new HashMap<>();
+		this.grounder = new HerbrandGrounder(signature);
+		List<Double> weights = new ArrayList<>();
+		List<Boolean> hard = new ArrayList<>();
+		List<Integer> factorStart = new ArrayList<>();
+		List<int[]> clauses = new ArrayList<>();
+		for(MlnFormula f: mln) {
+			double weight = f.isStrict() ? Double.POSITIVE_INFINITY : f.getWeight();
+			FolFormula formula = f.getFormula();
+			if(weight < 0) {
+				formula = new org.tweetyproject.logics.fol.syntax.Negation(formula);
+				weight = -weight;
+			}
+			if(weight == 0)
+				continue;
+			List<FolAtom> templateAtoms = new ArrayList<>();
+			PlFormula skeleton = this.toSkeleton(formula, templateAtoms);
+			List<List<int[]>> factors = new ArrayList<>();
+			boolean unsat;
+			if(skeleton != null)
+				unsat = this.instantiate(formula, skeleton, templateAtoms, signature, factors);
+			else {
+				unsat = false;
+				for(RelationalFormula g: formula.allGroundInstances(signature.getConstants())) {
+					List<int[]> factor = this.toClauses(this.grounder.ground((FolFormula) g), null);
+					if(factor == null)
+						unsat = true;
+					else factors.add(factor);
+				}
+			}
+			if(unsat && f.isStrict())
+				throw new IllegalArgumentException("The strict formula " + f + " is unsatisfiable.");
+			for(List<int[]> factor: factors) {
+				if(factor.isEmpty())
+					continue;
+				weights.add(weight);
+				hard.add(f.isStrict());
+				factorStart.add(clauses.size());
+				clauses.addAll(factor);
+			}
+		}
+		factorStart.add(clauses.size());
+		this.weights = new double[weights.size()];
+		this.hard = new boolean[weights.size()];
+		for(int i = 0; i < this.weights.length; i++) {
+			this.weights[i] = weights.get(i);
+			this.hard[i] = hard.get(i);
+		}
+		this.factorStart = factorStart.stream().mapToInt(Integer::intValue).toArray();
+		this.clauses = clauses.toArray(new int[0][]);
+		this.clauseFactor = new int[this.clauses.length];
+		for(int f = 0; f < this.weights.length; f++)
+			for(int c = this.factorStart[f]; c < this.factorStart[f+1]; c++)
+				this.clauseFactor[c] = f;
+		int[] occurrences = new int[this.atoms.size()];
+		for(int[] clause: this.clauses)
+			for(int lit: clause)
+				occurrences[lit >> 1]++;
+		this.atomClauses = new int[this.atoms.size()][];
+		for(int a = 0; a < this.atomClauses.length; a++)
+			this.atomClauses[a] = new int[occurrences[a]];
+		Arrays.fill(occurrences, 0);
+		for(int c = 0; c < this.clauses.length; c++)
+			for(int lit: this.clauses[c])
+				this.atomClauses[lit >> 1][occurrences[lit >> 1]++] = c;
+	}
+
+	/**
+	 * Translates the given quantifier-free formula into a propositional formula with one
+	 * proposition per distinct atom.
+	 * @param formula some formula
+	 * @param atoms the atoms, the i-th atom is represented by a proposition with name "i"
+	 * @return the propositional skeleton of the formula or null if the formula contains
+	 * 	quantifiers or (in)equality.
+	 */
+	private PlFormula toSkeleton(FolFormula formula, List<FolAtom> atoms) {
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Tautology)
+			return new Tautology();
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Contradiction)
+			return new Contradiction();
+		if(formula instanceof FolAtom) {
+			FolAtom a = (FolAtom) formula;
+			if(a.getPredicate() instanceof EqualityPredicate || a.getPredicate() instanceof InequalityPredicate)
+				return null;
+			int idx = atoms.indexOf(a);
+			if(idx < 0) {
+				idx = atoms.size();
+				atoms.add(a);
+			}
+			return new Proposition(String.valueOf(idx));
+		}
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Negation) {
+			PlFormula g = this.toSkeleton(((org.tweetyproject.logics.fol.syntax.Negation) formula).getFormula(), atoms);
+			return g == null ? null : new Negation(g);
+		}
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Conjunction) {
+			Conjunction c = new Conjunction();
+			for(RelationalFormula f: (org.tweetyproject.logics.fol.syntax.Conjunction) formula) {
+				PlFormula g = this.toSkeleton((FolFormula) f, atoms);
+				if(g == null)
+					return null;
+				c.add(g);
+			}
+			return c;
+		}
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Disjunction) {
+			Disjunction d = new Disjunction();
+			for(RelationalFormula f: (org.tweetyproject.logics.fol.syntax.Disjunction) formula) {
+				PlFormula g = this.toSkeleton((FolFormula) f, atoms);
+				if(g == null)
+					return null;
+				d.add(g);
+			}
+			return d;
+		}
+		if(formula instanceof ExclusiveDisjunction)
+			return this.toSkeleton((FolFormula) ((ExclusiveDisjunction) formula).toDnf(), atoms);
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Implication) {
+			Pair<RelationalFormula,RelationalFormula> p = ((org.tweetyproject.logics.fol.syntax.Implication) formula).getFormulas();
+			PlFormula a = this.toSkeleton((FolFormula) p.getFirst(), atoms);
+			PlFormula b = a == null ? null : this.toSkeleton((FolFormula) p.getSecond(), atoms);
+			return b == null ? null : new Implication(a, b);
+		}
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Equivalence) {
+			Pair<RelationalFormula,RelationalFormula> p = ((org.tweetyproject.logics.fol.syntax.Equivalence) formula).getFormulas();
+			PlFormula a = this.toSkeleton((FolFormula) p.getFirst(), atoms);
+			PlFormula b = a == null ? null : this.toSkeleton((FolFormula) p.getSecond(), atoms);
+			return b == null ? null : new Equivalence(a, b);
+		}
+		return null;
+	}
+
+	/**
+	 * Computes the clauses of the given propositional skeleton once and instantiates them
+	 * for every assignment of the free variables of the formula.
+	 * @param formula some quantifier-free formula
+	 * @param skeleton the propositional skeleton of the formula
+	 * @param atoms the atoms of the skeleton, see {@link #toSkeleton(FolFormula, List)}
+	 * @param signature the signature providing the constants
+	 * @param factors the clauses of every satisfiable ground instance are added to this list
+	 * @return "true" iff some ground instance is unsatisfiable.
+	 * @throws IllegalArgumentException if some free variable has a sort without constants.
+	 */
+	private boolean instantiate(FolFormula formula, PlFormula skeleton, List<FolAtom> atoms, FolSignature signature, List<List<int[]>> factors) throws IllegalArgumentException {
+		List<Variable> vars = new ArrayList<>(formula.getUnboundVariables());
+		Map<Sort,List<Constant>> constants = new HashMap<>();
+		for(Constant c: signature.getConstants()) {
+			if(!constants.containsKey(c.getSort()))
+				constants.put(c.getSort(), new ArrayList<>());
+			constants.get(c.getSort()).add(c);
+		}
+		List<List<Constant>> domains = new ArrayList<>();
+		for(Variable v: vars) {
+			if(!constants.containsKey(v.getSort()))
+				throw new IllegalArgumentException("There is no term of sort " + v.getSort() + " to substitute.");
+			domains.add(constants.get(v.getSort()));
+		}
+		// clauses of the skeleton over literals 2*i (positive) and 2*i+1 (negative) of the i-th atom
+		List<int[]> template = new ArrayList<>();
+		if(!(skeleton instanceof Tautology)) {
+			if(skeleton instanceof Contradiction)
+				return true;
+			for(PlFormula c: skeleton.toCnf()) {
+				int[] clause = this.toTemplateClause(c);
+				if(clause == null)
+					continue;
+				if(clause.length == 0)
+					return true;
+				template.add(clause);
+			}
+		}
+		if(template.isEmpty())
+			return false;
+		// arguments of each atom: the index of the variable or -1 for constants
+		int[][] argVars = new int[atoms.size()][];
+		for(int i = 0; i < atoms.size(); i++) {
+			List<Term<?>> args = atoms.get(i).getArguments();
+			argVars[i] = new int[args.size()];
+			for(int j = 0; j < args.size(); j++)
+				argVars[i][j] = args.get(j) instanceof Variable ? vars.indexOf(args.get(j)) : -1;
+		}
+		int[] assignment = new int[vars.size()];
+		int[] atomIds = new int[atoms.size()];
+		do {
+			for(int i = 0; i < atoms.size(); i++) {
+				List<Term<?>> args = new ArrayList<>(atoms.get(i).getArguments());
+				for(int j = 0; j < argVars[i].length; j++)
+					if(argVars[i][j] >= 0)
+						args.set(j, domains.get(argVars[i][j]).get(assignment[argVars[i][j]]));
+				atomIds[i] = this.getId(atoms.get(i).getPredicate(), args, null);
+			}
+			List<int[]> factor = new ArrayList<>();
+			for(int[] clause: template) {
+				int[] lits = new int[clause.length];
+				int n = 0;
+				boolean tautological = false;
+				for(int lit: clause) {
+					int l = 2 * atomIds[lit >> 1] + (lit & 1);
+					boolean duplicate = false;
+					for(int k = 0; k < n; k++) {
+						if(lits[k] == (l ^ 1))
+							tautological = true;
+						if(lits[k] == l)
+							duplicate = true;
+					}
+					if(tautological)
+						break;
+					if(!duplicate)
+						lits[n++] = l;
+				}
+				if(!tautological)
+					factor.add(Arrays.copyOf(lits, n));
+			}
+			factors.add(factor);
+		} while(this.next(assignment, domains));
+		return false;
+	}
+
+	/**
+	 * Moves the given assignment to the next assignment in lexicographic order.
+	 * @param assignment the indices of the constants assigned to the variables
+	 * @param domains the constants of each variable
+	 * @return "false" iff there is no next assignment.
+	 */
+	private boolean next(int[] assignment, List<List<Constant>> domains) {
+		for(int i = assignment.length - 1; i >= 0; i--) {
+			if(++assignment[i] < domains.get(i).size())
+				return true;
+			assignment[i] = 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Converts the given clause of a propositional skeleton into literals over atom indices.
+	 * @param c some clause
+	 * @return the literals of the clause or null if the clause is a tautology.
+	 */
+	private int[] toTemplateClause(PlFormula c) {
+		List<PlFormula> disjuncts = new ArrayList<>();
+		if(c instanceof Disjunction) {
+			for(PlFormula d: (Disjunction) c)
+				disjuncts.add(d);
+		} else disjuncts.add(c);
+		List<Integer> lits = new ArrayList<>();
+		for(PlFormula d: disjuncts) {
+			if(d instanceof Contradiction)
+				continue;
+			if(d instanceof Tautology)
+				return null;
+			boolean negated = d instanceof Negation;
+			Proposition p = (Proposition) (negated ? ((Negation) d).getFormula() : d);
+			int lit = 2 * Integer.parseInt(p.getName()) + (negated ? 1 : 0);
+			if(lits.contains(lit ^ 1))
+				return null;
+			if(!lits.contains(lit))
+				lits.add(lit);
+		}
+		return lits.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Converts the given ground formula into clauses over atom ids.
+	 * @param f some ground formula
+	 * @param extra ids for atoms not in this graph; if null, unknown atoms are added to the graph
+	 * @return the list of non-tautological clauses or null if the formula is unsatisfiable.
+	 */
+	private List<int[]> toClauses(PlFormula f, Map<FolAtom,Integer> extra) {
+		List<int[]> result = new ArrayList<>();
+		if(f instanceof Tautology)
+			return result;
+		if(f instanceof Contradiction)
+			return null;
+		Conjunction cnf = f.toCnf();
+		for(PlFormula c: cnf) {
+			List<Integer> lits = new ArrayList<>();
+			boolean tautological = false;
+			List<PlFormula> disjuncts = new ArrayList<>();
+			if(c instanceof Disjunction) {
+				for(PlFormula d: (Disjunction) c)
+					disjuncts.add(d);
+			} else disjuncts.add(c);
+			for(PlFormula d: disjuncts) {
+				if(d instanceof Contradiction)
+					continue;
+				if(d instanceof Tautology) {
+					tautological = true;
+					break;
+				}
+				boolean negated = d instanceof Negation;
+				Proposition p = (Proposition) (negated ? ((Negation) d).getFormula() : d);
+				int lit = 2 * this.getId(p, extra) + (negated ? 1 : 0);
+				if(lits.contains(lit ^ 1)) {
+					tautological = true;
+					break;
+				}
+				if(!lits.contains(lit))
+					lits.add(lit);
+			}
+			if(tautological)
+				continue;
+			if(lits.isEmpty())
+				return null;
+			result.add(lits.stream().mapToInt(Integer::intValue).toArray());
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the id of the given proposition.
+	 * @param p some proposition of the grounder
+	 * @param extra ids for atoms not in this graph; if null, unknown atoms are added to the graph
+	 * @return the id of "p"
+	 */
+	private int getId(Proposition p, Map<FolAtom,Integer> extra) {
+		FolAtom a = this.grounder.getAtom(p);
+		return this.getId(a.getPredicate(), a.getArguments(), extra);
+	}
+
+	/**
+	 * Returns the id of the ground atom with the given predicate and arguments.
+	 * @param p some predicate
+	 * @param args some constants
+	 * @param extra ids for atoms not in this graph; if null, unknown atoms are added to the graph
+	 * @return the id of the ground atom
+	 */
+	private int getId(Predicate p, List<Term<?>> args, Map<FolAtom,Integer> extra) {
+		Map<List<Term<?>>,Integer> index = this.ids.get(p);
+		Integer id = index == null ? null : index.get(args);
+		if(id != null)
+			return id;
+		if(extra == null) {
+			if(index == null) {
+				index = new HashMap<>();
+				this.ids.put(p, index);
+			}
+			id = this.atoms.size();
+			this.atoms.add(new FolAtom(p, args));
+			index.put(args, id);
+			return id;
+		}
+		FolAtom a = new FolAtom(p, args);
+		id = extra.get(a);
+		if(id == null) {
+			id = this.atoms.size() + extra.size();
+			extra.put(a, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Compiles the given ground query into clauses over atom ids. Atoms of the query that do not
+	 * appear in any factor are independent of all other atoms and get ids starting from
+	 * {@link #getNumberOfAtoms()}.
+	 * @param query some ground formula
+	 * @return the clauses of the query or null if the query is unsatisfiable. The number of additional
+	 * 	atoms is the number of ids used that are not smaller than {@link #getNumberOfAtoms()}.
+	 */
+	public synchronized int[][] compileQuery(FolFormula query) {
+		List<int[]> clauses = this.toClauses(this.grounder.ground(query), new HashMap<>());
+		return clauses == null ? null : clauses.toArray(new int[0][]);
+	}
+
+	/**
+	 * Returns the number of atoms.
+	 * @return the number of atoms.
+	 */
+	public int getNumberOfAtoms() {
+		return this.atoms.size();
+	}
+
+	/**
+	 * Returns the ground atom with the given id.
+	 * @param id some atom id
+	 * @return the ground atom with the given id.
+	 */
+	public FolAtom getAtom(int id) {
+		return this.atoms.get(id);
+	}
+
+	/**
+	 * Returns the number of factors.
+	 * @return the number of factors.
+	 */
+	public int getNumberOfFactors() {
+		return this.weights.length;
+	}
+
+	/**
+	 * Returns the number of clauses.
+	 * @return the number of clauses.
+	 */
+	public int getNumberOfClauses() {
+		return this.clauses.length;
+	}
+
+	/**
+	 * Returns the weight of the given factor.
+	 * @param factor some factor id
+	 * @return the weight of the factor.
+	 */
+	public double getWeight(int factor) {
+		return this.weights[factor];
+	}
+
+	/**
+	 * Checks whether the given factor is hard.
+	 * @param factor some factor id
+	 * @return "true" iff the factor stems from a strict formula.
+	 */
+	public boolean isHard(int factor) {
+		return this.hard[factor];
+	}
+
+	/**
+	 * Returns the id of the first clause of the given factor.
+	 * @param factor some factor id
+	 * @return the id of the first clause of the factor.
+	 */
+	public int getFirstClause(int factor) {
+		return this.factorStart[factor];
+	}
+
+	/**
+	 * Returns the id of the first clause after the given factor.
+	 * @param factor some factor id
+	 * @return the id of the first clause of the next factor.
+	 */
+	public int getEndClause(int factor) {
+		return this.factorStart[factor+1];
+	}
+
+	/**
+	 * Returns the literals of the given clause (must not be modified).
+	 * @param clause some clause id
+	 * @return the literals of the clause.
+	 */
+	public int[] getClause(int clause) {
+		return this.clauses[clause];
+	}
+
+	/**
+	 * Returns the factor of the given clause.
+	 * @param clause some clause id
+	 * @return the factor of the clause.
+	 */
+	public int getFactor(int clause) {
+		return this.clauseFactor[clause];
+	}
+
+	/**
+	 * Returns the clauses the given atom appears in, in ascending order (must not be modified).
+	 * @param atom some atom id
+	 * @return the clauses the given atom appears in.
+	 */
+	public int[] getClausesOf(int atom) {
+		return this.atomClauses[atom];
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.mln.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.tweetyproject.commons.ParserException;
+import org.tweetyproject.logics.commons.syntax.Constant;
+import org.tweetyproject.logics.commons.syntax.Predicate;
+import org.tweetyproject.logics.fol.parser.FolParser;
+import org.tweetyproject.logics.fol.syntax.FolFormula;
+import org.tweetyproject.logics.fol.syntax.FolSignature;
+import org.tweetyproject.logics.mln.reasoner.FactorGraphMlnReasoner;
+import org.tweetyproject.logics.mln.reasoner.MlnFactorGraph;
+import org.tweetyproject.logics.mln.reasoner.SimpleMlnReasoner;
+import org.tweetyproject.logics.mln.syntax.MarkovLogicNetwork;
+import org.tweetyproject.logics.mln.syntax.MlnFormula;
+
+/**
+ * Compares the factor graph reasoner with the naive reasoner on a small MLN.
+ */
+public class FactorGraphMlnReasonerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private FolSignature sig;
+	private FolParser parser;
+	private MarkovLogicNetwork mln;
+
+	@Before
+	public void setUp() throws ParserException, IOException {
+		this.sig = new FolSignature();
+		this.sig.add(new Predicate("friends", 2));
+		this.sig.add(new Predicate("smokes", 1));
+		this.sig.add(new Predicate("cancer", 1));
+		this.sig.add(new Constant("anna"));
+		this.sig.add(new Constant("bob"));
+		this.parser = new FolParser();
+		this.parser.setSignature(this.sig);
+		this.mln = new MarkovLogicNetwork();
+		this.mln.add(new MlnFormula(this.parse("!smokes(X) || cancer(X)"), 1.5));
+		this.mln.add(new MlnFormula(this.parse("!friends(X,Y) || (smokes(X) <=> smokes(Y))"), 1.1));
+		this.mln.add(new MlnFormula(this.parse("friends(X,X)"), -0.8));
+		this.mln.add(new MlnFormula(this.parse("smokes(anna)"), 2.0));
+	}
+
+	private FolFormula parse(String s) throws ParserException, IOException {
+		return (FolFormula) this.parser.parseFormula(s);
+	}
+
+	@Test
+	public void testGrounding() {
+		MlnFactorGraph graph = new MlnFactorGraph(this.mln, this.sig);
+		assertEquals(8, graph.getNumberOfAtoms());
+		// instances of the second formula with X=Y are tautologies, the others have two clauses
+		assertEquals(7, graph.getNumberOfFactors());
+		assertEquals(9, graph.getNumberOfClauses());
+	}
+
+	@Test(timeout = 60000)
+	public void testGibbs() throws ParserException, IOException {
+		this.compare(new FactorGraphMlnReasoner(FactorGraphMlnReasoner.Algorithm.GIBBS));
+	}
+
+	@Test(timeout = 60000)
+	public void testMcSat() throws ParserException, IOException {
+		this.compare(new FactorGraphMlnReasoner(FactorGraphMlnReasoner.Algorithm.MCSAT));
+	}
+
+	@Test(timeout = 60000)
+	public void testSeed() throws ParserException, IOException {
+		FolFormula query = this.parse("cancer(bob)");
+		double p1 = new FactorGraphMlnReasoner(FactorGraphMlnReasoner.Algorithm.GIBBS).query(this.mln, query, this.sig);
+		double p2 = new FactorGraphMlnReasoner(FactorGraphMlnReasoner.Algorithm.GIBBS).query(this.mln, query, this.sig);
+		assertEquals(p1, p2, 0);
+	}
+
+	private void compare(FactorGraphMlnReasoner reasoner) throws ParserException, IOException {
+		SimpleMlnReasoner naive = new SimpleMlnReasoner();
+		naive.setTempDirectory(this.folder.getRoot().getAbsolutePath());
+		for(String q: new String[]{"cancer(bob)", "smokes(bob)", "friends(anna,anna)", "smokes(bob) && cancer(anna)"}) {
+			FolFormula query = this.parse(q);
+			assertEquals(q, naive.query(this.mln, query, this.sig), reasoner.query(this.mln, query, this.sig), 0.05);
+		}
+	}
+}
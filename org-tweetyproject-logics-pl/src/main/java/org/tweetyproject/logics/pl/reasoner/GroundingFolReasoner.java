@@ -0,0 +1,142 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.reasoner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.tweetyproject.logics.fol.reasoner.FolReasoner;
+import org.tweetyproject.logics.fol.syntax.FolBeliefSet;
+import org.tweetyproject.logics.fol.syntax.FolFormula;
+import org.tweetyproject.logics.fol.syntax.FolSignature;
+import org.tweetyproject.logics.fol.syntax.ForallQuantifiedFormula;
+import org.tweetyproject.logics.fol.syntax.Negation;
+import org.tweetyproject.logics.pl.sat.SatSolver;
+import org.tweetyproject.logics.pl.syntax.Contradiction;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.util.HerbrandGrounder;
+
+/**
+ * A first-order reasoner for function-free signatures that grounds the knowledge base
+ * over the constants of the signature and decides entailment with a SAT solver.
+ * <br>
+ * In contrast to {@link org.tweetyproject.logics.fol.reasoner.SimpleFolReasoner}, which
+ * enumerates all Herbrand interpretations, the knowledge base and the negated query are
+ * grounded once (see {@link HerbrandGrounder}), transformed into clauses using auxiliary
+ * propositions and checked for satisfiability. Constants that appear neither in the knowledge base nor in the
+ * query are interchangeable and symmetry breaking constraints are added for them
+ * (this can be turned off).
+ * <br>
+ * NOTE: The semantics coincides with the semantics of {@link org.tweetyproject.logics.fol.semantics.HerbrandInterpretation},
+ * i.e. quantifiers range over the constants of the respective sort.
+ */
+public class GroundingFolReasoner extends FolReasoner {
+
+	/** The SAT solver used; if null the default solver is used. */
+	private SatSolver solver;
+
+	/** Whether symmetry breaking constraints are added. */
+	private boolean symmetryBreaking;
+
+	/**
+	 * Creates a new reasoner that uses the default SAT solver and symmetry breaking.
+	 */
+	public GroundingFolReasoner() {
+		this(null, true);
+	}
+
+	/**
+	 * Creates a new reasoner that uses the given SAT solver and symmetry breaking.
+	 * @param solver some SAT solver
+	 */
+	public GroundingFolReasoner(SatSolver solver) {
+		this(solver, true);
+	}
+
+	/**
+	 * Creates a new reasoner.
+	 * @param solver some SAT solver (if null, the default SAT solver is used)
+	 * @param symmetryBreaking whether symmetry breaking constraints should be added
+	 * 	for interchangeable constants.
+	 */
+	public GroundingFolReasoner(SatSolver solver, boolean symmetryBreaking) {
+		this.solver = solver;
+		this.symmetryBreaking = symmetryBreaking;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.fol.reasoner.FolReasoner#query(org.tweetyproject.logics.fol.syntax.FolBeliefSet, org.tweetyproject.logics.fol.syntax.FolFormula)
+	 */
+	@Override
+	public Boolean query(FolBeliefSet kb, FolFormula formula) {
+		if(!formula.isWellFormed())
+			throw new IllegalArgumentException("The given formula " + formula + " is not well-formed.");
+		if(!formula.isClosed())
+			throw new IllegalArgumentException("The given formula " + formula + " is not closed.");
+		List<FolFormula> formulas = new ArrayList<>(kb);
+		formulas.add(new Negation(formula));
+		FolSignature sig = new FolSignature();
+		sig.addSignature(kb.getSignature());
+		sig.addSignature(kb.getMinimalSignature());
+		sig.addSignature(formula.getSignature());
+		return !this.isSatisfiable(formulas, sig);
+	}
+
+	/**
+	 * Checks whether the given set of closed formulas has a Herbrand model wrt.
+	 * the given signature.
+	 * @param formulas some closed first-order formulas
+	 * @param sig a signature containing the symbols of "formulas"
+	 * @return "true" iff the formulas are satisfiable.
+	 */
+	public boolean isSatisfiable(Collection<FolFormula> formulas, FolSignature sig) {
+		HerbrandGrounder grounder = new HerbrandGrounder(sig);
+		Collection<PlFormula> ground = new ArrayList<>();
+		for(FolFormula f: formulas)
+			grounder.ground(f, ground);
+		for(PlFormula f: ground)
+			if(f instanceof Contradiction)
+				return false;
+		Collection<PlFormula> clauses = grounder.toClauses(ground);
+		if(this.symmetryBreaking)
+			clauses.addAll(grounder.getSymmetryBreakingConstraints(formulas));
+		SatSolver solver = this.solver != null ? this.solver : SatSolver.getDefaultSolver();
+		return solver.isSatisfiable(clauses);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.logics.fol.reasoner.FolReasoner#equivalent(org.tweetyproject.logics.fol.syntax.FolBeliefSet, org.tweetyproject.logics.fol.syntax.FolFormula, org.tweetyproject.logics.fol.syntax.FolFormula)
+	 */
+	@Override
+	public boolean equivalent(FolBeliefSet kb, FolFormula f1, FolFormula f2) {
+		FolFormula f = f1.combineWithAnd(f2).combineWithOr(f1.complement().combineWithAnd(f2.complement()));
+		if(!f.getUnboundVariables().isEmpty())
+			f = new ForallQuantifiedFormula(f, f.getUnboundVariables());
+		return this.query(kb, f);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.Reasoner#isInstalled()
+	 */
+	@Override
+	public boolean isInstalled() {
+		return this.solver == null || this.solver.isInstalled();
+	}
+}
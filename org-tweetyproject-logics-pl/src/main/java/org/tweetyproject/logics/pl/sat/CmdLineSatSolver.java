@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.StringTokenizer;
 
 import org.tweetyproject.commons.Interpretation;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.commons.util.NativeShell;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
@@ -72,6 +73,7 @@ public class CmdLineSatSolver extends DimacsSatSolver {
 
 	@Override
 	public Interpretation<PlBeliefSet, PlFormula> getWitness(Collection<PlFormula> formulas, Map<Proposition,Integer> prop_index, Map<Integer,Proposition> prop_inverted_index, List<String> additional_clauses) {
+		long start = Metrics.startTimer();
 		try {			
 			// create temporary file in Dimacs CNF format.
 			File f = DimacsSatSolver.createTmpDimacsFile(formulas, prop_index, additional_clauses);
@@ -101,11 +103,14 @@ public class CmdLineSatSolver extends DimacsSatSolver {
 						"Unable to find witness in solver output. Depending on your solver, you may need to add a cmd line option like --W to enable it.");
 		} catch (InterruptedException | IOException e) {
 			throw new RuntimeException(e);
+		} finally {
+			Metrics.stopTimer("sat.solve", start);
 		}
 	}
 
 	@Override
 	public boolean isSatisfiable(Collection<PlFormula> formulas, Map<Proposition,Integer> prop_index, List<String> additional_clauses) {
+		long start = Metrics.startTimer();
 		try {			
 			// create temporary file in Dimacs CNF format.
 			File f = DimacsSatSolver.createTmpDimacsFile(formulas, prop_index, additional_clauses);
@@ -116,6 +121,8 @@ public class CmdLineSatSolver extends DimacsSatSolver {
 			return (output.indexOf("UNSATISFIABLE") == -1);
 		} catch (InterruptedException | IOException e) {
 			throw new RuntimeException(e);
+		} finally {
+			Metrics.stopTimer("sat.solve", start);
 		}
 	}
 
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.tweetyproject.commons.Interpretation;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.commons.util.Pair;
 import org.tweetyproject.logics.pl.syntax.Conjunction;
 import org.tweetyproject.logics.pl.syntax.Contradiction;
@@ -159,6 +160,9 @@ public abstract class DimacsSatSolver extends SatSolver{
 	protected static File createTmpDimacsFile(Collection<PlFormula> formulas, Map<Proposition,Integer> prop_index, List<String> additional_clauses)
 			throws IOException {
 		List<String> r = DimacsSatSolver.convertToDimacs(formulas, prop_index, additional_clauses);
+		// the first line is the header "p cnf ..."
+		Metrics.record("sat.cnf.clauses", r.size() - 1);
+		Metrics.record("sat.cnf.variables", prop_index.size());
 		File f = File.createTempFile("tweety-sat", ".cnf", DimacsSatSolver.tempFolder);
 		f.deleteOnExit();
 		PrintWriter writer = new PrintWriter(f, "UTF-8");
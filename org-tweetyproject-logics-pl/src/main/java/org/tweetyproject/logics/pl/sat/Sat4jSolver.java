@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.tweetyproject.commons.Interpretation;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.logics.pl.semantics.PossibleWorld;
 import org.tweetyproject.logics.pl.syntax.Conjunction;
 import org.tweetyproject.logics.pl.syntax.Contradiction;
@@ -81,6 +82,8 @@ public class Sat4jSolver extends DimacsSatSolver{
 		solver.newVar(this.maxvar);
 		solver.setExpectedNumberOfClauses(this.nbclauses);		
 		int i;		
+		long start = Metrics.startTimer();
+		int clauses = 0;
 		try{
 			for(PlFormula f: formulas){
 				Conjunction conj;
@@ -105,7 +108,10 @@ public class Sat4jSolver extends DimacsSatSolver{
 							break;
 						}else throw new RuntimeException("Unexpected formula type in conjunctive normal form: " + f3.getClass());
 					}
-					if(!taut) solver.addClause(new VecInt(clause));
+					if(!taut) {
+						solver.addClause(new VecInt(clause));
+						clauses++;
+					}
 				}
 			}
 			return solver.isSatisfiable();
@@ -113,6 +119,10 @@ public class Sat4jSolver extends DimacsSatSolver{
 			return false;
 		} catch (TimeoutException e) {
 			throw new RuntimeException(e);
+		} finally {
+			Metrics.stopTimer("sat.solve", start);
+			Metrics.record("sat.cnf.clauses", clauses);
+			Metrics.record("sat.cnf.variables", prop_index.size());
 		}
 	}
 
@@ -124,6 +134,8 @@ public class Sat4jSolver extends DimacsSatSolver{
 		solver.newVar(this.maxvar);
 		solver.setExpectedNumberOfClauses(this.nbclauses);		
 		int i = 0;		
+		long start = Metrics.startTimer();
+		int clauses = 0;
 		try{
 			for(PlFormula f: formulas){
 				Conjunction conj;
@@ -140,15 +152,18 @@ public class Sat4jSolver extends DimacsSatSolver{
 					boolean taut = false;
 					for(PlFormula f3: disj){
 						if(f3 instanceof Proposition){
-							clause[i++] = prop_index.get(f3) + 1; 
+							clause[i++] = prop_index.get(f3); 
 						}else if(f3 instanceof Negation){
-							clause[i++] = - prop_index.get(((Negation)f3).getFormula()) - 1;
+							clause[i++] = - prop_index.get(((Negation)f3).getFormula());
 						}else if(f3 instanceof Tautology){
 							taut = true;
 							break;
 						}else throw new RuntimeException("Unexpected formula type in conjunctive normal form: " + f3.getClass());
 					}
-					if(!taut) solver.addClause(new VecInt(clause));
+					if(!taut) {
+						solver.addClause(new VecInt(clause));
+						clauses++;
+					}
 				}
 			}
 			if(!solver.isSatisfiable())
@@ -163,6 +178,10 @@ public class Sat4jSolver extends DimacsSatSolver{
 			return null;
 		} catch (TimeoutException e) {
 			throw new RuntimeException(e);
+		} finally {
+			Metrics.stopTimer("sat.solve", start);
+			Metrics.record("sat.cnf.clauses", clauses);
+			Metrics.record("sat.cnf.variables", prop_index.size());
 		}
 	}
 
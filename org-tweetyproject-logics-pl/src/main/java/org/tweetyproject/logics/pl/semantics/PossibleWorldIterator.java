@@ -26,6 +26,7 @@ import java.util.Set;
 import org.tweetyproject.commons.Formula;
 import org.tweetyproject.commons.InterpretationIterator;
 import org.tweetyproject.commons.Signature;
+import org.tweetyproject.commons.util.CancellationToken;
 import org.tweetyproject.commons.util.DefaultSubsetIterator;
 import org.tweetyproject.commons.util.SubsetIterator;
 import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
@@ -79,6 +80,7 @@ public class PossibleWorldIterator implements InterpretationIterator<PlFormula,P
 	public PossibleWorld next() {
 		if(!this.it.hasNext())
 			throw new NoSuchElementException();
+		CancellationToken.checkpoint();
 		Set<Proposition> s = this.it.next();
 		return new PossibleWorld(s);
 	}
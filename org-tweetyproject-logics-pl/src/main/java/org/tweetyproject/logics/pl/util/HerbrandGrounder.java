@@ -0,0 +1,651 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.tweetyproject.logics.commons.syntax.Constant;
+import org.tweetyproject.logics.commons.syntax.Predicate;
+import org.tweetyproject.logics.commons.syntax.RelationalFormula;
+import org.tweetyproject.logics.commons.syntax.Sort;
+import org.tweetyproject.logics.commons.syntax.Variable;
+import org.tweetyproject.logics.commons.syntax.interfaces.Term;
+import org.tweetyproject.logics.fol.syntax.EqualityPredicate;
+import org.tweetyproject.logics.fol.syntax.ExclusiveDisjunction;
+import org.tweetyproject.logics.fol.syntax.ExistsQuantifiedFormula;
+import org.tweetyproject.logics.fol.syntax.FolAtom;
+import org.tweetyproject.logics.fol.syntax.FolFormula;
+import org.tweetyproject.logics.fol.syntax.FolSignature;
+import org.tweetyproject.logics.fol.syntax.ForallQuantifiedFormula;
+import org.tweetyproject.logics.fol.syntax.InequalityPredicate;
+import org.tweetyproject.logics.pl.syntax.Conjunction;
+import org.tweetyproject.logics.pl.syntax.Contradiction;
+import org.tweetyproject.logics.pl.syntax.Disjunction;
+import org.tweetyproject.logics.pl.syntax.Equivalence;
+import org.tweetyproject.logics.pl.syntax.Implication;
+import org.tweetyproject.logics.pl.syntax.Negation;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+import org.tweetyproject.logics.pl.syntax.Proposition;
+import org.tweetyproject.logics.pl.syntax.Tautology;
+
+/**
+ * Grounds function-free first-order formulas over the constants of a signature
+ * and translates them into propositional formulas, one proposition per ground atom.
+ * <br>
+ * Quantifiers are expanded on the fly using a variable assignment instead of
+ * substituting into copies of the formula, and each ground instance is simplified
+ * immediately (e.g. a universally quantified formula stops expanding as soon as one
+ * instance is a contradiction). Ground atoms are kept in an index per predicate
+ * so that every ground atom is mapped to exactly one proposition.
+ * <br>
+ * The grounder also provides symmetry breaking for constants that are interchangeable,
+ * i.e. constants of the same sort that do not appear in any of the grounded formulas, see
+ * {@link #getSymmetryBreakingConstraints(Collection)}.
+ * <br>
+ * NOTE: Like {@link org.tweetyproject.logics.fol.semantics.HerbrandBase} this grounder does
+ * only support signatures without function symbols. (In)equality is interpreted
+ * under the unique names assumption.
+ */
+public class HerbrandGrounder {
+
+	/** Prefix for the names of auxiliary propositions. */
+	private static final String AUX_PREFIX = "_aux";
+
+	/** The constants of each sort of the signature. */
+	private Map<Sort,List<Constant>> domains;
+
+	/** Index of ground atoms per predicate, mapping the arguments of a ground atom to its proposition. */
+	private Map<Predicate,Map<List<Term<?>>,Proposition>> index;
+
+	/** The ground atoms in the order of their creation. */
+	private List<FolAtom> atoms;
+
+	/** Maps propositions back to their ground atoms. */
+	private Map<Proposition,FolAtom> propositions;
+
+	/** Counter for auxiliary propositions. */
+	private int auxCounter;
+
+	/**
+	 * Creates a new grounder for the given signature.
+	 * @param sig some first-order signature without functors
+	 * @throws IllegalArgumentException if "sig" contains a functor.
+	 */
+	public HerbrandGrounder(FolSignature sig) throws IllegalArgumentException {
+		if(!sig.getFunctors().isEmpty())
+			throw new IllegalArgumentException("Grounding is defined only for signatures without functors.");
+		this.domains = new HashMap<>();
+		for(Sort s: sig.getSorts())
+			this.addConstants(s, s.getTerms(Constant.class));
+		for(Constant c: sig.getConstants())
+			this.addConstants(c.getSort(), Set.of(c));
+		this.index = new HashMap<>();
+		this.atoms = new ArrayList<>();
+		this.propositions = new HashMap<>();
+		this.auxCounter = 0;
+	}
+
+	/**
+	 * Adds the given constants to the domain of the given sort.
+	 * @param sort some sort
+	 * @param constants some constants of that sort
+	 */
+	private void addConstants(Sort sort, Collection<Constant> constants) {
+		List<Constant> domain = this.domains.get(sort);
+		if(domain == null) {
+			domain = new ArrayList<>();
+			this.domains.put(sort, domain);
+		}
+		for(Constant c: constants)
+			if(!domain.contains(c))
+				domain.add(c);
+	}
+
+	/**
+	 * Returns the constants the given variable ranges over.
+	 * @param v some variable
+	 * @return the constants of the sort of "v".
+	 */
+	private List<Constant> getDomain(Variable v) {
+		List<Constant> domain = this.domains.get(v.getSort());
+		if(domain == null) {
+			domain = new ArrayList<>(v.getSort().getTerms(Constant.class));
+			this.domains.put(v.getSort(), domain);
+		}
+		return domain;
+	}
+
+	/**
+	 * Grounds the given closed formula. Top-level conjunctions and universal quantifications
+	 * are split up and the individual ground formulas are added to the given collection, which
+	 * keeps the formulas small for the subsequent CNF conversion.
+	 * @param formula some closed first-order formula
+	 * @param result the collection the ground formulas are added to
+	 */
+	public void ground(FolFormula formula, Collection<PlFormula> result) {
+		this.groundTopLevel(formula, new HashMap<>(), result);
+	}
+
+	/**
+	 * Grounds the given closed formula.
+	 * @param formula some closed first-order formula
+	 * @return a propositional formula equivalent to "formula" wrt. the domain of this grounder.
+	 */
+	public PlFormula ground(FolFormula formula) {
+		return this.ground(formula, new HashMap<>());
+	}
+
+	/**
+	 * Grounds the given formula at the top level, see {@link #ground(FolFormula, Collection)}.
+	 * @param formula some formula
+	 * @param assignment the current assignment of bound variables
+	 * @param result the collection the ground formulas are added to
+	 */
+	private void groundTopLevel(FolFormula formula, Map<Variable,Constant> assignment, Collection<PlFormula> result) {
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Conjunction) {
+			for(RelationalFormula f: (org.tweetyproject.logics.fol.syntax.Conjunction) formula)
+				this.groundTopLevel((FolFormula) f, assignment, result);
+			return;
+		}
+		if(formula instanceof ForallQuantifiedFormula) {
+			ForallQuantifiedFormula f = (ForallQuantifiedFormula) formula;
+			List<Variable> vars = new ArrayList<>(f.getQuantifierVariables());
+			this.groundForallTopLevel(f.getFormula(), vars, 0, assignment, result);
+			return;
+		}
+		PlFormula g = this.ground(formula, assignment);
+		if(!(g instanceof Tautology))
+			result.add(g);
+	}
+
+	/**
+	 * Enumerates all assignments of the given variables and grounds the formula at the
+	 * top level for each of them.
+	 * @param formula some formula
+	 * @param vars the quantified variables
+	 * @param idx the index of the next variable to be assigned
+	 * @param assignment the current assignment of bound variables
+	 * @param result the collection the ground formulas are added to
+	 */
+	private void groundForallTopLevel(FolFormula formula, List<Variable> vars, int idx, Map<Variable,Constant> assignment, Collection<PlFormula> result) {
+		if(idx == vars.size()) {
+			this.groundTopLevel(formula, assignment, result);
+			return;
+		}
+		Variable v = vars.get(idx);
+		Constant old = assignment.get(v);
+		for(Constant c: this.getDomain(v)) {
+			assignment.put(v, c);
+			this.groundForallTopLevel(formula, vars, idx+1, assignment, result);
+		}
+		this.restore(assignment, v, old);
+	}
+
+	/**
+	 * Restores the assignment of the given variable.
+	 * @param assignment some assignment
+	 * @param v some variable
+	 * @param old the previous value of "v" (may be null)
+	 */
+	private void restore(Map<Variable,Constant> assignment, Variable v, Constant old) {
+		if(old == null)
+			assignment.remove(v);
+		else assignment.put(v, old);
+	}
+
+	/**
+	 * Grounds the given formula wrt. the given assignment of bound variables.
+	 * @param formula some formula
+	 * @param assignment an assignment that covers all free variables of "formula"
+	 * @return the simplified ground formula
+	 */
+	private PlFormula ground(FolFormula formula, Map<Variable,Constant> assignment) {
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Tautology)
+			return new Tautology();
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Contradiction)
+			return new Contradiction();
+		if(formula instanceof FolAtom)
+			return this.groundAtom((FolAtom) formula, assignment);
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Negation)
+			return this.negate(this.ground(((org.tweetyproject.logics.fol.syntax.Negation) formula).getFormula(), assignment));
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Conjunction) {
+			List<PlFormula> conjuncts = new ArrayList<>();
+			for(RelationalFormula f: (org.tweetyproject.logics.fol.syntax.Conjunction) formula)
+				if(!this.addConjunct(conjuncts, this.ground((FolFormula) f, assignment)))
+					return new Contradiction();
+			return this.conjoin(conjuncts);
+		}
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Disjunction) {
+			List<PlFormula> disjuncts = new ArrayList<>();
+			for(RelationalFormula f: (org.tweetyproject.logics.fol.syntax.Disjunction) formula)
+				if(!this.addDisjunct(disjuncts, this.ground((FolFormula) f, assignment)))
+					return new Tautology();
+			return this.disjoin(disjuncts);
+		}
+		if(formula instanceof ExclusiveDisjunction)
+			return this.ground((FolFormula) ((ExclusiveDisjunction) formula).toDnf(), assignment);
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Implication) {
+			org.tweetyproject.logics.fol.syntax.Implication i = (org.tweetyproject.logics.fol.syntax.Implication) formula;
+			PlFormula a = this.ground((FolFormula) i.getFormulas().getFirst(), assignment);
+			if(a instanceof Contradiction)
+				return new Tautology();
+			PlFormula b = this.ground((FolFormula) i.getFormulas().getSecond(), assignment);
+			if(a instanceof Tautology || b instanceof Contradiction)
+				return a instanceof Tautology ? b : this.negate(a);
+			if(b instanceof Tautology)
+				return new Tautology();
+			return new Implication(a, b);
+		}
+		if(formula instanceof org.tweetyproject.logics.fol.syntax.Equivalence) {
+			org.tweetyproject.logics.fol.syntax.Equivalence e = (org.tweetyproject.logics.fol.syntax.Equivalence) formula;
+			PlFormula a = this.ground((FolFormula) e.getFormulas().getFirst(), assignment);
+			PlFormula b = this.ground((FolFormula) e.getFormulas().getSecond(), assignment);
+			if(a instanceof Tautology)
+				return b;
+			if(b instanceof Tautology)
+				return a;
+			if(a instanceof Contradiction)
+				return this.negate(b);
+			if(b instanceof Contradiction)
+				return this.negate(a);
+			return new Equivalence(a, b);
+		}
+		if(formula instanceof ForallQuantifiedFormula) {
+			ForallQuantifiedFormula f = (ForallQuantifiedFormula) formula;
+			List<PlFormula> conjuncts = new ArrayList<>();
+			if(!this.expand(f.getFormula(), new ArrayList<>(f.getQuantifierVariables()), 0, assignment, conjuncts, true))
+				return new Contradiction();
+			return this.conjoin(conjuncts);
+		}
+		if(formula instanceof ExistsQuantifiedFormula) {
+			ExistsQuantifiedFormula f = (ExistsQuantifiedFormula) formula;
+			List<PlFormula> disjuncts = new ArrayList<>();
+			if(!this.expand(f.getFormula(), new ArrayList<>(f.getQuantifierVariables()), 0, assignment, disjuncts, false))
+				return new Tautology();
+			return this.disjoin(disjuncts);
+		}
+		throw new IllegalArgumentException("FolFormula " + formula + " is of unknown type.");
+	}
+
+	/**
+	 * Expands a quantified formula over all assignments of the given variables.
+	 * @param formula the quantified formula
+	 * @param vars the quantified variables
+	 * @param idx the index of the next variable to be assigned
+	 * @param assignment the current assignment of bound variables
+	 * @param parts the ground instances collected so far
+	 * @param universal whether the quantifier is universal (instances are conjoined) or
+	 * 	existential (instances are disjoined).
+	 * @return "false" if the expansion was stopped early because an instance decides the
+	 * 	whole formula (a contradiction for universal, a tautology for existential quantifiers).
+	 */
+	private boolean expand(FolFormula formula, List<Variable> vars, int idx, Map<Variable,Constant> assignment, List<PlFormula> parts, boolean universal) {
+		if(idx == vars.size()) {
+			PlFormula g = this.ground(formula, assignment);
+			return universal ? this.addConjunct(parts, g) : this.addDisjunct(parts, g);
+		}
+		Variable v = vars.get(idx);
+		Constant old = assignment.get(v);
+		boolean result = true;
+		for(Constant c: this.getDomain(v)) {
+			assignment.put(v, c);
+			if(!this.expand(formula, vars, idx+1, assignment, parts, universal)) {
+				result = false;
+				break;
+			}
+		}
+		this.restore(assignment, v, old);
+		return result;
+	}
+
+	/**
+	 * Adds the given formula as conjunct.
+	 * @param conjuncts some list of conjuncts
+	 * @param f some formula
+	 * @return "false" iff "f" is a contradiction.
+	 */
+	private boolean addConjunct(List<PlFormula> conjuncts, PlFormula f) {
+		if(f instanceof Contradiction)
+			return false;
+		if(!(f instanceof Tautology))
+			conjuncts.add(f);
+		return true;
+	}
+
+	/**
+	 * Adds the given formula as disjunct.
+	 * @param disjuncts some list of disjuncts
+	 * @param f some formula
+	 * @return "false" iff "f" is a tautology.
+	 */
+	private boolean addDisjunct(List<PlFormula> disjuncts, PlFormula f) {
+		if(f instanceof Tautology)
+			return false;
+		if(!(f instanceof Contradiction))
+			disjuncts.add(f);
+		return true;
+	}
+
+	/**
+	 * Returns the conjunction of the given formulas.
+	 * @param conjuncts some formulas
+	 * @return a conjunction (or the single conjunct/a tautology for small lists)
+	 */
+	private PlFormula conjoin(List<PlFormula> conjuncts) {
+		if(conjuncts.isEmpty())
+			return new Tautology();
+		if(conjuncts.size() == 1)
+			return conjuncts.get(0);
+		return new Conjunction(conjuncts);
+	}
+
+	/**
+	 * Returns the disjunction of the given formulas.
+	 * @param disjuncts some formulas
+	 * @return a disjunction (or the single disjunct/a contradiction for small lists)
+	 */
+	private PlFormula disjoin(List<PlFormula> disjuncts) {
+		if(disjuncts.isEmpty())
+			return new Contradiction();
+		if(disjuncts.size() == 1)
+			return disjuncts.get(0);
+		return new Disjunction(disjuncts);
+	}
+
+	/**
+	 * Returns the negation of the given formula.
+	 * @param f some formula
+	 * @return the simplified negation of "f".
+	 */
+	private PlFormula negate(PlFormula f) {
+		if(f instanceof Tautology)
+			return new Contradiction();
+		if(f instanceof Contradiction)
+			return new Tautology();
+		if(f instanceof Negation)
+			return ((Negation) f).getFormula();
+		return new Negation(f);
+	}
+
+	/**
+	 * Grounds the given atom.
+	 * @param atom some atom
+	 * @param assignment an assignment covering all variables of "atom"
+	 * @return the proposition of the ground atom or a tautology/contradiction for (in)equality atoms.
+	 */
+	private PlFormula groundAtom(FolAtom atom, Map<Variable,Constant> assignment) {
+		List<Term<?>> args = new ArrayList<>(atom.getArguments().size());
+		for(Term<?> t: atom.getArguments()) {
+			if(t instanceof Variable) {
+				Constant c = assignment.get(t);
+				if(c == null)
+					throw new IllegalArgumentException("FolFormula " + atom + " is not closed.");
+				args.add(c);
+			} else if(t instanceof Constant)
+				args.add(t);
+			else throw new IllegalArgumentException("Grounding is defined only for formulas without functors.");
+		}
+		Predicate p = atom.getPredicate();
+		if(p instanceof EqualityPredicate)
+			return args.get(0).equals(args.get(1)) ? new Tautology() : new Contradiction();
+		if(p instanceof InequalityPredicate)
+			return args.get(0).equals(args.get(1)) ? new Contradiction() : new Tautology();
+		return this.getProposition(p, args);
+	}
+
+	/**
+	 * Returns the proposition for the ground atom with the given predicate and arguments,
+	 * creating it if necessary.
+	 * @param p some predicate
+	 * @param args a list of constants
+	 * @return the proposition representing the ground atom.
+	 */
+	private Proposition getProposition(Predicate p, List<Term<?>> args) {
+		Map<List<Term<?>>,Proposition> pIndex = this.index.get(p);
+		if(pIndex == null) {
+			pIndex = new HashMap<>();
+			this.index.put(p, pIndex);
+		}
+		Proposition prop = pIndex.get(args);
+		if(prop == null) {
+			FolAtom a = new FolAtom(p, args);
+			prop = new Proposition(a.toString());
+			pIndex.put(args, prop);
+			this.atoms.add(a);
+			this.propositions.put(prop, a);
+		}
+		return prop;
+	}
+
+	/**
+	 * Returns the ground atom represented by the given proposition.
+	 * @param prop some proposition
+	 * @return the ground atom represented by "prop" or null if "prop" does not represent a
+	 * 	ground atom of this grounder.
+	 */
+	public FolAtom getAtom(Proposition prop) {
+		return this.propositions.get(prop);
+	}
+
+	/**
+	 * Returns the ground atoms created so far.
+	 * @return the ground atoms created so far.
+	 */
+	public List<FolAtom> getGroundAtoms() {
+		return new ArrayList<>(this.atoms);
+	}
+
+	/**
+	 * Returns the interchangeable constants of every sort, i.e. all constants of the
+	 * domain of a sort that do not appear in any of the given formulas. Only sorts with
+	 * at least two interchangeable constants are considered.
+	 * @param formulas the first-order formulas that are grounded
+	 * @return a list of classes of interchangeable constants.
+	 */
+	public List<List<Constant>> getInterchangeableConstants(Collection<? extends FolFormula> formulas) {
+		Set<Constant> mentioned = new HashSet<>();
+		for(FolFormula f: formulas)
+			mentioned.addAll(f.getTerms(Constant.class));
+		List<List<Constant>> result = new ArrayList<>();
+		for(List<Constant> domain: this.domains.values()) {
+			List<Constant> free = new ArrayList<>();
+			for(Constant c: domain)
+				if(!mentioned.contains(c))
+					free.add(c);
+			if(free.size() < 2)
+				continue;
+			free.sort(Comparator.comparing(Constant::get));
+			result.add(free);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns lex-leader symmetry breaking constraints for the ground atoms created so
+	 * far (so this method should be called after all formulas have been grounded).
+	 * <br>
+	 * For every class of interchangeable constants (see {@link #getInterchangeableConstants(Collection)}),
+	 * a constraint is generated for each transposition of two successive constants. As the grounding of
+	 * the given formulas is invariant under such transpositions, adding the constraints
+	 * preserves satisfiability but prunes symmetric parts of the search space.
+	 * @param formulas the first-order formulas that have been grounded
+	 * @return a collection of propositional constraints.
+	 */
+	public Collection<PlFormula> getSymmetryBreakingConstraints(Collection<? extends FolFormula> formulas) {
+		Collection<PlFormula> result = new ArrayList<>();
+		Map<FolAtom,Integer> order = new HashMap<>();
+		for(int i = 0; i < this.atoms.size(); i++)
+			order.put(this.atoms.get(i), i);
+		for(List<Constant> interchangeable: this.getInterchangeableConstants(formulas))
+			for(int i = 0; i < interchangeable.size()-1; i++)
+				this.addLexLeader(interchangeable.get(i), interchangeable.get(i+1), order, result);
+		return result;
+	}
+
+	/**
+	 * Adds the lex-leader constraint for the transposition of the two given constants, i.e.
+	 * the vector of ground atoms (in creation order) has to be lexicographically smaller than or
+	 * equal to its image under the transposition.
+	 * @param c1 some constant
+	 * @param c2 some constant
+	 * @param order the position of every ground atom
+	 * @param result the collection the constraints are added to
+	 */
+	private void addLexLeader(Constant c1, Constant c2, Map<FolAtom,Integer> order, Collection<PlFormula> result) {
+		// "equal" is true if all previous positions agree with their images (null at the first position)
+		Proposition equal = null;
+		for(FolAtom a: new ArrayList<>(this.atoms)) {
+			List<Term<?>> args = new ArrayList<>(a.getArguments().size());
+			for(Term<?> t: a.getArguments())
+				args.add(t.equals(c1) ? c2 : (t.equals(c2) ? c1 : t));
+			if(args.equals(a.getArguments()))
+				continue;
+			Proposition x = this.getProposition(a.getPredicate(), a.getArguments());
+			Proposition y = this.getProposition(a.getPredicate(), args);
+			// if the image appears earlier, equality at this position is already implied
+			Integer pos = order.get(this.propositions.get(y));
+			if(pos != null && pos < order.get(a))
+				continue;
+			Proposition next = this.newAuxiliary();
+			if(equal == null) {
+				result.add(this.clause(new Negation(x), y));
+				result.add(this.clause(x, y, next));
+				result.add(this.clause(new Negation(x), new Negation(y), next));
+			} else {
+				result.add(this.clause(new Negation(equal), new Negation(x), y));
+				result.add(this.clause(new Negation(equal), x, y, next));
+				result.add(this.clause(new Negation(equal), new Negation(x), new Negation(y), next));
+			}
+			equal = next;
+		}
+	}
+
+	/**
+	 * Transforms the given ground formulas into an equisatisfiable set of clauses. Formulas
+	 * that are not already clauses are encoded by introducing auxiliary propositions for
+	 * their subformulas (a Plaisted-Greenbaum variant of the Tseitin transformation), which avoids the
+	 * exponential blow-up of the naive CNF conversion for disjunctions of conjunctions
+	 * that arise when expanding existential quantifiers.
+	 * @param formulas some ground formulas
+	 * @return a collection of clauses.
+	 */
+	public Collection<PlFormula> toClauses(Collection<PlFormula> formulas) {
+		Collection<PlFormula> result = new ArrayList<>();
+		for(PlFormula f: formulas)
+			this.addClauses(f.toNnf(), result);
+		return result;
+	}
+
+	/**
+	 * Adds clauses for the given formula in negation normal form.
+	 * @param f some formula in negation normal form
+	 * @param result the collection the clauses are added to
+	 */
+	private void addClauses(PlFormula f, Collection<PlFormula> result) {
+		if(f instanceof Conjunction) {
+			for(PlFormula g: (Conjunction) f)
+				this.addClauses(g, result);
+			return;
+		}
+		if(f instanceof Tautology)
+			return;
+		List<PlFormula> literals = new ArrayList<>();
+		if(f instanceof Disjunction) {
+			for(PlFormula g: (Disjunction) f)
+				if(!(g instanceof Contradiction))
+					literals.add(this.encode(g, result));
+		} else if(!(f instanceof Contradiction))
+			literals.add(this.encode(f, result));
+		result.add(new Disjunction(literals));
+	}
+
+	/**
+	 * Returns a literal that implies the given formula (in negation normal form) given the
+	 * clauses that are added to the result.
+	 * @param f some formula in negation normal form
+	 * @param result the collection the defining clauses are added to
+	 * @return a literal
+	 */
+	private PlFormula encode(PlFormula f, Collection<PlFormula> result) {
+		if(f.isLiteral())
+			return f;
+		Proposition aux = this.newAuxiliary();
+		if(f instanceof Conjunction) {
+			for(PlFormula g: (Conjunction) f)
+				result.add(this.clause(new Negation(aux), this.encode(g, result)));
+		} else if(f instanceof Disjunction) {
+			List<PlFormula> literals = new ArrayList<>();
+			literals.add(new Negation(aux));
+			for(PlFormula g: (Disjunction) f)
+				literals.add(this.encode(g, result));
+			result.add(new Disjunction(literals));
+		} else if(f instanceof Contradiction)
+			result.add(this.clause(new Negation(aux)));
+		else if(!(f instanceof Tautology))
+			throw new IllegalArgumentException("Formula " + f + " is not in negation normal form.");
+		return aux;
+	}
+
+	/**
+	 * Returns a new auxiliary proposition.
+	 * @return a new auxiliary proposition.
+	 */
+	private Proposition newAuxiliary() {
+		return new Proposition(AUX_PREFIX + (this.auxCounter++));
+	}
+
+	/**
+	 * Returns the clause consisting of the given literals.
+	 * @param literals some literals
+	 * @return a clause
+	 */
+	private Disjunction clause(PlFormula... literals) {
+		return new Disjunction(literals);
+	}
+
+	/**
+	 * Checks whether the given proposition is an auxiliary proposition introduced
+	 * by symmetry breaking or the clause transformation.
+	 * @param prop some proposition
+	 * @return "true" iff "prop" is an auxiliary proposition.
+	 */
+	public boolean isAuxiliary(Proposition prop) {
+		return !this.propositions.containsKey(prop) && prop.getName().startsWith(AUX_PREFIX);
+	}
+
+	/**
+	 * Returns an iterator over all ground instances of the given predicate created so far.
+	 * @param p some predicate
+	 * @return an iterator over the ground instances of "p".
+	 */
+	public Iterator<Proposition> getInstances(Predicate p) {
+		Map<List<Term<?>>,Proposition> pIndex = this.index.get(p);
+		if(pIndex == null)
+			return new ArrayList<Proposition>().iterator();
+		return pIndex.values().iterator();
+	}
+}
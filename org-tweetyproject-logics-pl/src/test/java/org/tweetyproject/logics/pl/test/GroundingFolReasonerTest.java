@@ -0,0 +1,64 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import org.tweetyproject.commons.ParserException;
+import org.tweetyproject.logics.fol.parser.FolParser;
+import org.tweetyproject.logics.fol.syntax.FolBeliefSet;
+import org.tweetyproject.logics.fol.syntax.FolFormula;
+import org.tweetyproject.logics.pl.reasoner.GroundingFolReasoner;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+
+public class GroundingFolReasonerTest {
+
+	private static final String KB = "Animal = {horse, cow, lion, a1, a2, a3} \n"
+			+ "type(Tame(Animal)) \n"
+			+ "type(Ridable(Animal)) \n"
+			+ "type(Likes(Animal,Animal)) \n"
+			+ "Tame(cow) \n"
+			+ "!Tame(lion) \n"
+			+ "Ridable(horse) \n"
+			+ "forall X: (!Ridable(X) || Tame(X)) \n"
+			+ "forall X: (exists Y: (Likes(X,Y))) \n";
+
+	@Test
+	public void QueryTest() throws ParserException, IOException {
+		FolParser parser = new FolParser();
+		FolBeliefSet kb = parser.parseBeliefBase(KB);
+		for(boolean symmetryBreaking: new boolean[] {true, false}) {
+			GroundingFolReasoner reasoner = new GroundingFolReasoner(new Sat4jSolver(), symmetryBreaking);
+			assertTrue(reasoner.query(kb, (FolFormula) parser.parseFormula("Tame(cow)")));
+			assertTrue(reasoner.query(kb, (FolFormula) parser.parseFormula("Tame(horse)")));
+			assertTrue(reasoner.query(kb, (FolFormula) parser.parseFormula("!Ridable(lion)")));
+			assertTrue(reasoner.query(kb, (FolFormula) parser.parseFormula("exists X: (!Tame(X))")));
+			assertTrue(reasoner.query(kb, (FolFormula) parser.parseFormula("forall X: (exists Y: (Likes(X,Y)))")));
+			assertFalse(reasoner.query(kb, (FolFormula) parser.parseFormula("Ridable(cow)")));
+			assertFalse(reasoner.query(kb, (FolFormula) parser.parseFormula("Tame(a1)")));
+			assertFalse(reasoner.query(kb, (FolFormula) parser.parseFormula("forall X: (Tame(X))")));
+			assertFalse(reasoner.query(kb, (FolFormula) parser.parseFormula("exists X: (Likes(X,X))")));
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.logics.pl.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.tweetyproject.commons.ParserException;
+import org.tweetyproject.logics.pl.parser.PlParser;
+import org.tweetyproject.logics.pl.sat.Sat4jSolver;
+import org.tweetyproject.logics.pl.semantics.PossibleWorld;
+import org.tweetyproject.logics.pl.syntax.PlBeliefSet;
+import org.tweetyproject.logics.pl.syntax.PlFormula;
+
+public class Sat4jSolverTest {
+
+	@Test
+	public void WitnessTest() throws ParserException, IOException {
+		PlParser parser = new PlParser();
+		Sat4jSolver solver = new Sat4jSolver();
+		PlBeliefSet bs = parser.parseBeliefBase("a\n!b\nb || c\n!c || !d\ne || !e");
+		PossibleWorld w = (PossibleWorld) solver.getWitness(bs);
+		for(PlFormula f: bs)
+			assertTrue(f.toString(), w.satisfies(f));
+		assertEquals(2, w.size());
+		bs.add(parser.parseFormula("!a || b"));
+		assertNull(solver.getWitness(bs));
+	}
+
+	@Test
+	public void WitnessesTest() throws ParserException, IOException {
+		PlParser parser = new PlParser();
+		Sat4jSolver solver = new Sat4jSolver();
+		// every witness must satisfy the formulas, also after excluding the previous ones
+		PlBeliefSet bs = parser.parseBeliefBase("a || b || c\n!a || !b\n!b || !c\n!a || !c");
+		for(int i = 0; i < 3; i++) {
+			PossibleWorld w = (PossibleWorld) solver.getWitness(bs);
+			for(PlFormula f: bs)
+				assertTrue(f.toString(), w.satisfies(f));
+			assertEquals(1, w.size());
+			bs.add(parser.parseFormula("!" + w.iterator().next()));
+		}
+		assertNull(solver.getWitness(bs));
+	}
+}
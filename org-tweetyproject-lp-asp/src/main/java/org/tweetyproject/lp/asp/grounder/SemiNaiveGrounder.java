@@ -0,0 +1,1261 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.lp.asp.grounder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.tweetyproject.commons.util.Pair;
+import org.tweetyproject.logics.commons.syntax.Constant;
+import org.tweetyproject.logics.commons.syntax.Functor;
+import org.tweetyproject.logics.commons.syntax.FunctionalTerm;
+import org.tweetyproject.logics.commons.syntax.NumberTerm;
+import org.tweetyproject.logics.commons.syntax.Predicate;
+import org.tweetyproject.logics.commons.syntax.Variable;
+import org.tweetyproject.logics.commons.syntax.interfaces.Term;
+import org.tweetyproject.lp.asp.syntax.ASPAtom;
+import org.tweetyproject.lp.asp.syntax.ASPBodyElement;
+import org.tweetyproject.lp.asp.syntax.ASPHead;
+import org.tweetyproject.lp.asp.syntax.ASPLiteral;
+import org.tweetyproject.lp.asp.syntax.ASPOperator;
+import org.tweetyproject.lp.asp.syntax.ASPRule;
+import org.tweetyproject.lp.asp.syntax.AggregateAtom;
+import org.tweetyproject.lp.asp.syntax.AggregateElement;
+import org.tweetyproject.lp.asp.syntax.AggregateHead;
+import org.tweetyproject.lp.asp.syntax.ArithmeticTerm;
+import org.tweetyproject.lp.asp.syntax.ChoiceElement;
+import org.tweetyproject.lp.asp.syntax.ChoiceHead;
+import org.tweetyproject.lp.asp.syntax.ClassicalHead;
+import org.tweetyproject.lp.asp.syntax.ComparativeAtom;
+import org.tweetyproject.lp.asp.syntax.DefaultNegation;
+import org.tweetyproject.lp.asp.syntax.OptimizationElement;
+import org.tweetyproject.lp.asp.syntax.OptimizationStatement;
+import org.tweetyproject.lp.asp.syntax.Program;
+import org.tweetyproject.lp.asp.syntax.StrictNegation;
+
+/**
+ * A grounder that runs inside the JVM and does not need an external binary.
+ * <br>
+ * The grounder first computes an over-approximation of the atoms that may be true
+ * in some answer set by semi-naive evaluation of the positive part of the program.
+ * The predicates are divided into strata (the strongly connected components of the
+ * positive dependency graph) which are evaluated bottom-up. Within a stratum, every rule
+ * is first evaluated once over all atoms derived so far, and afterwards only instantiated
+ * with at least one recursive body literal matched against the atoms derived in the previous
+ * round. Body literals are matched using hash indexes on the argument positions of each
+ * predicate and are joined in the order of their estimated number of matches, which is
+ * recomputed from the sizes of the relations and indexes before every round. Afterwards, every
+ * rule is instantiated over these atoms and simplified: literals over atoms that are
+ * derived by the definite part of the program are removed from the rule bodies, and rules
+ * with default negated literals over such atoms are removed.
+ * <br>
+ * If parallel grounding is enabled, the rules of a round and the instances of the rules
+ * are computed in parallel. The resulting ground program is the same in both modes.
+ * <br>
+ * Supported are classical literals, default negation, comparative atoms, arithmetic terms,
+ * functional terms, aggregates, choice rules, constraints, weak constraints and optimization
+ * statements as well as constants defined by "#const". Rules whose variables are not bound
+ * by a positive body literal or an assignment of the form <code>X = t</code> are rejected
+ * as unsafe.
+ *
+ * @see org.tweetyproject.lp.asp.reasoner.CdnlSolver
+ */
+public class SemiNaiveGrounder extends ASPGrounder {
+
+	/** The name of anonymous variables. */
+	private static final String ANONYMOUS = "_";
+
+	/** Whether rules are grounded in parallel. */
+	private boolean parallel;
+
+	/**
+	 * Creates a new grounder that grounds sequentially.
+	 */
+	public SemiNaiveGrounder() {
+		this(false);
+	}
+
+	/**
+	 * Creates a new grounder.
+	 * @param parallel whether the rules are grounded in parallel (using the common fork/join pool)
+	 */
+	public SemiNaiveGrounder(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	@Override
+	public Program getGroundProgram(Program p) {
+		Program result = new Grounding(p).ground();
+		if(p.hasQuery())
+			result.setQuery(p.getQuery());
+		result.setOutputWhitelist(p.getOutputWhitelist());
+		return result;
+	}
+
+	/**
+	 * The key of a relation, i.e. a predicate and whether the literals of the relation are
+	 * strictly negated.
+	 * @param l some literal
+	 * @return the key of the relation of "l"
+	 */
+	private static Pair<Predicate,Boolean> key(ASPLiteral l) {
+		return new Pair<>(l.getPredicate(), l instanceof StrictNegation);
+	}
+
+	/**
+	 * The set of ground literals of a predicate, indexed by argument positions.
+	 */
+	private static class Relation {
+		/** The literals in the order of insertion. */
+		private List<ASPLiteral> literals = new ArrayList<>();
+		/** The literals as a set. */
+		private Set<ASPLiteral> set = new HashSet<>();
+		/** For each argument position, maps terms to the literals with that argument. Indexes
+		 * are built on first use, possibly by several threads while the relation is not modified. */
+		private Map<Integer,Map<Term<?>,List<ASPLiteral>>> indexes = new ConcurrentHashMap<>();
+
+		/**
+		 * Adds a literal to this relation.
+		 * @param l some ground literal
+		 * @return "true" iff the literal was not already contained
+		 */
+		boolean add(ASPLiteral l) {
+			if(!this.set.add(l))
+				return false;
+			this.literals.add(l);
+			for(Map.Entry<Integer,Map<Term<?>,List<ASPLiteral>>> e: this.indexes.entrySet())
+				e.getValue().computeIfAbsent(l.getArguments().get(e.getKey()), k -> new ArrayList<>()).add(l);
+			return true;
+		}
+
+		/**
+		 * Returns the literals with the given term at the given argument position.
+		 * @param position some argument position
+		 * @param t some ground term
+		 * @return the list of literals with "t" at "position".
+		 */
+		List<ASPLiteral> lookup(int position, Term<?> t) {
+			List<ASPLiteral> result = this.index(position).get(t);
+			return result == null ? Collections.emptyList() : result;
+		}
+
+		/**
+		 * Returns the number of distinct terms at the given argument position.
+		 * @param position some argument position
+		 * @return the number of distinct terms at "position"
+		 */
+		int distinct(int position) {
+			return this.index(position).size();
+		}
+
+		/**
+		 * Returns the index of the given argument position.
+		 * @param position some argument position
+		 * @return the index
+		 */
+		private Map<Term<?>,List<ASPLiteral>> index(int position) {
+			return this.indexes.computeIfAbsent(position, p -> {
+				Map<Term<?>,List<ASPLiteral>> index = new HashMap<>();
+				for(ASPLiteral l: this.literals)
+					index.computeIfAbsent(l.getArguments().get(p), k -> new ArrayList<>()).add(l);
+				return index;
+			});
+		}
+	}
+
+	/**
+	 * A step of the evaluation of a rule body: either matching a positive literal,
+	 * checking a comparison or assigning the value of a term to a variable.
+	 */
+	private static class Step {
+		/** The literal to be matched (or null). */
+		private ASPLiteral literal;
+		/** The comparison to be checked (or null). */
+		private ComparativeAtom comparison;
+		/** The variable to be assigned (or null). */
+		private Variable variable;
+		/** The term whose value is assigned to the variable. */
+		private Term<?> value;
+	}
+
+	/**
+	 * A rule prepared for grounding.
+	 */
+	private static class CompiledRule {
+		/** The original rule. */
+		private ASPRule rule;
+		/** The literals derived by the rule (for choice rules, there is one compiled rule per element). */
+		private List<ASPLiteral> derived = new ArrayList<>();
+		/** Whether this rule is only used to compute possibly true atoms. */
+		private boolean derivationOnly = false;
+		/** The body (including the condition of a choice element). */
+		private List<ASPBodyElement> body = new ArrayList<>();
+		/** The positive literals of the body. */
+		private List<ASPLiteral> positive = new ArrayList<>();
+		/** The plan for evaluating the body. */
+		private List<Step> plan;
+		/** The conditions of choice, aggregate and optimization elements. */
+		private Map<Object,List<ASPBodyElement>> elements = new IdentityHashMap<>();
+		/** The plans of choice, aggregate and optimization elements. */
+		private Map<Object,List<Step>> elementPlans = new IdentityHashMap<>();
+	}
+
+	/**
+	 * The strata of a dependency graph, i.e. its strongly connected components in
+	 * topological order (dependencies first), computed by Tarjan's algorithm.
+	 */
+	private static class Stratification {
+		/** For each relation, the relations it depends on. */
+		private Map<Pair<Predicate,Boolean>,Set<Pair<Predicate,Boolean>>> dependencies;
+		/** The depth-first search indices. */
+		private Map<Pair<Predicate,Boolean>,Integer> index = new HashMap<>();
+		/** The smallest index reachable from a relation. */
+		private Map<Pair<Predicate,Boolean>,Integer> low = new HashMap<>();
+		/** The stack of visited relations. */
+		private Deque<Pair<Predicate,Boolean>> stack = new ArrayDeque<>();
+		/** The relations on the stack. */
+		private Set<Pair<Predicate,Boolean>> onStack = new HashSet<>();
+		/** The stratum of each relation. */
+		private Map<Pair<Predicate,Boolean>,Integer> strata = new HashMap<>();
+		/** The number of strata. */
+		private int count = 0;
+
+		/**
+		 * Computes the strata of the given dependency graph.
+		 * @param dependencies for each relation, the relations it depends on
+		 */
+		Stratification(Map<Pair<Predicate,Boolean>,Set<Pair<Predicate,Boolean>>> dependencies) {
+			this.dependencies = dependencies;
+			for(Pair<Predicate,Boolean> k: dependencies.keySet())
+				if(!this.index.containsKey(k))
+					this.visit(k);
+		}
+
+		/**
+		 * Visits the given relation.
+		 * @param k some relation
+		 */
+		private void visit(Pair<Predicate,Boolean> k) {
+			int i = this.index.size();
+			this.index.put(k, i);
+			this.low.put(k, i);
+			this.stack.push(k);
+			this.onStack.add(k);
+			for(Pair<Predicate,Boolean> d: this.dependencies.getOrDefault(k, Collections.emptySet())) {
+				if(!this.index.containsKey(d)) {
+					this.visit(d);
+					this.low.put(k, Math.min(this.low.get(k), this.low.get(d)));
+				} else if(this.onStack.contains(d))
+					this.low.put(k, Math.min(this.low.get(k), this.index.get(d)));
+			}
+			if(this.low.get(k) == i) {
+				Pair<Predicate,Boolean> d;
+				do {
+					d = this.stack.pop();
+					this.onStack.remove(d);
+					this.strata.put(d, this.count);
+				} while(!d.equals(k));
+				this.count++;
+			}
+		}
+	}
+
+	/**
+	 * The state of grounding a single program.
+	 */
+	private class Grounding {
+		/** The program. */
+		private Program program;
+		/** The compiled rules. */
+		private List<CompiledRule> rules = new ArrayList<>();
+		/** The possibly true literals. */
+		private Map<Pair<Predicate,Boolean>,Relation> relations = new HashMap<>();
+		/** The literals that are true in every answer set. */
+		private Set<ASPLiteral> facts = new HashSet<>();
+		/** Numbers created during grounding. */
+		private Map<Integer,NumberTerm> numbers = new ConcurrentHashMap<>();
+		/** Functional terms created during grounding. */
+		private Map<Pair<Functor,List<Term<?>>>,FunctionalTerm> functionalTerms = new ConcurrentHashMap<>();
+		/** The values of constants defined by "#const" statements. */
+		private Map<Constant,Term<?>> constants = new HashMap<>();
+
+		/**
+		 * Creates a new grounding for the given program.
+		 * @param program some program
+		 */
+		Grounding(Program program) {
+			this.program = program;
+			for(String option: program.getAdditionalOptions()) {
+				if(!option.startsWith("#const") || !option.contains("="))
+					continue;
+				String name = option.substring(6, option.indexOf('=')).trim();
+				String value = option.substring(option.indexOf('=') + 1).trim();
+				if(value.endsWith("."))
+					value = value.substring(0, value.length() - 1).trim();
+				try {
+					this.constants.put(new Constant(name), this.number(Integer.parseInt(value)));
+				} catch(NumberFormatException e) {
+					this.constants.put(new Constant(name), new Constant(value));
+				}
+			}
+		}
+
+		/**
+		 * Grounds the program.
+		 * @return the ground program
+		 */
+		Program ground() {
+			for(ASPRule r: this.program)
+				this.compile(r);
+			this.computePossibleLiterals();
+			List<CompiledRule> rules = new ArrayList<>();
+			for(CompiledRule r: this.rules)
+				if(!r.derivationOnly) {
+					this.replan(r);
+					rules.add(r);
+				}
+			List<Pair<CompiledRule,Map<Variable,Term<?>>>> instances = new ArrayList<>();
+			for(List<Pair<CompiledRule,Map<Variable,Term<?>>>> l: this.map(rules, r -> {
+				List<Pair<CompiledRule,Map<Variable,Term<?>>>> result = new ArrayList<>();
+				this.evaluate(r.plan, 0, new HashMap<>(), null, b -> result.add(new Pair<>(r, new HashMap<>(b))));
+				return result;
+			}))
+				instances.addAll(l);
+			this.computeFacts(instances);
+			Program result = new Program();
+			for(ASPLiteral l: this.facts)
+				result.add(new ASPRule(l));
+			for(ASPRule r: this.map(instances, i -> this.instantiate(i.getFirst(), i.getSecond())))
+				if(r != null)
+					result.add(r);
+			return result;
+		}
+
+		/**
+		 * Applies the given function to all elements of the given list, in parallel if
+		 * parallel grounding is enabled.
+		 * @param <S> the type of the elements
+		 * @param <T> the type of the results
+		 * @param list some list
+		 * @param f some function
+		 * @return the results in the order of the list
+		 */
+		private <S,T> List<T> map(List<S> list, Function<S,T> f) {
+			if(!parallel || list.size() < 2)
+				return list.stream().map(f).collect(Collectors.toList());
+			return list.parallelStream().map(f).collect(Collectors.toList());
+		}
+
+		/**
+		 * Recomputes the plans of the body and the elements of the given rule
+		 * wrt. the current sizes of the relations.
+		 * @param c some compiled rule
+		 */
+		private void replan(CompiledRule c) {
+			Set<Variable> bound = new HashSet<>();
+			c.plan = this.plan(c.rule, c.body, bound, null);
+			for(Map.Entry<Object,List<ASPBodyElement>> e: c.elements.entrySet())
+				c.elementPlans.put(e.getKey(), this.plan(c.rule, e.getValue(), new HashSet<>(bound), null));
+		}
+
+		/**
+		 * Compiles the given rule.
+		 * @param r some rule
+		 */
+		private void compile(ASPRule r) {
+			CompiledRule c = new CompiledRule();
+			c.rule = r;
+			Set<Variable> bound = new HashSet<>();
+			if(!r.getBody().isEmpty() && r.isOptimizationStatement()) {
+				c.plan = new ArrayList<>();
+				for(OptimizationElement e: ((OptimizationStatement) r.getBody().get(0)).getElements()) {
+					Set<Variable> local = new HashSet<>();
+					c.elements.put(e, e.getOptLiterals());
+					c.elementPlans.put(e, this.plan(r, e.getOptLiterals(), local, null));
+					List<Term<?>> terms = new ArrayList<>(e.getOptTerms());
+					terms.add(e.getWeight());
+					terms.add(e.getLevel());
+					this.checkSafety(r, terms, local);
+				}
+				this.rules.add(c);
+				return;
+			}
+			c.body = r.getBody();
+			c.plan = this.plan(r, c.body, bound, null);
+			List<Term<?>> used = new ArrayList<>();
+			for(ASPBodyElement b: r.getBody()) {
+				if(b instanceof ASPLiteral)
+					c.positive.add((ASPLiteral) b);
+				else if(b instanceof DefaultNegation && ((DefaultNegation) b).getLiteral() instanceof ASPLiteral)
+					used.addAll(((ASPLiteral) ((DefaultNegation) b).getLiteral()).getArguments());
+				else if(b instanceof DefaultNegation && ((DefaultNegation) b).getLiteral() instanceof ComparativeAtom) {
+					used.add(((ComparativeAtom) ((DefaultNegation) b).getLiteral()).getLeft());
+					used.add(((ComparativeAtom) ((DefaultNegation) b).getLiteral()).getRight());
+				}
+				AggregateAtom a = b instanceof AggregateAtom ? (AggregateAtom) b
+						: (b instanceof DefaultNegation && ((DefaultNegation) b).getLiteral() instanceof AggregateAtom) ? (AggregateAtom) ((DefaultNegation) b).getLiteral() : null;
+				if(a != null) {
+					used.add(a.getLeftGuard());
+					used.add(a.getRightGuard());
+					for(AggregateElement e: a.getAggregateElements()) {
+						Set<Variable> local = new HashSet<>(bound);
+						c.elements.put(e, e.getRight());
+						c.elementPlans.put(e, this.plan(r, e.getRight(), local, null));
+						this.checkSafety(r, e.getLeft(), local);
+					}
+				}
+			}
+			if(r.getWeight() != null) {
+				used.add(r.getWeight());
+				used.add(r.getLevel());
+				used.addAll(r.getConstraintTerms());
+			}
+			ASPHead head = r.getHead();
+			if(head instanceof AggregateHead)
+				head = this.toChoiceHead((AggregateHead) head);
+			if(head instanceof ClassicalHead) {
+				for(ASPLiteral l: (ClassicalHead) head) {
+					c.derived.add(l);
+					used.addAll(l.getArguments());
+				}
+			} else if(head instanceof ChoiceHead) {
+				ChoiceHead ch = (ChoiceHead) head;
+				used.add(ch.getLeftGuard());
+				used.add(ch.getRightGuard());
+				for(ChoiceElement e: ch.getElements()) {
+					Set<Variable> local = new HashSet<>(bound);
+					c.elements.put(e, e.getCondition());
+					c.elementPlans.put(e, this.plan(r, e.getCondition(), local, null));
+					this.checkSafety(r, new ArrayList<>(e.getAtom().getArguments()), local);
+					// the element is also compiled into a rule "atom :- body, condition" for computing possible atoms
+					CompiledRule d = new CompiledRule();
+					d.rule = r;
+					d.derivationOnly = true;
+					d.derived.add(e.getAtom());
+					d.body.addAll(r.getBody());
+					d.body.addAll(e.getCondition());
+					d.plan = this.plan(r, d.body, new HashSet<>(), null);
+					for(ASPBodyElement b: d.body)
+						if(b instanceof ASPLiteral)
+							d.positive.add((ASPLiteral) b);
+					this.rules.add(d);
+				}
+			}
+			this.checkSafety(r, used, bound);
+			this.rules.add(c);
+		}
+
+		/**
+		 * Converts an aggregate head into the equivalent choice head, where the first literal of
+		 * the condition of each element is the chosen atom.
+		 * @param head some aggregate head
+		 * @return the equivalent choice head
+		 */
+		private ChoiceHead toChoiceHead(AggregateHead head) {
+			AggregateAtom a = head.getFormula();
+			List<ChoiceElement> elements = new ArrayList<>();
+			for(AggregateElement e: a.getAggregateElements()) {
+				if(e.getRight().isEmpty() || !(e.getRight().get(0) instanceof ASPLiteral))
+					throw new IllegalArgumentException("Unsupported aggregate head: " + head);
+				elements.add(new ChoiceElement((ASPLiteral) e.getRight().get(0), new ArrayList<>(e.getRight().subList(1, e.getRight().size()))));
+			}
+			return new ChoiceHead(elements, a.getLeftOperator(), a.getLeftGuard(), a.getRightOperator(), a.getRightGuard());
+		}
+
+		/**
+		 * Checks whether all variables in the given terms are bound.
+		 * @param r the rule (for the error message)
+		 * @param terms some terms (may contain null)
+		 * @param bound the bound variables
+		 * @throws IllegalArgumentException if some variable is not bound
+		 */
+		private void checkSafety(ASPRule r, List<Term<?>> terms, Set<Variable> bound) throws IllegalArgumentException {
+			Set<Variable> vars = new HashSet<>();
+			for(Term<?> t: terms)
+				variables(t, vars, false);
+			vars.removeAll(bound);
+			if(!vars.isEmpty())
+				throw new IllegalArgumentException("The rule " + r + " is not safe, the variables " + vars + " are not bound.");
+		}
+
+		/**
+		 * Computes an evaluation plan for the given body elements. Negated literals and
+		 * aggregates are ignored.
+		 * @param r the rule (for error messages)
+		 * @param body some body elements
+		 * @param bound the variables bound before, will be extended by the variables bound by the plan
+		 * @param first a positive literal that should be matched first (or null)
+		 * @return the plan
+		 * @throws IllegalArgumentException if some comparison or literal cannot be evaluated
+		 */
+		private List<Step> plan(ASPRule r, List<ASPBodyElement> body, Set<Variable> bound, ASPLiteral first) throws IllegalArgumentException {
+			List<ASPBodyElement> remaining = new LinkedList<>();
+			for(ASPBodyElement b: body)
+				if((b instanceof ASPLiteral && b != first) || b instanceof ComparativeAtom)
+					remaining.add(b);
+			List<Step> plan = new ArrayList<>();
+			if(first != null)
+				plan.add(this.match(first, bound));
+			while(!remaining.isEmpty()) {
+				Step next = null;
+				for(ASPBodyElement b: remaining) {
+					if(b instanceof ComparativeAtom) {
+						ComparativeAtom c = (ComparativeAtom) b;
+						if(isBound(c.getLeft(), bound) && isBound(c.getRight(), bound)) {
+							next = new Step();
+							next.comparison = c;
+						} else if(c.getOperator() == ASPOperator.BinaryOperator.EQ) {
+							if(c.getLeft() instanceof Variable && !isBound(c.getLeft(), bound) && isBound(c.getRight(), bound)) {
+								next = new Step();
+								next.variable = (Variable) c.getLeft();
+								next.value = c.getRight();
+							} else if(c.getRight() instanceof Variable && !isBound(c.getRight(), bound) && isBound(c.getLeft(), bound)) {
+								next = new Step();
+								next.variable = (Variable) c.getRight();
+								next.value = c.getLeft();
+							}
+							if(next != null)
+								bound.add(next.variable);
+						}
+					}
+					if(next != null) {
+						remaining.remove(b);
+						break;
+					}
+				}
+				if(next == null) {
+					// match the literal with the smallest estimated number of matches
+					ASPLiteral best = null;
+					double min = 0;
+					for(ASPBodyElement b: remaining)
+						if(b instanceof ASPLiteral && this.isMatchable((ASPLiteral) b, bound)) {
+							double estimate = this.estimate((ASPLiteral) b, bound);
+							if(best == null || estimate < min) {
+								best = (ASPLiteral) b;
+								min = estimate;
+							}
+						}
+					if(best != null) {
+						next = this.match(best, bound);
+						remaining.remove(best);
+					}
+				}
+				if(next == null)
+					throw new IllegalArgumentException("The rule " + r + " is not safe, cannot evaluate " + remaining + ".");
+				plan.add(next);
+			}
+			return plan;
+		}
+
+		/**
+		 * Estimates the number of possibly true literals matching the given literal, assuming
+		 * that the values of the bound arguments are distributed uniformly.
+		 * @param l some literal
+		 * @param bound the bound variables
+		 * @return the estimated number of matches
+		 */
+		private double estimate(ASPLiteral l, Set<Variable> bound) {
+			Relation rel = this.relations.get(key(l));
+			if(rel == null || rel.literals.isEmpty())
+				return 0;
+			double result = rel.literals.size();
+			List<? extends Term<?>> args = l.getArguments();
+			for(int i = 0; i < args.size(); i++)
+				if(isBound(args.get(i), bound) && !containsAnonymous(args.get(i)))
+					result = Math.min(result, rel.literals.size() / (double) rel.distinct(i));
+			return result;
+		}
+
+		/**
+		 * Creates a step for matching the given literal and adds its variables to the bound ones.
+		 * @param l some literal
+		 * @param bound the bound variables
+		 * @return the step
+		 */
+		private Step match(ASPLiteral l, Set<Variable> bound) {
+			Step s = new Step();
+			s.literal = l;
+			for(Term<?> t: l.getArguments())
+				variables(t, bound, true);
+			return s;
+		}
+
+		/**
+		 * Checks whether the variables of all arithmetic arguments of the given literal are bound.
+		 * @param l some literal
+		 * @param bound the bound variables
+		 * @return "true" iff the literal can be matched
+		 */
+		private boolean isMatchable(ASPLiteral l, Set<Variable> bound) {
+			Set<Variable> vars = new HashSet<>();
+			for(Term<?> t: l.getArguments())
+				variables(t, vars, false);
+			Set<Variable> binding = new HashSet<>(bound);
+			for(Term<?> t: l.getArguments())
+				variables(t, binding, true);
+			return binding.containsAll(vars);
+		}
+
+		/**
+		 * Computes the possibly true literals by semi-naive evaluation of the strata of the program.
+		 */
+		private void computePossibleLiterals() {
+			Map<Pair<Predicate,Boolean>,Set<Pair<Predicate,Boolean>>> dependencies = new HashMap<>();
+			for(CompiledRule r: this.rules)
+				for(ASPLiteral h: r.derived) {
+					Set<Pair<Predicate,Boolean>> d = dependencies.computeIfAbsent(key(h), k -> new HashSet<>());
+					for(ASPLiteral l: r.positive)
+						d.add(key(l));
+				}
+			Stratification strata = new Stratification(dependencies);
+			List<List<CompiledRule>> rules = new ArrayList<>();
+			for(int i = 0; i < strata.count; i++)
+				rules.add(new ArrayList<>());
+			for(CompiledRule r: this.rules) {
+				if(r.derived.isEmpty())
+					continue;
+				// all body literals are in this or lower strata
+				int stratum = Integer.MAX_VALUE;
+				for(ASPLiteral h: r.derived)
+					stratum = Math.min(stratum, strata.strata.get(key(h)));
+				rules.get(stratum).add(r);
+			}
+			for(int i = 0; i < strata.count; i++)
+				if(!rules.get(i).isEmpty())
+					this.evaluateStratum(rules.get(i), strata.strata, i);
+		}
+
+		/**
+		 * Evaluates the rules of a stratum until no new literals are derived.
+		 * @param rules the rules of the stratum
+		 * @param strata the strata of all relations
+		 * @param stratum the current stratum
+		 */
+		private void evaluateStratum(List<CompiledRule> rules, Map<Pair<Predicate,Boolean>,Integer> strata, int stratum) {
+			List<Consumer<Map<Pair<Predicate,Boolean>,Set<ASPLiteral>>>> tasks = new ArrayList<>();
+			for(CompiledRule r: rules) {
+				List<Step> plan = this.plan(r.rule, r.body, new HashSet<>(), null);
+				tasks.add(next -> this.evaluate(plan, 0, new HashMap<>(), null, b -> this.derive(r, b, next)));
+			}
+			Map<Pair<Predicate,Boolean>,Set<ASPLiteral>> delta = this.run(tasks);
+			while(!delta.isEmpty()) {
+				for(Map.Entry<Pair<Predicate,Boolean>,Set<ASPLiteral>> e: delta.entrySet()) {
+					Relation rel = this.relations.computeIfAbsent(e.getKey(), k -> new Relation());
+					for(ASPLiteral l: e.getValue())
+						rel.add(l);
+				}
+				tasks.clear();
+				for(CompiledRule r: rules)
+					for(ASPLiteral l: r.positive) {
+						Set<ASPLiteral> d = delta.get(key(l));
+						if(d == null || strata.get(key(l)) != stratum)
+							continue;
+						List<Step> plan = this.plan(r.rule, r.body, new HashSet<>(), l);
+						tasks.add(next -> this.evaluate(plan, 0, new HashMap<>(), d, b -> this.derive(r, b, next)));
+					}
+				delta = this.run(tasks);
+			}
+		}
+
+		/**
+		 * Runs the given evaluation tasks (in parallel if parallel grounding is enabled).
+		 * The relations must not be modified while the tasks are running.
+		 * @param tasks some tasks, each adds new literals to the given delta
+		 * @return the new literals derived by all tasks
+		 */
+		private Map<Pair<Predicate,Boolean>,Set<ASPLiteral>> run(List<Consumer<Map<Pair<Predicate,Boolean>,Set<ASPLiteral>>>> tasks) {
+			Map<Pair<Predicate,Boolean>,Set<ASPLiteral>> result = new HashMap<>();
+			if(!parallel || tasks.size() < 2) {
+				for(Consumer<Map<Pair<Predicate,Boolean>,Set<ASPLiteral>>> t: tasks)
+					t.accept(result);
+				return result;
+			}
+			for(Map<Pair<Predicate,Boolean>,Set<ASPLiteral>> delta: this.map(tasks, t -> {
+				Map<Pair<Predicate,Boolean>,Set<ASPLiteral>> next = new HashMap<>();
+				t.accept(next);
+				return next;
+			}))
+				for(Map.Entry<Pair<Predicate,Boolean>,Set<ASPLiteral>> e: delta.entrySet())
+					result.computeIfAbsent(e.getKey(), k -> new HashSet<>()).addAll(e.getValue());
+			return result;
+		}
+
+		/**
+		 * Adds the literals derived by the given rule instance to the given delta, if they are new.
+		 * @param r some rule
+		 * @param b a binding of the variables of the body
+		 * @param delta the new literals
+		 */
+		private void derive(CompiledRule r, Map<Variable,Term<?>> b, Map<Pair<Predicate,Boolean>,Set<ASPLiteral>> delta) {
+			for(ASPLiteral l: r.derived) {
+				ASPLiteral g = this.instantiate(l, b);
+				if(g == null)
+					continue;
+				Relation rel = this.relations.get(key(g));
+				if(rel == null || !rel.set.contains(g))
+					delta.computeIfAbsent(key(g), k -> new HashSet<>()).add(g);
+			}
+		}
+
+		/**
+		 * Enumerates all bindings satisfying the given plan.
+		 * @param plan some plan
+		 * @param i the current step
+		 * @param b the current binding
+		 * @param delta if not null, the first step only matches literals of this set
+		 * @param out receives all bindings (must copy the binding if stored)
+		 */
+		private void evaluate(List<Step> plan, int i, Map<Variable,Term<?>> b, Set<ASPLiteral> delta, Consumer<Map<Variable,Term<?>>> out) {
+			if(i == plan.size()) {
+				out.accept(b);
+				return;
+			}
+			Step s = plan.get(i);
+			if(s.literal != null) {
+				Iterable<ASPLiteral> candidates = (i == 0 && delta != null) ? delta : this.candidates(s.literal, b);
+				List<Variable> trail = new ArrayList<>();
+				for(ASPLiteral g: candidates) {
+					if(g.getClass() == s.literal.getClass() && this.unify(s.literal.getArguments(), g.getArguments(), b, trail))
+						this.evaluate(plan, i + 1, b, delta, out);
+					for(Variable v: trail)
+						b.remove(v);
+					trail.clear();
+				}
+			} else if(s.variable != null) {
+				Term<?> value = this.evaluate(s.value, b);
+				if(value != null) {
+					b.put(s.variable, value);
+					this.evaluate(plan, i + 1, b, delta, out);
+					b.remove(s.variable);
+				}
+			} else if(this.holds(s.comparison, b))
+				this.evaluate(plan, i + 1, b, delta, out);
+		}
+
+		/**
+		 * Returns the possibly true literals that may match the given literal under the given
+		 * binding, using the index of the most selective bound argument.
+		 * @param l some literal
+		 * @param b a binding
+		 * @return candidate literals
+		 */
+		private List<ASPLiteral> candidates(ASPLiteral l, Map<Variable,Term<?>> b) {
+			Relation rel = this.relations.get(key(l));
+			if(rel == null)
+				return Collections.emptyList();
+			List<ASPLiteral> result = rel.literals;
+			List<? extends Term<?>> args = l.getArguments();
+			for(int i = 0; i < args.size() && result.size() > 1; i++) {
+				Term<?> t = args.get(i);
+				if(t instanceof Variable && !b.containsKey(t))
+					continue;
+				Term<?> value = this.evaluate(t, b);
+				if(value == null)
+					continue;
+				List<ASPLiteral> indexed = rel.lookup(i, value);
+				if(indexed.size() < result.size())
+					result = indexed;
+			}
+			return result;
+		}
+
+		/**
+		 * Unifies the given argument lists and extends the binding.
+		 * @param pattern some (non-ground) arguments
+		 * @param ground some ground arguments
+		 * @param b a binding, will be extended
+		 * @param trail receives the variables that were bound
+		 * @return "true" iff the arguments unify
+		 */
+		private boolean unify(List<? extends Term<?>> pattern, List<? extends Term<?>> ground, Map<Variable,Term<?>> b, List<Variable> trail) {
+			if(pattern.size() != ground.size())
+				return false;
+			for(int i = 0; i < pattern.size(); i++)
+				if(!this.unify(pattern.get(i), ground.get(i), b, trail))
+					return false;
+			return true;
+		}
+
+		/**
+		 * Unifies the given terms and extends the binding.
+		 * @param pattern some term
+		 * @param ground some ground term
+		 * @param b a binding, will be extended
+		 * @param trail receives the variables that were bound
+		 * @return "true" iff the terms unify
+		 */
+		private boolean unify(Term<?> pattern, Term<?> ground, Map<Variable,Term<?>> b, List<Variable> trail) {
+			if(pattern instanceof Variable) {
+				if(((Variable) pattern).get().equals(ANONYMOUS))
+					return true;
+				Term<?> value = b.get(pattern);
+				if(value != null)
+					return value.equals(ground);
+				b.put((Variable) pattern, ground);
+				trail.add((Variable) pattern);
+				return true;
+			}
+			if(pattern instanceof FunctionalTerm) {
+				if(!(ground instanceof FunctionalTerm) || !((FunctionalTerm) pattern).getFunctor().equals(((FunctionalTerm) ground).getFunctor()))
+					return false;
+				return this.unify(((FunctionalTerm) pattern).getArguments(), ((FunctionalTerm) ground).getArguments(), b, trail);
+			}
+			if(pattern instanceof ArithmeticTerm) {
+				Term<?> value = this.evaluate(pattern, b);
+				return value != null && value.equals(ground);
+			}
+			return this.evaluate(pattern, b).equals(ground);
+		}
+
+		/**
+		 * Evaluates the given term under the given binding.
+		 * @param t some term
+		 * @param b a binding
+		 * @return the value of the term or null if the term contains unbound variables
+		 * 	or an undefined arithmetic operation.
+		 */
+		private Term<?> evaluate(Term<?> t, Map<Variable,Term<?>> b) {
+			if(t instanceof Variable)
+				return b.get(t);
+			if(t instanceof Constant)
+				return this.constants.getOrDefault(t, t);
+			if(t instanceof ArithmeticTerm) {
+				ArithmeticTerm a = (ArithmeticTerm) t;
+				Term<?> left = a.getLeft() == null ? null : this.evaluate(a.getLeft(), b);
+				Term<?> right = this.evaluate(a.getRight(), b);
+				if(!(right instanceof NumberTerm) || (a.getLeft() != null && !(left instanceof NumberTerm)))
+					return null;
+				int r = ((NumberTerm) right).get();
+				if(left == null)
+					return this.number(a.getOperator() == ASPOperator.ArithmeticOperator.MINUS ? -r : r);
+				int l = ((NumberTerm) left).get();
+				switch(a.getOperator()) {
+					case PLUS: return this.number(l + r);
+					case MINUS: return this.number(l - r);
+					case TIMES: return this.number(l * r);
+					case DIV: return r == 0 ? null : this.number(l / r);
+					default: return r == 0 ? null : this.number(l % r);
+				}
+			}
+			if(t instanceof FunctionalTerm) {
+				FunctionalTerm f = (FunctionalTerm) t;
+				List<Term<?>> args = new ArrayList<>();
+				boolean changed = false;
+				for(Term<?> arg: f.getArguments()) {
+					Term<?> value = this.evaluate(arg, b);
+					if(value == null)
+						return null;
+					changed |= value != arg;
+					args.add(value);
+				}
+				if(!changed)
+					return f;
+				return this.functionalTerms.computeIfAbsent(new Pair<>(f.getFunctor(), args), k -> new FunctionalTerm(k.getFirst(), k.getSecond()));
+			}
+			return t;
+		}
+
+		/**
+		 * Returns the number term of the given value.
+		 * @param value some integer
+		 * @return the number term
+		 */
+		private NumberTerm number(int value) {
+			return this.numbers.computeIfAbsent(value, NumberTerm::new);
+		}
+
+		/**
+		 * Checks whether the given comparison holds under the given binding.
+		 * @param c some comparison
+		 * @param b a binding
+		 * @return "true" iff the comparison holds
+		 */
+		private boolean holds(ComparativeAtom c, Map<Variable,Term<?>> b) {
+			Term<?> left = this.evaluate(c.getLeft(), b);
+			Term<?> right = this.evaluate(c.getRight(), b);
+			if(left == null || right == null)
+				return false;
+			return compare(c.getOperator(), left, right);
+		}
+
+		/**
+		 * Instantiates the given literal.
+		 * @param l some literal
+		 * @param b a binding
+		 * @return the ground literal or null if some argument is undefined
+		 */
+		private ASPLiteral instantiate(ASPLiteral l, Map<Variable,Term<?>> b) {
+			List<Term<?>> args = new ArrayList<>();
+			for(Term<?> t: l.getArguments()) {
+				Term<?> value = this.evaluate(t, b);
+				if(value == null)
+					return null;
+				args.add(value);
+			}
+			ASPAtom atom = new ASPAtom(l.getPredicate(), args);
+			return l instanceof StrictNegation ? new StrictNegation(atom) : atom;
+		}
+
+		/**
+		 * Checks whether the given ground literal is possibly true.
+		 * @param l some ground literal
+		 * @return "true" iff the literal was derived
+		 */
+		private boolean isPossible(ASPLiteral l) {
+			Relation rel = this.relations.get(key(l));
+			return rel != null && rel.set.contains(l);
+		}
+
+		/**
+		 * Computes the literals derived by the definite rules.
+		 * @param instances all rule instances
+		 */
+		private void computeFacts(List<Pair<CompiledRule,Map<Variable,Term<?>>>> instances) {
+			Map<ASPLiteral,List<Integer>> watches = new HashMap<>();
+			List<ASPLiteral> heads = new ArrayList<>();
+			List<Integer> missing = new ArrayList<>();
+			LinkedList<ASPLiteral> queue = new LinkedList<>();
+			for(Pair<CompiledRule,Map<Variable,Term<?>>> i: instances) {
+				ASPRule r = i.getFirst().rule;
+				if(!(r.getHead() instanceof ClassicalHead) || ((ClassicalHead) r.getHead()).size() != 1 || r.getWeight() != null)
+					continue;
+				boolean definite = true;
+				for(ASPBodyElement b: r.getBody())
+					definite &= b instanceof ASPLiteral || b instanceof ComparativeAtom;
+				if(!definite)
+					continue;
+				ASPLiteral head = this.instantiate(((ClassicalHead) r.getHead()).get(0), i.getSecond());
+				if(head == null)
+					continue;
+				Set<ASPLiteral> body = new HashSet<>();
+				for(ASPBodyElement b: r.getBody())
+					if(b instanceof ASPLiteral)
+						body.add(this.instantiate((ASPLiteral) b, i.getSecond()));
+				int id = heads.size();
+				heads.add(head);
+				missing.add(body.size());
+				for(ASPLiteral l: body)
+					watches.computeIfAbsent(l, k -> new ArrayList<>()).add(id);
+				if(body.isEmpty())
+					queue.add(head);
+			}
+			while(!queue.isEmpty()) {
+				ASPLiteral l = queue.poll();
+				if(!this.facts.add(l))
+					continue;
+				for(int id: watches.getOrDefault(l, Collections.emptyList())) {
+					missing.set(id, missing.get(id) - 1);
+					if(missing.get(id) == 0)
+						queue.add(heads.get(id));
+				}
+			}
+		}
+
+		/**
+		 * Instantiates and simplifies the given rule.
+		 * @param c some compiled rule
+		 * @param b a binding satisfying the plan of the rule
+		 * @return the ground rule or null if the rule instance is irrelevant
+		 */
+		private ASPRule instantiate(CompiledRule c, Map<Variable,Term<?>> b) {
+			ASPRule r = c.rule;
+			if(!r.getBody().isEmpty() && r.isOptimizationStatement()) {
+				OptimizationStatement os = (OptimizationStatement) r.getBody().get(0);
+				List<OptimizationElement> elements = new ArrayList<>();
+				for(OptimizationElement e: os.getElements())
+					this.evaluate(c.elementPlans.get(e), 0, b, null, eb -> {
+						List<ASPBodyElement> condition = this.instantiateCondition(e.getOptLiterals(), eb);
+						List<Term<?>> terms = this.instantiate(e.getOptTerms(), eb);
+						if(condition != null && terms != null)
+							elements.add(new OptimizationElement(this.evaluate(e.getWeight(), eb), e.getLevel() == null ? null : this.evaluate(e.getLevel(), eb), terms, condition));
+					});
+				return elements.isEmpty() ? null : new ASPRule(new OptimizationStatement(os.getOptimizeFunction(), elements));
+			}
+			List<ASPBodyElement> body = new ArrayList<>();
+			List<ASPBodyElement> removed = new ArrayList<>();
+			for(ASPBodyElement e: r.getBody()) {
+				if(e instanceof ASPLiteral) {
+					ASPLiteral g = this.instantiate((ASPLiteral) e, b);
+					if(this.facts.contains(g))
+						removed.add(g);
+					else body.add(g);
+				} else if(e instanceof ComparativeAtom)
+					removed.add(this.instantiate((ComparativeAtom) e, b));
+				else if(e instanceof AggregateAtom)
+					body.add(this.instantiate(c, (AggregateAtom) e, b));
+				else if(e instanceof DefaultNegation) {
+					ASPBodyElement inner = ((DefaultNegation) e).getLiteral();
+					if(inner instanceof ASPLiteral) {
+						ASPLiteral g = this.instantiate((ASPLiteral) inner, b);
+						if(g == null)
+							continue;
+						if(this.facts.contains(g))
+							return null;
+						if(this.isPossible(g))
+							body.add(new DefaultNegation(g));
+						else removed.add(new DefaultNegation(g));
+					} else if(inner instanceof ComparativeAtom) {
+						if(this.holds((ComparativeAtom) inner, b))
+							return null;
+						removed.add(new DefaultNegation(this.instantiate((ComparativeAtom) inner, b)));
+					} else if(inner instanceof AggregateAtom)
+						body.add(new DefaultNegation(this.instantiate(c, (AggregateAtom) inner, b)));
+				}
+			}
+			ASPHead head = r.getHead();
+			if(head instanceof AggregateHead)
+				head = this.toChoiceHead((AggregateHead) head);
+			if(head instanceof ChoiceHead) {
+				ChoiceHead ch = (ChoiceHead) head;
+				List<ChoiceElement> elements = new ArrayList<>();
+				for(ChoiceElement e: ch.getElements())
+					this.evaluate(c.elementPlans.get(e), 0, b, null, eb -> {
+						List<ASPBodyElement> condition = this.instantiateCondition(e.getCondition(), eb);
+						ASPLiteral atom = this.instantiate(e.getAtom(), eb);
+						if(condition != null && atom != null)
+							elements.add(new ChoiceElement(atom, condition));
+					});
+				Term<?> left = ch.getLeftGuard() == null ? null : this.evaluate(ch.getLeftGuard(), b);
+				Term<?> right = ch.getRightGuard() == null ? null : this.evaluate(ch.getRightGuard(), b);
+				if(!elements.isEmpty())
+					return new ASPRule(new ChoiceHead(elements, ch.getLeftOperator(), left, ch.getRightOperator(), right), body);
+				// an empty choice is a constraint if the bounds do not admit zero elements
+				NumberTerm zero = this.number(0);
+				if((left == null || ch.getLeftOperator() == null || compare(ch.getLeftOperator(), left, zero))
+						&& (right == null || ch.getRightOperator() == null || compare(ch.getRightOperator(), zero, right)))
+					return null;
+				head = new ClassicalHead();
+			}
+			ClassicalHead ch = (ClassicalHead) head;
+			if(ch.isEmpty()) {
+				if(body.isEmpty() && !removed.isEmpty())
+					body.add(removed.get(0));
+				if(r.getWeight() != null) {
+					List<Term<?>> terms = this.instantiate(r.getConstraintTerms(), b);
+					return new ASPRule(body, this.evaluate(r.getWeight(), b), r.getLevel() == null ? null : this.evaluate(r.getLevel(), b), terms);
+				}
+				return new ASPRule(new ClassicalHead(), body);
+			}
+			List<ASPLiteral> lits = new ArrayList<>();
+			for(ASPLiteral l: ch) {
+				ASPLiteral g = this.instantiate(l, b);
+				if(g == null)
+					return null;
+				if(this.facts.contains(g))
+					return null;
+				lits.add(g);
+			}
+			return new ASPRule(new ClassicalHead(lits), body);
+		}
+
+		/**
+		 * Instantiates the given ground aggregate.
+		 * @param c the compiled rule containing the aggregate
+		 * @param a some aggregate
+		 * @param b a binding of the global variables
+		 * @return the ground aggregate
+		 */
+		private AggregateAtom instantiate(CompiledRule c, AggregateAtom a, Map<Variable,Term<?>> b) {
+			Set<AggregateElement> elements = new LinkedHashSet<>();
+			for(AggregateElement e: a.getAggregateElements())
+				this.evaluate(c.elementPlans.get(e), 0, b, null, eb -> {
+					List<ASPBodyElement> condition = this.instantiateCondition(e.getRight(), eb);
+					List<Term<?>> terms = this.instantiate(e.getLeft(), eb);
+					if(condition != null && terms != null)
+						elements.add(new AggregateElement(terms, condition));
+				});
+			return new AggregateAtom(a.getFunction(), new ArrayList<>(elements),
+					a.getLeftOperator(), a.getLeftGuard() == null ? null : this.evaluate(a.getLeftGuard(), b),
+					a.getRightOperator(), a.getRightGuard() == null ? null : this.evaluate(a.getRightGuard(), b));
+		}
+
+		/**
+		 * Instantiates the given condition of an element of an aggregate, choice or optimization
+		 * statement. Comparisons are removed, all other literals are kept.
+		 * @param condition some condition
+		 * @param b a binding satisfying the plan of the condition
+		 * @return the ground condition or null if it is false
+		 */
+		private List<ASPBodyElement> instantiateCondition(List<ASPBodyElement> condition, Map<Variable,Term<?>> b) {
+			List<ASPBodyElement> result = new ArrayList<>();
+			for(ASPBodyElement e: condition) {
+				if(e instanceof ASPLiteral)
+					result.add(this.instantiate((ASPLiteral) e, b));
+				else if(e instanceof DefaultNegation && ((DefaultNegation) e).getLiteral() instanceof ASPLiteral) {
+					ASPLiteral g = this.instantiate((ASPLiteral) ((DefaultNegation) e).getLiteral(), b);
+					if(g == null || this.facts.contains(g))
+						return null;
+					result.add(new DefaultNegation(g));
+				} else if(e instanceof DefaultNegation && ((DefaultNegation) e).getLiteral() instanceof ComparativeAtom) {
+					if(this.holds((ComparativeAtom) ((DefaultNegation) e).getLiteral(), b))
+						return null;
+				} else if(!(e instanceof ComparativeAtom))
+					throw new IllegalArgumentException("Unsupported element in condition: " + e);
+			}
+			return result;
+		}
+
+		/**
+		 * Instantiates the given terms.
+		 * @param terms some terms
+		 * @param b a binding
+		 * @return the values of the terms or null if some term is undefined
+		 */
+		private List<Term<?>> instantiate(List<Term<?>> terms, Map<Variable,Term<?>> b) {
+			List<Term<?>> result = new ArrayList<>();
+			for(Term<?> t: terms) {
+				Term<?> value = this.evaluate(t, b);
+				if(value == null)
+					return null;
+				result.add(value);
+			}
+			return result;
+		}
+
+		/**
+		 * Instantiates the given comparison.
+		 * @param c some comparison
+		 * @param b a binding
+		 * @return the ground comparison
+		 */
+		private ComparativeAtom instantiate(ComparativeAtom c, Map<Variable,Term<?>> b) {
+			return new ComparativeAtom(c.getOperator(), this.evaluate(c.getLeft(), b), this.evaluate(c.getRight(), b));
+		}
+	}
+
+	/**
+	 * Collects the variables of the given term.
+	 * @param t some term (may be null)
+	 * @param vars receives the variables
+	 * @param bindingOnly if true, only variables that are bound by matching the term are collected
+	 * 	(i.e. not the variables in arithmetic terms)
+	 */
+	private static void variables(Term<?> t, Set<Variable> vars, boolean bindingOnly) {
+		if(t instanceof Variable) {
+			if(!((Variable) t).get().equals(ANONYMOUS))
+				vars.add((Variable) t);
+		} else if(t instanceof FunctionalTerm) {
+			for(Term<?> arg: ((FunctionalTerm) t).getArguments())
+				variables(arg, vars, bindingOnly);
+		} else if(t instanceof ArithmeticTerm && !bindingOnly) {
+			variables(((ArithmeticTerm) t).getLeft(), vars, false);
+			variables(((ArithmeticTerm) t).getRight(), vars, false);
+		}
+	}
+
+	/**
+	 * Checks whether the given term contains an anonymous variable.
+	 * @param t some term (may be null)
+	 * @return "true" iff the term contains an anonymous variable
+	 */
+	private static boolean containsAnonymous(Term<?> t) {
+		if(t instanceof Variable)
+			return ((Variable) t).get().equals(ANONYMOUS);
+		if(t instanceof FunctionalTerm) {
+			for(Term<?> arg: ((FunctionalTerm) t).getArguments())
+				if(containsAnonymous(arg))
+					return true;
+		} else if(t instanceof ArithmeticTerm)
+			return containsAnonymous(((ArithmeticTerm) t).getLeft()) || containsAnonymous(((ArithmeticTerm) t).getRight());
+		return false;
+	}
+
+	/**
+	 * Checks whether all variables of the given term are bound.
+	 * @param t some term
+	 * @param bound the bound variables
+	 * @return "true" iff all variables of the term are bound
+	 */
+	private static boolean isBound(Term<?> t, Set<Variable> bound) {
+		Set<Variable> vars = new HashSet<>();
+		variables(t, vars, false);
+		return bound.containsAll(vars);
+	}
+
+	/**
+	 * Compares two ground terms. Integers are smaller than all other terms, constants
+	 * are compared lexicographically, functional terms are larger than constants.
+	 * @param op some comparative operator
+	 * @param left some ground term
+	 * @param right some ground term
+	 * @return "true" iff "left op right" holds
+	 */
+	public static boolean compare(ASPOperator.BinaryOperator op, Term<?> left, Term<?> right) {
+		int c = compare(left, right);
+		switch(op) {
+			case EQ: return c == 0;
+			case NEQ: return c != 0;
+			case LT: return c < 0;
+			case LEQ: return c <= 0;
+			case GT: return c > 0;
+			default: return c >= 0;
+		}
+	}
+
+	/**
+	 * Compares two ground terms wrt. the total order of ground terms.
+	 * @param left some ground term
+	 * @param right some ground term
+	 * @return a negative number, zero or a positive number if "left" is smaller than, equal to, or greater than "right"
+	 */
+	private static int compare(Term<?> left, Term<?> right) {
+		int l = rank(left), r = rank(right);
+		if(l != r)
+			return Integer.compare(l, r);
+		if(left instanceof NumberTerm)
+			return Integer.compare(((NumberTerm) left).get(), ((NumberTerm) right).get());
+		if(left instanceof FunctionalTerm) {
+			FunctionalTerm f = (FunctionalTerm) left, g = (FunctionalTerm) right;
+			int c = Integer.compare(f.getArguments().size(), g.getArguments().size());
+			if(c == 0)
+				c = f.getFunctor().getName().compareTo(g.getFunctor().getName());
+			for(int i = 0; c == 0 && i < f.getArguments().size(); i++)
+				c = compare(f.getArguments().get(i), g.getArguments().get(i));
+			return c;
+		}
+		return left.toString().compareTo(right.toString());
+	}
+
+	/**
+	 * The rank of the type of a term in the total order of ground terms.
+	 * @param t some term
+	 * @return 0 for numbers, 2 for functional terms and 1 otherwise
+	 */
+	private static int rank(Term<?> t) {
+		if(t instanceof NumberTerm)
+			return 0;
+		if(t instanceof FunctionalTerm)
+			return 2;
+		return 1;
+	}
+}
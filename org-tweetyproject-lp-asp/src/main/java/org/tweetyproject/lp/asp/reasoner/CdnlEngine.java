@@ -0,0 +1,1018 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.lp.asp.reasoner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A conflict-driven nogood learning engine for answer set solving. The engine
+ * works on clauses over propositional variables and on reified weight constraints, and
+ * enumerates total assignments that satisfy all of them and that are free of unfounded
+ * sets wrt. the registered rule supports.
+ * <br>
+ * Literals are encoded as integers, the positive literal of variable v is 2v and the
+ * negative literal is 2v+1. Variable 0 is always true.
+ * <br>
+ * Propagation uses two watched literals for clauses and counters for weight constraints.
+ * Conflicts are analysed using the first unique implication point, decisions are made
+ * by variable activity, and the search is restarted according to the Luby sequence.
+ * The unfounded set check is only performed on total assignments and only for the
+ * non-trivial strongly connected components of the positive dependency graph; unfounded
+ * sets are excluded by adding the corresponding loop nogood.
+ */
+class CdnlEngine {
+
+	/** The literal that is always true. */
+	static final int TRUE = 0;
+	/** The literal that is always false. */
+	static final int FALSE = 1;
+
+	/** The number of conflicts per unit of the Luby sequence. */
+	private static final int RESTART_UNIT = 64;
+
+	/** Kinds of definitions of variables. */
+	private static final byte NONE = 0, CONJUNCTION = 1, DISJUNCTION = 2, WEIGHT = 3;
+
+	/** A clause, the first literal of a clause used as a reason is the implied literal. */
+	private static class Clause {
+		/** The literals. */
+		private int[] lits;
+
+		/**
+		 * Creates a new clause.
+		 * @param lits the literals
+		 */
+		Clause(int[] lits) {
+			this.lits = lits;
+		}
+	}
+
+	/** A reified weight constraint "head iff sum of weights of true literals &gt;= bound". */
+	private static class WeightConstraint {
+		/** The head literal. */
+		private int head;
+		/** The literals. */
+		private int[] lits;
+		/** The (positive) weights. */
+		private int[] weights;
+		/** The bound. */
+		private int bound;
+		/** The sum of all weights. */
+		private int total;
+		/** The sum of the weights of the true literals. */
+		private int sumTrue;
+		/** The sum of the weights of the false literals. */
+		private int sumFalse;
+	}
+
+	/** The number of variables. */
+	private int numVars = 0;
+	/** The value of each variable: 1 (true), -1 (false) or 0 (unassigned). */
+	private byte[] values = new byte[16];
+	/** The decision level of each assigned variable. */
+	private int[] levels = new int[16];
+	/** The reason of each implied variable. */
+	private Clause[] reasons = new Clause[16];
+	/** The saved phase of each variable. */
+	private boolean[] phases = new boolean[16];
+	/** The activity of each variable. */
+	private double[] activities = new double[16];
+	/** Marks used during conflict analysis. */
+	private boolean[] seen = new boolean[16];
+	/** The watch lists of each literal. */
+	private List<List<Clause>> watches = new ArrayList<>();
+	/** For each variable, the weight constraints it occurs in (as pairs of constraint and position, -1 for the head). */
+	private List<List<int[]>> occurrences = new ArrayList<>();
+	/** The weight constraints. */
+	private List<WeightConstraint> constraints = new ArrayList<>();
+
+	/** The trail of assigned literals. */
+	private int[] trail = new int[16];
+	/** The size of the trail. */
+	private int trailSize = 0;
+	/** The start positions of decision levels on the trail. */
+	private List<Integer> trailLimits = new ArrayList<>();
+	/** The next position of the trail to propagate. */
+	private int head = 0;
+
+	/** The heap of variables ordered by activity. */
+	private int[] heap = new int[16];
+	/** The size of the heap. */
+	private int heapSize = 0;
+	/** The position of each variable in the heap (or -1). */
+	private int[] heapIndex = new int[16];
+	/** The current activity increment. */
+	private double increment = 1;
+
+	/** Whether the constraints are unsatisfiable (wrt. the models not enumerated yet). */
+	private boolean unsatisfiable = false;
+	/** Whether a model has been found and not yet been excluded. */
+	private boolean hasModel = false;
+	/** The number of conflicts since the last restart. */
+	private int conflicts = 0;
+	/** The number of restarts. */
+	private int restarts = 0;
+
+	/** Whether each variable is an atom of the program. */
+	private boolean[] atoms = new boolean[16];
+	/** For each atom, the bodies of its rules. */
+	private List<List<Integer>> supports = new ArrayList<>();
+	/** The kind of definition of each variable. */
+	private byte[] kinds = new byte[16];
+	/** The literals of the definition of each variable. */
+	private int[][] definitions = new int[16][];
+	/** For variables defined by weight constraints, the constraint. */
+	private WeightConstraint[] weightDefinitions = new WeightConstraint[16];
+	/** The strongly connected component of each atom (or -1 if not in a non-trivial component). */
+	private int[] components;
+	/** The atoms of each non-trivial strongly connected component. */
+	private List<int[]> componentAtoms;
+
+	/**
+	 * Creates a new engine.
+	 */
+	CdnlEngine() {
+		this.newVar();
+		this.assign(TRUE, null);
+	}
+
+	/**
+	 * Returns the positive literal of the given variable.
+	 * @param var some variable
+	 * @return the positive literal
+	 */
+	static int pos(int var) {
+		return 2 * var;
+	}
+
+	/**
+	 * Returns the negation of the given literal.
+	 * @param lit some literal
+	 * @return the negated literal
+	 */
+	static int not(int lit) {
+		return lit ^ 1;
+	}
+
+	/**
+	 * Creates a new variable.
+	 * @return the variable
+	 */
+	int newVar() {
+		int v = this.numVars++;
+		if(v >= this.values.length) {
+			int n = 2 * this.values.length;
+			this.values = Arrays.copyOf(this.values, n);
+			this.levels = Arrays.copyOf(this.levels, n);
+			this.reasons = Arrays.copyOf(this.reasons, n);
+			this.phases = Arrays.copyOf(this.phases, n);
+			this.activities = Arrays.copyOf(this.activities, n);
+			this.seen = Arrays.copyOf(this.seen, n);
+			this.trail = Arrays.copyOf(this.trail, n);
+			this.heap = Arrays.copyOf(this.heap, n);
+			this.heapIndex = Arrays.copyOf(this.heapIndex, n);
+			this.atoms = Arrays.copyOf(this.atoms, n);
+			this.kinds = Arrays.copyOf(this.kinds, n);
+			this.definitions = Arrays.copyOf(this.definitions, n);
+			this.weightDefinitions = Arrays.copyOf(this.weightDefinitions, n);
+		}
+		this.watches.add(new ArrayList<>());
+		this.watches.add(new ArrayList<>());
+		this.occurrences.add(new ArrayList<>());
+		this.supports.add(null);
+		this.heapIndex[v] = -1;
+		this.heapInsert(v);
+		return v;
+	}
+
+	/**
+	 * Returns the number of variables.
+	 * @return the number of variables
+	 */
+	int numberOfVariables() {
+		return this.numVars;
+	}
+
+	/**
+	 * Returns the value of the given literal.
+	 * @param lit some literal
+	 * @return 1 if the literal is true, -1 if it is false, 0 if it is unassigned
+	 */
+	private int value(int lit) {
+		int v = this.values[lit >> 1];
+		return (lit & 1) == 0 ? v : -v;
+	}
+
+	/**
+	 * Checks whether the given literal is true in the last model.
+	 * @param lit some literal
+	 * @return "true" iff the literal is true
+	 */
+	boolean isTrue(int lit) {
+		return this.value(lit) > 0;
+	}
+
+	/**
+	 * Returns the strongly connected component of the given atom in the positive
+	 * dependency graph. Must be called after all supports have been registered.
+	 * @param atom some atom
+	 * @return the index of the component or -1 if the atom is not in a non-trivial component
+	 */
+	int getComponent(int atom) {
+		if(this.components == null)
+			this.computeComponents();
+		return this.components[atom];
+	}
+
+	/**
+	 * Marks the given variable as an atom of the program.
+	 * @param var some variable
+	 */
+	void addAtom(int var) {
+		this.atoms[var] = true;
+		this.supports.set(var, new ArrayList<>());
+	}
+
+	/**
+	 * Registers the given literal as the body of a rule with the given atom in the head.
+	 * @param atom some atom
+	 * @param body the literal of the body
+	 */
+	void addSupport(int atom, int body) {
+		this.supports.get(atom).add(body);
+	}
+
+	/**
+	 * Adds the clause stating that the given atom is only true if the body of one of its
+	 * rules is true. Must be called after all supports of the atom have been registered.
+	 * @param atom some atom
+	 */
+	void addSupportClause(int atom) {
+		List<Integer> bodies = this.supports.get(atom);
+		int[] clause = new int[bodies.size() + 1];
+		clause[0] = not(pos(atom));
+		for(int i = 0; i < bodies.size(); i++)
+			clause[i + 1] = bodies.get(i);
+		this.addClause(clause);
+	}
+
+	/**
+	 * Registers that the given variable is defined as the conjunction of the given literals.
+	 * The corresponding clauses must be added separately.
+	 * @param var some variable
+	 * @param lits some literals
+	 */
+	void defineConjunction(int var, int[] lits) {
+		this.kinds[var] = CONJUNCTION;
+		this.definitions[var] = lits;
+	}
+
+	/**
+	 * Registers that the given variable is defined as the disjunction of the given literals.
+	 * The corresponding clauses must be added separately.
+	 * @param var some variable
+	 * @param lits some literals
+	 */
+	void defineDisjunction(int var, int[] lits) {
+		this.kinds[var] = DISJUNCTION;
+		this.definitions[var] = lits;
+	}
+
+	/**
+	 * Adds the weight constraint "var iff sum of weights of true literals &gt;= bound".
+	 * @param var some fresh variable
+	 * @param lits some literals
+	 * @param weights positive weights
+	 * @param bound some bound
+	 */
+	void addWeightConstraint(int var, int[] lits, int[] weights, int bound) {
+		WeightConstraint c = new WeightConstraint();
+		c.head = pos(var);
+		c.lits = lits;
+		c.weights = weights;
+		c.bound = bound;
+		int id = this.constraints.size();
+		this.constraints.add(c);
+		this.occurrences.get(var).add(new int[] {id, -1});
+		for(int i = 0; i < lits.length; i++) {
+			c.total += weights[i];
+			this.occurrences.get(lits[i] >> 1).add(new int[] {id, i});
+			if(this.value(lits[i]) > 0)
+				c.sumTrue += weights[i];
+			else if(this.value(lits[i]) < 0)
+				c.sumFalse += weights[i];
+		}
+		this.kinds[var] = WEIGHT;
+		this.definitions[var] = lits;
+		this.weightDefinitions[var] = c;
+		if(!this.unsatisfiable && this.propagate(c) != null)
+			this.unsatisfiable = true;
+	}
+
+	/**
+	 * Adds a clause. Must only be called before the search has started.
+	 * @param lits some literals
+	 */
+	void addClause(int... lits) {
+		if(this.unsatisfiable)
+			return;
+		Set<Integer> set = new HashSet<>();
+		List<Integer> list = new ArrayList<>();
+		for(int l: lits) {
+			if(this.value(l) > 0 || set.contains(not(l)))
+				return;
+			if(this.value(l) == 0 && set.add(l))
+				list.add(l);
+		}
+		if(list.isEmpty()) {
+			this.unsatisfiable = true;
+			return;
+		}
+		if(list.size() == 1) {
+			this.assign(list.get(0), null);
+			if(this.propagate() != null)
+				this.unsatisfiable = true;
+			return;
+		}
+		int[] c = new int[list.size()];
+		for(int i = 0; i < c.length; i++)
+			c[i] = list.get(i);
+		this.attach(new Clause(c));
+	}
+
+	/**
+	 * Watches the first two literals of the given clause.
+	 * @param c some clause with at least two literals
+	 */
+	private void attach(Clause c) {
+		this.watches.get(c.lits[0]).add(c);
+		this.watches.get(c.lits[1]).add(c);
+	}
+
+	/**
+	 * Returns the current decision level.
+	 * @return the current decision level
+	 */
+	private int decisionLevel() {
+		return this.trailLimits.size();
+	}
+
+	/**
+	 * Assigns the given literal to true.
+	 * @param lit some unassigned literal
+	 * @param reason the reason (or null for decisions)
+	 */
+	private void assign(int lit, Clause reason) {
+		int v = lit >> 1;
+		this.values[v] = (byte) ((lit & 1) == 0 ? 1 : -1);
+		this.levels[v] = this.decisionLevel();
+		this.reasons[v] = reason;
+		this.trail[this.trailSize++] = lit;
+		for(int[] o: this.occurrences.get(v)) {
+			if(o[1] < 0)
+				continue;
+			WeightConstraint c = this.constraints.get(o[0]);
+			if(this.value(c.lits[o[1]]) > 0)
+				c.sumTrue += c.weights[o[1]];
+			else c.sumFalse += c.weights[o[1]];
+		}
+	}
+
+	/**
+	 * Undoes all assignments above the given decision level.
+	 * @param level some decision level
+	 */
+	private void backtrack(int level) {
+		if(this.decisionLevel() <= level)
+			return;
+		int limit = this.trailLimits.get(level);
+		for(int i = this.trailSize - 1; i >= limit; i--) {
+			int v = this.trail[i] >> 1;
+			for(int[] o: this.occurrences.get(v)) {
+				if(o[1] < 0)
+					continue;
+				WeightConstraint c = this.constraints.get(o[0]);
+				if(this.value(c.lits[o[1]]) > 0)
+					c.sumTrue -= c.weights[o[1]];
+				else c.sumFalse -= c.weights[o[1]];
+			}
+			this.phases[v] = this.values[v] > 0;
+			this.values[v] = 0;
+			this.reasons[v] = null;
+			if(this.heapIndex[v] < 0)
+				this.heapInsert(v);
+		}
+		this.trailSize = limit;
+		this.head = limit;
+		while(this.trailLimits.size() > level)
+			this.trailLimits.remove(this.trailLimits.size() - 1);
+	}
+
+	/**
+	 * Propagates all assignments on the trail.
+	 * @return a conflicting clause or null if there is no conflict
+	 */
+	private Clause propagate() {
+		while(this.head < this.trailSize) {
+			int p = this.trail[this.head++];
+			int falseLit = not(p);
+			List<Clause> ws = this.watches.get(falseLit);
+			int i = 0, j = 0;
+			Clause conflict = null;
+			while(i < ws.size()) {
+				Clause c = ws.get(i++);
+				int[] lits = c.lits;
+				if(lits[0] == falseLit) {
+					lits[0] = lits[1];
+					lits[1] = falseLit;
+				}
+				if(this.value(lits[0]) > 0) {
+					ws.set(j++, c);
+					continue;
+				}
+				boolean moved = false;
+				for(int k = 2; k < lits.length; k++)
+					if(this.value(lits[k]) >= 0) {
+						lits[1] = lits[k];
+						lits[k] = falseLit;
+						this.watches.get(lits[1]).add(c);
+						moved = true;
+						break;
+					}
+				if(moved)
+					continue;
+				ws.set(j++, c);
+				if(this.value(lits[0]) < 0) {
+					conflict = c;
+					while(i < ws.size())
+						ws.set(j++, ws.get(i++));
+				} else this.assign(lits[0], c);
+			}
+			while(ws.size() > j)
+				ws.remove(ws.size() - 1);
+			if(conflict != null) {
+				this.head = this.trailSize;
+				return conflict;
+			}
+			for(int[] o: this.occurrences.get(p >> 1)) {
+				conflict = this.propagate(this.constraints.get(o[0]));
+				if(conflict != null) {
+					this.head = this.trailSize;
+					return conflict;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Propagates the given weight constraint.
+	 * @param c some weight constraint
+	 * @return a conflicting clause or null if there is no conflict
+	 */
+	private Clause propagate(WeightConstraint c) {
+		int h = this.value(c.head);
+		if(c.sumTrue >= c.bound) {
+			if(h < 0)
+				return this.reason(c.head, c, true, -1);
+			if(h == 0) {
+				this.assign(c.head, this.reason(c.head, c, true, -1));
+				return null;
+			}
+		}
+		if(c.total - c.sumFalse < c.bound) {
+			if(h > 0)
+				return this.reason(not(c.head), c, false, -1);
+			if(h == 0) {
+				this.assign(not(c.head), this.reason(not(c.head), c, false, -1));
+				return null;
+			}
+		}
+		if(h > 0) {
+			for(int i = 0; i < c.lits.length; i++)
+				if(this.value(c.lits[i]) == 0 && c.total - c.sumFalse - c.weights[i] < c.bound)
+					this.assign(c.lits[i], this.reason(c.lits[i], c, false, not(c.head)));
+		} else if(h < 0) {
+			for(int i = 0; i < c.lits.length; i++)
+				if(this.value(c.lits[i]) == 0 && c.sumTrue + c.weights[i] >= c.bound)
+					this.assign(not(c.lits[i]), this.reason(not(c.lits[i]), c, true, c.head));
+		}
+		return null;
+	}
+
+	/**
+	 * Creates the clause explaining an inference of the given weight constraint.
+	 * @param implied the implied literal
+	 * @param c some weight constraint
+	 * @param fromTrue whether the inference is due to the true literals (otherwise due to the false literals)
+	 * @param extra an additional (false) literal or -1
+	 * @return the clause
+	 */
+	private Clause reason(int implied, WeightConstraint c, boolean fromTrue, int extra) {
+		List<Integer> lits = new ArrayList<>();
+		lits.add(implied);
+		if(extra >= 0)
+			lits.add(extra);
+		for(int l: c.lits) {
+			if(l >> 1 == implied >> 1)
+				continue;
+			int v = this.value(l);
+			if(fromTrue && v > 0)
+				lits.add(not(l));
+			else if(!fromTrue && v < 0)
+				lits.add(l);
+		}
+		int[] result = new int[lits.size()];
+		for(int i = 0; i < result.length; i++)
+			result[i] = lits.get(i);
+		return new Clause(result);
+	}
+
+	/**
+	 * Analyses the given conflict, learns a clause, backjumps and asserts the learned clause.
+	 * The current decision level must be the highest level of the literals of the conflict.
+	 * @param conflict some clause whose literals are false
+	 * @return "false" iff the conflict cannot be resolved
+	 */
+	private boolean resolve(Clause conflict) {
+		if(this.decisionLevel() == 0)
+			return false;
+		List<Integer> learned = new ArrayList<>();
+		learned.add(-1);
+		int pathCount = 0;
+		int p = -1;
+		int index = this.trailSize - 1;
+		Clause c = conflict;
+		do {
+			for(int k = (p == -1 ? 0 : 1); k < c.lits.length; k++) {
+				int q = c.lits[k];
+				int v = q >> 1;
+				if(!this.seen[v] && this.levels[v] > 0) {
+					this.seen[v] = true;
+					this.bump(v);
+					if(this.levels[v] >= this.decisionLevel())
+						pathCount++;
+					else learned.add(q);
+				}
+			}
+			while(!this.seen[this.trail[index] >> 1])
+				index--;
+			p = this.trail[index--];
+			c = this.reasons[p >> 1];
+			this.seen[p >> 1] = false;
+			pathCount--;
+		} while(pathCount > 0);
+		learned.set(0, not(p));
+		int level = 0;
+		for(int k = 1; k < learned.size(); k++) {
+			this.seen[learned.get(k) >> 1] = false;
+			if(this.levels[learned.get(k) >> 1] > this.levels[learned.get(1) >> 1]) {
+				int tmp = learned.get(1);
+				learned.set(1, learned.get(k));
+				learned.set(k, tmp);
+			}
+		}
+		if(learned.size() > 1)
+			level = this.levels[learned.get(1) >> 1];
+		this.increment /= 0.95;
+		this.backtrack(level);
+		int[] lits = new int[learned.size()];
+		for(int k = 0; k < lits.length; k++)
+			lits[k] = learned.get(k);
+		Clause clause = new Clause(lits);
+		if(lits.length > 1)
+			this.attach(clause);
+		this.assign(lits[0], clause);
+		return true;
+	}
+
+	/**
+	 * Adds a clause whose literals are all false wrt. the current assignment and
+	 * resolves the resulting conflict.
+	 * @param lits some false literals
+	 * @return "false" iff the conflict cannot be resolved
+	 */
+	private boolean addConflict(List<Integer> lits) {
+		int maxLevel = 0;
+		int second = -1;
+		int[] c = new int[lits.size()];
+		for(int i = 0; i < c.length; i++) {
+			c[i] = lits.get(i);
+			maxLevel = Math.max(maxLevel, this.levels[c[i] >> 1]);
+		}
+		if(maxLevel == 0)
+			return false;
+		// watch the literals with the highest levels
+		for(int i = 0; i < c.length && c.length > 1; i++) {
+			if(this.levels[c[i] >> 1] > this.levels[c[0] >> 1]) {
+				int tmp = c[0];
+				c[0] = c[i];
+				c[i] = tmp;
+			}
+		}
+		for(int i = 1; i < c.length; i++)
+			if(second < 0 || this.levels[c[i] >> 1] > this.levels[c[second] >> 1])
+				second = i;
+		if(second > 0) {
+			int tmp = c[1];
+			c[1] = c[second];
+			c[second] = tmp;
+		}
+		Clause clause = new Clause(c);
+		if(c.length > 1)
+			this.attach(clause);
+		this.backtrack(maxLevel);
+		return this.resolve(clause);
+	}
+
+	/**
+	 * Increases the activity of the given variable.
+	 * @param v some variable
+	 */
+	private void bump(int v) {
+		this.activities[v] += this.increment;
+		if(this.activities[v] > 1e100) {
+			for(int i = 0; i < this.numVars; i++)
+				this.activities[i] *= 1e-100;
+			this.increment *= 1e-100;
+		}
+		if(this.heapIndex[v] >= 0)
+			this.heapUp(this.heapIndex[v]);
+	}
+
+	/**
+	 * Inserts the given variable into the heap.
+	 * @param v some variable
+	 */
+	private void heapInsert(int v) {
+		this.heapIndex[v] = this.heapSize;
+		this.heap[this.heapSize++] = v;
+		this.heapUp(this.heapIndex[v]);
+	}
+
+	/**
+	 * Moves the variable at the given position of the heap up.
+	 * @param i some position
+	 */
+	private void heapUp(int i) {
+		int v = this.heap[i];
+		while(i > 0) {
+			int parent = (i - 1) / 2;
+			if(this.activities[this.heap[parent]] >= this.activities[v])
+				break;
+			this.heap[i] = this.heap[parent];
+			this.heapIndex[this.heap[i]] = i;
+			i = parent;
+		}
+		this.heap[i] = v;
+		this.heapIndex[v] = i;
+	}
+
+	/**
+	 * Removes the variable with the highest activity from the heap.
+	 * @return the variable
+	 */
+	private int heapPop() {
+		int top = this.heap[0];
+		this.heapIndex[top] = -1;
+		int v = this.heap[--this.heapSize];
+		if(this.heapSize == 0)
+			return top;
+		int i = 0;
+		while(true) {
+			int child = 2 * i + 1;
+			if(child >= this.heapSize)
+				break;
+			if(child + 1 < this.heapSize && this.activities[this.heap[child + 1]] > this.activities[this.heap[child]])
+				child++;
+			if(this.activities[this.heap[child]] <= this.activities[v])
+				break;
+			this.heap[i] = this.heap[child];
+			this.heapIndex[this.heap[i]] = i;
+			i = child;
+		}
+		this.heap[i] = v;
+		this.heapIndex[v] = i;
+		return top;
+	}
+
+	/**
+	 * Computes the i-th element of the Luby sequence.
+	 * @param i some index (starting at 0)
+	 * @return the element
+	 */
+	private static int luby(int i) {
+		int size = 1, seq = 0;
+		while(size < i + 1) {
+			seq++;
+			size = 2 * size + 1;
+		}
+		while(size - 1 != i) {
+			size = (size - 1) >> 1;
+			seq--;
+			i = i % size;
+		}
+		return 1 << seq;
+	}
+
+	/**
+	 * Searches for the next model. The previous model (if any) is excluded.
+	 * @return "true" iff a model was found, the values of the variables are available
+	 * 	via {@link #isTrue(int)}.
+	 */
+	boolean solve() {
+		if(this.unsatisfiable)
+			return false;
+		if(this.components == null)
+			this.computeComponents();
+		if(this.hasModel) {
+			this.hasModel = false;
+			List<Integer> blocking = new ArrayList<>();
+			for(int level = 0; level < this.decisionLevel(); level++)
+				blocking.add(not(this.trail[this.trailLimits.get(level)]));
+			if(!this.addConflict(blocking)) {
+				this.unsatisfiable = true;
+				return false;
+			}
+		}
+		while(true) {
+			Clause conflict = this.propagate();
+			if(conflict != null) {
+				if(!this.resolve(conflict)) {
+					this.unsatisfiable = true;
+					return false;
+				}
+				if(++this.conflicts >= RESTART_UNIT * luby(this.restarts)) {
+					this.conflicts = 0;
+					this.restarts++;
+					this.backtrack(0);
+				}
+				continue;
+			}
+			int next = -1;
+			while(this.heapSize > 0) {
+				int v = this.heapPop();
+				if(this.values[v] == 0) {
+					next = v;
+					break;
+				}
+			}
+			if(next < 0) {
+				List<Integer> loop = this.unfoundedSet();
+				if(loop == null) {
+					this.hasModel = true;
+					return true;
+				}
+				if(!this.addConflict(loop)) {
+					this.unsatisfiable = true;
+					return false;
+				}
+				continue;
+			}
+			this.trailLimits.add(this.trailSize);
+			this.assign(this.phases[next] ? pos(next) : not(pos(next)), null);
+		}
+	}
+
+	/**
+	 * Computes the strongly connected components of the positive dependency graph of the atoms.
+	 */
+	private void computeComponents() {
+		List<int[]> edges = new ArrayList<>();
+		for(int v = 0; v < this.numVars; v++) {
+			if(!this.atoms[v]) {
+				edges.add(null);
+				continue;
+			}
+			Set<Integer> successors = new HashSet<>();
+			Set<Integer> visited = new HashSet<>();
+			for(int body: this.supports.get(v))
+				this.positiveAtoms(body, successors, visited);
+			int[] e = new int[successors.size()];
+			int i = 0;
+			for(int s: successors)
+				e[i++] = s;
+			edges.add(e);
+		}
+		// iterative version of Tarjan's algorithm
+		this.components = new int[this.numVars];
+		Arrays.fill(this.components, -1);
+		this.componentAtoms = new ArrayList<>();
+		int[] index = new int[this.numVars];
+		int[] low = new int[this.numVars];
+		Arrays.fill(index, -1);
+		boolean[] onStack = new boolean[this.numVars];
+		int[] stack = new int[this.numVars];
+		int stackSize = 0;
+		int[] callStack = new int[this.numVars];
+		int[] edgePos = new int[this.numVars];
+		int counter = 0;
+		for(int root = 0; root < this.numVars; root++) {
+			if(!this.atoms[root] || index[root] >= 0)
+				continue;
+			int depth = 0;
+			callStack[depth++] = root;
+			index[root] = low[root] = counter++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			edgePos[root] = 0;
+			while(depth > 0) {
+				int v = callStack[depth - 1];
+				int[] e = edges.get(v);
+				if(edgePos[v] < e.length) {
+					int w = e[edgePos[v]++];
+					if(index[w] < 0) {
+						index[w] = low[w] = counter++;
+						stack[stackSize++] = w;
+						onStack[w] = true;
+						edgePos[w] = 0;
+						callStack[depth++] = w;
+					} else if(onStack[w])
+						low[v] = Math.min(low[v], index[w]);
+					continue;
+				}
+				depth--;
+				if(depth > 0)
+					low[callStack[depth - 1]] = Math.min(low[callStack[depth - 1]], low[v]);
+				if(low[v] == index[v]) {
+					List<Integer> component = new ArrayList<>();
+					int w;
+					do {
+						w = stack[--stackSize];
+						onStack[w] = false;
+						component.add(w);
+					} while(w != v);
+					boolean cyclic = component.size() > 1;
+					for(int s: e)
+						cyclic |= s == v;
+					if(cyclic) {
+						int[] c = new int[component.size()];
+						for(int i = 0; i < c.length; i++) {
+							c[i] = component.get(i);
+							this.components[c[i]] = this.componentAtoms.size();
+						}
+						this.componentAtoms.add(c);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the atoms the given literal positively depends on.
+	 * @param lit some literal
+	 * @param result receives the atoms
+	 * @param visited the visited defined variables
+	 */
+	private void positiveAtoms(int lit, Set<Integer> result, Set<Integer> visited) {
+		if((lit & 1) == 1)
+			return;
+		int v = lit >> 1;
+		if(this.atoms[v])
+			result.add(v);
+		else if(this.kinds[v] != NONE && visited.add(v))
+			for(int l: this.definitions[v])
+				this.positiveAtoms(l, result, visited);
+	}
+
+	/**
+	 * Checks the current total assignment for unfounded sets.
+	 * @return the literals of a loop nogood violated by the current assignment, or null
+	 * 	if there is no unfounded set.
+	 */
+	private List<Integer> unfoundedSet() {
+		for(int s = 0; s < this.componentAtoms.size(); s++) {
+			int[] component = this.componentAtoms.get(s);
+			Set<Integer> founded = new HashSet<>();
+			boolean changed = true;
+			while(changed) {
+				changed = false;
+				byte[] memo = new byte[this.numVars];
+				for(int a: component) {
+					if(this.values[a] <= 0 || founded.contains(a))
+						continue;
+					for(int body: this.supports.get(a))
+						if(this.isFounded(body, s, founded, memo)) {
+							founded.add(a);
+							changed = true;
+							break;
+						}
+				}
+			}
+			Set<Integer> unfounded = new HashSet<>();
+			for(int a: component)
+				if(this.values[a] > 0 && !founded.contains(a))
+					unfounded.add(a);
+			if(unfounded.isEmpty())
+				continue;
+			int p = unfounded.iterator().next();
+			Set<Integer> clause = new HashSet<>();
+			clause.add(not(pos(p)));
+			byte[] memo = new byte[this.numVars];
+			for(int a: unfounded)
+				for(int body: this.supports.get(a))
+					this.explain(body, s, unfounded, founded, memo, clause);
+			return new ArrayList<>(clause);
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the given literal is true and does not depend on unfounded atoms of
+	 * the given component.
+	 * @param lit some literal
+	 * @param component some component
+	 * @param founded the founded atoms of the component
+	 * @param memo memoized results for defined variables (1 founded, -1 not founded)
+	 * @return "true" iff the literal is founded
+	 */
+	private boolean isFounded(int lit, int component, Set<Integer> founded, byte[] memo) {
+		if(this.value(lit) <= 0)
+			return false;
+		if((lit & 1) == 1)
+			return true;
+		int v = lit >> 1;
+		if(this.atoms[v])
+			return this.components[v] != component || founded.contains(v);
+		if(this.kinds[v] == NONE)
+			return true;
+		if(memo[v] != 0)
+			return memo[v] > 0;
+		boolean result;
+		if(this.kinds[v] == CONJUNCTION) {
+			result = true;
+			for(int l: this.definitions[v])
+				if(!this.isFounded(l, component, founded, memo)) {
+					result = false;
+					break;
+				}
+		} else if(this.kinds[v] == DISJUNCTION) {
+			result = false;
+			for(int l: this.definitions[v])
+				if(this.isFounded(l, component, founded, memo)) {
+					result = true;
+					break;
+				}
+		} else {
+			WeightConstraint c = this.weightDefinitions[v];
+			int sum = 0;
+			for(int i = 0; i < c.lits.length; i++)
+				if(this.isFounded(c.lits[i], component, founded, memo))
+					sum += c.weights[i];
+			result = sum >= c.bound;
+		}
+		memo[v] = (byte) (result ? 1 : -1);
+		return result;
+	}
+
+	/**
+	 * Collects false literals that explain why the given literal does not support the
+	 * unfounded set externally.
+	 * @param lit some literal
+	 * @param component the component of the unfounded set
+	 * @param unfounded the unfounded set
+	 * @param founded the founded atoms of the component
+	 * @param memo memoized results of {@link #isFounded(int, int, Set, byte[])}
+	 * @param result receives the false literals
+	 */
+	private void explain(int lit, int component, Set<Integer> unfounded, Set<Integer> founded, byte[] memo, Set<Integer> result) {
+		if(this.value(lit) < 0) {
+			result.add(lit);
+			return;
+		}
+		int v = lit >> 1;
+		if((lit & 1) == 1 || this.atoms[v] || this.kinds[v] == NONE)
+			return;
+		if(this.kinds[v] == CONJUNCTION) {
+			for(int l: this.definitions[v])
+				if(!this.isFounded(l, component, founded, memo)) {
+					this.explain(l, component, unfounded, founded, memo, result);
+					return;
+				}
+		} else {
+			for(int l: this.definitions[v])
+				if(!this.isFounded(l, component, founded, memo))
+					this.explain(l, component, unfounded, founded, memo, result);
+		}
+	}
+}
@@ -0,0 +1,723 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.lp.asp.reasoner;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.tweetyproject.commons.InferenceMode;
+import org.tweetyproject.logics.commons.syntax.NumberTerm;
+import org.tweetyproject.logics.commons.syntax.interfaces.Term;
+import org.tweetyproject.lp.asp.grounder.ASPGrounder;
+import org.tweetyproject.lp.asp.grounder.SemiNaiveGrounder;
+import org.tweetyproject.lp.asp.parser.ASPParser;
+import org.tweetyproject.lp.asp.parser.ParseException;
+import org.tweetyproject.lp.asp.semantics.AnswerSet;
+import org.tweetyproject.lp.asp.syntax.ASPBodyElement;
+import org.tweetyproject.lp.asp.syntax.ASPLiteral;
+import org.tweetyproject.lp.asp.syntax.ASPOperator;
+import org.tweetyproject.lp.asp.syntax.ASPRule;
+import org.tweetyproject.lp.asp.syntax.AggregateAtom;
+import org.tweetyproject.lp.asp.syntax.AggregateElement;
+import org.tweetyproject.lp.asp.syntax.ChoiceElement;
+import org.tweetyproject.lp.asp.syntax.ChoiceHead;
+import org.tweetyproject.lp.asp.syntax.ClassicalHead;
+import org.tweetyproject.lp.asp.syntax.ComparativeAtom;
+import org.tweetyproject.lp.asp.syntax.DefaultNegation;
+import org.tweetyproject.lp.asp.syntax.OptimizationElement;
+import org.tweetyproject.lp.asp.syntax.OptimizationStatement;
+import org.tweetyproject.lp.asp.syntax.Program;
+import org.tweetyproject.lp.asp.syntax.StrictNegation;
+
+/**
+ * An answer set solver that runs inside the JVM and does not need an external
+ * binary. The program is grounded by an {@link ASPGrounder} (by default the
+ * {@link SemiNaiveGrounder}) and translated into clauses and weight constraints that
+ * are solved by conflict-driven nogood learning, see e.g.
+ * <br>
+ * M. Gebser, B. Kaufmann, T. Schaub. Conflict-driven answer set solving: From theory to practice.
+ * Artificial Intelligence 187-188, 2012.
+ * <br>
+ * Supported are normal rules, constraints, choice rules, cardinality and weight bounds,
+ * #count, #sum, #sum+, #min and #max aggregates, strong negation, weak constraints and
+ * optimization statements. Disjunctive rules are shifted to normal rules, which is only
+ * correct for head-cycle-free programs; programs with head cycles, i.e. disjunctive rules
+ * with two head atoms that positively depend on each other, are rejected. Programs with weak constraints or optimization
+ * statements are solved by enumerating all answer sets and returning the optimal ones.
+ */
+public class CdnlSolver extends ASPSolver {
+
+	/** The grounder. */
+	private ASPGrounder grounder;
+
+	/**
+	 * If activated ({@link #toggleOutputWhitelist(boolean)}), output answer sets
+	 * will only contain atoms over predicates in the program's predicate whitelist.
+	 */
+	private boolean usePredicateWhitelist = false;
+
+	/**
+	 * Creates a new solver with the {@link SemiNaiveGrounder}.
+	 */
+	public CdnlSolver() {
+		this(new SemiNaiveGrounder());
+	}
+
+	/**
+	 * Creates a new solver with the given grounder.
+	 * @param grounder some grounder
+	 */
+	public CdnlSolver(ASPGrounder grounder) {
+		this.grounder = grounder;
+	}
+
+	/**
+	 * Creates a new solver with the {@link SemiNaiveGrounder} that computes at most the
+	 * given number of answer sets.
+	 * @param maxNumOfModels the maximum number of models
+	 */
+	public CdnlSolver(int maxNumOfModels) {
+		this();
+		this.maxNumOfModels = maxNumOfModels;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.lp.asp.reasoner.ASPSolver#getModels(org.tweetyproject.lp.asp.syntax.Program)
+	 */
+	@Override
+	public List<AnswerSet> getModels(Program p) {
+		return this.solve(p, this.maxNumOfModels);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.lp.asp.reasoner.ASPSolver#getModels(java.lang.String)
+	 */
+	@Override
+	public List<AnswerSet> getModels(String s) {
+		try {
+			return this.getModels(ASPParser.parseProgram(s));
+		} catch(ParseException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.lp.asp.reasoner.ASPSolver#getModels(java.io.File)
+	 */
+	@Override
+	public List<AnswerSet> getModels(File f) {
+		try(FileReader reader = new FileReader(f)) {
+			return this.getModels(ASPParser.parseProgram(reader));
+		} catch(ParseException | IOException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.commons.ModelProvider#getModel(org.tweetyproject.commons.BeliefBase)
+	 */
+	@Override
+	public AnswerSet getModel(Program p) {
+		List<AnswerSet> models = this.solve(p, 1);
+		return models.isEmpty() ? null : models.get(0);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.lp.asp.reasoner.ASPSolver#query(org.tweetyproject.lp.asp.syntax.Program, org.tweetyproject.lp.asp.syntax.ASPLiteral)
+	 */
+	@Override
+	public Boolean query(Program beliefbase, ASPLiteral formula) {
+		return this.query(beliefbase, formula, InferenceMode.SKEPTICAL);
+	}
+
+	/**
+	 * Checks whether the given literal is contained in all (skeptical) or some
+	 * (credulous) answer sets of the given program. In contrast to {@link #getModels(Program)},
+	 * the answer is not restricted to the first answer sets.
+	 * @param beliefbase some program
+	 * @param formula some ground literal
+	 * @param inferenceMode the inference mode
+	 * @return the answer to the query
+	 */
+	public Boolean query(Program beliefbase, ASPLiteral formula, InferenceMode inferenceMode) {
+		Program p = new Program(beliefbase);
+		p.setOutputWhitelist(beliefbase.getOutputWhitelist());
+		p.setAdditionalOptions(beliefbase.getAdditionalOptions());
+		List<ASPBodyElement> body = new ArrayList<>();
+		if(inferenceMode.equals(InferenceMode.SKEPTICAL))
+			body.add(formula);
+		else body.add(new DefaultNegation(formula));
+		p.add(new ASPRule(new ClassicalHead(), body));
+		boolean satisfiable = !this.solve(p, 1).isEmpty();
+		return inferenceMode.equals(InferenceMode.SKEPTICAL) ? !satisfiable : satisfiable;
+	}
+
+	/**
+	 * Activates or deactivates the option to use a whitelist of predicates. If
+	 * activated, answer sets will only contain atoms over predicates that are part
+	 * of the whitelist.
+	 *
+	 * @param b whether to use a whitelist of predicate
+	 */
+	public void toggleOutputWhitelist(boolean b) {
+		this.usePredicateWhitelist = b;
+	}
+
+	/**
+	 * Always returns true as the solver does not depend on external binaries.
+	 * @return "true"
+	 */
+	public boolean isInstalled() {
+		return true;
+	}
+
+	/**
+	 * Grounds and solves the given program.
+	 * @param p some program
+	 * @param maxModels the maximum number of answer sets (non-positive values for all answer sets)
+	 * @return the answer sets
+	 */
+	private List<AnswerSet> solve(Program p, int maxModels) {
+		Program ground = this.grounder.getGroundProgram(p);
+		Translation t = new Translation();
+		for(ASPRule r: ground)
+			t.translate(r);
+		t.finish();
+		List<AnswerSet> result = new ArrayList<>();
+		if(t.costs.isEmpty()) {
+			while((maxModels <= 0 || result.size() < maxModels) && t.engine.solve())
+				result.add(t.answerSet(p));
+			return result;
+		}
+		// optimization by enumeration
+		List<Long> optimum = null;
+		while(t.engine.solve()) {
+			List<Long> cost = t.cost();
+			int c = optimum == null ? -1 : compare(cost, optimum);
+			if(c < 0) {
+				optimum = cost;
+				result.clear();
+			}
+			if(c <= 0 && (maxModels <= 0 || result.size() < maxModels))
+				result.add(t.answerSet(p));
+		}
+		return result;
+	}
+
+	/**
+	 * Compares two cost vectors (sorted by decreasing priority).
+	 * @param c1 some cost vector
+	 * @param c2 some cost vector
+	 * @return a negative number if c1 is better, 0 if both are equal, a positive number otherwise
+	 */
+	private static int compare(List<Long> c1, List<Long> c2) {
+		for(int i = 0; i < c1.size(); i++)
+			if(!c1.get(i).equals(c2.get(i)))
+				return Long.compare(c1.get(i), c2.get(i));
+		return 0;
+	}
+
+	/**
+	 * Returns the integer value of the given ground term.
+	 * @param t some term
+	 * @return the integer value
+	 * @throws IllegalArgumentException if the term is not an integer
+	 */
+	private static int intValue(Term<?> t) throws IllegalArgumentException {
+		if(!(t instanceof NumberTerm))
+			throw new IllegalArgumentException("Expected an integer but found " + t + ".");
+		return ((NumberTerm) t).get();
+	}
+
+	/**
+	 * A cost tuple of a weak constraint or an optimization statement.
+	 */
+	private static class Cost {
+		/** The literal indicating whether the tuple is active. */
+		private int lit;
+		/** The weight. */
+		private int weight;
+		/** The level. */
+		private int level;
+		/** The identifying tuple. */
+		private List<Object> key;
+	}
+
+	/**
+	 * The translation of a ground program into the engine.
+	 */
+	private class Translation {
+		/** The engine. */
+		private CdnlEngine engine = new CdnlEngine();
+		/** The variables of the ground literals. */
+		private Map<ASPLiteral,Integer> atoms = new LinkedHashMap<>();
+		/** The variables of the literals in the order of creation. */
+		private List<ASPLiteral> literals = new ArrayList<>();
+		/** Memoized conjunctions. */
+		private Map<List<Integer>,Integer> conjunctions = new HashMap<>();
+		/** Memoized disjunctions. */
+		private Map<List<Integer>,Integer> disjunctions = new HashMap<>();
+		/** The cost tuples. */
+		private List<Cost> costs = new ArrayList<>();
+		/** The heads of the disjunctive rules. */
+		private List<ClassicalHead> disjunctiveHeads = new ArrayList<>();
+
+		/**
+		 * Returns the variable of the given ground literal.
+		 * @param l some literal
+		 * @return the variable
+		 */
+		private int atom(ASPLiteral l) {
+			Integer v = this.atoms.get(l);
+			if(v == null) {
+				v = this.engine.newVar();
+				this.engine.addAtom(v);
+				this.atoms.put(l, v);
+				this.literals.add(l);
+			}
+			return v;
+		}
+
+		/**
+		 * Returns a literal equivalent to the conjunction of the given literals.
+		 * @param lits some literals
+		 * @return the literal
+		 */
+		private int conj(List<Integer> lits) {
+			Set<Integer> set = new HashSet<>();
+			for(int l: lits) {
+				if(l == CdnlEngine.FALSE || set.contains(CdnlEngine.not(l)))
+					return CdnlEngine.FALSE;
+				if(l != CdnlEngine.TRUE)
+					set.add(l);
+			}
+			if(set.isEmpty())
+				return CdnlEngine.TRUE;
+			if(set.size() == 1)
+				return set.iterator().next();
+			List<Integer> key = new ArrayList<>(set);
+			key.sort(null);
+			Integer v = this.conjunctions.get(key);
+			if(v == null) {
+				v = this.engine.newVar();
+				int[] def = new int[key.size()];
+				int[] clause = new int[key.size() + 1];
+				for(int i = 0; i < def.length; i++) {
+					def[i] = key.get(i);
+					clause[i] = CdnlEngine.not(def[i]);
+					this.engine.addClause(CdnlEngine.not(CdnlEngine.pos(v)), def[i]);
+				}
+				clause[def.length] = CdnlEngine.pos(v);
+				this.engine.addClause(clause);
+				this.engine.defineConjunction(v, def);
+				this.conjunctions.put(key, v);
+			}
+			return CdnlEngine.pos(v);
+		}
+
+		/**
+		 * Returns a literal equivalent to the disjunction of the given literals.
+		 * @param lits some literals
+		 * @return the literal
+		 */
+		private int disj(List<Integer> lits) {
+			Set<Integer> set = new HashSet<>();
+			for(int l: lits) {
+				if(l == CdnlEngine.TRUE || set.contains(CdnlEngine.not(l)))
+					return CdnlEngine.TRUE;
+				if(l != CdnlEngine.FALSE)
+					set.add(l);
+			}
+			if(set.isEmpty())
+				return CdnlEngine.FALSE;
+			if(set.size() == 1)
+				return set.iterator().next();
+			List<Integer> key = new ArrayList<>(set);
+			key.sort(null);
+			Integer v = this.disjunctions.get(key);
+			if(v == null) {
+				v = this.engine.newVar();
+				int[] def = new int[key.size()];
+				int[] clause = new int[key.size() + 1];
+				for(int i = 0; i < def.length; i++) {
+					def[i] = key.get(i);
+					clause[i] = def[i];
+					this.engine.addClause(CdnlEngine.pos(v), CdnlEngine.not(def[i]));
+				}
+				clause[def.length] = CdnlEngine.not(CdnlEngine.pos(v));
+				this.engine.addClause(clause);
+				this.engine.defineDisjunction(v, def);
+				this.disjunctions.put(key, v);
+			}
+			return CdnlEngine.pos(v);
+		}
+
+		/**
+		 * Returns a literal equivalent to "sum of weights of true literals &gt;= bound".
+		 * @param lits some literals
+		 * @param weights some weights (may be negative)
+		 * @param bound the bound
+		 * @return the literal
+		 */
+		private int weight(List<Integer> lits, List<Integer> weights, int bound) {
+			List<Integer> ls = new ArrayList<>();
+			List<Integer> ws = new ArrayList<>();
+			long k = bound;
+			long total = 0;
+			for(int i = 0; i < lits.size(); i++) {
+				int l = lits.get(i), w = weights.get(i);
+				if(w < 0) {
+					// w*l = w + |w|*not(l)
+					k -= w;
+					l = CdnlEngine.not(l);
+					w = -w;
+				}
+				if(w == 0 || l == CdnlEngine.FALSE)
+					continue;
+				if(l == CdnlEngine.TRUE) {
+					k -= w;
+					continue;
+				}
+				ls.add(l);
+				ws.add(w);
+				total += w;
+			}
+			if(k <= 0)
+				return CdnlEngine.TRUE;
+			if(k > total)
+				return CdnlEngine.FALSE;
+			int v = this.engine.newVar();
+			int[] l = new int[ls.size()];
+			int[] w = new int[ws.size()];
+			for(int i = 0; i < l.length; i++) {
+				l[i] = ls.get(i);
+				w[i] = ws.get(i);
+			}
+			this.engine.addWeightConstraint(v, l, w, (int) k);
+			return CdnlEngine.pos(v);
+		}
+
+		/**
+		 * Returns the literal of the given body element.
+		 * @param b some ground body element
+		 * @return the literal
+		 */
+		private int literal(ASPBodyElement b) {
+			if(b instanceof ASPLiteral)
+				return CdnlEngine.pos(this.atom((ASPLiteral) b));
+			if(b instanceof DefaultNegation)
+				return CdnlEngine.not(this.literal(((DefaultNegation) b).getLiteral()));
+			if(b instanceof ComparativeAtom) {
+				ComparativeAtom c = (ComparativeAtom) b;
+				return SemiNaiveGrounder.compare(c.getOperator(), c.getLeft(), c.getRight()) ? CdnlEngine.TRUE : CdnlEngine.FALSE;
+			}
+			if(b instanceof AggregateAtom)
+				return this.aggregate((AggregateAtom) b);
+			throw new IllegalArgumentException("Unsupported body element: " + b);
+		}
+
+		/**
+		 * Returns the literal of the conjunction of the given body elements.
+		 * @param body some ground body elements
+		 * @return the literal
+		 */
+		private int body(List<ASPBodyElement> body) {
+			List<Integer> lits = new ArrayList<>();
+			for(ASPBodyElement b: body)
+				lits.add(this.literal(b));
+			return this.conj(lits);
+		}
+
+		/**
+		 * Returns the literal of the given aggregate.
+		 * @param a some ground aggregate
+		 * @return the literal
+		 */
+		private int aggregate(AggregateAtom a) {
+			ASPOperator.AggregateFunction f = a.getFunction();
+			if(f == ASPOperator.AggregateFunction.TIMES)
+				throw new IllegalArgumentException("The aggregate #times is not supported.");
+			// elements with the same term tuple are counted once
+			Map<Object,List<Integer>> tuples = new LinkedHashMap<>();
+			Map<Object,Integer> values = new HashMap<>();
+			for(AggregateElement e: a.getAggregateElements()) {
+				int value = 1;
+				if(f != ASPOperator.AggregateFunction.COUNT) {
+					if(e.getLeft().isEmpty() || !(e.getLeft().get(0) instanceof NumberTerm))
+						continue;
+					value = ((NumberTerm) e.getLeft().get(0)).get();
+					if(f == ASPOperator.AggregateFunction.SUM_PLUS && value < 0)
+						continue;
+				}
+				Object key = e.getLeft().isEmpty() ? e : e.getLeft();
+				tuples.computeIfAbsent(key, k -> new ArrayList<>()).add(this.body(e.getRight()));
+				values.put(key, value);
+			}
+			List<Integer> lits = new ArrayList<>();
+			List<Integer> weights = new ArrayList<>();
+			for(Map.Entry<Object,List<Integer>> e: tuples.entrySet()) {
+				lits.add(this.disj(e.getValue()));
+				weights.add(values.get(e.getKey()));
+			}
+			List<Integer> result = new ArrayList<>();
+			if(a.getLeftOperator() != null && a.getLeftGuard() != null)
+				result.add(this.relation(f, lits, weights, flip(a.getLeftOperator()), a.getLeftGuard()));
+			if(a.getRightOperator() != null && a.getRightGuard() != null)
+				result.add(this.relation(f, lits, weights, a.getRightOperator(), a.getRightGuard()));
+			return this.conj(result);
+		}
+
+		/**
+		 * Returns the literal of "value op guard" where value is the value of an aggregate.
+		 * @param f the aggregate function
+		 * @param lits the literals of the tuples
+		 * @param weights the weights of the tuples
+		 * @param op some operator
+		 * @param guard some ground term
+		 * @return the literal
+		 */
+		private int relation(ASPOperator.AggregateFunction f, List<Integer> lits, List<Integer> weights, ASPOperator.BinaryOperator op, Term<?> guard) {
+			if(!(guard instanceof NumberTerm)) {
+				// integers are smaller than all other terms
+				boolean holds = op == ASPOperator.BinaryOperator.LT || op == ASPOperator.BinaryOperator.LEQ || op == ASPOperator.BinaryOperator.NEQ;
+				return holds ? CdnlEngine.TRUE : CdnlEngine.FALSE;
+			}
+			int g = ((NumberTerm) guard).get();
+			switch(op) {
+				case GEQ: return this.geq(f, lits, weights, g);
+				case GT: return this.geq(f, lits, weights, g + 1);
+				case LEQ: return CdnlEngine.not(this.geq(f, lits, weights, g + 1));
+				case LT: return CdnlEngine.not(this.geq(f, lits, weights, g));
+				case EQ: return this.conj(Arrays.asList(this.geq(f, lits, weights, g), CdnlEngine.not(this.geq(f, lits, weights, g + 1))));
+				default: return CdnlEngine.not(this.conj(Arrays.asList(this.geq(f, lits, weights, g), CdnlEngine.not(this.geq(f, lits, weights, g + 1)))));
+			}
+		}
+
+		/**
+		 * Returns the literal of "value &gt;= bound" where value is the value of an aggregate.
+		 * @param f the aggregate function
+		 * @param lits the literals of the tuples
+		 * @param weights the weights of the tuples
+		 * @param bound some bound
+		 * @return the literal
+		 */
+		private int geq(ASPOperator.AggregateFunction f, List<Integer> lits, List<Integer> weights, int bound) {
+			List<Integer> selected = new ArrayList<>();
+			switch(f) {
+				case MAX:
+					for(int i = 0; i < lits.size(); i++)
+						if(weights.get(i) >= bound)
+							selected.add(lits.get(i));
+					return this.disj(selected);
+				case MIN:
+					for(int i = 0; i < lits.size(); i++)
+						if(weights.get(i) < bound)
+							selected.add(lits.get(i));
+					return CdnlEngine.not(this.disj(selected));
+				default:
+					return this.weight(lits, weights, bound);
+			}
+		}
+
+		/**
+		 * Translates the given ground rule.
+		 * @param r some ground rule
+		 */
+		private void translate(ASPRule r) {
+			if(!r.getBody().isEmpty() && r.isOptimizationStatement()) {
+				OptimizationStatement os = (OptimizationStatement) r.getBody().get(0);
+				int sign = os.getOptimizeFunction() == ASPOperator.OptimizeFunction.MAXIMIZE ? -1 : 1;
+				for(OptimizationElement e: os.getElements()) {
+					List<Object> key = new ArrayList<>();
+					key.add(e.getWeight());
+					key.add(e.getLevel());
+					key.addAll(e.getOptTerms());
+					this.addCost(this.body(e.getOptLiterals()), sign * intValue(e.getWeight()), e.getLevel() == null ? 0 : intValue(e.getLevel()), key);
+				}
+				return;
+			}
+			int body = this.body(r.getBody());
+			if(r.getWeight() != null) {
+				List<Object> key = new ArrayList<>();
+				key.add(r.getWeight());
+				key.add(r.getLevel());
+				key.addAll(r.getConstraintTerms());
+				this.addCost(body, intValue(r.getWeight()), r.getLevel() == null ? 0 : intValue(r.getLevel()), key);
+				return;
+			}
+			if(r.getHead() instanceof ChoiceHead) {
+				this.translate((ChoiceHead) r.getHead(), body);
+				return;
+			}
+			if(!(r.getHead() instanceof ClassicalHead))
+				throw new IllegalArgumentException("Unsupported rule head: " + r.getHead());
+			ClassicalHead head = (ClassicalHead) r.getHead();
+			if(head.isEmpty()) {
+				this.engine.addClause(CdnlEngine.not(body));
+				return;
+			}
+			List<Integer> heads = new ArrayList<>();
+			for(ASPLiteral l: head)
+				heads.add(this.atom(l));
+			if(heads.size() > 1)
+				this.disjunctiveHeads.add(head);
+			for(int h: heads) {
+				// disjunctive rules are shifted
+				List<Integer> lits = new ArrayList<>();
+				lits.add(body);
+				for(int o: heads)
+					if(o != h)
+						lits.add(CdnlEngine.not(CdnlEngine.pos(o)));
+				int support = this.conj(lits);
+				this.engine.addClause(CdnlEngine.not(support), CdnlEngine.pos(h));
+				this.engine.addSupport(h, support);
+			}
+		}
+
+		/**
+		 * Translates a choice rule.
+		 * @param head the head of the rule
+		 * @param body the literal of the body
+		 */
+		private void translate(ChoiceHead head, int body) {
+			Map<Integer,List<Integer>> chosen = new LinkedHashMap<>();
+			for(ChoiceElement e: head.getElements()) {
+				int a = this.atom(e.getAtom());
+				int condition = this.body(e.getCondition());
+				this.engine.addSupport(a, this.conj(Arrays.asList(body, condition)));
+				chosen.computeIfAbsent(a, k -> new ArrayList<>()).add(this.conj(Arrays.asList(CdnlEngine.pos(a), condition)));
+			}
+			List<Integer> lits = new ArrayList<>();
+			List<Integer> weights = new ArrayList<>();
+			for(List<Integer> l: chosen.values()) {
+				lits.add(this.disj(l));
+				weights.add(1);
+			}
+			List<Integer> bounds = new ArrayList<>();
+			if(head.getLeftOperator() != null && head.getLeftGuard() != null)
+				bounds.add(this.relation(ASPOperator.AggregateFunction.COUNT, lits, weights, flip(head.getLeftOperator()), head.getLeftGuard()));
+			if(head.getRightOperator() != null && head.getRightGuard() != null)
+				bounds.add(this.relation(ASPOperator.AggregateFunction.COUNT, lits, weights, head.getRightOperator(), head.getRightGuard()));
+			this.engine.addClause(CdnlEngine.not(body), this.conj(bounds));
+		}
+
+		/**
+		 * Adds a cost tuple.
+		 * @param lit the literal indicating whether the tuple is active
+		 * @param weight the weight
+		 * @param level the level
+		 * @param key the identifying tuple
+		 */
+		private void addCost(int lit, int weight, int level, List<Object> key) {
+			if(lit == CdnlEngine.FALSE)
+				return;
+			Cost c = new Cost();
+			c.lit = lit;
+			c.weight = weight;
+			c.level = level;
+			c.key = key;
+			this.costs.add(c);
+		}
+
+		/**
+		 * Adds the support clauses of all atoms and the consistency constraints of
+		 * strictly negated literals.
+		 * @throws UnsupportedOperationException if the program is not head-cycle-free
+		 */
+		private void finish() throws UnsupportedOperationException {
+			for(ClassicalHead head: this.disjunctiveHeads) {
+				Map<Integer,ASPLiteral> components = new HashMap<>();
+				for(ASPLiteral l: head) {
+					int c = this.engine.getComponent(this.atoms.get(l));
+					if(c >= 0 && components.containsKey(c) && !components.get(c).equals(l))
+						throw new UnsupportedOperationException("The program is not head-cycle-free: the head atoms "
+								+ components.get(c) + " and " + l + " depend on each other.");
+					components.put(c, l);
+				}
+			}
+			for(Map.Entry<ASPLiteral,Integer> e: new ArrayList<>(this.atoms.entrySet())) {
+				if(e.getKey() instanceof StrictNegation) {
+					Integer v = this.atoms.get(((StrictNegation) e.getKey()).getAtom());
+					if(v != null)
+						this.engine.addClause(CdnlEngine.not(CdnlEngine.pos(v)), CdnlEngine.not(CdnlEngine.pos(e.getValue())));
+				}
+			}
+			for(int v: this.atoms.values())
+				this.engine.addSupportClause(v);
+		}
+
+		/**
+		 * Computes the cost vector of the current model, sorted by decreasing level.
+		 * @return the cost vector
+		 */
+		private List<Long> cost() {
+			TreeMap<Integer,Long> sums = new TreeMap<>();
+			Set<List<Object>> counted = new HashSet<>();
+			for(Cost c: this.costs) {
+				sums.putIfAbsent(c.level, 0L);
+				if(this.engine.isTrue(c.lit) && counted.add(c.key))
+					sums.put(c.level, sums.get(c.level) + c.weight);
+			}
+			return new ArrayList<>(sums.descendingMap().values());
+		}
+
+		/**
+		 * Returns the answer set of the current model.
+		 * @param p the original program (for the output whitelist)
+		 * @return the answer set
+		 */
+		private AnswerSet answerSet(Program p) {
+			AnswerSet result = new AnswerSet();
+			for(int v = 0; v < this.literals.size(); v++) {
+				ASPLiteral l = this.literals.get(v);
+				if(!this.engine.isTrue(CdnlEngine.pos(this.atoms.get(l))))
+					continue;
+				if(usePredicateWhitelist && !p.getOutputWhitelist().isEmpty() && !p.getOutputWhitelist().contains(l.getPredicate()))
+					continue;
+				result.add(l);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Returns the operator "op'" such that "a op b" iff "b op' a".
+	 * @param op some operator
+	 * @return the flipped operator
+	 */
+	private static ASPOperator.BinaryOperator flip(ASPOperator.BinaryOperator op) {
+		switch(op) {
+			case LT: return ASPOperator.BinaryOperator.GT;
+			case LEQ: return ASPOperator.BinaryOperator.GEQ;
+			case GT: return ASPOperator.BinaryOperator.LT;
+			case GEQ: return ASPOperator.BinaryOperator.LEQ;
+			default: return op;
+		}
+	}
+}
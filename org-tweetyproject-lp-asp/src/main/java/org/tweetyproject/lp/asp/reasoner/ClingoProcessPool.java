@@ -0,0 +1,222 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.lp.asp.reasoner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A pool of long-lived clingo processes. Each process runs a small control script
+ * (embedded Python, so clingo must be built with Python support) that reads commands
+ * from its standard input, adds and grounds program parts using clingo's multi-shot
+ * interface, and reports answer sets one at a time on its standard output. This avoids
+ * starting a new process and writing temporary files for every call.
+ * <br>
+ * A program part with a syntax error is rejected without affecting the parts added
+ * before. If grounding fails, the state of the process is undefined and the process
+ * is terminated when its session is closed.
+ * <br>
+ * Usage:
+ * <pre>
+ * try(ClingoSession session = pool.acquire()) {
+ *     session.add(program);
+ *     try(ClingoSession.ModelIterator models = session.solve(10)) {
+ *         while(models.hasNext())
+ *             ...
+ *     }
+ * }
+ * </pre>
+ * The pool is thread-safe, every session is used by a single thread at a time.
+ */
+public class ClingoProcessPool implements AutoCloseable {
+
+	/** The control script run by every clingo process. */
+	private static final String SCRIPT = String.join("\n",
+			"#script (python)",
+			"import sys",
+			"import clingo",
+			"",
+			"def out(s):",
+			"    sys.stdout.write(s + '\\n')",
+			"    sys.stdout.flush()",
+			"",
+			"def main(prg):",
+			"    ctl = None",
+			"    parts = 0",
+			"    while True:",
+			"        line = sys.stdin.readline()",
+			"        if not line:",
+			"            break",
+			"        cmd = line.split()",
+			"        if not cmd:",
+			"            continue",
+			"        if cmd[0] == 'RESET':",
+			"            ctl = None",
+			"            out('OK')",
+			"        elif cmd[0] == 'ADD':",
+			"            text = ''.join(sys.stdin.readline() for _ in range(int(cmd[1])))",
+			"            if ctl is None:",
+			"                ctl = clingo.Control()",
+			"            parts += 1",
+			"            name = 'part' + str(parts)",
+			"            try:",
+			"                ctl.add(name, [], text)",
+			"            except Exception as e:",
+			"                out('ERROR ' + str(e).replace('\\n', ' '))",
+			"                continue",
+			"            try:",
+			"                ctl.ground([(name, [])])",
+			"                out('OK')",
+			"            except Exception as e:",
+			"                out('FATAL ' + str(e).replace('\\n', ' '))",
+			"        elif cmd[0] == 'SOLVE':",
+			"            if ctl is None:",
+			"                ctl = clingo.Control()",
+			"            ctl.configuration.solve.models = cmd[1]",
+			"            with ctl.solve(yield_=True) as handle:",
+			"                for model in handle:",
+			"                    out('MODEL ' + ' '.join(str(s) for s in model.symbols(shown=True)))",
+			"                    if sys.stdin.readline().strip() != 'NEXT':",
+			"                        handle.cancel()",
+			"                        break",
+			"                out('END ' + str(handle.get()))",
+			"#end.",
+			"");
+
+	/** The path to the directory containing the clingo binary. */
+	private String pathToClingo;
+	/** The maximum number of processes. */
+	private int maxSize;
+	/** The idle sessions. */
+	private Deque<ClingoSession> idle = new ArrayDeque<>();
+	/** All sessions (idle or in use). */
+	private Set<ClingoSession> sessions = new HashSet<>();
+	/** The file containing the control script. */
+	private File script;
+	/** Whether the pool has been closed. */
+	private boolean closed = false;
+
+	/**
+	 * Creates a new pool.
+	 * @param pathToClingo the directory containing the clingo binary (do not include the binary itself)
+	 * @param maxSize the maximum number of clingo processes
+	 */
+	public ClingoProcessPool(String pathToClingo, int maxSize) {
+		if(maxSize < 1)
+			throw new IllegalArgumentException("The pool must contain at least one process.");
+		this.pathToClingo = pathToClingo;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns an idle session, starts a new process if there is no idle session and the
+	 * maximum number of processes is not reached, and waits otherwise.
+	 * @return a session, must be closed after use
+	 * @throws SolverException if clingo cannot be started
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public synchronized ClingoSession acquire() throws SolverException, InterruptedException {
+		while(true) {
+			if(this.closed)
+				throw new SolverException("The pool has been closed.", SolverException.SE_ERROR);
+			if(!this.idle.isEmpty())
+				return this.idle.pop();
+			if(this.sessions.size() < this.maxSize) {
+				ClingoSession session = new ClingoSession(this, this.start());
+				this.sessions.add(session);
+				return session;
+			}
+			this.wait();
+		}
+	}
+
+	/**
+	 * Returns the number of running clingo processes.
+	 * @return the number of running clingo processes
+	 */
+	public synchronized int size() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * Starts a new clingo process.
+	 * @return the process
+	 * @throws SolverException if clingo cannot be started
+	 */
+	private Process start() throws SolverException {
+		try {
+			if(this.script == null) {
+				this.script = File.createTempFile("tweety-clingo", ".lp");
+				this.script.deleteOnExit();
+				try(PrintWriter writer = new PrintWriter(this.script)) {
+					writer.write(SCRIPT);
+				}
+			}
+			ProcessBuilder builder = new ProcessBuilder(new File(this.pathToClingo, "clingo").getPath(), "--outf=3", this.script.getAbsolutePath());
+			builder.redirectError(ProcessBuilder.Redirect.DISCARD);
+			return builder.start();
+		} catch(IOException e) {
+			throw new SolverException("Could not start clingo: " + e.getMessage(), SolverException.SE_CANNOT_FIND_SOLVER);
+		}
+	}
+
+	/**
+	 * Returns the given session to the pool.
+	 * @param session some session of this pool
+	 */
+	synchronized void release(ClingoSession session) {
+		if(this.closed) {
+			session.destroy();
+			this.sessions.remove(session);
+		} else if(this.sessions.contains(session) && !this.idle.contains(session))
+			this.idle.push(session);
+		this.notifyAll();
+	}
+
+	/**
+	 * Removes the given (terminated) session from the pool.
+	 * @param session some session of this pool
+	 */
+	synchronized void discard(ClingoSession session) {
+		this.sessions.remove(session);
+		this.idle.remove(session);
+		this.notifyAll();
+	}
+
+	/**
+	 * Terminates all processes. Sessions that are in use are terminated when they are closed.
+	 */
+	@Override
+	public synchronized void close() {
+		this.closed = true;
+		for(ClingoSession session: this.idle) {
+			session.destroy();
+			this.sessions.remove(session);
+		}
+		this.idle.clear();
+		if(this.script != null)
+			this.script.delete();
+		this.notifyAll();
+	}
+}
@@ -0,0 +1,369 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.lp.asp.reasoner;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.tweetyproject.lp.asp.parser.ASPParser;
+import org.tweetyproject.lp.asp.parser.ParseException;
+import org.tweetyproject.lp.asp.semantics.AnswerSet;
+import org.tweetyproject.lp.asp.syntax.Program;
+import org.tweetyproject.lp.asp.writer.ClingoWriter;
+
+/**
+ * A long-lived clingo process that is controlled over its standard input and output
+ * using clingo's multi-shot interface. Program parts are added and grounded with
+ * {@link #add(Program)} and accumulate until {@link #reset()} is called, so a session
+ * can be used both for solving many unrelated programs and for incremental solving.
+ * Answer sets are parsed one at a time as clingo reports them, see {@link #solve(int)}.
+ * <br>
+ * A session is not thread-safe. Sessions are obtained from a {@link ClingoProcessPool}
+ * and closing a session removes all program parts and returns its process to the pool.
+ */
+public class ClingoSession implements AutoCloseable {
+
+	/** The pool this session belongs to. */
+	private ClingoProcessPool pool;
+	/** The clingo process. */
+	private Process process;
+	/** Writes to the standard input of the process. */
+	private BufferedWriter in;
+	/** Reads from the standard output of the process. */
+	private BufferedReader out;
+	/** The currently open model iterator (if any). */
+	private ModelIterator current = null;
+	/** Whether the process is in an undefined state and must not be reused. */
+	private boolean broken = false;
+
+	/**
+	 * Creates a new session for the given process.
+	 * @param pool the pool of the session
+	 * @param process a clingo process running the control script of the pool
+	 */
+	ClingoSession(ClingoProcessPool pool, Process process) {
+		this.pool = pool;
+		this.process = process;
+		this.in = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+		this.out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Adds the rules of the given program to this session and grounds them. The
+	 * predicate whitelist of the program is applied if requested.
+	 * @param p some program
+	 * @param usePredicateWhitelist whether only atoms over the predicates in the whitelist
+	 * 	of the program are shown
+	 * @throws SolverException if clingo reports an error
+	 */
+	public void add(Program p, boolean usePredicateWhitelist) throws SolverException {
+		StringWriter s = new StringWriter();
+		try {
+			ClingoWriter writer = new ClingoWriter(s, usePredicateWhitelist);
+			writer.printProgram(p);
+			writer.close();
+		} catch(IOException e) {
+			throw new SolverException(e.getMessage(), SolverException.SE_IO_FAILED);
+		}
+		this.add(s.toString());
+	}
+
+	/**
+	 * Adds the rules of the given program to this session and grounds them.
+	 * @param p some program
+	 * @throws SolverException if clingo reports an error
+	 */
+	public void add(Program p) throws SolverException {
+		this.add(p, false);
+	}
+
+	/**
+	 * Adds the given program text in clingo syntax to this session and grounds it. If
+	 * the text cannot be parsed, it is not added and the session can be used further.
+	 * If grounding fails, the session can no longer be used and its process is terminated
+	 * when the session is closed.
+	 * @param program some program text
+	 * @throws SolverException if clingo reports an error
+	 */
+	public void add(String program) throws SolverException {
+		this.closeIterator();
+		String[] lines = program.split("\r?\n", -1);
+		StringBuilder command = new StringBuilder("ADD " + lines.length + "\n");
+		for(String line: lines)
+			command.append(line).append('\n');
+		this.expectOk(this.send(command.toString()));
+	}
+
+	/**
+	 * Removes all program parts from this session.
+	 * @throws SolverException if the communication with clingo fails
+	 */
+	public void reset() throws SolverException {
+		this.closeIterator();
+		this.expectOk(this.send("RESET\n"));
+	}
+
+	/**
+	 * Solves the program parts added so far. The answer sets are computed on demand
+	 * while iterating, so closing the iterator early stops the search.
+	 * @param maxModels the maximum number of answer sets (0 for all answer sets)
+	 * @return an iterator over the answer sets, must be closed (or exhausted) before
+	 * 	the session is used again.
+	 * @throws SolverException if the communication with clingo fails
+	 */
+	public ModelIterator solve(int maxModels) throws SolverException {
+		return this.solve(maxModels, false);
+	}
+
+	/**
+	 * Solves the program parts added so far.
+	 * @param maxModels the maximum number of answer sets (0 for all answer sets)
+	 * @param closeSession whether this session is closed when the iterator is closed or exhausted
+	 * @return an iterator over the answer sets
+	 * @throws SolverException if the communication with clingo fails
+	 */
+	ModelIterator solve(int maxModels, boolean closeSession) throws SolverException {
+		this.closeIterator();
+		this.write("SOLVE " + Math.max(0, maxModels) + "\n");
+		this.current = new ModelIterator(closeSession);
+		return this.current;
+	}
+
+	/**
+	 * Removes all program parts and returns the process to the pool (or terminates it,
+	 * if it is in an undefined state).
+	 */
+	@Override
+	public void close() {
+		try {
+			this.closeIterator();
+			if(!this.broken)
+				this.reset();
+		} catch(SolverException e) {
+			this.broken = true;
+		}
+		if(this.broken || !this.process.isAlive()) {
+			this.destroy();
+			this.pool.discard(this);
+		} else this.pool.release(this);
+	}
+
+	/**
+	 * Terminates the process.
+	 */
+	void destroy() {
+		this.broken = true;
+		this.process.destroy();
+	}
+
+	/**
+	 * Closes the currently open iterator (if any).
+	 * @throws SolverException if the communication with clingo fails
+	 */
+	private void closeIterator() throws SolverException {
+		if(this.current != null)
+			this.current.close();
+		this.current = null;
+	}
+
+	/**
+	 * Writes the given command and reads the response line.
+	 * @param command some command
+	 * @return the response
+	 * @throws SolverException if the communication with clingo fails
+	 */
+	private String send(String command) throws SolverException {
+		this.write(command);
+		return this.read();
+	}
+
+	/**
+	 * Writes the given text to clingo.
+	 * @param text some text
+	 * @throws SolverException if the communication with clingo fails
+	 */
+	private void write(String text) throws SolverException {
+		if(this.broken)
+			throw new SolverException("The clingo process has been terminated.", SolverException.SE_ERROR);
+		try {
+			this.in.write(text);
+			this.in.flush();
+		} catch(IOException e) {
+			this.broken = true;
+			throw new SolverException("Could not write to clingo: " + e.getMessage(), SolverException.SE_IO_FAILED);
+		}
+	}
+
+	/**
+	 * Reads the next line from clingo.
+	 * @return the line
+	 * @throws SolverException if the communication with clingo fails
+	 */
+	private String read() throws SolverException {
+		try {
+			String line = this.out.readLine();
+			if(line == null) {
+				this.broken = true;
+				throw new SolverException("The clingo process terminated unexpectedly (clingo must be built with Python support).", SolverException.SE_ERROR);
+			}
+			return line;
+		} catch(IOException e) {
+			this.broken = true;
+			throw new SolverException("Could not read from clingo: " + e.getMessage(), SolverException.SE_IO_FAILED);
+		}
+	}
+
+	/**
+	 * Checks the response to a command.
+	 * @param response some response
+	 * @throws SolverException if the response reports an error
+	 */
+	private void expectOk(String response) throws SolverException {
+		if(response.startsWith("ERROR"))
+			throw new SolverException("Clingo error: " + response.substring(5).trim(), SolverException.SE_SYNTAX_ERROR);
+		if(response.startsWith("FATAL")) {
+			// grounding failed, the program parts of the process are in an undefined state
+			this.broken = true;
+			throw new SolverException("Clingo error: " + response.substring(5).trim(), SolverException.SE_ERROR);
+		}
+		if(!response.equals("OK")) {
+			this.broken = true;
+			throw new SolverException("Clingo returned no output that can be interpreted: " + response, SolverException.SE_ERROR);
+		}
+	}
+
+	/**
+	 * An iterator over the answer sets reported by clingo. Clingo waits after each
+	 * answer set until the next one is requested.
+	 */
+	public class ModelIterator implements Iterator<AnswerSet>, AutoCloseable {
+		/** The next answer set (if already read). */
+		private AnswerSet next = null;
+		/** Whether clingo waits for a request for the next answer set. */
+		private boolean waiting = false;
+		/** Whether the search is finished. */
+		private boolean finished = false;
+		/** The result reported by clingo at the end of the search. */
+		private String result = null;
+		/** Whether the session is closed at the end of the search. */
+		private boolean closeSession;
+
+		/**
+		 * Creates a new iterator.
+		 * @param closeSession whether the session is closed at the end of the search
+		 */
+		ModelIterator(boolean closeSession) {
+			this.closeSession = closeSession;
+		}
+
+		/**
+		 * Marks the search as finished.
+		 * @param result the result reported by clingo
+		 */
+		private void finish(String result) {
+			this.result = result;
+			this.finished = true;
+			this.waiting = false;
+			if(current == this)
+				current = null;
+			if(this.closeSession)
+				ClingoSession.this.close();
+		}
+
+		@Override
+		public boolean hasNext() {
+			if(this.next != null)
+				return true;
+			if(this.finished)
+				return false;
+			try {
+				if(this.waiting)
+					write("NEXT\n");
+				String line = read();
+				if(line.startsWith("MODEL")) {
+					this.next = ASPParser.parseAnswerSet(line.substring(5).trim());
+					this.waiting = true;
+					return true;
+				}
+				if(!line.startsWith("END")) {
+					broken = true;
+					this.finish(null);
+					throw new IllegalStateException("Clingo returned no output that can be interpreted: " + line);
+				}
+				this.finish(line.substring(3).trim());
+				return false;
+			} catch(SolverException | ParseException e) {
+				broken = true;
+				this.finish(null);
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public AnswerSet next() {
+			if(!this.hasNext())
+				throw new NoSuchElementException();
+			AnswerSet result = this.next;
+			this.next = null;
+			return result;
+		}
+
+		/**
+		 * Returns the result reported by clingo at the end of the search, e.g.
+		 * "SAT" or "UNSAT", or null if the search has not finished yet.
+		 * @return the result of the search
+		 */
+		public String getResult() {
+			return this.result;
+		}
+
+		/**
+		 * Stops the search.
+		 */
+		@Override
+		public void close() throws SolverException {
+			if(this.finished)
+				return;
+			this.next = null;
+			try {
+				if(this.waiting)
+					write("STOP\n");
+				String line = read();
+				while(!line.startsWith("END")) {
+					// clingo waits for an answer after each answer set
+					if(line.startsWith("MODEL"))
+						write("STOP\n");
+					line = read();
+				}
+				this.finish(line.substring(3).trim());
+			} catch(SolverException e) {
+				broken = true;
+				this.finish(null);
+				throw e;
+			}
+		}
+	}
+}
@@ -20,6 +20,8 @@ package org.tweetyproject.lp.asp.reasoner;
 
 import java.io.File;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -68,6 +70,12 @@ public class ClingoSolver extends ASPSolver {
 	 */
 	private String options = "";
 
+	/**
+	 * If set, programs are solved by long-lived clingo processes from this pool
+	 * instead of starting a new process for every call.
+	 */
+	private ClingoProcessPool pool = null;
+
 	/**
 	 * If the program contains an optimization problem, the optimum weights (if found) are
 	 * stored in this parameter.
@@ -182,6 +190,14 @@ public class ClingoSolver extends ASPSolver {
 	public List<AnswerSet> getModels(Program p) {
 		List<AnswerSet> result = new ArrayList<AnswerSet>();
 		try {
+			if (this.pool != null) {
+				StringWriter s = new StringWriter();
+				ClingoWriter writer = new ClingoWriter(s, usePredicateWhitelist);
+				writer.printProgram(p);
+				writer.close();
+				if (this.usePool(s.toString()))
+					return this.getModelsFromPool(s.toString());
+			}
 			File file = File.createTempFile("tmp", ".txt");
 			ClingoWriter writer = new ClingoWriter(new PrintWriter(file), usePredicateWhitelist);
 			writer.printProgram(p);
@@ -198,6 +214,8 @@ public class ClingoSolver extends ASPSolver {
 	public List<AnswerSet> getModels(String s) {
 		List<AnswerSet> result = new ArrayList<AnswerSet>();
 		try {
+			if (this.usePool(s))
+				return this.getModelsFromPool(s);
 			File file = File.createTempFile("tmp", ".txt");
 			PrintWriter writer = new PrintWriter(file);
 			writer.write(s);
@@ -215,6 +233,11 @@ public class ClingoSolver extends ASPSolver {
 	public List<AnswerSet> getModels(File file) {
 		List<AnswerSet> result = new ArrayList<AnswerSet>();
 		try {
+			if (this.pool != null) {
+				String s = Files.readString(file.toPath());
+				if (this.usePool(s))
+					return this.getModelsFromPool(s);
+			}
 			String cmd = pathToSolver + "/clingo -n " + this.maxNumOfModels + " " + options + " " + file.getAbsolutePath();
 			this.outputData = (bash.run(cmd));
 			result = parseResult(outputData);
@@ -223,6 +246,47 @@ public class ClingoSolver extends ASPSolver {
 		}
 		return result;
 	}
+
+	/**
+	 * Checks whether the given program can be solved by the process pool. The processes
+	 * of the pool do not use the command line options and do not report the costs of answer
+	 * sets, so programs are solved by a new process if options are set or the program
+	 * contains optimization statements or weak constraints.
+	 * 
+	 * @param program a program in clingo syntax
+	 * @return "true" iff a pool is set and the program can be solved by it
+	 */
+	private boolean usePool(String program) {
+		if (this.pool == null || !this.options.isBlank())
+			return false;
+		return !program.contains("#minimize") && !program.contains("#maximize") && !program.contains("#minimise")
+				&& !program.contains("#maximise") && !program.contains(":~");
+	}
+
+	/**
+	 * Solves the given program by a process of the pool.
+	 * 
+	 * @param program a program in clingo syntax
+	 * @return the answer sets
+	 * @throws SolverException if clingo reports an error
+	 * @throws InterruptedException if the thread is interrupted while waiting for a process
+	 */
+	private List<AnswerSet> getModelsFromPool(String program) throws SolverException, InterruptedException {
+		List<AnswerSet> result = new ArrayList<AnswerSet>();
+		ClingoSession session = this.pool.acquire();
+		try {
+			session.add(program);
+		} catch (SolverException e) {
+			session.close();
+			throw e;
+		}
+		try (ClingoSession.ModelIterator it = session.solve(this.maxNumOfModels, true)) {
+			while (it.hasNext())
+				result.add(it.next());
+		}
+		this.optimum = null;
+		return result;
+	}
 	
 	/**
 	 * Parses output from Clingo solver to AnswerSetList.
@@ -347,6 +411,47 @@ public class ClingoSolver extends ASPSolver {
 		return false;
 	}
 
+	/**
+	 * Returns an iterator over the answer sets of the given program. The answer sets
+	 * are computed and parsed one at a time, so closing the iterator early stops the search.
+	 * The program is solved by a process of the pool set by {@link #setProcessPool(ClingoProcessPool)},
+	 * which is returned to the pool when the iterator is closed or exhausted. Command line
+	 * options are not supported and the answer sets of programs with optimization statements
+	 * are reported in the order clingo finds them, i.e. with decreasing costs.
+	 * 
+	 * @param p a program
+	 * @param maxModels the maximum number of answer sets (0 for all answer sets)
+	 * @return an iterator over the answer sets
+	 * @throws SolverException if no pool is set or clingo reports an error
+	 * @throws InterruptedException if the thread is interrupted while waiting for a process
+	 */
+	public ClingoSession.ModelIterator getModelIterator(Program p, int maxModels) throws SolverException, InterruptedException {
+		if (this.pool == null)
+			throw new SolverException("No clingo process pool has been set.", SolverException.SE_ERROR);
+		if (!this.options.isBlank())
+			throw new SolverException("Command line options are not supported by the clingo process pool.", SolverException.SE_ERROR);
+		ClingoSession session = this.pool.acquire();
+		try {
+			session.add(p, usePredicateWhitelist);
+			return session.solve(maxModels, true);
+		} catch (SolverException e) {
+			session.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Sets the pool of long-lived clingo processes that is used by the getModels methods
+	 * and {@link #getModelIterator(Program, int)}. If set to null (default), a new clingo process
+	 * is started for every call. A new process is also started if command line options are set
+	 * or the program contains optimization statements or weak constraints, see {@link #setOptions(String)}.
+	 * 
+	 * @param pool a pool of clingo processes or null
+	 */
+	public void setProcessPool(ClingoProcessPool pool) {
+		this.pool = pool;
+	}
+
 	/**
 	 * Activates or deactivates the option to use a whitelist of predicates. If
 	 * activated, answer sets will only contain atoms over predicates that are part
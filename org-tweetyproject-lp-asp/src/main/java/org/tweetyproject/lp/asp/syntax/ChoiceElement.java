@@ -75,6 +75,25 @@ public class ChoiceElement extends ASPElement {
 		this.literals = elements;
 	}
 
+	/**
+	 * Returns the atom of this choice element.
+	 *
+	 * @return the atom of this choice element
+	 */
+	public ASPLiteral getAtom() {
+		return this.atom;
+	}
+
+	/**
+	 * Returns the condition of this choice element, i.e. the list of
+	 * literals after the colon.
+	 *
+	 * @return the condition of this choice element
+	 */
+	public List<ASPBodyElement> getCondition() {
+		return this.literals;
+	}
+
 	@Override
 	public boolean isLiteral() {
 		return false;
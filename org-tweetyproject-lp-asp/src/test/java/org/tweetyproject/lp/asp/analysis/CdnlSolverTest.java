@@ -0,0 +1,164 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.lp.asp.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.tweetyproject.commons.InferenceMode;
+import org.tweetyproject.logics.commons.syntax.Constant;
+import org.tweetyproject.lp.asp.parser.ASPParser;
+import org.tweetyproject.lp.asp.reasoner.CdnlSolver;
+import org.tweetyproject.lp.asp.semantics.AnswerSet;
+import org.tweetyproject.lp.asp.syntax.ASPAtom;
+import org.tweetyproject.lp.asp.syntax.Program;
+
+/**
+ * Test class for the in-process answer set solver.
+ */
+public class CdnlSolverTest {
+	/**
+	 *  solver
+	 */
+	static CdnlSolver solver;
+
+	/**
+	 * initializes values
+	 */
+	@BeforeClass
+	public static void init() {
+		solver = new CdnlSolver(0);
+	}
+
+	/**
+	 * examples from the resources, the expected results are those of clingo
+	 */
+	@Test
+	public void ResourceExamplesTest() {
+		List<AnswerSet> models = solver.getModels(new File("src/main/resources/ex1.asp"));
+		assertEquals(1, models.size());
+		assertEquals(3, models.get(0).size());
+		assertEquals(2, solver.getModels(new File("src/main/resources/ex2.asp")).size());
+		assertEquals(2, solver.getModels(new File("src/main/resources/ex3.asp")).size());
+		models = solver.getModels(new File("src/main/resources/ex4.asp"));
+		assertEquals(1, models.size());
+		assertEquals(5, models.get(0).size());
+		models = solver.getModels(new File("src/main/resources/ex5.asp"));
+		assertEquals(1, models.size());
+		assertEquals(4, models.get(0).size());
+		assertEquals(4, solver.getModels(new File("src/main/resources/ex6.asp")).size());
+		assertEquals(0, solver.getModels(new File("src/main/resources/aggregates.asp")).size());
+	}
+
+	/**
+	 * positive loops must not support atoms
+	 * @throws Exception any exception
+	 */
+	@Test
+	public void UnfoundedSetTest() throws Exception {
+		Program p = ASPParser.parseProgram("a :- not b. b :- not a. c :- a. c :- d. d :- c. e :- e.");
+		List<AnswerSet> models = solver.getModels(p);
+		assertEquals(2, models.size());
+		for(AnswerSet as: models) {
+			assertEquals(as.contains(new ASPAtom("a")), as.contains(new ASPAtom("d")));
+			assertFalse(as.contains(new ASPAtom("e")));
+		}
+		// Hamiltonian cycles of the complete graph with four nodes
+		p = ASPParser.parseProgram("node(1). node(2). node(3). node(4).\n"
+				+ "e(X,Y) :- node(X), node(Y), X != Y.\n"
+				+ "{ in(X,Y) } :- e(X,Y).\n"
+				+ ":- node(X), not 1 = #count { Y : in(X,Y) }.\n"
+				+ ":- node(Y), not 1 = #count { X : in(X,Y) }.\n"
+				+ "r(1). r(Y) :- r(X), in(X,Y).\n"
+				+ ":- node(X), not r(X).");
+		assertEquals(6, solver.getModels(p).size());
+	}
+
+	/**
+	 * choice rules with bounds and arithmetic
+	 * @throws Exception any exception
+	 */
+	@Test
+	public void QueensTest() throws Exception {
+		Program p = ASPParser.parseProgram("n(1). n(2). n(3). n(4). n(5). n(6).\n"
+				+ "{ q(X,Y) : n(Y) } = 1 :- n(X).\n"
+				+ ":- q(X1,Y), q(X2,Y), X1 != X2.\n"
+				+ ":- q(X1,Y1), q(X2,Y2), X1 < X2, X2 - X1 = Y2 - Y1.\n"
+				+ ":- q(X1,Y1), q(X2,Y2), X1 < X2, X2 - X1 = Y1 - Y2.");
+		assertEquals(4, solver.getModels(p).size());
+	}
+
+	/**
+	 * weight aggregates and optimization
+	 * @throws Exception any exception
+	 */
+	@Test
+	public void AggregateOptimizationTest() throws Exception {
+		Program p = ASPParser.parseProgram("p(1). p(2). p(3). p(4).\n"
+				+ "{ s(X) : p(X) }.\n"
+				+ ":- not #sum { X : s(X) } = 5.");
+		assertEquals(2, solver.getModels(p).size());
+		p = ASPParser.parseProgram("item(a). item(b). item(c).\n"
+				+ "w(a,3). w(b,2). w(c,4).\n"
+				+ "{ take(X) : item(X) }.\n"
+				+ ":- #count { X : take(X) } < 2.\n"
+				+ "#minimize { W,X : take(X), w(X,W) }.");
+		List<AnswerSet> models = solver.getModels(p);
+		assertEquals(1, models.size());
+		assertTrue(models.get(0).contains(new ASPAtom("take", new Constant("a"))));
+		assertTrue(models.get(0).contains(new ASPAtom("take", new Constant("b"))));
+	}
+
+	/**
+	 * skeptical and credulous queries
+	 * @throws Exception any exception
+	 */
+	@Test
+	public void QueryTest() throws Exception {
+		Program p = ASPParser.parseProgram("a :- not b. b :- not a. c :- a. c :- b.");
+		assertTrue(solver.query(p, new ASPAtom("c")));
+		assertFalse(solver.query(p, new ASPAtom("a")));
+		assertTrue(solver.query(p, new ASPAtom("a"), InferenceMode.CREDULOUS));
+	}
+
+	/**
+	 * disjunctive rules are shifted if the program is head-cycle-free and rejected otherwise
+	 * @throws Exception any exception
+	 */
+	@Test
+	public void DisjunctionTest() throws Exception {
+		Program p = ASPParser.parseProgram("a | b. c :- a. c :- b.");
+		assertEquals(2, solver.getModels(p).size());
+		// the only answer set is {a,b}, but the shifted program has none
+		p = ASPParser.parseProgram("a | b. a :- b. b :- a.");
+		try {
+			solver.getModels(p);
+			fail("Programs with head cycles must be rejected.");
+		} catch(UnsupportedOperationException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.lp.asp.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.tweetyproject.lp.asp.reasoner.ClingoProcessPool;
+import org.tweetyproject.lp.asp.reasoner.ClingoSession;
+import org.tweetyproject.lp.asp.reasoner.ClingoSolver;
+import org.tweetyproject.lp.asp.reasoner.SolverException;
+import org.tweetyproject.lp.asp.semantics.AnswerSet;
+import org.tweetyproject.lp.asp.syntax.ASPAtom;
+
+/**
+ * Test class for the pool of clingo processes, skipped if clingo is not installed.
+ */
+public class ClingoProcessPoolTest {
+	/**
+	 * path to the directory containing the clingo binary
+	 */
+	static final String PATH = "/your/path/to/clingo";
+	/**
+	 * pool
+	 */
+	ClingoProcessPool pool;
+	/**
+	 * solver
+	 */
+	ClingoSolver solver;
+
+	/**
+	 * initializes values
+	 */
+	@Before
+	public void init() {
+		solver = new ClingoSolver(PATH, 0);
+		Assume.assumeTrue(solver.isInstalled());
+		pool = new ClingoProcessPool(PATH, 2);
+		solver.setProcessPool(pool);
+	}
+
+	/**
+	 * terminates the processes
+	 */
+	@After
+	public void close() {
+		if(pool != null)
+			pool.close();
+	}
+
+	/**
+	 * programs given as strings and files are solved by the pool
+	 */
+	@Test
+	public void PoolTest() {
+		assertEquals(2, solver.getModels("a :- not b. b :- not a.").size());
+		assertEquals(1, pool.size());
+		assertEquals(2, solver.getModels(new File("src/main/resources/ex2.asp")).size());
+		assertEquals(1, pool.size());
+	}
+
+	/**
+	 * options and optimization statements are handled by a new process
+	 * @throws Exception any exception
+	 */
+	@Test
+	public void FallbackTest() throws Exception {
+		solver.setOptions("--opt-mode=optN");
+		List<AnswerSet> models = solver.getModels("{ a; b }. :- not a, not b. #minimize { 1,a : a; 2,b : b }.");
+		assertEquals(0, pool.size());
+		assertTrue(models.get(0).contains(new ASPAtom("a")));
+		assertEquals("1", solver.getOptimumString());
+		solver.setOptions("");
+		solver.getModels("{ a; b }. #minimize { 1,a : a }.");
+		assertEquals(0, pool.size());
+	}
+
+	/**
+	 * a syntax error does not remove the parts added before
+	 * @throws Exception any exception
+	 */
+	@Test
+	public void SyntaxErrorTest() throws Exception {
+		try(ClingoSession session = pool.acquire()) {
+			session.add("a.");
+			try {
+				session.add("b :- .");
+				fail("Syntax errors must be reported.");
+			} catch(SolverException e) {
+				// expected
+			}
+			session.add("c :- a.");
+			try(ClingoSession.ModelIterator it = session.solve(0)) {
+				assertTrue(it.hasNext());
+				AnswerSet as = it.next();
+				assertTrue(as.contains(new ASPAtom("a")));
+				assertTrue(as.contains(new ASPAtom("c")));
+				assertFalse(it.hasNext());
+			}
+		}
+		assertEquals(1, pool.size());
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.lp.asp.grounder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.tweetyproject.logics.commons.syntax.Constant;
+import org.tweetyproject.logics.commons.syntax.Variable;
+import org.tweetyproject.logics.commons.syntax.interfaces.Term;
+import org.tweetyproject.lp.asp.parser.ASPParser;
+import org.tweetyproject.lp.asp.reasoner.CdnlSolver;
+import org.tweetyproject.lp.asp.semantics.AnswerSet;
+import org.tweetyproject.lp.asp.syntax.ASPBodyElement;
+import org.tweetyproject.lp.asp.syntax.ASPLiteral;
+import org.tweetyproject.lp.asp.syntax.ASPRule;
+import org.tweetyproject.lp.asp.syntax.ClassicalHead;
+import org.tweetyproject.lp.asp.syntax.DefaultNegation;
+import org.tweetyproject.lp.asp.syntax.Program;
+
+/**
+ * Compares the semi-naive grounder with the full instantiation of all rules over the
+ * constants of the program, on programs with recursion and negation.
+ */
+public class SemiNaiveGrounderTest {
+
+	/**
+	 * Grounds every rule with every combination of constants of the program.
+	 */
+	private static class FullGrounder extends ASPGrounder {
+		@Override
+		public Program getGroundProgram(Program p) {
+			Set<Constant> constants = new HashSet<>();
+			for(ASPRule r: p)
+				constants.addAll(r.getTerms(Constant.class));
+			Program result = new Program();
+			for(ASPRule r: p)
+				this.instantiate(r, new ArrayList<>(r.getTerms(Variable.class)), 0, new HashMap<>(), constants, result);
+			return result;
+		}
+
+		private void instantiate(ASPRule r, List<Variable> vars, int i, Map<Term<?>,Term<?>> map, Set<Constant> constants, Program result) {
+			if(i == vars.size()) {
+				ClassicalHead head = new ClassicalHead();
+				for(ASPLiteral l: (ClassicalHead) r.getHead())
+					head.add((ASPLiteral) l.substitute(map));
+				List<ASPBodyElement> body = new ArrayList<>();
+				for(ASPBodyElement b: r.getBody()) {
+					if(b instanceof DefaultNegation)
+						body.add(new DefaultNegation((ASPLiteral) ((DefaultNegation) b).getLiteral().substitute(map)));
+					else body.add((ASPBodyElement) b.substitute(map));
+				}
+				result.add(new ASPRule(head, body));
+				return;
+			}
+			for(Constant c: constants) {
+				map.put(vars.get(i), c);
+				this.instantiate(r, vars, i + 1, map, constants, result);
+			}
+			map.remove(vars.get(i));
+		}
+	}
+
+	/** Programs with recursion through positive and negative dependencies. */
+	private static final String[] PROGRAMS = {
+		// transitive closure with a cycle
+		"e(a,b). e(b,c). e(c,a). e(c,d).\n"
+				+ "path(X,Y) :- e(X,Y).\n"
+				+ "path(X,Z) :- path(X,Y), e(Y,Z).\n"
+				+ "cyclic(X) :- path(X,X).\n"
+				+ "acyclic(X) :- e(X,Y), not cyclic(X).",
+		// win-move game with recursion through negation
+		"move(a,b). move(b,a). move(b,c). move(c,d). move(d,e).\n"
+				+ "win(X) :- move(X,Y), not win(Y).",
+		// even and odd in a mutually recursive definition
+		"n(z). s(z,one). s(one,two). s(two,three).\n"
+				+ "even(z).\n"
+				+ "odd(Y) :- s(X,Y), even(X).\n"
+				+ "even(Y) :- s(X,Y), odd(X).\n"
+				+ "n(Y) :- s(X,Y), n(X).",
+		// guessing with recursive reachability and constraints
+		"node(a). node(b). node(c). edge(a,b). edge(b,c). edge(c,a). edge(a,c).\n"
+				+ "in(X,Y) :- edge(X,Y), not out(X,Y).\n"
+				+ "out(X,Y) :- edge(X,Y), not in(X,Y).\n"
+				+ "r(a).\n"
+				+ "r(Y) :- r(X), in(X,Y).\n"
+				+ ":- node(X), not r(X).\n"
+				+ ":- in(X,Y), in(X,Z), Y != Z."
+	};
+
+	/**
+	 * the answer sets are the same as with the full instantiation, also with parallel grounding
+	 * @throws Exception any exception
+	 */
+	@Test
+	public void AnswerSetsTest() throws Exception {
+		CdnlSolver reference = new CdnlSolver(new FullGrounder());
+		CdnlSolver solver = new CdnlSolver(new SemiNaiveGrounder());
+		CdnlSolver parallel = new CdnlSolver(new SemiNaiveGrounder(true));
+		for(String s: PROGRAMS) {
+			Program p = ASPParser.parseProgram(s);
+			Set<AnswerSet> expected = new HashSet<>(reference.getModels(p));
+			assertEquals(s, expected, new HashSet<>(solver.getModels(p)));
+			assertEquals(s, expected, new HashSet<>(parallel.getModels(p)));
+		}
+	}
+
+	/**
+	 * sequential and parallel grounding give the same ground program
+	 * @throws Exception any exception
+	 */
+	@Test
+	public void GroundProgramTest() throws Exception {
+		for(String s: PROGRAMS) {
+			Program p = ASPParser.parseProgram(s);
+			Program ground = new SemiNaiveGrounder().getGroundProgram(p);
+			assertTrue(s, ground.isGround());
+			assertEquals(s, new HashSet<>(ground), new HashSet<>(new SemiNaiveGrounder(true).getGroundProgram(p)));
+		}
+	}
+}
@@ -39,6 +39,37 @@ public abstract class ClassificationTester<S extends Observation, T extends Cate
 	 */
 	public abstract double test(Trainer<S,T> trainer, TrainingSet<S,T> trainingSet);
 	
+	/**
+	 * This methods takes a trainer, a training set and parameters for the trainer and returns
+	 * the performance of the classifiers trained with these parameters, cf. <code>test(Trainer,TrainingSet)</code>.
+	 * In contrast to setting the parameters of the trainer, this does not modify the trainer, so it
+	 * can be used for testing several parameter sets in parallel.
+	 * @param trainer some trainer
+	 * @param trainingSet some training set
+	 * @param params the parameters for the trainer
+	 * @return the performance of the trained classifier
+	 */
+	public double test(Trainer<S,T> trainer, TrainingSet<S,T> trainingSet, ParameterSet params){
+		return this.test(new Trainer<S,T>(){
+			@Override
+			public Classifier train(TrainingSet<S,T> trainingSet) {
+				return trainer.train(trainingSet, params);
+			}
+			@Override
+			public Classifier train(TrainingSet<S,T> trainingSet, ParameterSet params) {
+				return trainer.train(trainingSet, params);
+			}
+			@Override
+			public ParameterSet getParameterSet() {
+				return params;
+			}
+			@Override
+			public boolean setParameterSet(ParameterSet params) {
+				return false;
+			}
+		}, trainingSet);
+	}
+	
 	/**
 	 * Measures the performance of the given classifier on the given test set, i.e.
 	 * every observation from the training set is classified by the classifier and
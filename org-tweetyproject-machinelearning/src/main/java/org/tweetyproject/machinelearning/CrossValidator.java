@@ -20,6 +20,11 @@ package org.tweetyproject.machinelearning;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.tweetyproject.commons.util.Pair;
 
@@ -29,6 +34,11 @@ import org.tweetyproject.commons.util.Pair;
  * belonging each category are partitioned into N parts), for each i=1,...,N trains a
  * classifier on the union of all parts except i, and measures the performance on part i.
  * The final performance measure is the average on these N rounds.
+ * <br>
+ * The rounds can be run in parallel (then the trainer must support concurrent training); the
+ * result is the same as for sequential execution. The libsvm representations of the
+ * observations are computed once and shared by all rounds, see <code>TrainingSet.cacheLibsvmNodes()</code>;
+ * they are kept in a copy of the given training set, which itself is left unchanged.
  * 
  * @author Matthias Thimm
  * @param <S> the type of observation
@@ -38,6 +48,8 @@ public class CrossValidator<S extends Observation, T extends Category> extends C
 
 	/** The number of partitions for cross-validation. */
 	private int fold;
+	/** The number of threads for running the rounds. */
+	private int numberOfThreads = 1;
 	
 	/**
 	 * Creates a new cross-validator with the given number of partitions.
@@ -49,32 +61,83 @@ public class CrossValidator<S extends Observation, T extends Category> extends C
 		this.fold = fold;
 	}
 	
+	/**
+	 * Sets the number of threads for running the rounds of cross-validation
+	 * in parallel (default is 1).
+	 * @param numberOfThreads some positive number
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = Math.max(1, numberOfThreads);
+	}
+	
+	/**
+	 * Returns the number of threads for running the rounds of cross-validation.
+	 * @return the number of threads
+	 */
+	public int getNumberOfThreads() {
+		return this.numberOfThreads;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.tweetyproject.machinelearning.ClassificationTester#test(org.tweetyproject.machinelearning.Trainer, org.tweetyproject.machinelearning.TrainingSet)
 	 */
 	@Override
 	public double test(Trainer<S, T> trainer, TrainingSet<S, T> trainingSet) {
+		// cache the libsvm representations only for this run (reusing those of the given set, if any)
+		TrainingSet<S,T> data = new TrainingSet<S,T>();
+		data.addAll(trainingSet);
+		data.shareLibsvmCache(trainingSet);
+		data.cacheLibsvmNodes();
 		List<TrainingSet<S,T>> partitions = new ArrayList<TrainingSet<S,T>>();
-		for(int i = 0; i < this.fold; i++)
+		for(int i = 0; i < this.fold; i++){
 			partitions.add(new TrainingSet<S,T>());
+			partitions.get(i).shareLibsvmCache(data);
+		}
 		// Distribute observations of each category equally on the partitions
-		for(T cat: trainingSet.getCategories()){
+		for(T cat: data.getCategories()){
 			int i = 0;
-			for(Pair<S,T> entry: trainingSet.getObservations(cat)){
+			for(Pair<S,T> entry: data.getObservations(cat)){
 				partitions.get(i % this.fold).add(entry);
 				i++;
 			}
 		}
-		double perf = 0;
-		TrainingSet<S,T> actualTrainingSet; 
+		List<Callable<Double>> rounds = new ArrayList<>();
 		for(int i = 0; i < this.fold; i++){
-			actualTrainingSet = new TrainingSet<S,T>();
+			TrainingSet<S,T> actualTrainingSet = new TrainingSet<S,T>();
+			actualTrainingSet.shareLibsvmCache(data);
 			for(int j = 0; j < this.fold; j++)
 				if(i != j)
 					actualTrainingSet.addAll(partitions.get(j));
-			Classifier c = trainer.train(actualTrainingSet);
-			perf += this.test(c, partitions.get(i));
-		}		
+			TrainingSet<S,T> testSet = partitions.get(i);
+			rounds.add(() -> this.test(trainer.train(actualTrainingSet), testSet));
+		}
+		double perf = 0;
+		try {
+			if(this.numberOfThreads == 1){
+				for(Callable<Double> round: rounds)
+					perf += round.call();
+			}else{
+				ExecutorService executorService = Executors.newFixedThreadPool(Math.min(this.numberOfThreads, this.fold));
+				try {
+					// sum up in the order of the rounds to obtain the sequential result
+					for(Future<Double> f: executorService.invokeAll(rounds))
+						perf += f.get();
+				} finally {
+					executorService.shutdownNow();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("The computation was interrupted.", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RuntimeException(e.getCause());
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
 		return perf/this.fold;
 	}
 
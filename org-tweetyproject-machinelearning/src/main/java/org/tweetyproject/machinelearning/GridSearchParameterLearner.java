@@ -18,6 +18,9 @@
  */
 package org.tweetyproject.machinelearning;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A grid-search approach for learning parameters. For each parameter with I=[l,u] being
  * the boundaries for the parameter value of a given trainer, I is divided into <code>partitions</code>
@@ -26,6 +29,10 @@ package org.tweetyproject.machinelearning;
  * where the classifier performs best is chosen. If <code>depth</code> &gt; 1, the process is iterated: after selecting
  * the best interval combination of the parameters, these intervals are again divided and the process
  * is repeated <code>depth</code> many times.
+ * <br>
+ * The parameter combinations of each level are tested in parallel if so configured (see
+ * <code>setNumberOfThreads(int)</code>), the learned parameters are the same as for a sequential run.
+ * See also {@link SuccessiveHalvingParameterLearner} for a cheaper alternative.
  *  
  * @author Matthias Thimm
  * @param <S> the type of observations.
@@ -71,23 +78,27 @@ public class GridSearchParameterLearner<S extends Observation, T extends Categor
 			lowerBounds[idx] = param.getLowerBound();
 			upperBounds[idx++] = param.getUpperBound();
 		}	
-		double performance;
 		double maxPerformance = 0;
 		int[] bestIdxs = new int[set.size()];
 		for(int i = 0; i < this.depth;i++){
-			do{			
-				trainer.setParameterSet(this.adjustParameterSet(set, indices, lowerBounds, upperBounds));
-				performance = this.tester.test(trainer, trainingSet);
-				if(performance > maxPerformance){
-					maxPerformance = performance;
-					System.arraycopy(indices, 0, bestIdxs, 0, set.size());					
-				}
+			List<int[]> grid = new ArrayList<>();
+			List<ParameterSet> candidates = new ArrayList<>();
+			do{
+				grid.add(indices.clone());
+				candidates.add(this.adjustParameterSet(set, indices, lowerBounds, upperBounds));
 			}while(!this.increment(indices, this.partitions));
+			double[] performances = this.test(this.tester, trainingSet, candidates);
+			for(int k = 0; k < performances.length; k++)
+				if(performances[k] > maxPerformance){
+					maxPerformance = performances[k];
+					System.arraycopy(grid.get(k), 0, bestIdxs, 0, set.size());					
+				}
 			// if going into recursion, select the best indices and adjust upper/lower bounds
 			if(i+1 != this.depth){
 				for(int j = 0; j < set.size(); j++){
-					lowerBounds[j] = lowerBounds[j]+(upperBounds[j]-lowerBounds[j])/this.partitions*(Math.max(indices[j]-1,0));
-					upperBounds[j] = lowerBounds[j]+(upperBounds[j]-lowerBounds[j])/this.partitions*(Math.min(indices[j]+1,this.partitions));
+					double width = (upperBounds[j]-lowerBounds[j])/this.partitions;
+					upperBounds[j] = lowerBounds[j]+width*(Math.min(bestIdxs[j]+1,this.partitions));
+					lowerBounds[j] = lowerBounds[j]+width*(Math.max(bestIdxs[j]-1,0));
 					// re-init index
 					indices[j] = 0;
 				}
@@ -123,23 +134,20 @@ public class GridSearchParameterLearner<S extends Observation, T extends Categor
 	 * given [0,0,0,0] it returns [1,0,0,0], given [4,2,1,4] it 
 	 * returns [5,2,1,4], given [5,2,1,4] it returns [0,3,1,4], given
 	 * [5,5,1,4] it returns [0,0,2,4], etc. It returns true iff
-	 * an overflow occurs, e.g. if [5,5,5,5] is to be incremented.  
+	 * an overflow occurs, e.g. if [5,5,5,5] is to be incremented (or
+	 * if the array is empty).
 	 * @param indices an array of ints.
 	 * @param maxIdx the max index.
 	 * @return "true" iff an overflow occurs
 	 */
 	private boolean increment(int[] indices, int maxIdx){
-		boolean carry = false;
 		for(int i = 0; i < indices.length; i++){
 			if(indices[i] < maxIdx){
 				indices[i]++;
 				return false;
-			}else{
-				indices[i] = 0;
-				carry = true;
-			}
+			}else indices[i] = 0;
 		}		
-		return carry;
+		return true;
 	}
 	
 }
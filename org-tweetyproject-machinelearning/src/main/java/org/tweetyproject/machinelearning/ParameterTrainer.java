@@ -18,6 +18,14 @@
  */
 package org.tweetyproject.machinelearning;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Performs a parameter training on a given trainer, i.e. explores the space
  * of the parameters to obtain the best parameters for training.
@@ -29,6 +37,8 @@ public abstract class ParameterTrainer<S extends Observation, T extends Category
 
 	/** The trainer for which we seek the best parameters. */
 	private Trainer<S,T> trainer;
+	/** The number of threads for testing parameter sets. */
+	private int numberOfThreads = 1;
 	
 	/**
 	 * Creates a new parameter trainer for the given trainer.
@@ -87,4 +97,58 @@ public abstract class ParameterTrainer<S extends Observation, T extends Category
 		return this.trainer;
 	}
 	
+	/**
+	 * Sets the number of threads for testing parameter sets in parallel (default
+	 * is 1); if larger than 1, the trainer and the tester must support concurrent use.
+	 * The learned parameters do not depend on the number of threads.
+	 * @param numberOfThreads some positive number
+	 */
+	public void setNumberOfThreads(int numberOfThreads){
+		this.numberOfThreads = Math.max(1, numberOfThreads);
+	}
+	
+	/**
+	 * Returns the number of threads for testing parameter sets.
+	 * @return the number of threads for testing parameter sets.
+	 */
+	public int getNumberOfThreads(){
+		return this.numberOfThreads;
+	}
+	
+	/**
+	 * Measures the performance of the trainer with each of the given parameter sets
+	 * using the given tester, in parallel if so configured.
+	 * @param tester some classification tester
+	 * @param trainingSet some training set
+	 * @param candidates some parameter sets
+	 * @return the performances, in the order of the parameter sets
+	 */
+	protected double[] test(ClassificationTester<S,T> tester, TrainingSet<S,T> trainingSet, List<ParameterSet> candidates){
+		double[] performances = new double[candidates.size()];
+		if(this.numberOfThreads == 1 || candidates.size() < 2){
+			for(int i = 0; i < performances.length; i++)
+				performances[i] = tester.test(this.trainer, trainingSet, candidates.get(i));
+			return performances;
+		}
+		List<Callable<Double>> tasks = new ArrayList<>();
+		for(ParameterSet params: candidates)
+			tasks.add(() -> tester.test(this.trainer, trainingSet, params));
+		ExecutorService executorService = Executors.newFixedThreadPool(Math.min(this.numberOfThreads, candidates.size()));
+		try {
+			int i = 0;
+			for(Future<Double> f: executorService.invokeAll(tasks))
+				performances[i++] = f.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("The computation was interrupted.", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RuntimeException(e.getCause());
+		} finally {
+			executorService.shutdownNow();
+		}
+		return performances;
+	}
+	
 }
@@ -0,0 +1,155 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.machinelearning;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.tweetyproject.commons.util.Pair;
+
+/**
+ * A successive-halving approach for learning parameters, cf. [K. Jamieson, A. Talwalkar.
+ * Non-stochastic best arm identification and hyperparameter optimization. AISTATS 2016].
+ * As for {@link GridSearchParameterLearner}, the interval of each parameter is divided into
+ * <code>partitions</code> many partitions and all combinations of the border points are
+ * candidates. Instead of testing every candidate on the whole training set, all remaining
+ * candidates are tested on a (stratified, randomly chosen) part of the training set and only
+ * the best 1/<code>eta</code> of them are kept; the part grows by the factor <code>eta</code>
+ * in each round, so that the last round, deciding between the final <code>eta</code> candidates,
+ * uses the whole training set.
+ * <br>
+ * For a fixed seed, the learned parameters are the same for any number of threads.
+ *
+ * @param <S> the type of observations.
+ * @param <T> the type of categories.
+ */
+public class SuccessiveHalvingParameterLearner<S extends Observation, T extends Category> extends ParameterTrainer<S,T>{
+
+	/** The number of partitions of each parameter interval. */
+	private int partitions;
+	/** The factor by which the number of candidates is reduced in each round. */
+	private int eta;
+	/** The tester used for measuring the performance of each parameter combination. */
+	private ClassificationTester<S,T> tester;
+	/** The seed for choosing the parts of the training set. */
+	private long seed = 0;
+
+	/**
+	 * Creates a new successive-halving parameter learner with the given arguments.
+	 * @param trainer some trainer.
+	 * @param tester some classification tester for measuring performance.
+	 * @param partitions the number of partitions.
+	 * @param eta the factor by which the number of candidates is reduced in each round (at least 2).
+	 */
+	public SuccessiveHalvingParameterLearner(Trainer<S, T> trainer, ClassificationTester<S,T> tester, int partitions, int eta) {
+		super(trainer);
+		if(eta < 2)
+			throw new IllegalArgumentException("The reduction factor must be greater or equal to 2.");
+		this.tester = tester;
+		this.partitions = partitions;
+		this.eta = eta;
+	}
+
+	/**
+	 * Sets the seed for choosing the parts of the training set (default is 0).
+	 * @param seed some seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.machinelearning.ParameterTrainer#learnParameters(org.tweetyproject.machinelearning.TrainingSet)
+	 */
+	@Override
+	public ParameterSet learnParameters(TrainingSet<S, T> trainingSet) {
+		List<ParameterSet> candidates = this.getCandidates(this.getTrainer().getParameterSet());
+		int rounds = 0;
+		for(int c = candidates.size(); c > 1; c = (c + this.eta - 1) / this.eta)
+			rounds++;
+		// fix the order in which the observations of each category are added to the parts
+		Random rand = new Random(this.seed);
+		List<List<Pair<S,T>>> observations = new ArrayList<>();
+		for(T cat: trainingSet.getCategories()){
+			List<Pair<S,T>> obs = new ArrayList<>(trainingSet.getObservations(cat));
+			Collections.shuffle(obs, rand);
+			observations.add(obs);
+		}
+		// cache the libsvm representations only for this run (reusing those of the given set, if any)
+		TrainingSet<S,T> data = new TrainingSet<S,T>();
+		data.addAll(trainingSet);
+		data.shareLibsvmCache(trainingSet);
+		data.cacheLibsvmNodes();
+		for(int r = 0; r < rounds; r++){
+			double fraction = Math.pow(this.eta, r + 1 - rounds);
+			TrainingSet<S,T> part = new TrainingSet<S,T>();
+			part.shareLibsvmCache(data);
+			for(List<Pair<S,T>> obs: observations)
+				part.addAll(obs.subList(0, Math.max(1, (int) Math.ceil(fraction * obs.size()))));
+			double[] performances = this.test(this.tester, part, candidates);
+			// keep the best candidates (in case of ties, the first ones)
+			List<Integer> order = new ArrayList<>();
+			for(int i = 0; i < candidates.size(); i++)
+				order.add(i);
+			order.sort((i,j) -> Double.compare(SuccessiveHalvingParameterLearner.rank(performances[j]), SuccessiveHalvingParameterLearner.rank(performances[i])));
+			List<Integer> best = new ArrayList<>(order.subList(0, (candidates.size() + this.eta - 1) / this.eta));
+			Collections.sort(best);
+			List<ParameterSet> remaining = new ArrayList<>();
+			for(int i: best)
+				remaining.add(candidates.get(i));
+			candidates = remaining;
+		}
+		return candidates.get(0);
+	}
+
+	/**
+	 * @param performance some performance
+	 * @return the performance, or negative infinity if it is not defined
+	 */
+	private static double rank(double performance) {
+		return Double.isNaN(performance) ? Double.NEGATIVE_INFINITY : performance;
+	}
+
+	/**
+	 * Returns all parameter sets where each parameter has one of the border
+	 * points of the partitions of its interval as value.
+	 * @param set a parameter set
+	 * @return all combinations of border points
+	 */
+	private List<ParameterSet> getCandidates(ParameterSet set){
+		List<ParameterSet> candidates = new ArrayList<>();
+		candidates.add(new ParameterSet());
+		for(TrainingParameter param: set){
+			List<ParameterSet> extended = new ArrayList<>();
+			for(ParameterSet candidate: candidates)
+				for(int i = 0; i <= this.partitions; i++){
+					ParameterSet newParams = new ParameterSet();
+					newParams.addAll(candidate);
+					// avoid rounding errors beyond the upper bound
+					double value = i == this.partitions ? param.getUpperBound() : param.getLowerBound()+(param.getUpperBound()-param.getLowerBound())/this.partitions*i;
+					newParams.add(param.instantiate(value));
+					extended.add(newParams);
+				}
+			candidates = extended;
+		}
+		return candidates;
+	}
+}
@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 import libsvm.svm_node;
@@ -43,6 +45,9 @@ public class TrainingSet<S extends Observation, T extends Category> extends Hash
 	/** For serialization. */
 	private static final long serialVersionUID = 6814079760992723045L;
 	
+	/** The libsvm representations of the observations (if cached), possibly shared with other training sets. */
+	private transient volatile Map<Pair<S,T>,svm_node[]> svmNodes = null;
+	
 	/**
 	 * Adds the specified elements as a pair to this set
 	 * if it is not already present. More formally,
@@ -94,14 +99,41 @@ public class TrainingSet<S extends Observation, T extends Category> extends Hash
 		problem.y = new double[problem.l];
 		problem.x = new svm_node[problem.l][];
 		int idx = 0;
+		Map<Pair<S,T>,svm_node[]> nodes = this.svmNodes;
 		for(Pair<S,T> entry: this){
 			problem.y[idx] = entry.getSecond().asDouble();
-			problem.x[idx] = entry.getFirst().toSvmNode();
+			svm_node[] x = nodes == null ? null : nodes.get(entry);
+			problem.x[idx] = x != null ? x : entry.getFirst().toSvmNode();
 			idx++;
 		}
 		return problem;
 	}
 	
+	/**
+	 * Converts all observations of this set to the libsvm format once and keeps the
+	 * conversions, so that {@link #toLibsvmProblem()} of this set and of all sets sharing
+	 * them (see {@link #shareLibsvmCache(TrainingSet)}) only assembles the problem. Observations
+	 * added afterwards are converted on every call; observations must not be changed after
+	 * their conversion. Nothing is done if the conversions are already cached.
+	 */
+	public synchronized void cacheLibsvmNodes(){
+		if(this.svmNodes != null)
+			return;
+		Map<Pair<S,T>,svm_node[]> nodes = new IdentityHashMap<>();
+		for(Pair<S,T> entry: this)
+			nodes.put(entry, entry.getFirst().toSvmNode());
+		this.svmNodes = nodes;
+	}
+	
+	/**
+	 * Lets this set use the cached libsvm representations of the given set
+	 * (for those observations that both sets have in common).
+	 * @param trainingSet some training set
+	 */
+	public void shareLibsvmCache(TrainingSet<S,T> trainingSet){
+		this.svmNodes = trainingSet.svmNodes;
+	}
+	
 	/**
 	 * Loads a training file in LIBSVM syntax
 	 * @param file some file
@@ -19,7 +19,9 @@
 package org.tweetyproject.machinelearning.assoc;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
 /**
  * Implements the classical Apriori algorithm for association rule mining, cf.
@@ -53,7 +55,9 @@ public class AprioriMiner<T> extends AbstractAssociationRuleMiner<T> {
 	 */
 	@Override
 	public Collection<AssociationRule<T>> mineRules(Collection<Collection<T>> database, int conclusion_limit, int total_limit) {
-		Collection<Collection<T>> sets = this.mineFrequentSets(database, total_limit);
+		// the supports of the frequent sets are kept so that confidences need no further scans
+		Map<Collection<T>,Double> supports = new HashMap<Collection<T>,Double>();
+		Collection<Collection<T>> sets = this.mineFrequentSets(database, total_limit, supports);
 		Collection<AssociationRule<T>> rules = new HashSet<AssociationRule<T>>();
 		if(conclusion_limit < 1)
 			return rules;
@@ -66,7 +70,7 @@ public class AprioriMiner<T> extends AbstractAssociationRuleMiner<T> {
 					if(item == item2)
 						rule.addToConclusion(item2);
 					else rule.addToPremise(item2);
-				if(rule.confidence(database) >= this.minconf){
+				if(this.confidence(rule, set, database, supports) >= this.minconf){
 					rules.add(rule);
 					lastLevel_conc.add(rule.getConclusion());
 				}
@@ -84,7 +88,7 @@ public class AprioriMiner<T> extends AbstractAssociationRuleMiner<T> {
 						if(conc.contains(item2))
 							rule.addToConclusion(item2);
 						else rule.addToPremise(item2);
-					if(rule.confidence(database) >= this.minconf){
+					if(this.confidence(rule, set, database, supports) >= this.minconf){
 						rules.add(rule);						
 						lastLevel_conc.add(rule.getConclusion());
 					}
@@ -93,6 +97,36 @@ public class AprioriMiner<T> extends AbstractAssociationRuleMiner<T> {
 		}
 		return rules;
 	}
+
+	/**
+	 * Returns the confidence of the given rule, using the already computed supports
+	 * where possible.
+	 * @param rule some rule
+	 * @param set the union of premise and conclusion of the rule
+	 * @param database some set of transactions
+	 * @param supports the known supports of sets
+	 * @return the confidence of the rule
+	 */
+	private double confidence(AssociationRule<T> rule, Collection<T> set, Collection<Collection<T>> database, Map<Collection<T>,Double> supports){
+		return this.support(set, database, supports)/this.support(rule.getPremise(), database, supports);
+	}
+
+	/**
+	 * Returns the support of the given set, using the already computed supports
+	 * where possible.
+	 * @param set some set
+	 * @param database some set of transactions
+	 * @param supports the known supports of sets
+	 * @return the support of the set
+	 */
+	private double support(Collection<T> set, Collection<Collection<T>> database, Map<Collection<T>,Double> supports){
+		Double support = supports.get(set);
+		if(support == null){
+			support = AssociationRule.support(set, database);
+			supports.put(set, support);
+		}
+		return support;
+	}
 			
 	public Collection<Collection<T>> mineFrequentSets(Collection<Collection<T>> database){
 		// determine max number of items
@@ -103,16 +137,29 @@ public class AprioriMiner<T> extends AbstractAssociationRuleMiner<T> {
 	}
 	
 	public Collection<Collection<T>> mineFrequentSets(Collection<Collection<T>> database, int maxsize){
+		return this.mineFrequentSets(database, maxsize, new HashMap<Collection<T>,Double>());
+	}
+
+	/**
+	 * Determines all frequent sets up to the given size and records their supports.
+	 * @param database some set of transactions
+	 * @param maxsize the maximal size of the sets
+	 * @param supports a map the supports of the frequent sets are added to
+	 * @return all frequent sets up to the given size
+	 */
+	private Collection<Collection<T>> mineFrequentSets(Collection<Collection<T>> database, int maxsize, Map<Collection<T>,Double> supports){
 		Collection<Collection<T>> sets = new HashSet<Collection<T>>();
 		Collection<T> items = new HashSet<T>();
 		for(Collection<T> t: database)
 			items.addAll(t);
 		// check all 1-element sets
 		for(T item: items){
-			if(AssociationRule.support(item, database) >= this.minsupport){
+			double support = AssociationRule.support(item, database);
+			if(support >= this.minsupport){
 				Collection<T> set = new HashSet<T>();
 				set.add(item);
 				sets.add(set);
+				supports.put(set, support);
 			}				
 		}
 		Collection<Collection<T>> lastLevel = new HashSet<Collection<T>>();
@@ -124,11 +171,14 @@ public class AprioriMiner<T> extends AbstractAssociationRuleMiner<T> {
 			card++;
 			lastLevel.clear();
 			//check for min support
-			for(Collection<T> cand: nextLevel)
-				if(AssociationRule.support(cand, database) >= this.minsupport){
+			for(Collection<T> cand: nextLevel){
+				double support = AssociationRule.support(cand, database);
+				if(support >= this.minsupport){
 					lastLevel.add(cand);
 					sets.add(cand);
-				}			
+					supports.put(cand, support);
+				}
+			}			
 		}
 		return sets;
 	}
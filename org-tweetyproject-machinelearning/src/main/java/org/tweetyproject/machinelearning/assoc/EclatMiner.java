@@ -0,0 +1,410 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.machinelearning.assoc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implements the Eclat algorithm for frequent pattern and association rule mining, cf.
+ * [M. J. Zaki. Scalable algorithms for association mining. IEEE Transactions on Knowledge
+ * and Data Engineering 12(3):372-390, 2000].
+ * <br>
+ * The database is first interned into an {@link ItemsetIndex} and the support of an item set
+ * is computed by intersecting the transaction bitsets of its prefix and its last item, so the
+ * database is scanned only once. The item sets with the same first item are mined in parallel.
+ * The supports of all frequent sets are kept during mining and the confidences of the
+ * association rules are computed from them. The mined sets and rules coincide with those of
+ * {@link AprioriMiner} for the same parameters.
+ *
+ * @param <T> the type of items
+ */
+public class EclatMiner<T extends Object> extends AbstractAssociationRuleMiner<T> {
+
+	/** the minimum support for mined sets. */
+	private double minsupport;
+	/** the minimum confidence for mined rules. */
+	private double minconf;
+	/** the number of threads used for mining. */
+	private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Some item set, given by the ascending numbers of its items in an {@link ItemsetIndex}.
+	 */
+	private static class Itemset {
+		private final int[] items;
+		private final int hash;
+
+		private Itemset(int[] items) {
+			this.items = items;
+			this.hash = Arrays.hashCode(items);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(this == obj)
+				return true;
+			if(!(obj instanceof Itemset))
+				return false;
+			return Arrays.equals(this.items, ((Itemset) obj).items);
+		}
+	}
+
+	/**
+	 * Creates a new Eclat miner with the given minimum support and
+	 * minimum confidence values.
+	 * @param minsupport the minimum support for mined sets.
+	 * @param minconf the minimum confidence for mined rules.
+	 */
+	public EclatMiner(double minsupport, double minconf) {
+		this.minsupport = minsupport;
+		this.minconf = minconf;
+	}
+
+	/**
+	 * Sets the number of threads used for mining (default is the
+	 * number of available processors).
+	 * @param numberOfThreads some positive number
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = Math.max(1, numberOfThreads);
+	}
+
+	/**
+	 * @return the number of threads used for mining
+	 */
+	public int getNumberOfThreads() {
+		return this.numberOfThreads;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.machinelearning.assoc.FrequentPatternMiner#mineFrequentSets(java.util.Collection)
+	 */
+	@Override
+	public Collection<Collection<T>> mineFrequentSets(Collection<Collection<T>> database) {
+		return this.mineFrequentSets(database, Integer.MAX_VALUE);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.machinelearning.assoc.FrequentPatternMiner#mineFrequentSets(java.util.Collection, int)
+	 */
+	@Override
+	public Collection<Collection<T>> mineFrequentSets(Collection<Collection<T>> database, int maxsize) {
+		Collection<Collection<T>> sets = new HashSet<Collection<T>>();
+		if(database.isEmpty())
+			return sets;
+		ItemsetIndex<T> index = new ItemsetIndex<>(database, EclatMiner.minimalSupport(this.minsupport, database.size()));
+		for(Itemset set: this.mine(index, maxsize).keySet())
+			sets.add(this.toCollection(index, set.items));
+		return sets;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.tweetyproject.machinelearning.assoc.AssociationRuleMiner#mineRules(java.util.Collection, int, int)
+	 */
+	@Override
+	public Collection<AssociationRule<T>> mineRules(Collection<Collection<T>> database, int conclusion_limit, int total_limit) {
+		Collection<AssociationRule<T>> rules = new HashSet<AssociationRule<T>>();
+		if(conclusion_limit < 1 || database.isEmpty())
+			return rules;
+		ItemsetIndex<T> index = new ItemsetIndex<>(database, EclatMiner.minimalSupport(this.minsupport, database.size()));
+		Map<Itemset,Integer> supports = this.mine(index, total_limit);
+		// distribute the frequent sets over the threads
+		List<Itemset> sets = new ArrayList<>(supports.keySet());
+		int chunks = Math.min(sets.size(), 4 * this.numberOfThreads);
+		List<Callable<List<AssociationRule<T>>>> tasks = new ArrayList<>();
+		for(int c = 0; c < chunks; c++) {
+			List<Itemset> chunk = sets.subList(c * sets.size() / chunks, (c+1) * sets.size() / chunks);
+			tasks.add(() -> {
+				List<AssociationRule<T>> result = new ArrayList<>();
+				for(Itemset set: chunk)
+					this.mineRules(index, supports, set, conclusion_limit, result);
+				return result;
+			});
+		}
+		for(List<AssociationRule<T>> result: this.invokeAll(tasks))
+			rules.addAll(result);
+		return rules;
+	}
+
+	/**
+	 * Determines all frequent sets of the given index up to the given size
+	 * together with the number of transactions containing them.
+	 * @param index some item set index containing only frequent items
+	 * @param maxsize the maximal size of the sets
+	 * @return a map from all frequent sets to their absolute supports
+	 */
+	private Map<Itemset,Integer> mine(ItemsetIndex<T> index, int maxsize) {
+		int minsupport_abs = EclatMiner.minimalSupport(this.minsupport, index.getNumberOfTransactions());
+		int m = index.getNumberOfItems();
+		int[] items = new int[m];
+		BitSet[] tids = new BitSet[m];
+		int[] counts = new int[m];
+		for(int i = 0; i < m; i++) {
+			items[i] = i;
+			tids[i] = index.getTids(i);
+			counts[i] = index.getSupport(i);
+		}
+		// every class of sets with the same first item is mined independently
+		List<Callable<Map<Itemset,Integer>>> tasks = new ArrayList<>();
+		for(int i = 0; i < m; i++) {
+			int k = i;
+			tasks.add(() -> {
+				Map<Itemset,Integer> result = new HashMap<>();
+				if(maxsize > 0)
+					this.extend(new int[0], items, tids, counts, k, minsupport_abs, maxsize, result);
+				return result;
+			});
+		}
+		Map<Itemset,Integer> supports = new HashMap<>();
+		for(Map<Itemset,Integer> result: this.invokeAll(tasks))
+			supports.putAll(result);
+		return supports;
+	}
+
+	/**
+	 * Adds the set <code>prefix</code> plus <code>items[k]</code> and all its frequent extensions
+	 * by items <code>items[l]</code> with <code>l&gt;k</code> to the result.
+	 * @param prefix some frequent set
+	 * @param items the items with which <code>prefix</code> can be extended, ascending
+	 * @param tids the transactions containing <code>prefix</code> plus the corresponding item
+	 * @param counts the numbers of transactions containing <code>prefix</code> plus the corresponding item
+	 * @param k the position of the item to be added to <code>prefix</code>
+	 * @param minsupport_abs the minimal number of transactions of a frequent set
+	 * @param maxsize the maximal size of the sets
+	 * @param result the map the frequent sets are added to
+	 */
+	private void extend(int[] prefix, int[] items, BitSet[] tids, int[] counts, int k, int minsupport_abs, int maxsize, Map<Itemset,Integer> result) {
+		int[] set = Arrays.copyOf(prefix, prefix.length + 1);
+		set[prefix.length] = items[k];
+		result.put(new Itemset(set), counts[k]);
+		if(set.length >= maxsize)
+			return;
+		int n = 0;
+		int[] next_items = new int[items.length - k - 1];
+		BitSet[] next_tids = new BitSet[next_items.length];
+		int[] next_counts = new int[next_items.length];
+		for(int l = k + 1; l < items.length; l++) {
+			BitSet t = (BitSet) tids[k].clone();
+			t.and(tids[l]);
+			int c = t.cardinality();
+			if(c >= minsupport_abs) {
+				next_items[n] = items[l];
+				next_tids[n] = t;
+				next_counts[n++] = c;
+			}
+		}
+		next_items = Arrays.copyOf(next_items, n);
+		next_tids = Arrays.copyOf(next_tids, n);
+		next_counts = Arrays.copyOf(next_counts, n);
+		for(int l = 0; l < n; l++)
+			this.extend(set, next_items, next_tids, next_counts, l, minsupport_abs, maxsize, result);
+	}
+
+	/**
+	 * Adds all rules with the given frequent set as union of premise and conclusion and
+	 * the minimal confidence to the result, cf. {@link AprioriMiner}.
+	 * @param index some item set index
+	 * @param supports the absolute supports of all frequent sets
+	 * @param set some frequent set
+	 * @param conclusion_limit the maximal size of the conclusions
+	 * @param result the collection the rules are added to
+	 */
+	private void mineRules(ItemsetIndex<T> index, Map<Itemset,Integer> supports, Itemset set, int conclusion_limit, Collection<AssociationRule<T>> result) {
+		// determine all rules with single conclusion
+		List<int[]> lastLevel_conc = new ArrayList<>();
+		for(int item: set.items) {
+			int[] conc = new int[] {item};
+			if(this.confidence(index, supports, set, conc) >= this.minconf) {
+				result.add(this.toRule(index, set, conc));
+				lastLevel_conc.add(conc);
+			}
+		}
+		// iterate for conclusions with more elements
+		int card = 1;
+		while(!lastLevel_conc.isEmpty() && conclusion_limit > card) {
+			List<int[]> nextLevel_conc = EclatMiner.nextLevel(lastLevel_conc);
+			card++;
+			lastLevel_conc.clear();
+			// check for min confidence
+			for(int[] conc: nextLevel_conc)
+				if(this.confidence(index, supports, set, conc) >= this.minconf) {
+					result.add(this.toRule(index, set, conc));
+					lastLevel_conc.add(conc);
+				}
+		}
+	}
+
+	/**
+	 * Returns the confidence of the rule with the given conclusion whose premise consists of
+	 * the remaining items of the given set.
+	 * @param index some item set index
+	 * @param supports the absolute supports of all frequent sets
+	 * @param set some frequent set
+	 * @param conclusion some subset of the set, ascending
+	 * @return the confidence of the rule
+	 */
+	private double confidence(ItemsetIndex<T> index, Map<Itemset,Integer> supports, Itemset set, int[] conclusion) {
+		double n = index.getNumberOfTransactions();
+		int[] premise = EclatMiner.difference(set.items, conclusion);
+		// the premise is a subset of a frequent set and therefore frequent itself
+		double supp_premise = premise.length == 0 ? n : supports.get(new Itemset(premise));
+		return (supports.get(set) / n) / (supp_premise / n);
+	}
+
+	/**
+	 * Generates all sets of the next larger cardinality s.t. all subsets obtained by removing
+	 * one element are contained in the given level, cf. {@link AprioriMiner}.
+	 * @param lastLevel some sets of the same cardinality, each ascending
+	 * @return all sets of the next larger cardinality whose subsets are in <code>lastLevel</code>
+	 */
+	private static List<int[]> nextLevel(List<int[]> lastLevel) {
+		List<int[]> sorted = new ArrayList<>(lastLevel);
+		sorted.sort(Arrays::compare);
+		HashSet<Itemset> contained = new HashSet<>();
+		for(int[] set: sorted)
+			contained.add(new Itemset(set));
+		// every candidate is the join of two sets that differ in their last element only
+		List<int[]> nextLevel = new ArrayList<>();
+		for(int i = 0; i < sorted.size(); i++) {
+			int[] set1 = sorted.get(i);
+			int card = set1.length;
+			for(int j = i + 1; j < sorted.size(); j++) {
+				int[] set2 = sorted.get(j);
+				if(!Arrays.equals(set1, 0, card - 1, set2, 0, card - 1))
+					break;
+				int[] candidate = Arrays.copyOf(set1, card + 1);
+				candidate[card] = set2[card - 1];
+				boolean subsets = true;
+				for(int k = 0; k < card - 1 && subsets; k++)
+					subsets = contained.contains(new Itemset(EclatMiner.difference(candidate, new int[] {candidate[k]})));
+				if(subsets)
+					nextLevel.add(candidate);
+			}
+		}
+		return nextLevel;
+	}
+
+	/**
+	 * @param set some ascending set
+	 * @param subset some ascending subset of <code>set</code>
+	 * @return the elements of <code>set</code> not in <code>subset</code>, ascending
+	 */
+	private static int[] difference(int[] set, int[] subset) {
+		int[] result = new int[set.length - subset.length];
+		int n = 0;
+		for(int i = 0, j = 0; i < set.length; i++)
+			if(j < subset.length && set[i] == subset[j])
+				j++;
+			else result[n++] = set[i];
+		return result;
+	}
+
+	/**
+	 * Returns the rule with the given conclusion whose premise consists of
+	 * the remaining items of the given set.
+	 * @param index some item set index
+	 * @param set some set
+	 * @param conclusion some subset of the set
+	 * @return the rule
+	 */
+	private AssociationRule<T> toRule(ItemsetIndex<T> index, Itemset set, int[] conclusion) {
+		return new AssociationRule<T>(this.toCollection(index, EclatMiner.difference(set.items, conclusion)), this.toCollection(index, conclusion));
+	}
+
+	/**
+	 * @param index some item set index
+	 * @param items the numbers of some items
+	 * @return the items
+	 */
+	private Collection<T> toCollection(ItemsetIndex<T> index, int[] items) {
+		Collection<T> set = new HashSet<T>();
+		for(int i: items)
+			set.add(index.getItem(i));
+		return set;
+	}
+
+	/**
+	 * Returns the minimal number of transactions an item set has to be contained in
+	 * to have the given relative support.
+	 * @param minsupport some relative support
+	 * @param n the number of transactions
+	 * @return the minimal number of transactions
+	 */
+	private static int minimalSupport(double minsupport, int n) {
+		int c = Math.max(0, (int) Math.ceil(minsupport * n));
+		// compare exactly as the relative supports are compared
+		while(c > 0 && (c - 1d) / n >= minsupport)
+			c--;
+		while(c <= n && c / (double) n < minsupport)
+			c++;
+		return c;
+	}
+
+	/**
+	 * Runs the given tasks on the configured number of threads and returns their results.
+	 * @param tasks some tasks
+	 * @return the results of the tasks, in the same order
+	 */
+	private <S> List<S> invokeAll(List<Callable<S>> tasks) {
+		List<S> results = new ArrayList<>();
+		try {
+			if(this.numberOfThreads == 1 || tasks.size() < 2) {
+				for(Callable<S> task: tasks)
+					results.add(task.call());
+				return results;
+			}
+			ExecutorService executorService = Executors.newFixedThreadPool(Math.min(this.numberOfThreads, tasks.size()));
+			try {
+				for(Future<S> future: executorService.invokeAll(tasks))
+					results.add(future.get());
+			} finally {
+				executorService.shutdownNow();
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("The computation was interrupted.", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RuntimeException(e.getCause());
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
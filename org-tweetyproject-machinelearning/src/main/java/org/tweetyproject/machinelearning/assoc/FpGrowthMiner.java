@@ -20,6 +20,8 @@ package org.tweetyproject.machinelearning.assoc;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Implements the FP-Growth Algorithm for frequent pattern mining, cf.
@@ -34,6 +36,8 @@ public class FpGrowthMiner<T extends Object> implements FrequentPatternMiner<T>
 
 	/** the minimum support for mined sets. */
 	private double minsupport;
+	/** the number of threads used for processing the conditional pattern bases. */
+	private int numberOfThreads = 1;
 	
 	/**
 	 * Creates a new FPGrowth miner with the given minimum support value.
@@ -42,6 +46,22 @@ public class FpGrowthMiner<T extends Object> implements FrequentPatternMiner<T>
 	public FpGrowthMiner(double minsupport){
 		this.minsupport = minsupport;		
 	}
+
+	/**
+	 * Sets the number of threads used for processing the conditional pattern
+	 * bases of the frequent items in parallel (default is 1).
+	 * @param numberOfThreads some positive number
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = Math.max(1, numberOfThreads);
+	}
+
+	/**
+	 * @return the number of threads used for processing the conditional pattern bases
+	 */
+	public int getNumberOfThreads() {
+		return this.numberOfThreads;
+	}
 	
 	@Override
 	public Collection<Collection<T>> mineFrequentSets(Collection<Collection<T>> database) {
@@ -58,7 +78,16 @@ public class FpGrowthMiner<T extends Object> implements FrequentPatternMiner<T>
 		FrequentPatternTree<T> fptree = new FrequentPatternTree<>(database,this.minsupport);
 		// extract patterns (filter longer sets out, this could be made more efficient)
 		Collection<Collection<T>> result = new HashSet<>();
-		for(Collection<T> t: fptree.extractFrequentPatterns())
+		Collection<Collection<T>> patterns;
+		if(this.numberOfThreads > 1) {
+			ExecutorService executorService = Executors.newFixedThreadPool(this.numberOfThreads);
+			try {
+				patterns = fptree.extractFrequentPatterns(executorService);
+			} finally {
+				executorService.shutdownNow();
+			}
+		} else patterns = fptree.extractFrequentPatterns();
+		for(Collection<T> t: patterns)
 			if(t.size() <= maxsize)
 				result.add(t);
 		return result;
@@ -19,6 +19,11 @@
 package org.tweetyproject.machinelearning.assoc;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.tweetyproject.commons.util.Pair;
 import org.tweetyproject.commons.util.SetTools;
@@ -33,7 +38,7 @@ import org.tweetyproject.commons.util.SetTools;
  * @param <T> the type of items
  */
 public class FrequentPatternTree<T extends Object> {
-	private static int next_id = 1;
+	private static AtomicInteger next_id = new AtomicInteger(1);
 	// minimal support (absolute) of this tree
 	private int minsupport_abs;
 	// the root of the tree
@@ -66,7 +71,7 @@ public class FrequentPatternTree<T extends Object> {
 		 * @param parent the parent of the node
 		 */
 		public FrequentPatternTreeNode(S item, int freq_abs, FrequentPatternTreeNode<S> parent) {
-			this.id = FrequentPatternTree.next_id++;
+			this.id = FrequentPatternTree.next_id.getAndIncrement();
 			this.item = item;
 			this.freq_abs = freq_abs;
 			this.parent = parent;
@@ -298,37 +303,79 @@ public class FrequentPatternTree<T extends Object> {
 			}	
 			return result;
 		}else {			
-			for(int i = this.items.size()-1; i >= 0; i--) {
-				T a = this.items.get(i).getFirst();				
-				// add singleton (plus prefix)
-				Collection<T> singleton = new HashSet<>();
-				singleton.add(a);
-				singleton.addAll(prefix);
-				result.add(singleton);
-				// recursive call
-				Collection<Pair<Collection<T>,Integer>> condBase = new LinkedList<>();
-				FrequentPatternTreeNode<T> node = items_first_node.get(this.indexOf.get(a));
-				while(node != null) {
-					List<T> t = new LinkedList<T>();
-					int weight = node.freq_abs;
-					FrequentPatternTreeNode<T> sub_node = node.parent;
-					while(sub_node.item != null) {
-						t.add(0, sub_node.item);
-						sub_node = sub_node.parent;
-					}
-					if(t.size() > 0)
-						condBase.add(new Pair<>(t,weight));
-					node = node.next_node;
-				}
-				if(condBase.size() > 0) {
-					Collection<T> new_prefix = new HashSet<>(prefix);
-					new_prefix.add(a);
-					result.addAll(new FrequentPatternTree<T>(condBase,this.minsupport_abs).extractFrequentPatterns(new_prefix));
-				}
-			}
+			for(int i = this.items.size()-1; i >= 0; i--)
+				result.addAll(this.extractFrequentPatterns(prefix, i));
 			return result;
 		}
 	}
+
+	/**
+	 * Extracts all frequent patterns from this tree, where the patterns
+	 * with different last items (i.e., the conditional pattern bases of the items) are
+	 * processed in parallel by the given executor service.
+	 * @param executorService some executor service
+	 * @return the set of all frequent patterns from this tree
+	 */
+	public Collection<Collection<T>> extractFrequentPatterns(ExecutorService executorService){
+		if(this.root.isSinglePath())
+			return this.extractFrequentPatterns();
+		List<Callable<Collection<Collection<T>>>> tasks = new ArrayList<>();
+		for(int i = this.items.size()-1; i >= 0; i--) {
+			int idx = i;
+			tasks.add(() -> this.extractFrequentPatterns(new HashSet<>(), idx));
+		}
+		Collection<Collection<T>> result = new HashSet<Collection<T>>();
+		try {
+			for(Future<Collection<Collection<T>>> future: executorService.invokeAll(tasks))
+				result.addAll(future.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("The computation was interrupted.", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RuntimeException(e.getCause());
+		}
+		return result;
+	}
+
+	/**
+	 * Extracts all frequent patterns from this tree plus <code>prefix</code> whose
+	 * last item (wrt. the order of the header table) is the i-th item.
+	 * @param prefix items to be added to each set.
+	 * @param i the index of some item in the header table
+	 * @return the set of all frequent patterns with the i-th item as last item plus <code>prefix</code>.
+	 */
+	private Collection<Collection<T>> extractFrequentPatterns(Collection<T> prefix, int i){
+		Collection<Collection<T>> result = new HashSet<Collection<T>>();
+		T a = this.items.get(i).getFirst();				
+		// add singleton (plus prefix)
+		Collection<T> singleton = new HashSet<>();
+		singleton.add(a);
+		singleton.addAll(prefix);
+		result.add(singleton);
+		// recursive call
+		Collection<Pair<Collection<T>,Integer>> condBase = new LinkedList<>();
+		FrequentPatternTreeNode<T> node = items_first_node.get(i);
+		while(node != null) {
+			List<T> t = new LinkedList<T>();
+			int weight = node.freq_abs;
+			FrequentPatternTreeNode<T> sub_node = node.parent;
+			while(sub_node.item != null) {
+				t.add(0, sub_node.item);
+				sub_node = sub_node.parent;
+			}
+			if(t.size() > 0)
+				condBase.add(new Pair<>(t,weight));
+			node = node.next_node;
+		}
+		if(condBase.size() > 0) {
+			Collection<T> new_prefix = new HashSet<>(prefix);
+			new_prefix.add(a);
+			result.addAll(new FrequentPatternTree<T>(condBase,this.minsupport_abs).extractFrequentPatterns(new_prefix));
+		}
+		return result;
+	}
 	
 	@Override
 	public String toString() {
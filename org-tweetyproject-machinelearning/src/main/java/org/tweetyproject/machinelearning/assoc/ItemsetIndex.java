@@ -0,0 +1,170 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.machinelearning.assoc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An item-interned, vertical representation of a transaction database for frequent pattern
+ * mining. The frequent items (wrt. some minimal support) are numbered 0,...,m-1 by descending
+ * support, every transaction is represented by the ascending array of its frequent items and
+ * every frequent item by the set of (the numbers of) the transactions containing it as a bitset.
+ * The support of an item set is then the cardinality of the intersection of the bitsets of its items.
+ * <br>
+ * Infrequent items are dropped, so the bitsets only take space for items with a
+ * substantial number of transactions.
+ *
+ * @param <T> the type of items
+ */
+public class ItemsetIndex<T extends Object> {
+
+	/** The frequent items, by descending support. */
+	private final List<T> items = new ArrayList<>();
+	/** The number of every frequent item. */
+	private final Map<T,Integer> indexOf = new HashMap<>();
+	/** The frequent items of every transaction, ascending. */
+	private final int[][] transactions;
+	/** The transactions containing every frequent item. */
+	private final BitSet[] tids;
+	/** The number of transactions containing every frequent item. */
+	private final int[] supports;
+
+	/**
+	 * Creates the index of the given database.
+	 * @param database some set of transactions
+	 * @param minsupport_abs the minimal number of transactions containing an item for the item to be frequent
+	 */
+	public ItemsetIndex(Collection<Collection<T>> database, int minsupport_abs) {
+		// count the items
+		Map<T,Integer> supp_abs = new HashMap<>();
+		for(Collection<T> t: database)
+			for(T item: t)
+				supp_abs.merge(item, 1, Integer::sum);
+		for(T item: supp_abs.keySet())
+			if(supp_abs.get(item) >= minsupport_abs)
+				this.items.add(item);
+		this.items.sort((a,b) -> supp_abs.get(b).compareTo(supp_abs.get(a)));
+		this.supports = new int[this.items.size()];
+		this.tids = new BitSet[this.items.size()];
+		for(int i = 0; i < this.items.size(); i++) {
+			this.indexOf.put(this.items.get(i), i);
+			this.supports[i] = supp_abs.get(this.items.get(i));
+			this.tids[i] = new BitSet(database.size());
+		}
+		// intern the transactions
+		this.transactions = new int[database.size()][];
+		int tid = 0;
+		int[] buffer = new int[this.items.size()];
+		boolean[] seen = new boolean[this.items.size()];
+		for(Collection<T> t: database) {
+			int size = 0;
+			for(T item: t) {
+				Integer i = this.indexOf.get(item);
+				if(i != null && !seen[i]) {
+					seen[i] = true;
+					buffer[size++] = i;
+				}
+			}
+			int[] transaction = Arrays.copyOf(buffer, size);
+			Arrays.sort(transaction);
+			for(int i: transaction) {
+				seen[i] = false;
+				this.tids[i].set(tid);
+			}
+			this.transactions[tid++] = transaction;
+		}
+	}
+
+	/**
+	 * @return the number of transactions
+	 */
+	public int getNumberOfTransactions() {
+		return this.transactions.length;
+	}
+
+	/**
+	 * @return the number of frequent items
+	 */
+	public int getNumberOfItems() {
+		return this.items.size();
+	}
+
+	/**
+	 * @param i the number of some frequent item
+	 * @return the item
+	 */
+	public T getItem(int i) {
+		return this.items.get(i);
+	}
+
+	/**
+	 * @param item some item
+	 * @return the number of the item, or -1 if it is not frequent
+	 */
+	public int getIndex(T item) {
+		Integer i = this.indexOf.get(item);
+		return i == null ? -1 : i;
+	}
+
+	/**
+	 * @param tid the number of some transaction
+	 * @return the frequent items of the transaction, ascending (must not be modified)
+	 */
+	public int[] getTransaction(int tid) {
+		return this.transactions[tid];
+	}
+
+	/**
+	 * @param i the number of some frequent item
+	 * @return the transactions containing the item (must not be modified)
+	 */
+	public BitSet getTids(int i) {
+		return this.tids[i];
+	}
+
+	/**
+	 * @param i the number of some frequent item
+	 * @return the number of transactions containing the item
+	 */
+	public int getSupport(int i) {
+		return this.supports[i];
+	}
+
+	/**
+	 * Returns the number of transactions containing all given items.
+	 * @param itemset the numbers of some frequent items
+	 * @return the number of transactions containing all of them
+	 */
+	public int getSupport(int[] itemset) {
+		if(itemset.length == 0)
+			return this.transactions.length;
+		if(itemset.length == 1)
+			return this.supports[itemset[0]];
+		BitSet tids = (BitSet) this.tids[itemset[0]].clone();
+		for(int k = 1; k < itemset.length; k++)
+			tids.and(this.tids[itemset[k]]);
+		return tids.cardinality();
+	}
+}
@@ -0,0 +1,303 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.machinelearning.rl.mdp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.tweetyproject.commons.util.Triple;
+
+/**
+ * A compiled, read-only representation of a {@link MarkovDecisionProcess} for solvers.
+ * States and actions are numbered (in the iteration order of the MDP) and the transitions
+ * are stored as sparse successor lists in primitive arrays: the transitions of state s with
+ * action a are at the positions <code>getOffset(s,a)</code> (inclusive) to <code>getOffset(s,a+1)</code>
+ * (exclusive), each with its successor state and probability. The rewards are aggregated to the
+ * expected immediate reward of every state and action.
+ * <br>
+ * Instances are obtained via {@link MarkovDecisionProcess#compile()}.
+ *
+ * @param <S> The type of states
+ * @param <A> The type of actions
+ */
+public class CompiledMarkovDecisionProcess<S extends State, A extends Action> {
+	private final List<S> states;
+	private final List<A> actions;
+	private final Map<S,Integer> indexOfState = new HashMap<>();
+	private final Map<A,Integer> indexOfAction = new HashMap<>();
+	private final boolean[] terminal;
+	/** the first transition of every pair of state and action (index s*m+a), plus the number of transitions */
+	private final int[] offsets;
+	private final int[] successors;
+	private final double[] probabilities;
+	/** the expected immediate reward of every pair of state and action (index s*m+a) */
+	private final double[] rewards;
+	/** the distinct predecessors of every state, computed on demand */
+	private int[] predecessorOffsets;
+	private int[] predecessors;
+
+	/**
+	 * Compiles the given transition model.
+	 * @param states the states
+	 * @param actions the actions
+	 * @param terminal_states the terminal states
+	 * @param prob the transition probabilities
+	 * @param rewards the transition rewards
+	 */
+	CompiledMarkovDecisionProcess(Collection<S> states, Collection<A> actions, Collection<S> terminal_states, Map<Triple<S,A,S>,Double> prob, Map<Triple<S,A,S>,Double> rewards) {
+		this.states = new ArrayList<>(states);
+		this.actions = new ArrayList<>(actions);
+		for(int i = 0; i < this.states.size(); i++)
+			this.indexOfState.put(this.states.get(i), i);
+		for(int i = 0; i < this.actions.size(); i++)
+			this.indexOfAction.put(this.actions.get(i), i);
+		int n = this.states.size();
+		int m = this.actions.size();
+		this.terminal = new boolean[n];
+		for(S s: terminal_states)
+			this.terminal[this.indexOfState.get(s)] = true;
+		// count the transitions of every pair of state and action
+		this.offsets = new int[n * m + 1];
+		for(Map.Entry<Triple<S,A,S>,Double> t: prob.entrySet())
+			if(t.getValue() != 0 && this.pair(t.getKey()) >= 0)
+				this.offsets[this.pair(t.getKey()) + 1]++;
+		for(int i = 0; i < n * m; i++)
+			this.offsets[i + 1] += this.offsets[i];
+		this.successors = new int[this.offsets[n * m]];
+		this.probabilities = new double[this.offsets[n * m]];
+		this.rewards = new double[n * m];
+		int[] next = Arrays.copyOf(this.offsets, n * m);
+		for(Map.Entry<Triple<S,A,S>,Double> t: prob.entrySet()) {
+			int pair = this.pair(t.getKey());
+			if(t.getValue() == 0 || pair < 0)
+				continue;
+			int k = next[pair]++;
+			this.successors[k] = this.indexOfState.get(t.getKey().getThird());
+			this.probabilities[k] = t.getValue();
+			Double r = rewards.get(t.getKey());
+			if(r != null)
+				this.rewards[pair] += t.getValue() * r;
+		}
+	}
+
+	/**
+	 * @param t some transition
+	 * @return the index of its pair of state and action, or -1 if it does not
+	 * consist of states and actions of the MDP
+	 */
+	private int pair(Triple<S,A,S> t) {
+		Integer s = this.indexOfState.get(t.getFirst());
+		Integer a = this.indexOfAction.get(t.getSecond());
+		if(s == null || a == null || !this.indexOfState.containsKey(t.getThird()))
+			return -1;
+		return s * this.actions.size() + a;
+	}
+
+	/**
+	 * @return the number of states
+	 */
+	public int getNumberOfStates() {
+		return this.states.size();
+	}
+
+	/**
+	 * @return the number of actions
+	 */
+	public int getNumberOfActions() {
+		return this.actions.size();
+	}
+
+	/**
+	 * @return the number of transitions with non-zero probability
+	 */
+	public int getNumberOfTransitions() {
+		return this.successors.length;
+	}
+
+	/**
+	 * @param s the index of some state
+	 * @return the state
+	 */
+	public S getState(int s) {
+		return this.states.get(s);
+	}
+
+	/**
+	 * @param a the index of some action
+	 * @return the action
+	 */
+	public A getAction(int a) {
+		return this.actions.get(a);
+	}
+
+	/**
+	 * @param s some state
+	 * @return the index of the state, or -1 if it is no state of the MDP
+	 */
+	public int getIndex(S s) {
+		Integer i = this.indexOfState.get(s);
+		return i == null ? -1 : i;
+	}
+
+	/**
+	 * @param a some action
+	 * @return the index of the action, or -1 if it is no action of the MDP
+	 */
+	public int getActionIndex(A a) {
+		Integer i = this.indexOfAction.get(a);
+		return i == null ? -1 : i;
+	}
+
+	/**
+	 * @param s the index of some state
+	 * @return true iff the state is terminal
+	 */
+	public boolean isTerminal(int s) {
+		return this.terminal[s];
+	}
+
+	/**
+	 * Returns the position of the first transition of the given state and action; the
+	 * transitions of state s and action a end before <code>getOffset(s,a+1)</code>.
+	 * @param s the index of some state
+	 * @param a the index of some action (or the number of actions)
+	 * @return the position of the first transition
+	 */
+	public int getOffset(int s, int a) {
+		return this.offsets[s * this.actions.size() + a];
+	}
+
+	/**
+	 * @param k the position of some transition
+	 * @return the index of its successor state
+	 */
+	public int getSuccessor(int k) {
+		return this.successors[k];
+	}
+
+	/**
+	 * @param k the position of some transition
+	 * @return its probability
+	 */
+	public double getProbability(int k) {
+		return this.probabilities[k];
+	}
+
+	/**
+	 * @param s the index of some state
+	 * @param a the index of some action
+	 * @return the expected immediate reward of executing the action in the state
+	 */
+	public double getExpectedReward(int s, int a) {
+		return this.rewards[s * this.actions.size() + a];
+	}
+
+	/**
+	 * Returns the expected utility of executing the given action in the given
+	 * state and following the given utilities afterwards.
+	 * @param s the index of some state
+	 * @param a the index of some action
+	 * @param utilities the utilities of all states
+	 * @param gamma the discount factor
+	 * @return the expected utility
+	 */
+	public double getQValue(int s, int a, double[] utilities, double gamma) {
+		int pair = s * this.actions.size() + a;
+		double util = 0;
+		for(int k = this.offsets[pair]; k < this.offsets[pair + 1]; k++)
+			util += this.probabilities[k] * utilities[this.successors[k]];
+		return this.rewards[pair] + gamma * util;
+	}
+
+	/**
+	 * Returns the action with the maximal expected utility in the given state (the first one
+	 * in case of ties), or -1 if there are no actions.
+	 * @param s the index of some state
+	 * @param utilities the utilities of all states
+	 * @param gamma the discount factor
+	 * @return the index of the best action
+	 */
+	public int getBestAction(int s, double[] utilities, double gamma) {
+		int act = -1;
+		double val = Double.NEGATIVE_INFINITY;
+		for(int a = 0; a < this.actions.size(); a++) {
+			double val_a = this.getQValue(s, a, utilities, gamma);
+			if(val_a > val) {
+				val = val_a;
+				act = a;
+			}
+		}
+		return act;
+	}
+
+	/**
+	 * Returns the first position of the predecessors of the given state; the predecessors
+	 * of state s end before <code>getPredecessorOffset(s+1)</code>.
+	 * @param s the index of some state (or the number of states)
+	 * @return the first position of the predecessors of the state
+	 */
+	public int getPredecessorOffset(int s) {
+		this.computePredecessors();
+		return this.predecessorOffsets[s];
+	}
+
+	/**
+	 * @param k the position of some predecessor
+	 * @return the index of the predecessor state
+	 */
+	public int getPredecessor(int k) {
+		return this.predecessors[k];
+	}
+
+	/**
+	 * Computes the distinct predecessors of all states, if not done yet.
+	 */
+	private synchronized void computePredecessors() {
+		if(this.predecessorOffsets != null)
+			return;
+		int n = this.states.size();
+		int m = this.actions.size();
+		// mark[sp] == s+1 iff s has already been counted as predecessor of sp
+		int[] mark = new int[n];
+		int[] offsets = new int[n + 1];
+		for(int s = 0; s < n; s++)
+			for(int k = this.offsets[s * m]; k < this.offsets[(s + 1) * m]; k++)
+				if(mark[this.successors[k]] != s + 1) {
+					mark[this.successors[k]] = s + 1;
+					offsets[this.successors[k] + 1]++;
+				}
+		for(int s = 0; s < n; s++)
+			offsets[s + 1] += offsets[s];
+		int[] predecessors = new int[offsets[n]];
+		int[] next = Arrays.copyOf(offsets, n);
+		Arrays.fill(mark, 0);
+		for(int s = 0; s < n; s++)
+			for(int k = this.offsets[s * m]; k < this.offsets[(s + 1) * m]; k++)
+				if(mark[this.successors[k]] != s + 1) {
+					mark[this.successors[k]] = s + 1;
+					predecessors[next[this.successors[k]]++] = s;
+				}
+		this.predecessors = predecessors;
+		this.predecessorOffsets = offsets;
+	}
+}
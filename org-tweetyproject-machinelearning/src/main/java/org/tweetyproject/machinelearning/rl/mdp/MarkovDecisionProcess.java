@@ -45,6 +45,8 @@ public class MarkovDecisionProcess<S extends State, A extends Action> {
 	private Collection<S> terminal_states;
 	
 	private Random rand;
+	
+	private CompiledMarkovDecisionProcess<S,A> compiled;
 
 	/**
 	 * Creates a new Markov Decision Process with the given states and actions
@@ -136,6 +138,7 @@ public class MarkovDecisionProcess<S extends State, A extends Action> {
 		if(this.terminal_states.contains(s))
 			throw new RuntimeException("No transition from terminal state allowed.");
 		this.prob.put(new Triple<>(s,a,sp), p);
+		this.compiled = null;
 	}
 	
 	/**
@@ -178,6 +181,19 @@ public class MarkovDecisionProcess<S extends State, A extends Action> {
 		if(this.terminal_states.contains(s))
 			throw new RuntimeException("No transition from terminal state allowed.");
 		this.rewards.put(new Triple<>(s,a,sp), r);
+		this.compiled = null;
+	}
+	
+	/**
+	 * Returns the compiled representation of this MDP with indexed states and actions
+	 * and sparse transitions, as used by the solvers. The representation is cached
+	 * until the next change of a probability or reward.
+	 * @return the compiled representation of this MDP
+	 */
+	public synchronized CompiledMarkovDecisionProcess<S,A> compile() {
+		if(this.compiled == null)
+			this.compiled = new CompiledMarkovDecisionProcess<>(this.states, this.actions, this.terminal_states, this.prob, this.rewards);
+		return this.compiled;
 	}
 	
 	/**
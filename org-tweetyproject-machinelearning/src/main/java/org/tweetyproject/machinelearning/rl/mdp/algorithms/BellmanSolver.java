@@ -0,0 +1,325 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.machinelearning.rl.mdp.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.tweetyproject.machinelearning.rl.mdp.CompiledMarkovDecisionProcess;
+
+/**
+ * Computes the fixpoint of some Bellman backup on a compiled MDP by iterating it over the
+ * states until the Bellman residual (the maximal change of a utility) is at most the
+ * given tolerance or the maximal number of iterations is reached. Used by
+ * {@link ValueIteration} and {@link IterativePolicyEvaluation}.
+ */
+class BellmanSolver {
+	/** the minimal number of states per thread for synchronous sweeps */
+	private static final int PARALLEL_THRESHOLD = 1024;
+
+	/**
+	 * A Bellman backup, i.e., the new utility of some state given the utilities of all states.
+	 */
+	interface Backup {
+		/**
+		 * @param s the index of some state
+		 * @param utilities the current utilities of all states
+		 * @return the new utility of the state
+		 */
+		double apply(int s, double[] utilities);
+	}
+
+	/** the maximal number of sweeps (for prioritized sweeping, the number of single updates is bounded by this times the number of states) */
+	private long num_iterations;
+	/** the maximal Bellman residual for stopping */
+	private double tolerance = 0;
+	private SweepMode sweepMode = SweepMode.SYNCHRONOUS;
+	private int numberOfThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Creates a new solver.
+	 * @param num_iterations the maximal number of sweeps
+	 * @param tolerance the maximal Bellman residual for stopping
+	 */
+	BellmanSolver(long num_iterations, double tolerance) {
+		this.num_iterations = num_iterations;
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * @param tolerance the maximal Bellman residual for stopping
+	 */
+	void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * @param sweepMode the order of the updates
+	 */
+	void setSweepMode(SweepMode sweepMode) {
+		this.sweepMode = sweepMode;
+	}
+
+	/**
+	 * @param numberOfThreads the number of threads for synchronous sweeps
+	 */
+	void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = Math.max(1, numberOfThreads);
+	}
+
+	/**
+	 * Iterates the given backup, starting with all utilities being zero.
+	 * @param mdp some compiled MDP
+	 * @param backup some Bellman backup
+	 * @return the utilities of all states
+	 */
+	double[] solve(CompiledMarkovDecisionProcess<?,?> mdp, Backup backup) {
+		switch(this.sweepMode) {
+			case GAUSS_SEIDEL:
+				return this.gaussSeidel(mdp.getNumberOfStates(), backup);
+			case PRIORITIZED:
+				return this.prioritized(mdp, backup);
+			default:
+				return this.synchronous(mdp.getNumberOfStates(), backup);
+		}
+	}
+
+	/**
+	 * Synchronous sweeps, where contiguous partitions of the states are updated in parallel.
+	 * @param n the number of states
+	 * @param backup some Bellman backup
+	 * @return the utilities of all states
+	 */
+	private double[] synchronous(int n, Backup backup) {
+		double[] utilities = new double[n];
+		double[] new_utilities = new double[n];
+		int chunks = (int) Math.max(1, Math.min(this.numberOfThreads, n / PARALLEL_THRESHOLD));
+		ExecutorService executorService = chunks > 1 ? Executors.newFixedThreadPool(chunks) : null;
+		try {
+			for(long i = 0; i < this.num_iterations; i++) {
+				double residual = 0;
+				if(executorService == null)
+					residual = BellmanSolver.sweep(backup, utilities, new_utilities, 0, n);
+				else {
+					List<Callable<Double>> tasks = new ArrayList<>();
+					for(int c = 0; c < chunks; c++) {
+						int from = (int) ((long) c * n / chunks);
+						int to = (int) ((long) (c + 1) * n / chunks);
+						double[] u = utilities, nu = new_utilities;
+						tasks.add(() -> BellmanSolver.sweep(backup, u, nu, from, to));
+					}
+					for(Future<Double> f: executorService.invokeAll(tasks))
+						residual = Math.max(residual, BellmanSolver.get(f));
+				}
+				double[] tmp = utilities;
+				utilities = new_utilities;
+				new_utilities = tmp;
+				if(residual <= this.tolerance)
+					break;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("The computation was interrupted.", e);
+		} finally {
+			if(executorService != null)
+				executorService.shutdownNow();
+		}
+		return utilities;
+	}
+
+	/**
+	 * Updates the states from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+	 * @param backup some Bellman backup
+	 * @param utilities the current utilities
+	 * @param new_utilities the array for the new utilities
+	 * @param from some state
+	 * @param to some state
+	 * @return the Bellman residual of the states
+	 */
+	private static double sweep(Backup backup, double[] utilities, double[] new_utilities, int from, int to) {
+		double residual = 0;
+		for(int s = from; s < to; s++) {
+			new_utilities[s] = backup.apply(s, utilities);
+			residual = Math.max(residual, Math.abs(new_utilities[s] - utilities[s]));
+		}
+		return residual;
+	}
+
+	/**
+	 * Gauss-Seidel sweeps, where every update uses the utilities already updated in the same sweep.
+	 * @param n the number of states
+	 * @param backup some Bellman backup
+	 * @return the utilities of all states
+	 */
+	private double[] gaussSeidel(int n, Backup backup) {
+		double[] utilities = new double[n];
+		for(long i = 0; i < this.num_iterations; i++) {
+			double residual = 0;
+			for(int s = 0; s < n; s++) {
+				double util = backup.apply(s, utilities);
+				residual = Math.max(residual, Math.abs(util - utilities[s]));
+				utilities[s] = util;
+			}
+			if(residual <= this.tolerance)
+				break;
+		}
+		return utilities;
+	}
+
+	/**
+	 * Prioritized sweeping, where always the state with the largest Bellman residual is
+	 * updated and afterwards the residuals of its predecessors are recomputed.
+	 * @param mdp some compiled MDP
+	 * @param backup some Bellman backup
+	 * @return the utilities of all states
+	 */
+	private double[] prioritized(CompiledMarkovDecisionProcess<?,?> mdp, Backup backup) {
+		int n = mdp.getNumberOfStates();
+		double[] utilities = new double[n];
+		IndexedMaxHeap queue = new IndexedMaxHeap(n);
+		for(int s = 0; s < n; s++) {
+			double residual = Math.abs(backup.apply(s, utilities) - utilities[s]);
+			if(residual > this.tolerance)
+				queue.update(s, residual);
+		}
+		long max_updates = this.num_iterations * n;
+		for(long i = 0; i < max_updates && !queue.isEmpty(); i++) {
+			int s = queue.poll();
+			utilities[s] = backup.apply(s, utilities);
+			for(int k = mdp.getPredecessorOffset(s); k < mdp.getPredecessorOffset(s + 1); k++) {
+				int p = mdp.getPredecessor(k);
+				double residual = Math.abs(backup.apply(p, utilities) - utilities[p]);
+				if(residual > this.tolerance)
+					queue.update(p, residual);
+				else queue.remove(p);
+			}
+		}
+		return utilities;
+	}
+
+	/**
+	 * @param future some future
+	 * @return its result
+	 * @throws InterruptedException if the current thread has been interrupted
+	 */
+	private static <T> T get(Future<T> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * A binary max-heap of the states 0,...,n-1 with changeable priorities.
+	 */
+	private static class IndexedMaxHeap {
+		private final int[] heap;
+		/** the position of every state in the heap, or -1 */
+		private final int[] pos;
+		private final double[] priority;
+		private int size = 0;
+
+		IndexedMaxHeap(int n) {
+			this.heap = new int[n];
+			this.pos = new int[n];
+			this.priority = new double[n];
+			Arrays.fill(this.pos, -1);
+		}
+
+		boolean isEmpty() {
+			return this.size == 0;
+		}
+
+		/** Inserts the state or changes its priority. */
+		void update(int s, double p) {
+			boolean inserted = this.pos[s] < 0;
+			if(inserted) {
+				this.pos[s] = this.size;
+				this.heap[this.size++] = s;
+			}
+			double old = this.priority[s];
+			this.priority[s] = p;
+			if(inserted || p > old)
+				this.up(this.pos[s]);
+			else this.down(this.pos[s]);
+		}
+
+		/** Removes and returns the state with the largest priority. */
+		int poll() {
+			int s = this.heap[0];
+			this.remove(s);
+			return s;
+		}
+
+		/** Removes the state, if contained. */
+		void remove(int s) {
+			int i = this.pos[s];
+			if(i < 0)
+				return;
+			this.pos[s] = -1;
+			this.size--;
+			if(i == this.size)
+				return;
+			int last = this.heap[this.size];
+			this.heap[i] = last;
+			this.pos[last] = i;
+			this.up(i);
+			this.down(this.pos[last]);
+		}
+
+		private void up(int i) {
+			int s = this.heap[i];
+			while(i > 0) {
+				int parent = (i - 1) / 2;
+				if(this.priority[this.heap[parent]] >= this.priority[s])
+					break;
+				this.heap[i] = this.heap[parent];
+				this.pos[this.heap[i]] = i;
+				i = parent;
+			}
+			this.heap[i] = s;
+			this.pos[s] = i;
+		}
+
+		private void down(int i) {
+			int s = this.heap[i];
+			while(2 * i + 1 < this.size) {
+				int child = 2 * i + 1;
+				if(child + 1 < this.size && this.priority[this.heap[child + 1]] > this.priority[this.heap[child]])
+					child++;
+				if(this.priority[this.heap[child]] <= this.priority[s])
+					break;
+				this.heap[i] = this.heap[child];
+				this.pos[this.heap[i]] = i;
+				i = child;
+			}
+			this.heap[i] = s;
+			this.pos[s] = i;
+		}
+	}
+}
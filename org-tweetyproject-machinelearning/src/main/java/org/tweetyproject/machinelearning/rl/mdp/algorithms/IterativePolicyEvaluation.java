@@ -22,48 +22,102 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.tweetyproject.machinelearning.rl.mdp.Action;
+import org.tweetyproject.machinelearning.rl.mdp.CompiledMarkovDecisionProcess;
 import org.tweetyproject.machinelearning.rl.mdp.MarkovDecisionProcess;
 import org.tweetyproject.machinelearning.rl.mdp.Policy;
 import org.tweetyproject.machinelearning.rl.mdp.State;
 
 /**
- * Determines utilities iteratively.
+ * Determines utilities iteratively. It works on the compiled representation of
+ * the MDP and stops after the given number of sweeps or as soon as the Bellman
+ * residual is at most the given tolerance, see also {@link SweepMode}.
  *  
  * @author Matthias Thimm
  * @param <S> The type of states
  * @param <A> The type of actions
  */
 public class IterativePolicyEvaluation<S extends State, A extends Action> implements PolicyEvaluation<S,A>{
-	private long num_iterations;
+	private BellmanSolver solver;
 	
 	/**
 	 * Creates a new policy evaluation algorithm
 	 * @param num_iterations the given number of num_iterations
 	 */
 	public IterativePolicyEvaluation(long num_iterations) {
-		this.num_iterations = num_iterations;
+		this(num_iterations, 0);
+	}
+	
+	/**
+	 * Creates a new policy evaluation algorithm that stops early if the
+	 * Bellman residual is at most the given tolerance.
+	 * @param num_iterations the maximal number of iterations
+	 * @param tolerance the maximal Bellman residual for stopping
+	 */
+	public IterativePolicyEvaluation(long num_iterations, double tolerance) {
+		this.solver = new BellmanSolver(num_iterations, tolerance);
+	}
+	
+	/**
+	 * Sets the maximal Bellman residual for stopping (default is 0).
+	 * @param tolerance some non-negative value
+	 */
+	public void setTolerance(double tolerance) {
+		this.solver.setTolerance(tolerance);
+	}
+	
+	/**
+	 * Sets the order in which the states are updated (default is synchronous).
+	 * @param sweepMode some sweep mode
+	 */
+	public void setSweepMode(SweepMode sweepMode) {
+		this.solver.setSweepMode(sweepMode);
+	}
+	
+	/**
+	 * Sets the number of threads for synchronous sweeps (default is the
+	 * number of available processors).
+	 * @param numberOfThreads some positive number
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.solver.setNumberOfThreads(numberOfThreads);
 	}
 	
 	@Override
 	public Map<S, Double> getUtilities(MarkovDecisionProcess<S, A> mdp, Policy<S, A> pi, double gamma) {
-		Map<S,Double> utilities = new HashMap<>();
-		for(S s: mdp.getStates())
-			utilities.put(s, 0d);
-		for(int i = 0; i < this.num_iterations; i++) {
-			Map<S,Double> new_utilities = new HashMap<>();			
-			for(S s: mdp.getStates()) {
-				if(mdp.isTerminal(s))
-					new_utilities.put(s, 0d);
-				else {
-					double util = 0;
-					for(S sp: mdp.getStates()) {
-						util += mdp.getProb(s, pi.execute(s), sp) * ( mdp.getReward(s, pi.execute(s), sp) + gamma * utilities.get(sp));
-					}
-					new_utilities.put(s, util);					
-				}				
+		CompiledMarkovDecisionProcess<S,A> cmdp = mdp.compile();
+		int[] policy = new int[cmdp.getNumberOfStates()];
+		for(int s = 0; s < policy.length; s++) {
+			if(cmdp.isTerminal(s)) {
+				policy[s] = -1;
+				continue;
 			}
-			utilities = new_utilities;
+			// states without an action (null) get utility 0
+			A action = pi.execute(cmdp.getState(s));
+			policy[s] = action == null ? -1 : cmdp.getActionIndex(action);
+			if(policy[s] < 0 && action != null)
+				throw new IllegalArgumentException("The policy chooses action " + action + " in state "
+						+ cmdp.getState(s) + ", which is not an action of the MDP.");
 		}
+		double[] util = this.getUtilities(cmdp, policy, gamma);
+		Map<S,Double> utilities = new HashMap<>();
+		for(int s = 0; s < util.length; s++)
+			utilities.put(cmdp.getState(s), util[s]);
 		return utilities;
 	}
+	
+	/**
+	 * Determines the utilities of the states in the MDP wrt. the 
+	 * given policy.
+	 * @param mdp some compiled MDP
+	 * @param policy the index of the action for every state (-1 for no action)
+	 * @param gamma the discount factor
+	 * @return the utilities of the states (by index)
+	 */
+	public double[] getUtilities(CompiledMarkovDecisionProcess<S,A> mdp, int[] policy, double gamma) {
+		return this.solver.solve(mdp, (s, utilities) -> {
+			if(mdp.isTerminal(s) || policy[s] < 0)
+				return 0d;
+			return mdp.getQValue(s, policy[s], utilities, gamma);
+		});
+	}
 }
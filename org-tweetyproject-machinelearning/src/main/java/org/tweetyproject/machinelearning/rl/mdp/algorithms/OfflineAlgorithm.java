@@ -21,6 +21,7 @@ package org.tweetyproject.machinelearning.rl.mdp.algorithms;
 import java.util.Map;
 
 import org.tweetyproject.machinelearning.rl.mdp.Action;
+import org.tweetyproject.machinelearning.rl.mdp.CompiledMarkovDecisionProcess;
 import org.tweetyproject.machinelearning.rl.mdp.FixedPolicy;
 import org.tweetyproject.machinelearning.rl.mdp.MarkovDecisionProcess;
 import org.tweetyproject.machinelearning.rl.mdp.Policy;
@@ -50,23 +51,27 @@ public abstract class OfflineAlgorithm<S extends State, A extends Action> {
 	 * @return the best policy
 	 */
 	public Policy<S,A> getPolicy(Map<S,Double> utilities, MarkovDecisionProcess<S,A> mdp, double gamma){
+		CompiledMarkovDecisionProcess<S,A> cmdp = mdp.compile();
+		double[] util = new double[cmdp.getNumberOfStates()];
+		for(int s = 0; s < util.length; s++)
+			util[s] = utilities.get(cmdp.getState(s));
+		return this.getPolicy(util, cmdp, gamma);
+	}
+	
+	/**
+	 * Determines the best policy, given the utilities
+	 * @param utilities the utilities of the states (by index)
+	 * @param mdp some compiled MDP
+	 * @param gamma discount factor
+	 * @return the best policy
+	 */
+	protected Policy<S,A> getPolicy(double[] utilities, CompiledMarkovDecisionProcess<S,A> mdp, double gamma){
 		FixedPolicy<S,A> pi = new FixedPolicy<S,A>();
-		for(S s: mdp.getStates()) {
+		for(int s = 0; s < mdp.getNumberOfStates(); s++) {
 			if(mdp.isTerminal(s))
 				continue;
-			A act = null;
-			double val = Double.NEGATIVE_INFINITY;
-			for(A a: mdp.getActions()) {
-				double val_a = 0;
-				for(S sp: mdp.getStates()) {
-					val_a += mdp.getProb(s, a, sp) * ( mdp.getReward(s, a, sp) + gamma*utilities.get(sp) );
-				}
-				if(val_a > val) {
-					val = val_a;
-					act = a;
-				}
-			}
-			pi.set(s, act);
+			int a = mdp.getBestAction(s, utilities, gamma);
+			pi.set(mdp.getState(s), a < 0 ? null : mdp.getAction(a));
 		}
 		return pi;
 	}
@@ -21,13 +21,16 @@ package org.tweetyproject.machinelearning.rl.mdp.algorithms;
 import java.util.Map;
 
 import org.tweetyproject.machinelearning.rl.mdp.Action;
+import org.tweetyproject.machinelearning.rl.mdp.CompiledMarkovDecisionProcess;
 import org.tweetyproject.machinelearning.rl.mdp.FixedPolicy;
 import org.tweetyproject.machinelearning.rl.mdp.MarkovDecisionProcess;
 import org.tweetyproject.machinelearning.rl.mdp.Policy;
 import org.tweetyproject.machinelearning.rl.mdp.State;
 
 /**
- * The policy iteration algorithm for determining optimal policies
+ * The policy iteration algorithm for determining optimal policies. It works on the
+ * compiled representation of the MDP; the action of a state is only changed if another
+ * action is strictly better, so the algorithm does not oscillate between equally good actions.
  * @author Matthias Thimm
  *
  * @param <S> The type of states 
@@ -47,20 +50,52 @@ public class PolicyIteration<S extends State, A extends Action> extends OfflineA
 	
 	@Override
 	public Policy<S, A> getPolicy(MarkovDecisionProcess<S, A> mdp, double gamma) {
-		Policy<S,A> pi = new FixedPolicy<S,A>();
+		CompiledMarkovDecisionProcess<S,A> cmdp = mdp.compile();
+		int n = cmdp.getNumberOfStates();
+		if(cmdp.getNumberOfActions() == 0)
+			return this.getPolicy(new double[n], cmdp, gamma);
 		// initialise arbitrarily
-		for(S s: mdp.getStates())
-			((FixedPolicy<S,A>)pi).set(s, mdp.getActions().iterator().next());
+		int[] policy = new int[n];
+		boolean changed;
+		double[] util;
 		do {
-			System.out.println(pi);
-			Map<S,Double> util = this.pe.getUtilities(mdp, pi, gamma);
-			System.out.println(util);
-			Policy<S,A> pip = this.getPolicy(util, mdp, gamma);
-			if(!pip.equals(pi))
-				pi = pip;
-			else break;
-		}while(true);
+			util = this.getUtilities(mdp, cmdp, policy, gamma);
+			changed = false;
+			for(int s = 0; s < n; s++) {
+				if(cmdp.isTerminal(s))
+					continue;
+				int a = cmdp.getBestAction(s, util, gamma);
+				if(a != policy[s] && cmdp.getQValue(s, a, util, gamma) > cmdp.getQValue(s, policy[s], util, gamma)) {
+					policy[s] = a;
+					changed = true;
+				}
+			}
+		}while(changed);
+		FixedPolicy<S,A> pi = new FixedPolicy<S,A>();
+		for(int s = 0; s < n; s++)
+			if(!cmdp.isTerminal(s))
+				pi.set(cmdp.getState(s), cmdp.getAction(policy[s]));
 		return pi;
 	}
-
+	
+	/**
+	 * Determines the utilities of the given policy with the policy evaluation algorithm.
+	 * @param mdp some MDP
+	 * @param cmdp the compiled MDP
+	 * @param policy the index of the action for every state
+	 * @param gamma the discount factor
+	 * @return the utilities of the states (by index)
+	 */
+	private double[] getUtilities(MarkovDecisionProcess<S,A> mdp, CompiledMarkovDecisionProcess<S,A> cmdp, int[] policy, double gamma) {
+		if(this.pe instanceof IterativePolicyEvaluation)
+			return ((IterativePolicyEvaluation<S,A>) this.pe).getUtilities(cmdp, policy, gamma);
+		FixedPolicy<S,A> pi = new FixedPolicy<S,A>();
+		for(int s = 0; s < policy.length; s++)
+			pi.set(cmdp.getState(s), cmdp.getAction(policy[s]));
+		Map<S,Double> utilities = this.pe.getUtilities(mdp, pi, gamma);
+		double[] util = new double[policy.length];
+		for(int s = 0; s < util.length; s++)
+			util[s] = utilities.get(cmdp.getState(s));
+		return util;
+	}
 }
@@ -0,0 +1,32 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.machinelearning.rl.mdp.algorithms;
+
+/**
+ * This enum lists the orders in which the states of an MDP are updated by
+ * iterative solvers.
+ */
+public enum SweepMode {
+	/** all states are updated from the utilities of the previous sweep (Jacobi style), possibly in parallel */
+	SYNCHRONOUS,
+	/** the states are updated in place, one after another (Gauss-Seidel style) */
+	GAUSS_SEIDEL,
+	/** the state with the largest Bellman residual is updated next (prioritized sweeping) */
+	PRIORITIZED;
+}
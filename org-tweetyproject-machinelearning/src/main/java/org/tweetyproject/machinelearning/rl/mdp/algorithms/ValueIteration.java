@@ -18,57 +18,92 @@
  */
 package org.tweetyproject.machinelearning.rl.mdp.algorithms;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.tweetyproject.machinelearning.rl.mdp.Action;
+import org.tweetyproject.machinelearning.rl.mdp.CompiledMarkovDecisionProcess;
 import org.tweetyproject.machinelearning.rl.mdp.MarkovDecisionProcess;
 import org.tweetyproject.machinelearning.rl.mdp.Policy;
 import org.tweetyproject.machinelearning.rl.mdp.State;
 
 /**
- * The value iteration algorithm for determining optimal policies
+ * The value iteration algorithm for determining optimal policies. It works on the
+ * compiled representation of the MDP and stops after the given number of sweeps or as
+ * soon as the Bellman residual is at most the given tolerance. The states can be updated
+ * synchronously (in parallel for large MDPs), Gauss-Seidel style or by prioritized sweeping,
+ * see {@link SweepMode}.
  * @author Matthias Thimm
  *
  * @param <S> The type of states
  * @param <A> The type of actions
  */
 public class ValueIteration<S extends State, A extends Action> extends OfflineAlgorithm<S,A>{
-	private long num_iterations;
+	private BellmanSolver solver;
 	
 	/**
 	 * Creates a new value iteration algorithm
 	 * @param num_iterations the given number of num_iterations
 	 */
 	public ValueIteration(long num_iterations) {
-		this.num_iterations = num_iterations;
+		this(num_iterations, 0);
+	}
+	
+	/**
+	 * Creates a new value iteration algorithm that stops early if the
+	 * Bellman residual is at most the given tolerance.
+	 * @param num_iterations the maximal number of iterations
+	 * @param tolerance the maximal Bellman residual for stopping
+	 */
+	public ValueIteration(long num_iterations, double tolerance) {
+		this.solver = new BellmanSolver(num_iterations, tolerance);
+	}
+	
+	/**
+	 * Sets the maximal Bellman residual for stopping (default is 0).
+	 * @param tolerance some non-negative value
+	 */
+	public void setTolerance(double tolerance) {
+		this.solver.setTolerance(tolerance);
+	}
+	
+	/**
+	 * Sets the order in which the states are updated (default is synchronous).
+	 * @param sweepMode some sweep mode
+	 */
+	public void setSweepMode(SweepMode sweepMode) {
+		this.solver.setSweepMode(sweepMode);
+	}
+	
+	/**
+	 * Sets the number of threads for synchronous sweeps (default is the
+	 * number of available processors).
+	 * @param numberOfThreads some positive number
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.solver.setNumberOfThreads(numberOfThreads);
 	}
 
 	@Override
 	public Policy<S, A> getPolicy(MarkovDecisionProcess<S, A> mdp, double gamma) {
-		Map<S,Double> utilities = new HashMap<>();
-		for(S s: mdp.getStates())
-			utilities.put(s, 0d);
-		for(int i = 0; i < this.num_iterations; i++) {
-			Map<S,Double> new_utilities = new HashMap<>();			
-			for(S s: mdp.getStates()) {
-				if(mdp.isTerminal(s))
-					new_utilities.put(s, 0d);
-				else {
-					double max_util = Double.NEGATIVE_INFINITY;
-					for(A a: mdp.getActions()) {
-						double util = 0;
-						for(S sp: mdp.getStates()) {
-							util += mdp.getProb(s, a, sp) * ( mdp.getReward(s, a, sp) + gamma * utilities.get(sp));
-						}
-						if(util > max_util)
-							max_util = util;
-					}
-					new_utilities.put(s, max_util);					
-				}				
+		CompiledMarkovDecisionProcess<S,A> cmdp = mdp.compile();
+		return this.getPolicy(this.getUtilities(cmdp, gamma), cmdp, gamma);
+	}
+	
+	/**
+	 * Determines the utilities of all states wrt. optimal behaviour.
+	 * @param mdp some compiled MDP
+	 * @param gamma the discount factor
+	 * @return the utilities of the states (by index)
+	 */
+	public double[] getUtilities(CompiledMarkovDecisionProcess<S,A> mdp, double gamma) {
+		return this.solver.solve(mdp, (s, utilities) -> {
+			if(mdp.isTerminal(s))
+				return 0d;
+			double max_util = Double.NEGATIVE_INFINITY;
+			for(int a = 0; a < mdp.getNumberOfActions(); a++) {
+				double util = mdp.getQValue(s, a, utilities, gamma);
+				if(util > max_util)
+					max_util = util;
 			}
-			utilities = new_utilities;
-		}
-		return this.getPolicy(utilities,mdp,gamma);
+			return max_util;
+		});
 	}	
 }
@@ -22,6 +22,7 @@ import static org.junit.Assert.*;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 
 import org.junit.Before;
@@ -145,4 +146,23 @@ public class AprioriTest {
 		assertEquals(r.support(db2),0.625,0.001);
 		assertEquals(r.confidence(db2),0.833,0.001);		
 	}
+	
+	@Test
+	public void test5(){	
+		EclatMiner<String> miner = new EclatMiner<String>(0.5, 0.9);
+		miner.setNumberOfThreads(2);
+		assertEquals(miner.mineRules(db1).size(),6);
+		miner = new EclatMiner<String>(0.2, 0.8);
+		miner.setNumberOfThreads(2);
+		assertEquals(miner.mineRules(db2).size(),70);
+	}
+	
+	@Test
+	public void test6(){	
+		Collection<Collection<String>> sets = new HashSet<>(new AprioriMiner<String>(0.25, 0.8).mineFrequentSets(db2));
+		assertEquals(new HashSet<>(new EclatMiner<String>(0.25, 0.8).mineFrequentSets(db2)), sets);
+		FpGrowthMiner<String> miner = new FpGrowthMiner<String>(0.25);
+		miner.setNumberOfThreads(2);
+		assertEquals(new HashSet<>(miner.mineFrequentSets(db2)), sets);
+	}
 }
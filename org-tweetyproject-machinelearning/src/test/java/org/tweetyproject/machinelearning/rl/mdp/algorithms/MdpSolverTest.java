@@ -0,0 +1,115 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.machinelearning.rl.mdp.algorithms;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.tweetyproject.machinelearning.rl.mdp.FixedPolicy;
+import org.tweetyproject.machinelearning.rl.mdp.MarkovDecisionProcess;
+import org.tweetyproject.machinelearning.rl.mdp.NamedAction;
+import org.tweetyproject.machinelearning.rl.mdp.NamedState;
+import org.tweetyproject.machinelearning.rl.mdp.Policy;
+
+public class MdpSolverTest {
+	List<NamedState> states;
+	NamedAction safe, risky;
+	MarkovDecisionProcess<NamedState,NamedAction> mdp;
+	
+	@Before
+	public void setUp() {
+		// a chain s0 -> s1 -> s2 (terminal), where "risky" may jump directly to the end
+		// but may also fall back to the start
+		states = new ArrayList<>();
+		for(int i = 0; i < 3; i++)
+			states.add(new NamedState("s" + i));
+		safe = new NamedAction("safe");
+		risky = new NamedAction("risky");
+		List<NamedAction> actions = new ArrayList<>();
+		actions.add(safe);
+		actions.add(risky);
+		HashSet<NamedState> terminal = new HashSet<>();
+		terminal.add(states.get(2));
+		mdp = new MarkovDecisionProcess<>(states, states.get(0), terminal, actions);
+		for(int i = 0; i < 2; i++) {
+			mdp.putProb(states.get(i), safe, states.get(i+1), 1);
+			mdp.putReward(states.get(i), safe, states.get(i+1), -1);
+			mdp.putProb(states.get(i), risky, states.get(2), 0.5);
+			mdp.putReward(states.get(i), risky, states.get(2), -1.5);
+			mdp.putProb(states.get(i), risky, states.get(0), 0.5);
+			mdp.putReward(states.get(i), risky, states.get(0), -1.5);
+		}
+	}
+	
+	@Test
+	public void testValueIteration() {
+		FixedPolicy<NamedState,NamedAction> expected = new FixedPolicy<>();
+		expected.set(states.get(0), safe);
+		expected.set(states.get(1), safe);
+		for(SweepMode mode: SweepMode.values()) {
+			ValueIteration<NamedState,NamedAction> vi = new ValueIteration<>(1000, 1e-10);
+			vi.setSweepMode(mode);
+			vi.setNumberOfThreads(2);
+			assertEquals(expected, vi.getPolicy(mdp, 1));
+		}
+		assertEquals(expected, new PolicyIteration<NamedState,NamedAction>(new IterativePolicyEvaluation<>(1000, 1e-10)).getPolicy(mdp, 1));
+	}
+	
+	@Test
+	public void testPolicyEvaluation() {
+		FixedPolicy<NamedState,NamedAction> pi = new FixedPolicy<>();
+		pi.set(states.get(0), risky);
+		pi.set(states.get(1), safe);
+		for(SweepMode mode: SweepMode.values()) {
+			IterativePolicyEvaluation<NamedState,NamedAction> pe = new IterativePolicyEvaluation<>(10000, 1e-12);
+			pe.setSweepMode(mode);
+			Map<NamedState,Double> util = pe.getUtilities(mdp, pi, 1);
+			// u0 = -1.5 + 0.5*u0, u1 = -1
+			assertEquals(-3, util.get(states.get(0)), 0.0001);
+			assertEquals(-1, util.get(states.get(1)), 0.0001);
+			assertEquals(0, util.get(states.get(2)), 0.0001);
+		}
+		Policy<NamedState,NamedAction> best = new ValueIteration<NamedState,NamedAction>(1000).getPolicy(mdp, 1);
+		assertEquals(safe, best.execute(states.get(1)));
+	}
+	
+	@Test
+	public void testPolicyWithoutAction() {
+		// s0 has no action and thus utility 0, s1 moves to the terminal state
+		FixedPolicy<NamedState,NamedAction> pi = new FixedPolicy<>();
+		pi.set(states.get(1), safe);
+		Map<NamedState,Double> util = new IterativePolicyEvaluation<NamedState,NamedAction>(1000, 1e-12).getUtilities(mdp, pi, 1);
+		assertEquals(0, util.get(states.get(0)), 0.0001);
+		assertEquals(-1, util.get(states.get(1)), 0.0001);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testPolicyWithUnknownAction() {
+		FixedPolicy<NamedState,NamedAction> pi = new FixedPolicy<>();
+		pi.set(states.get(0), new NamedAction("jump"));
+		pi.set(states.get(1), safe);
+		new IterativePolicyEvaluation<NamedState,NamedAction>(1000, 1e-12).getUtilities(mdp, pi, 1);
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.machinelearning.svm;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.tweetyproject.machinelearning.CrossValidator;
+import org.tweetyproject.machinelearning.DefaultObservation;
+import org.tweetyproject.machinelearning.DoubleCategory;
+import org.tweetyproject.machinelearning.GridSearchParameterLearner;
+import org.tweetyproject.machinelearning.ParameterSet;
+import org.tweetyproject.machinelearning.SuccessiveHalvingParameterLearner;
+import org.tweetyproject.machinelearning.TrainingSet;
+import org.tweetyproject.commons.util.Pair;
+
+import libsvm.svm_problem;
+
+public class ParameterLearningTest {
+	TrainingSet<DefaultObservation,DoubleCategory> trainingSet;
+	
+	@Before
+	public void setUp() {
+		// three noisy clusters
+		Random rand = new Random(1);
+		trainingSet = new TrainingSet<>();
+		for(int i = 0; i < 60; i++) {
+			int c = i % 3;
+			DefaultObservation obs = new DefaultObservation();
+			obs.add(c + rand.nextGaussian() * 0.3);
+			obs.add(c * 0.5 + rand.nextGaussian() * 0.3);
+			trainingSet.add(obs, new DoubleCategory(c));
+		}
+	}
+	
+	@Test
+	public void testParallelCrossValidation() {
+		MultiClassRbfTrainer trainer = new MultiClassRbfTrainer(1, 0.5);
+		CrossValidator<DefaultObservation,DoubleCategory> cv = new CrossValidator<>(4);
+		double sequential = cv.test(trainer, trainingSet);
+		cv.setNumberOfThreads(4);
+		assertEquals(sequential, cv.test(trainer, trainingSet), 0);
+	}
+	
+	@Test
+	public void testLibsvmCacheIsScopedToRun() {
+		MultiClassRbfTrainer trainer = new MultiClassRbfTrainer(1, 0.5);
+		new CrossValidator<DefaultObservation,DoubleCategory>(4).test(trainer, trainingSet);
+		SuccessiveHalvingParameterLearner<DefaultObservation,DoubleCategory> sh = new SuccessiveHalvingParameterLearner<>(new MultiClassRbfTrainer(), new CrossValidator<>(3), 1, 2);
+		sh.learnParameters(trainingSet);
+		// the given set must still convert its observations on demand
+		Pair<DefaultObservation,DoubleCategory> first = trainingSet.iterator().next();
+		first.getFirst().set(0, 100d);
+		svm_problem problem = trainingSet.toLibsvmProblem();
+		assertEquals(100d, problem.x[0][0].value, 0);
+	}
+	
+	@Test
+	public void testParallelParameterLearning() {
+		MultiClassRbfTrainer trainer = new MultiClassRbfTrainer();
+		GridSearchParameterLearner<DefaultObservation,DoubleCategory> grid = new GridSearchParameterLearner<>(trainer, new CrossValidator<>(3), 2, 2);
+		ParameterSet sequential = grid.learnParameters(trainingSet);
+		grid.setNumberOfThreads(4);
+		assertEquals(sequential.toString(), grid.learnParameters(trainingSet).toString());
+		
+		SuccessiveHalvingParameterLearner<DefaultObservation,DoubleCategory> sh = new SuccessiveHalvingParameterLearner<>(trainer, new CrossValidator<>(3), 3, 2);
+		sh.setSeed(42);
+		sequential = sh.learnParameters(trainingSet);
+		sh.setNumberOfThreads(4);
+		assertEquals(sequential.toString(), sh.learnParameters(trainingSet).toString());
+	}
+}
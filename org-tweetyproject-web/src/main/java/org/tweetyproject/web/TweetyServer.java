@@ -39,6 +39,8 @@ public class TweetyServer {
     public static final String BASE_URI = "http://localhost:8080/tweety/"; //"http://132.176.10.102:6080/tweety/";//"http://127.0.0.1:8080/tweety/";//"http://192.168.0.2:8080/tweety/";//"http://141.26.208.49:8080/tweety/"; 
     // Log file of this server
     private static final String LOG = "tweetyserver.log";
+    // Writer of the log file, opened on first use
+    private static Writer output = null;
      
     /**
      * Main server method.
@@ -63,11 +65,12 @@ public class TweetyServer {
      * @param source the source of the message (should be some identifier of the service)
      * @param message some message 
      */
-    public static void log(String source, String message){
+    public static synchronized void log(String source, String message){
     	try {
-			Writer output = new BufferedWriter(new FileWriter(TweetyServer.LOG, true));
-			output.append(new java.util.Date() + "\t" + "[" + source + "]" + "\t" + message + "\n");
-			output.close();
+    		if(TweetyServer.output == null)
+    			TweetyServer.output = new BufferedWriter(new FileWriter(TweetyServer.LOG, true));
+			TweetyServer.output.append(new java.util.Date() + "\t" + "[" + source + "]" + "\t" + message + "\n");
+			TweetyServer.output.flush();
 		} catch (IOException e) {
 			System.err.println("Log file '" + TweetyServer.LOG + "' cannot be written.");
 		}
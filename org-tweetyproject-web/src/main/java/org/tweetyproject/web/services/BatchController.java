@@ -0,0 +1,194 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.tweetyproject.commons.metrics.Metrics;
+import org.tweetyproject.web.services.aba.AbaReasonerPost;
+import org.tweetyproject.web.services.aba.AbaReasonerResponse;
+import org.tweetyproject.web.services.dung.DungReasonerPost;
+import org.tweetyproject.web.services.dung.DungReasonerResponse;
+import org.tweetyproject.web.services.incmes.InconsistencyPost;
+import org.tweetyproject.web.services.incmes.InconsistencyValueResponse;
+
+/**
+ * The BatchController answers batches of Dung, ABA and inconsistency measurement requests
+ * with a single HTTP call. The requests of a batch are evaluated in parallel on the shared
+ * {@link ReasoningExecutor} (and its {@link ResultCache}) exactly like single requests sent to
+ * {@link RequestController}, each with its own time limit. The batch response contains the
+ * responses to all requests in their order, so a request that fails or reaches its time limit
+ * only affects its own response.
+ * <br>
+ * At most twice as many requests as the executor has threads are submitted at once, so that a
+ * batch does not fill the queue of the executor on its own. If the executor rejects a request
+ * nevertheless, the batch waits for its own earliest request first and retries; a request
+ * rejected although no request of the batch is pending gets the status "REJECTED".
+ * <br>
+ * The maximal number of requests of a batch can be configured via the property
+ * <code>tweety.batch.max</code> (default: 1000), larger batches are answered with
+ * HTTP 413 (payload too large).
+ */
+@RestController
+public class BatchController {
+
+	/** Evaluates the single requests */
+	private final RequestController requests;
+
+	/** The maximal number of requests submitted at once */
+	private final int window;
+
+	/** The maximal number of requests of a batch */
+	private final int maxBatchSize;
+
+	/**
+	 * Creates a new controller.
+	 * @param requests the controller evaluating the single requests
+	 * @param executor the executor running the computations of the requests
+	 * @param maxBatchSize the maximal number of requests of a batch
+	 */
+	public BatchController(RequestController requests, ReasoningExecutor executor,
+			@Value("${tweety.batch.max:1000}") int maxBatchSize) {
+		this.requests = requests;
+		this.window = 2 * executor.getThreads();
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Handles a batch of Dung reasoner requests, see {@link RequestController#handleRequest(DungReasonerPost)}.
+	 * @param posts the requests
+	 * @return the responses to the requests, in their order
+	 */
+	@PostMapping(value = "/batch/dung", produces = "application/json", consumes = "application/json")
+	public BatchResponse handleDungBatch(@RequestBody List<DungReasonerPost> posts) {
+		return this.run(posts, this.requests::submit, (post, status) -> {
+			DungReasonerResponse response = new DungReasonerResponse();
+			response.setReply(post.getCmd());
+			response.setEmail(post.getEmail());
+			response.setStatus(status);
+			return response;
+		});
+	}
+
+	/**
+	 * Handles a batch of ABA reasoner requests, see {@link RequestController#handleRequest(AbaReasonerPost)}.
+	 * @param posts the requests
+	 * @return the responses to the requests, in their order
+	 */
+	@PostMapping(value = "/batch/aba", produces = "application/json", consumes = "application/json")
+	public BatchResponse handleAbaBatch(@RequestBody List<AbaReasonerPost> posts) {
+		return this.run(posts, this.requests::submit, (post, status) -> {
+			AbaReasonerResponse response = new AbaReasonerResponse();
+			response.setReply(post.getCmd());
+			response.setEmail(post.getEmail());
+			response.setStatus(status);
+			return response;
+		});
+	}
+
+	/**
+	 * Handles a batch of inconsistency measurement requests, see {@link RequestController#handleRequest(InconsistencyPost)}.
+	 * @param posts the requests
+	 * @return the responses to the requests, in their order
+	 */
+	@PostMapping(value = "/batch/incmes", produces = "application/json", consumes = "application/json")
+	public BatchResponse handleIncmesBatch(@RequestBody List<InconsistencyPost> posts) {
+		return this.run(posts, this.requests::submit, (post, status) -> {
+			InconsistencyValueResponse response = new InconsistencyValueResponse();
+			response.setReply(post.getCmd());
+			response.setEmail(post.getEmail());
+			response.setMeasure(post.getMeasure());
+			response.setStatus(status);
+			// inconsistency value of -2 indicates some general error
+			response.setValue(-2);
+			return response;
+		});
+	}
+
+	/**
+	 * Submits the given requests and collects their responses.
+	 * @param <P> the type of the requests
+	 * @param posts the requests
+	 * @param submitter submits a single request
+	 * @param failure creates the response to a request that could not be submitted, given the request and the status
+	 * @return the responses to the requests, in their order
+	 */
+	<P> BatchResponse run(List<P> posts, Submitter<P> submitter, BiFunction<P, String, Response> failure) {
+		if(posts.size() > this.maxBatchSize)
+			throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+					String.format("Batches are limited to %s requests.", this.maxBatchSize));
+		long millis = System.currentTimeMillis();
+		Metrics.record("batch.size", posts.size());
+		List<Response> results = new ArrayList<Response>(Collections.nCopies(posts.size(), (Response) null));
+		Deque<Integer> indices = new ArrayDeque<Integer>();
+		Deque<PendingRequest<?>> pending = new ArrayDeque<PendingRequest<?>>();
+		for(int i = 0; i < posts.size(); i++) {
+			P post = posts.get(i);
+			while(results.get(i) == null) {
+				if(pending.size() >= this.window) {
+					results.set(indices.poll(), pending.poll().await());
+					continue;
+				}
+				try {
+					pending.add(submitter.submit(post));
+					indices.add(i);
+					break;
+				} catch (RejectedExecutionException e) {
+					if(pending.isEmpty()) {
+						LoggerUtil.logger.log(Level.WARNING, String.format("Rejected request %s of batch.", i));
+						results.set(i, failure.apply(post, "REJECTED"));
+					} else results.set(indices.poll(), pending.poll().await());
+				} catch (Exception e) {
+					LoggerUtil.logger.log(Level.SEVERE, String.format("Error while submitting request %s of batch: %s", i, e.getClass().getSimpleName()));
+					results.set(i, failure.apply(post, "Error"));
+				}
+			}
+		}
+		while(!pending.isEmpty())
+			results.set(indices.poll(), pending.poll().await());
+		return new BatchResponse(results, System.currentTimeMillis() - millis);
+	}
+
+	/**
+	 * Submits a single request.
+	 * @param <P> the type of the request
+	 */
+	interface Submitter<P> {
+		/**
+		 * Submits the given request.
+		 * @param post some request
+		 * @return the pending request
+		 * @throws Exception if the request is malformed or cannot be submitted
+		 */
+		PendingRequest<?> submit(P post) throws Exception;
+	}
+}
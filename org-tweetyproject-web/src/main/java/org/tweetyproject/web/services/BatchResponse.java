@@ -0,0 +1,85 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import java.util.List;
+
+/**
+ * The BatchResponse class represents the responses to a batch of requests, see {@link BatchController}.
+ */
+public class BatchResponse extends Response {
+
+	/** The responses to the requests of the batch, in the order of the requests */
+	private List<Response> results;
+
+	/** The time needed for the whole batch (in ms) */
+	private long time;
+
+	/**
+	 * Default constructor for BatchResponse.
+	 */
+	public BatchResponse() {
+	}
+
+	/**
+	 * Creates a new response.
+	 * @param results the responses to the requests of the batch, in the order of the requests
+	 * @param time the time needed for the whole batch (in ms)
+	 */
+	public BatchResponse(List<Response> results, long time) {
+		this.results = results;
+		this.time = time;
+	}
+
+	/**
+	 * @return the responses to the requests of the batch, in the order of the requests
+	 */
+	public List<Response> getResults() {
+		return this.results;
+	}
+
+	/**
+	 * @param results the responses to the requests of the batch, in the order of the requests
+	 */
+	public void setResults(List<Response> results) {
+		this.results = results;
+	}
+
+	/**
+	 * @return the time needed for the whole batch (in ms)
+	 */
+	public long getTime() {
+		return this.time;
+	}
+
+	/**
+	 * @param time the time needed for the whole batch (in ms)
+	 */
+	public void setTime(long time) {
+		this.time = time;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "BatchResponse [results=" + this.results + ", time=" + this.time + "]";
+	}
+}
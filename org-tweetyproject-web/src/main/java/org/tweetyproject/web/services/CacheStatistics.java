@@ -0,0 +1,196 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+/**
+ * The CacheStatistics class represents the statistics of the {@link ResultCache}
+ * reported by the "/info" endpoint.
+ */
+public class CacheStatistics {
+
+	/** The number of cached results */
+	private int size;
+
+	/** The maximal number of cached results */
+	private int max_size;
+
+	/** The number of running computations */
+	private int running;
+
+	/** The number of requests answered from the cache */
+	private long hits;
+
+	/** The number of requests that waited for the computation of an identical request */
+	private long coalesced;
+
+	/** The number of requests that started a new computation */
+	private long misses;
+
+	/** The number of results evicted because the cache was full */
+	private long evictions;
+
+	/** The number of results removed because they were too old */
+	private long expirations;
+
+	/** The ratio of requests that did not start a new computation */
+	private double hit_ratio;
+
+	/** The computation time saved by the cache (in ms) */
+	private long saved_time;
+
+	/**
+	 * @return the number of cached results
+	 */
+	public int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * @param size the number of cached results
+	 */
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * @return the maximal number of cached results
+	 */
+	public int getMax_size() {
+		return this.max_size;
+	}
+
+	/**
+	 * @param max_size the maximal number of cached results
+	 */
+	public void setMax_size(int max_size) {
+		this.max_size = max_size;
+	}
+
+	/**
+	 * @return the number of running computations
+	 */
+	public int getRunning() {
+		return this.running;
+	}
+
+	/**
+	 * @param running the number of running computations
+	 */
+	public void setRunning(int running) {
+		this.running = running;
+	}
+
+	/**
+	 * @return the number of requests answered from the cache
+	 */
+	public long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * @param hits the number of requests answered from the cache
+	 */
+	public void setHits(long hits) {
+		this.hits = hits;
+	}
+
+	/**
+	 * @return the number of requests that waited for the computation of an identical request
+	 */
+	public long getCoalesced() {
+		return this.coalesced;
+	}
+
+	/**
+	 * @param coalesced the number of requests that waited for the computation of an identical request
+	 */
+	public void setCoalesced(long coalesced) {
+		this.coalesced = coalesced;
+	}
+
+	/**
+	 * @return the number of requests that started a new computation
+	 */
+	public long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * @param misses the number of requests that started a new computation
+	 */
+	public void setMisses(long misses) {
+		this.misses = misses;
+	}
+
+	/**
+	 * @return the number of results evicted because the cache was full
+	 */
+	public long getEvictions() {
+		return this.evictions;
+	}
+
+	/**
+	 * @param evictions the number of results evicted because the cache was full
+	 */
+	public void setEvictions(long evictions) {
+		this.evictions = evictions;
+	}
+
+	/**
+	 * @return the number of results removed because they were too old
+	 */
+	public long getExpirations() {
+		return this.expirations;
+	}
+
+	/**
+	 * @param expirations the number of results removed because they were too old
+	 */
+	public void setExpirations(long expirations) {
+		this.expirations = expirations;
+	}
+
+	/**
+	 * @return the ratio of requests that did not start a new computation
+	 */
+	public double getHit_ratio() {
+		return this.hit_ratio;
+	}
+
+	/**
+	 * @param hit_ratio the ratio of requests that did not start a new computation
+	 */
+	public void setHit_ratio(double hit_ratio) {
+		this.hit_ratio = hit_ratio;
+	}
+
+	/**
+	 * @return the computation time saved by the cache (in ms)
+	 */
+	public long getSaved_time() {
+		return this.saved_time;
+	}
+
+	/**
+	 * @param saved_time the computation time saved by the cache (in ms)
+	 */
+	public void setSaved_time(long saved_time) {
+		this.saved_time = saved_time;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tweetyproject.commons.metrics.InMemoryMetrics;
+import org.tweetyproject.commons.metrics.JfrMetricsListener;
+import org.tweetyproject.commons.metrics.Metrics;
+
+/**
+ * Registers the exporters of the {@link Metrics} of the server and provides the endpoint
+ * "/metrics", which returns a JSON snapshot of all measurements: counters, distributions
+ * (e.g. CNF sizes and numbers of extensions), timers (e.g. of SAT calls and requests) and
+ * the spans of the most recent requests.
+ * <br>
+ * The in-memory exporter behind "/metrics" is enabled unless the property
+ * <code>tweety.metrics.enabled</code> is false; Java Flight Recorder events are emitted if the
+ * property <code>tweety.metrics.jfr</code> is true (default: false).
+ */
+@RestController
+public class MetricsController implements DisposableBean {
+
+	/** The in-memory exporter, null if disabled */
+	private final InMemoryMetrics metrics;
+
+	/** The JFR exporter, null if disabled */
+	private final JfrMetricsListener jfr;
+
+	/**
+	 * Creates a new controller and registers the enabled exporters.
+	 * @param enabled whether measurements are collected for "/metrics"
+	 * @param jfr whether measurements are emitted as JFR events
+	 * @param maxSpans the number of spans of recent requests kept for "/metrics"
+	 */
+	public MetricsController(@Value("${tweety.metrics.enabled:true}") boolean enabled,
+			@Value("${tweety.metrics.jfr:false}") boolean jfr,
+			@Value("${tweety.metrics.spans:100}") int maxSpans) {
+		this.metrics = enabled ? new InMemoryMetrics(maxSpans) : null;
+		this.jfr = jfr ? new JfrMetricsListener() : null;
+		if(this.metrics != null)
+			Metrics.addListener(this.metrics);
+		if(this.jfr != null)
+			Metrics.addListener(this.jfr);
+	}
+
+	/**
+	 * Returns a snapshot of all measurements, see {@link InMemoryMetrics#snapshot()}.
+	 * @return a snapshot of all measurements, empty if the in-memory exporter is disabled
+	 */
+	@GetMapping(value = "/metrics", produces = "application/json")
+	public Map<String,Object> getMetrics() {
+		if(this.metrics == null)
+			return Map.of();
+		return this.metrics.snapshot();
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+		if(this.metrics != null)
+			Metrics.removeListener(this.metrics);
+		if(this.jfr != null)
+			Metrics.removeListener(this.jfr);
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.tweetyproject.commons.metrics.Metrics;
+import org.tweetyproject.commons.metrics.Span;
+
+/**
+ * Records a span for every HTTP request, with the method, path and status of the request
+ * as attributes, and the time of every request per endpoint. The endpoint is the path pattern
+ * of the handler that served the request (e.g. "/jobs/{id}"), so that the number of timers does
+ * not grow with the number of distinct paths; requests not served by any handler share the
+ * endpoint "unmatched". Spans started while handling the request (also in the
+ * {@link ReasoningExecutor}) become children of this span.
+ */
+@Component
+public class MetricsFilter extends OncePerRequestFilter {
+
+	/* (non-Javadoc)
+	 * @see org.springframework.web.filter.OncePerRequestFilter#doFilterInternal(javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse, javax.servlet.FilterChain)
+	 */
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if(!Metrics.isEnabled()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		long start = Metrics.startTimer();
+		try(Span span = Metrics.startSpan("http")) {
+			span.setAttribute("method", request.getMethod());
+			span.setAttribute("path", request.getRequestURI());
+			try {
+				filterChain.doFilter(request, response);
+			} finally {
+				span.setAttribute("status", response.getStatus());
+				Metrics.stopTimer("http " + MetricsFilter.getEndpoint(request), start);
+			}
+		}
+	}
+
+	/**
+	 * Returns the endpoint of the given request, which is only known after it has been handled.
+	 * @param request some handled request
+	 * @return the path pattern of the handler that served it, e.g. "/jobs/{id}", or "unmatched"
+	 */
+	private static String getEndpoint(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern == null ? "unmatched" : pattern.toString();
+	}
+}
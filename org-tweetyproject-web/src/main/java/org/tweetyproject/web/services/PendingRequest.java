@@ -0,0 +1,126 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A request whose computation has been submitted for execution but whose response has not
+ * been completed yet. Splitting the handling of a request into submission and {@link #await()}
+ * allows to submit the computations of many requests (e.g. of a batch) before waiting for
+ * the first one. Each request keeps its own time limit, measured from its submission.
+ * @param <T> the type of the result of the computation
+ */
+public class PendingRequest<T> {
+
+	/** The response, completed by one of the callbacks */
+	private final Response response;
+
+	/** The computation, null if the response is already complete */
+	private final Future<T> future;
+
+	/** The time of submission (in ms) */
+	private final long submitted;
+
+	/** The time limit */
+	private final long timeout;
+
+	/** The unit of the time limit, also used for reporting the time of the computation */
+	private final TimeUnit unit;
+
+	/** Completes the response with the result and the time of the computation */
+	private final BiConsumer<T,Long> onSuccess;
+
+	/** Completes the response of a computation that reached the time limit */
+	private final Runnable onTimeout;
+
+	/** Completes the response of a failed computation */
+	private final Consumer<Exception> onError;
+
+	/**
+	 * Creates a new pending request.
+	 * @param response the response to be completed
+	 * @param future the computation
+	 * @param timeout the time limit, measured from now
+	 * @param unit the unit of the time limit (and of the time passed to <code>onSuccess</code>)
+	 * @param onSuccess completes the response with the result and the time of the computation
+	 * @param onTimeout completes the response of a computation that reached the time limit
+	 * @param onError completes the response of a failed computation
+	 */
+	public PendingRequest(Response response, Future<T> future, long timeout, TimeUnit unit,
+			BiConsumer<T,Long> onSuccess, Runnable onTimeout, Consumer<Exception> onError) {
+		this.response = response;
+		this.future = future;
+		this.submitted = System.currentTimeMillis();
+		this.timeout = timeout;
+		this.unit = unit;
+		this.onSuccess = onSuccess;
+		this.onTimeout = onTimeout;
+		this.onError = onError;
+	}
+
+	/**
+	 * Returns a request that needs no computation.
+	 * @param response the complete response
+	 * @return a request whose {@link #await()} returns the given response right away
+	 */
+	public static PendingRequest<Void> of(Response response) {
+		return new PendingRequest<Void>(response, null, 0, TimeUnit.MILLISECONDS, null, null, null);
+	}
+
+	/**
+	 * Waits until the computation has finished or its time limit has been reached, and
+	 * completes the response accordingly. A computation reaching its time limit is cancelled.
+	 * @return the completed response
+	 */
+	public Response await() {
+		if(this.future == null)
+			return this.response;
+		try {
+			long remaining = this.submitted + this.unit.toMillis(this.timeout) - System.currentTimeMillis();
+			T result = this.future.get(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+			long time = System.currentTimeMillis() - this.submitted;
+			if(this.unit.equals(TimeUnit.SECONDS))
+				time = TimeUnit.MILLISECONDS.toSeconds(time);
+			this.onSuccess.accept(result, time);
+		} catch (TimeoutException e) {
+			// stop the computation instead of leaving it running in the background
+			this.future.cancel(true);
+			this.onTimeout.run();
+		} catch (InterruptedException e) {
+			this.future.cancel(true);
+			Thread.currentThread().interrupt();
+			this.onError.accept(e);
+		} catch (Exception e) {
+			this.onError.accept(e);
+		}
+		return this.response;
+	}
+
+	/**
+	 * @return the response of this request, complete after {@link #await()}
+	 */
+	public Response getResponse() {
+		return this.response;
+	}
+}
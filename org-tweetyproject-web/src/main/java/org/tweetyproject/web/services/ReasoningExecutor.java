@@ -0,0 +1,173 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.tweetyproject.commons.metrics.Metrics;
+import org.tweetyproject.commons.util.CancellationToken;
+
+/**
+ * The executor shared by all services for running reasoning tasks. It runs at most a fixed
+ * number of tasks at once and queues at most a fixed number of further tasks; tasks submitted
+ * beyond that are rejected with a {@link RejectedExecutionException}, which is reported to the
+ * client as HTTP 429 (too many requests).
+ * <br>
+ * Every task runs with its own {@link CancellationToken}. Cancelling the future of a task
+ * (e.g. after a timeout) cancels its token, which the reasoners poll, removes the task from the
+ * queue if it has not started yet and interrupts its thread otherwise.
+ * <br>
+ * Tasks run with the current metrics span of the submitting thread (see {@link Metrics#propagate(Callable)}),
+ * the time tasks wait for execution is recorded by the timer "reasoning.wait".
+ * <br>
+ * The number of threads and the queue capacity can be configured via the properties
+ * <code>tweety.reasoning.threads</code> (default: number of available processors) and
+ * <code>tweety.reasoning.queue</code> (default: 32).
+ */
+@Component
+public class ReasoningExecutor implements DisposableBean {
+
+	/** The underlying bounded thread pool. */
+	private final ThreadPoolExecutor pool;
+
+	/**
+	 * Creates a new executor.
+	 * @param threads the maximal number of tasks run at once, non-positive values
+	 *    stand for the number of available processors
+	 * @param queueCapacity the maximal number of tasks waiting for execution
+	 */
+	public ReasoningExecutor(@Value("${tweety.reasoning.threads:0}") int threads,
+			@Value("${tweety.reasoning.queue:32}") int queueCapacity) {
+		if(threads <= 0)
+			threads = Runtime.getRuntime().availableProcessors();
+		if(queueCapacity <= 0)
+			throw new IllegalArgumentException("Queue capacity must be positive.");
+		AtomicInteger count = new AtomicInteger();
+		ThreadFactory factory = runnable -> {
+			Thread thread = new Thread(runnable, "tweety-reasoning-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(queueCapacity), factory, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Submits the given task for execution.
+	 * @param <T> the type of the result
+	 * @param callable some task
+	 * @return the future of the task; cancelling it cancels the task cooperatively
+	 * @throws RejectedExecutionException if the queue of waiting tasks is full
+	 */
+	public <T> Future<T> submit(Callable<T> callable) throws RejectedExecutionException {
+		ReasoningTask<T> task = new ReasoningTask<T>(callable, new CancellationToken());
+		this.pool.execute(task);
+		return task;
+	}
+
+	/**
+	 * @return the maximal number of tasks run at once
+	 */
+	public int getThreads() {
+		return this.pool.getMaximumPoolSize();
+	}
+
+	/**
+	 * @return the number of tasks waiting for execution
+	 */
+	public int getQueueDepth() {
+		return this.pool.getQueue().size();
+	}
+
+	/**
+	 * @return the number of tasks currently running
+	 */
+	public int getActiveCount() {
+		return this.pool.getActiveCount();
+	}
+
+	/**
+	 * Wraps the given computation such that it runs with the given token and the current span
+	 * of the submitting thread, and records the time until it is started.
+	 * @param <T> the type of the result
+	 * @param callable the computation
+	 * @param token the token of the computation
+	 * @return the wrapped computation
+	 */
+	private static <T> Callable<T> wrap(Callable<T> callable, CancellationToken token) {
+		long submitted = Metrics.startTimer();
+		Callable<T> traced = Metrics.propagate(callable);
+		return () -> {
+			Metrics.stopTimer("reasoning.wait", submitted);
+			return CancellationToken.call(token, traced);
+		};
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+		this.pool.shutdownNow();
+	}
+
+	/**
+	 * A task running with a cancellation token bound to its thread.
+	 * @param <T> the type of the result
+	 */
+	private class ReasoningTask<T> extends FutureTask<T> {
+
+		/** The token of this task. */
+		private final CancellationToken token;
+
+		/**
+		 * Creates a new task.
+		 * @param callable the computation
+		 * @param token the token of the computation
+		 */
+		ReasoningTask(Callable<T> callable, CancellationToken token) {
+			super(ReasoningExecutor.wrap(callable, token));
+			this.token = token;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.FutureTask#cancel(boolean)
+		 */
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			// cancel the future first, as the task completes exceptionally once the token is cancelled
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			this.token.cancel();
+			// free the slot in the queue if the task has not been started yet
+			pool.remove(this);
+			return cancelled;
+		}
+	}
+}
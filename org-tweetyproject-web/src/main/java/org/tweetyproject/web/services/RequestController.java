@@ -26,13 +26,15 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.json.JSONException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
@@ -40,6 +42,7 @@ import org.tweetyproject.commons.BeliefSet;
 import org.tweetyproject.commons.Formula;
 import org.tweetyproject.commons.Parser;
 import org.tweetyproject.commons.ParserException;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.logics.commons.analysis.InconsistencyMeasure;
 import org.tweetyproject.logics.commons.analysis.NaiveMusEnumerator;
 import org.tweetyproject.logics.fol.parser.FolParser;
@@ -110,6 +113,34 @@ public class RequestController {
 	private final int SERVICES_TIMEOUT_DELP = 600;
 	private final int SERVICES_TIMEOUT_INCMES = 300;
 
+	/** The executor running all reasoning tasks */
+	private final ReasoningExecutor executor;
+
+	/** The cache of the results of Dung, ABA and inconsistency measurement requests */
+	private final ResultCache cache;
+
+	/**
+	 * Creates a new controller.
+	 * @param executor the executor running all reasoning tasks
+	 * @param cache the cache of the results of reasoning requests
+	 */
+	public RequestController(ReasoningExecutor executor, ResultCache cache) {
+		this.executor = executor;
+		this.cache = cache;
+	}
+
+	/**
+	 * Reports that a reasoning task has been rejected because too many tasks are
+	 * already waiting for execution.
+	 * @param e the rejection
+	 * @return a response with status 429 (too many requests)
+	 */
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<String> handleRejection(RejectedExecutionException e) {
+		LoggerUtil.logger.log(Level.WARNING, String.format("Rejected request, %s tasks are waiting for execution.", executor.getQueueDepth()));
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1")
+				.body("Too many requests, please try again later.");
+	}
 
 
 /**
@@ -132,10 +163,25 @@ public class RequestController {
 	@ResponseBody
 	public Response handleRequest(
 			@RequestBody AbaReasonerPost AbaReasonerPost) throws ParserException, IOException, JSONException, org.codehaus.jettison.json.JSONException {
+		return this.submit(AbaReasonerPost).await();
+	}
+
+	/**
+	 * Parses the given ABA request and submits its computation, see {@link #handleRequest(AbaReasonerPost)}.
+	 *
+	 * @param AbaReasonerPost The request payload containing information for ABA reasoning.
+	 * @return The pending request, {@link PendingRequest#await()} returns its response.
+	 * @throws ParserException If there is an error while parsing the input data.
+	 * @throws IOException If there is an error reading or writing data.
+	 * @throws JSONException If there is an error with JSON processing.
+	 * @throws org.codehaus.jettison.json.JSONException If there is an error with Jettison JSON processing.
+	 * @throws RejectedExecutionException If too many tasks are waiting for execution.
+	 */
+	PendingRequest<?> submit(AbaReasonerPost AbaReasonerPost) throws ParserException, IOException, JSONException, org.codehaus.jettison.json.JSONException {
 
 			LoggerUtil.logger.info(String.format("User: %s  Command: %s", AbaReasonerPost.getEmail(), AbaReasonerPost.getCmd()));
 			if (AbaReasonerPost.getCmd().equals("semantics")) {
-				return handleGetSemantics(AbaReasonerPost);
+				return PendingRequest.of(handleGetSemantics(AbaReasonerPost));
 			}
 			Callee callee = null;
 			SatSolver.setDefaultSolver(new Sat4jSolver());
@@ -201,7 +247,6 @@ public class RequestController {
 
 			}
 
-			ExecutorService executor = Executors.newSingleThreadExecutor();
 			AbaReasonerResponse reasonerResponse = new AbaReasonerResponse(AbaReasonerPost.getCmd(),
 					AbaReasonerPost.getEmail(), AbaReasonerPost.getKb(), AbaReasonerPost.getKb_format(),
 					AbaReasonerPost.getFol_signature(), AbaReasonerPost.getQuery_assumption(),
@@ -209,55 +254,36 @@ public class RequestController {
 					AbaReasonerPost.getUnit_timeout(), "");
 			TimeUnit unit = Utils.getTimoutUnit(AbaReasonerPost.getUnit_timeout());
 			int user_timeout = Utils.checkUserTimeout(AbaReasonerPost.getTimeout(), SERVICES_TIMEOUT_DUNG, unit);
-			try {
+			if (AbaReasonerPost.getCmd().equals("get_models") || AbaReasonerPost.getCmd().equals("get_model")
+					|| AbaReasonerPost.getCmd().equals("query")) {
 				// handle timeout
 				LoggerUtil.logger.info(String.format("Run command \"%s\" with timeout: %s %s", AbaReasonerPost.getCmd(),user_timeout, AbaReasonerPost.getUnit_timeout()));
-				if (AbaReasonerPost.getCmd().equals("get_models") || AbaReasonerPost.getCmd().equals("get_model")) {
-
-					Future<Collection<AbaExtension<Formula>>> future = executor.submit(callee);
-					Pair<Collection<AbaExtension<Formula>>, Long> result = Utils.runServicesWithTimeout(future,
-						user_timeout, unit);
-					LoggerUtil.logger.info(String.format("Execution of command \"%s\" finished after %s %s ", AbaReasonerPost.getCmd(),result.getValue(),AbaReasonerPost.getUnit_timeout()));
-						reasonerResponse.setTime(result.getValue());
-						reasonerResponse.setAnswer(result.getKey().toString());
+				Future<Object> future = cache.submit(RequestKey.of(AbaReasonerPost), callee);
+				return new PendingRequest<Object>(reasonerResponse, future, user_timeout, unit,
+					(result, time) -> {
+						LoggerUtil.logger.info(String.format("Execution of command \"%s\" finished after %s %s ", AbaReasonerPost.getCmd(),time,AbaReasonerPost.getUnit_timeout()));
+						reasonerResponse.setTime(time);
+						reasonerResponse.setAnswer(result.toString());
 						reasonerResponse.setStatus("SUCCESS");
-					}
-					else if (AbaReasonerPost.getCmd().equals("query")){
-					Future<Boolean> future = executor.submit(callee);
-					Pair<Boolean, Long> result = Utils.runServicesWithTimeout(future,
-						user_timeout, unit);
-
-					LoggerUtil.logger.info(String.format("Execution of command \"%s\" finished after %s %s ", AbaReasonerPost.getCmd(),result.getValue(),AbaReasonerPost.getUnit_timeout()));
-
-						reasonerResponse.setTime(result.getValue());
-					reasonerResponse.setAnswer(result.getKey().toString());
-					reasonerResponse.setStatus("SUCCESS");
-				}
-				else{
-					LoggerUtil.logger.log(Level.SEVERE,String.format("Command \"%s\"  not found.", AbaReasonerPost.getCmd()));
-					Pair<String,Integer> result = new Pair<String,Integer>("Command not found",0 );
-					System.out.println(result.getKey().toString());
-					reasonerResponse.setTime(result.getValue());
-					reasonerResponse.setAnswer(result.getKey().toString());
-					reasonerResponse.setStatus("ERROR");
-				}
-
-				executor.shutdownNow();
-			} catch (TimeoutException e) {
-				LoggerUtil.logger.info(String.format("Execution of command \"%s\" reached timeout of %s %s and was aborted.", AbaReasonerPost.getCmd(),AbaReasonerPost.getTimeout(),AbaReasonerPost.getUnit_timeout()));
-				reasonerResponse.setTime(AbaReasonerPost.getTimeout());
-				reasonerResponse.setAnswer(null);
-				reasonerResponse.setStatus("TIMEOUT");
-				executor.shutdownNow();
-			} catch (Exception e) {
-				LoggerUtil.logger.log(Level.SEVERE,(String.format("Error while running command \"%s\": %s",AbaReasonerPost.getCmd(), e.getClass().getSimpleName())));
-				reasonerResponse.setTime(0.0);
-				reasonerResponse.setAnswer(null);
-				reasonerResponse.setStatus("Error");
-
-				executor.shutdownNow();
+					},
+					() -> {
+						LoggerUtil.logger.info(String.format("Execution of command \"%s\" reached timeout of %s %s and was aborted.", AbaReasonerPost.getCmd(),AbaReasonerPost.getTimeout(),AbaReasonerPost.getUnit_timeout()));
+						reasonerResponse.setTime(AbaReasonerPost.getTimeout());
+						reasonerResponse.setAnswer(null);
+						reasonerResponse.setStatus("TIMEOUT");
+					},
+					e -> {
+						LoggerUtil.logger.log(Level.SEVERE,(String.format("Error while running command \"%s\": %s",AbaReasonerPost.getCmd(), e.getClass().getSimpleName())));
+						reasonerResponse.setTime(0.0);
+						reasonerResponse.setAnswer(null);
+						reasonerResponse.setStatus("Error");
+					});
 			}
-			return reasonerResponse;
+			LoggerUtil.logger.log(Level.SEVERE,String.format("Command \"%s\"  not found.", AbaReasonerPost.getCmd()));
+			reasonerResponse.setTime(0);
+			reasonerResponse.setAnswer("Command not found");
+			reasonerResponse.setStatus("ERROR");
+			return PendingRequest.of(reasonerResponse);
 
 	}
 
@@ -287,48 +313,68 @@ public class RequestController {
 	@ResponseBody
 	public Response handleRequest(
 			@RequestBody DungReasonerPost dungReasonerPost) {
+		return this.submit(dungReasonerPost).await();
+	}
+
+	/**
+	 * Submits the computation of the given Dung reasoner request, see {@link #handleRequest(DungReasonerPost)}.
+	 *
+	 * @param dungReasonerPost The DungReasonerPost object representing the request payload.
+	 * @return The pending request, {@link PendingRequest#await()} returns its response.
+	 * @throws RejectedExecutionException If too many tasks are waiting for execution.
+	 */
+	PendingRequest<?> submit(DungReasonerPost dungReasonerPost) {
 		if (dungReasonerPost.getCmd().equals("info"))
-			return (Response) getInfo(dungReasonerPost);
+			return PendingRequest.of(getInfo(dungReasonerPost));
 
 		if (dungReasonerPost.getCmd().equals("get_models") || dungReasonerPost.getCmd().equals("get_model")) {
-			DungTheory dungTheory = Utils.getDungTheory(dungReasonerPost.getNr_of_arguments(),
-					dungReasonerPost.getAttacks());
-
-			AbstractExtensionReasoner reasoner = AbstractExtensionReasonerFactory.getReasoner(
-					Semantics.getSemantics(dungReasonerPost.getSemantics()));
-			ExecutorService executor = Executors.newSingleThreadExecutor();
 			DungReasonerResponse reasonerResponse = new DungReasonerResponse(dungReasonerPost.getCmd(),
 					dungReasonerPost.getEmail(), dungReasonerPost.getNr_of_arguments(), dungReasonerPost.getAttacks(),
 					dungReasonerPost.getSemantics(), dungReasonerPost.getSolver(), null, 0,
 					dungReasonerPost.getUnit_timeout(), "ERRORs");
-			TimeUnit unit = Utils.getTimoutUnit(dungReasonerPost.getUnit_timeout());
-			Callee callee = DungReasonerCalleeFactory.getCallee(Command.getCommand(dungReasonerPost.getCmd()), reasoner,
-					dungTheory);
-			int user_timeout = Utils.checkUserTimeout(dungReasonerPost.getTimeout(), SERVICES_TIMEOUT_DUNG, unit);
+			RequestKey key;
+			DungTheory dungTheory;
 			try {
-				// handle timeout
-				Future<Collection<Extension<DungTheory>>> future = executor.submit(callee);
-				Pair<Collection<Extension<DungTheory>>, Long> result = Utils.runServicesWithTimeout(future,
-						user_timeout, unit);
-				executor.shutdownNow();
-				reasonerResponse.setTime(result.getValue());
-				reasonerResponse.setAnswer(result.getKey().toString());
-				reasonerResponse.setStatus("SUCCESS");
-			} catch (TimeoutException e) {
-				reasonerResponse.setTime(dungReasonerPost.getTimeout());
-				reasonerResponse.setAnswer(null);
-				reasonerResponse.setStatus("TIMEOUT");
-				executor.shutdownNow();
-			} catch (Exception e) {
+				key = RequestKey.of(dungReasonerPost);
+				dungTheory = Utils.getDungTheory(dungReasonerPost.getNr_of_arguments(),
+						dungReasonerPost.getAttacks());
+			} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+				// malformed attacks or arguments out of range
+				LoggerUtil.logger.log(Level.WARNING, String.format("Malformed Dung request: %s", e.getMessage()));
 				reasonerResponse.setTime(0.0);
 				reasonerResponse.setAnswer(null);
 				reasonerResponse.setStatus("Error");
-
-				executor.shutdownNow();
+				return PendingRequest.of(reasonerResponse);
 			}
-			return reasonerResponse;
+
+			AbstractExtensionReasoner reasoner = AbstractExtensionReasonerFactory.getReasoner(
+					Semantics.getSemantics(dungReasonerPost.getSemantics()));
+			TimeUnit unit = Utils.getTimoutUnit(dungReasonerPost.getUnit_timeout());
+			Callee callee = DungReasonerCalleeFactory.getCallee(Command.getCommand(dungReasonerPost.getCmd()), reasoner,
+					dungTheory);
+			int user_timeout = Utils.checkUserTimeout(dungReasonerPost.getTimeout(), SERVICES_TIMEOUT_DUNG, unit);
+			// handle timeout
+			Future<Collection<Extension<DungTheory>>> future = cache.submit(key, callee);
+			return new PendingRequest<Collection<Extension<DungTheory>>>(reasonerResponse, future, user_timeout, unit,
+				(result, time) -> {
+					reasonerResponse.setTime(time);
+					reasonerResponse.setAnswer(result.toString());
+					reasonerResponse.setStatus("SUCCESS");
+					if (dungReasonerPost.getCmd().equals("get_models"))
+						Metrics.record("dung.extensions", result.size());
+				},
+				() -> {
+					reasonerResponse.setTime(dungReasonerPost.getTimeout());
+					reasonerResponse.setAnswer(null);
+					reasonerResponse.setStatus("TIMEOUT");
+				},
+				e -> {
+					reasonerResponse.setTime(0.0);
+					reasonerResponse.setAnswer(null);
+					reasonerResponse.setStatus("Error");
+				});
 		} else {
-			return new DungReasonerResponse();
+			return PendingRequest.of(new DungReasonerResponse());
 		}
 	}
 
@@ -377,6 +423,7 @@ public class RequestController {
 			command_ids.add(c.id);
 		}
 		response.setCommands(command_ids);
+		response.setCache(cache.getStatistics());
 
 		// response.setSemantics(AbstractExtensionReasonerFactory.Semantics.values());
 		return response;
@@ -415,7 +462,6 @@ public class RequestController {
 				null);
 		TimeUnit unit = Utils.getTimoutUnit(delpPost.getUnit_timeout());
 		int user_timeout = Utils.checkUserTimeout(delpPost.getTimeout(), SERVICES_TIMEOUT_DELP, unit);
-		ExecutorService executor = Executors.newSingleThreadExecutor();
 		try {
 
 			DelpParser parser = new DelpParser();
@@ -451,17 +497,15 @@ public class RequestController {
 			delpResponse.setTime(delpPost.getTimeout());
 			delpResponse.setAnswer(null);
 			delpResponse.setStatus("TIMEOUT");
-			executor.shutdownNow();
 		} catch (ParserException e) {
-			executor.shutdownNow();
 			throw new JSONException(
 					"Malformed JSON: syntax of knowledge base and/or query does not conform to the given format.");
 		} catch (IOException e) {
-			executor.shutdownNow();
 			throw new JSONException(
 					"Malformed JSON: syntax of knowledge base and/or query does not conform to the given format.");
+		} catch (RejectedExecutionException e) {
+			throw e;
 		} catch (Exception e) {
-			executor.shutdownNow();
 			e.printStackTrace();
 			throw new JSONException("An unexpected error occured. Please contact an administrator.");
 		}
@@ -494,15 +538,9 @@ public class RequestController {
 		InconsistencyValueResponse icmesResponse = new InconsistencyValueResponse();
 
 		try {
-
-			if (incmesPost.getCmd().equals("value")) {
-				return handleGetICMESValue(incmesPost);
-			}
-
-			if (incmesPost.getCmd().equals("measures")) {
-
-				return handleGetMeasures(incmesPost);
-			}
+			return this.submit(incmesPost).await();
+		} catch (RejectedExecutionException e) {
+			throw e;
 		} catch (Exception e) {
 			System.out.println(e.getMessage());
 		}
@@ -510,6 +548,28 @@ public class RequestController {
 		return icmesResponse;
 	}
 
+	/**
+	 * Submits the computation of the given inconsistency measurement request, see
+	 * {@link #handleRequest(InconsistencyPost)}.
+	 *
+	 * @param incmesPost The InconsistencyPost object representing the request payload.
+	 * @return The pending request, {@link PendingRequest#await()} returns its response.
+	 * @throws JSONException If the request is malformed.
+	 * @throws org.codehaus.jettison.json.JSONException If some JSON issue occurs.
+	 * @throws RejectedExecutionException If too many tasks are waiting for execution.
+	 */
+	PendingRequest<?> submit(InconsistencyPost incmesPost) throws JSONException, org.codehaus.jettison.json.JSONException {
+		if (incmesPost.getCmd().equals("value")) {
+			return handleGetICMESValue(incmesPost);
+		}
+
+		if (incmesPost.getCmd().equals("measures")) {
+
+			return PendingRequest.of(handleGetMeasures(incmesPost));
+		}
+		return PendingRequest.of(new InconsistencyValueResponse());
+	}
+
 	/**
  	* Private inner class representing a Callable task for measuring inconsistency of a belief set.
  	*
@@ -571,7 +631,7 @@ public class RequestController {
 	 * @throws JSONException If there is a parsing error or an unexpected error occurs during processing.
 	 */
 
-	private InconsistencyValueResponse handleGetICMESValue(InconsistencyPost query) throws JSONException {
+	private PendingRequest<Double> handleGetICMESValue(InconsistencyPost query) throws JSONException {
 		InconsistencyValueResponse icmesResponse = new InconsistencyValueResponse();
 		TimeUnit unit = Utils.getTimoutUnit(query.getUnit_timeout());
 		int user_timeout = Utils.checkUserTimeout(query.getTimeout(), SERVICES_TIMEOUT_INCMES, unit);
@@ -589,49 +649,39 @@ public class RequestController {
 				Format.getFormat(query.getFormat()));
 		if (parser == null)
 			throw new JSONException("Malformed JSON: unknown value for attribute \"format\"");
-		double val = -3;
 		try {
 			PlBeliefSet beliefSet = parser.parseBeliefBase(query.getKb());
-			ExecutorService executor = Executors.newSingleThreadExecutor();
-			long millis = System.currentTimeMillis();
-			try {
-				// handle timeout
-				Future<Double> future = executor.submit(new MeasurementCallee(measure, beliefSet));
-				Pair<Double, Long> result = Utils.runServicesWithTimeout(future, user_timeout, unit);
-				val = result.getKey();
-				icmesResponse.setTime(result.getValue());
-				icmesResponse.setStatus("SUCCESS");
-				// val = future.get(InconsistencyMeasurementService.timeout, TimeUnit.SECONDS);
-				executor.shutdownNow();
-			} catch (TimeoutException e) {
-				// inconsistency value of -1 indicates that a timeout has occurred
-				icmesResponse.setTime(query.getTimeout());
-				icmesResponse.setStatus("TIMEOUT");
-				executor.shutdownNow();
-				val = -1;
-			} catch (Exception e) {
-				// inconsistency value of -2 indicates some general error
-				icmesResponse.setStatus("ERROR");
-				executor.shutdownNow();
-				val = -2;
-			}
-			// inconsistency value of -3 indicates infinity
-			if (val == Double.POSITIVE_INFINITY)
-				val = -3;
-			millis = System.currentTimeMillis() - millis;
-
 			icmesResponse.setEmail(query.getEmail());
 			icmesResponse.setFormat(query.getFormat());
 			icmesResponse.setKb(query.getKb());
 			icmesResponse.setMeasure(query.getMeasure());
 			icmesResponse.setReply("value");
-			icmesResponse.setValue(val);
-
-			return icmesResponse;
+			// handle timeout
+			Future<Double> future = cache.submit(RequestKey.of(query), new MeasurementCallee(measure, beliefSet));
+			return new PendingRequest<Double>(icmesResponse, future, user_timeout, unit,
+				(val, time) -> {
+					icmesResponse.setTime(time);
+					icmesResponse.setStatus("SUCCESS");
+					// inconsistency value of -3 indicates infinity
+					icmesResponse.setValue(val == Double.POSITIVE_INFINITY ? -3 : val);
+				},
+				() -> {
+					// inconsistency value of -1 indicates that a timeout has occurred
+					icmesResponse.setTime(query.getTimeout());
+					icmesResponse.setStatus("TIMEOUT");
+					icmesResponse.setValue(-1);
+				},
+				e -> {
+					// inconsistency value of -2 indicates some general error
+					icmesResponse.setStatus("ERROR");
+					icmesResponse.setValue(-2);
+				});
 		} catch (ParserException e) {
 			throw new JSONException("Malformed JSON: syntax of knowledge base does not conform to the given format.");
 		} catch (IOException e) {
 			throw new JSONException("Malformed JSON: syntax of knowledge base does not conform to the given format.");
+		} catch (RejectedExecutionException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new JSONException("An unexpected error occured. Please contact an administrator.");
 		}
@@ -0,0 +1,155 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import java.util.List;
+import java.util.TreeSet;
+
+import org.tweetyproject.web.services.aba.AbaReasonerPost;
+import org.tweetyproject.web.services.dung.DungReasonerPost;
+import org.tweetyproject.web.services.incmes.InconsistencyPost;
+
+/**
+ * A normalized key of a reasoning request, used for caching results and coalescing identical
+ * requests (see {@link ResultCache}). Two requests have the same key iff they ask for the same
+ * computation; parts of a request that do not influence the result (e.g. email and timeout)
+ * are ignored, and the knowledge base is brought into a canonical form, e.g. the attacks of
+ * an abstract argumentation framework are sorted and duplicates are removed.
+ */
+public final class RequestKey {
+
+	/** The canonical string representation of the request */
+	private final String key;
+
+	/**
+	 * Creates a new key.
+	 * @param key the canonical string representation of the request
+	 */
+	private RequestKey(String key) {
+		this.key = key;
+	}
+
+	/**
+	 * Returns the key of the given request for Dung reasoning.
+	 * @param post some request
+	 * @return the key of the request
+	 * @throws IllegalArgumentException if some attack is not a pair of argument numbers
+	 */
+	public static RequestKey of(DungReasonerPost post) throws IllegalArgumentException {
+		TreeSet<String> attacks = new TreeSet<String>();
+		if(post.getAttacks() != null)
+			for(List<Integer> attack: post.getAttacks()) {
+				if(attack == null || attack.size() != 2 || attack.get(0) == null || attack.get(1) == null)
+					throw new IllegalArgumentException("Malformed attack: " + attack);
+				// pad to a fixed width so that the attacks are sorted numerically
+				attacks.add(String.format("%010d>%010d", attack.get(0), attack.get(1)));
+			}
+		return new RequestKey(String.join("|", "dung", RequestKey.normalize(post.getCmd()),
+				RequestKey.normalize(post.getSemantics()), RequestKey.normalize(post.getSolver()),
+				Integer.toString(post.getNr_of_arguments()), String.join(",", attacks)));
+	}
+
+	/**
+	 * Returns the key of the given request for ABA reasoning.
+	 * @param post some request
+	 * @return the key of the request
+	 */
+	public static RequestKey of(AbaReasonerPost post) {
+		return new RequestKey(String.join("|", "aba", RequestKey.normalize(post.getCmd()),
+				RequestKey.normalize(post.getSemantics()), RequestKey.normalize(post.getKb_format()),
+				RequestKey.normalizeKb(post.getFol_signature()), RequestKey.normalize(post.getQuery_assumption()),
+				RequestKey.normalizeKb(post.getKb())));
+	}
+
+	/**
+	 * Returns the key of the given request for inconsistency measurement.
+	 * @param post some request
+	 * @return the key of the request
+	 */
+	public static RequestKey of(InconsistencyPost post) {
+		return new RequestKey(String.join("|", "incmes", RequestKey.normalize(post.getCmd()),
+				RequestKey.normalize(post.getMeasure()), RequestKey.normalize(post.getFormat()),
+				RequestKey.normalizeKb(post.getKb())));
+	}
+
+	/**
+	 * Normalizes some identifier.
+	 * @param s some string, may be null
+	 * @return the trimmed string
+	 */
+	private static String normalize(String s) {
+		return s == null ? "" : RequestKey.escape(s.trim());
+	}
+
+	/**
+	 * Escapes the separators of the parts of a key.
+	 * @param s some string
+	 * @return the escaped string
+	 */
+	private static String escape(String s) {
+		return s.replace("\\", "\\\\").replace("|", "\\|");
+	}
+
+	/**
+	 * Normalizes some knowledge base by trimming all lines and removing empty lines.
+	 * The order of the lines is kept, as it may be significant for the parser.
+	 * @param kb some knowledge base, may be null
+	 * @return the normalized knowledge base
+	 */
+	private static String normalizeKb(String kb) {
+		if(kb == null)
+			return "";
+		StringBuilder result = new StringBuilder();
+		for(String line: kb.split("\\R")) {
+			line = line.trim();
+			if(line.isEmpty())
+				continue;
+			result.append(RequestKey.escape(line)).append('\n');
+		}
+		return result.toString();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return this.key.hashCode();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj)
+			return true;
+		if(obj == null || getClass() != obj.getClass())
+			return false;
+		return this.key.equals(((RequestKey) obj).key);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return this.key;
+	}
+}
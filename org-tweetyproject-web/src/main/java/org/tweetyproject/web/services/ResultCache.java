@@ -0,0 +1,308 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the results of reasoning requests and coalesces identical requests. Requests are
+ * identified by their {@link RequestKey}:
+ * <ul>
+ * <li>if a result for the key has been computed recently, it is returned right away,</li>
+ * <li>if a computation for the key is running or waiting for execution, the request waits for
+ *   its result instead of starting another computation,</li>
+ * <li>otherwise, a new computation is submitted to the {@link ReasoningExecutor}.</li>
+ * </ul>
+ * Only successful results are cached, at most <code>tweety.cache.size</code> results (default: 1024,
+ * least recently used results are evicted first) for at most <code>tweety.cache.ttl</code> seconds
+ * (default: 3600). A size of 0 disables caching, but identical requests are still coalesced.
+ * <br>
+ * Cancelling the future of a request (e.g. after a timeout) only stops the shared computation if
+ * no other request is waiting for it.
+ */
+@Component
+public class ResultCache {
+
+	/** The executor running the computations */
+	private final ReasoningExecutor executor;
+
+	/** The maximal number of cached results */
+	private final int maxSize;
+
+	/** The time results are cached (in ms) */
+	private final long ttl;
+
+	/** The cached results in access order, guarded by "this" */
+	private final LinkedHashMap<RequestKey,CachedResult> results = new LinkedHashMap<RequestKey,CachedResult>(16, 0.75f, true);
+
+	/** The running computations, guarded by "this" */
+	private final Map<RequestKey,Computation> running = new HashMap<RequestKey,Computation>();
+
+	/** Statistics, guarded by "this" */
+	private long hits = 0;
+	private long coalesced = 0;
+	private long misses = 0;
+	private long evictions = 0;
+	private long expirations = 0;
+	private long savedNanos = 0;
+
+	/**
+	 * Creates a new cache.
+	 * @param executor the executor running the computations
+	 * @param maxSize the maximal number of cached results
+	 * @param ttl the time results are cached (in seconds)
+	 */
+	public ResultCache(ReasoningExecutor executor, @Value("${tweety.cache.size:1024}") int maxSize,
+			@Value("${tweety.cache.ttl:3600}") long ttl) {
+		this.executor = executor;
+		this.maxSize = Math.max(maxSize, 0);
+		this.ttl = TimeUnit.SECONDS.toMillis(ttl);
+	}
+
+	/**
+	 * Returns the result for the given request, either from the cache, from a running computation
+	 * of an identical request, or from a new computation.
+	 * @param <T> the type of the result
+	 * @param key the key of the request
+	 * @param callable the computation of the result, it must produce the same result for requests with the same key
+	 * @return the future of the result; cancelling it stops the computation if no other request waits for it
+	 * @throws RejectedExecutionException if a new computation is needed and too many tasks are waiting for execution
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T> Future<T> submit(RequestKey key, Callable<T> callable) throws RejectedExecutionException {
+		CachedResult cached = this.results.get(key);
+		if(cached != null) {
+			if(System.currentTimeMillis() - cached.created <= this.ttl) {
+				this.hits++;
+				this.savedNanos += cached.nanos;
+				return CompletableFuture.completedFuture((T) cached.value);
+			}
+			this.results.remove(key);
+			this.expirations++;
+		}
+		Computation computation = this.running.get(key);
+		if(computation != null) {
+			this.coalesced++;
+		} else {
+			computation = new Computation(key);
+			Computation c = computation;
+			computation.future = this.executor.submit(() -> this.compute(c, callable));
+			this.running.put(key, computation);
+			this.misses++;
+		}
+		computation.waiting++;
+		return new Subscription<T>(computation);
+	}
+
+	/**
+	 * Runs the given computation and caches its result.
+	 * @param <T> the type of the result
+	 * @param computation the computation
+	 * @param callable the actual computation of the result
+	 * @return the result
+	 * @throws Exception if the computation fails
+	 */
+	private <T> T compute(Computation computation, Callable<T> callable) throws Exception {
+		long start = System.nanoTime();
+		try {
+			T result = callable.call();
+			long nanos = System.nanoTime() - start;
+			synchronized(this) {
+				// only the requests still waiting get the result, one of them would have computed it anyway
+				computation.completed = true;
+				this.savedNanos += nanos * Math.max(computation.waiting - 1, 0);
+				if(this.maxSize > 0) {
+					this.results.put(computation.key, new CachedResult(result, nanos));
+					this.removeEldestResults();
+				}
+			}
+			return result;
+		} finally {
+			synchronized(this) {
+				this.running.remove(computation.key, computation);
+			}
+		}
+	}
+
+	/**
+	 * Removes expired results and, if there are too many results, the least recently used ones.
+	 */
+	private synchronized void removeEldestResults() {
+		long now = System.currentTimeMillis();
+		Iterator<CachedResult> it = this.results.values().iterator();
+		while(it.hasNext()) {
+			CachedResult cached = it.next();
+			if(this.results.size() > this.maxSize) {
+				it.remove();
+				this.evictions++;
+			} else if(now - cached.created > this.ttl) {
+				it.remove();
+				this.expirations++;
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached results.
+	 */
+	public synchronized void clear() {
+		this.results.clear();
+	}
+
+	/**
+	 * @return the current statistics of this cache
+	 */
+	public synchronized CacheStatistics getStatistics() {
+		CacheStatistics statistics = new CacheStatistics();
+		statistics.setSize(this.results.size());
+		statistics.setMax_size(this.maxSize);
+		statistics.setRunning(this.running.size());
+		statistics.setHits(this.hits);
+		statistics.setCoalesced(this.coalesced);
+		statistics.setMisses(this.misses);
+		statistics.setEvictions(this.evictions);
+		statistics.setExpirations(this.expirations);
+		long requests = this.hits + this.coalesced + this.misses;
+		statistics.setHit_ratio(requests == 0 ? 0 : (double) (this.hits + this.coalesced) / requests);
+		statistics.setSaved_time(TimeUnit.NANOSECONDS.toMillis(this.savedNanos));
+		return statistics;
+	}
+
+	/**
+	 * A cached result.
+	 */
+	private static class CachedResult {
+		/** The result */
+		final Object value;
+		/** The time it took to compute the result (in ns) */
+		final long nanos;
+		/** The time the result has been cached (in ms) */
+		final long created = System.currentTimeMillis();
+
+		CachedResult(Object value, long nanos) {
+			this.value = value;
+			this.nanos = nanos;
+		}
+	}
+
+	/**
+	 * A running computation shared by all identical requests.
+	 */
+	private static class Computation {
+		/** The key of the requests */
+		final RequestKey key;
+		/** The future of the computation */
+		Future<?> future;
+		/** The number of requests still waiting for the result */
+		int waiting = 0;
+		/** Whether the result has been computed, requests can no longer be cancelled then */
+		boolean completed = false;
+
+		Computation(RequestKey key) {
+			this.key = key;
+		}
+	}
+
+	/**
+	 * The view of a single request on a shared computation.
+	 * @param <T> the type of the result
+	 */
+	private class Subscription<T> implements Future<T> {
+
+		/** The shared computation */
+		private final Computation computation;
+
+		/** Whether this request has been cancelled */
+		private volatile boolean cancelled = false;
+
+		Subscription(Computation computation) {
+			this.computation = computation;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.Future#cancel(boolean)
+		 */
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			synchronized(ResultCache.this) {
+				if(this.cancelled || this.computation.completed || this.computation.future.isDone())
+					return false;
+				this.cancelled = true;
+				if(--this.computation.waiting == 0) {
+					// no other request waits for the result anymore
+					this.computation.future.cancel(mayInterruptIfRunning);
+					running.remove(this.computation.key, this.computation);
+				}
+				return true;
+			}
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.Future#isCancelled()
+		 */
+		@Override
+		public boolean isCancelled() {
+			return this.cancelled;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.Future#isDone()
+		 */
+		@Override
+		public boolean isDone() {
+			return this.cancelled || this.computation.future.isDone();
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.Future#get()
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public T get() throws InterruptedException, ExecutionException {
+			if(this.cancelled)
+				throw new CancellationException();
+			return (T) this.computation.future.get();
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.Future#get(long, java.util.concurrent.TimeUnit)
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			if(this.cancelled)
+				throw new CancellationException();
+			return (T) this.computation.future.get(timeout, unit);
+		}
+	}
+}
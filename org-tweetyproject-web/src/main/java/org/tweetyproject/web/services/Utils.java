@@ -126,11 +126,19 @@ public final class Utils {
      * @return A Pair containing the result and the execution time.
      * @throws InterruptedException If the execution is interrupted.
      * @throws ExecutionException   If the computation threw an exception.
-     * @throws TimeoutException     If the computation did not complete before the timeout.
+     * @throws TimeoutException     If the computation did not complete before the timeout; the
+     *                              computation is cancelled in that case.
      */
     public static <T> Pair<T,Long> runServicesWithTimeout(Future<T> future, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException{
         long millis = System.currentTimeMillis();
-		T result = future.get(timeout, unit);
+		T result;
+		try {
+			result = future.get(timeout, unit);
+		} catch (TimeoutException | InterruptedException e) {
+			// stop the computation instead of leaving it running in the background
+			future.cancel(true);
+			throw e;
+		}
 		millis = System.currentTimeMillis() - millis;
 		long time = millis;
 		if (unit.equals(TimeUnit.SECONDS)){
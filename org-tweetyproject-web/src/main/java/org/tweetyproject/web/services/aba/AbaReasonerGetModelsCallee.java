@@ -24,6 +24,7 @@ import org.tweetyproject.arg.aba.reasoner.GeneralAbaReasoner;
 import org.tweetyproject.arg.aba.semantics.AbaExtension;
 import org.tweetyproject.arg.aba.syntax.AbaTheory;
 import org.tweetyproject.commons.Formula;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.web.services.Callee;
 
 /**
@@ -59,7 +60,7 @@ public class AbaReasonerGetModelsCallee<T extends Formula> extends Callee {
      */
     @Override
     public Collection<AbaExtension<T>> call() throws Exception {
-        return this.reasoner.getModels(this.bbase);
+        return Metrics.getModels(this.reasoner, this.bbase);
     }
 }
 
@@ -21,6 +21,7 @@ import org.tweetyproject.arg.aba.reasoner.GeneralAbaReasoner;
 import org.tweetyproject.arg.aba.syntax.AbaTheory;
 import org.tweetyproject.arg.aba.syntax.Assumption;
 import org.tweetyproject.commons.Formula;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.web.services.Callee;
 
 /**
@@ -61,6 +62,6 @@ public class AbaReasonerQueryCallee<T extends Formula> extends Callee {
      */
     @Override
     public Boolean call() throws Exception {
-        return this.reasoner.query(this.bbase, assumption);
+        return Metrics.query(this.reasoner, this.bbase, assumption);
     }
 }
@@ -22,6 +22,7 @@ import org.tweetyproject.arg.delp.reasoner.DelpReasoner;
 import org.tweetyproject.arg.delp.semantics.DelpAnswer;
 import org.tweetyproject.arg.delp.syntax.DefeasibleLogicProgram;
 import org.tweetyproject.commons.Formula;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.logics.fol.syntax.FolFormula;
 import org.tweetyproject.web.services.Callee;
 
@@ -64,7 +65,7 @@ public class DeLPCallee extends Callee {
      */
     @Override
     public DelpAnswer.Type call() throws Exception {
-        return this.reasoner.query(this.delp, (FolFormula) this.f);
+        return Metrics.query(this.reasoner, this.delp, (FolFormula) this.f);
     }
 }
 
@@ -21,6 +21,7 @@ package org.tweetyproject.web.services.dung;
 import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.web.services.Callee;
 
 /**
@@ -57,6 +58,6 @@ public class DungReasonerGetModelCallee extends Callee {
      */
     @Override
     public Extension<DungTheory> call() throws Exception {
-        return this.reasoner.getModel(this.bbase);
+        return Metrics.getModel(this.reasoner, this.bbase);
     }
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import java.util.Collection;
 import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
 import org.tweetyproject.arg.dung.semantics.Extension;
 import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.commons.metrics.Metrics;
 import org.tweetyproject.web.services.Callee;
 /**
  * The DungReasonerGetModelsCallee class represents a callee for obtaining multiple models
@@ -57,6 +58,6 @@ public class DungReasonerGetModelsCallee extends Callee {
      */
     @Override
     public Collection<Extension<DungTheory>> call() throws Exception {
-        return this.reasoner.getModels(this.bbase);
+        return Metrics.getModels(this.reasoner, this.bbase);
     }
 }
\ No newline at end of file
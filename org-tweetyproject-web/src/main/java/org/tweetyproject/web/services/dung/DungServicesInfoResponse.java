@@ -21,6 +21,7 @@ package org.tweetyproject.web.services.dung;
 import java.util.List;
 import java.util.Objects;
 
+import org.tweetyproject.web.services.CacheStatistics;
 import org.tweetyproject.web.services.Response;
 
 
@@ -45,6 +46,9 @@ public class DungServicesInfoResponse extends Response {
     /** The list of supported commands in the Dung services info response */
     private List<String> commands;
 
+    /** The statistics of the result cache in the Dung services info response */
+    private CacheStatistics cache;
+
     /**
      * Default constructor for DungServicesInfoResponse.
      */
@@ -148,6 +152,24 @@ public class DungServicesInfoResponse extends Response {
         this.commands = commands;
     }
 
+    /**
+     * Gets the statistics of the result cache in the Dung services info response.
+     *
+     * @return The statistics of the result cache
+     */
+    public CacheStatistics getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Sets the statistics of the result cache in the Dung services info response.
+     *
+     * @param cache The statistics of the result cache to be set
+     */
+    public void setCache(CacheStatistics cache) {
+        this.cache = cache;
+    }
+
     /**
      * *description missing*
      * @param reply *description missing*
@@ -222,6 +244,7 @@ public class DungServicesInfoResponse extends Response {
             ", backend_timeout='" + getBackend_timeout() + "'" +
             ", semantics='" + getSemantics() + "'" +
             ", commands='" + getCommands() + "'" +
+            ", cache='" + getCache() + "'" +
             "}";
     }
 }
@@ -0,0 +1,252 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services.jobs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * A reasoning job that runs asynchronously on the server. The results of a job are
+ * collected one by one while the job is running, so that clients can fetch them page by
+ * page or as a stream before the job has finished; when a job hits its time limit or is
+ * cancelled, the results found so far remain available. A job keeps at most a fixed number
+ * of results and is stopped once it has found that many.
+ */
+public class Job {
+
+	/**
+	 * The states of a job.
+	 */
+	public enum Status {
+		/** The job waits for execution */
+		QUEUED,
+		/** The job is running */
+		RUNNING,
+		/** The job has found all results */
+		SUCCESS,
+		/** The job has been stopped after reaching its time limit */
+		TIMEOUT,
+		/** The job has been stopped after reaching the maximal number of results */
+		TRUNCATED,
+		/** The job has failed */
+		ERROR,
+		/** The job has been cancelled by the client */
+		CANCELLED;
+
+		/**
+		 * @return "true" iff a job in this state will not produce any more results
+		 */
+		public boolean isFinished() {
+			return this != QUEUED && this != RUNNING;
+		}
+	}
+
+	/** The id of this job */
+	private final String id;
+
+	/** A short description of the task of this job */
+	private final String description;
+
+	/** The results found so far, each one a JSON-serialisable object */
+	private final List<Object> results = new ArrayList<Object>();
+
+	/** The maximal number of results of this job */
+	private final int maxResults;
+
+	/** The current state of this job */
+	private Status status = Status.QUEUED;
+
+	/** The error message of a failed job */
+	private String message;
+
+	/** The time of creation, start and end of this job (in ms) */
+	private final long created;
+	private long started = -1;
+	private long finished = -1;
+
+	/** The future of the computation of this job */
+	private Future<?> future;
+
+	/**
+	 * Creates a new job.
+	 * @param id the id of the job
+	 * @param description a short description of the task of the job
+	 * @param maxResults the maximal number of results of the job
+	 */
+	public Job(String id, String description, int maxResults) {
+		if(maxResults <= 0)
+			throw new IllegalArgumentException("The maximal number of results must be positive.");
+		this.id = id;
+		this.description = description;
+		this.maxResults = maxResults;
+		this.created = System.currentTimeMillis();
+	}
+
+	/**
+	 * Marks this job as running.
+	 * @return "false" iff this job has already been finished (e.g. cancelled while queued)
+	 */
+	synchronized boolean start() {
+		if(this.status != Status.QUEUED)
+			return false;
+		this.status = Status.RUNNING;
+		this.started = System.currentTimeMillis();
+		return true;
+	}
+
+	/**
+	 * Adds a new result and wakes up all clients waiting for results. Results
+	 * that arrive after this job has been finished are dropped. Once the maximal number of
+	 * results has been reached, the job is finished with state TRUNCATED and its computation
+	 * is stopped.
+	 * @param result some JSON-serialisable result
+	 */
+	public synchronized void addResult(Object result) {
+		if(this.status.isFinished())
+			return;
+		this.results.add(result);
+		this.notifyAll();
+		if(this.results.size() >= this.maxResults && this.finish(Status.TRUNCATED, null) && this.future != null)
+			this.future.cancel(true);
+	}
+
+	/**
+	 * Finishes this job with the given state. Only the first call has an effect, so
+	 * that e.g. a job that has been stopped by its time limit keeps the state TIMEOUT.
+	 * @param status the final state
+	 * @param message an error message, may be null
+	 * @return "true" iff this call finished the job
+	 */
+	synchronized boolean finish(Status status, String message) {
+		if(this.status.isFinished())
+			return false;
+		this.status = status;
+		this.message = message;
+		this.finished = System.currentTimeMillis();
+		this.notifyAll();
+		return true;
+	}
+
+	/**
+	 * Waits until there are results after the given offset or this job has been finished.
+	 * @param offset the number of results already known to the caller
+	 * @param maxWait the maximal time to wait (in ms)
+	 * @return the results after the given offset (may be empty)
+	 * @throws InterruptedException if the current thread has been interrupted while waiting
+	 */
+	public synchronized List<Object> awaitResults(int offset, long maxWait) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + maxWait;
+		long remaining = maxWait;
+		while(this.results.size() <= offset && !this.status.isFinished() && remaining > 0) {
+			this.wait(remaining);
+			remaining = deadline - System.currentTimeMillis();
+		}
+		return this.getResults(offset, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns a page of the results found so far.
+	 * @param offset the index of the first result
+	 * @param limit the maximal number of results
+	 * @return the results with index in [offset, offset+limit)
+	 */
+	public synchronized List<Object> getResults(int offset, int limit) {
+		int from = Math.min(Math.max(offset, 0), this.results.size());
+		int to = (int) Math.min((long) from + Math.max(limit, 0), this.results.size());
+		return new ArrayList<Object>(this.results.subList(from, to));
+	}
+
+	/**
+	 * @return the number of results found so far
+	 */
+	public synchronized int getNumberOfResults() {
+		return this.results.size();
+	}
+
+	/**
+	 * @return the id of this job
+	 */
+	public String getId() {
+		return this.id;
+	}
+
+	/**
+	 * @return a short description of the task of this job
+	 */
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+	 * @return the current state of this job
+	 */
+	public synchronized Status getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * @return the error message of a failed job, null otherwise
+	 */
+	public synchronized String getMessage() {
+		return this.message;
+	}
+
+	/**
+	 * @return the time this job has been running so far (in ms), 0 if it has not been started
+	 */
+	public synchronized long getElapsedTime() {
+		if(this.started < 0)
+			return 0;
+		return (this.finished < 0 ? System.currentTimeMillis() : this.finished) - this.started;
+	}
+
+	/**
+	 * @return the time of creation of this job (in ms since the epoch)
+	 */
+	public long getCreated() {
+		return this.created;
+	}
+
+	/**
+	 * @return the time this job has been finished (in ms since the epoch), -1 if it is not finished
+	 */
+	synchronized long getFinished() {
+		return this.finished;
+	}
+
+	/**
+	 * @return the future of the computation of this job
+	 */
+	synchronized Future<?> getFuture() {
+		return this.future;
+	}
+
+	/**
+	 * Sets the future of the computation of this job. If this job has already been
+	 * stopped (the computation may start before its future is known), the computation is
+	 * cancelled.
+	 * @param future the future of the computation of this job
+	 */
+	synchronized void setFuture(Future<?> future) {
+		this.future = future;
+		if(this.status == Status.TIMEOUT || this.status == Status.TRUNCATED || this.status == Status.CANCELLED)
+			future.cancel(true);
+	}
+}
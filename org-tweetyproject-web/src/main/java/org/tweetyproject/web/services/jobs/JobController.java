@@ -0,0 +1,251 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services.jobs;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.json.JSONObject;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.tweetyproject.arg.dung.reasoner.AbstractExtensionReasoner;
+import org.tweetyproject.arg.dung.semantics.Extension;
+import org.tweetyproject.arg.dung.syntax.Argument;
+import org.tweetyproject.arg.dung.syntax.DungTheory;
+import org.tweetyproject.commons.metrics.Metrics;
+import org.tweetyproject.web.services.LoggerUtil;
+import org.tweetyproject.web.services.Utils;
+import org.tweetyproject.web.services.dung.AbstractExtensionReasonerFactory;
+import org.tweetyproject.web.services.dung.AbstractExtensionReasonerFactory.Semantics;
+import org.tweetyproject.web.services.dung.DungReasonerPost;
+
+/**
+ * Provides the asynchronous job API for long-running reasoning requests:
+ * <ul>
+ * <li>POST /jobs/dung submits a job computing all extensions of an abstract argumentation framework,
+ *   the request payload is the same as for "/dung" (the command is ignored)</li>
+ * <li>GET /jobs/{id} returns the state of a job and the number of results found so far</li>
+ * <li>GET /jobs/{id}/results?offset=..&amp;limit=.. returns a page of the results found so far</li>
+ * <li>GET /jobs/{id}/stream streams all results as newline-delimited JSON while they are being found,
+ *   one object <code>{"index":..,"result":..}</code> per line, followed by a final line with the
+ *   state of the job</li>
+ * <li>DELETE /jobs/{id} cancels a job</li>
+ * </ul>
+ * Jobs reaching their time limit end with state TIMEOUT and keep their partial results, jobs
+ * reaching the maximal number of results end with state TRUNCATED.
+ */
+@RestController
+public class JobController {
+
+	private final int SERVICES_TIMEOUT_DUNG = 600;
+
+	/** The maximal size of a page of results */
+	private final int MAX_PAGE_SIZE = 1000;
+
+	/** The maximal time a stream waits for new results before flushing (in ms) */
+	private final long STREAM_POLL_INTERVAL = 1000;
+
+	/** The media type of newline-delimited JSON */
+	private static final String NDJSON = "application/x-ndjson";
+
+	/** The manager of all jobs */
+	private final JobManager jobs;
+
+	/**
+	 * Creates a new controller.
+	 * @param jobs the manager of all jobs
+	 */
+	public JobController(JobManager jobs) {
+		this.jobs = jobs;
+	}
+
+	/**
+	 * Reports that a job has been rejected because too many jobs exist.
+	 * @param e the rejection
+	 * @return a response with status 429 (too many requests)
+	 */
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<String> handleRejection(RejectedExecutionException e) {
+		LoggerUtil.logger.log(Level.WARNING, String.format("Rejected job: %s", e.getMessage()));
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1")
+				.body("Too many requests, please try again later.");
+	}
+
+	/**
+	 * Submits a job computing all extensions of the given abstract argumentation framework wrt.
+	 * the given semantics. The extensions are reported as lists of argument numbers.
+	 * @param dungReasonerPost the framework, semantics and time limit of the job
+	 * @return the state of the new job, with status 202 (accepted)
+	 */
+	@PostMapping(value = "/jobs/dung", produces = "application/json", consumes = "application/json")
+	public ResponseEntity<JobResponse> submitDung(@RequestBody DungReasonerPost dungReasonerPost) {
+		Semantics semantics = Semantics.getSemantics(dungReasonerPost.getSemantics());
+		if(semantics == null)
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown semantics: " + dungReasonerPost.getSemantics());
+		DungTheory theory = Utils.getDungTheory(dungReasonerPost.getNr_of_arguments(), dungReasonerPost.getAttacks());
+		AbstractExtensionReasoner reasoner = AbstractExtensionReasonerFactory.getReasoner(semantics);
+		TimeUnit unit = Utils.getTimoutUnit(dungReasonerPost.getUnit_timeout());
+		int timeout = dungReasonerPost.getTimeout() > 0 ? dungReasonerPost.getTimeout() : Integer.MAX_VALUE;
+		timeout = Utils.checkUserTimeout(timeout, SERVICES_TIMEOUT_DUNG, unit);
+		LoggerUtil.logger.info(String.format("User: %s  Job: dung/%s with timeout: %s %s", dungReasonerPost.getEmail(),
+				semantics.id, timeout, dungReasonerPost.getUnit_timeout()));
+		Job job = this.jobs.submit("dung/" + semantics.id,
+				j -> {
+					long start = Metrics.startTimer();
+					try {
+						reasoner.getModels(theory, ext -> j.addResult(JobController.toArgumentNumbers(ext)));
+					} finally {
+						if(Metrics.isEnabled())
+							Metrics.stopTimer("reasoner.models " + reasoner.getClass().getSimpleName(), start);
+					}
+				}, timeout, unit);
+		return ResponseEntity.status(HttpStatus.ACCEPTED).header("Location", "/jobs/" + job.getId())
+				.body(new JobResponse(job));
+	}
+
+	/**
+	 * Returns the state of the given job.
+	 * @param id the id of some job
+	 * @return the state of the job
+	 */
+	@GetMapping(value = "/jobs/{id}", produces = "application/json")
+	public JobResponse getJob(@PathVariable("id") String id) {
+		return new JobResponse(this.getExistingJob(id));
+	}
+
+	/**
+	 * Returns a page of the results the given job has found so far.
+	 * @param id the id of some job
+	 * @param offset the index of the first result
+	 * @param limit the maximal number of results (at most 1000)
+	 * @return the page of results
+	 */
+	@GetMapping(value = "/jobs/{id}/results", produces = "application/json")
+	public JobResultsResponse getResults(@PathVariable("id") String id,
+			@RequestParam(value = "offset", defaultValue = "0") int offset,
+			@RequestParam(value = "limit", defaultValue = "100") int limit) {
+		if(offset < 0 || limit < 0)
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Offset and limit must not be negative.");
+		return new JobResultsResponse(this.getExistingJob(id), offset, Math.min(limit, MAX_PAGE_SIZE));
+	}
+
+	/**
+	 * Streams the results of the given job as newline-delimited JSON while the job is
+	 * running, starting with the result at the given offset. The stream ends with a line
+	 * <code>{"status":..,"results":..}</code> once the job has been finished.
+	 * @param id the id of some job
+	 * @param offset the index of the first result to be streamed
+	 * @return the stream of results
+	 */
+	@GetMapping(value = "/jobs/{id}/stream", produces = NDJSON)
+	public ResponseEntity<StreamingResponseBody> streamResults(@PathVariable("id") String id,
+			@RequestParam(value = "offset", defaultValue = "0") int offset) {
+		Job job = this.getExistingJob(id);
+		StreamingResponseBody body = out -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			int index = Math.max(offset, 0);
+			try {
+				while(true) {
+					// read the state before the results, so that no result of a finished job is missed
+					Job.Status status = job.getStatus();
+					List<Object> results = job.awaitResults(index, STREAM_POLL_INTERVAL);
+					for(Object result: results) {
+						JSONObject line = new JSONObject();
+						line.put("index", index++);
+						line.put("result", result);
+						writer.write(line.toString());
+						writer.write('\n');
+					}
+					if(status.isFinished() && results.isEmpty()) {
+						JSONObject line = new JSONObject();
+						line.put("status", status.toString());
+						line.put("results", job.getNumberOfResults());
+						if(job.getMessage() != null)
+							line.put("message", job.getMessage());
+						writer.write(line.toString());
+						writer.write('\n');
+						break;
+					}
+					writer.flush();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			writer.flush();
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+	}
+
+	/**
+	 * Cancels the given job; the results it has found so far remain available.
+	 * @param id the id of some job
+	 * @return the state of the job
+	 */
+	@DeleteMapping(value = "/jobs/{id}", produces = "application/json")
+	public JobResponse cancelJob(@PathVariable("id") String id) {
+		Job job = this.getExistingJob(id);
+		this.jobs.cancel(job);
+		return new JobResponse(job);
+	}
+
+	/**
+	 * Returns the job with the given id.
+	 * @param id some id
+	 * @return the job with the given id
+	 * @throws ResponseStatusException with status 404 (not found) if there is no such job
+	 */
+	private Job getExistingJob(String id) throws ResponseStatusException {
+		Job job = this.jobs.get(id);
+		if(job == null)
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job: " + id);
+		return job;
+	}
+
+	/**
+	 * Converts the given extension into the sorted list of the numbers of its arguments,
+	 * see {@link Utils#getDungTheory(int, List)}.
+	 * @param extension some extension
+	 * @return the numbers of the arguments of the extension
+	 */
+	private static List<Integer> toArgumentNumbers(Extension<DungTheory> extension) {
+		List<Integer> numbers = new ArrayList<Integer>();
+		for(Argument arg: extension)
+			numbers.add(Integer.valueOf(arg.getName()));
+		numbers.sort(null);
+		return numbers;
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services.jobs;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.tweetyproject.commons.metrics.Metrics;
+import org.tweetyproject.commons.metrics.Span;
+import org.tweetyproject.web.services.LoggerUtil;
+import org.tweetyproject.web.services.ReasoningExecutor;
+
+/**
+ * Keeps track of all asynchronous reasoning jobs. Jobs are run by the shared
+ * {@link ReasoningExecutor} and are stopped (cooperatively) when they reach their time limit
+ * or are cancelled by the client; the results found until then remain available.
+ * <br>
+ * Finished jobs are removed after a retention period, or earlier if the maximal number of
+ * jobs kept at once has been reached (oldest first). If all jobs kept are still running or waiting
+ * for execution, further jobs are rejected with a {@link RejectedExecutionException}. Every job
+ * keeps at most a fixed number of results (see {@link Job#addResult(Object)}).
+ * <br>
+ * The retention period (in seconds), the maximal number of jobs and the maximal number of
+ * results per job can be configured via the properties <code>tweety.jobs.retention</code>
+ * (default: 600), <code>tweety.jobs.max</code> (default: 256) and <code>tweety.jobs.results</code>
+ * (default: 10000).
+ */
+@Component
+public class JobManager implements DisposableBean {
+
+	/** The executor running the jobs */
+	private final ReasoningExecutor executor;
+
+	/** All jobs that have not been removed yet, by id */
+	private final Map<String,Job> jobs = new ConcurrentHashMap<String,Job>();
+
+	/** Enforces the time limits of the jobs and removes old jobs */
+	private final ScheduledExecutorService scheduler;
+
+	/** The maximal number of jobs kept at once */
+	private final int maxJobs;
+
+	/** The time finished jobs are kept (in ms) */
+	private final long retention;
+
+	/** The maximal number of results of a job */
+	private final int maxResults;
+
+	/**
+	 * Creates a new job manager.
+	 * @param executor the executor running the jobs
+	 * @param maxJobs the maximal number of jobs kept at once
+	 * @param retention the time finished jobs are kept (in seconds)
+	 * @param maxResults the maximal number of results of a job
+	 */
+	public JobManager(ReasoningExecutor executor, @Value("${tweety.jobs.max:256}") int maxJobs,
+			@Value("${tweety.jobs.retention:600}") long retention, @Value("${tweety.jobs.results:10000}") int maxResults) {
+		this.executor = executor;
+		this.maxJobs = maxJobs;
+		this.maxResults = maxResults;
+		this.retention = TimeUnit.SECONDS.toMillis(retention);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "tweety-jobs");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.scheduler.scheduleWithFixedDelay(this::removeExpiredJobs, 1, 1, TimeUnit.MINUTES);
+	}
+
+	/**
+	 * Submits a new job. The computation reports its results to the job via
+	 * {@link Job#addResult(Object)} as soon as it finds them.
+	 * @param description a short description of the task of the job
+	 * @param computation the computation of the job
+	 * @param timeout the time limit of the job, measured from its submission
+	 * @param unit the unit of the time limit
+	 * @return the new job
+	 * @throws RejectedExecutionException if too many jobs are running or waiting for execution
+	 */
+	public synchronized Job submit(String description, Consumer<Job> computation, long timeout, TimeUnit unit) throws RejectedExecutionException {
+		this.removeExpiredJobs();
+		if(this.jobs.size() >= this.maxJobs)
+			this.removeOldestJobs(this.jobs.size() - this.maxJobs + 1);
+		if(this.jobs.size() >= this.maxJobs)
+			throw new RejectedExecutionException("Too many jobs.");
+		Job job = new Job(UUID.randomUUID().toString(), description, this.maxResults);
+		Future<?> future = this.executor.submit(() -> {
+			if(!job.start())
+				return null;
+			try(Span span = Metrics.startSpan("job")) {
+				span.setAttribute("id", job.getId());
+				span.setAttribute("description", description);
+				try {
+					computation.accept(job);
+					job.finish(Job.Status.SUCCESS, null);
+				} catch (CancellationException e) {
+					// the job has already been finished by its time limit or by the client
+					job.finish(Job.Status.CANCELLED, null);
+				} catch (Exception e) {
+					LoggerUtil.logger.log(Level.WARNING, String.format("Job %s failed: %s", job.getId(), e.getClass().getSimpleName()));
+					job.finish(Job.Status.ERROR, e.getMessage());
+				}
+				span.setAttribute("status", job.getStatus().toString());
+				Metrics.record("jobs.results", job.getNumberOfResults());
+			}
+			return null;
+		});
+		job.setFuture(future);
+		this.jobs.put(job.getId(), job);
+		this.scheduler.schedule(() -> this.stop(job, Job.Status.TIMEOUT), timeout, unit);
+		return job;
+	}
+
+	/**
+	 * Returns the job with the given id.
+	 * @param id some id
+	 * @return the job with the given id, or null if there is none (anymore)
+	 */
+	public Job get(String id) {
+		return this.jobs.get(id);
+	}
+
+	/**
+	 * Cancels the given job. Its results found so far remain available.
+	 * @param job some job
+	 * @return "true" iff the job has been running or waiting for execution
+	 */
+	public boolean cancel(Job job) {
+		return this.stop(job, Job.Status.CANCELLED);
+	}
+
+	/**
+	 * Finishes the given job with the given state and stops its computation.
+	 * @param job some job
+	 * @param status the final state of the job
+	 * @return "true" iff the job has not been finished before
+	 */
+	private boolean stop(Job job, Job.Status status) {
+		if(!job.finish(status, null))
+			return false;
+		Future<?> future = job.getFuture();
+		if(future != null)
+			future.cancel(true);
+		return true;
+	}
+
+	/**
+	 * @return all jobs that have not been removed yet
+	 */
+	public Collection<Job> getJobs() {
+		return this.jobs.values();
+	}
+
+	/**
+	 * Removes all jobs that have been finished longer than the retention period ago.
+	 */
+	private void removeExpiredJobs() {
+		long now = System.currentTimeMillis();
+		Iterator<Job> it = this.jobs.values().iterator();
+		while(it.hasNext()) {
+			long finished = it.next().getFinished();
+			if(finished >= 0 && now - finished > this.retention)
+				it.remove();
+		}
+	}
+
+	/**
+	 * Removes up to the given number of finished jobs, the ones finished first.
+	 * @param number the number of jobs to be removed
+	 */
+	private void removeOldestJobs(int number) {
+		List<Job> finished = new ArrayList<Job>();
+		for(Job job: this.jobs.values())
+			if(job.getFinished() >= 0)
+				finished.add(job);
+		finished.sort(Comparator.comparingLong(Job::getFinished));
+		for(Job job: finished.subList(0, Math.min(number, finished.size())))
+			this.jobs.remove(job.getId());
+	}
+
+	/* (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+		this.scheduler.shutdownNow();
+		for(Job job: this.jobs.values())
+			this.cancel(job);
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services.jobs;
+
+import org.tweetyproject.web.services.Response;
+
+/**
+ * The JobResponse class represents the state of an asynchronous reasoning job.
+ */
+public class JobResponse extends Response {
+
+	/** The id of the job */
+	private String id;
+
+	/** A short description of the task of the job */
+	private String description;
+
+	/** The state of the job, see {@link Job.Status} */
+	private String status;
+
+	/** The number of results found so far */
+	private int results;
+
+	/** The time the job has been running so far (in ms) */
+	private long time;
+
+	/** The error message of a failed job */
+	private String message;
+
+	/**
+	 * Default constructor for JobResponse.
+	 */
+	public JobResponse() {
+	}
+
+	/**
+	 * Creates a new response describing the current state of the given job.
+	 * @param job some job
+	 */
+	public JobResponse(Job job) {
+		this.id = job.getId();
+		this.description = job.getDescription();
+		this.status = job.getStatus().toString();
+		this.results = job.getNumberOfResults();
+		this.time = job.getElapsedTime();
+		this.message = job.getMessage();
+	}
+
+	/**
+	 * @return the id of the job
+	 */
+	public String getId() {
+		return this.id;
+	}
+
+	/**
+	 * @param id the id of the job
+	 */
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	/**
+	 * @return a short description of the task of the job
+	 */
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+	 * @param description a short description of the task of the job
+	 */
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	/**
+	 * @return the state of the job
+	 */
+	public String getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * @param status the state of the job
+	 */
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	/**
+	 * @return the number of results found so far
+	 */
+	public int getResults() {
+		return this.results;
+	}
+
+	/**
+	 * @param results the number of results found so far
+	 */
+	public void setResults(int results) {
+		this.results = results;
+	}
+
+	/**
+	 * @return the time the job has been running so far (in ms)
+	 */
+	public long getTime() {
+		return this.time;
+	}
+
+	/**
+	 * @param time the time the job has been running so far (in ms)
+	 */
+	public void setTime(long time) {
+		this.time = time;
+	}
+
+	/**
+	 * @return the error message of a failed job
+	 */
+	public String getMessage() {
+		return this.message;
+	}
+
+	/**
+	 * @param message the error message of a failed job
+	 */
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services.jobs;
+
+import java.util.List;
+
+import org.tweetyproject.web.services.Response;
+
+/**
+ * The JobResultsResponse class represents a page of the results of an asynchronous
+ * reasoning job.
+ */
+public class JobResultsResponse extends Response {
+
+	/** The id of the job */
+	private String id;
+
+	/** The state of the job when the page has been taken, see {@link Job.Status} */
+	private String status;
+
+	/** The index of the first result of the page */
+	private int offset;
+
+	/** The number of results found so far */
+	private int total;
+
+	/** The results of the page */
+	private List<Object> results;
+
+	/**
+	 * Default constructor for JobResultsResponse.
+	 */
+	public JobResultsResponse() {
+	}
+
+	/**
+	 * Creates a new response containing a page of the results of the given job.
+	 * @param job some job
+	 * @param offset the index of the first result of the page
+	 * @param limit the maximal number of results of the page
+	 */
+	public JobResultsResponse(Job job, int offset, int limit) {
+		this.id = job.getId();
+		// take the status first, so that "finished" implies that the total is final
+		this.status = job.getStatus().toString();
+		this.offset = offset;
+		this.total = job.getNumberOfResults();
+		this.results = job.getResults(offset, limit);
+	}
+
+	/**
+	 * @return the id of the job
+	 */
+	public String getId() {
+		return this.id;
+	}
+
+	/**
+	 * @param id the id of the job
+	 */
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	/**
+	 * @return the state of the job
+	 */
+	public String getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * @param status the state of the job
+	 */
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	/**
+	 * @return the index of the first result of the page
+	 */
+	public int getOffset() {
+		return this.offset;
+	}
+
+	/**
+	 * @param offset the index of the first result of the page
+	 */
+	public void setOffset(int offset) {
+		this.offset = offset;
+	}
+
+	/**
+	 * @return the number of results found so far
+	 */
+	public int getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * @param total the number of results found so far
+	 */
+	public void setTotal(int total) {
+		this.total = total;
+	}
+
+	/**
+	 * @return the results of the page
+	 */
+	public List<Object> getResults() {
+		return this.results;
+	}
+
+	/**
+	 * @param results the results of the page
+	 */
+	public void setResults(List<Object> results) {
+		this.results = results;
+	}
+}
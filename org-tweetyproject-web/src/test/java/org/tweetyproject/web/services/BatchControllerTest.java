@@ -0,0 +1,229 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests for the submission of batches by the {@link BatchController} and the time limits of
+ * {@link PendingRequest}s.
+ */
+public class BatchControllerTest {
+
+	/** A response carrying the status of a single request */
+	private static class StatusResponse extends Response {
+		String status;
+	}
+
+	/** The executor of the current test */
+	private ReasoningExecutor executor;
+
+	@After
+	public void tearDown() {
+		if(this.executor != null)
+			this.executor.destroy();
+	}
+
+	/**
+	 * Creates a controller whose executor has the given number of threads and queue slots.
+	 * @param threads the number of threads
+	 * @param queueCapacity the number of queue slots
+	 * @return the controller
+	 */
+	private BatchController createController(int threads, int queueCapacity) {
+		this.executor = new ReasoningExecutor(threads, queueCapacity);
+		return new BatchController(new RequestController(this.executor, null), this.executor, 1000);
+	}
+
+	/**
+	 * Returns a pending request whose response gets the status "OK", "TIMEOUT" or "Error".
+	 * @param future the computation
+	 * @param timeout the time limit (in ms)
+	 * @return the pending request
+	 */
+	private static PendingRequest<Integer> pending(Future<Integer> future, long timeout) {
+		StatusResponse response = new StatusResponse();
+		return new PendingRequest<Integer>(response, future, timeout, TimeUnit.MILLISECONDS,
+				(result, time) -> response.status = "OK " + result,
+				() -> response.status = "TIMEOUT",
+				e -> response.status = "Error");
+	}
+
+	/**
+	 * Creates the response to a request that could not be submitted.
+	 * @param post the request
+	 * @param status the status
+	 * @return the response
+	 */
+	private static Response failure(Integer post, String status) {
+		StatusResponse response = new StatusResponse();
+		response.status = status;
+		return response;
+	}
+
+	/**
+	 * Returns the statuses of the results of the given batch.
+	 * @param batch some batch response
+	 * @return the statuses of its results, in their order
+	 */
+	private static List<String> statuses(BatchResponse batch) {
+		List<String> statuses = new ArrayList<String>();
+		for(Response response: batch.getResults())
+			statuses.add(((StatusResponse) response).status);
+		return statuses;
+	}
+
+	@Test
+	public void testWindow() {
+		// two threads, so at most four requests are submitted and not yet collected at once
+		BatchController controller = this.createController(2, 16);
+		AtomicInteger outstanding = new AtomicInteger();
+		AtomicInteger maxOutstanding = new AtomicInteger();
+		List<Integer> posts = new ArrayList<Integer>();
+		List<String> expected = new ArrayList<String>();
+		for(int i = 0; i < 20; i++) {
+			posts.add(i);
+			expected.add("OK " + i);
+		}
+		BatchResponse batch = controller.run(posts, post -> {
+			maxOutstanding.accumulateAndGet(outstanding.incrementAndGet(), Math::max);
+			Future<Integer> future = this.executor.submit(() -> {
+				Thread.sleep(5);
+				return post;
+			});
+			StatusResponse response = new StatusResponse();
+			return new PendingRequest<Integer>(response, future, 10, TimeUnit.SECONDS,
+					(result, time) -> {
+						outstanding.decrementAndGet();
+						response.status = "OK " + result;
+					}, null, null);
+		}, BatchControllerTest::failure);
+		assertEquals(expected, statuses(batch));
+		assertEquals(4, maxOutstanding.get());
+		assertEquals(0, outstanding.get());
+	}
+
+	@Test
+	public void testRetryOnRejection() throws Exception {
+		// one thread and one queue slot, both taken by the batch and a blocking task
+		BatchController controller = this.createController(1, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		this.executor.submit(() -> {
+			release.await();
+			return null;
+		});
+		AtomicInteger rejections = new AtomicInteger();
+		BatchResponse batch = controller.run(List.of(1, 2, 3), post -> {
+			try {
+				return pending(this.executor.submit(() -> post), 10000);
+			} catch(RejectedExecutionException e) {
+				// let the blocking task finish once the batch has to wait
+				if(rejections.incrementAndGet() == 1)
+					release.countDown();
+				throw e;
+			}
+		}, BatchControllerTest::failure);
+		assertEquals(List.of("OK 1", "OK 2", "OK 3"), statuses(batch));
+		assertTrue(rejections.get() >= 1);
+	}
+
+	@Test
+	public void testRejectionWithoutPendingRequests() throws Exception {
+		BatchController controller = this.createController(1, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			// occupy the thread and the queue slot
+			this.executor.submit(() -> {
+				release.await();
+				return null;
+			});
+			CountDownLatch started = new CountDownLatch(1);
+			this.executor.submit(() -> {
+				started.countDown();
+				release.await();
+				return null;
+			});
+			BatchResponse batch = controller.run(List.of(1), post -> pending(this.executor.submit(() -> post), 10000),
+					BatchControllerTest::failure);
+			assertEquals(List.of("REJECTED"), statuses(batch));
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void testErrors() {
+		BatchController controller = this.createController(1, 4);
+		BatchResponse batch = controller.run(List.of(1, 2), post -> {
+			if(post == 1)
+				throw new IllegalArgumentException();
+			return pending(this.executor.submit(() -> {
+				throw new IllegalStateException();
+			}), 10000);
+		}, BatchControllerTest::failure);
+		assertEquals(List.of("Error", "Error"), statuses(batch));
+	}
+
+	@Test
+	public void testTimeoutFromSubmission() throws Exception {
+		// two computations running out of time at once take about one time limit, not two
+		BatchController controller = this.createController(2, 4);
+		CountDownLatch release = new CountDownLatch(1);
+		long start = System.currentTimeMillis();
+		BatchResponse batch = controller.run(List.of(1, 2), post -> pending(this.executor.submit(() -> {
+			release.await();
+			return post;
+		}), 500), BatchControllerTest::failure);
+		long time = System.currentTimeMillis() - start;
+		release.countDown();
+		assertEquals(Collections.nCopies(2, "TIMEOUT"), statuses(batch));
+		assertTrue("took " + time + " ms", time >= 500 && time < 1000);
+	}
+
+	@Test
+	public void testTimeoutAfterSubmission() throws Exception {
+		this.executor = new ReasoningExecutor(1, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<Integer> future = this.executor.submit(() -> {
+			release.await();
+			return 1;
+		});
+		PendingRequest<Integer> request = pending(future, 200);
+		Thread.sleep(300);
+		// the time limit has passed while nobody was waiting
+		long start = System.currentTimeMillis();
+		StatusResponse response = (StatusResponse) request.await();
+		assertTrue(System.currentTimeMillis() - start < 100);
+		assertEquals("TIMEOUT", response.status);
+		assertTrue(future.isCancelled());
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.tweetyproject.commons.util.CancellationToken;
+
+/**
+ * Tests for the cooperative cancellation of tasks run by the {@link ReasoningExecutor}.
+ */
+public class ReasoningExecutorTest {
+
+	/** An executor with a single thread and a single queue slot. */
+	private ReasoningExecutor executor;
+
+	@Before
+	public void setUp() {
+		this.executor = new ReasoningExecutor(1, 1);
+	}
+
+	@After
+	public void tearDown() {
+		this.executor.destroy();
+	}
+
+	/**
+	 * Submits a task that polls its token until it is cancelled.
+	 * @param started counted down when the task has started
+	 * @param stopped counted down when the task has stopped
+	 * @param error receives the exception that stopped the task
+	 * @return the future of the task
+	 */
+	private Future<Void> submitLoop(CountDownLatch started, CountDownLatch stopped, AtomicReference<Throwable> error) {
+		return this.executor.submit(() -> {
+			started.countDown();
+			try {
+				while(true)
+					CancellationToken.checkpoint();
+			} catch(Throwable t) {
+				error.set(t);
+				throw t;
+			} finally {
+				stopped.countDown();
+			}
+		});
+	}
+
+	@Test
+	public void testBinding() throws Exception {
+		CancellationToken token = this.executor.submit(() -> CancellationToken.current()).get();
+		assertNotNull(token);
+		assertFalse(token.isCancelled());
+		assertNull(CancellationToken.current());
+
+		// without a bound token, checkpoints neither throw nor clear the interrupted status
+		Thread.currentThread().interrupt();
+		try {
+			CancellationToken.checkpoint();
+			assertTrue(Thread.currentThread().isInterrupted());
+		} finally {
+			Thread.interrupted();
+		}
+
+		// the previous token is restored after a nested computation
+		CancellationToken outer = new CancellationToken();
+		CancellationToken inner = new CancellationToken();
+		CancellationToken.call(outer, () -> CancellationToken.call(inner, () -> null));
+		assertEquals(outer, CancellationToken.call(outer, () -> {
+			CancellationToken.call(inner, () -> null);
+			return CancellationToken.current();
+		}));
+		assertNull(CancellationToken.current());
+	}
+
+	@Test
+	public void testCancellation() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch stopped = new CountDownLatch(1);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Future<Void> future = this.submitLoop(started, stopped, error);
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		future.cancel(true);
+		assertTrue(stopped.await(10, TimeUnit.SECONDS));
+		assertTrue(error.get() instanceof CancellationException);
+		// the thread is free again
+		assertEquals("done", this.executor.submit(() -> "done").get(10, TimeUnit.SECONDS));
+
+		// a cancelled token stops the computation without interrupting the thread
+		CancellationToken token = new CancellationToken();
+		token.cancel();
+		try {
+			CancellationToken.call(token, () -> "never");
+			fail();
+		} catch(CancellationException e) {
+			assertFalse(Thread.currentThread().isInterrupted());
+		}
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch stopped = new CountDownLatch(1);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Future<Void> future = this.submitLoop(started, stopped, error);
+		try {
+			Utils.runServicesWithTimeout(future, 100, TimeUnit.MILLISECONDS);
+			fail();
+		} catch(TimeoutException e) {
+			// expected
+		}
+		assertTrue(future.isCancelled());
+		assertTrue(stopped.await(10, TimeUnit.SECONDS));
+		assertTrue(error.get() instanceof CancellationException);
+	}
+
+	@Test
+	public void testRejection() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch stopped = new CountDownLatch(1);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Future<Void> running = this.submitLoop(started, stopped, error);
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		Future<String> queued = this.executor.submit(() -> "queued");
+		try {
+			this.executor.submit(() -> "rejected");
+			fail();
+		} catch(RejectedExecutionException e) {
+			// expected
+		}
+		// cancelling a waiting task frees its slot in the queue
+		queued.cancel(true);
+		assertEquals(0, this.executor.getQueueDepth());
+		Future<String> next = this.executor.submit(() -> "next");
+		running.cancel(true);
+		assertEquals("next", next.get(10, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.tweetyproject.web.services.aba.AbaReasonerPost;
+import org.tweetyproject.web.services.dung.DungReasonerPost;
+import org.tweetyproject.web.services.dung.DungReasonerResponse;
+
+/**
+ * Tests for the caching and coalescing of reasoning requests.
+ */
+public class ResultCacheTest {
+
+	private ReasoningExecutor executor;
+
+	@Before
+	public void setUp() {
+		this.executor = new ReasoningExecutor(2, 8);
+	}
+
+	@After
+	public void tearDown() {
+		this.executor.destroy();
+	}
+
+	/**
+	 * Returns a Dung request for the given attacks.
+	 * @param attacks pairs of argument numbers
+	 * @return the request
+	 */
+	private static DungReasonerPost dung(Integer... attacks) {
+		DungReasonerPost post = new DungReasonerPost();
+		post.setCmd("get_models");
+		post.setSemantics("pr");
+		post.setSolver("simple");
+		post.setNr_of_arguments(3);
+		post.setTimeout(10);
+		post.setUnit_timeout("sec");
+		List<List<Integer>> list = new ArrayList<>();
+		for(int i = 0; i < attacks.length; i += 2)
+			list.add(Arrays.asList(attacks[i], attacks[i + 1]));
+		post.setAttacks(list);
+		return post;
+	}
+
+	/**
+	 * Returns a key for the given name.
+	 * @param name some name
+	 * @return a Dung request key, distinct for distinct names
+	 */
+	private static RequestKey key(String name) {
+		DungReasonerPost post = dung();
+		post.setSemantics(name);
+		return RequestKey.of(post);
+	}
+
+	@Test
+	public void testKeyEquality() {
+		// the order and duplicates of attacks, email, timeout and surrounding blanks do not matter
+		DungReasonerPost first = dung(0, 1, 2, 10, 1, 2);
+		first.setEmail("a@example.org");
+		first.setTimeout(10);
+		DungReasonerPost second = dung(1, 2, 0, 1, 2, 10, 0, 1);
+		second.setEmail("b@example.org");
+		second.setTimeout(20);
+		second.setSemantics(" pr ");
+		assertEquals(RequestKey.of(first), RequestKey.of(second));
+		assertEquals(RequestKey.of(first).hashCode(), RequestKey.of(second).hashCode());
+		// attacks are compared numerically
+		assertNotEquals(RequestKey.of(dung(1, 2)), RequestKey.of(dung(2, 1)));
+		assertNotEquals(RequestKey.of(dung(0, 1)), RequestKey.of(dung(0, 1, 1, 0)));
+		DungReasonerPost other = dung(0, 1);
+		other.setSemantics("co");
+		assertNotEquals(RequestKey.of(dung(0, 1)), RequestKey.of(other));
+
+		// blank lines and surrounding blanks of knowledge bases do not matter, the order of lines does
+		AbaReasonerPost aba = new AbaReasonerPost();
+		aba.setKb("a\n\n  b <- a \n");
+		AbaReasonerPost aba2 = new AbaReasonerPost();
+		aba2.setKb("a\r\nb <- a");
+		assertEquals(RequestKey.of(aba), RequestKey.of(aba2));
+		aba2.setKb("b <- a\na");
+		assertNotEquals(RequestKey.of(aba), RequestKey.of(aba2));
+		// separators within parts cannot make different requests equal
+		aba.setKb("x");
+		aba.setQuery_assumption("a|b");
+		aba2.setKb("b\nx");
+		aba2.setQuery_assumption("a");
+		assertNotEquals(RequestKey.of(aba), RequestKey.of(aba2));
+	}
+
+	@Test
+	public void testMalformedAttacks() {
+		List<List<Integer>> malformed = new ArrayList<>();
+		malformed.add(Arrays.asList(1));
+		malformed.add(Arrays.asList(1, 2, 3));
+		malformed.add(Arrays.asList(null, 2));
+		malformed.add(null);
+		ResultCache cache = new ResultCache(this.executor, 2, 3600);
+		RequestController controller = new RequestController(this.executor, cache);
+		for(List<Integer> attack: malformed) {
+			DungReasonerPost post = dung(1, 2);
+			post.getAttacks().add(attack);
+			try {
+				RequestKey.of(post);
+				fail("Malformed attack " + attack + " accepted.");
+			} catch(IllegalArgumentException e) {
+				// expected
+			}
+			// the request is answered with an error instead of failing
+			assertEquals("Error", ((DungReasonerResponse) controller.submit(post).await()).getStatus());
+		}
+		// attacks on arguments that do not exist are reported in the same way
+		assertEquals("Error", ((DungReasonerResponse) controller.submit(dung(1, 4)).await()).getStatus());
+		assertEquals("SUCCESS", ((DungReasonerResponse) controller.submit(dung(1, 2)).await()).getStatus());
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		ResultCache cache = new ResultCache(this.executor, 2, 3600);
+		AtomicInteger computations = new AtomicInteger();
+		for(String name: new String[] {"a", "b", "a", "c", "a", "b"})
+			assertEquals(name, cache.submit(key(name), () -> {
+				computations.incrementAndGet();
+				return name;
+			}).get(10, TimeUnit.SECONDS));
+		// "b" is the least recently used result when "c" is added, so it has to be computed again
+		assertEquals(4, computations.get());
+		CacheStatistics statistics = cache.getStatistics();
+		assertEquals(2, statistics.getSize());
+		assertEquals(2, statistics.getHits());
+		assertEquals(4, statistics.getMisses());
+		assertEquals(2, statistics.getEvictions());
+	}
+
+	@Test
+	public void testExpiration() throws Exception {
+		ResultCache cache = new ResultCache(this.executor, 2, 0);
+		AtomicInteger computations = new AtomicInteger();
+		cache.submit(key("a"), () -> computations.incrementAndGet()).get(10, TimeUnit.SECONDS);
+		Thread.sleep(10);
+		cache.submit(key("a"), () -> computations.incrementAndGet()).get(10, TimeUnit.SECONDS);
+		assertEquals(2, computations.get());
+		assertEquals(0, cache.getStatistics().getHits());
+		assertEquals(1, cache.getStatistics().getExpirations());
+	}
+
+	@Test
+	public void testCoalescing() throws Exception {
+		ResultCache cache = new ResultCache(this.executor, 0, 3600);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger computations = new AtomicInteger();
+		Future<Integer> first = cache.submit(key("a"), () -> {
+			release.await();
+			Thread.sleep(50);
+			return computations.incrementAndGet();
+		});
+		Future<Integer> second = cache.submit(key("a"), () -> computations.incrementAndGet());
+		assertEquals(1, cache.getStatistics().getRunning());
+		release.countDown();
+		assertEquals(1, (int) first.get(10, TimeUnit.SECONDS));
+		assertEquals(1, (int) second.get(10, TimeUnit.SECONDS));
+		CacheStatistics statistics = cache.getStatistics();
+		assertEquals(1, statistics.getCoalesced());
+		assertEquals(1, statistics.getMisses());
+		assertTrue(statistics.getSaved_time() >= 50);
+		// the cache is disabled, so the next request is computed again
+		assertEquals(2, (int) cache.submit(key("a"), () -> computations.incrementAndGet()).get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testCancelledSubscribers() throws Exception {
+		ResultCache cache = new ResultCache(this.executor, 0, 3600);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<String> first = cache.submit(key("a"), () -> {
+			release.await();
+			Thread.sleep(50);
+			return "a";
+		});
+		Future<String> second = cache.submit(key("a"), () -> "a");
+		// the computation keeps running for the remaining request
+		assertTrue(second.cancel(true));
+		release.countDown();
+		assertEquals("a", first.get(10, TimeUnit.SECONDS));
+		assertTrue(second.isCancelled());
+		// no completed request got the result without computing it
+		assertEquals(0, cache.getStatistics().getSaved_time());
+
+		// cancelling all requests stops the computation
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch stopped = new CountDownLatch(1);
+		Future<String> third = cache.submit(key("b"), () -> {
+			started.countDown();
+			try {
+				Thread.sleep(10000);
+				return "b";
+			} finally {
+				stopped.countDown();
+			}
+		});
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		assertTrue(third.cancel(true));
+		assertTrue(stopped.await(10, TimeUnit.SECONDS));
+		assertEquals(0, cache.getStatistics().getRunning());
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services.jobs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.tweetyproject.commons.util.CancellationToken;
+import org.tweetyproject.web.services.ReasoningExecutor;
+
+/**
+ * Tests for fetching and streaming the results of jobs.
+ */
+public class JobControllerTest {
+
+	private ReasoningExecutor executor;
+
+	private JobManager jobs;
+
+	private JobController controller;
+
+	@Before
+	public void setUp() {
+		this.executor = new ReasoningExecutor(2, 4);
+		this.jobs = new JobManager(this.executor, 16, 600, 100);
+		this.controller = new JobController(this.jobs);
+	}
+
+	@After
+	public void tearDown() {
+		this.jobs.destroy();
+		this.executor.destroy();
+	}
+
+	/**
+	 * Streams the results of the given job from the given offset.
+	 * @param job some job
+	 * @param offset the index of the first result
+	 * @return the lines of the stream
+	 * @throws Exception if streaming fails
+	 */
+	private List<String> stream(Job job, int offset) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.controller.streamResults(job.getId(), offset).getBody().writeTo(out);
+		return Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n"));
+	}
+
+	@Test
+	public void testStream() throws Exception {
+		// the stream is opened while the job is running and ends when it reaches its time limit
+		Job job = this.jobs.submit("test", j -> {
+			for(int i = 0; i < 3; i++)
+				j.addResult("r" + i);
+			while(true)
+				CancellationToken.checkpoint();
+		}, 300, TimeUnit.MILLISECONDS);
+		List<String> lines = this.stream(job, 1);
+		assertEquals(3, lines.size());
+		JSONObject line = new JSONObject(lines.get(0));
+		assertEquals(1, line.getInt("index"));
+		assertEquals("r1", line.getString("result"));
+		line = new JSONObject(lines.get(1));
+		assertEquals(2, line.getInt("index"));
+		assertEquals("r2", line.getString("result"));
+		line = new JSONObject(lines.get(2));
+		assertEquals("TIMEOUT", line.getString("status"));
+		assertEquals(3, line.getInt("results"));
+
+		// a finished job is streamed completely
+		assertEquals(4, this.stream(job, 0).size());
+	}
+
+	@Test
+	public void testResults() throws Exception {
+		Job job = this.jobs.submit("test", j -> {
+			for(int i = 0; i < 5; i++)
+				j.addResult(i);
+		}, 10, TimeUnit.SECONDS);
+		job.awaitResults(Integer.MAX_VALUE, 10000);
+		assertEquals("SUCCESS", this.controller.getJob(job.getId()).getStatus());
+		assertEquals(Arrays.asList(2, 3), this.controller.getResults(job.getId(), 2, 2).getResults());
+		assertEquals(Arrays.asList(4), this.controller.getResults(job.getId(), 4, 10).getResults());
+
+		assertEquals("CANCELLED", this.controller.cancelJob(this.jobs.submit("test", j -> {
+			while(true)
+				CancellationToken.checkpoint();
+		}, 10, TimeUnit.SECONDS).getId()).getStatus());
+
+		try {
+			this.controller.getJob("unknown");
+			fail();
+		} catch(ResponseStatusException e) {
+			assertEquals(HttpStatus.NOT_FOUND, e.getStatus());
+		}
+		try {
+			this.controller.getResults(job.getId(), -1, 10);
+			fail();
+		} catch(ResponseStatusException e) {
+			assertEquals(HttpStatus.BAD_REQUEST, e.getStatus());
+		}
+	}
+}
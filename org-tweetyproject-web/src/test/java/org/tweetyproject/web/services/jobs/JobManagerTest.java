@@ -0,0 +1,183 @@
+/*
+ *  This file is part of "TweetyProject", a collection of Java libraries for
+ *  logical aspects of artificial intelligence and knowledge representation.
+ *
+ *  TweetyProject is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License version 3 as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ *  Copyright 2024 The TweetyProject Team <http://tweetyproject.org/contact/>
+ */
+package org.tweetyproject.web.services.jobs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.tweetyproject.commons.util.CancellationToken;
+import org.tweetyproject.web.services.ReasoningExecutor;
+
+/**
+ * Tests for the life cycle of asynchronous jobs.
+ */
+public class JobManagerTest {
+
+	/** An executor with a single thread */
+	private ReasoningExecutor executor;
+
+	/** A manager keeping at most two jobs with at most five results each */
+	private JobManager jobs;
+
+	@Before
+	public void setUp() {
+		this.executor = new ReasoningExecutor(1, 4);
+		this.jobs = new JobManager(this.executor, 2, 600, 5);
+	}
+
+	@After
+	public void tearDown() {
+		this.jobs.destroy();
+		this.executor.destroy();
+	}
+
+	/**
+	 * Waits until the given job has been finished.
+	 * @param job some job
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private static void awaitFinished(Job job) throws InterruptedException {
+		job.awaitResults(Integer.MAX_VALUE, 10000);
+		assertTrue(job.getStatus().isFinished());
+	}
+
+	/**
+	 * Returns a computation that adds the given number of results and then runs until it is stopped.
+	 * @param results the number of results
+	 * @param stopped counted down when the computation has stopped
+	 * @return the computation
+	 */
+	private static java.util.function.Consumer<Job> addAndLoop(int results, CountDownLatch stopped) {
+		return job -> {
+			try {
+				for(int i = 0; i < results; i++)
+					job.addResult(i);
+				while(true)
+					CancellationToken.checkpoint();
+			} finally {
+				stopped.countDown();
+			}
+		};
+	}
+
+	@Test
+	public void testFirstFinisherWins() {
+		Job job = new Job("id", "test", 5);
+		assertTrue(job.start());
+		assertTrue(job.finish(Job.Status.TIMEOUT, null));
+		assertFalse(job.finish(Job.Status.SUCCESS, null));
+		assertFalse(job.finish(Job.Status.CANCELLED, null));
+		assertEquals(Job.Status.TIMEOUT, job.getStatus());
+		// a finished job accepts no results and cannot be started again
+		job.addResult(1);
+		assertEquals(0, job.getNumberOfResults());
+		assertFalse(job.start());
+	}
+
+	@Test
+	public void testSuccess() throws Exception {
+		Job job = this.jobs.submit("test", j -> {
+			j.addResult("a");
+			j.addResult("b");
+		}, 10, TimeUnit.SECONDS);
+		assertSame(job, this.jobs.get(job.getId()));
+		awaitFinished(job);
+		assertEquals(Job.Status.SUCCESS, job.getStatus());
+		assertEquals(Arrays.asList("a", "b"), job.getResults(0, 10));
+		assertEquals(Arrays.asList("b"), job.getResults(1, 10));
+	}
+
+	@Test
+	public void testTimeoutKeepsPartialResults() throws Exception {
+		CountDownLatch stopped = new CountDownLatch(1);
+		Job job = this.jobs.submit("test", addAndLoop(2, stopped), 200, TimeUnit.MILLISECONDS);
+		awaitFinished(job);
+		assertTrue(stopped.await(10, TimeUnit.SECONDS));
+		// the computation ends with a cancellation, which does not override the time limit
+		assertEquals(Job.Status.TIMEOUT, job.getStatus());
+		assertEquals(Arrays.asList(0, 1), job.getResults(0, 10));
+	}
+
+	@Test
+	public void testCancellation() throws Exception {
+		CountDownLatch stopped = new CountDownLatch(1);
+		Job job = this.jobs.submit("test", addAndLoop(1, stopped), 10, TimeUnit.SECONDS);
+		assertEquals(1, job.awaitResults(0, 10000).size());
+		assertTrue(this.jobs.cancel(job));
+		assertFalse(this.jobs.cancel(job));
+		assertTrue(stopped.await(10, TimeUnit.SECONDS));
+		assertEquals(Job.Status.CANCELLED, job.getStatus());
+		assertEquals(1, job.getNumberOfResults());
+
+		// a job cancelled while waiting for execution is never started
+		CountDownLatch blocked = new CountDownLatch(1);
+		Job running = this.jobs.submit("test", addAndLoop(1, blocked), 10, TimeUnit.SECONDS);
+		running.awaitResults(0, 10000);
+		Job queued = this.jobs.submit("test", j -> fail(), 10, TimeUnit.SECONDS);
+		assertTrue(this.jobs.cancel(queued));
+		assertEquals(0, queued.getElapsedTime());
+		this.jobs.cancel(running);
+		assertTrue(blocked.await(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testResultLimit() throws Exception {
+		CountDownLatch stopped = new CountDownLatch(1);
+		Job job = this.jobs.submit("test", addAndLoop(100, stopped), 10, TimeUnit.SECONDS);
+		awaitFinished(job);
+		assertTrue(stopped.await(10, TimeUnit.SECONDS));
+		assertEquals(Job.Status.TRUNCATED, job.getStatus());
+		assertEquals(5, job.getNumberOfResults());
+	}
+
+	@Test
+	public void testJobLimit() throws Exception {
+		Job first = this.jobs.submit("test", j -> j.addResult(1), 10, TimeUnit.SECONDS);
+		awaitFinished(first);
+		CountDownLatch stopped = new CountDownLatch(1);
+		Job running = this.jobs.submit("test", addAndLoop(1, stopped), 10, TimeUnit.SECONDS);
+		running.awaitResults(0, 10000);
+		// the finished job is removed to make room for a new one
+		Job third = this.jobs.submit("test", j -> {}, 10, TimeUnit.SECONDS);
+		assertNull(this.jobs.get(first.getId()));
+		assertEquals(2, this.jobs.getJobs().size());
+		// all jobs are still running or waiting
+		try {
+			this.jobs.submit("test", j -> {}, 10, TimeUnit.SECONDS);
+			fail();
+		} catch(RejectedExecutionException e) {
+			// expected
+		}
+		this.jobs.cancel(running);
+		assertTrue(stopped.await(10, TimeUnit.SECONDS));
+		awaitFinished(third);
+	}
+}